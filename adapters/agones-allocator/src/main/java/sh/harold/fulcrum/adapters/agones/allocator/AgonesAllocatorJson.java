@@ -1,7 +1,10 @@
 package sh.harold.fulcrum.adapters.agones.allocator;
 
+import sh.harold.fulcrum.api.kernel.PoolId;
+import sh.harold.fulcrum.api.kernel.ResolvedManifestId;
 import sh.harold.fulcrum.host.api.HostAllocationRequest;
 
+import java.time.Instant;
 import java.util.Objects;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -15,29 +18,108 @@ final class AgonesAllocatorJson {
     static final String SESSION_ID_ANNOTATION = "sh.harold.fulcrum/session-id";
     static final String RESOLVED_MANIFEST_ID_ANNOTATION = "sh.harold.fulcrum/resolved-manifest-id";
     static final String TRACE_ID_ANNOTATION = "sh.harold.fulcrum/trace-id";
+    static final String WARM_RESERVATION_LABEL = "sh.harold.fulcrum/warm-reservation";
+    static final String WARM_RELEASED_ANNOTATION = "sh.harold.fulcrum/warm-released";
+    static final String WARM_RESERVED_UNTIL_ANNOTATION = "sh.harold.fulcrum/warm-reserved-until";
+    private static final String READY_STATE = "Ready";
+    private static final String ALLOCATED_STATE = "Allocated";
 
     private AgonesAllocatorJson() {
     }
 
     static String allocationRequest(String namespace, HostAllocationRequest request) {
         Objects.requireNonNull(request, "request");
+        return allocation(
+                namespace,
+                POOL_ID_LABEL,
+                request.poolId().value(),
+                READY_STATE,
+                "",
+                sessionAnnotations(request));
+    }
+
+    // Takes a Ready GameServer out of circulation without a Session. The reservation label lets a later bind or
+    // release select exactly this GameServer again, now in the Allocated state. The reserved-until annotation lets the
+    // Paper agent shut an unbound reservation down on its own if no bind or release ever arrives.
+    static String reservationRequest(
+            String namespace,
+            PoolId poolId,
+            ResolvedManifestId resolvedManifestId,
+            String reservationId,
+            Instant reservedUntil) {
+        Objects.requireNonNull(poolId, "poolId");
+        Objects.requireNonNull(resolvedManifestId, "resolvedManifestId");
+        Objects.requireNonNull(reservedUntil, "reservedUntil");
+        String checkedReservationId = requireNonBlank(reservationId, "reservationId");
+        return allocation(
+                namespace,
+                POOL_ID_LABEL,
+                poolId.value(),
+                READY_STATE,
+                "\"labels\":{\"" + WARM_RESERVATION_LABEL + "\":\"" + escape(checkedReservationId) + "\"},",
+                "\"" + WARM_RESERVATION_LABEL + "\":\"" + escape(checkedReservationId) + "\","
+                        + "\"" + RESOLVED_MANIFEST_ID_ANNOTATION + "\":\"" + escape(resolvedManifestId.value()) + "\","
+                        + "\"" + WARM_RESERVED_UNTIL_ANNOTATION + "\":\"" + reservedUntil + "\"");
+    }
+
+    static String bindRequest(String namespace, String reservationId, HostAllocationRequest request) {
+        Objects.requireNonNull(request, "request");
+        return allocation(
+                namespace,
+                WARM_RESERVATION_LABEL,
+                requireNonBlank(reservationId, "reservationId"),
+                ALLOCATED_STATE,
+                "",
+                sessionAnnotations(request));
+    }
+
+    static String releaseRequest(String namespace, String reservationId) {
+        return allocation(
+                namespace,
+                WARM_RESERVATION_LABEL,
+                requireNonBlank(reservationId, "reservationId"),
+                ALLOCATED_STATE,
+                "",
+                "\"" + WARM_RELEASED_ANNOTATION + "\":\"true\"");
+    }
+
+    static AgonesAllocationResponse allocationResponse(String json) {
+        return response(json, true);
+    }
+
+    static AgonesAllocationResponse reservationResponse(String json) {
+        return response(json, false);
+    }
+
+    private static String allocation(
+            String namespace,
+            String selectorLabel,
+            String selectorValue,
+            String gameServerState,
+            String labels,
+            String annotations) {
         String checkedNamespace = requireNonBlank(namespace, "namespace");
         return "{"
                 + "\"namespace\":\"" + escape(checkedNamespace) + "\","
                 + "\"selectors\":[{"
-                + "\"matchLabels\":{\"" + POOL_ID_LABEL + "\":\"" + escape(request.poolId().value()) + "\"},"
-                + "\"gameServerState\":\"Ready\""
+                + "\"matchLabels\":{\"" + selectorLabel + "\":\"" + escape(selectorValue) + "\"},"
+                + "\"gameServerState\":\"" + gameServerState + "\""
                 + "}],"
-                + "\"metadata\":{\"annotations\":{"
-                + "\"" + SESSION_ID_ANNOTATION + "\":\"" + escape(request.sessionId().value()) + "\","
-                + "\"" + SLOT_ID_ANNOTATION + "\":\"" + escape(slotIdFor(request)) + "\","
-                + "\"" + RESOLVED_MANIFEST_ID_ANNOTATION + "\":\"" + escape(request.resolvedManifestId().value()) + "\","
-                + "\"" + TRACE_ID_ANNOTATION + "\":\"" + escape(request.traceEnvelope().traceId()) + "\""
+                + "\"metadata\":{" + labels + "\"annotations\":{"
+                + annotations
                 + "}}"
                 + "}";
     }
 
-    static AgonesAllocationResponse allocationResponse(String json) {
+    private static String sessionAnnotations(HostAllocationRequest request) {
+        return "\"" + SESSION_ID_ANNOTATION + "\":\"" + escape(request.sessionId().value()) + "\","
+                + "\"" + SLOT_ID_ANNOTATION + "\":\"" + escape(slotIdFor(request)) + "\","
+                + "\"" + RESOLVED_MANIFEST_ID_ANNOTATION + "\":\"" + escape(request.resolvedManifestId().value()) + "\","
+                + "\"" + TRACE_ID_ANNOTATION + "\":\"" + escape(request.traceEnvelope().traceId()) + "\"";
+    }
+
+    // A reserved GameServer has no Session yet, so its slot annotation may still be missing.
+    private static AgonesAllocationResponse response(String json, boolean slotRequired) {
         String responseBody = Objects.requireNonNull(json, "json");
         String gameServerName = stringField(responseBody, "gameServerName");
         return new AgonesAllocationResponse(
@@ -46,7 +128,9 @@ final class AgonesAllocatorJson {
                 stringField(responseBody, "address"),
                 namedPort(responseBody, "minecraft"),
                 stringFieldOrNull(responseBody, INSTANCE_ID_ANNOTATION, gameServerName),
-                stringField(responseBody, SLOT_ID_ANNOTATION),
+                slotRequired
+                        ? stringField(responseBody, SLOT_ID_ANNOTATION)
+                        : stringFieldOrNull(responseBody, SLOT_ID_ANNOTATION, gameServerName),
                 stringField(responseBody, INSTANCE_KIND_ANNOTATION),
                 stringField(responseBody, PRINCIPAL_ID_ANNOTATION));
     }
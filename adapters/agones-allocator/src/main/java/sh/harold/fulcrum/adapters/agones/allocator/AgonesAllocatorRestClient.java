@@ -3,13 +3,16 @@ package sh.harold.fulcrum.adapters.agones.allocator;
 import sh.harold.fulcrum.api.contract.PrincipalId;
 import sh.harold.fulcrum.api.kernel.InstanceId;
 import sh.harold.fulcrum.api.kernel.MachineRef;
+import sh.harold.fulcrum.api.kernel.PoolId;
+import sh.harold.fulcrum.api.kernel.ResolvedManifestId;
 import sh.harold.fulcrum.api.kernel.SlotId;
 import sh.harold.fulcrum.host.api.HostAllocationClaim;
-import sh.harold.fulcrum.host.api.HostAllocationPort;
 import sh.harold.fulcrum.host.api.HostAllocationRequest;
 import sh.harold.fulcrum.host.api.HostInstanceIdentity;
 import sh.harold.fulcrum.host.api.HostInstanceKinds;
 import sh.harold.fulcrum.host.api.HostNetworkEndpoint;
+import sh.harold.fulcrum.host.api.HostWarmAllocationSource;
+import sh.harold.fulcrum.host.api.HostWarmReservation;
 
 import java.io.IOException;
 import java.io.InputStream;
@@ -32,11 +35,13 @@ import java.security.cert.Certificate;
 import java.security.cert.CertificateFactory;
 import java.security.cert.X509Certificate;
 import java.security.spec.PKCS8EncodedKeySpec;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Base64;
 import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
+import java.util.UUID;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -49,7 +54,7 @@ import javax.net.ssl.SSLSocketFactory;
 import javax.net.ssl.TrustManagerFactory;
 import javax.net.ssl.X509TrustManager;
 
-public final class AgonesAllocatorRestClient implements HostAllocationPort {
+public final class AgonesAllocatorRestClient implements HostWarmAllocationSource {
     private static final String ALLOCATION_PATH = "/gameserverallocation";
 
     private final URI allocatorEndpoint;
@@ -175,7 +180,62 @@ public final class AgonesAllocatorRestClient implements HostAllocationPort {
     @Override
     public HostAllocationClaim allocate(HostAllocationRequest request) {
         Objects.requireNonNull(request, "request");
-        String requestBody = AgonesAllocatorJson.allocationRequest(namespace, request);
+        String responseBody = send(AgonesAllocatorJson.allocationRequest(namespace, request));
+        return claim(paperAllocation(AgonesAllocatorJson.allocationResponse(responseBody)), request);
+    }
+
+    @Override
+    public HostWarmReservation reserve(
+            PoolId poolId,
+            ResolvedManifestId resolvedManifestId,
+            Instant reservedAt,
+            Instant reservedUntil) {
+        Objects.requireNonNull(reservedAt, "reservedAt");
+        String reservationId = "warm-" + UUID.randomUUID();
+        String responseBody = send(AgonesAllocatorJson.reservationRequest(
+                namespace,
+                poolId,
+                resolvedManifestId,
+                reservationId,
+                reservedUntil));
+        AgonesAllocationResponse allocation = paperAllocation(AgonesAllocatorJson.reservationResponse(responseBody));
+        return new HostWarmReservation(
+                reservationId,
+                poolId,
+                resolvedManifestId,
+                instanceIdentity(allocation, poolId),
+                new HostNetworkEndpoint(allocation.address(), allocation.minecraftPort()),
+                reservedAt,
+                reservedUntil);
+    }
+
+    // Re-allocates the reserved GameServer by its reservation label, which writes the Session annotations the
+    // Paper agent waits for. The returned GameServer must still be the one that was reserved.
+    @Override
+    public HostAllocationClaim bind(HostWarmReservation reservation, HostAllocationRequest request) {
+        Objects.requireNonNull(reservation, "reservation");
+        Objects.requireNonNull(request, "request");
+        if (!reservation.poolId().equals(request.poolId())
+                || !reservation.resolvedManifestId().equals(request.resolvedManifestId())) {
+            throw new IllegalStateException("Warm reservation does not match allocation request: "
+                    + reservation.reservationId());
+        }
+        String responseBody = send(AgonesAllocatorJson.bindRequest(namespace, reservation.reservationId(), request));
+        AgonesAllocationResponse allocation = paperAllocation(AgonesAllocatorJson.allocationResponse(responseBody));
+        if (!reservation.instanceIdentity().instanceId().value().equals(allocation.instanceId())) {
+            throw new IllegalStateException("Agones bound a different GameServer than reservation "
+                    + reservation.reservationId());
+        }
+        return claim(allocation, request);
+    }
+
+    @Override
+    public void release(HostWarmReservation reservation) {
+        Objects.requireNonNull(reservation, "reservation");
+        send(AgonesAllocatorJson.releaseRequest(namespace, reservation.reservationId()));
+    }
+
+    private String send(String requestBody) {
         AllocatorHttpResponse httpResponse;
         try {
             httpResponse = transport.send(allocatorEndpoint.resolve(ALLOCATION_PATH), requestBody);
@@ -192,23 +252,30 @@ public final class AgonesAllocatorRestClient implements HostAllocationPort {
         if (httpResponse.statusCode() < 200 || httpResponse.statusCode() >= 300) {
             throw new IllegalStateException("Agones allocation failed with HTTP " + httpResponse.statusCode());
         }
+        return httpResponse.body();
+    }
 
-        AgonesAllocationResponse allocation = AgonesAllocatorJson.allocationResponse(httpResponse.body());
+    private static AgonesAllocationResponse paperAllocation(AgonesAllocationResponse allocation) {
         if (!HostInstanceKinds.PAPER.equals(allocation.instanceKind())) {
             throw new IllegalStateException("Agones allocation returned non-Paper Instance: " + allocation.instanceKind());
         }
+        return allocation;
+    }
 
-        HostInstanceIdentity instanceIdentity = new HostInstanceIdentity(
+    private static HostInstanceIdentity instanceIdentity(AgonesAllocationResponse allocation, PoolId poolId) {
+        return new HostInstanceIdentity(
                 new InstanceId(allocation.instanceId()),
                 HostInstanceKinds.PAPER,
-                request.poolId(),
+                poolId,
                 new MachineRef(allocation.machineRef()),
                 new PrincipalId(allocation.principalId()));
+    }
 
+    private static HostAllocationClaim claim(AgonesAllocationResponse allocation, HostAllocationRequest request) {
         return new HostAllocationClaim(
                 new SlotId(allocation.slotId()),
                 request.sessionId(),
-                instanceIdentity,
+                instanceIdentity(allocation, request.poolId()),
                 request.resolvedManifestId(),
                 new HostNetworkEndpoint(allocation.address(), allocation.minecraftPort()),
                 request.traceEnvelope(),
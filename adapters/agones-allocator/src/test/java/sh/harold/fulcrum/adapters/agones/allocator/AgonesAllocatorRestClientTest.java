@@ -14,6 +14,7 @@ import sh.harold.fulcrum.api.kernel.SessionId;
 import sh.harold.fulcrum.host.api.HostAllocationClaim;
 import sh.harold.fulcrum.host.api.HostAllocationRequest;
 import sh.harold.fulcrum.host.api.HostInstanceKinds;
+import sh.harold.fulcrum.host.api.HostWarmReservation;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
@@ -39,6 +40,7 @@ import javax.net.ssl.KeyManagerFactory;
 import javax.net.ssl.SSLContext;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -81,6 +83,48 @@ final class AgonesAllocatorRestClientTest {
         }
     }
 
+    @Test
+    void warmReservationIsReservedBoundAndReleasedThroughItsReservationLabel() throws Exception {
+        try (AllocatorFixture fixture = AllocatorFixture.responding(200, allocationResponse("paper"))) {
+            AgonesAllocatorRestClient client = new AgonesAllocatorRestClient(fixture.uri(), "default");
+            HostAllocationRequest request = allocationRequest();
+
+            HostWarmReservation reservation =
+                    client.reserve(
+                            request.poolId(),
+                            request.resolvedManifestId(),
+                            request.requestedAt(),
+                            request.requestedAt().plusSeconds(600));
+
+            String reserveBody = fixture.requestBody();
+            assertTrue(reserveBody.contains("\"gameServerState\":\"Ready\""));
+            assertTrue(reserveBody.contains("\"sh.harold.fulcrum/pool-id\":\"pool-paper-small\""));
+            assertTrue(reserveBody.contains("\"labels\":{\"sh.harold.fulcrum/warm-reservation\":\""
+                    + reservation.reservationId() + "\"}"));
+            assertTrue(reserveBody.contains("\"sh.harold.fulcrum/warm-reserved-until\":\""
+                    + request.requestedAt().plusSeconds(600) + "\""));
+            assertFalse(reserveBody.contains(AgonesAllocatorJson.SESSION_ID_ANNOTATION));
+            assertEquals("agones-gameserver-1", reservation.instanceIdentity().instanceId().value());
+            assertEquals(31_565, reservation.minecraftEndpoint().port());
+
+            HostAllocationClaim claim = client.bind(reservation, request);
+
+            String bindBody = fixture.requestBody();
+            assertTrue(bindBody.contains("\"gameServerState\":\"Allocated\""));
+            assertTrue(bindBody.contains("\"matchLabels\":{\"sh.harold.fulcrum/warm-reservation\":\""
+                    + reservation.reservationId() + "\"}"));
+            assertTrue(bindBody.contains("\"sh.harold.fulcrum/session-id\":\"session-host-1\""));
+            assertEquals(request.sessionId(), claim.sessionId());
+            assertEquals(reservation.instanceIdentity(), claim.instanceIdentity());
+
+            client.release(reservation);
+
+            String releaseBody = fixture.requestBody();
+            assertTrue(releaseBody.contains("\"gameServerState\":\"Allocated\""));
+            assertTrue(releaseBody.contains("\"sh.harold.fulcrum/warm-released\":\"true\""));
+        }
+    }
+
     @Test
     void nonSuccessResponseFailsAllocation() throws Exception {
         try (AllocatorFixture fixture = AllocatorFixture.responding(409, "{\"error\":\"none ready\"}")) {
@@ -2,14 +2,17 @@ package sh.harold.fulcrum.adapters.agones.fake;
 
 import sh.harold.fulcrum.api.kernel.InstanceId;
 import sh.harold.fulcrum.api.kernel.PoolId;
+import sh.harold.fulcrum.api.kernel.ResolvedManifestId;
 import sh.harold.fulcrum.api.kernel.SlotId;
 import sh.harold.fulcrum.host.api.HostAllocationClaim;
-import sh.harold.fulcrum.host.api.HostAllocationPort;
 import sh.harold.fulcrum.host.api.HostAllocationRequest;
 import sh.harold.fulcrum.host.api.HostInstanceKinds;
 import sh.harold.fulcrum.host.api.HostNetworkEndpoint;
 import sh.harold.fulcrum.host.api.HostReadinessReport;
+import sh.harold.fulcrum.host.api.HostWarmAllocationSource;
+import sh.harold.fulcrum.host.api.HostWarmReservation;
 
+import java.time.Instant;
 import java.util.ArrayDeque;
 import java.util.Deque;
 import java.util.HashMap;
@@ -18,9 +21,10 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
-public final class FakeAgonesAllocationAdapter implements HostAllocationPort {
+public final class FakeAgonesAllocationAdapter implements HostWarmAllocationSource {
     private final Map<PoolId, Deque<HostReadinessReport>> readyInstances = new HashMap<>();
     private final Set<InstanceId> readyInstanceIds = new HashSet<>();
+    private final Map<InstanceId, HostReadinessReport> reservedInstances = new HashMap<>();
     private final Map<InstanceId, HostAllocationClaim> activeClaims = new HashMap<>();
 
     public synchronized void registerReadyPaperInstance(HostReadinessReport report) {
@@ -28,7 +32,9 @@ public final class FakeAgonesAllocationAdapter implements HostAllocationPort {
             throw new IllegalArgumentException("Agones allocation in Step 2 only claims Ready Paper Instances");
         }
         InstanceId instanceId = report.instanceIdentity().instanceId();
-        if (readyInstanceIds.contains(instanceId) || activeClaims.containsKey(instanceId)) {
+        if (readyInstanceIds.contains(instanceId)
+                || reservedInstances.containsKey(instanceId)
+                || activeClaims.containsKey(instanceId)) {
             throw new IllegalStateException("Instance already registered or allocated: " + instanceId.value());
         }
         readyInstances.computeIfAbsent(report.instanceIdentity().poolId(), ignored -> new ArrayDeque<>()).addLast(report);
@@ -37,13 +43,66 @@ public final class FakeAgonesAllocationAdapter implements HostAllocationPort {
 
     @Override
     public synchronized HostAllocationClaim allocate(HostAllocationRequest request) {
-        Deque<HostReadinessReport> poolInstances = readyInstances.get(request.poolId());
+        HostReadinessReport report = takeReady(request.poolId());
+        return claim(report, request);
+    }
+
+    @Override
+    public synchronized HostWarmReservation reserve(
+            PoolId poolId,
+            ResolvedManifestId resolvedManifestId,
+            Instant reservedAt,
+            Instant reservedUntil) {
+        HostReadinessReport report = takeReady(poolId);
+        InstanceId instanceId = report.instanceIdentity().instanceId();
+        reservedInstances.put(instanceId, report);
+        return new HostWarmReservation(
+                "warm-" + instanceId.value(),
+                poolId,
+                resolvedManifestId,
+                report.instanceIdentity(),
+                endpointFor(instanceId),
+                reservedAt,
+                reservedUntil);
+    }
+
+    @Override
+    public synchronized HostAllocationClaim bind(HostWarmReservation reservation, HostAllocationRequest request) {
+        InstanceId instanceId = reservation.instanceIdentity().instanceId();
+        if (!reservation.poolId().equals(request.poolId())
+                || !reservation.resolvedManifestId().equals(request.resolvedManifestId())) {
+            throw new IllegalStateException("Warm reservation does not match allocation request: " + instanceId.value());
+        }
+        HostReadinessReport report = reservedInstances.remove(instanceId);
+        if (report == null) {
+            throw new IllegalStateException("No warm reservation held for Instance: " + instanceId.value());
+        }
+        return claim(report, request);
+    }
+
+    // A released fake Instance never served a Session, so it goes straight back to the Ready queue.
+    @Override
+    public synchronized void release(HostWarmReservation reservation) {
+        HostReadinessReport report = reservedInstances.remove(reservation.instanceIdentity().instanceId());
+        if (report == null) {
+            return;
+        }
+        readyInstances.computeIfAbsent(report.instanceIdentity().poolId(), ignored -> new ArrayDeque<>()).addLast(report);
+        readyInstanceIds.add(report.instanceIdentity().instanceId());
+    }
+
+    private HostReadinessReport takeReady(PoolId poolId) {
+        Deque<HostReadinessReport> poolInstances = readyInstances.get(poolId);
         if (poolInstances == null || poolInstances.isEmpty()) {
-            throw new IllegalStateException("No Ready Paper Instance available for pool: " + request.poolId().value());
+            throw new IllegalStateException("No Ready Paper Instance available for pool: " + poolId.value());
         }
         HostReadinessReport report = poolInstances.removeFirst();
+        readyInstanceIds.remove(report.instanceIdentity().instanceId());
+        return report;
+    }
+
+    private HostAllocationClaim claim(HostReadinessReport report, HostAllocationRequest request) {
         InstanceId instanceId = report.instanceIdentity().instanceId();
-        readyInstanceIds.remove(instanceId);
         HostAllocationClaim claim = new HostAllocationClaim(
                 new SlotId("slot-" + instanceId.value()),
                 request.sessionId(),
@@ -64,4 +123,9 @@ public final class FakeAgonesAllocationAdapter implements HostAllocationPort {
     public synchronized Optional<HostAllocationClaim> activeClaim(InstanceId instanceId) {
         return Optional.ofNullable(activeClaims.get(instanceId));
     }
+
+    public synchronized int readyCount(PoolId poolId) {
+        Deque<HostReadinessReport> poolInstances = readyInstances.get(poolId);
+        return poolInstances == null ? 0 : poolInstances.size();
+    }
 }
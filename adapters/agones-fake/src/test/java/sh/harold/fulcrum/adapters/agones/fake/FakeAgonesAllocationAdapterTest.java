@@ -13,9 +13,22 @@ import sh.harold.fulcrum.host.api.HostAllocationRequest;
 import sh.harold.fulcrum.host.api.HostInstanceIdentity;
 import sh.harold.fulcrum.host.api.HostInstanceKinds;
 import sh.harold.fulcrum.host.api.HostReadinessReport;
+import sh.harold.fulcrum.host.api.HostWarmAllocationMetrics;
+import sh.harold.fulcrum.host.api.HostWarmAllocationPool;
+import sh.harold.fulcrum.host.api.HostWarmAllocationSettings;
+import sh.harold.fulcrum.host.api.HostWarmReservation;
 
+import java.time.Clock;
+import java.time.Duration;
 import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -68,6 +81,77 @@ final class FakeAgonesAllocationAdapterTest {
         assertTrue(failure.getMessage().contains("Ready Paper Instances"));
     }
 
+    @Test
+    void warmReservationHoldsInstanceUntilBoundOrReleased() {
+        FakeAgonesAllocationAdapter adapter = new FakeAgonesAllocationAdapter();
+        adapter.registerReadyPaperInstance(readyReport("instance-paper-1", HostInstanceKinds.PAPER));
+        adapter.registerReadyPaperInstance(readyReport("instance-paper-2", HostInstanceKinds.PAPER));
+
+        HostWarmReservation first = adapter.reserve(POOL_ID, MANIFEST_ID, REQUESTED_AT, REQUESTED_AT.plusSeconds(600));
+        HostWarmReservation second = adapter.reserve(POOL_ID, MANIFEST_ID, REQUESTED_AT, REQUESTED_AT.plusSeconds(600));
+
+        assertEquals(0, adapter.readyCount(POOL_ID));
+        assertThrows(IllegalStateException.class, () -> adapter.allocate(allocationRequest("session-cold")));
+        HostAllocationClaim claim = adapter.bind(first, allocationRequest("session-1"));
+        assertEquals(first.instanceIdentity(), claim.instanceIdentity());
+        assertEquals(Optional.of(claim), adapter.activeClaim(first.instanceIdentity().instanceId()));
+        assertThrows(IllegalStateException.class, () -> adapter.bind(first, allocationRequest("session-2")));
+
+        adapter.release(second);
+
+        assertEquals(1, adapter.readyCount(POOL_ID));
+        assertEquals(
+                second.instanceIdentity(),
+                adapter.allocate(allocationRequest("session-3")).instanceIdentity());
+    }
+
+    @Test
+    void warmPoolOverFakeAdapterServesConcurrentSessionsFromReservations() throws Exception {
+        FakeAgonesAllocationAdapter adapter = new FakeAgonesAllocationAdapter();
+        for (int instance = 0; instance < 64; instance++) {
+            adapter.registerReadyPaperInstance(readyReport("instance-paper-" + instance, HostInstanceKinds.PAPER));
+        }
+        ExecutorService refills = Executors.newSingleThreadExecutor();
+        ExecutorService sessions = Executors.newFixedThreadPool(4);
+        HostWarmAllocationPool pool = new HostWarmAllocationPool(
+                adapter,
+                new HostWarmAllocationSettings(8, 16, Duration.ofMinutes(1), Duration.ofMinutes(10)),
+                refills,
+                Clock.fixed(REQUESTED_AT, ZoneOffset.UTC));
+        try {
+            pool.prime(POOL_ID, MANIFEST_ID);
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (pool.warm(POOL_ID) < 8 && System.nanoTime() < deadline) {
+                Thread.onSpinWait();
+            }
+
+            List<Future<Duration>> latencies = new ArrayList<>();
+            for (int session = 0; session < 32; session++) {
+                HostAllocationRequest request = allocationRequest("session-" + session);
+                latencies.add(sessions.submit(() -> {
+                    long started = System.nanoTime();
+                    pool.allocate(request);
+                    return Duration.ofNanos(System.nanoTime() - started);
+                }));
+            }
+            List<Duration> samples = new ArrayList<>();
+            for (Future<Duration> latency : latencies) {
+                samples.add(latency.get(5, TimeUnit.SECONDS));
+            }
+
+            assertEquals(32, WarmAllocationLatencyReport.fromSamples(samples).sampleCount());
+            HostWarmAllocationMetrics metrics = pool.metrics();
+            assertEquals(32, metrics.warmHits() + metrics.coldAllocations());
+            assertTrue(metrics.warmHits() >= 8);
+        } finally {
+            sessions.shutdownNow();
+            refills.shutdown();
+            assertTrue(refills.awaitTermination(5, TimeUnit.SECONDS));
+        }
+        pool.releaseAll();
+        assertEquals(64 - 32, adapter.readyCount(POOL_ID));
+    }
+
     private static HostAllocationRequest allocationRequest(String sessionId) {
         return new HostAllocationRequest(
                 POOL_ID,
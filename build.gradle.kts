@@ -7,6 +7,8 @@ import org.gradle.api.publish.PublishingExtension
 import org.gradle.api.publish.maven.MavenPublication
 import org.gradle.api.publish.maven.tasks.PublishToMavenRepository
 import org.gradle.api.publish.tasks.GenerateModuleMetadata
+import org.gradle.api.tasks.JavaExec
+import org.gradle.api.tasks.SourceSetContainer
 import org.gradle.api.tasks.compile.JavaCompile
 import org.gradle.api.tasks.testing.Test
 import org.gradle.jvm.toolchain.JavaLanguageVersion
@@ -292,6 +294,29 @@ subprojects {
         tasks.withType<Test>().configureEach {
             useJUnitPlatform()
         }
+
+        // JMH suites live in src/jmh/java, next to the tests whose fixtures they reuse but outside the test run.
+        if (file("src/jmh/java").isDirectory) {
+            val sourceSets = extensions.getByType<SourceSetContainer>()
+            val testSourceSet = sourceSets.getByName("test")
+            val jmhSourceSet = sourceSets.create("jmh")
+            jmhSourceSet.compileClasspath += testSourceSet.output + testSourceSet.compileClasspath
+            jmhSourceSet.runtimeClasspath += testSourceSet.runtimeClasspath
+            dependencies.add(jmhSourceSet.implementationConfigurationName, libs.findLibrary("jmh-core").orElseThrow())
+            dependencies.add(
+                jmhSourceSet.annotationProcessorConfigurationName,
+                libs.findLibrary("jmh-generator-annprocess").orElseThrow())
+
+            tasks.register<JavaExec>("jmh") {
+                group = "verification"
+                description = "Runs this project's JMH benchmarks; pass JMH options with --args."
+                classpath = jmhSourceSet.runtimeClasspath
+                mainClass.set("org.openjdk.jmh.Main")
+            }
+            tasks.named("check") {
+                dependsOn(jmhSourceSet.classesTaskName)
+            }
+        }
     }
 }
 
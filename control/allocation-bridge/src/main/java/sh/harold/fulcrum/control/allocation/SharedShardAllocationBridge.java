@@ -6,38 +6,145 @@ import sh.harold.fulcrum.host.api.HostAllocationPort;
 import sh.harold.fulcrum.host.api.HostAllocationRequest;
 import sh.harold.fulcrum.host.api.HostInstanceKinds;
 
-import java.util.HashMap;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
+// Allocations for different sessions run concurrently; the first request for a session owns the port call and any
+// duplicate that arrives while it is in flight waits on the same outcome instead of allocating again. Accepted
+// decisions stay in the ledger for replay until they age past the retention horizon or the ledger is over capacity.
 public final class SharedShardAllocationBridge {
     private final HostAllocationPort allocationPort;
-    private final Map<SessionId, StoredSharedShardAllocationDecision> acceptedLedger = new HashMap<>();
+    private final SharedShardAllocationRetention retention;
+    private final Map<SessionId, SharedShardAllocationFlight> flights = new ConcurrentHashMap<>();
+    private final Queue<SharedShardAllocationFlight> acceptedOrder = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger accepted = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger peakInFlight = new AtomicInteger();
+    private final LongAdder portCalls = new LongAdder();
+    private final LongAdder portNanos = new LongAdder();
+    private final AtomicLong maxPortNanos = new AtomicLong();
+    private final LongAdder joinedFlights = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
 
     public SharedShardAllocationBridge(HostAllocationPort allocationPort) {
+        this(allocationPort, SharedShardAllocationRetention.defaults());
+    }
+
+    public SharedShardAllocationBridge(HostAllocationPort allocationPort, SharedShardAllocationRetention retention) {
         this.allocationPort = Objects.requireNonNull(allocationPort, "allocationPort");
+        this.retention = Objects.requireNonNull(retention, "retention");
     }
 
-    public synchronized SharedShardAllocationDecision allocate(SharedShardAllocationRequest request) {
+    public SharedShardAllocationDecision allocate(SharedShardAllocationRequest request) {
         Objects.requireNonNull(request, "request");
-        StoredSharedShardAllocationDecision stored = acceptedLedger.get(request.sessionId());
-        if (stored != null) {
-            if (stored.requestFingerprint().equals(request.fingerprint())) {
-                return stored.decision().asReplay();
+        evictExpired(request.requestedAt());
+        SharedShardAllocationFlight flight =
+                new SharedShardAllocationFlight(request.sessionId(), request.fingerprint());
+        while (true) {
+            SharedShardAllocationFlight existing = flights.putIfAbsent(request.sessionId(), flight);
+            if (existing == null) {
+                return lead(request, flight);
             }
-            return SharedShardAllocationDecision.rejected(
-                    request,
-                    SharedShardAllocationRejectionReason.IDEMPOTENCY_CONFLICT);
+            if (existing.expiredBefore(retention.cutoff(request.requestedAt()))) {
+                evict(existing);
+                continue;
+            }
+            if (!existing.requestFingerprint().equals(request.fingerprint())) {
+                return SharedShardAllocationDecision.rejected(
+                        request,
+                        SharedShardAllocationRejectionReason.IDEMPOTENCY_CONFLICT);
+            }
+            return join(existing);
+        }
+    }
+
+    // Seeds the ledger from replayed controller state, so duplicates after a restart are answered without the port.
+    public void restore(SharedShardAllocationRequest request, HostAllocationClaim claim) {
+        Objects.requireNonNull(request, "request");
+        Objects.requireNonNull(claim, "claim");
+        if (!validClaim(request, claim)) {
+            throw new IllegalArgumentException("claim does not match the allocation request");
+        }
+        SharedShardAllocationReceipt receipt = SharedShardAllocationReceipt.accepted(request, claim);
+        SharedShardAllocationFlight flight =
+                new SharedShardAllocationFlight(request.sessionId(), request.fingerprint());
+        flight.acceptedAt(request.requestedAt());
+        flight.outcome().complete(
+                SharedShardAllocationDecision.accepted(receipt, claim, emissions(request, claim, receipt)));
+        SharedShardAllocationFlight replaced = flights.put(request.sessionId(), flight);
+        if (replaced != null && acceptedOrder.remove(replaced)) {
+            accepted.decrementAndGet();
         }
+        accepted.incrementAndGet();
+        acceptedOrder.add(flight);
+        evictOverCapacity();
+    }
+
+    public SharedShardAllocationMetrics metrics() {
+        long calls = portCalls.sum();
+        return new SharedShardAllocationMetrics(
+                inFlight.get(),
+                peakInFlight.get(),
+                accepted.get(),
+                calls,
+                joinedFlights.sum(),
+                evictions.sum(),
+                Duration.ofNanos(calls == 0 ? 0 : portNanos.sum() / calls),
+                Duration.ofNanos(maxPortNanos.get()));
+    }
 
+    private SharedShardAllocationDecision lead(
+            SharedShardAllocationRequest request,
+            SharedShardAllocationFlight flight) {
+        SharedShardAllocationDecision decision;
+        try {
+            decision = decide(request);
+        } catch (RuntimeException | Error failure) {
+            flights.remove(request.sessionId(), flight);
+            flight.outcome().completeExceptionally(failure);
+            throw failure;
+        }
+        if (decision.status() == SharedShardAllocationDecisionStatus.ACCEPTED) {
+            flight.acceptedAt(request.requestedAt());
+            accepted.incrementAndGet();
+            acceptedOrder.add(flight);
+            evictOverCapacity();
+        } else {
+            // Rejections are not stored, so a retry after the flight settles reaches the port again.
+            flights.remove(request.sessionId(), flight);
+        }
+        flight.outcome().complete(decision);
+        return decision;
+    }
+
+    private SharedShardAllocationDecision decide(SharedShardAllocationRequest request) {
         HostAllocationClaim claim;
+        int current = inFlight.incrementAndGet();
+        peakInFlight.accumulateAndGet(current, Math::max);
+        long started = System.nanoTime();
         try {
             claim = allocationPort.allocate(toHostRequest(request));
         } catch (IllegalStateException failure) {
             return SharedShardAllocationDecision.rejected(
                     request,
                     SharedShardAllocationRejectionReason.ALLOCATION_UNAVAILABLE);
+        } finally {
+            long elapsed = System.nanoTime() - started;
+            inFlight.decrementAndGet();
+            portCalls.increment();
+            portNanos.add(elapsed);
+            maxPortNanos.accumulateAndGet(elapsed, Math::max);
         }
         if (!validClaim(request, claim)) {
             return SharedShardAllocationDecision.rejected(
@@ -46,10 +153,52 @@ public final class SharedShardAllocationBridge {
         }
 
         SharedShardAllocationReceipt receipt = SharedShardAllocationReceipt.accepted(request, claim);
-        SharedShardAllocationDecision decision =
-                SharedShardAllocationDecision.accepted(receipt, claim, emissions(request, claim, receipt));
-        acceptedLedger.put(request.sessionId(), new StoredSharedShardAllocationDecision(request.fingerprint(), decision));
-        return decision;
+        return SharedShardAllocationDecision.accepted(receipt, claim, emissions(request, claim, receipt));
+    }
+
+    private SharedShardAllocationDecision join(SharedShardAllocationFlight flight) {
+        joinedFlights.increment();
+        SharedShardAllocationDecision decision;
+        try {
+            decision = flight.outcome().join();
+        } catch (CompletionException failure) {
+            if (failure.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (failure.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw failure;
+        }
+        return decision.status() == SharedShardAllocationDecisionStatus.ACCEPTED ? decision.asReplay() : decision;
+    }
+
+    // Acceptance order approximates age order, so the scan stops at the first entry still inside the horizon.
+    private void evictExpired(Instant now) {
+        Instant cutoff = retention.cutoff(now);
+        SharedShardAllocationFlight oldest;
+        while ((oldest = acceptedOrder.peek()) != null && oldest.expiredBefore(cutoff)) {
+            if (acceptedOrder.remove(oldest)) {
+                evict(oldest);
+            }
+        }
+    }
+
+    private void evictOverCapacity() {
+        while (accepted.get() > retention.capacity()) {
+            SharedShardAllocationFlight oldest = acceptedOrder.poll();
+            if (oldest == null) {
+                return;
+            }
+            evict(oldest);
+        }
+    }
+
+    private void evict(SharedShardAllocationFlight flight) {
+        if (flights.remove(flight.sessionId(), flight)) {
+            accepted.decrementAndGet();
+            evictions.increment();
+        }
     }
 
     private static HostAllocationRequest toHostRequest(SharedShardAllocationRequest request) {
@@ -98,9 +247,35 @@ public final class SharedShardAllocationBridge {
     }
 }
 
-record StoredSharedShardAllocationDecision(String requestFingerprint, SharedShardAllocationDecision decision) {
-    StoredSharedShardAllocationDecision {
-        requestFingerprint = ControlAllocationStrings.requireNonBlank(requestFingerprint, "requestFingerprint");
-        decision = Objects.requireNonNull(decision, "decision");
+final class SharedShardAllocationFlight {
+    private final SessionId sessionId;
+    private final String requestFingerprint;
+    private final CompletableFuture<SharedShardAllocationDecision> outcome = new CompletableFuture<>();
+    private volatile Instant acceptedAt;
+
+    SharedShardAllocationFlight(SessionId sessionId, String requestFingerprint) {
+        this.sessionId = Objects.requireNonNull(sessionId, "sessionId");
+        this.requestFingerprint = ControlAllocationStrings.requireNonBlank(requestFingerprint, "requestFingerprint");
+    }
+
+    SessionId sessionId() {
+        return sessionId;
+    }
+
+    String requestFingerprint() {
+        return requestFingerprint;
+    }
+
+    CompletableFuture<SharedShardAllocationDecision> outcome() {
+        return outcome;
+    }
+
+    void acceptedAt(Instant acceptedAt) {
+        this.acceptedAt = Objects.requireNonNull(acceptedAt, "acceptedAt");
+    }
+
+    boolean expiredBefore(Instant cutoff) {
+        Instant accepted = acceptedAt;
+        return accepted != null && accepted.isBefore(cutoff);
     }
 }
@@ -0,0 +1,25 @@
+package sh.harold.fulcrum.control.allocation;
+
+import java.time.Duration;
+import java.util.Objects;
+
+public record SharedShardAllocationMetrics(
+        int inFlight,
+        int peakInFlight,
+        int ledgerSize,
+        long portCalls,
+        long joinedFlights,
+        long evictions,
+        Duration meanPortLatency,
+        Duration maxPortLatency) {
+    public SharedShardAllocationMetrics {
+        if (inFlight < 0 || peakInFlight < 0 || ledgerSize < 0) {
+            throw new IllegalArgumentException("allocation gauges must not be negative");
+        }
+        if (portCalls < 0 || joinedFlights < 0 || evictions < 0) {
+            throw new IllegalArgumentException("allocation counters must not be negative");
+        }
+        meanPortLatency = Objects.requireNonNull(meanPortLatency, "meanPortLatency");
+        maxPortLatency = Objects.requireNonNull(maxPortLatency, "maxPortLatency");
+    }
+}
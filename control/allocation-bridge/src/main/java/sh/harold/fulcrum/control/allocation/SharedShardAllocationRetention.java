@@ -0,0 +1,28 @@
+package sh.harold.fulcrum.control.allocation;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Objects;
+
+public record SharedShardAllocationRetention(int capacity, Duration horizon) {
+    public static final int DEFAULT_CAPACITY = 100_000;
+    public static final Duration DEFAULT_HORIZON = Duration.ofHours(1);
+
+    public SharedShardAllocationRetention {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        horizon = Objects.requireNonNull(horizon, "horizon");
+        if (horizon.isNegative() || horizon.isZero()) {
+            throw new IllegalArgumentException("horizon must be positive");
+        }
+    }
+
+    public static SharedShardAllocationRetention defaults() {
+        return new SharedShardAllocationRetention(DEFAULT_CAPACITY, DEFAULT_HORIZON);
+    }
+
+    public Instant cutoff(Instant now) {
+        return Objects.requireNonNull(now, "now").minus(horizon);
+    }
+}
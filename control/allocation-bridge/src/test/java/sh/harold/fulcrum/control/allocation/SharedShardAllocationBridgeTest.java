@@ -17,8 +17,17 @@ import sh.harold.fulcrum.host.api.HostInstanceIdentity;
 import sh.harold.fulcrum.host.api.HostInstanceKinds;
 import sh.harold.fulcrum.host.api.HostNetworkEndpoint;
 
+import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -136,10 +145,135 @@ final class SharedShardAllocationBridgeTest {
                 decision.receipt().rejectionReason());
     }
 
+    @Test
+    void distinctSessionsAllocateConcurrentlyWithoutWaitingOnEachOther() throws Exception {
+        int sessions = 4;
+        BlockingAllocationPort port = new BlockingAllocationPort(sessions);
+        SharedShardAllocationBridge bridge = new SharedShardAllocationBridge(port);
+        ExecutorService executor = Executors.newFixedThreadPool(sessions);
+        try {
+            List<Future<SharedShardAllocationDecision>> decisions = new ArrayList<>();
+            for (int index = 0; index < sessions; index++) {
+                SessionId sessionId = new SessionId("session-lobby-shared-" + index);
+                decisions.add(executor.submit(() -> bridge.allocate(request(sessionId, MANIFEST))));
+            }
+
+            // Every port call has to be in flight at once before any of them is released.
+            assertTrue(port.entered.await(5, TimeUnit.SECONDS));
+            assertEquals(sessions, bridge.metrics().inFlight());
+            port.release.countDown();
+            for (Future<SharedShardAllocationDecision> decision : decisions) {
+                assertEquals(SharedShardAllocationDecisionStatus.ACCEPTED, decision.get(5, TimeUnit.SECONDS).status());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        SharedShardAllocationMetrics metrics = bridge.metrics();
+        assertEquals(0, metrics.inFlight());
+        assertEquals(sessions, metrics.peakInFlight());
+        assertEquals(sessions, metrics.ledgerSize());
+        assertEquals(sessions, metrics.portCalls());
+        assertTrue(metrics.maxPortLatency().compareTo(metrics.meanPortLatency()) >= 0);
+    }
+
+    @Test
+    void duplicateArrivingWhileAllocationIsInFlightJoinsTheSamePortCall() throws Exception {
+        BlockingAllocationPort port = new BlockingAllocationPort(1);
+        SharedShardAllocationBridge bridge = new SharedShardAllocationBridge(port);
+        SharedShardAllocationRequest request = request(SESSION, MANIFEST);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<SharedShardAllocationDecision> leader = executor.submit(() -> bridge.allocate(request));
+            assertTrue(port.entered.await(5, TimeUnit.SECONDS));
+            Future<SharedShardAllocationDecision> follower = executor.submit(() -> bridge.allocate(request));
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (bridge.metrics().joinedFlights() == 0 && System.nanoTime() < deadline) {
+                Thread.onSpinWait();
+            }
+            assertEquals(
+                    SharedShardAllocationRejectionReason.IDEMPOTENCY_CONFLICT,
+                    bridge.allocate(request(SESSION, new ResolvedManifestId("manifest-other")))
+                            .receipt()
+                            .rejectionReason()
+                            .orElseThrow());
+            port.release.countDown();
+
+            SharedShardAllocationDecision first = leader.get(5, TimeUnit.SECONDS);
+            SharedShardAllocationDecision second = follower.get(5, TimeUnit.SECONDS);
+            assertEquals(SharedShardAllocationDecisionStatus.ACCEPTED, first.status());
+            assertEquals(SharedShardAllocationDecisionStatus.REPLAYED, second.status());
+            assertEquals(first.receipt(), second.receipt());
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, port.calls.get());
+        assertEquals(1, bridge.metrics().joinedFlights());
+    }
+
+    @Test
+    void acceptedDecisionsAgeOutOfTheLedgerAndAllocateAgain() {
+        RecordingAllocationPort port = new RecordingAllocationPort(claim(SESSION, MANIFEST, POOL, HostInstanceKinds.PAPER));
+        SharedShardAllocationBridge bridge = new SharedShardAllocationBridge(
+                port,
+                new SharedShardAllocationRetention(16, Duration.ofMinutes(10)));
+
+        bridge.allocate(request(SESSION, MANIFEST, NOW));
+        SharedShardAllocationDecision withinHorizon = bridge.allocate(request(SESSION, MANIFEST, NOW.plusSeconds(599)));
+        SharedShardAllocationDecision afterHorizon = bridge.allocate(request(SESSION, MANIFEST, NOW.plusSeconds(601)));
+
+        assertEquals(SharedShardAllocationDecisionStatus.REPLAYED, withinHorizon.status());
+        assertEquals(SharedShardAllocationDecisionStatus.ACCEPTED, afterHorizon.status());
+        assertEquals(2, port.callCount);
+        assertEquals(1, bridge.metrics().evictions());
+        assertEquals(1, bridge.metrics().ledgerSize());
+    }
+
+    @Test
+    void ledgerOverCapacityEvictsTheOldestAcceptedSession() {
+        ClaimingAllocationPort port = new ClaimingAllocationPort();
+        SharedShardAllocationBridge bridge = new SharedShardAllocationBridge(
+                port,
+                new SharedShardAllocationRetention(2, Duration.ofHours(1)));
+        SessionId oldest = new SessionId("session-lobby-shared-0");
+
+        bridge.allocate(request(oldest, MANIFEST));
+        bridge.allocate(request(new SessionId("session-lobby-shared-1"), MANIFEST));
+        bridge.allocate(request(new SessionId("session-lobby-shared-2"), MANIFEST));
+
+        assertEquals(2, bridge.metrics().ledgerSize());
+        assertEquals(1, bridge.metrics().evictions());
+        assertEquals(SharedShardAllocationDecisionStatus.ACCEPTED, bridge.allocate(request(oldest, MANIFEST)).status());
+        assertEquals(4, port.calls.get());
+    }
+
+    @Test
+    void restoredAllocationAnswersDuplicatesWithoutReachingThePort() {
+        RecordingAllocationPort port = new RecordingAllocationPort(claim(SESSION, MANIFEST, POOL, HostInstanceKinds.PAPER));
+        SharedShardAllocationBridge bridge = new SharedShardAllocationBridge(port);
+        bridge.restore(request(SESSION, MANIFEST), claim(SESSION, MANIFEST, POOL, HostInstanceKinds.PAPER));
+
+        SharedShardAllocationDecision duplicate = bridge.allocate(request(SESSION, MANIFEST));
+        SharedShardAllocationDecision conflict =
+                bridge.allocate(request(SESSION, new ResolvedManifestId("manifest-other")));
+
+        assertEquals(SharedShardAllocationDecisionStatus.REPLAYED, duplicate.status());
+        assertEquals(SharedShardAllocationDecisionStatus.REJECTED, conflict.status());
+        assertEquals(0, port.callCount);
+        assertEquals(1, bridge.metrics().ledgerSize());
+    }
+
     private static SharedShardAllocationRequest request(
             SessionId sessionId,
             ResolvedManifestId resolvedManifestId) {
-        return new SharedShardAllocationRequest(EXPERIENCE, POOL, sessionId, resolvedManifestId, trace(), NOW);
+        return request(sessionId, resolvedManifestId, NOW);
+    }
+
+    private static SharedShardAllocationRequest request(
+            SessionId sessionId,
+            ResolvedManifestId resolvedManifestId,
+            Instant requestedAt) {
+        return new SharedShardAllocationRequest(EXPERIENCE, POOL, sessionId, resolvedManifestId, trace(), requestedAt);
     }
 
     private static HostAllocationClaim claim(
@@ -192,4 +326,37 @@ final class SharedShardAllocationBridgeTest {
             return claim;
         }
     }
+
+    private static class ClaimingAllocationPort implements HostAllocationPort {
+        final AtomicInteger calls = new AtomicInteger();
+
+        @Override
+        public HostAllocationClaim allocate(HostAllocationRequest request) {
+            calls.incrementAndGet();
+            return claim(request.sessionId(), request.resolvedManifestId(), request.poolId(), HostInstanceKinds.PAPER);
+        }
+    }
+
+    private static final class BlockingAllocationPort extends ClaimingAllocationPort {
+        private final CountDownLatch entered;
+        private final CountDownLatch release = new CountDownLatch(1);
+
+        private BlockingAllocationPort(int expectedCalls) {
+            this.entered = new CountDownLatch(expectedCalls);
+        }
+
+        @Override
+        public HostAllocationClaim allocate(HostAllocationRequest request) {
+            entered.countDown();
+            try {
+                if (!release.await(5, TimeUnit.SECONDS)) {
+                    throw new IllegalStateException("allocation was never released");
+                }
+            } catch (InterruptedException interrupted) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("allocation interrupted", interrupted);
+            }
+            return super.allocate(request);
+        }
+    }
 }
@@ -5,6 +5,10 @@ import sh.harold.fulcrum.api.contract.CommandName;
 import sh.harold.fulcrum.api.contract.ContractName;
 import sh.harold.fulcrum.api.kernel.SessionId;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
 public final class ControlLifecycleNames {
     public static final ContractName TRACE_CONTRACT = new ContractName("control.lifecycle-trace");
     public static final ContractName SESSION_CONTRACT = new ContractName("control.experience-session");
@@ -13,6 +17,8 @@ public final class ControlLifecycleNames {
     public static final CommandName PLACE_EXPERIENCE_SESSION = new CommandName("ctrl.session.place");
     public static final CommandName ACTIVATE_EXPERIENCE_SESSION = new CommandName("ctrl.session.activate");
     public static final CommandName END_EXPERIENCE_SESSION = new CommandName("ctrl.session.end");
+    private static final String TRACE_STATE_KEY_PREFIX = "ctrl.state.lifecycle-trace:";
+    private static final String TRACE_SEGMENT_KEY_MARKER = ":segment:";
 
     private ControlLifecycleNames() {
     }
@@ -26,7 +32,29 @@ public final class ControlLifecycleNames {
     }
 
     public static String traceStateKey(LifecycleTraceId traceId) {
-        return "ctrl.state.lifecycle-trace:" + traceId.value();
+        return TRACE_STATE_KEY_PREFIX + traceId.value();
+    }
+
+    // The trace whose state record lives under this key; segment keys and other keys name no trace.
+    public static Optional<LifecycleTraceId> traceOfStateKey(String key) {
+        if (key == null || !key.startsWith(TRACE_STATE_KEY_PREFIX) || key.length() == TRACE_STATE_KEY_PREFIX.length()
+                || key.contains(TRACE_SEGMENT_KEY_MARKER)) {
+            return Optional.empty();
+        }
+        return Optional.of(new LifecycleTraceId(key.substring(TRACE_STATE_KEY_PREFIX.length())));
+    }
+
+    public static String traceSegmentKey(LifecycleTraceId traceId, int firstSequence) {
+        return traceStateKey(traceId) + TRACE_SEGMENT_KEY_MARKER + firstSequence;
+    }
+
+    // Every state-topic key a trace occupies: its state record followed by each segment it spilled.
+    public static List<String> traceKeys(LifecycleTraceRecord traceRecord) {
+        List<Integer> segments = traceRecord.spilledSegmentFirstSequences();
+        List<String> keys = new ArrayList<>(segments.size() + 1);
+        keys.add(traceStateKey(traceRecord.traceId()));
+        segments.forEach(firstSequence -> keys.add(traceSegmentKey(traceRecord.traceId(), firstSequence)));
+        return List.copyOf(keys);
     }
 
     public static String sessionStateKey(SessionId sessionId) {
@@ -3,6 +3,7 @@ package sh.harold.fulcrum.control.lifecycle;
 import sh.harold.fulcrum.api.contract.IdempotencyKey;
 import sh.harold.fulcrum.api.contract.Revision;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -131,18 +132,23 @@ public final class LifecycleTraceController {
                 command.envelope().idempotencyKey().value(),
                 command.envelope().commandId().value(),
                 command.envelope().traceEnvelope());
+        List<LifecycleTraceEmission> emissions = new ArrayList<>(4);
+        emissions.add(new LifecycleTraceEmission(LifecycleTraceEmissionKind.EVENT, event.eventKey(), event.wireValue()));
+        currentRecord.traceRecord().spilledInto(nextTraceRecord).ifPresent(segment -> emissions.add(new LifecycleTraceEmission(
+                LifecycleTraceEmissionKind.SEGMENT,
+                ControlLifecycleNames.traceSegmentKey(segment.traceId(), segment.firstSequence()),
+                segment.wireValue())));
+        emissions.add(new LifecycleTraceEmission(
+                LifecycleTraceEmissionKind.STATE,
+                ControlLifecycleNames.traceStateKey(nextTraceRecord.traceId()),
+                nextTraceRecord.wireValue(nextRevision)));
+        emissions.add(new LifecycleTraceEmission(LifecycleTraceEmissionKind.RESPONSE, command.envelope().commandId().value(), receipt.wireValue()));
         return LifecycleTraceDecision.accepted(
                 nextRevision,
                 nextRecord,
                 receipt,
                 List.of(event),
-                List.of(
-                        new LifecycleTraceEmission(LifecycleTraceEmissionKind.EVENT, event.eventKey(), event.wireValue()),
-                        new LifecycleTraceEmission(
-                                LifecycleTraceEmissionKind.STATE,
-                                ControlLifecycleNames.traceStateKey(nextTraceRecord.traceId()),
-                                nextTraceRecord.wireValue(nextRevision)),
-                        new LifecycleTraceEmission(LifecycleTraceEmissionKind.RESPONSE, command.envelope().commandId().value(), receipt.wireValue())));
+                emissions);
     }
 }
 
@@ -3,5 +3,6 @@ package sh.harold.fulcrum.control.lifecycle;
 public enum LifecycleTraceEmissionKind {
     EVENT,
     STATE,
+    SEGMENT,
     RESPONSE
 }
@@ -39,7 +39,7 @@ public record LifecycleTraceEvent(
     public String wireValue() {
         return eventType
                 + "|traceId=" + traceRecord.traceId().value()
-                + "|entryCount=" + traceRecord.entries().size()
+                + "|entryCount=" + traceRecord.entryCount()
                 + "|revision=" + revision.value()
                 + "|spanId=" + traceEnvelope.spanId();
     }
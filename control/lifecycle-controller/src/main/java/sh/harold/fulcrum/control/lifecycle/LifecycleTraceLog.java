@@ -0,0 +1,88 @@
+package sh.harold.fulcrum.control.lifecycle;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// An immutable prefix of a shared append-only array. The first view to extend the shared array claims the next slot
+// and writes in place; any other view that appends after it (a replay, an idempotent retry) copies instead. Appends
+// are amortized O(1) and every revision of a trace shares the entries it has in common with the previous one.
+final class LifecycleTraceLog extends AbstractList<LifecycleTraceEntry> implements RandomAccess {
+    private static final int INITIAL_CAPACITY = 8;
+
+    private final LifecycleTraceId traceId;
+    private final LifecycleTraceEntry[] slots;
+    private final int size;
+    private final AtomicInteger claimed;
+
+    private LifecycleTraceLog(LifecycleTraceId traceId, LifecycleTraceEntry[] slots, int size, AtomicInteger claimed) {
+        this.traceId = traceId;
+        this.slots = slots;
+        this.size = size;
+        this.claimed = claimed;
+    }
+
+    static LifecycleTraceLog of(LifecycleTraceId traceId, List<LifecycleTraceEntry> entries) {
+        Objects.requireNonNull(traceId, "traceId");
+        Objects.requireNonNull(entries, "entries");
+        if (entries instanceof LifecycleTraceLog log && log.traceId.equals(traceId)) {
+            return log;
+        }
+        LifecycleTraceEntry[] slots = new LifecycleTraceEntry[Math.max(INITIAL_CAPACITY, entries.size())];
+        int size = 0;
+        for (LifecycleTraceEntry entry : entries) {
+            slots[size++] = requireTrace(traceId, entry);
+        }
+        return new LifecycleTraceLog(traceId, slots, size, new AtomicInteger(size));
+    }
+
+    LifecycleTraceLog append(LifecycleTraceEntry entry) {
+        requireTrace(traceId, entry);
+        if (size < slots.length && claimed.compareAndSet(size, size + 1)) {
+            slots[size] = entry;
+            return new LifecycleTraceLog(traceId, slots, size + 1, claimed);
+        }
+        LifecycleTraceEntry[] grown = new LifecycleTraceEntry[Math.max(INITIAL_CAPACITY, size * 2)];
+        System.arraycopy(slots, 0, grown, 0, size);
+        grown[size] = entry;
+        return new LifecycleTraceLog(traceId, grown, size + 1, new AtomicInteger(size + 1));
+    }
+
+    // Drops the oldest entries into a fresh array so the spilled entries are no longer reachable from this trace.
+    LifecycleTraceLog dropOldest(int count) {
+        if (count < 0 || count > size) {
+            throw new IllegalArgumentException("count must be between 0 and " + size);
+        }
+        int retained = size - count;
+        LifecycleTraceEntry[] compacted = new LifecycleTraceEntry[Math.max(INITIAL_CAPACITY, slots.length)];
+        System.arraycopy(slots, count, compacted, 0, retained);
+        return new LifecycleTraceLog(traceId, compacted, retained, new AtomicInteger(retained));
+    }
+
+    @Override
+    public LifecycleTraceEntry get(int index) {
+        Objects.checkIndex(index, size);
+        return slots[index];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Object[] toArray() {
+        return Arrays.copyOf(slots, size, Object[].class);
+    }
+
+    private static LifecycleTraceEntry requireTrace(LifecycleTraceId traceId, LifecycleTraceEntry entry) {
+        Objects.requireNonNull(entry, "entry");
+        if (!traceId.value().equals(entry.traceEnvelope().traceId())) {
+            throw new IllegalArgumentException("entry trace must match record trace");
+        }
+        return entry;
+    }
+}
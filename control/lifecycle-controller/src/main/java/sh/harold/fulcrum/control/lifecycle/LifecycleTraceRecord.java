@@ -2,39 +2,82 @@ package sh.harold.fulcrum.control.lifecycle;
 
 import sh.harold.fulcrum.api.contract.Revision;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 
+// A trace retains at most RETAINED_ENTRY_LIMIT entries. Once full, the oldest SPILL_SEGMENT_SIZE entries are spilled
+// as a segment and only counted from then on, so a long-lived trace keeps a bounded state value.
 public record LifecycleTraceRecord(
         LifecycleTraceId traceId,
+        int spilledEntryCount,
         List<LifecycleTraceEntry> entries) {
+    static final int RETAINED_ENTRY_LIMIT = 256;
+    static final int SPILL_SEGMENT_SIZE = 128;
+
     public LifecycleTraceRecord {
         traceId = Objects.requireNonNull(traceId, "traceId");
-        entries = List.copyOf(Objects.requireNonNull(entries, "entries"));
-        for (LifecycleTraceEntry entry : entries) {
-            if (!traceId.value().equals(entry.traceEnvelope().traceId())) {
-                throw new IllegalArgumentException("entry trace must match record trace");
-            }
+        if (spilledEntryCount < 0) {
+            throw new IllegalArgumentException("spilledEntryCount must not be negative");
         }
+        entries = LifecycleTraceLog.of(traceId, entries);
+    }
+
+    public LifecycleTraceRecord(LifecycleTraceId traceId, List<LifecycleTraceEntry> entries) {
+        this(traceId, 0, entries);
     }
 
     public static LifecycleTraceRecord empty(LifecycleTraceId traceId) {
         return new LifecycleTraceRecord(traceId, List.of());
     }
 
+    public int entryCount() {
+        return spilledEntryCount + entries.size();
+    }
+
+    public Optional<LifecycleTraceEntry> lastEntry() {
+        return entries.isEmpty() ? Optional.empty() : Optional.of(entries.getLast());
+    }
+
+    // First sequences of the segments this trace has spilled so far, oldest first.
+    public List<Integer> spilledSegmentFirstSequences() {
+        List<Integer> firstSequences = new ArrayList<>(spilledEntryCount / SPILL_SEGMENT_SIZE);
+        for (int first = 1; first <= spilledEntryCount; first += SPILL_SEGMENT_SIZE) {
+            firstSequences.add(first);
+        }
+        return List.copyOf(firstSequences);
+    }
+
+    // The entries this record still retains that the next record spilled, if the step between them spilled any.
+    public Optional<LifecycleTraceSegment> spilledInto(LifecycleTraceRecord next) {
+        Objects.requireNonNull(next, "next");
+        int spilled = Math.min(next.spilledEntryCount - spilledEntryCount, entries.size());
+        if (!traceId.equals(next.traceId) || spilled <= 0) {
+            return Optional.empty();
+        }
+        return Optional.of(new LifecycleTraceSegment(traceId, entries.subList(0, spilled)));
+    }
+
     LifecycleTraceRecord append(RecordLifecycleObservation command) {
         if (!traceId.equals(command.traceId())) {
             throw new IllegalArgumentException("command trace must match record trace");
         }
-        List<LifecycleTraceEntry> next = new java.util.ArrayList<>(entries);
-        next.add(LifecycleTraceEntry.from(command, entries.size() + 1));
-        return new LifecycleTraceRecord(traceId, next);
+        LifecycleTraceEntry entry = LifecycleTraceEntry.from(command, entryCount() + 1);
+        LifecycleTraceLog log = (LifecycleTraceLog) entries;
+        if (log.size() < RETAINED_ENTRY_LIMIT) {
+            return new LifecycleTraceRecord(traceId, spilledEntryCount, log.append(entry));
+        }
+        return new LifecycleTraceRecord(
+                traceId,
+                spilledEntryCount + SPILL_SEGMENT_SIZE,
+                log.dropOldest(SPILL_SEGMENT_SIZE).append(entry));
     }
 
     public String wireValue(Revision revision) {
         return "traceId=" + traceId.value()
-                + "|entryCount=" + entries.size()
-                + "|lastPhase=" + entries.stream().reduce((first, second) -> second).map(entry -> entry.phase().name()).orElse("none")
+                + "|entryCount=" + entryCount()
+                + "|lastPhase=" + lastEntry().map(entry -> entry.phase().name()).orElse("none")
                 + "|revision=" + revision.value();
     }
 }
@@ -0,0 +1,36 @@
+package sh.harold.fulcrum.control.lifecycle;
+
+import java.util.List;
+import java.util.Objects;
+
+public record LifecycleTraceSegment(
+        LifecycleTraceId traceId,
+        List<LifecycleTraceEntry> entries) {
+    public LifecycleTraceSegment {
+        traceId = Objects.requireNonNull(traceId, "traceId");
+        entries = List.copyOf(Objects.requireNonNull(entries, "entries"));
+        if (entries.isEmpty()) {
+            throw new IllegalArgumentException("entries must not be empty");
+        }
+        for (LifecycleTraceEntry entry : entries) {
+            if (!traceId.value().equals(entry.traceEnvelope().traceId())) {
+                throw new IllegalArgumentException("entry trace must match segment trace");
+            }
+        }
+    }
+
+    public int firstSequence() {
+        return entries.getFirst().sequence();
+    }
+
+    public int lastSequence() {
+        return entries.getLast().sequence();
+    }
+
+    public String wireValue() {
+        return "traceId=" + traceId.value()
+                + "|firstSequence=" + firstSequence()
+                + "|lastSequence=" + lastSequence()
+                + "|lastPhase=" + entries.getLast().phase().name();
+    }
+}
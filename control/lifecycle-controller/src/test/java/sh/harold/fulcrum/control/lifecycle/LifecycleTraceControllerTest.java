@@ -57,6 +57,68 @@ final class LifecycleTraceControllerTest {
         assertEquals(record, LifecycleTraceController.replay(13, TRACE_ID, events));
     }
 
+    @Test
+    void longTraceSpillsOldestEntriesAsSegmentsAndKeepsStateBounded() {
+        LifecycleTraceController controller = new LifecycleTraceController();
+        LifecycleTraceControlRecord record = LifecycleTraceController.emptyRecord(13, TRACE_ID);
+        List<LifecycleTraceEvent> events = new ArrayList<>();
+        List<LifecycleTraceEmission> segments = new ArrayList<>();
+        int observations = LifecycleTraceRecord.RETAINED_ENTRY_LIMIT + LifecycleTraceRecord.SPILL_SEGMENT_SIZE + 1;
+
+        for (int index = 0; index < observations; index++) {
+            LifecycleTraceDecision decision = controller.handle(command(
+                    observation(LifecyclePhase.HOST_ATTACH_OBSERVED, "instance", "instance-paper-" + index, Optional.empty(), Optional.empty(), index),
+                    "cmd-" + index,
+                    "idem-" + index,
+                    BASE_TIME.plusSeconds(index),
+                    Optional.of(record.revision()),
+                    PRINCIPAL_ID), record);
+            assertEquals(LifecycleTraceDecisionStatus.ACCEPTED, decision.status());
+            decision.emissions().stream()
+                    .filter(emission -> emission.kind() == LifecycleTraceEmissionKind.SEGMENT)
+                    .forEach(segments::add);
+            events.addAll(decision.events());
+            record = decision.record();
+        }
+
+        LifecycleTraceRecord traceRecord = record.traceRecord();
+        assertEquals(observations, traceRecord.entryCount());
+        assertEquals(2 * LifecycleTraceRecord.SPILL_SEGMENT_SIZE, traceRecord.spilledEntryCount());
+        assertTrue(traceRecord.entries().size() <= LifecycleTraceRecord.RETAINED_ENTRY_LIMIT);
+        assertEquals(observations, traceRecord.lastEntry().orElseThrow().sequence());
+        assertEquals(2 * LifecycleTraceRecord.SPILL_SEGMENT_SIZE + 1, traceRecord.entries().getFirst().sequence());
+        assertEquals(
+                List.of(
+                        ControlLifecycleNames.traceSegmentKey(TRACE_ID, 1),
+                        ControlLifecycleNames.traceSegmentKey(TRACE_ID, LifecycleTraceRecord.SPILL_SEGMENT_SIZE + 1)),
+                segments.stream().map(LifecycleTraceEmission::key).toList());
+        List<String> traceKeys = new ArrayList<>(List.of(ControlLifecycleNames.traceStateKey(TRACE_ID)));
+        segments.forEach(segment -> traceKeys.add(segment.key()));
+        assertEquals(traceKeys, ControlLifecycleNames.traceKeys(traceRecord));
+        assertEquals(Optional.of(TRACE_ID), ControlLifecycleNames.traceOfStateKey(traceKeys.getFirst()));
+        assertTrue(ControlLifecycleNames.traceOfStateKey(traceKeys.getLast()).isEmpty());
+        assertTrue(segments.getLast().value().contains("|lastSequence=" + 2 * LifecycleTraceRecord.SPILL_SEGMENT_SIZE));
+        assertTrue(traceRecord.wireValue(record.revision()).contains("|entryCount=" + observations + "|lastPhase=HOST_ATTACH_OBSERVED"));
+        assertEquals(record, LifecycleTraceController.replay(13, TRACE_ID, events));
+    }
+
+    @Test
+    void appendingToAnEarlierRevisionLeavesLaterRevisionsIntact() {
+        LifecycleTraceRecord base = LifecycleTraceRecord.empty(TRACE_ID)
+                .append(observation(LifecyclePhase.QUEUE_INTENT_SUBMITTED, "queue-intent", "queue-1", Optional.empty(), Optional.empty(), 0));
+
+        LifecycleTraceRecord routed = base.append(
+                observation(LifecyclePhase.ROUTE_ATTEMPT_CREATED, "route-attempt", "route-attempt-1", Optional.of(SESSION_ID), Optional.of(MANIFEST_ID), 1));
+        LifecycleTraceRecord claimed = base.append(
+                observation(LifecyclePhase.ALLOCATION_CLAIMED, "slot", "slot-instance-paper-1", Optional.of(SESSION_ID), Optional.of(MANIFEST_ID), 1));
+
+        assertEquals(1, base.entries().size());
+        assertEquals(LifecyclePhase.ROUTE_ATTEMPT_CREATED, routed.lastEntry().orElseThrow().phase());
+        assertEquals(LifecyclePhase.ALLOCATION_CLAIMED, claimed.lastEntry().orElseThrow().phase());
+        assertEquals(base.entries().getFirst(), claimed.entries().getFirst());
+        assertEquals(new LifecycleTraceRecord(TRACE_ID, List.copyOf(routed.entries())), routed);
+    }
+
     @Test
     void duplicateObservationCommandReplaysWithoutNewTraceEntry() {
         LifecycleTraceController controller = new LifecycleTraceController();
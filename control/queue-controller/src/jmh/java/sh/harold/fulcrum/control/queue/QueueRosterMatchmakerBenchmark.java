@@ -0,0 +1,120 @@
+package sh.harold.fulcrum.control.queue;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import sh.harold.fulcrum.api.contract.TraceEnvelope;
+import sh.harold.fulcrum.api.kernel.ExperienceId;
+import sh.harold.fulcrum.api.kernel.InstanceId;
+import sh.harold.fulcrum.api.kernel.PoolId;
+import sh.harold.fulcrum.api.kernel.SubjectId;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+// Each invocation forms every roster a partition of `subjects` waiting subjects allows, from a matchmaker rebuilt
+// before it, so one measurement is one whole formation run.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class QueueRosterMatchmakerBenchmark {
+    private static final int MAX_SUBJECTS = 8;
+    private static final int ARRIVAL_BATCH = 64;
+    private static final QueuePartitionKey PARTITION_KEY = new QueuePartitionKey(
+            new ExperienceId("experience-arena"), Optional.empty(), new PoolId("pool-paper-arena"));
+    private static final Instant BASE_TIME = Instant.parse("2026-06-16T12:00:00Z");
+    private static final TraceEnvelope TRACE = new TraceEnvelope(
+            "trace-queue-benchmark",
+            "span-queue-benchmark",
+            Optional.empty(),
+            BASE_TIME,
+            "queue-controller-benchmark",
+            new InstanceId("instance-queue-benchmark"));
+
+    @Param({"10000", "50000"})
+    public int subjects;
+
+    private List<QueueIntentSnapshot> backlog;
+    private List<QueueIntentSnapshot> trios;
+    private List<QueueIntentSnapshot> arrivals;
+    private QueueRosterMatchmaker backlogMatchmaker;
+    private QueueRosterMatchmaker arrivalMatchmaker;
+
+    @Setup
+    public void generate() {
+        backlog = parties(subjects, new Random(7), 0);
+        Random random = new Random(11);
+        trios = parties(subjects, random, 3);
+        arrivals = parties(subjects, random, 0);
+    }
+
+    @Setup(Level.Iteration)
+    public void rebuild() {
+        backlogMatchmaker = new QueueRosterMatchmaker(
+                new QueueMatchmakingPolicy(MAX_SUBJECTS, MAX_SUBJECTS / 2, Duration.ofSeconds(30)));
+        arrivalMatchmaker = new QueueRosterMatchmaker(QueueMatchmakingPolicy.fullRostersOnly(MAX_SUBJECTS));
+        trios.forEach(arrivalMatchmaker::offer);
+    }
+
+    // Everything is already waiting: one threshold pass drains the partition into full rosters.
+    @Benchmark
+    public List<FormRosterIntent> backlog() {
+        backlog.forEach(backlogMatchmaker::offer);
+        return backlogMatchmaker.formReady(BASE_TIME.plusSeconds(1), TRACE);
+    }
+
+    // Steady state: a partition holding trios, which alone never fill a roster of eight, receives small batches of
+    // mixed parties and forms rosters after each one, so every pass runs against a loaded partition.
+    @Benchmark
+    public List<FormRosterIntent> arrivals() {
+        List<FormRosterIntent> formed = new ArrayList<>();
+        for (int from = 0; from < arrivals.size(); from += ARRIVAL_BATCH) {
+            arrivals.subList(from, Math.min(arrivals.size(), from + ARRIVAL_BATCH)).forEach(arrivalMatchmaker::offer);
+            formed.addAll(arrivalMatchmaker.formReady(BASE_TIME.plusSeconds(1), TRACE));
+        }
+        return formed;
+    }
+
+    // A fixed party size, or with 0 a solo-heavy mix: 60% solo, 25% duos, 10% trios, 5% quads.
+    private static List<QueueIntentSnapshot> parties(int subjects, Random random, int fixedPartySize) {
+        List<QueueIntentSnapshot> intents = new ArrayList<>();
+        int placed = 0;
+        while (placed < subjects) {
+            int roll = random.nextInt(100);
+            int partySize = fixedPartySize > 0 ? fixedPartySize : roll < 60 ? 1 : roll < 85 ? 2 : roll < 95 ? 3 : 4;
+            String queueIntentId = "queue-" + fixedPartySize + "-" + intents.size();
+            long subjectBase = placed + (fixedPartySize == 0 ? 0 : 1L << 40);
+            intents.add(QueueIntentSnapshot.from(new SubmitQueueIntent(
+                    new QueueIntentId(queueIntentId),
+                    IntStream.range(0, partySize).mapToObj(offset -> new SubjectId(new UUID(0, subjectBase + offset))).toList(),
+                    PARTITION_KEY.experienceId(),
+                    PARTITION_KEY.modeId(),
+                    PARTITION_KEY.poolId(),
+                    random.nextInt(4),
+                    BASE_TIME.minusMillis(subjects - placed),
+                    BASE_TIME.plusSeconds(600),
+                    TRACE)));
+            placed += partySize;
+        }
+        return intents;
+    }
+}
@@ -0,0 +1,142 @@
+package sh.harold.fulcrum.control.queue;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import sh.harold.fulcrum.api.contract.CommandEnvelope;
+import sh.harold.fulcrum.api.contract.CommandId;
+import sh.harold.fulcrum.api.contract.CommandName;
+import sh.harold.fulcrum.api.contract.IdempotencyKey;
+import sh.harold.fulcrum.api.contract.PrincipalId;
+import sh.harold.fulcrum.api.contract.Revision;
+import sh.harold.fulcrum.api.contract.TraceEnvelope;
+import sh.harold.fulcrum.api.kernel.ExperienceId;
+import sh.harold.fulcrum.api.kernel.InstanceId;
+import sh.harold.fulcrum.api.kernel.PoolId;
+import sh.harold.fulcrum.api.kernel.SubjectId;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// One controller decision against a partition already holding `size` waiting intents; each invocation applies to the
+// same populated record, so the cost measured is the persistent-map update and never the partition's growth.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QueueRosterStateBenchmark {
+    private static final PrincipalId PRINCIPAL_ID = new PrincipalId("principal-queue-benchmark");
+    private static final QueuePartitionKey PARTITION_KEY = new QueuePartitionKey(
+            new ExperienceId("experience-arena"), Optional.empty(), new PoolId("pool-paper-arena"));
+    private static final Instant BASE_TIME = Instant.parse("2026-06-16T12:00:00Z");
+    private static final TraceEnvelope TRACE = new TraceEnvelope(
+            "trace-queue-benchmark",
+            "span-queue-benchmark",
+            Optional.empty(),
+            BASE_TIME,
+            "queue-controller-benchmark",
+            new InstanceId("instance-queue-benchmark"));
+
+    @Param({"1000", "10000", "100000"})
+    public int size;
+
+    private final QueueRosterController controller = new QueueRosterController();
+    private QueueRosterControlRecord record;
+    private int iteration;
+
+    @Setup
+    public void setUp() {
+        QueueRosterState state = QueueRosterState.empty();
+        for (int index = 0; index < size; index++) {
+            state = state.withQueueIntent(QueueIntentSnapshot.from(submit(queueId(index).value(), index)));
+        }
+        record = QueueRosterController.emptyRecord(7).withState(new Revision(size), state);
+    }
+
+    @Benchmark
+    public QueueRosterDecision submit() {
+        int next = iteration++;
+        return handle(submit("submit-" + next, size + next), "submit-" + next);
+    }
+
+    @Benchmark
+    public QueueRosterDecision cancel() {
+        int next = iteration++;
+        return handle(new CancelQueueIntent(PARTITION_KEY, queueId(next % size), BASE_TIME.plusSeconds(1)), "cancel-" + next);
+    }
+
+    @Benchmark
+    public QueueRosterDecision form() {
+        int next = iteration++;
+        return handle(new FormRosterIntent(
+                new RosterIntentId("roster-" + next),
+                PARTITION_KEY,
+                List.of(queueId(2 * next % size), queueId((2 * next + 1) % size)),
+                2,
+                BASE_TIME.plusSeconds(1),
+                TRACE), "form-" + next);
+    }
+
+    private QueueRosterDecision handle(QueueRosterCommand payload, String commandId) {
+        QueueRosterDecision decision = controller.handle(new QueueRosterControlCommand<>(
+                new CommandEnvelope<>(
+                        new CommandId(commandId),
+                        new IdempotencyKey("idem-" + commandId),
+                        PRINCIPAL_ID,
+                        ControlQueueNames.aggregateId(PARTITION_KEY),
+                        ControlQueueNames.CONTRACT,
+                        commandName(payload),
+                        TRACE,
+                        Optional.empty(),
+                        payload),
+                PRINCIPAL_ID,
+                7,
+                Optional.empty(),
+                "payload-" + commandId,
+                BASE_TIME.plusSeconds(1)), record);
+        if (decision.status() != QueueRosterDecisionStatus.ACCEPTED) {
+            throw new IllegalStateException("Benchmark command was not accepted: " + decision.status());
+        }
+        return decision;
+    }
+
+    private static CommandName commandName(QueueRosterCommand payload) {
+        if (payload instanceof SubmitQueueIntent) {
+            return ControlQueueNames.SUBMIT_QUEUE_INTENT;
+        }
+        if (payload instanceof CancelQueueIntent) {
+            return ControlQueueNames.CANCEL_QUEUE_INTENT;
+        }
+        return ControlQueueNames.FORM_ROSTER_INTENT;
+    }
+
+    private static SubmitQueueIntent submit(String queueIntentId, long subject) {
+        return new SubmitQueueIntent(
+                new QueueIntentId(queueIntentId),
+                List.of(new SubjectId(new UUID(0, subject))),
+                PARTITION_KEY.experienceId(),
+                PARTITION_KEY.modeId(),
+                PARTITION_KEY.poolId(),
+                (int) (subject % 4),
+                BASE_TIME,
+                BASE_TIME.plusSeconds(600),
+                TRACE);
+    }
+
+    private static QueueIntentId queueId(int index) {
+        return new QueueIntentId("queue-" + index);
+    }
+}
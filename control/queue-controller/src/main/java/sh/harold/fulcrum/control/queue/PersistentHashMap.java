@@ -0,0 +1,447 @@
+package sh.harold.fulcrum.control.queue;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+// Immutable hash array mapped trie: plus and minus copy only the O(log32 n) nodes on the path to the key and share
+// everything else with the previous version. Node arrays hold key/value pairs; a null key marks a child node.
+final class PersistentHashMap<K, V> extends AbstractMap<K, V> {
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+    private static final int MAX_DEPTH = 8;
+    private static final PersistentHashMap<?, ?> EMPTY = new PersistentHashMap<>(null, 0);
+
+    private final Node root;
+    private final int size;
+
+    private PersistentHashMap(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <K, V> PersistentHashMap<K, V> empty() {
+        return (PersistentHashMap<K, V>) EMPTY;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <K, V> PersistentHashMap<K, V> copyOf(Map<? extends K, ? extends V> map) {
+        Objects.requireNonNull(map, "map");
+        if (map instanceof PersistentHashMap<?, ?> persistent) {
+            return (PersistentHashMap<K, V>) persistent;
+        }
+        PersistentHashMap<K, V> copy = empty();
+        for (Map.Entry<? extends K, ? extends V> entry : map.entrySet()) {
+            copy = copy.plus(entry.getKey(), entry.getValue());
+        }
+        return copy;
+    }
+
+    PersistentHashMap<K, V> plus(K key, V value) {
+        Objects.requireNonNull(key, "key");
+        Objects.requireNonNull(value, "value");
+        int hash = hash(key);
+        Node next = root == null
+                ? new BitmapNode(bit(hash, 0), new Object[]{key, value})
+                : root.plus(key, value, hash, 0);
+        if (next == root) {
+            return this;
+        }
+        return new PersistentHashMap<>(next, root != null && root.find(key, hash, 0) != null ? size : size + 1);
+    }
+
+    PersistentHashMap<K, V> minus(Object key) {
+        if (root == null || key == null) {
+            return this;
+        }
+        Node next = root.minus(key, hash(key), 0);
+        if (next == root) {
+            return this;
+        }
+        return next == null ? empty() : new PersistentHashMap<>(next, size - 1);
+    }
+
+    // Reports every key whose value differs between previous and this version, passing null for the side it is absent
+    // from. Subtrees both versions share are skipped by identity, so diffing a version against the one it was derived
+    // from costs O(changes * log32 n) rather than O(n).
+    void diff(PersistentHashMap<K, V> previous, Changes<K, V> changes) {
+        Objects.requireNonNull(previous, "previous");
+        Objects.requireNonNull(changes, "changes");
+        diff(previous.root, root, 0, changes);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(Object key) {
+        if (root == null || key == null) {
+            return null;
+        }
+        return (V) root.find(key, hash(key), 0);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Map.Entry<K, V>> iterator() {
+                return new EntryIterator<>(root);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K, V> void diff(Node previous, Node next, int shift, Changes<K, V> changes) {
+        if (previous == next) {
+            return;
+        }
+        if (previous instanceof BitmapNode before && next instanceof BitmapNode after) {
+            int bits = before.bitmap | after.bitmap;
+            while (bits != 0) {
+                int bit = Integer.lowestOneBit(bits);
+                bits ^= bit;
+                if ((before.bitmap & bit) == 0) {
+                    reportAll(after.array, after.index(bit), false, changes);
+                } else if ((after.bitmap & bit) == 0) {
+                    reportAll(before.array, before.index(bit), true, changes);
+                } else {
+                    diffSlots(before.array, before.index(bit), after.array, after.index(bit), shift + BITS, changes);
+                }
+            }
+            return;
+        }
+        // Collision nodes, and a side that is missing entirely, are compared entry by entry.
+        if (next != null) {
+            Iterator<Map.Entry<K, V>> entries = new EntryIterator<>(next);
+            while (entries.hasNext()) {
+                Map.Entry<K, V> entry = entries.next();
+                V before = previous == null ? null : (V) previous.find(entry.getKey(), hash(entry.getKey()), shift);
+                if (!entry.getValue().equals(before)) {
+                    changes.changed(entry.getKey(), before, entry.getValue());
+                }
+            }
+        }
+        if (previous != null) {
+            Iterator<Map.Entry<K, V>> entries = new EntryIterator<>(previous);
+            while (entries.hasNext()) {
+                Map.Entry<K, V> entry = entries.next();
+                if (next == null || next.find(entry.getKey(), hash(entry.getKey()), shift) == null) {
+                    changes.changed(entry.getKey(), entry.getValue(), null);
+                }
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K, V> void diffSlots(
+            Object[] before,
+            int beforeIndex,
+            Object[] after,
+            int afterIndex,
+            int childShift,
+            Changes<K, V> changes) {
+        Object beforeKey = before[beforeIndex];
+        Object afterKey = after[afterIndex];
+        Object beforeValue = before[beforeIndex + 1];
+        Object afterValue = after[afterIndex + 1];
+        if (beforeKey == null || afterKey == null) {
+            diff(asNode(beforeKey, beforeValue, childShift), asNode(afterKey, afterValue, childShift), childShift, changes);
+        } else if (beforeKey.equals(afterKey)) {
+            if (!beforeValue.equals(afterValue)) {
+                changes.changed((K) afterKey, (V) beforeValue, (V) afterValue);
+            }
+        } else {
+            changes.changed((K) beforeKey, (V) beforeValue, null);
+            changes.changed((K) afterKey, null, (V) afterValue);
+        }
+    }
+
+    // A lone entry facing a child node is lifted into a one-entry node at the child's level so the two compare alike.
+    private static Node asNode(Object key, Object value, int shift) {
+        return key == null ? (Node) value : new BitmapNode(bit(hash(key), shift), new Object[]{key, value});
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K, V> void reportAll(Object[] array, int index, boolean removed, Changes<K, V> changes) {
+        if (array[index] != null) {
+            K key = (K) array[index];
+            V value = (V) array[index + 1];
+            changes.changed(key, removed ? value : null, removed ? null : value);
+            return;
+        }
+        Iterator<Map.Entry<K, V>> entries = new EntryIterator<>((Node) array[index + 1]);
+        while (entries.hasNext()) {
+            Map.Entry<K, V> entry = entries.next();
+            changes.changed(entry.getKey(), removed ? entry.getValue() : null, removed ? null : entry.getValue());
+        }
+    }
+
+    private static int hash(Object key) {
+        int hash = key.hashCode();
+        return hash ^ (hash >>> 16);
+    }
+
+    private static int bit(int hash, int shift) {
+        return 1 << ((hash >>> shift) & MASK);
+    }
+
+    @FunctionalInterface
+    interface Changes<K, V> {
+        void changed(K key, V before, V after);
+    }
+
+    private abstract static class Node {
+        final Object[] array;
+
+        private Node(Object[] array) {
+            this.array = array;
+        }
+
+        abstract Object find(Object key, int hash, int shift);
+
+        abstract Node plus(Object key, Object value, int hash, int shift);
+
+        abstract Node minus(Object key, int hash, int shift);
+    }
+
+    private static final class BitmapNode extends Node {
+        private final int bitmap;
+
+        private BitmapNode(int bitmap, Object[] array) {
+            super(array);
+            this.bitmap = bitmap;
+        }
+
+        @Override
+        Object find(Object key, int hash, int shift) {
+            int bit = bit(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return null;
+            }
+            int index = index(bit);
+            Object existingKey = array[index];
+            if (existingKey == null) {
+                return ((Node) array[index + 1]).find(key, hash, shift + BITS);
+            }
+            return key.equals(existingKey) ? array[index + 1] : null;
+        }
+
+        @Override
+        Node plus(Object key, Object value, int hash, int shift) {
+            int bit = bit(hash, shift);
+            int index = index(bit);
+            if ((bitmap & bit) == 0) {
+                Object[] next = new Object[array.length + 2];
+                System.arraycopy(array, 0, next, 0, index);
+                next[index] = key;
+                next[index + 1] = value;
+                System.arraycopy(array, index, next, index + 2, array.length - index);
+                return new BitmapNode(bitmap | bit, next);
+            }
+            Object existingKey = array[index];
+            Object existingValue = array[index + 1];
+            if (existingKey == null) {
+                Node child = (Node) existingValue;
+                Node nextChild = child.plus(key, value, hash, shift + BITS);
+                return nextChild == child ? this : replace(index, null, nextChild);
+            }
+            if (key.equals(existingKey)) {
+                return existingValue == value ? this : replace(index, existingKey, value);
+            }
+            Node child = pair(shift + BITS, existingKey, existingValue, hash(existingKey), key, value, hash);
+            return replace(index, null, child);
+        }
+
+        @Override
+        Node minus(Object key, int hash, int shift) {
+            int bit = bit(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return this;
+            }
+            int index = index(bit);
+            Object existingKey = array[index];
+            if (existingKey == null) {
+                Node child = (Node) array[index + 1];
+                Node nextChild = child.minus(key, hash, shift + BITS);
+                if (nextChild == child) {
+                    return this;
+                }
+                return nextChild == null ? remove(bit, index) : replace(index, null, nextChild);
+            }
+            return key.equals(existingKey) ? remove(bit, index) : this;
+        }
+
+        private int index(int bit) {
+            return 2 * Integer.bitCount(bitmap & (bit - 1));
+        }
+
+        private Node replace(int index, Object key, Object value) {
+            Object[] next = array.clone();
+            next[index] = key;
+            next[index + 1] = value;
+            return new BitmapNode(bitmap, next);
+        }
+
+        private Node remove(int bit, int index) {
+            if (bitmap == bit) {
+                return null;
+            }
+            Object[] next = new Object[array.length - 2];
+            System.arraycopy(array, 0, next, 0, index);
+            System.arraycopy(array, index + 2, next, index, array.length - index - 2);
+            return new BitmapNode(bitmap ^ bit, next);
+        }
+
+        private static Node pair(int shift, Object key1, Object value1, int hash1, Object key2, Object value2, int hash2) {
+            if (hash1 == hash2) {
+                return new CollisionNode(hash1, new Object[]{key1, value1, key2, value2});
+            }
+            // Distinct hashes always diverge within the 32 hash bits, so this recursion ends before MAX_DEPTH.
+            Node node = new BitmapNode(bit(hash1, shift), new Object[]{key1, value1});
+            return node.plus(key2, value2, hash2, shift);
+        }
+    }
+
+    private static final class CollisionNode extends Node {
+        private final int hash;
+
+        private CollisionNode(int hash, Object[] array) {
+            super(array);
+            this.hash = hash;
+        }
+
+        @Override
+        Object find(Object key, int hash, int shift) {
+            if (hash != this.hash) {
+                return null;
+            }
+            int index = indexOf(key);
+            return index < 0 ? null : array[index + 1];
+        }
+
+        @Override
+        Node plus(Object key, Object value, int hash, int shift) {
+            if (hash != this.hash) {
+                Node wrapper = new BitmapNode(bit(this.hash, shift), new Object[]{null, this});
+                return wrapper.plus(key, value, hash, shift);
+            }
+            int index = indexOf(key);
+            if (index >= 0) {
+                if (array[index + 1] == value) {
+                    return this;
+                }
+                Object[] next = array.clone();
+                next[index + 1] = value;
+                return new CollisionNode(hash, next);
+            }
+            Object[] next = Arrays.copyOf(array, array.length + 2);
+            next[array.length] = key;
+            next[array.length + 1] = value;
+            return new CollisionNode(hash, next);
+        }
+
+        @Override
+        Node minus(Object key, int hash, int shift) {
+            int index = hash == this.hash ? indexOf(key) : -1;
+            if (index < 0) {
+                return this;
+            }
+            if (array.length == 2) {
+                return null;
+            }
+            Object[] next = new Object[array.length - 2];
+            System.arraycopy(array, 0, next, 0, index);
+            System.arraycopy(array, index + 2, next, index, array.length - index - 2);
+            return new CollisionNode(hash, next);
+        }
+
+        private int indexOf(Object key) {
+            for (int index = 0; index < array.length; index += 2) {
+                if (key.equals(array[index])) {
+                    return index;
+                }
+            }
+            return -1;
+        }
+    }
+
+    private static final class EntryIterator<K, V> implements Iterator<Map.Entry<K, V>> {
+        private final Object[][] arrays = new Object[MAX_DEPTH][];
+        private final int[] positions = new int[MAX_DEPTH];
+        private int depth = -1;
+        private Map.Entry<K, V> next;
+
+        private EntryIterator(Node root) {
+            if (root != null) {
+                push(root.array);
+            }
+            advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public Map.Entry<K, V> next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            Map.Entry<K, V> current = next;
+            advance();
+            return current;
+        }
+
+        @SuppressWarnings("unchecked")
+        private void advance() {
+            next = null;
+            while (depth >= 0) {
+                Object[] array = arrays[depth];
+                int position = positions[depth];
+                if (position >= array.length) {
+                    arrays[depth--] = null;
+                    continue;
+                }
+                positions[depth] = position + 2;
+                if (array[position] == null) {
+                    push(((Node) array[position + 1]).array);
+                    continue;
+                }
+                next = new AbstractMap.SimpleImmutableEntry<>((K) array[position], (V) array[position + 1]);
+                return;
+            }
+        }
+
+        private void push(Object[] array) {
+            depth++;
+            arrays[depth] = array;
+            positions[depth] = 0;
+        }
+    }
+}
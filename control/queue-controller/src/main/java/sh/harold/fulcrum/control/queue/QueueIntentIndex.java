@@ -0,0 +1,193 @@
+package sh.harold.fulcrum.control.queue;
+
+import sh.harold.fulcrum.api.kernel.SubjectId;
+
+import java.time.Instant;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+// Queue intents by id plus the secondary indexes the controller queries on every command. Each version shares
+// structure with the one it was derived from, so an update costs O(log n) regardless of partition size.
+final class QueueIntentIndex extends AbstractMap<QueueIntentId, QueueIntentSnapshot> {
+    private static final QueueIntentStatus[] STATUSES = QueueIntentStatus.values();
+    private static final QueueIntentIndex EMPTY = new QueueIntentIndex(
+            PersistentHashMap.empty(),
+            PersistentHashMap.empty(),
+            emptyStatusIndexes(),
+            null);
+
+    private final PersistentHashMap<QueueIntentId, QueueIntentSnapshot> intents;
+    private final PersistentHashMap<SubjectId, QueueIntentId> waitingSubjects;
+    private final PersistentHashMap<QueueIntentId, QueueIntentSnapshot>[] byStatus;
+    // Lower bound on updatedAt across terminal intents; null when there are none.
+    private final Instant oldestTerminalAt;
+
+    private QueueIntentIndex(
+            PersistentHashMap<QueueIntentId, QueueIntentSnapshot> intents,
+            PersistentHashMap<SubjectId, QueueIntentId> waitingSubjects,
+            PersistentHashMap<QueueIntentId, QueueIntentSnapshot>[] byStatus,
+            Instant oldestTerminalAt) {
+        this.intents = intents;
+        this.waitingSubjects = waitingSubjects;
+        this.byStatus = byStatus;
+        this.oldestTerminalAt = oldestTerminalAt;
+    }
+
+    static QueueIntentIndex empty() {
+        return EMPTY;
+    }
+
+    static QueueIntentIndex copyOf(Map<QueueIntentId, QueueIntentSnapshot> queueIntents) {
+        Objects.requireNonNull(queueIntents, "queueIntents");
+        if (queueIntents instanceof QueueIntentIndex index) {
+            return index;
+        }
+        QueueIntentIndex index = EMPTY;
+        for (Map.Entry<QueueIntentId, QueueIntentSnapshot> entry : queueIntents.entrySet()) {
+            QueueIntentSnapshot snapshot = Objects.requireNonNull(entry.getValue(), "queueIntent");
+            if (!snapshot.queueIntentId().equals(entry.getKey())) {
+                throw new IllegalArgumentException("queueIntents must be keyed by queueIntentId");
+            }
+            index = index.with(snapshot);
+        }
+        return index;
+    }
+
+    QueueIntentIndex with(QueueIntentSnapshot snapshot) {
+        Objects.requireNonNull(snapshot, "snapshot");
+        QueueIntentId queueIntentId = snapshot.queueIntentId();
+        QueueIntentSnapshot previous = intents.get(queueIntentId);
+        if (previous == snapshot) {
+            return this;
+        }
+        PersistentHashMap<SubjectId, QueueIntentId> nextWaitingSubjects = waitingSubjects;
+        PersistentHashMap<QueueIntentId, QueueIntentSnapshot>[] nextByStatus = byStatus.clone();
+        if (previous != null) {
+            int ordinal = previous.status().ordinal();
+            nextByStatus[ordinal] = nextByStatus[ordinal].minus(queueIntentId);
+            if (previous.status() == QueueIntentStatus.WAITING) {
+                for (SubjectId subjectId : previous.subjectIds()) {
+                    if (queueIntentId.equals(nextWaitingSubjects.get(subjectId))) {
+                        nextWaitingSubjects = nextWaitingSubjects.minus(subjectId);
+                    }
+                }
+            }
+        }
+        int ordinal = snapshot.status().ordinal();
+        nextByStatus[ordinal] = nextByStatus[ordinal].plus(queueIntentId, snapshot);
+        if (snapshot.status() == QueueIntentStatus.WAITING) {
+            for (SubjectId subjectId : snapshot.subjectIds()) {
+                nextWaitingSubjects = nextWaitingSubjects.plus(subjectId, queueIntentId);
+            }
+        }
+        Instant nextOldestTerminalAt = oldestTerminalAt;
+        if (terminal(snapshot.status())
+                && (nextOldestTerminalAt == null || snapshot.updatedAt().isBefore(nextOldestTerminalAt))) {
+            nextOldestTerminalAt = snapshot.updatedAt();
+        }
+        return new QueueIntentIndex(
+                intents.plus(queueIntentId, snapshot),
+                nextWaitingSubjects,
+                nextByStatus,
+                nextOldestTerminalAt);
+    }
+
+    boolean hasTerminalUpdatedBefore(Instant instant) {
+        return oldestTerminalAt != null && oldestTerminalAt.isBefore(instant);
+    }
+
+    Eviction withoutTerminalUpdatedBefore(Instant cutoff) {
+        Objects.requireNonNull(cutoff, "cutoff");
+        if (!hasTerminalUpdatedBefore(cutoff)) {
+            return new Eviction(this, List.of());
+        }
+        PersistentHashMap<QueueIntentId, QueueIntentSnapshot> nextIntents = intents;
+        PersistentHashMap<QueueIntentId, QueueIntentSnapshot>[] nextByStatus = byStatus.clone();
+        List<QueueIntentSnapshot> evicted = new ArrayList<>();
+        Instant nextOldestTerminalAt = null;
+        for (QueueIntentStatus status : STATUSES) {
+            if (!terminal(status)) {
+                continue;
+            }
+            for (QueueIntentSnapshot snapshot : byStatus[status.ordinal()].values()) {
+                if (snapshot.updatedAt().isBefore(cutoff)) {
+                    nextIntents = nextIntents.minus(snapshot.queueIntentId());
+                    nextByStatus[status.ordinal()] = nextByStatus[status.ordinal()].minus(snapshot.queueIntentId());
+                    evicted.add(snapshot);
+                } else if (nextOldestTerminalAt == null || snapshot.updatedAt().isBefore(nextOldestTerminalAt)) {
+                    nextOldestTerminalAt = snapshot.updatedAt();
+                }
+            }
+        }
+        return new Eviction(
+                new QueueIntentIndex(nextIntents, waitingSubjects, nextByStatus, nextOldestTerminalAt),
+                List.copyOf(evicted));
+    }
+
+    QueueRosterFootprint footprint(int rosterIntents) {
+        int waiting = byStatus[QueueIntentStatus.WAITING.ordinal()].size();
+        return QueueRosterFootprint.of(waiting, intents.size() - waiting, waitingSubjects.size(), rosterIntents);
+    }
+
+    Optional<QueueIntentId> waitingIntentFor(SubjectId subjectId) {
+        return Optional.ofNullable(waitingSubjects.get(Objects.requireNonNull(subjectId, "subjectId")));
+    }
+
+    Map<QueueIntentId, QueueIntentSnapshot> withStatus(QueueIntentStatus status) {
+        return byStatus[Objects.requireNonNull(status, "status").ordinal()];
+    }
+
+    void diffWithStatus(
+            QueueIntentIndex previous,
+            QueueIntentStatus status,
+            PersistentHashMap.Changes<QueueIntentId, QueueIntentSnapshot> changes) {
+        int ordinal = Objects.requireNonNull(status, "status").ordinal();
+        byStatus[ordinal].diff(previous.byStatus[ordinal], changes);
+    }
+
+    @Override
+    public QueueIntentSnapshot get(Object key) {
+        return intents.get(key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return intents.containsKey(key);
+    }
+
+    @Override
+    public int size() {
+        return intents.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return intents.isEmpty();
+    }
+
+    @Override
+    public Set<Map.Entry<QueueIntentId, QueueIntentSnapshot>> entrySet() {
+        return intents.entrySet();
+    }
+
+    private static boolean terminal(QueueIntentStatus status) {
+        return status != QueueIntentStatus.WAITING;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static PersistentHashMap<QueueIntentId, QueueIntentSnapshot>[] emptyStatusIndexes() {
+        PersistentHashMap<QueueIntentId, QueueIntentSnapshot>[] indexes = new PersistentHashMap[STATUSES.length];
+        for (int ordinal = 0; ordinal < indexes.length; ordinal++) {
+            indexes[ordinal] = PersistentHashMap.empty();
+        }
+        return indexes;
+    }
+
+    record Eviction(QueueIntentIndex index, List<QueueIntentSnapshot> evicted) {
+    }
+}
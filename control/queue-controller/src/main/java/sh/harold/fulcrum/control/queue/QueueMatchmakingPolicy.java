@@ -0,0 +1,26 @@
+package sh.harold.fulcrum.control.queue;
+
+import java.time.Duration;
+import java.util.Objects;
+
+public record QueueMatchmakingPolicy(int maxSubjects, int minSubjects, Duration fillWindow) {
+    public QueueMatchmakingPolicy {
+        if (maxSubjects <= 0) {
+            throw new IllegalArgumentException("maxSubjects must be positive");
+        }
+        if (minSubjects <= 0) {
+            throw new IllegalArgumentException("minSubjects must be positive");
+        }
+        if (minSubjects > maxSubjects) {
+            throw new IllegalArgumentException("minSubjects must not exceed maxSubjects");
+        }
+        fillWindow = Objects.requireNonNull(fillWindow, "fillWindow");
+        if (fillWindow.isNegative()) {
+            throw new IllegalArgumentException("fillWindow must be non-negative");
+        }
+    }
+
+    public static QueueMatchmakingPolicy fullRostersOnly(int maxSubjects) {
+        return new QueueMatchmakingPolicy(maxSubjects, maxSubjects, Duration.ZERO);
+    }
+}
@@ -4,16 +4,47 @@ import sh.harold.fulcrum.api.contract.IdempotencyKey;
 import sh.harold.fulcrum.api.contract.Revision;
 import sh.harold.fulcrum.api.kernel.SubjectId;
 
+import java.time.Instant;
+import java.time.InstantSource;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.PriorityQueue;
 import java.util.Set;
 
 public final class QueueRosterController {
     private final Map<IdempotencyKey, StoredQueueRosterDecision> idempotencyLedger = new HashMap<>();
+    // Caller-supplied receive times arrive out of order, so expiry follows recordedAt rather than insertion order.
+    private final PriorityQueue<StoredQueueRosterDecision> ledgerExpiry =
+            new PriorityQueue<>(Comparator.comparing(StoredQueueRosterDecision::recordedAt));
+    private final QueueRosterRetention retention;
+    private final InstantSource clock;
+    private Instant observedUntil = Instant.MIN;
+
+    public QueueRosterController() {
+        this(QueueRosterRetention.defaults());
+    }
+
+    public QueueRosterController(QueueRosterRetention retention) {
+        this(retention, InstantSource.system());
+    }
+
+    public QueueRosterController(QueueRosterRetention retention, InstantSource clock) {
+        this.retention = Objects.requireNonNull(retention, "retention");
+        this.clock = Objects.requireNonNull(clock, "clock");
+    }
+
+    public QueueRosterRetention retention() {
+        return retention;
+    }
+
+    public int idempotencyLedgerSize() {
+        return idempotencyLedger.size();
+    }
 
     public QueueRosterDecision handle(
             QueueRosterControlCommand<? extends QueueRosterCommand> command,
@@ -33,6 +64,8 @@ public final class QueueRosterController {
                     command.envelope().commandId().value());
         }
 
+        Instant receivedAt = observe(command.receivedAt());
+        evictLedgerEntriesBefore(retention.cutoff(observedUntil));
         StoredQueueRosterDecision stored = idempotencyLedger.get(command.envelope().idempotencyKey());
         if (stored != null) {
             if (stored.payloadFingerprint().equals(command.payloadFingerprint())) {
@@ -58,12 +91,12 @@ public final class QueueRosterController {
                     command.fencingEpoch(),
                     command.envelope().idempotencyKey().value(),
                     command.envelope().commandId().value());
-            idempotencyLedger.put(command.envelope().idempotencyKey(), new StoredQueueRosterDecision(command.payloadFingerprint(), decision));
+            remember(command, decision, receivedAt);
             return decision;
         }
 
-        QueueRosterDecision decision = accepted(command, currentRecord);
-        idempotencyLedger.put(command.envelope().idempotencyKey(), new StoredQueueRosterDecision(command.payloadFingerprint(), decision));
+        QueueRosterDecision decision = accepted(command, currentRecord, retention);
+        remember(command, decision, receivedAt);
         return decision;
     }
 
@@ -80,6 +113,33 @@ public final class QueueRosterController {
         return QueueRosterControlRecord.empty(fencingEpoch);
     }
 
+    // Receive times are capped at the controller clock so one future-dated command cannot expire the whole ledger,
+    // and the eviction watermark only moves forward.
+    private Instant observe(Instant receivedAt) {
+        Instant now = clock.instant();
+        Instant observed = receivedAt.isAfter(now) ? now : receivedAt;
+        if (observed.isAfter(observedUntil)) {
+            observedUntil = observed;
+        }
+        return observed;
+    }
+
+    private void remember(
+            QueueRosterControlCommand<? extends QueueRosterCommand> command,
+            QueueRosterDecision decision,
+            Instant recordedAt) {
+        StoredQueueRosterDecision stored = new StoredQueueRosterDecision(
+                command.envelope().idempotencyKey(), command.payloadFingerprint(), decision, recordedAt);
+        idempotencyLedger.put(stored.idempotencyKey(), stored);
+        ledgerExpiry.add(stored);
+    }
+
+    private void evictLedgerEntriesBefore(Instant cutoff) {
+        while (!ledgerExpiry.isEmpty() && ledgerExpiry.peek().recordedAt().isBefore(cutoff)) {
+            idempotencyLedger.remove(ledgerExpiry.poll().idempotencyKey());
+        }
+    }
+
     private static Optional<QueueRosterRejectionReason> trustBoundaryRejection(
             QueueRosterControlCommand<? extends QueueRosterCommand> command,
             QueueRosterControlRecord currentRecord) {
@@ -186,9 +246,10 @@ public final class QueueRosterController {
 
     private static QueueRosterDecision accepted(
             QueueRosterControlCommand<? extends QueueRosterCommand> command,
-            QueueRosterControlRecord currentRecord) {
+            QueueRosterControlRecord currentRecord,
+            QueueRosterRetention retention) {
         Revision nextRevision = new Revision(currentRecord.revision().value() + 1);
-        QueueRosterState nextState = nextState(command, currentRecord.state());
+        QueueRosterState nextState = nextState(command, currentRecord.state()).compacted(retention, command.receivedAt());
         QueueRosterControlRecord nextRecord = currentRecord.withState(nextRevision, nextState);
         QueueRosterEvent event = QueueRosterEvent.from(command, nextRevision, nextState);
         QueueRosterReceipt receipt = QueueRosterReceipt.accepted(
@@ -224,11 +285,9 @@ public final class QueueRosterController {
         if (payload instanceof FormRosterIntent form) {
             List<QueueIntentSnapshot> selected = currentState.selectedQueueIntents(form);
             RosterIntentSnapshot roster = RosterIntentSnapshot.from(form, selected);
-            QueueRosterState next = currentState.withRosterIntent(roster);
-            for (QueueIntentSnapshot snapshot : selected) {
-                next = next.withQueueIntent(snapshot.markRostered(form.rosterIntentId(), form.formedAt()));
-            }
-            return next;
+            return currentState.withRosterIntent(roster, selected.stream()
+                    .map(snapshot -> snapshot.markRostered(form.rosterIntentId(), form.formedAt()))
+                    .toList());
         }
         throw new IllegalArgumentException("unknown QueueRoster command");
     }
@@ -256,9 +315,15 @@ public final class QueueRosterController {
     }
 }
 
-record StoredQueueRosterDecision(String payloadFingerprint, QueueRosterDecision decision) {
+record StoredQueueRosterDecision(
+        IdempotencyKey idempotencyKey,
+        String payloadFingerprint,
+        QueueRosterDecision decision,
+        Instant recordedAt) {
     StoredQueueRosterDecision {
+        idempotencyKey = Objects.requireNonNull(idempotencyKey, "idempotencyKey");
         payloadFingerprint = ControlQueueStrings.requireNonBlank(payloadFingerprint, "payloadFingerprint");
         decision = Objects.requireNonNull(decision, "decision");
+        recordedAt = Objects.requireNonNull(recordedAt, "recordedAt");
     }
 }
@@ -43,7 +43,7 @@ public record QueueRosterEvent(
         return eventType
                 + "|partition=" + partitionKey.canonicalValue()
                 + "|queueIntentCount=" + state.queueIntents().size()
-                + "|rosterIntentCount=" + state.rosterIntents().size()
+                + "|" + state.footprint().wireValue()
                 + "|revision=" + revision.value()
                 + "|traceId=" + traceEnvelope.traceId();
     }
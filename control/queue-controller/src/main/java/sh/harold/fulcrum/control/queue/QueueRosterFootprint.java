@@ -0,0 +1,39 @@
+package sh.harold.fulcrum.control.queue;
+
+public record QueueRosterFootprint(
+        int waitingIntents,
+        int terminalIntents,
+        int waitingSubjects,
+        int rosterIntents,
+        long estimatedBytes) {
+    // Coarse retained sizes per entry, including the trie slots and index entries that point at it. They are
+    // meant for trend lines and alerting, not exact accounting.
+    static final long QUEUE_INTENT_BYTES = 640;
+    static final long WAITING_SUBJECT_BYTES = 96;
+    static final long ROSTER_INTENT_BYTES = 512;
+
+    public QueueRosterFootprint {
+        if (waitingIntents < 0 || terminalIntents < 0 || waitingSubjects < 0 || rosterIntents < 0 || estimatedBytes < 0) {
+            throw new IllegalArgumentException("footprint counts must be non-negative");
+        }
+    }
+
+    static QueueRosterFootprint of(int waitingIntents, int terminalIntents, int waitingSubjects, int rosterIntents) {
+        return new QueueRosterFootprint(
+                waitingIntents,
+                terminalIntents,
+                waitingSubjects,
+                rosterIntents,
+                (waitingIntents + terminalIntents) * QUEUE_INTENT_BYTES
+                        + waitingSubjects * WAITING_SUBJECT_BYTES
+                        + rosterIntents * ROSTER_INTENT_BYTES);
+    }
+
+    public String wireValue() {
+        return "waitingIntentCount=" + waitingIntents
+                + "|terminalIntentCount=" + terminalIntents
+                + "|waitingSubjectCount=" + waitingSubjects
+                + "|rosterIntentCount=" + rosterIntents
+                + "|estimatedBytes=" + estimatedBytes;
+    }
+}
@@ -0,0 +1,278 @@
+package sh.harold.fulcrum.control.queue;
+
+import sh.harold.fulcrum.api.contract.TraceEnvelope;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+
+// Keeps the WAITING intents of each partition bucketed by party size and turns them into FormRosterIntent
+// commands. Intents leave the engine as soon as a command naming them is returned; a caller whose command is
+// rejected offers the current snapshots again.
+public final class QueueRosterMatchmaker {
+    private static final Comparator<QueueIntentSnapshot> DEADLINE_ORDER = Comparator
+            .comparing(QueueIntentSnapshot::deadlineAt)
+            .thenComparing(snapshot -> snapshot.queueIntentId().value());
+
+    private final Function<QueuePartitionKey, QueueMatchmakingPolicy> policies;
+    private final Map<QueuePartitionKey, WaitingPool> pools = new HashMap<>();
+    private final Set<QueuePartitionKey> offeredSinceLastPass = new LinkedHashSet<>();
+
+    public QueueRosterMatchmaker(QueueMatchmakingPolicy policy) {
+        this(constant(Objects.requireNonNull(policy, "policy")));
+    }
+
+    public QueueRosterMatchmaker(Function<QueuePartitionKey, QueueMatchmakingPolicy> policies) {
+        this.policies = Objects.requireNonNull(policies, "policies");
+    }
+
+    public void offer(QueueIntentSnapshot snapshot) {
+        Objects.requireNonNull(snapshot, "snapshot");
+        QueuePartitionKey partitionKey = snapshot.partitionKey();
+        if (snapshot.status() != QueueIntentStatus.WAITING) {
+            withdraw(partitionKey, snapshot.queueIntentId());
+            return;
+        }
+        pools.computeIfAbsent(partitionKey, key -> new WaitingPool(key, Objects.requireNonNull(policies.apply(key), "policy")))
+                .add(snapshot);
+        offeredSinceLastPass.add(partitionKey);
+    }
+
+    // For intents that left the state altogether, such as ones retention dropped, so no snapshot is left to offer.
+    public void withdraw(QueuePartitionKey partitionKey, QueueIntentId queueIntentId) {
+        Objects.requireNonNull(partitionKey, "partitionKey");
+        Objects.requireNonNull(queueIntentId, "queueIntentId");
+        WaitingPool pool = pools.get(partitionKey);
+        if (pool != null) {
+            pool.remove(queueIntentId);
+            pruneIfEmpty(partitionKey, pool);
+        }
+    }
+
+    // Threshold pass: forms complete rosters only, and only where intents arrived since the previous pass, since
+    // removals alone can never make a partition fillable.
+    public List<FormRosterIntent> formReady(Instant now, TraceEnvelope traceEnvelope) {
+        Objects.requireNonNull(now, "now");
+        Objects.requireNonNull(traceEnvelope, "traceEnvelope");
+        List<FormRosterIntent> formed = new ArrayList<>();
+        for (QueuePartitionKey partitionKey : offeredSinceLastPass) {
+            WaitingPool pool = pools.get(partitionKey);
+            if (pool != null) {
+                pool.dropExpired(now);
+                pool.formFull(now, traceEnvelope, formed);
+                pruneIfEmpty(partitionKey, pool);
+            }
+        }
+        offeredSinceLastPass.clear();
+        return List.copyOf(formed);
+    }
+
+    // Tick pass: drops intents past their deadline, forms complete rosters everywhere, then releases partial rosters
+    // of at least minSubjects around intents whose deadline falls inside the fill window.
+    public List<FormRosterIntent> tick(Instant now, TraceEnvelope traceEnvelope) {
+        Objects.requireNonNull(now, "now");
+        Objects.requireNonNull(traceEnvelope, "traceEnvelope");
+        List<FormRosterIntent> formed = new ArrayList<>();
+        Iterator<WaitingPool> iterator = pools.values().iterator();
+        while (iterator.hasNext()) {
+            WaitingPool pool = iterator.next();
+            pool.dropExpired(now);
+            pool.formFull(now, traceEnvelope, formed);
+            pool.formUrgent(now, traceEnvelope, formed);
+            if (pool.isEmpty()) {
+                iterator.remove();
+            }
+        }
+        offeredSinceLastPass.clear();
+        return List.copyOf(formed);
+    }
+
+    public int waitingIntents(QueuePartitionKey partitionKey) {
+        WaitingPool pool = pools.get(Objects.requireNonNull(partitionKey, "partitionKey"));
+        return pool == null ? 0 : pool.members.size();
+    }
+
+    public int waitingSubjects(QueuePartitionKey partitionKey) {
+        WaitingPool pool = pools.get(Objects.requireNonNull(partitionKey, "partitionKey"));
+        return pool == null ? 0 : pool.waitingSubjects;
+    }
+
+    private void pruneIfEmpty(QueuePartitionKey partitionKey, WaitingPool pool) {
+        if (pool.isEmpty()) {
+            pools.remove(partitionKey);
+        }
+    }
+
+    private static Function<QueuePartitionKey, QueueMatchmakingPolicy> constant(QueueMatchmakingPolicy policy) {
+        return partitionKey -> policy;
+    }
+
+    private static final class WaitingPool {
+        private final QueuePartitionKey partitionKey;
+        private final QueueMatchmakingPolicy policy;
+        private final Map<QueueIntentId, QueueIntentSnapshot> members = new HashMap<>();
+        private final List<TreeSet<QueueIntentSnapshot>> bySize;
+        private final TreeSet<QueueIntentSnapshot> byDeadline = new TreeSet<>(DEADLINE_ORDER);
+        private int waitingSubjects;
+
+        private WaitingPool(QueuePartitionKey partitionKey, QueueMatchmakingPolicy policy) {
+            this.partitionKey = partitionKey;
+            this.policy = policy;
+            List<TreeSet<QueueIntentSnapshot>> buckets = new ArrayList<>(policy.maxSubjects() + 1);
+            for (int size = 0; size <= policy.maxSubjects(); size++) {
+                buckets.add(new TreeSet<>(RosterIntentSnapshot.QUEUE_ORDER));
+            }
+            this.bySize = List.copyOf(buckets);
+        }
+
+        private void add(QueueIntentSnapshot snapshot) {
+            remove(snapshot.queueIntentId());
+            int size = snapshot.subjectIds().size();
+            if (size > policy.maxSubjects()) {
+                return;
+            }
+            members.put(snapshot.queueIntentId(), snapshot);
+            bySize.get(size).add(snapshot);
+            byDeadline.add(snapshot);
+            waitingSubjects += size;
+        }
+
+        private void remove(QueueIntentId queueIntentId) {
+            QueueIntentSnapshot snapshot = members.remove(queueIntentId);
+            if (snapshot == null) {
+                return;
+            }
+            bySize.get(snapshot.subjectIds().size()).remove(snapshot);
+            byDeadline.remove(snapshot);
+            waitingSubjects -= snapshot.subjectIds().size();
+        }
+
+        private boolean isEmpty() {
+            return members.isEmpty();
+        }
+
+        private void dropExpired(Instant now) {
+            while (!byDeadline.isEmpty() && !byDeadline.first().deadlineAt().isAfter(now)) {
+                remove(byDeadline.first().queueIntentId());
+            }
+        }
+
+        private void formFull(Instant now, TraceEnvelope traceEnvelope, List<FormRosterIntent> formed) {
+            while (waitingSubjects >= policy.maxSubjects()) {
+                List<QueueIntentSnapshot> selected = pack(head());
+                if (subjects(selected) < policy.maxSubjects()) {
+                    // The head's party size may not combine into a full roster even though other parties do.
+                    selected = pack(null);
+                }
+                if (subjects(selected) < policy.maxSubjects()) {
+                    return;
+                }
+                formed.add(form(selected, now, traceEnvelope));
+            }
+        }
+
+        private void formUrgent(Instant now, TraceEnvelope traceEnvelope, List<FormRosterIntent> formed) {
+            Instant urgentUntil = now.plus(policy.fillWindow());
+            while (!byDeadline.isEmpty() && !byDeadline.first().deadlineAt().isAfter(urgentUntil)) {
+                List<QueueIntentSnapshot> selected = pack(byDeadline.first());
+                if (subjects(selected) < policy.minSubjects()) {
+                    return;
+                }
+                formed.add(form(selected, now, traceEnvelope));
+            }
+        }
+
+        private QueueIntentSnapshot head() {
+            QueueIntentSnapshot head = null;
+            for (TreeSet<QueueIntentSnapshot> bucket : bySize) {
+                if (!bucket.isEmpty() && (head == null || RosterIntentSnapshot.QUEUE_ORDER.compare(bucket.first(), head) < 0)) {
+                    head = bucket.first();
+                }
+            }
+            return head;
+        }
+
+        // Bounded subset sum over party sizes: picks how many parties of each size fill the roster as closely as
+        // possible, then takes the earliest intents in queue order from each bucket. Larger sizes are placed first
+        // so a roster needs as few intents as possible.
+        private List<QueueIntentSnapshot> pack(QueueIntentSnapshot seed) {
+            int seedSize = seed == null ? 0 : seed.subjectIds().size();
+            int capacity = policy.maxSubjects() - seedSize;
+            boolean[] reachable = new boolean[capacity + 1];
+            int[] lastSize = new int[capacity + 1];
+            reachable[0] = true;
+            for (int size = capacity; size >= 1; size--) {
+                int available = bySize.get(size).size() - (size == seedSize ? 1 : 0);
+                int copies = Math.min(available, capacity / size);
+                for (int copy = 0; copy < copies; copy++) {
+                    boolean extended = false;
+                    for (int total = capacity; total >= size; total--) {
+                        if (!reachable[total] && reachable[total - size]) {
+                            reachable[total] = true;
+                            lastSize[total] = size;
+                            extended = true;
+                        }
+                    }
+                    if (!extended) {
+                        break;
+                    }
+                }
+            }
+            int best = capacity;
+            while (!reachable[best]) {
+                best--;
+            }
+            int[] takeBySize = new int[capacity + 1];
+            for (int total = best; total > 0; total -= lastSize[total]) {
+                takeBySize[lastSize[total]]++;
+            }
+            List<QueueIntentSnapshot> selected = new ArrayList<>();
+            if (seed != null) {
+                selected.add(seed);
+            }
+            for (int size = 1; size <= capacity; size++) {
+                Iterator<QueueIntentSnapshot> bucket = bySize.get(size).iterator();
+                for (int taken = 0; taken < takeBySize[size]; ) {
+                    QueueIntentSnapshot candidate = bucket.next();
+                    if (candidate != seed) {
+                        selected.add(candidate);
+                        taken++;
+                    }
+                }
+            }
+            return selected;
+        }
+
+        private FormRosterIntent form(List<QueueIntentSnapshot> selected, Instant now, TraceEnvelope traceEnvelope) {
+            List<QueueIntentSnapshot> ordered = selected.stream().sorted(RosterIntentSnapshot.QUEUE_ORDER).toList();
+            for (QueueIntentSnapshot snapshot : ordered) {
+                remove(snapshot.queueIntentId());
+            }
+            // A queue intent is rostered at most once, so the first one names the roster deterministically.
+            return new FormRosterIntent(
+                    new RosterIntentId("roster-" + ordered.getFirst().queueIntentId().value()),
+                    partitionKey,
+                    ordered.stream().map(QueueIntentSnapshot::queueIntentId).toList(),
+                    policy.maxSubjects(),
+                    now,
+                    traceEnvelope);
+        }
+
+        private static int subjects(List<QueueIntentSnapshot> selected) {
+            int subjects = 0;
+            for (QueueIntentSnapshot snapshot : selected) {
+                subjects += snapshot.subjectIds().size();
+            }
+            return subjects;
+        }
+    }
+}
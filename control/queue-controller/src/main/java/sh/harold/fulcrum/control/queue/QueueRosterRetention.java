@@ -0,0 +1,30 @@
+package sh.harold.fulcrum.control.queue;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Objects;
+
+public record QueueRosterRetention(Duration horizon) {
+    public static final Duration DEFAULT_HORIZON = Duration.ofMinutes(10);
+
+    public QueueRosterRetention {
+        horizon = Objects.requireNonNull(horizon, "horizon");
+        if (horizon.isNegative() || horizon.isZero()) {
+            throw new IllegalArgumentException("horizon must be positive");
+        }
+    }
+
+    public static QueueRosterRetention defaults() {
+        return new QueueRosterRetention(DEFAULT_HORIZON);
+    }
+
+    public Instant cutoff(Instant now) {
+        return Objects.requireNonNull(now, "now").minus(horizon);
+    }
+
+    // Entries may outlive the horizon by up to a quarter of it, so each compaction pass evicts a whole batch
+    // instead of rescanning every terminal intent on each command.
+    Instant compactionTrigger(Instant now) {
+        return cutoff(now).minus(horizon.dividedBy(4));
+    }
+}
@@ -4,23 +4,23 @@ import sh.harold.fulcrum.api.contract.Revision;
 import sh.harold.fulcrum.api.contract.TraceEnvelope;
 import sh.harold.fulcrum.api.kernel.SubjectId;
 
-import java.util.HashSet;
+import java.time.Instant;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.Set;
+import java.util.function.BiConsumer;
 
 public record QueueRosterState(
         Map<QueueIntentId, QueueIntentSnapshot> queueIntents,
         Map<RosterIntentId, RosterIntentSnapshot> rosterIntents) {
     public QueueRosterState {
-        queueIntents = Map.copyOf(Objects.requireNonNull(queueIntents, "queueIntents"));
-        rosterIntents = Map.copyOf(Objects.requireNonNull(rosterIntents, "rosterIntents"));
+        queueIntents = QueueIntentIndex.copyOf(queueIntents);
+        rosterIntents = PersistentHashMap.copyOf(Objects.requireNonNull(rosterIntents, "rosterIntents"));
     }
 
     public static QueueRosterState empty() {
-        return new QueueRosterState(Map.of(), Map.of());
+        return new QueueRosterState(QueueIntentIndex.empty(), PersistentHashMap.empty());
     }
 
     public Optional<QueueIntentSnapshot> queueIntent(QueueIntentId queueIntentId) {
@@ -31,16 +31,59 @@ public record QueueRosterState(
         return Optional.ofNullable(rosterIntents.get(Objects.requireNonNull(rosterIntentId, "rosterIntentId")));
     }
 
+    public Map<QueueIntentId, QueueIntentSnapshot> queueIntentsWithStatus(QueueIntentStatus status) {
+        return index().withStatus(status);
+    }
+
+    // Reports each queue intent that entered, left or changed within the given status since previous: the snapshot it
+    // now has there, or empty once it has left. Versions derived from one another share most of their index, and only
+    // the parts they do not share are visited.
+    public void forEachQueueIntentChange(
+            QueueRosterState previous,
+            QueueIntentStatus status,
+            BiConsumer<QueueIntentId, Optional<QueueIntentSnapshot>> change) {
+        Objects.requireNonNull(previous, "previous");
+        Objects.requireNonNull(change, "change");
+        index().diffWithStatus(
+                previous.index(),
+                status,
+                (queueIntentId, before, after) -> change.accept(queueIntentId, Optional.ofNullable(after)));
+    }
+
+    public Optional<QueueIntentId> waitingQueueIntentFor(SubjectId subjectId) {
+        return index().waitingIntentFor(subjectId);
+    }
+
+    public QueueRosterFootprint footprint() {
+        return index().footprint(rosterIntents.size());
+    }
+
     QueueRosterState withQueueIntent(QueueIntentSnapshot snapshot) {
-        Map<QueueIntentId, QueueIntentSnapshot> next = new java.util.HashMap<>(queueIntents);
-        next.put(snapshot.queueIntentId(), snapshot);
-        return new QueueRosterState(next, rosterIntents);
+        return new QueueRosterState(index().with(snapshot), rosterIntents);
+    }
+
+    QueueRosterState withRosterIntent(RosterIntentSnapshot roster, List<QueueIntentSnapshot> rosteredQueueIntents) {
+        QueueIntentIndex nextQueueIntents = index();
+        for (QueueIntentSnapshot snapshot : rosteredQueueIntents) {
+            nextQueueIntents = nextQueueIntents.with(snapshot);
+        }
+        return new QueueRosterState(nextQueueIntents, rosterIndex().plus(roster.rosterIntentId(), roster));
     }
 
-    QueueRosterState withRosterIntent(RosterIntentSnapshot snapshot) {
-        Map<RosterIntentId, RosterIntentSnapshot> next = new java.util.HashMap<>(rosterIntents);
-        next.put(snapshot.rosterIntentId(), snapshot);
-        return new QueueRosterState(queueIntents, next);
+    // Drops cancelled, expired and rostered intents last updated before the retention cutoff, together with the
+    // rosters they formed; a roster's intents are all stamped with its formedAt, so they leave in the same pass.
+    QueueRosterState compacted(QueueRosterRetention retention, Instant now) {
+        if (!index().hasTerminalUpdatedBefore(retention.compactionTrigger(now))) {
+            return this;
+        }
+        QueueIntentIndex.Eviction eviction = index().withoutTerminalUpdatedBefore(retention.cutoff(now));
+        PersistentHashMap<RosterIntentId, RosterIntentSnapshot> nextRosterIntents = rosterIndex();
+        for (QueueIntentSnapshot evicted : eviction.evicted()) {
+            if (evicted.rosterIntentId().isPresent()) {
+                nextRosterIntents = nextRosterIntents.minus(evicted.rosterIntentId().orElseThrow());
+            }
+        }
+        return new QueueRosterState(eviction.index(), nextRosterIntents);
     }
 
     List<QueueIntentSnapshot> selectedQueueIntents(FormRosterIntent command) {
@@ -51,11 +94,12 @@ public record QueueRosterState(
     }
 
     boolean hasWaitingSubjectOverlap(List<SubjectId> subjectIds) {
-        Set<SubjectId> requested = new HashSet<>(subjectIds);
-        return queueIntents.values().stream()
-                .filter(snapshot -> snapshot.status() == QueueIntentStatus.WAITING)
-                .flatMap(snapshot -> snapshot.subjectIds().stream())
-                .anyMatch(requested::contains);
+        for (SubjectId subjectId : subjectIds) {
+            if (index().waitingIntentFor(subjectId).isPresent()) {
+                return true;
+            }
+        }
+        return false;
     }
 
     String wireValue(QueuePartitionKey partitionKey, Revision revision, TraceEnvelope traceEnvelope) {
@@ -65,4 +109,13 @@ public record QueueRosterState(
                 + "|revision=" + revision.value()
                 + "|traceId=" + traceEnvelope.traceId();
     }
+
+    private QueueIntentIndex index() {
+        return (QueueIntentIndex) queueIntents;
+    }
+
+    @SuppressWarnings("unchecked")
+    private PersistentHashMap<RosterIntentId, RosterIntentSnapshot> rosterIndex() {
+        return (PersistentHashMap<RosterIntentId, RosterIntentSnapshot>) rosterIntents;
+    }
 }
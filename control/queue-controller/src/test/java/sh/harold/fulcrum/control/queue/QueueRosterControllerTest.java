@@ -14,7 +14,9 @@ import sh.harold.fulcrum.api.kernel.InstanceId;
 import sh.harold.fulcrum.api.kernel.PoolId;
 import sh.harold.fulcrum.api.kernel.SubjectId;
 
+import java.time.Duration;
 import java.time.Instant;
+import java.time.InstantSource;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -186,8 +188,91 @@ final class QueueRosterControllerTest {
         assertTrue(record.state().queueIntents().isEmpty());
     }
 
+    @Test
+    void terminalIntentsRostersAndLedgerEntriesLeaveAfterRetentionHorizon() {
+        QueueRosterController controller = new QueueRosterController(new QueueRosterRetention(Duration.ofMinutes(1)));
+        QueueRosterControlRecord record = submittedRecord(controller);
+        record = acceptedRecord(controller, record, form("roster-1", List.of(queueId("queue-1"), queueId("queue-2")), 2, 3),
+                ControlQueueNames.FORM_ROSTER_INTENT, "cmd-form", BASE_TIME.plusSeconds(3));
+        record = acceptedRecord(controller, record, new SubmitQueueIntent(
+                        queueId("queue-4"),
+                        List.of(SUBJECT_1),
+                        EXPERIENCE_ID,
+                        MODE_ID,
+                        POOL_ID,
+                        1,
+                        BASE_TIME.plusSeconds(70),
+                        BASE_TIME.plusSeconds(600),
+                        trace()),
+                ControlQueueNames.SUBMIT_QUEUE_INTENT, "cmd-submit-4", BASE_TIME.plusSeconds(70));
+
+        // Past the cutoff but inside the quarter-horizon slack, so nothing is compacted yet.
+        assertTrue(record.state().rosterIntent(new RosterIntentId("roster-1")).isPresent());
+        assertEquals(new QueueRosterFootprint(2, 2, 2, 1, 4 * 640 + 2 * 96 + 512), record.state().footprint());
+
+        record = acceptedRecord(controller, record, new CancelQueueIntent(PARTITION_KEY, queueId("queue-4"), BASE_TIME.plusSeconds(80)),
+                ControlQueueNames.CANCEL_QUEUE_INTENT, "cmd-cancel-4", BASE_TIME.plusSeconds(80));
+
+        assertTrue(record.state().rosterIntent(new RosterIntentId("roster-1")).isEmpty());
+        assertTrue(record.state().queueIntent(queueId("queue-1")).isEmpty());
+        assertTrue(record.state().queueIntent(queueId("queue-2")).isEmpty());
+        assertEquals(QueueIntentStatus.WAITING, record.state().queueIntent(queueId("queue-3")).orElseThrow().status());
+        assertEquals(QueueIntentStatus.CANCELLED, record.state().queueIntent(queueId("queue-4")).orElseThrow().status());
+        assertEquals(new QueueRosterFootprint(1, 1, 1, 0, 2 * 640 + 96), record.state().footprint());
+        assertEquals(2, controller.idempotencyLedgerSize());
+
+        QueueRosterDecision resent = controller.handle(command(
+                form("roster-1", List.of(queueId("queue-1"), queueId("queue-2")), 2, 3),
+                ControlQueueNames.FORM_ROSTER_INTENT,
+                "cmd-form",
+                "idem-cmd-form",
+                BASE_TIME.plusSeconds(81),
+                Optional.of(record.revision()),
+                PRINCIPAL_ID), record);
+
+        assertEquals(QueueRosterDecisionStatus.REJECTED, resent.status());
+    }
+
+    @Test
+    void ledgerEntryReceivedLateWithAnOlderTimestampStillExpires() {
+        QueueRosterController controller = new QueueRosterController(
+                new QueueRosterRetention(Duration.ofMinutes(1)),
+                InstantSource.fixed(BASE_TIME.plusSeconds(1_000)));
+        QueueRosterControlRecord record = QueueRosterController.emptyRecord(7);
+
+        controller.handle(command(submit("queue-1", List.of(SUBJECT_1), 1, 0), ControlQueueNames.SUBMIT_QUEUE_INTENT,
+                "cmd-submit-1", "idem-cmd-submit-1", BASE_TIME.plusSeconds(100), Optional.empty(), PRINCIPAL_ID), record);
+        controller.handle(command(submit("queue-2", List.of(SUBJECT_2), 1, 0), ControlQueueNames.SUBMIT_QUEUE_INTENT,
+                "cmd-submit-2", "idem-cmd-submit-2", BASE_TIME, Optional.empty(), PRINCIPAL_ID), record);
+        controller.handle(command(submit("queue-3", List.of(SUBJECT_3), 1, 0), ControlQueueNames.SUBMIT_QUEUE_INTENT,
+                "cmd-submit-3", "idem-cmd-submit-3", BASE_TIME.plusSeconds(70), Optional.empty(), PRINCIPAL_ID), record);
+
+        assertEquals(2, controller.idempotencyLedgerSize());
+    }
+
+    @Test
+    void futureDatedCommandDoesNotExpireTheLedger() {
+        QueueRosterController controller = new QueueRosterController(
+                new QueueRosterRetention(Duration.ofMinutes(1)),
+                InstantSource.fixed(BASE_TIME.plusSeconds(5)));
+        QueueRosterControlRecord record = submittedRecord(controller);
+
+        controller.handle(command(submit("queue-4", List.of(SUBJECT_1), 1, 0), ControlQueueNames.SUBMIT_QUEUE_INTENT,
+                "cmd-submit-4", "idem-cmd-submit-4", BASE_TIME.plusSeconds(3_600), Optional.empty(), PRINCIPAL_ID), record);
+
+        assertEquals(4, controller.idempotencyLedgerSize());
+        QueueRosterDecision resent = controller.handle(command(submit("queue-1", List.of(SUBJECT_1), 1, 0),
+                ControlQueueNames.SUBMIT_QUEUE_INTENT, "cmd-submit-1", "idem-cmd-submit-1", BASE_TIME.plusSeconds(6),
+                Optional.of(new Revision(0)), PRINCIPAL_ID), record);
+        assertEquals(QueueRosterDecisionStatus.REPLAYED, resent.status());
+        assertEquals(new Revision(1), resent.revision());
+    }
+
     private static QueueRosterControlRecord submittedRecord() {
-        QueueRosterController controller = new QueueRosterController();
+        return submittedRecord(new QueueRosterController());
+    }
+
+    private static QueueRosterControlRecord submittedRecord(QueueRosterController controller) {
         QueueRosterControlRecord record = QueueRosterController.emptyRecord(7);
         record = acceptedRecord(controller, record, submit("queue-1", List.of(SUBJECT_1), 1, 0),
                 ControlQueueNames.SUBMIT_QUEUE_INTENT, "cmd-submit-1", BASE_TIME);
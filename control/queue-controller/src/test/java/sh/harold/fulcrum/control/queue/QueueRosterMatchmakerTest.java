@@ -0,0 +1,166 @@
+package sh.harold.fulcrum.control.queue;
+
+import org.junit.jupiter.api.Test;
+import sh.harold.fulcrum.api.contract.CommandEnvelope;
+import sh.harold.fulcrum.api.contract.CommandId;
+import sh.harold.fulcrum.api.contract.IdempotencyKey;
+import sh.harold.fulcrum.api.contract.PrincipalId;
+import sh.harold.fulcrum.api.contract.TraceEnvelope;
+import sh.harold.fulcrum.api.kernel.ExperienceId;
+import sh.harold.fulcrum.api.kernel.InstanceId;
+import sh.harold.fulcrum.api.kernel.PoolId;
+import sh.harold.fulcrum.api.kernel.SubjectId;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class QueueRosterMatchmakerTest {
+    private static final PrincipalId PRINCIPAL_ID = new PrincipalId("principal-controller-queue");
+    private static final QueuePartitionKey PARTITION_KEY = new QueuePartitionKey(
+            new ExperienceId("experience-arena"), Optional.empty(), new PoolId("pool-paper-arena"));
+    private static final Instant BASE_TIME = Instant.parse("2026-06-16T12:00:00Z");
+
+    @Test
+    void formsFullRostersThatTheControllerAccepts() {
+        QueueRosterMatchmaker matchmaker = new QueueRosterMatchmaker(QueueMatchmakingPolicy.fullRostersOnly(4));
+        QueueRosterController controller = new QueueRosterController();
+        QueueRosterControlRecord record = QueueRosterController.emptyRecord(7);
+        List<SubmitQueueIntent> submissions = List.of(
+                submit("queue-1", 0, 3, 5),
+                submit("queue-2", 3, 2, 1),
+                submit("queue-3", 5, 2, 1),
+                submit("queue-4", 7, 1, 0));
+        for (SubmitQueueIntent submission : submissions) {
+            record = accepted(controller, record, submission, submission.queueIntentId().value(), submission.createdAt());
+            matchmaker.offer(record.state().queueIntent(submission.queueIntentId()).orElseThrow());
+        }
+
+        List<FormRosterIntent> formed = matchmaker.formReady(BASE_TIME.plusSeconds(8), trace());
+
+        assertEquals(2, formed.size());
+        assertEquals(List.of(new QueueIntentId("queue-1"), new QueueIntentId("queue-4")), formed.get(0).queueIntentIds());
+        assertEquals(List.of(new QueueIntentId("queue-2"), new QueueIntentId("queue-3")), formed.get(1).queueIntentIds());
+        assertEquals(new RosterIntentId("roster-queue-1"), formed.get(0).rosterIntentId());
+        for (FormRosterIntent form : formed) {
+            record = accepted(controller, record, form, form.rosterIntentId().value(), form.formedAt());
+        }
+        assertEquals(2, record.state().rosterIntents().size());
+        assertTrue(record.state().queueIntentsWithStatus(QueueIntentStatus.WAITING).isEmpty());
+        assertEquals(0, matchmaker.waitingSubjects(PARTITION_KEY));
+        assertTrue(matchmaker.formReady(BASE_TIME.plusSeconds(9), trace()).isEmpty());
+    }
+
+    @Test
+    void packsAroundTheHeadAndReleasesPartialRostersNearDeadlines() {
+        QueueRosterMatchmaker matchmaker = new QueueRosterMatchmaker(new QueueMatchmakingPolicy(4, 2, Duration.ofSeconds(30)));
+        matchmaker.offer(QueueIntentSnapshot.from(submit("queue-1", 0, 3, 5, 60)));
+        matchmaker.offer(QueueIntentSnapshot.from(submit("queue-2", 3, 2, 1)));
+        matchmaker.offer(QueueIntentSnapshot.from(submit("queue-3", 5, 2, 1)));
+
+        List<FormRosterIntent> full = matchmaker.formReady(BASE_TIME.plusSeconds(1), trace());
+
+        assertEquals(1, full.size());
+        assertEquals(List.of(new QueueIntentId("queue-2"), new QueueIntentId("queue-3")), full.getFirst().queueIntentIds());
+        assertEquals(3, matchmaker.waitingSubjects(PARTITION_KEY));
+        assertTrue(matchmaker.tick(BASE_TIME.plusSeconds(20), trace()).isEmpty());
+
+        List<FormRosterIntent> partial = matchmaker.tick(BASE_TIME.plusSeconds(35), trace());
+
+        assertEquals(1, partial.size());
+        assertEquals(List.of(new QueueIntentId("queue-1")), partial.getFirst().queueIntentIds());
+        assertEquals(0, matchmaker.waitingIntents(PARTITION_KEY));
+    }
+
+    @Test
+    void withdrawsTerminalIntentsAndDropsExpiredOnes() {
+        QueueRosterMatchmaker matchmaker = new QueueRosterMatchmaker(QueueMatchmakingPolicy.fullRostersOnly(2));
+        QueueIntentSnapshot cancelled = QueueIntentSnapshot.from(submit("queue-1", 0, 1, 0));
+        matchmaker.offer(cancelled);
+        matchmaker.offer(QueueIntentSnapshot.from(submit("queue-2", 1, 1, 0)));
+        matchmaker.offer(cancelled.cancel(BASE_TIME.plusSeconds(2)));
+        matchmaker.offer(QueueIntentSnapshot.from(submit("queue-3", 3, 5, 0)));
+
+        assertEquals(1, matchmaker.waitingIntents(PARTITION_KEY));
+        assertTrue(matchmaker.formReady(BASE_TIME.plusSeconds(3), trace()).isEmpty());
+
+        matchmaker.offer(QueueIntentSnapshot.from(submit("queue-4", 4, 1, 0, 56)));
+
+        assertTrue(matchmaker.tick(BASE_TIME.plusSeconds(61), trace()).isEmpty());
+        assertEquals(1, matchmaker.waitingIntents(PARTITION_KEY));
+
+        matchmaker.withdraw(PARTITION_KEY, new QueueIntentId("queue-2"));
+
+        assertEquals(0, matchmaker.waitingIntents(PARTITION_KEY));
+        assertEquals(0, matchmaker.waitingSubjects(PARTITION_KEY));
+    }
+
+    private static QueueRosterControlRecord accepted(
+            QueueRosterController controller,
+            QueueRosterControlRecord record,
+            QueueRosterCommand payload,
+            String commandId,
+            Instant receivedAt) {
+        QueueRosterDecision decision = controller.handle(new QueueRosterControlCommand<>(
+                new CommandEnvelope<>(
+                        new CommandId("cmd-" + commandId),
+                        new IdempotencyKey("idem-" + commandId),
+                        PRINCIPAL_ID,
+                        ControlQueueNames.aggregateId(PARTITION_KEY),
+                        ControlQueueNames.CONTRACT,
+                        payload instanceof FormRosterIntent
+                                ? ControlQueueNames.FORM_ROSTER_INTENT
+                                : ControlQueueNames.SUBMIT_QUEUE_INTENT,
+                        trace(),
+                        Optional.empty(),
+                        payload),
+                PRINCIPAL_ID,
+                7,
+                Optional.of(record.revision()),
+                payload.toString(),
+                receivedAt), record);
+        assertEquals(QueueRosterDecisionStatus.ACCEPTED, decision.status());
+        return decision.record();
+    }
+
+    private static SubmitQueueIntent submit(String queueIntentId, long createdOffsetSeconds, int partySize, int priority) {
+        return submit(queueIntentId, createdOffsetSeconds, partySize, priority, 600);
+    }
+
+    private static SubmitQueueIntent submit(
+            String queueIntentId,
+            long createdOffsetSeconds,
+            int partySize,
+            int priority,
+            long lifetimeSeconds) {
+        Instant createdAt = BASE_TIME.plusSeconds(createdOffsetSeconds);
+        return new SubmitQueueIntent(
+                new QueueIntentId(queueIntentId),
+                IntStream.range(0, partySize)
+                        .mapToObj(index -> new SubjectId(new UUID(createdOffsetSeconds + 1, index)))
+                        .toList(),
+                PARTITION_KEY.experienceId(),
+                PARTITION_KEY.modeId(),
+                PARTITION_KEY.poolId(),
+                priority,
+                createdAt,
+                createdAt.plusSeconds(lifetimeSeconds),
+                trace());
+    }
+
+    private static TraceEnvelope trace() {
+        return new TraceEnvelope(
+                "trace-queue-matchmaker",
+                "span-queue-matchmaker",
+                Optional.empty(),
+                BASE_TIME,
+                "queue-controller-test",
+                new InstanceId("instance-controller-queue"));
+    }
+}
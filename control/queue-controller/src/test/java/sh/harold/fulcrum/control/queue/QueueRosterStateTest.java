@@ -0,0 +1,181 @@
+package sh.harold.fulcrum.control.queue;
+
+import org.junit.jupiter.api.Test;
+import sh.harold.fulcrum.api.contract.TraceEnvelope;
+import sh.harold.fulcrum.api.kernel.ExperienceId;
+import sh.harold.fulcrum.api.kernel.InstanceId;
+import sh.harold.fulcrum.api.kernel.PoolId;
+import sh.harold.fulcrum.api.kernel.SubjectId;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class QueueRosterStateTest {
+    private static final Instant BASE_TIME = Instant.parse("2026-06-16T12:00:00Z");
+    private static final SubjectId SUBJECT_1 = subject("00000000-0000-0000-0000-000000000001");
+    private static final SubjectId SUBJECT_2 = subject("00000000-0000-0000-0000-000000000002");
+    private static final SubjectId SUBJECT_3 = subject("00000000-0000-0000-0000-000000000003");
+
+    @Test
+    void persistentMapMatchesHashMapAndLeavesOlderVersionsUntouched() {
+        Random random = new Random(42);
+        Map<CollidingKey, Integer> expected = new HashMap<>();
+        PersistentHashMap<CollidingKey, Integer> actual = PersistentHashMap.empty();
+        List<PersistentHashMap<CollidingKey, Integer>> versions = new ArrayList<>();
+        List<Map<CollidingKey, Integer>> expectedVersions = new ArrayList<>();
+
+        for (int step = 0; step < 20_000; step++) {
+            CollidingKey key = new CollidingKey(random.nextInt(2_000));
+            if (random.nextInt(3) == 0) {
+                expected.remove(key);
+                actual = actual.minus(key);
+            } else {
+                expected.put(key, step);
+                actual = actual.plus(key, step);
+            }
+            if (step % 2_500 == 0) {
+                versions.add(actual);
+                expectedVersions.add(Map.copyOf(expected));
+            }
+        }
+
+        assertEquals(expected, actual);
+        assertEquals(expected.size(), actual.entrySet().stream().count());
+        for (int index = 0; index < versions.size(); index++) {
+            assertEquals(expectedVersions.get(index), versions.get(index));
+        }
+        assertThrows(UnsupportedOperationException.class, () -> PersistentHashMap.<String, String>empty().put("a", "b"));
+        assertTrue(PersistentHashMap.empty().plus("a", "b").minus("a").isEmpty());
+    }
+
+    @Test
+    void persistentMapDiffReportsExactlyTheEntriesThatDifferBetweenVersions() {
+        Random random = new Random(7);
+        PersistentHashMap<CollidingKey, Integer> actual = PersistentHashMap.empty();
+        List<PersistentHashMap<CollidingKey, Integer>> versions = new ArrayList<>();
+        for (int step = 0; step < 6_000; step++) {
+            CollidingKey key = new CollidingKey(random.nextInt(1_500));
+            actual = random.nextInt(3) == 0 ? actual.minus(key) : actual.plus(key, random.nextInt(4));
+            if (step % 400 == 0 || step % 400 == 1) {
+                versions.add(actual);
+            }
+        }
+        versions.add(PersistentHashMap.empty());
+
+        for (PersistentHashMap<CollidingKey, Integer> previous : versions) {
+            for (PersistentHashMap<CollidingKey, Integer> next : versions) {
+                Map<CollidingKey, List<Integer>> expected = new HashMap<>();
+                for (CollidingKey key : union(previous.keySet(), next.keySet())) {
+                    if (!Objects.equals(previous.get(key), next.get(key))) {
+                        expected.put(key, Arrays.asList(previous.get(key), next.get(key)));
+                    }
+                }
+                Map<CollidingKey, List<Integer>> reported = new HashMap<>();
+                next.diff(previous, (key, before, after) ->
+                        assertEquals(null, reported.put(key, Arrays.asList(before, after))));
+                assertEquals(expected, reported);
+            }
+        }
+    }
+
+    @Test
+    void queueIntentChangesFollowStatusTransitionsBetweenVersions() {
+        QueueIntentSnapshot first = waiting("queue-1", SUBJECT_1);
+        QueueIntentSnapshot second = waiting("queue-2", SUBJECT_2);
+        QueueRosterState state = QueueRosterState.empty().withQueueIntent(first).withQueueIntent(second);
+        QueueRosterState next = state
+                .withQueueIntent(first.cancel(BASE_TIME.plusSeconds(5)))
+                .withQueueIntent(waiting("queue-3", SUBJECT_3));
+        Map<QueueIntentId, Optional<QueueIntentSnapshot>> changes = new HashMap<>();
+
+        next.forEachQueueIntentChange(state, QueueIntentStatus.WAITING, changes::put);
+
+        assertEquals(
+                Map.of(
+                        first.queueIntentId(), Optional.empty(),
+                        new QueueIntentId("queue-3"), next.queueIntent(new QueueIntentId("queue-3"))),
+                changes);
+    }
+
+    @Test
+    void indexesWaitingSubjectsAndStatusesAcrossTransitions() {
+        QueueIntentSnapshot first = waiting("queue-1", SUBJECT_1, SUBJECT_2);
+        QueueIntentSnapshot second = waiting("queue-2", SUBJECT_3);
+        QueueRosterState state = QueueRosterState.empty().withQueueIntent(first).withQueueIntent(second);
+
+        assertEquals(Optional.of(first.queueIntentId()), state.waitingQueueIntentFor(SUBJECT_2));
+        assertTrue(state.hasWaitingSubjectOverlap(List.of(SUBJECT_3)));
+        assertEquals(Set.of(first.queueIntentId(), second.queueIntentId()),
+                state.queueIntentsWithStatus(QueueIntentStatus.WAITING).keySet());
+
+        QueueRosterState cancelled = state.withQueueIntent(first.cancel(BASE_TIME.plusSeconds(5)));
+
+        assertFalse(cancelled.hasWaitingSubjectOverlap(List.of(SUBJECT_1, SUBJECT_2)));
+        assertEquals(Set.of(first.queueIntentId()), cancelled.queueIntentsWithStatus(QueueIntentStatus.CANCELLED).keySet());
+        assertEquals(Set.of(second.queueIntentId()), cancelled.queueIntentsWithStatus(QueueIntentStatus.WAITING).keySet());
+        assertEquals(Optional.of(first.queueIntentId()), state.waitingQueueIntentFor(SUBJECT_1));
+
+        QueueRosterState resubmitted = cancelled.withQueueIntent(waiting("queue-3", SUBJECT_1));
+        Map<QueueIntentId, QueueIntentSnapshot> plain = new LinkedHashMap<>(resubmitted.queueIntents());
+        QueueRosterState copied = new QueueRosterState(plain, Map.of());
+
+        assertEquals(resubmitted, copied);
+        assertEquals(Optional.of(new QueueIntentId("queue-3")), copied.waitingQueueIntentFor(SUBJECT_1));
+        assertEquals(1, copied.queueIntentsWithStatus(QueueIntentStatus.CANCELLED).size());
+        assertThrows(IllegalArgumentException.class,
+                () -> new QueueRosterState(Map.of(new QueueIntentId("other"), second), Map.of()));
+    }
+
+    private static QueueIntentSnapshot waiting(String queueIntentId, SubjectId... subjectIds) {
+        return QueueIntentSnapshot.from(new SubmitQueueIntent(
+                new QueueIntentId(queueIntentId),
+                List.of(subjectIds),
+                new ExperienceId("experience-arena"),
+                Optional.empty(),
+                new PoolId("pool-paper-arena"),
+                0,
+                BASE_TIME,
+                BASE_TIME.plusSeconds(60),
+                new TraceEnvelope(
+                        "trace-queue-state",
+                        "span-queue-state",
+                        Optional.empty(),
+                        BASE_TIME,
+                        "queue-controller-test",
+                        new InstanceId("instance-controller-queue"))));
+    }
+
+    private static <T> Set<T> union(Set<T> left, Set<T> right) {
+        Set<T> union = new HashSet<>(left);
+        union.addAll(right);
+        return union;
+    }
+
+    private static SubjectId subject(String value) {
+        return new SubjectId(UUID.fromString(value));
+    }
+
+    // Few distinct hash codes force collision nodes alongside ordinary trie branches.
+    private record CollidingKey(int id) {
+        @Override
+        public int hashCode() {
+            return id % 97 == 0 ? 7 : id;
+        }
+    }
+}
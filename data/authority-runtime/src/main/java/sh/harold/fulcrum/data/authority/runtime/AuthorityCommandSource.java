@@ -2,9 +2,36 @@ package sh.harold.fulcrum.data.authority.runtime;
 
 import sh.harold.fulcrum.api.contract.CommandPayload;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @FunctionalInterface
 public interface AuthorityCommandSource<C extends CommandPayload> {
     Optional<AuthorityCommandDelivery<C>> poll();
+
+    default List<AuthorityCommandDelivery<C>> pollBatch(int maxDeliveries) {
+        if (maxDeliveries <= 0) {
+            throw new IllegalArgumentException("maxDeliveries must be positive");
+        }
+        List<AuthorityCommandDelivery<C>> deliveries = new ArrayList<>();
+        while (deliveries.size() < maxDeliveries) {
+            Optional<AuthorityCommandDelivery<C>> delivery = poll();
+            if (delivery.isEmpty()) {
+                break;
+            }
+            deliveries.add(delivery.orElseThrow());
+        }
+        return List.copyOf(deliveries);
+    }
+
+    default void pause(Collection<AuthorityPartition> partitions) {
+    }
+
+    default void resume(Collection<AuthorityPartition> partitions) {
+    }
+
+    default void partitionListener(AuthorityPartitionListener listener) {
+    }
 }
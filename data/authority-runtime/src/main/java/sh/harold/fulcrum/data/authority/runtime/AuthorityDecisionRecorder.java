@@ -3,7 +3,15 @@ package sh.harold.fulcrum.data.authority.runtime;
 import sh.harold.fulcrum.api.contract.CommandPayload;
 import sh.harold.fulcrum.data.authority.AuthorityDecision;
 
+import java.util.List;
+
 @FunctionalInterface
 public interface AuthorityDecisionRecorder<S, C extends CommandPayload, R> {
     void record(AuthorityCommandDelivery<C> delivery, AuthorityDecision<S, R> decision);
+
+    default void recordAll(List<AuthorityHandledCommand<S, C, R>> handledCommands) {
+        for (AuthorityHandledCommand<S, C, R> handled : handledCommands) {
+            record(handled.delivery(), handled.decision());
+        }
+    }
 }
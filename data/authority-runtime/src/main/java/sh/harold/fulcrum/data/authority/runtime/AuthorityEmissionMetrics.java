@@ -0,0 +1,37 @@
+package sh.harold.fulcrum.data.authority.runtime;
+
+import java.time.Duration;
+import java.util.Objects;
+
+public record AuthorityEmissionMetrics(
+        long published,
+        long failed,
+        long inFlight,
+        Duration totalLatency,
+        Duration maxLatency) {
+    public static final AuthorityEmissionMetrics EMPTY =
+            new AuthorityEmissionMetrics(0, 0, 0, Duration.ZERO, Duration.ZERO);
+
+    public AuthorityEmissionMetrics {
+        if (published < 0 || failed < 0 || inFlight < 0) {
+            throw new IllegalArgumentException("emission counters must not be negative");
+        }
+        totalLatency = Objects.requireNonNull(totalLatency, "totalLatency");
+        maxLatency = Objects.requireNonNull(maxLatency, "maxLatency");
+    }
+
+    public Duration averageLatency() {
+        long completed = published + failed;
+        return completed == 0 ? Duration.ZERO : totalLatency.dividedBy(completed);
+    }
+
+    public AuthorityEmissionMetrics plus(AuthorityEmissionMetrics other) {
+        Objects.requireNonNull(other, "other");
+        return new AuthorityEmissionMetrics(
+                published + other.published,
+                failed + other.failed,
+                inFlight + other.inFlight,
+                totalLatency.plus(other.totalLatency),
+                maxLatency.compareTo(other.maxLatency) >= 0 ? maxLatency : other.maxLatency);
+    }
+}
@@ -2,7 +2,22 @@ package sh.harold.fulcrum.data.authority.runtime;
 
 import sh.harold.fulcrum.data.authority.AuthorityEmission;
 
+import java.util.List;
+
 @FunctionalInterface
 public interface AuthorityEmissionSink {
     void publish(AuthorityEmission emission);
+
+    default void publishAll(List<AuthorityEmission> emissions) {
+        for (AuthorityEmission emission : emissions) {
+            publish(emission);
+        }
+    }
+
+    default void flush() {
+    }
+
+    default AuthorityEmissionMetrics metrics() {
+        return AuthorityEmissionMetrics.EMPTY;
+    }
 }
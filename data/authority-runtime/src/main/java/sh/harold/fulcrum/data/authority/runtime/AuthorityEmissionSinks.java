@@ -2,6 +2,7 @@ package sh.harold.fulcrum.data.authority.runtime;
 
 import sh.harold.fulcrum.data.authority.AuthorityEmission;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
@@ -15,10 +16,56 @@ public final class AuthorityEmissionSinks {
         List<AuthorityEmissionSink> sinks = Arrays.stream(rest == null ? new AuthorityEmissionSink[0] : rest)
                 .map(sink -> Objects.requireNonNull(sink, "sink"))
                 .toList();
-        return emission -> {
-            first.publish(emission);
-            for (AuthorityEmissionSink sink : sinks) {
-                sink.publish(emission);
+        return new AuthorityEmissionSink() {
+            @Override
+            public void publish(AuthorityEmission emission) {
+                first.publish(emission);
+                for (AuthorityEmissionSink sink : sinks) {
+                    sink.publish(emission);
+                }
+            }
+
+            @Override
+            public void publishAll(List<AuthorityEmission> emissions) {
+                first.publishAll(emissions);
+                for (AuthorityEmissionSink sink : sinks) {
+                    sink.publishAll(emissions);
+                }
+            }
+
+            @Override
+            public void flush() {
+                RuntimeException failure = null;
+                for (AuthorityEmissionSink sink : all()) {
+                    try {
+                        sink.flush();
+                    } catch (RuntimeException exception) {
+                        if (failure == null) {
+                            failure = exception;
+                        } else {
+                            failure.addSuppressed(exception);
+                        }
+                    }
+                }
+                if (failure != null) {
+                    throw failure;
+                }
+            }
+
+            @Override
+            public AuthorityEmissionMetrics metrics() {
+                AuthorityEmissionMetrics metrics = AuthorityEmissionMetrics.EMPTY;
+                for (AuthorityEmissionSink sink : all()) {
+                    metrics = metrics.plus(sink.metrics());
+                }
+                return metrics;
+            }
+
+            private List<AuthorityEmissionSink> all() {
+                List<AuthorityEmissionSink> all = new ArrayList<>(sinks.size() + 1);
+                all.add(first);
+                all.addAll(sinks);
+                return all;
             }
         };
     }
@@ -0,0 +1,15 @@
+package sh.harold.fulcrum.data.authority.runtime;
+
+import sh.harold.fulcrum.api.contract.CommandPayload;
+import sh.harold.fulcrum.data.authority.AuthorityDecision;
+
+import java.util.Objects;
+
+public record AuthorityHandledCommand<S, C extends CommandPayload, R>(
+        AuthorityCommandDelivery<C> delivery,
+        AuthorityDecision<S, R> decision) {
+    public AuthorityHandledCommand {
+        delivery = Objects.requireNonNull(delivery, "delivery");
+        decision = Objects.requireNonNull(decision, "decision");
+    }
+}
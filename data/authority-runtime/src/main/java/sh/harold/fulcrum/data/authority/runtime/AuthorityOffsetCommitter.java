@@ -1,6 +1,22 @@
 package sh.harold.fulcrum.data.authority.runtime;
 
+import java.util.List;
+
 @FunctionalInterface
 public interface AuthorityOffsetCommitter {
     void commit(AuthorityOffset offset);
+
+    default void commitAll(List<AuthorityOffset> offsets) {
+        for (AuthorityOffset offset : offsets) {
+            commit(offset);
+        }
+    }
+
+    default void flush() {
+    }
+
+    // Called when a poll comes back empty, so a committer that holds offsets back still commits them once its
+    // interval runs out on a partition that has gone quiet.
+    default void maybeCommit() {
+    }
 }
@@ -0,0 +1,27 @@
+package sh.harold.fulcrum.data.authority.runtime;
+
+import java.util.Objects;
+
+public record AuthorityPartition(
+        String source,
+        int partition) {
+    public AuthorityPartition {
+        source = requireNonBlank(source, "source");
+        if (partition < 0) {
+            throw new IllegalArgumentException("partition must be non-negative");
+        }
+    }
+
+    public static AuthorityPartition of(AuthorityOffset offset) {
+        Objects.requireNonNull(offset, "offset");
+        return new AuthorityPartition(offset.source(), offset.partition());
+    }
+
+    private static String requireNonBlank(String value, String label) {
+        String checked = Objects.requireNonNull(value, label).trim();
+        if (checked.isEmpty()) {
+            throw new IllegalArgumentException(label + " must not be blank");
+        }
+        return checked;
+    }
+}
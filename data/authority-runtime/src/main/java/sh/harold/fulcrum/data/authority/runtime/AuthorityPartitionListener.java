@@ -0,0 +1,13 @@
+package sh.harold.fulcrum.data.authority.runtime;
+
+import java.util.Collection;
+
+// Called on the polling thread, from inside the command source's poll, when ownership of source partitions changes.
+public interface AuthorityPartitionListener {
+    void partitionsRevoked(Collection<AuthorityPartition> partitions);
+
+    void partitionsLost(Collection<AuthorityPartition> partitions);
+
+    default void partitionsAssigned(Collection<AuthorityPartition> partitions) {
+    }
+}
@@ -4,7 +4,15 @@ import sh.harold.fulcrum.api.contract.CommandPayload;
 import sh.harold.fulcrum.data.authority.AuthorityCommand;
 import sh.harold.fulcrum.data.authority.AuthorityDecision;
 
+import java.util.List;
+
 @FunctionalInterface
 public interface AuthorityProjectionWriter<S, C extends CommandPayload, R> {
     void write(AuthorityCommand<C> command, AuthorityDecision<S, R> decision);
+
+    default void writeAll(List<AuthorityHandledCommand<S, C, R>> handledCommands) {
+        for (AuthorityHandledCommand<S, C, R> handled : handledCommands) {
+            write(handled.delivery().command(), handled.decision());
+        }
+    }
 }
@@ -0,0 +1,23 @@
+package sh.harold.fulcrum.data.authority.runtime;
+
+public record AuthorityRecordCacheMetrics(
+        long hits,
+        long misses,
+        long evictions,
+        long invalidations,
+        int size,
+        int maxEntries) {
+    public AuthorityRecordCacheMetrics {
+        if (hits < 0 || misses < 0 || evictions < 0 || invalidations < 0 || size < 0) {
+            throw new IllegalArgumentException("cache counters must not be negative");
+        }
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries must be positive");
+        }
+    }
+
+    public double hitRatio() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0.0 : (double) hits / lookups;
+    }
+}
@@ -3,8 +3,24 @@ package sh.harold.fulcrum.data.authority.runtime;
 import sh.harold.fulcrum.api.contract.AggregateId;
 import sh.harold.fulcrum.data.authority.AuthorityRecord;
 
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 public interface AuthorityRecordStore<S> {
     AuthorityRecord<S> load(AggregateId aggregateId);
 
     void store(AggregateId aggregateId, AuthorityRecord<S> record);
+
+    default Map<AggregateId, AuthorityRecord<S>> loadAll(Collection<AggregateId> aggregateIds) {
+        Map<AggregateId, AuthorityRecord<S>> records = new LinkedHashMap<>();
+        for (AggregateId aggregateId : aggregateIds) {
+            records.computeIfAbsent(aggregateId, this::load);
+        }
+        return records;
+    }
+
+    default void storeAll(Map<AggregateId, AuthorityRecord<S>> records) {
+        records.forEach(this::store);
+    }
 }
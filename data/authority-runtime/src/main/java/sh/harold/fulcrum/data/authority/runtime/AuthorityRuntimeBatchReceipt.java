@@ -0,0 +1,94 @@
+package sh.harold.fulcrum.data.authority.runtime;
+
+import sh.harold.fulcrum.data.authority.AuthorityDecisionStatus;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+
+public record AuthorityRuntimeBatchReceipt(
+        List<AuthorityRuntimeReceipt> receipts,
+        List<AuthorityOffset> committedOffsets,
+        int aggregateCount,
+        int emissionCount,
+        Duration loadDuration,
+        Duration handleDuration,
+        Duration storeDuration,
+        Duration projectionDuration,
+        Duration emissionDuration,
+        Duration decisionDuration,
+        Duration commitDuration) {
+    public AuthorityRuntimeBatchReceipt {
+        receipts = List.copyOf(Objects.requireNonNull(receipts, "receipts"));
+        committedOffsets = List.copyOf(Objects.requireNonNull(committedOffsets, "committedOffsets"));
+        if (receipts.isEmpty()) {
+            throw new IllegalArgumentException("receipts must not be empty");
+        }
+        if (committedOffsets.isEmpty()) {
+            throw new IllegalArgumentException("committedOffsets must not be empty");
+        }
+        if (aggregateCount <= 0 || aggregateCount > receipts.size()) {
+            throw new IllegalArgumentException("aggregateCount must be between 1 and the command count");
+        }
+        if (emissionCount < 0) {
+            throw new IllegalArgumentException("emissionCount must be non-negative");
+        }
+        loadDuration = requireNonNegative(loadDuration, "loadDuration");
+        handleDuration = requireNonNegative(handleDuration, "handleDuration");
+        storeDuration = requireNonNegative(storeDuration, "storeDuration");
+        projectionDuration = requireNonNegative(projectionDuration, "projectionDuration");
+        emissionDuration = requireNonNegative(emissionDuration, "emissionDuration");
+        decisionDuration = requireNonNegative(decisionDuration, "decisionDuration");
+        commitDuration = requireNonNegative(commitDuration, "commitDuration");
+    }
+
+    public int commandCount() {
+        return receipts.size();
+    }
+
+    public int acceptedCount() {
+        return count(AuthorityDecisionStatus.ACCEPTED, false);
+    }
+
+    public int rejectedCount() {
+        return count(AuthorityDecisionStatus.REJECTED, false);
+    }
+
+    public int replayedCount() {
+        int replayed = 0;
+        for (AuthorityRuntimeReceipt receipt : receipts) {
+            if (receipt.replayed()) {
+                replayed++;
+            }
+        }
+        return replayed;
+    }
+
+    public Duration totalDuration() {
+        return loadDuration
+                .plus(handleDuration)
+                .plus(storeDuration)
+                .plus(projectionDuration)
+                .plus(emissionDuration)
+                .plus(decisionDuration)
+                .plus(commitDuration);
+    }
+
+    private int count(AuthorityDecisionStatus status, boolean replayed) {
+        int matching = 0;
+        for (AuthorityRuntimeReceipt receipt : receipts) {
+            if (receipt.status() == status && receipt.replayed() == replayed) {
+                matching++;
+            }
+        }
+        return matching;
+    }
+
+    private static Duration requireNonNegative(Duration value, String label) {
+        Duration checked = Objects.requireNonNull(value, label);
+        if (checked.isNegative()) {
+            throw new IllegalArgumentException(label + " must be non-negative");
+        }
+        return checked;
+    }
+}
@@ -4,8 +4,14 @@ import sh.harold.fulcrum.api.contract.AggregateId;
 import sh.harold.fulcrum.api.contract.CommandPayload;
 import sh.harold.fulcrum.data.authority.AuthorityDecision;
 import sh.harold.fulcrum.data.authority.AuthorityDecisionStatus;
+import sh.harold.fulcrum.data.authority.AuthorityEmission;
 import sh.harold.fulcrum.data.authority.AuthorityRecord;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 
@@ -36,32 +42,174 @@ public final class AuthorityRuntimeWorker<S, C extends CommandPayload, R> {
     }
 
     public Optional<AuthorityRuntimeReceipt> handleNext() {
+        return handleNextTimed().map(batch -> batch.receipts().getFirst());
+    }
+
+    // Handles one delivery the way handleNext does and reports it as a single-command batch, so callers that time the
+    // runtime get the same per-stage durations a batch worker reports.
+    public Optional<AuthorityRuntimeBatchReceipt> handleNextTimed() {
         Optional<AuthorityCommandDelivery<C>> maybeDelivery = commandSource.poll();
         if (maybeDelivery.isEmpty()) {
+            offsetCommitter.maybeCommit();
             return Optional.empty();
         }
 
         AuthorityCommandDelivery<C> delivery = maybeDelivery.orElseThrow();
         AggregateId aggregateId = delivery.command().envelope().aggregateId();
+        long started = System.nanoTime();
         AuthorityRecord<S> currentRecord = recordStore.load(aggregateId);
+        long loaded = System.nanoTime();
         AuthorityDecision<S, R> decision = domainHandler.handle(delivery.command(), currentRecord);
+        long handledAt = System.nanoTime();
 
+        long storedAt = handledAt;
+        long projectedAt = handledAt;
+        long emittedAt = handledAt;
+        int emissionCount = 0;
         if (decision.status() == AuthorityDecisionStatus.ACCEPTED && !decision.replayed()) {
             recordStore.store(aggregateId, new AuthorityRecord<>(
                     decision.revision(),
                     currentRecord.fencingEpoch(),
                     decision.state()));
+            storedAt = System.nanoTime();
             projectionWriter.write(delivery.command(), decision);
+            projectedAt = System.nanoTime();
             decision.emissions().forEach(emissionSink::publish);
+            emittedAt = System.nanoTime();
+            emissionCount = decision.emissions().size();
         }
 
         decisionRecorder.record(delivery, decision);
+        long recordedAt = System.nanoTime();
+        emissionSink.flush();
+        long flushedAt = System.nanoTime();
         offsetCommitter.commit(delivery.offset());
-        return Optional.of(new AuthorityRuntimeReceipt(
-                delivery.offset(),
-                aggregateId,
-                decision.status(),
-                decision.revision(),
-                decision.replayed()));
+        long committedAt = System.nanoTime();
+        return Optional.of(new AuthorityRuntimeBatchReceipt(
+                List.of(new AuthorityRuntimeReceipt(
+                        delivery.offset(),
+                        aggregateId,
+                        decision.status(),
+                        decision.revision(),
+                        decision.replayed())),
+                List.of(delivery.offset()),
+                1,
+                emissionCount,
+                Duration.ofNanos(loaded - started),
+                Duration.ofNanos(handledAt - loaded),
+                Duration.ofNanos(storedAt - handledAt),
+                Duration.ofNanos(projectedAt - storedAt),
+                Duration.ofNanos((emittedAt - projectedAt) + (flushedAt - recordedAt)),
+                Duration.ofNanos(recordedAt - emittedAt),
+                Duration.ofNanos(committedAt - flushedAt)));
+    }
+
+    public Optional<AuthorityRuntimeBatchReceipt> handleBatch(int maxDeliveries) {
+        if (maxDeliveries <= 0) {
+            throw new IllegalArgumentException("maxDeliveries must be positive");
+        }
+        List<AuthorityCommandDelivery<C>> deliveries = commandSource.pollBatch(maxDeliveries);
+        if (deliveries.isEmpty()) {
+            offsetCommitter.maybeCommit();
+            return Optional.empty();
+        }
+
+        Map<AggregateId, List<AuthorityCommandDelivery<C>>> byAggregate = new LinkedHashMap<>();
+        for (AuthorityCommandDelivery<C> delivery : deliveries) {
+            byAggregate.computeIfAbsent(delivery.command().envelope().aggregateId(), ignored -> new ArrayList<>())
+                    .add(delivery);
+        }
+
+        long started = System.nanoTime();
+        Map<AggregateId, AuthorityRecord<S>> currentRecords = recordStore.loadAll(byAggregate.keySet());
+        long loaded = System.nanoTime();
+
+        List<AuthorityHandledCommand<S, C, R>> handledCommands = new ArrayList<>(deliveries.size());
+        List<AuthorityHandledCommand<S, C, R>> acceptedCommands = new ArrayList<>(deliveries.size());
+        Map<AggregateId, AuthorityRecord<S>> changedRecords = new LinkedHashMap<>();
+        List<AuthorityEmission> emissions = new ArrayList<>();
+        for (Map.Entry<AggregateId, List<AuthorityCommandDelivery<C>>> group : byAggregate.entrySet()) {
+            AuthorityRecord<S> currentRecord = currentRecords.get(group.getKey());
+            if (currentRecord == null) {
+                throw new IllegalStateException("record store did not load aggregate " + group.getKey().value());
+            }
+            for (AuthorityCommandDelivery<C> delivery : group.getValue()) {
+                AuthorityDecision<S, R> decision = domainHandler.handle(delivery.command(), currentRecord);
+                AuthorityHandledCommand<S, C, R> handled = new AuthorityHandledCommand<>(delivery, decision);
+                handledCommands.add(handled);
+                if (decision.status() == AuthorityDecisionStatus.ACCEPTED && !decision.replayed()) {
+                    currentRecord = new AuthorityRecord<>(
+                            decision.revision(),
+                            currentRecord.fencingEpoch(),
+                            decision.state());
+                    changedRecords.put(group.getKey(), currentRecord);
+                    acceptedCommands.add(handled);
+                    emissions.addAll(decision.emissions());
+                }
+            }
+        }
+        long handledAt = System.nanoTime();
+
+        if (!changedRecords.isEmpty()) {
+            recordStore.storeAll(changedRecords);
+        }
+        long storedAt = System.nanoTime();
+        if (!acceptedCommands.isEmpty()) {
+            projectionWriter.writeAll(acceptedCommands);
+        }
+        long projectedAt = System.nanoTime();
+        if (!emissions.isEmpty()) {
+            emissionSink.publishAll(emissions);
+        }
+        long emittedAt = System.nanoTime();
+        decisionRecorder.recordAll(handledCommands);
+        long recordedAt = System.nanoTime();
+        emissionSink.flush();
+        long flushedAt = System.nanoTime();
+        List<AuthorityOffset> committedOffsets = highestOffsets(deliveries);
+        offsetCommitter.commitAll(committedOffsets);
+        long committedAt = System.nanoTime();
+
+        List<AuthorityRuntimeReceipt> receipts = new ArrayList<>(handledCommands.size());
+        for (AuthorityHandledCommand<S, C, R> handled : handledCommands) {
+            receipts.add(new AuthorityRuntimeReceipt(
+                    handled.delivery().offset(),
+                    handled.delivery().command().envelope().aggregateId(),
+                    handled.decision().status(),
+                    handled.decision().revision(),
+                    handled.decision().replayed()));
+        }
+        return Optional.of(new AuthorityRuntimeBatchReceipt(
+                receipts,
+                committedOffsets,
+                byAggregate.size(),
+                emissions.size(),
+                Duration.ofNanos(loaded - started),
+                Duration.ofNanos(handledAt - loaded),
+                Duration.ofNanos(storedAt - handledAt),
+                Duration.ofNanos(projectedAt - storedAt),
+                Duration.ofNanos((emittedAt - projectedAt) + (flushedAt - recordedAt)),
+                Duration.ofNanos(recordedAt - emittedAt),
+                Duration.ofNanos(committedAt - flushedAt)));
+    }
+
+    public void flushOffsets() {
+        offsetCommitter.flush();
+    }
+
+    private static <C extends CommandPayload> List<AuthorityOffset> highestOffsets(
+            List<AuthorityCommandDelivery<C>> deliveries) {
+        Map<SourcePartition, AuthorityOffset> highest = new LinkedHashMap<>();
+        for (AuthorityCommandDelivery<C> delivery : deliveries) {
+            AuthorityOffset offset = delivery.offset();
+            highest.merge(
+                    new SourcePartition(offset.source(), offset.partition()),
+                    offset,
+                    (current, candidate) -> candidate.position() > current.position() ? candidate : current);
+        }
+        return List.copyOf(highest.values());
+    }
+
+    private record SourcePartition(String source, int partition) {
     }
 }
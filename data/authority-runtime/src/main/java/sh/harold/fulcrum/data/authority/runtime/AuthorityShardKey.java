@@ -0,0 +1,16 @@
+package sh.harold.fulcrum.data.authority.runtime;
+
+import sh.harold.fulcrum.api.contract.CommandPayload;
+
+public enum AuthorityShardKey {
+    PARTITION,
+    AGGREGATE_HASH;
+
+    int shardFor(AuthorityCommandDelivery<? extends CommandPayload> delivery, int shardCount) {
+        int hash = switch (this) {
+            case PARTITION -> delivery.offset().partition();
+            case AGGREGATE_HASH -> delivery.command().envelope().aggregateId().hashCode();
+        };
+        return Math.floorMod(hash, shardCount);
+    }
+}
@@ -0,0 +1,518 @@
+package sh.harold.fulcrum.data.authority.runtime;
+
+import sh.harold.fulcrum.api.contract.CommandPayload;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+// Offsets are committed per partition only up to the contiguous prefix every shard has finished. A revoked partition is
+// fenced before its new owner can start: queued work is withdrawn, running work is awaited and committed, and any
+// late shard result for it is discarded. Every delivery carries its partition's assignment generation, so a result
+// that outlives a loss and lands after the partition is assigned again cannot advance the new assignment's frontier.
+// A saturated shard pauses only the partitions parked behind it, so the dispatcher keeps polling and the consumer
+// stays in its group.
+public final class AuthorityShardedRuntime<S, C extends CommandPayload, R> implements AutoCloseable {
+    private static final long SHARD_JOIN_MILLIS = 5_000;
+    private static final long REVOKE_DRAIN_NANOS = TimeUnit.SECONDS.toNanos(5);
+    private static final long REVOKE_WAIT_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final AuthorityCommandSource<C> commandSource;
+    private final AuthorityOffsetCommitter offsetCommitter;
+    private final AuthorityShardedRuntimeSettings settings;
+    private final List<Shard> shards;
+    private final ThreadFactory threadFactory;
+    private final Queue<ShardCompletion> completions = new ConcurrentLinkedQueue<>();
+    private final AtomicReference<RuntimeException> failure = new AtomicReference<>();
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private final Map<AuthorityPartition, Queue<DispatchedOffset>> inFlight = new HashMap<>();
+    private final Map<AuthorityPartition, long[]> shardProgress = new HashMap<>();
+    private final Set<AuthorityPartition> fenced = new HashSet<>();
+    private final Set<AuthorityPartition> paused = new HashSet<>();
+    private final Map<AuthorityPartition, Long> generations = new HashMap<>();
+    private Consumer<AuthorityRuntimeBatchReceipt> batchListener = receipt -> {
+    };
+    private AuthorityRuntimeReceipt unreported;
+    private int lastDispatched;
+    private boolean closed;
+
+    public AuthorityShardedRuntime(
+            String name,
+            AuthorityCommandSource<C> commandSource,
+            AuthorityRecordStore<S> recordStore,
+            AuthorityDomainHandler<S, C, R> domainHandler,
+            AuthorityProjectionWriter<S, C, R> projectionWriter,
+            AuthorityEmissionSink emissionSink,
+            AuthorityDecisionRecorder<S, C, R> decisionRecorder,
+            AuthorityOffsetCommitter offsetCommitter,
+            AuthorityShardedRuntimeSettings settings) {
+        String threadName = requireNonBlank(name, "name");
+        this.commandSource = Objects.requireNonNull(commandSource, "commandSource");
+        this.offsetCommitter = Objects.requireNonNull(offsetCommitter, "offsetCommitter");
+        this.settings = Objects.requireNonNull(settings, "settings");
+        Objects.requireNonNull(recordStore, "recordStore");
+        Objects.requireNonNull(domainHandler, "domainHandler");
+        Objects.requireNonNull(projectionWriter, "projectionWriter");
+        Objects.requireNonNull(emissionSink, "emissionSink");
+        Objects.requireNonNull(decisionRecorder, "decisionRecorder");
+        List<Shard> created = new ArrayList<>(settings.shardCount());
+        for (int index = 0; index < settings.shardCount(); index++) {
+            BlockingQueue<StampedDelivery<C>> queue = new ArrayBlockingQueue<>(settings.shardQueueCapacity());
+            ShardCommandSource source = new ShardCommandSource(queue);
+            AuthorityRuntimeWorker<S, C, R> worker = new AuthorityRuntimeWorker<>(
+                    source,
+                    recordStore,
+                    domainHandler,
+                    projectionWriter,
+                    emissionSink,
+                    decisionRecorder,
+                    offset -> {
+                    });
+            created.add(new Shard(index, queue, source, worker));
+        }
+        this.shards = List.copyOf(created);
+        this.threadFactory = settings.virtualThreads()
+                ? Thread.ofVirtual().name("fulcrum-authority-shard-" + threadName + "-", 0).factory()
+                : Thread.ofPlatform().name("fulcrum-authority-shard-" + threadName + "-", 0).daemon(false).factory();
+        commandSource.partitionListener(new PartitionFence());
+    }
+
+    public Optional<AuthorityRuntimeReceipt> dispatchNext() {
+        if (closed) {
+            throw new IllegalStateException("sharded authority runtime is closed");
+        }
+        if (running.compareAndSet(false, true)) {
+            for (Shard shard : shards) {
+                shard.start();
+            }
+        }
+        rethrowShardFailure();
+        Optional<AuthorityRuntimeReceipt> latest = commitCompleted();
+        releaseParked();
+        List<AuthorityCommandDelivery<C>> deliveries = commandSource.pollBatch(settings.maxBatchDeliveries());
+        for (AuthorityCommandDelivery<C> delivery : deliveries) {
+            dispatch(delivery);
+        }
+        if (deliveries.isEmpty()) {
+            offsetCommitter.maybeCommit();
+        }
+        lastDispatched = deliveries.size();
+        pauseSaturated();
+        return latest;
+    }
+
+    // Deliveries the last dispatchNext handed to the shards. Their receipts arrive on a later call, so a caller that
+    // idles between empty calls should count these as work too.
+    public int lastDispatched() {
+        return lastDispatched;
+    }
+
+    // Sees every batch a shard finished, with its stage durations, on the dispatching thread as the batch is folded
+    // into the commit frontier.
+    public void batchListener(Consumer<AuthorityRuntimeBatchReceipt> listener) {
+        this.batchListener = Objects.requireNonNull(listener, "listener");
+    }
+
+    public List<Integer> shardQueueDepths() {
+        List<Integer> depths = new ArrayList<>(shards.size());
+        for (Shard shard : shards) {
+            depths.add(shard.queue.size() + shard.parked.size());
+        }
+        return List.copyOf(depths);
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        running.set(false);
+        for (Shard shard : shards) {
+            shard.stop();
+        }
+        for (Shard shard : shards) {
+            shard.join();
+        }
+        if (failure.get() == null) {
+            commitCompleted();
+            offsetCommitter.flush();
+        }
+    }
+
+    private void dispatch(AuthorityCommandDelivery<C> delivery) {
+        AuthorityPartition partition = AuthorityPartition.of(delivery.offset());
+        if (fenced.contains(partition)) {
+            return;
+        }
+        int index = settings.shardKey().shardFor(delivery, shards.size());
+        inFlight.computeIfAbsent(partition, ignored -> new ArrayDeque<>())
+                .add(new DispatchedOffset(delivery.offset().position(), index));
+        Shard shard = shards.get(index);
+        StampedDelivery<C> stamped = new StampedDelivery<>(delivery, generations.getOrDefault(partition, 0L));
+        if (!shard.parked.isEmpty() || !shard.queue.offer(stamped)) {
+            shard.parked.add(stamped);
+        }
+    }
+
+    private void releaseParked() {
+        for (Shard shard : shards) {
+            while (!shard.parked.isEmpty() && shard.queue.offer(shard.parked.peek())) {
+                shard.parked.poll();
+            }
+        }
+    }
+
+    // Partitions stay paused while any of their deliveries is parked behind a full shard queue; everything else keeps
+    // flowing to the shards that still have room.
+    private void pauseSaturated() {
+        Set<AuthorityPartition> saturated = null;
+        for (Shard shard : shards) {
+            for (StampedDelivery<C> parked : shard.parked) {
+                if (saturated == null) {
+                    saturated = new HashSet<>();
+                }
+                saturated.add(AuthorityPartition.of(parked.delivery().offset()));
+            }
+        }
+        if (saturated == null && paused.isEmpty()) {
+            return;
+        }
+        List<AuthorityPartition> resumed = new ArrayList<>();
+        for (AuthorityPartition partition : paused) {
+            if (saturated == null || !saturated.contains(partition)) {
+                resumed.add(partition);
+            }
+        }
+        if (!resumed.isEmpty()) {
+            resumed.forEach(paused::remove);
+            commandSource.resume(resumed);
+        }
+        if (saturated != null) {
+            List<AuthorityPartition> newlyPaused = new ArrayList<>();
+            for (AuthorityPartition partition : saturated) {
+                if (paused.add(partition)) {
+                    newlyPaused.add(partition);
+                }
+            }
+            if (!newlyPaused.isEmpty()) {
+                commandSource.pause(newlyPaused);
+            }
+        }
+    }
+
+    private Optional<AuthorityRuntimeReceipt> commitCompleted() {
+        if (foldCompletions()) {
+            commitFrontiers();
+        }
+        AuthorityRuntimeReceipt latest = unreported;
+        unreported = null;
+        return Optional.ofNullable(latest);
+    }
+
+    private boolean foldCompletions() {
+        boolean folded = false;
+        ShardCompletion completion;
+        while ((completion = completions.poll()) != null) {
+            for (ShardProgress finished : completion.progress()) {
+                if (finished.generation() != generations.getOrDefault(finished.partition(), 0L)) {
+                    continue;
+                }
+                long[] progress = shardProgress.computeIfAbsent(finished.partition(), ignored -> newProgress());
+                progress[completion.shard()] = Math.max(progress[completion.shard()], finished.position());
+            }
+            batchListener.accept(completion.receipt());
+            unreported = completion.receipt().receipts().getLast();
+            folded = true;
+        }
+        return folded;
+    }
+
+    private void commitFrontiers() {
+        List<AuthorityOffset> committable = new ArrayList<>();
+        for (Map.Entry<AuthorityPartition, Queue<DispatchedOffset>> entry : inFlight.entrySet()) {
+            long[] progress = shardProgress.get(entry.getKey());
+            if (progress == null) {
+                continue;
+            }
+            DispatchedOffset frontier = null;
+            Queue<DispatchedOffset> pending = entry.getValue();
+            while (!pending.isEmpty() && pending.peek().position() <= progress[pending.peek().shard()]) {
+                frontier = pending.poll();
+            }
+            if (frontier != null) {
+                committable.add(new AuthorityOffset(entry.getKey().source(), entry.getKey().partition(), frontier.position()));
+            }
+        }
+        if (!committable.isEmpty()) {
+            offsetCommitter.commitAll(committable);
+        }
+    }
+
+    // Takes back deliveries of the given partitions that no shard has picked up yet. A withdrawn position is never
+    // completed, so the commit frontier of its partition stops in front of it and the next owner replays it.
+    private Map<AuthorityPartition, Set<Long>> withdraw(Set<AuthorityPartition> partitions) {
+        Map<AuthorityPartition, Set<Long>> withdrawn = new HashMap<>();
+        for (Shard shard : shards) {
+            shard.queue.removeIf(delivery -> withdrawn(delivery, partitions, withdrawn));
+            shard.parked.removeIf(delivery -> withdrawn(delivery, partitions, withdrawn));
+        }
+        return withdrawn;
+    }
+
+    private static boolean withdrawn(
+            StampedDelivery<?> stamped,
+            Set<AuthorityPartition> partitions,
+            Map<AuthorityPartition, Set<Long>> withdrawn) {
+        AuthorityPartition partition = AuthorityPartition.of(stamped.delivery().offset());
+        if (!partitions.contains(partition)) {
+            return false;
+        }
+        withdrawn.computeIfAbsent(partition, ignored -> new HashSet<>()).add(stamped.delivery().offset().position());
+        return true;
+    }
+
+    private void awaitShardWork(Set<AuthorityPartition> partitions, Map<AuthorityPartition, Set<Long>> withdrawn) {
+        long startedAt = System.nanoTime();
+        foldCompletions();
+        while (!settled(partitions, withdrawn)) {
+            rethrowShardFailure();
+            if (System.nanoTime() - startedAt >= REVOKE_DRAIN_NANOS) {
+                throw new IllegalStateException("authority shards did not finish revoked partitions " + partitions);
+            }
+            LockSupport.parkNanos(REVOKE_WAIT_NANOS);
+            foldCompletions();
+        }
+    }
+
+    private boolean settled(Set<AuthorityPartition> partitions, Map<AuthorityPartition, Set<Long>> withdrawn) {
+        for (AuthorityPartition partition : partitions) {
+            Queue<DispatchedOffset> pending = inFlight.get(partition);
+            if (pending == null) {
+                continue;
+            }
+            long[] progress = shardProgress.get(partition);
+            Set<Long> skipped = withdrawn.getOrDefault(partition, Set.of());
+            for (DispatchedOffset dispatched : pending) {
+                if (skipped.contains(dispatched.position())) {
+                    continue;
+                }
+                if (progress == null || dispatched.position() > progress[dispatched.shard()]) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    // Moving to the next generation makes every result still out for the old assignment stale, however late it lands.
+    private void forget(Set<AuthorityPartition> partitions) {
+        for (AuthorityPartition partition : partitions) {
+            inFlight.remove(partition);
+            shardProgress.remove(partition);
+            paused.remove(partition);
+            generations.merge(partition, 1L, Long::sum);
+        }
+        fenced.addAll(partitions);
+    }
+
+    private long[] newProgress() {
+        long[] progress = new long[shards.size()];
+        Arrays.fill(progress, -1);
+        return progress;
+    }
+
+    private void rethrowShardFailure() {
+        RuntimeException shardFailure = failure.get();
+        if (shardFailure != null) {
+            throw new IllegalStateException("authority shard failed", shardFailure);
+        }
+    }
+
+    private static String requireNonBlank(String value, String label) {
+        String checked = Objects.requireNonNull(value, label).trim();
+        if (checked.isEmpty()) {
+            throw new IllegalArgumentException(label + " must not be blank");
+        }
+        return checked;
+    }
+
+    private final class Shard {
+        private final int index;
+        private final BlockingQueue<StampedDelivery<C>> queue;
+        private final Queue<StampedDelivery<C>> parked = new ArrayDeque<>();
+        private final ShardCommandSource source;
+        private final AuthorityRuntimeWorker<S, C, R> worker;
+        private Thread thread;
+
+        private Shard(
+                int index,
+                BlockingQueue<StampedDelivery<C>> queue,
+                ShardCommandSource source,
+                AuthorityRuntimeWorker<S, C, R> worker) {
+            this.index = index;
+            this.queue = queue;
+            this.source = source;
+            this.worker = worker;
+        }
+
+        private void start() {
+            thread = threadFactory.newThread(this::runLoop);
+            thread.start();
+        }
+
+        private void stop() {
+            Thread current = thread;
+            if (current != null) {
+                current.interrupt();
+            }
+        }
+
+        private void join() {
+            Thread current = thread;
+            if (current == null) {
+                return;
+            }
+            try {
+                current.join(SHARD_JOIN_MILLIS);
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private void runLoop() {
+            try {
+                while (running.get() && failure.get() == null) {
+                    worker.handleBatch(settings.maxBatchDeliveries())
+                            .ifPresent(receipt -> completions.add(new ShardCompletion(index, receipt, source.polled)));
+                }
+            } catch (RuntimeException exception) {
+                if (running.get()) {
+                    failure.compareAndSet(null, exception);
+                }
+            }
+        }
+    }
+
+    private final class PartitionFence implements AuthorityPartitionListener {
+        @Override
+        public void partitionsRevoked(Collection<AuthorityPartition> partitions) {
+            Set<AuthorityPartition> revoked = Set.copyOf(partitions);
+            if (revoked.isEmpty()) {
+                return;
+            }
+            awaitShardWork(revoked, withdraw(revoked));
+            commitFrontiers();
+            offsetCommitter.flush();
+            forget(revoked);
+        }
+
+        @Override
+        public void partitionsLost(Collection<AuthorityPartition> partitions) {
+            // Another member may already own these partitions, so nothing is committed for them and late results are
+            // discarded instead of waited for.
+            Set<AuthorityPartition> lost = Set.copyOf(partitions);
+            withdraw(lost);
+            forget(lost);
+        }
+
+        @Override
+        public void partitionsAssigned(Collection<AuthorityPartition> partitions) {
+            fenced.removeAll(partitions);
+        }
+    }
+
+    // Unwraps the stamped deliveries for the shard's worker and keeps, per partition and generation, the highest
+    // position of the batch it last handed out; only the shard's own thread touches it.
+    private final class ShardCommandSource implements AuthorityCommandSource<C> {
+        private final BlockingQueue<StampedDelivery<C>> queue;
+        private List<ShardProgress> polled = List.of();
+
+        private ShardCommandSource(BlockingQueue<StampedDelivery<C>> queue) {
+            this.queue = queue;
+        }
+
+        @Override
+        public Optional<AuthorityCommandDelivery<C>> poll() {
+            StampedDelivery<C> stamped = queue.poll();
+            if (stamped == null) {
+                return Optional.empty();
+            }
+            polled = progress(List.of(stamped));
+            return Optional.of(stamped.delivery());
+        }
+
+        @Override
+        public List<AuthorityCommandDelivery<C>> pollBatch(int maxDeliveries) {
+            StampedDelivery<C> first;
+            try {
+                first = queue.poll(settings.shardIdleWait().toNanos(), TimeUnit.NANOSECONDS);
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                return List.of();
+            }
+            if (first == null) {
+                return List.of();
+            }
+            List<StampedDelivery<C>> stamped = new ArrayList<>(Math.min(maxDeliveries, queue.size() + 1));
+            stamped.add(first);
+            queue.drainTo(stamped, maxDeliveries - 1);
+            polled = progress(stamped);
+            List<AuthorityCommandDelivery<C>> deliveries = new ArrayList<>(stamped.size());
+            for (StampedDelivery<C> entry : stamped) {
+                deliveries.add(entry.delivery());
+            }
+            return deliveries;
+        }
+
+        private List<ShardProgress> progress(List<StampedDelivery<C>> stamped) {
+            List<ShardProgress> progress = new ArrayList<>();
+            for (StampedDelivery<C> entry : stamped) {
+                AuthorityPartition partition = AuthorityPartition.of(entry.delivery().offset());
+                long position = entry.delivery().offset().position();
+                int index = 0;
+                while (index < progress.size()
+                        && (!progress.get(index).partition().equals(partition)
+                        || progress.get(index).generation() != entry.generation())) {
+                    index++;
+                }
+                if (index == progress.size()) {
+                    progress.add(new ShardProgress(partition, entry.generation(), position));
+                } else if (position > progress.get(index).position()) {
+                    progress.set(index, new ShardProgress(partition, entry.generation(), position));
+                }
+            }
+            return List.copyOf(progress);
+        }
+    }
+
+    private record StampedDelivery<P extends CommandPayload>(AuthorityCommandDelivery<P> delivery, long generation) {
+    }
+
+    private record ShardProgress(AuthorityPartition partition, long generation, long position) {
+    }
+
+    private record ShardCompletion(int shard, AuthorityRuntimeBatchReceipt receipt, List<ShardProgress> progress) {
+    }
+
+    private record DispatchedOffset(long position, int shard) {
+    }
+}
@@ -0,0 +1,29 @@
+package sh.harold.fulcrum.data.authority.runtime;
+
+import java.time.Duration;
+import java.util.Objects;
+
+public record AuthorityShardedRuntimeSettings(
+        int shardCount,
+        AuthorityShardKey shardKey,
+        int shardQueueCapacity,
+        int maxBatchDeliveries,
+        Duration shardIdleWait,
+        boolean virtualThreads) {
+    public AuthorityShardedRuntimeSettings {
+        if (shardCount <= 0) {
+            throw new IllegalArgumentException("shardCount must be positive");
+        }
+        shardKey = Objects.requireNonNull(shardKey, "shardKey");
+        if (shardQueueCapacity <= 0) {
+            throw new IllegalArgumentException("shardQueueCapacity must be positive");
+        }
+        if (maxBatchDeliveries <= 0) {
+            throw new IllegalArgumentException("maxBatchDeliveries must be positive");
+        }
+        shardIdleWait = Objects.requireNonNull(shardIdleWait, "shardIdleWait");
+        if (shardIdleWait.isNegative() || shardIdleWait.isZero()) {
+            throw new IllegalArgumentException("shardIdleWait must be positive");
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package sh.harold.fulcrum.data.authority.runtime;
+
+import sh.harold.fulcrum.api.contract.AggregateId;
+import sh.harold.fulcrum.data.authority.AuthorityRecord;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.ToIntFunction;
+
+public final class CachedAuthorityRecordStore<S> implements AuthorityRecordStore<S> {
+    private final AuthorityRecordStore<S> delegate;
+    private final int maxEntries;
+    private final LinkedHashMap<AggregateId, AuthorityRecord<S>> entries;
+    private long generation;
+    private long fencingEpoch = Long.MIN_VALUE;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long invalidations;
+
+    public CachedAuthorityRecordStore(AuthorityRecordStore<S> delegate, int maxEntries) {
+        this.delegate = Objects.requireNonNull(delegate, "delegate");
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries must be positive");
+        }
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<AggregateId, AuthorityRecord<S>> eldest) {
+                if (size() <= CachedAuthorityRecordStore.this.maxEntries) {
+                    return false;
+                }
+                evictions++;
+                return true;
+            }
+        };
+    }
+
+    @Override
+    public AuthorityRecord<S> load(AggregateId aggregateId) {
+        Objects.requireNonNull(aggregateId, "aggregateId");
+        long observedGeneration;
+        synchronized (this) {
+            AuthorityRecord<S> cached = entries.get(aggregateId);
+            if (cached != null) {
+                hits++;
+                return cached;
+            }
+            misses++;
+            observedGeneration = generation;
+        }
+        AuthorityRecord<S> loaded = delegate.load(aggregateId);
+        synchronized (this) {
+            if (observedGeneration == generation) {
+                cacheIfNewer(aggregateId, loaded);
+            }
+        }
+        return loaded;
+    }
+
+    @Override
+    public Map<AggregateId, AuthorityRecord<S>> loadAll(Collection<AggregateId> aggregateIds) {
+        Objects.requireNonNull(aggregateIds, "aggregateIds");
+        Map<AggregateId, AuthorityRecord<S>> records = new LinkedHashMap<>();
+        List<AggregateId> missing = new ArrayList<>();
+        long observedGeneration;
+        synchronized (this) {
+            for (AggregateId aggregateId : aggregateIds) {
+                Objects.requireNonNull(aggregateId, "aggregateId");
+                if (records.containsKey(aggregateId)) {
+                    continue;
+                }
+                AuthorityRecord<S> cached = entries.get(aggregateId);
+                if (cached != null) {
+                    hits++;
+                } else {
+                    misses++;
+                    missing.add(aggregateId);
+                }
+                records.put(aggregateId, cached);
+            }
+            observedGeneration = generation;
+        }
+        if (missing.isEmpty()) {
+            return records;
+        }
+        Map<AggregateId, AuthorityRecord<S>> loaded = delegate.loadAll(missing);
+        synchronized (this) {
+            for (AggregateId aggregateId : missing) {
+                AuthorityRecord<S> record = loaded.get(aggregateId);
+                if (record == null) {
+                    throw new IllegalStateException("record store did not load aggregate " + aggregateId.value());
+                }
+                records.put(aggregateId, record);
+                if (observedGeneration == generation) {
+                    cacheIfNewer(aggregateId, record);
+                }
+            }
+        }
+        return records;
+    }
+
+    @Override
+    public void store(AggregateId aggregateId, AuthorityRecord<S> record) {
+        Objects.requireNonNull(aggregateId, "aggregateId");
+        Objects.requireNonNull(record, "record");
+        try {
+            delegate.store(aggregateId, record);
+        } catch (RuntimeException exception) {
+            invalidate(List.of(aggregateId));
+            throw exception;
+        }
+        synchronized (this) {
+            cacheStored(aggregateId, record);
+        }
+    }
+
+    @Override
+    public void storeAll(Map<AggregateId, AuthorityRecord<S>> records) {
+        Objects.requireNonNull(records, "records");
+        if (records.isEmpty()) {
+            return;
+        }
+        try {
+            delegate.storeAll(records);
+        } catch (RuntimeException exception) {
+            invalidate(records.keySet());
+            throw exception;
+        }
+        synchronized (this) {
+            records.forEach(this::cacheStored);
+        }
+    }
+
+    public synchronized void invalidatePartitions(Set<Integer> partitions, ToIntFunction<AggregateId> partitioner) {
+        Objects.requireNonNull(partitions, "partitions");
+        Objects.requireNonNull(partitioner, "partitioner");
+        if (partitions.isEmpty()) {
+            return;
+        }
+        generation++;
+        Iterator<AggregateId> keys = entries.keySet().iterator();
+        while (keys.hasNext()) {
+            if (partitions.contains(partitioner.applyAsInt(keys.next()))) {
+                keys.remove();
+                invalidations++;
+            }
+        }
+    }
+
+    public synchronized void invalidateAll() {
+        generation++;
+        invalidations += entries.size();
+        entries.clear();
+    }
+
+    public synchronized AuthorityRecordCacheMetrics metrics() {
+        return new AuthorityRecordCacheMetrics(hits, misses, evictions, invalidations, entries.size(), maxEntries);
+    }
+
+    private synchronized void invalidate(Collection<AggregateId> aggregateIds) {
+        generation++;
+        for (AggregateId aggregateId : aggregateIds) {
+            if (entries.remove(aggregateId) != null) {
+                invalidations++;
+            }
+        }
+    }
+
+    private void cacheStored(AggregateId aggregateId, AuthorityRecord<S> record) {
+        observeFencingEpoch(record);
+        AuthorityRecord<S> cached = entries.get(aggregateId);
+        if (cached != null && cached.revision().value() >= record.revision().value()) {
+            // A write that does not advance the cached revision means another writer raced us; stop trusting memory.
+            entries.remove(aggregateId);
+            invalidations++;
+            return;
+        }
+        entries.put(aggregateId, record);
+    }
+
+    private void cacheIfNewer(AggregateId aggregateId, AuthorityRecord<S> record) {
+        observeFencingEpoch(record);
+        AuthorityRecord<S> cached = entries.get(aggregateId);
+        if (cached == null || cached.revision().value() < record.revision().value()) {
+            entries.put(aggregateId, record);
+        }
+    }
+
+    private void observeFencingEpoch(AuthorityRecord<S> record) {
+        if (record.fencingEpoch() > fencingEpoch) {
+            if (fencingEpoch != Long.MIN_VALUE) {
+                invalidateAll();
+            }
+            fencingEpoch = record.fencingEpoch();
+        }
+    }
+}
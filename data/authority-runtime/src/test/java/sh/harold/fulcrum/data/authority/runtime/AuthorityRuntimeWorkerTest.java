@@ -21,7 +21,9 @@ import sh.harold.fulcrum.data.authority.AuthorityRecord;
 import sh.harold.fulcrum.data.authority.AuthorityRejectionReason;
 
 import java.time.Instant;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
 import java.util.Optional;
 
@@ -91,6 +93,7 @@ final class AuthorityRuntimeWorkerTest {
                         "emit:RESPONSE",
                         "emit:CACHE_WRITE",
                         "decision:ACCEPTED",
+                        "flush",
                         "commit:12"),
                 sequence);
         assertEquals(4, emissionSink.published.size());
@@ -99,6 +102,37 @@ final class AuthorityRuntimeWorkerTest {
         assertEquals(List.of(OFFSET), offsetCommitter.committed);
     }
 
+    @Test
+    void timedHandlingReportsOneDeliveryAsASingleCommandBatch() {
+        List<String> sequence = new ArrayList<>();
+        RecordingOffsetCommitter offsetCommitter = new RecordingOffsetCommitter(sequence);
+        AuthorityCommandDelivery<SetValue> delivery = new AuthorityCommandDelivery<>(
+                command("command-1", "idem-1", Optional.of(new Revision(0)), "accepted"),
+                OFFSET);
+        AuthorityRuntimeWorker<TestState, SetValue, TestReceipt> worker = new AuthorityRuntimeWorker<>(
+                () -> Optional.of(delivery),
+                new RecordingRecordStore(INITIAL, sequence),
+                (command, currentRecord) -> AuthorityDecision.accepted(
+                        new Revision(1),
+                        new TestState(command.envelope().payload().value()),
+                        new TestReceipt("accepted"),
+                        emissions(command.envelope().aggregateId().value()),
+                        trace()),
+                new RecordingProjectionWriter(sequence),
+                new RecordingEmissionSink(sequence),
+                new RecordingDecisionRecorder(sequence),
+                offsetCommitter);
+
+        AuthorityRuntimeBatchReceipt batch = worker.handleNextTimed().orElseThrow();
+
+        assertEquals(1, batch.commandCount());
+        assertEquals(1, batch.aggregateCount());
+        assertEquals(4, batch.emissionCount());
+        assertEquals(List.of(OFFSET), batch.committedOffsets());
+        assertEquals(AuthorityDecisionStatus.ACCEPTED, batch.receipts().getFirst().status());
+        assertEquals(List.of(OFFSET), offsetCommitter.committed);
+    }
+
     @Test
     void rejectedCommandRecordsDecisionAndCommitsWithoutAcceptedOutputs() {
         List<String> sequence = new ArrayList<>();
@@ -147,12 +181,13 @@ final class AuthorityRuntimeWorkerTest {
                         "load:" + AGGREGATE.value(),
                         "handle:initial",
                         "decision:REJECTED",
+                        "flush",
                         "commit:12"),
                 sequence);
     }
 
     @Test
-    void emptyPollDoesNotTouchRuntimePorts() {
+    void emptyPollOnlyLetsTheOffsetCommitterCatchUp() {
         List<String> sequence = new ArrayList<>();
         AuthorityRuntimeWorker<TestState, SetValue, TestReceipt> worker = new AuthorityRuntimeWorker<>(
                 () -> {
@@ -182,14 +217,22 @@ final class AuthorityRuntimeWorkerTest {
                 (delivery, decision) -> {
                     throw new AssertionError("decision recorder should not be called");
                 },
-                offset -> {
-                    throw new AssertionError("offset committer should not be called");
+                new AuthorityOffsetCommitter() {
+                    @Override
+                    public void commit(AuthorityOffset offset) {
+                        throw new AssertionError("offset committer should not commit");
+                    }
+
+                    @Override
+                    public void maybeCommit() {
+                        sequence.add("maybeCommit");
+                    }
                 });
 
         Optional<AuthorityRuntimeReceipt> receipt = worker.handleNext();
 
         assertTrue(receipt.isEmpty());
-        assertEquals(List.of("poll"), sequence);
+        assertEquals(List.of("poll", "maybeCommit"), sequence);
     }
 
     @Test
@@ -243,16 +286,140 @@ final class AuthorityRuntimeWorkerTest {
                 sequence);
     }
 
+    @Test
+    void batchGroupsByAggregateAndCommitsHighestOffsetPerPartition() {
+        List<String> sequence = new ArrayList<>();
+        AggregateId otherAggregate = new AggregateId("authority-runtime-other");
+        RecordingRecordStore recordStore = new RecordingRecordStore(INITIAL, sequence);
+        RecordingProjectionWriter projectionWriter = new RecordingProjectionWriter(sequence);
+        RecordingEmissionSink emissionSink = new RecordingEmissionSink(sequence);
+        RecordingDecisionRecorder decisionRecorder = new RecordingDecisionRecorder(sequence);
+        RecordingOffsetCommitter offsetCommitter = new RecordingOffsetCommitter(sequence);
+        Deque<AuthorityCommandDelivery<SetValue>> deliveries = new ArrayDeque<>(List.of(
+                new AuthorityCommandDelivery<>(
+                        command("command-4", "idem-4", AGGREGATE, Optional.of(new Revision(0)), "first"),
+                        new AuthorityOffset("authority-command-log", 2, 12)),
+                new AuthorityCommandDelivery<>(
+                        command("command-5", "idem-5", otherAggregate, Optional.empty(), "other"),
+                        new AuthorityOffset("authority-command-log", 3, 4)),
+                new AuthorityCommandDelivery<>(
+                        command("command-6", "idem-6", AGGREGATE, Optional.of(new Revision(1)), "second"),
+                        new AuthorityOffset("authority-command-log", 2, 13))));
+
+        AuthorityRuntimeWorker<TestState, SetValue, TestReceipt> worker = new AuthorityRuntimeWorker<>(
+                () -> Optional.ofNullable(deliveries.poll()),
+                recordStore,
+                (command, currentRecord) -> {
+                    sequence.add("handle:" + currentRecord.state().value());
+                    return AuthorityDecision.accepted(
+                            new Revision(currentRecord.revision().value() + 1),
+                            new TestState(command.envelope().payload().value()),
+                            new TestReceipt("accepted"),
+                            List.of(new AuthorityEmission(
+                                    AuthorityEmissionKind.EVENT,
+                                    command.envelope().aggregateId().value(),
+                                    command.envelope().payload().value())),
+                            trace());
+                },
+                projectionWriter,
+                emissionSink,
+                decisionRecorder,
+                offsetCommitter);
+
+        Optional<AuthorityRuntimeBatchReceipt> receipt = worker.handleBatch(16);
+
+        assertTrue(receipt.isPresent());
+        assertEquals(3, receipt.orElseThrow().commandCount());
+        assertEquals(2, receipt.orElseThrow().aggregateCount());
+        assertEquals(3, receipt.orElseThrow().acceptedCount());
+        assertEquals(0, receipt.orElseThrow().rejectedCount());
+        assertEquals(3, receipt.orElseThrow().emissionCount());
+        assertEquals(
+                List.of(
+                        new AuthorityOffset("authority-command-log", 2, 13),
+                        new AuthorityOffset("authority-command-log", 3, 4)),
+                receipt.orElseThrow().committedOffsets());
+        assertEquals(
+                List.of(
+                        "load:" + AGGREGATE.value(),
+                        "load:" + otherAggregate.value(),
+                        "handle:initial",
+                        "handle:first",
+                        "handle:initial",
+                        "store:2:second",
+                        "store:1:other",
+                        "projection:1",
+                        "projection:2",
+                        "projection:1",
+                        "emit:EVENT",
+                        "emit:EVENT",
+                        "emit:EVENT",
+                        "decision:ACCEPTED",
+                        "decision:ACCEPTED",
+                        "decision:ACCEPTED",
+                        "flush",
+                        "commit:13",
+                        "commit:4"),
+                sequence);
+        assertEquals(3, decisionRecorder.recorded.size());
+        assertTrue(worker.handleBatch(16).isEmpty());
+    }
+
+    @Test
+    void batchPortFailurePreventsDecisionRecordingAndOffsetCommit() {
+        List<String> sequence = new ArrayList<>();
+        RecordingRecordStore recordStore = new RecordingRecordStore(INITIAL, sequence);
+        RecordingDecisionRecorder decisionRecorder = new RecordingDecisionRecorder(sequence);
+        RecordingOffsetCommitter offsetCommitter = new RecordingOffsetCommitter(sequence);
+        Deque<AuthorityCommandDelivery<SetValue>> deliveries = new ArrayDeque<>(List.of(
+                new AuthorityCommandDelivery<>(
+                        command("command-7", "idem-7", Optional.of(new Revision(0)), "accepted"),
+                        OFFSET)));
+
+        AuthorityRuntimeWorker<TestState, SetValue, TestReceipt> worker = new AuthorityRuntimeWorker<>(
+                () -> Optional.ofNullable(deliveries.poll()),
+                recordStore,
+                (command, currentRecord) -> AuthorityDecision.accepted(
+                        new Revision(1),
+                        new TestState(command.envelope().payload().value()),
+                        new TestReceipt("accepted"),
+                        emissions(command.envelope().aggregateId().value()),
+                        trace()),
+                (command, decision) -> {
+                },
+                emission -> {
+                    throw new IllegalStateException("emission unavailable");
+                },
+                decisionRecorder,
+                offsetCommitter);
+
+        IllegalStateException thrown = assertThrows(IllegalStateException.class, () -> worker.handleBatch(16));
+
+        assertEquals("emission unavailable", thrown.getMessage());
+        assertTrue(recordStore.stored);
+        assertTrue(decisionRecorder.recorded.isEmpty());
+        assertTrue(offsetCommitter.committed.isEmpty());
+    }
+
     private static AuthorityCommand<SetValue> command(
             String commandId,
             String idempotencyKey,
             Optional<Revision> expectedRevision,
             String value) {
+        return command(commandId, idempotencyKey, AGGREGATE, expectedRevision, value);
+    }
+
+    private static AuthorityCommand<SetValue> command(
+            String commandId,
+            String idempotencyKey,
+            AggregateId aggregateId,
+            Optional<Revision> expectedRevision,
+            String value) {
         CommandEnvelope<SetValue> envelope = new CommandEnvelope<>(
                 new CommandId(commandId),
                 new IdempotencyKey(idempotencyKey),
                 PRINCIPAL,
-                AGGREGATE,
+                aggregateId,
                 new ContractName("authority-runtime-test"),
                 new CommandName("set-value"),
                 trace(),
@@ -338,6 +505,11 @@ final class AuthorityRuntimeWorkerTest {
             sequence.add("emit:" + emission.kind());
             published.add(emission);
         }
+
+        @Override
+        public void flush() {
+            sequence.add("flush");
+        }
     }
 
     private static final class RecordingDecisionRecorder implements AuthorityDecisionRecorder<TestState, SetValue, TestReceipt> {
@@ -0,0 +1,451 @@
+package sh.harold.fulcrum.data.authority.runtime;
+
+import org.junit.jupiter.api.Test;
+import sh.harold.fulcrum.api.contract.AggregateId;
+import sh.harold.fulcrum.api.contract.CommandEnvelope;
+import sh.harold.fulcrum.api.contract.CommandId;
+import sh.harold.fulcrum.api.contract.CommandName;
+import sh.harold.fulcrum.api.contract.CommandPayload;
+import sh.harold.fulcrum.api.contract.ContractName;
+import sh.harold.fulcrum.api.contract.IdempotencyKey;
+import sh.harold.fulcrum.api.contract.PrincipalId;
+import sh.harold.fulcrum.api.contract.Revision;
+import sh.harold.fulcrum.api.contract.TraceEnvelope;
+import sh.harold.fulcrum.api.kernel.InstanceId;
+import sh.harold.fulcrum.data.authority.AuthorityCommand;
+import sh.harold.fulcrum.data.authority.AuthorityDecision;
+import sh.harold.fulcrum.data.authority.AuthorityRecord;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class AuthorityShardedRuntimeTest {
+    private static final Instant NOW = Instant.parse("2026-06-16T12:00:00Z");
+    private static final PrincipalId PRINCIPAL = new PrincipalId("authority-shard-client");
+    private static final String SOURCE = "authority-command-log";
+
+    @Test
+    void shardsKeepPerAggregateOrderAndCommitContiguousOffsets() {
+        ConcurrentLinkedQueue<AuthorityCommandDelivery<SetValue>> deliveries = new ConcurrentLinkedQueue<>();
+        for (int position = 0; position < 200; position++) {
+            deliveries.add(new AuthorityCommandDelivery<>(
+                    command(position, "aggregate-" + (position % 7)),
+                    new AuthorityOffset(SOURCE, position % 2, position)));
+        }
+        Map<AggregateId, AuthorityRecord<Integer>> records = new ConcurrentHashMap<>();
+        Map<AggregateId, List<Integer>> handled = new ConcurrentHashMap<>();
+        Map<AggregateId, Thread> writers = new ConcurrentHashMap<>();
+        AtomicBoolean overlapped = new AtomicBoolean(false);
+        List<AuthorityOffset> committed = new ArrayList<>();
+        AuthorityShardedRuntime<Integer, SetValue, String> runtime = new AuthorityShardedRuntime<>(
+                "test",
+                () -> Optional.ofNullable(deliveries.poll()),
+                new AuthorityRecordStore<>() {
+                    @Override
+                    public AuthorityRecord<Integer> load(AggregateId aggregateId) {
+                        return records.getOrDefault(aggregateId, new AuthorityRecord<>(new Revision(0), 1, -1));
+                    }
+
+                    @Override
+                    public void store(AggregateId aggregateId, AuthorityRecord<Integer> record) {
+                        records.put(aggregateId, record);
+                    }
+                },
+                (command, currentRecord) -> {
+                    AggregateId aggregateId = command.envelope().aggregateId();
+                    if (writers.putIfAbsent(aggregateId, Thread.currentThread()) != null) {
+                        overlapped.set(true);
+                    }
+                    handled.computeIfAbsent(aggregateId, ignored -> new ArrayList<>())
+                            .add(command.envelope().payload().position());
+                    writers.remove(aggregateId);
+                    return AuthorityDecision.accepted(
+                            new Revision(currentRecord.revision().value() + 1),
+                            command.envelope().payload().position(),
+                            "accepted",
+                            List.of(),
+                            trace());
+                },
+                (command, decision) -> {
+                },
+                emission -> {
+                },
+                (delivery, decision) -> {
+                },
+                committed::add,
+                new AuthorityShardedRuntimeSettings(
+                        4,
+                        AuthorityShardKey.AGGREGATE_HASH,
+                        8,
+                        16,
+                        Duration.ofMillis(5),
+                        true));
+        List<Integer> batchSizes = new ArrayList<>();
+        runtime.batchListener(batch -> batchSizes.add(batch.commandCount()));
+        int dispatched = 0;
+
+        try {
+            long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+            while (!committedThrough(committed, 0, 198) || !committedThrough(committed, 1, 199)) {
+                assertTrue(System.nanoTime() < deadline, "sharded runtime did not commit every partition");
+                runtime.dispatchNext();
+                dispatched += runtime.lastDispatched();
+            }
+        } finally {
+            runtime.close();
+        }
+
+        assertFalse(overlapped.get());
+        for (Map.Entry<AggregateId, List<Integer>> entry : handled.entrySet()) {
+            List<Integer> positions = entry.getValue();
+            for (int index = 1; index < positions.size(); index++) {
+                assertTrue(positions.get(index - 1) < positions.get(index), "aggregate order broke for " + entry.getKey());
+            }
+        }
+        assertEquals(200, handled.values().stream().mapToInt(List::size).sum());
+        assertEquals(200, batchSizes.stream().mapToInt(Integer::intValue).sum());
+        assertEquals(200, dispatched);
+        for (AuthorityOffset offset : committed) {
+            assertEquals(SOURCE, offset.source());
+        }
+    }
+
+    @Test
+    void shardFailureSurfacesOnDispatcherWithoutCommittingFailedBatch() {
+        ConcurrentLinkedQueue<AuthorityCommandDelivery<SetValue>> deliveries = new ConcurrentLinkedQueue<>(List.of(
+                new AuthorityCommandDelivery<>(command(0, "aggregate-0"), new AuthorityOffset(SOURCE, 0, 0))));
+        List<AuthorityOffset> committed = new ArrayList<>();
+        AuthorityShardedRuntime<Integer, SetValue, String> runtime = new AuthorityShardedRuntime<>(
+                "failing",
+                () -> Optional.ofNullable(deliveries.poll()),
+                new AuthorityRecordStore<>() {
+                    @Override
+                    public AuthorityRecord<Integer> load(AggregateId aggregateId) {
+                        return new AuthorityRecord<>(new Revision(0), 1, -1);
+                    }
+
+                    @Override
+                    public void store(AggregateId aggregateId, AuthorityRecord<Integer> record) {
+                        throw new IllegalStateException("record store unavailable");
+                    }
+                },
+                (command, currentRecord) -> AuthorityDecision.accepted(
+                        new Revision(1),
+                        0,
+                        "accepted",
+                        List.of(),
+                        trace()),
+                (command, decision) -> {
+                },
+                emission -> {
+                },
+                (delivery, decision) -> {
+                },
+                committed::add,
+                new AuthorityShardedRuntimeSettings(
+                        2,
+                        AuthorityShardKey.PARTITION,
+                        4,
+                        4,
+                        Duration.ofMillis(5),
+                        false));
+
+        try {
+            IllegalStateException thrown = assertThrows(IllegalStateException.class, () -> {
+                long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+                while (System.nanoTime() < deadline) {
+                    runtime.dispatchNext();
+                }
+            });
+            assertEquals("record store unavailable", thrown.getCause().getMessage());
+        } finally {
+            runtime.close();
+        }
+
+        assertTrue(committed.isEmpty());
+    }
+
+    @Test
+    void saturatedShardPausesOnlyItsPartitionsWhileOthersKeepFlowing() throws InterruptedException {
+        PartitionedSource source = new PartitionedSource();
+        for (int position = 0; position < 6; position++) {
+            source.deliveries.add(new AuthorityCommandDelivery<>(
+                    command(position, "partition-0"),
+                    new AuthorityOffset(SOURCE, 0, position)));
+        }
+        for (int position = 0; position < 6; position++) {
+            source.deliveries.add(new AuthorityCommandDelivery<>(
+                    command(position, "partition-1"),
+                    new AuthorityOffset(SOURCE, 1, position)));
+        }
+        CountDownLatch release = new CountDownLatch(1);
+        List<AuthorityOffset> committed = new ArrayList<>();
+        AuthorityShardedRuntime<Integer, SetValue, String> runtime = blockingRuntime(source, committed, release);
+        AuthorityPartition slow = new AuthorityPartition(SOURCE, 0);
+
+        try {
+            long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+            while (!committedThrough(committed, 1, 5)) {
+                assertTrue(System.nanoTime() < deadline, "fast partition stalled behind the saturated shard");
+                runtime.dispatchNext();
+            }
+            assertEquals(Set.of(slow), source.paused);
+            assertFalse(committed.stream().anyMatch(offset -> offset.partition() == 0));
+
+            release.countDown();
+            while (!committedThrough(committed, 0, 5)) {
+                assertTrue(System.nanoTime() < deadline, "saturated shard did not drain");
+                runtime.dispatchNext();
+            }
+            runtime.dispatchNext();
+            assertTrue(source.paused.isEmpty());
+        } finally {
+            release.countDown();
+            runtime.close();
+        }
+    }
+
+    @Test
+    void revokedPartitionCommitsFinishedWorkAndDropsTheRest() throws InterruptedException {
+        PartitionedSource source = new PartitionedSource();
+        for (int position = 0; position < 4; position++) {
+            source.deliveries.add(new AuthorityCommandDelivery<>(
+                    command(position, "partition-0"),
+                    new AuthorityOffset(SOURCE, 0, position)));
+        }
+        CountDownLatch release = new CountDownLatch(1);
+        List<AuthorityOffset> committed = new ArrayList<>();
+        AuthorityShardedRuntime<Integer, SetValue, String> runtime = blockingRuntime(source, committed, release);
+        AuthorityPartition revoked = new AuthorityPartition(SOURCE, 0);
+
+        try {
+            long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+            while (source.handled.isEmpty()) {
+                assertTrue(System.nanoTime() < deadline, "shard never picked up the first command");
+                runtime.dispatchNext();
+            }
+            Thread releaser = Thread.ofVirtual().start(() -> {
+                try {
+                    Thread.sleep(50);
+                } catch (InterruptedException exception) {
+                    Thread.currentThread().interrupt();
+                }
+                release.countDown();
+            });
+            source.listener.partitionsRevoked(List.of(revoked));
+            releaser.join();
+
+            assertEquals(List.of(new AuthorityOffset(SOURCE, 0, 0)), committed);
+            for (int cycle = 0; cycle < 20; cycle++) {
+                runtime.dispatchNext();
+                TimeUnit.MILLISECONDS.sleep(1);
+            }
+            assertEquals(List.of(0), List.copyOf(source.handled));
+            assertEquals(List.of(new AuthorityOffset(SOURCE, 0, 0)), committed);
+        } finally {
+            release.countDown();
+            runtime.close();
+        }
+    }
+
+    @Test
+    void lateResultFromALostAssignmentDoesNotAdvanceTheNextOne() throws InterruptedException {
+        PartitionedSource source = new PartitionedSource();
+        for (int position = 10; position < 12; position++) {
+            source.deliveries.add(new AuthorityCommandDelivery<>(
+                    command(position, "partition-0"),
+                    new AuthorityOffset(SOURCE, 0, position)));
+        }
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch replayRelease = new CountDownLatch(1);
+        List<AuthorityOffset> committed = new ArrayList<>();
+        AuthorityShardedRuntime<Integer, SetValue, String> runtime = blockingRuntime(
+                source, committed, position -> position >= 10 ? release : replayRelease);
+        List<AuthorityOffset> folded = new ArrayList<>();
+        runtime.batchListener(batch -> folded.addAll(batch.committedOffsets()));
+        AuthorityPartition partition = new AuthorityPartition(SOURCE, 0);
+
+        try {
+            long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+            while (source.handled.isEmpty()) {
+                assertTrue(System.nanoTime() < deadline, "shard never picked up the first command");
+                runtime.dispatchNext();
+            }
+            source.listener.partitionsLost(List.of(partition));
+            source.listener.partitionsAssigned(List.of(partition));
+            // A reassigned partition starts unpaused and replays from its last commit.
+            source.paused.remove(partition);
+            source.deliveries.clear();
+            for (int position = 0; position < 2; position++) {
+                source.deliveries.add(new AuthorityCommandDelivery<>(
+                        command(position, "partition-0"),
+                        new AuthorityOffset(SOURCE, 0, position)));
+            }
+            runtime.dispatchNext();
+
+            release.countDown();
+            while (folded.stream().noneMatch(offset -> offset.position() >= 10)) {
+                assertTrue(System.nanoTime() < deadline, "lost assignment's batch never finished");
+                runtime.dispatchNext();
+            }
+            assertTrue(committed.isEmpty(), "stale result committed unprocessed replays: " + committed);
+
+            replayRelease.countDown();
+            while (!committedThrough(committed, 0, 1)) {
+                assertTrue(System.nanoTime() < deadline, "replayed partition never committed");
+                runtime.dispatchNext();
+            }
+            assertFalse(committed.stream().anyMatch(offset -> offset.position() >= 10));
+        } finally {
+            release.countDown();
+            replayRelease.countDown();
+            runtime.close();
+        }
+    }
+
+    private static AuthorityShardedRuntime<Integer, SetValue, String> blockingRuntime(
+            PartitionedSource source,
+            List<AuthorityOffset> committed,
+            CountDownLatch release) {
+        return blockingRuntime(source, committed, position -> release);
+    }
+
+    // Partition 0 blocks in the handler until its position's latch opens; with one-slot shard queues its backlog parks
+    // behind it.
+    private static AuthorityShardedRuntime<Integer, SetValue, String> blockingRuntime(
+            PartitionedSource source,
+            List<AuthorityOffset> committed,
+            IntFunction<CountDownLatch> release) {
+        return new AuthorityShardedRuntime<>(
+                "partitioned",
+                source,
+                new AuthorityRecordStore<>() {
+                    @Override
+                    public AuthorityRecord<Integer> load(AggregateId aggregateId) {
+                        return new AuthorityRecord<>(new Revision(0), 1, -1);
+                    }
+
+                    @Override
+                    public void store(AggregateId aggregateId, AuthorityRecord<Integer> record) {
+                    }
+                },
+                (command, currentRecord) -> {
+                    if (command.envelope().aggregateId().equals(new AggregateId("partition-0"))) {
+                        source.handled.add(command.envelope().payload().position());
+                        try {
+                            release.apply(command.envelope().payload().position()).await();
+                        } catch (InterruptedException exception) {
+                            Thread.currentThread().interrupt();
+                        }
+                    }
+                    return AuthorityDecision.accepted(
+                            new Revision(1),
+                            command.envelope().payload().position(),
+                            "accepted",
+                            List.of(),
+                            trace());
+                },
+                (command, decision) -> {
+                },
+                emission -> {
+                },
+                (delivery, decision) -> {
+                },
+                committed::add,
+                new AuthorityShardedRuntimeSettings(
+                        2,
+                        AuthorityShardKey.PARTITION,
+                        1,
+                        2,
+                        Duration.ofMillis(5),
+                        true));
+    }
+
+    private static boolean committedThrough(List<AuthorityOffset> committed, int partition, long position) {
+        return committed.stream()
+                .anyMatch(offset -> offset.partition() == partition && offset.position() == position);
+    }
+
+    private static AuthorityCommand<SetValue> command(int position, String aggregate) {
+        CommandEnvelope<SetValue> envelope = new CommandEnvelope<>(
+                new CommandId("command-" + position),
+                new IdempotencyKey("idem-" + position),
+                PRINCIPAL,
+                new AggregateId(aggregate),
+                new ContractName("authority-shard-test"),
+                new CommandName("set-value"),
+                trace(),
+                Optional.empty(),
+                new SetValue(position));
+        return new AuthorityCommand<>(
+                envelope,
+                PRINCIPAL,
+                1,
+                Optional.empty(),
+                "payload-" + position,
+                NOW);
+    }
+
+    private static TraceEnvelope trace() {
+        return new TraceEnvelope(
+                "trace-shard",
+                "span-shard",
+                Optional.empty(),
+                NOW,
+                "authority-shard-test",
+                new InstanceId("instance-authority-shard-test"));
+    }
+
+    private record SetValue(int position) implements CommandPayload {
+    }
+
+    private static final class PartitionedSource implements AuthorityCommandSource<SetValue> {
+        private final ConcurrentLinkedQueue<AuthorityCommandDelivery<SetValue>> deliveries = new ConcurrentLinkedQueue<>();
+        private final Set<AuthorityPartition> paused = ConcurrentHashMap.newKeySet();
+        private final ConcurrentLinkedQueue<Integer> handled = new ConcurrentLinkedQueue<>();
+        private AuthorityPartitionListener listener;
+
+        @Override
+        public Optional<AuthorityCommandDelivery<SetValue>> poll() {
+            for (AuthorityCommandDelivery<SetValue> delivery : deliveries) {
+                if (!paused.contains(AuthorityPartition.of(delivery.offset()))) {
+                    deliveries.remove(delivery);
+                    return Optional.of(delivery);
+                }
+            }
+            return Optional.empty();
+        }
+
+        @Override
+        public void pause(Collection<AuthorityPartition> partitions) {
+            paused.addAll(partitions);
+        }
+
+        @Override
+        public void resume(Collection<AuthorityPartition> partitions) {
+            paused.removeAll(partitions);
+        }
+
+        @Override
+        public void partitionListener(AuthorityPartitionListener listener) {
+            this.listener = listener;
+        }
+    }
+}
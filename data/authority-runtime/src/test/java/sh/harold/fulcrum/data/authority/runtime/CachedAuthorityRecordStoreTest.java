@@ -0,0 +1,129 @@
+package sh.harold.fulcrum.data.authority.runtime;
+
+import org.junit.jupiter.api.Test;
+import sh.harold.fulcrum.api.contract.AggregateId;
+import sh.harold.fulcrum.api.contract.Revision;
+import sh.harold.fulcrum.data.authority.AuthorityRecord;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+final class CachedAuthorityRecordStoreTest {
+    private static final AggregateId FIRST = new AggregateId("aggregate-1");
+    private static final AggregateId SECOND = new AggregateId("aggregate-2");
+    private static final AggregateId THIRD = new AggregateId("aggregate-3");
+
+    @Test
+    void servesStoredRecordsFromMemoryAndEvictsLeastRecentlyUsed() {
+        CountingStore backing = new CountingStore();
+        CachedAuthorityRecordStore<String> cache = new CachedAuthorityRecordStore<>(backing, 2);
+
+        cache.store(FIRST, record(1, 7, "first"));
+        cache.store(SECOND, record(1, 7, "second"));
+        assertEquals("first", cache.load(FIRST).state());
+        cache.store(THIRD, record(1, 7, "third"));
+        assertEquals("first", cache.load(FIRST).state());
+        assertEquals("second", cache.load(SECOND).state());
+
+        assertEquals(1, backing.loads);
+        AuthorityRecordCacheMetrics metrics = cache.metrics();
+        assertEquals(2, metrics.hits());
+        assertEquals(1, metrics.misses());
+        assertEquals(2, metrics.evictions());
+        assertEquals(2, metrics.size());
+    }
+
+    @Test
+    void loadAllOnlyReadsMissingAggregatesFromTheBackingStore() {
+        CountingStore backing = new CountingStore();
+        backing.records.put(SECOND, record(3, 7, "second"));
+        CachedAuthorityRecordStore<String> cache = new CachedAuthorityRecordStore<>(backing, 8);
+        cache.store(FIRST, record(1, 7, "first"));
+
+        Map<AggregateId, AuthorityRecord<String>> loaded = cache.loadAll(List.of(FIRST, SECOND, FIRST));
+
+        assertEquals(List.of(FIRST, SECOND), List.copyOf(loaded.keySet()));
+        assertEquals("second", loaded.get(SECOND).state());
+        assertEquals(List.of(SECOND), backing.lastLoadAll);
+        assertEquals("second", cache.load(SECOND).state());
+        assertEquals(1, backing.loadAllCalls);
+        assertEquals(0, backing.loads);
+    }
+
+    @Test
+    void partitionRevocationAndFencingEpochChangesInvalidate() {
+        CountingStore backing = new CountingStore();
+        CachedAuthorityRecordStore<String> cache = new CachedAuthorityRecordStore<>(backing, 8);
+        cache.storeAll(Map.of(FIRST, record(1, 7, "first"), SECOND, record(1, 7, "second")));
+
+        cache.invalidatePartitions(Set.of(1), aggregateId -> aggregateId.equals(FIRST) ? 1 : 0);
+        cache.load(FIRST);
+        cache.load(SECOND);
+        assertEquals(1, backing.loads);
+
+        cache.store(THIRD, record(1, 8, "third"));
+        cache.load(SECOND);
+        assertEquals(2, backing.loads);
+        assertEquals(3, cache.metrics().invalidations());
+    }
+
+    @Test
+    void failedOrNonAdvancingWritesDropTheCachedRecord() {
+        CountingStore backing = new CountingStore();
+        CachedAuthorityRecordStore<String> cache = new CachedAuthorityRecordStore<>(backing, 8);
+        cache.store(FIRST, record(2, 7, "first"));
+
+        cache.store(FIRST, record(2, 7, "raced"));
+        assertEquals("raced", cache.load(FIRST).state());
+        assertEquals(1, backing.loads);
+
+        backing.failStores = true;
+        assertThrows(IllegalStateException.class, () -> cache.store(FIRST, record(3, 7, "lost")));
+        backing.failStores = false;
+        assertEquals("raced", cache.load(FIRST).state());
+        assertEquals(2, backing.loads);
+    }
+
+    private static AuthorityRecord<String> record(long revision, long fencingEpoch, String state) {
+        return new AuthorityRecord<>(new Revision(revision), fencingEpoch, state);
+    }
+
+    private static final class CountingStore implements AuthorityRecordStore<String> {
+        private final Map<AggregateId, AuthorityRecord<String>> records = new HashMap<>();
+        private List<AggregateId> lastLoadAll = List.of();
+        private int loads;
+        private int loadAllCalls;
+        private boolean failStores;
+
+        @Override
+        public AuthorityRecord<String> load(AggregateId aggregateId) {
+            loads++;
+            return records.getOrDefault(aggregateId, record(0, 7, "empty"));
+        }
+
+        @Override
+        public Map<AggregateId, AuthorityRecord<String>> loadAll(Collection<AggregateId> aggregateIds) {
+            loadAllCalls++;
+            lastLoadAll = List.copyOf(aggregateIds);
+            Map<AggregateId, AuthorityRecord<String>> loaded = new HashMap<>();
+            for (AggregateId aggregateId : aggregateIds) {
+                loaded.put(aggregateId, records.getOrDefault(aggregateId, record(0, 7, "empty")));
+            }
+            return loaded;
+        }
+
+        @Override
+        public void store(AggregateId aggregateId, AuthorityRecord<String> record) {
+            if (failStores) {
+                throw new IllegalStateException("store unavailable");
+            }
+            records.put(aggregateId, record);
+        }
+    }
+}
@@ -2,13 +2,21 @@ package sh.harold.fulcrum.data.contract;
 
 import java.util.Objects;
 
-public record FieldDeclaration(String name, FieldType type, boolean nullable) {
+// tag is the field's binary wire tag; 0 leaves it to the field's position within its own payload.
+public record FieldDeclaration(String name, FieldType type, boolean nullable, int tag) {
     public FieldDeclaration(String name, FieldType type) {
         this(name, type, false);
     }
 
+    public FieldDeclaration(String name, FieldType type, boolean nullable) {
+        this(name, type, nullable, 0);
+    }
+
     public FieldDeclaration {
         name = DeclarationNames.requireNonBlank(name, "name");
         type = Objects.requireNonNull(type, "type");
+        if (tag < 0) {
+            throw new IllegalArgumentException("tag must be non-negative");
+        }
     }
 }
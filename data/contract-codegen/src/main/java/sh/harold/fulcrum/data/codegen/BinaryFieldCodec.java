@@ -0,0 +1,447 @@
+package sh.harold.fulcrum.data.codegen;
+
+import sh.harold.fulcrum.data.contract.CommandDeclaration;
+import sh.harold.fulcrum.data.contract.ContractDeclaration;
+import sh.harold.fulcrum.data.contract.EventDeclaration;
+import sh.harold.fulcrum.data.contract.FieldDeclaration;
+import sh.harold.fulcrum.data.contract.FieldType;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+// Frame: MAGIC, FORMAT_VERSION, then (key, value) pairs until the end of the payload. A key is
+// (tag << 2 | wire type), where tag is the field's declared tag, or its 1-based position in the schema when it declares
+// none, and tag 0 carries the field name inline. Readers skip tags they do not know. Version 1 frames numbered a
+// contract's fields by their position across all of its payloads and are no longer read.
+public final class BinaryFieldCodec {
+    public static final byte MAGIC = (byte) 0xFB;
+    public static final byte FORMAT_VERSION = 2;
+    static final int WIRE_VARINT = 0;
+    static final int WIRE_STRING = 1;
+    static final int WIRE_INSTANT = 2;
+    private static final int WIRE_TYPE_BITS = 2;
+    private static final int WIRE_TYPE_MASK = (1 << WIRE_TYPE_BITS) - 1;
+
+    private final String schemaName;
+    private final List<FieldDeclaration> fields;
+    // Indexed by tag; null where no field holds the tag.
+    private final String[] names;
+    private final FieldType[] types;
+    private final Map<String, Integer> tags;
+
+    public BinaryFieldCodec(String schemaName, List<FieldDeclaration> fields) {
+        this.schemaName = CodegenNames.requireNonBlank(schemaName, "schemaName");
+        this.fields = List.copyOf(Objects.requireNonNull(fields, "fields"));
+        int maxTag = 0;
+        for (int index = 0; index < this.fields.size(); index++) {
+            maxTag = Math.max(maxTag, tag(this.fields.get(index), index));
+        }
+        this.names = new String[maxTag + 1];
+        this.types = new FieldType[maxTag + 1];
+        Map<String, Integer> tags = new HashMap<>();
+        for (int index = 0; index < this.fields.size(); index++) {
+            FieldDeclaration field = this.fields.get(index);
+            int tag = tag(field, index);
+            if (tags.put(field.name(), tag) != null) {
+                throw new IllegalArgumentException("Duplicate binary wire field " + field.name()
+                        + " in schema " + this.schemaName);
+            }
+            if (names[tag] != null) {
+                throw new IllegalArgumentException("Binary wire fields " + names[tag] + " and " + field.name()
+                        + " share tag " + tag + " in schema " + this.schemaName);
+            }
+            names[tag] = field.name();
+            types[tag] = field.type();
+        }
+        this.tags = tags;
+    }
+
+    // One schema for every payload a contract carries on a shared topic: the leading fields, such as an envelope the
+    // contract does not declare, then each command's, event's and snapshot's fields. Positions across so many payloads
+    // move whenever one of them changes, so every field here must declare its tag, and a name several payloads
+    // declare must carry the same tag and type in each.
+    public static BinaryFieldCodec forContract(ContractDeclaration declaration, List<FieldDeclaration> leadingFields) {
+        Objects.requireNonNull(declaration, "declaration");
+        Map<String, FieldDeclaration> fields = new LinkedHashMap<>();
+        List<List<FieldDeclaration>> declared = new ArrayList<>();
+        declared.add(Objects.requireNonNull(leadingFields, "leadingFields"));
+        declaration.commands().stream().map(CommandDeclaration::fields).forEach(declared::add);
+        declaration.events().stream().map(EventDeclaration::fields).forEach(declared::add);
+        declaration.snapshot().ifPresent(snapshot -> declared.add(snapshot.fields()));
+        for (List<FieldDeclaration> payloadFields : declared) {
+            for (FieldDeclaration field : payloadFields) {
+                if (field.tag() == 0) {
+                    throw new IllegalArgumentException("Binary wire field " + field.name() + " declares no tag in contract "
+                            + declaration.name().value());
+                }
+                FieldDeclaration previous = fields.putIfAbsent(field.name(), field);
+                if (previous != null && (previous.type() != field.type() || previous.tag() != field.tag())) {
+                    throw new IllegalArgumentException("Binary wire field " + field.name() + " is declared as both "
+                            + previous.type() + " tag " + previous.tag() + " and " + field.type() + " tag " + field.tag()
+                            + " in contract " + declaration.name().value());
+                }
+            }
+        }
+        return new BinaryFieldCodec(declaration.name().value(), List.copyOf(fields.values()));
+    }
+
+    private static int tag(FieldDeclaration field, int index) {
+        return field.tag() == 0 ? index + 1 : field.tag();
+    }
+
+    public static boolean isBinary(byte[] payload) {
+        // 0xFB never starts a UTF-8 sequence, so a text payload cannot be mistaken for a binary frame.
+        return payload != null && payload.length >= 2 && payload[0] == MAGIC;
+    }
+
+    public String schemaName() {
+        return schemaName;
+    }
+
+    public List<FieldDeclaration> fields() {
+        return fields;
+    }
+
+    public byte[] encode(Map<String, String> values) {
+        Objects.requireNonNull(values, "values");
+        WireFieldWriter writer = writer();
+        values.forEach(writer::string);
+        return writer.toByteArray();
+    }
+
+    // Typed writes go straight to their wire types; string writes to a LONG or INSTANT field are parsed, so text
+    // values still encode compactly.
+    public WireFieldWriter writer() {
+        return new FieldWriter();
+    }
+
+    // An in-place view: one scan records where each field's value starts, and get decodes only the fields asked for.
+    public WireFields fields(byte[] payload) {
+        requireFrame(payload);
+        return new FrameFields(payload);
+    }
+
+    public Map<String, String> decode(byte[] payload) {
+        requireFrame(payload);
+        Reader reader = new Reader(payload, 2);
+        Map<String, String> values = new LinkedHashMap<>();
+        while (reader.hasRemaining()) {
+            long key = reader.readVarint();
+            int wireType = (int) (key & WIRE_TYPE_MASK);
+            long tag = key >>> WIRE_TYPE_BITS;
+            String name;
+            if (tag == 0) {
+                name = reader.readString();
+            } else if (tag < names.length) {
+                name = names[(int) tag];
+            } else {
+                name = null;
+            }
+            String value = readValue(reader, wireType);
+            if (name != null) {
+                values.put(name, value);
+            }
+        }
+        return values;
+    }
+
+    private void requireFrame(byte[] payload) {
+        Objects.requireNonNull(payload, "payload");
+        if (!isBinary(payload)) {
+            throw new IllegalArgumentException("Payload is not a binary " + schemaName + " wire frame");
+        }
+        if (payload[1] != FORMAT_VERSION) {
+            throw new IllegalArgumentException("Unsupported binary " + schemaName + " wire format version " + payload[1]);
+        }
+    }
+
+    private long parseLong(String name, String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException exception) {
+            throw new IllegalArgumentException("Binary " + schemaName + " wire field " + name + " is not a long", exception);
+        }
+    }
+
+    private Instant parseInstant(String name, String value) {
+        try {
+            return WireInstants.parse(value);
+        } catch (RuntimeException exception) {
+            throw new IllegalArgumentException("Binary " + schemaName + " wire field " + name + " is not an instant", exception);
+        }
+    }
+
+    private final class FieldWriter implements WireFieldWriter {
+        private final Writer writer = new Writer(512);
+
+        private FieldWriter() {
+            writer.writeByte(MAGIC);
+            writer.writeByte(FORMAT_VERSION);
+        }
+
+        @Override
+        public WireFieldWriter string(String name, String value) {
+            // The line format treats blank values as absent, so the binary frame simply omits them.
+            if (value == null || value.isBlank()) {
+                return this;
+            }
+            Integer tag = tags.get(name);
+            if (tag == null) {
+                writer.writeKey(0, WIRE_STRING);
+                writer.writeString(name);
+                writer.writeString(value);
+                return this;
+            }
+            return switch (types[tag]) {
+                case LONG -> writeLong(tag, parseLong(name, value));
+                case INSTANT -> writeInstant(tag, parseInstant(name, value));
+                case STRING -> writeString(tag, value);
+            };
+        }
+
+        @Override
+        public WireFieldWriter longValue(String name, long value) {
+            Integer tag = tags.get(name);
+            if (tag != null && types[tag] == FieldType.LONG) {
+                return writeLong(tag, value);
+            }
+            return string(name, Long.toString(value));
+        }
+
+        @Override
+        public WireFieldWriter instant(String name, Instant value) {
+            Objects.requireNonNull(value, name);
+            Integer tag = tags.get(name);
+            if (tag != null && types[tag] == FieldType.INSTANT) {
+                return writeInstant(tag, value);
+            }
+            return string(name, WireInstants.format(value));
+        }
+
+        @Override
+        public byte[] toByteArray() {
+            return writer.toByteArray();
+        }
+
+        private WireFieldWriter writeLong(int tag, long value) {
+            writer.writeKey(tag, WIRE_VARINT);
+            writer.writeSignedVarint(value);
+            return this;
+        }
+
+        private WireFieldWriter writeInstant(int tag, Instant value) {
+            writer.writeKey(tag, WIRE_INSTANT);
+            writer.writeSignedVarint(value.getEpochSecond());
+            writer.writeVarint(value.getNano());
+            return this;
+        }
+
+        private WireFieldWriter writeString(int tag, String value) {
+            writer.writeKey(tag, WIRE_STRING);
+            writer.writeString(value);
+            return this;
+        }
+    }
+
+    private final class FrameFields implements WireFields {
+        private final byte[] payload;
+        // Per tag, (value offset << 2 | wire type) of the last occurrence, or 0 when the frame does not carry it.
+        private final long[] values;
+        private Map<String, String> inline;
+
+        private FrameFields(byte[] payload) {
+            this.payload = payload;
+            this.values = new long[names.length];
+            Reader reader = new Reader(payload, 2);
+            while (reader.hasRemaining()) {
+                long key = reader.readVarint();
+                int wireType = (int) (key & WIRE_TYPE_MASK);
+                long tag = key >>> WIRE_TYPE_BITS;
+                if (tag == 0) {
+                    String name = reader.readString();
+                    if (inline == null) {
+                        inline = new HashMap<>();
+                    }
+                    inline.put(name, readValue(reader, wireType));
+                    continue;
+                }
+                int offset = reader.position;
+                reader.skip(wireType, schemaName);
+                if (tag < values.length) {
+                    values[(int) tag] = ((long) offset << WIRE_TYPE_BITS) | wireType;
+                }
+            }
+        }
+
+        @Override
+        public String get(String key) {
+            Integer tag = tags.get(key);
+            if (tag == null) {
+                return inline == null ? null : inline.get(key);
+            }
+            long value = values[tag];
+            return value == 0 ? null : readValue(reader(value), (int) (value & WIRE_TYPE_MASK));
+        }
+
+        @Override
+        public Instant getInstant(String key) {
+            Integer tag = tags.get(key);
+            long value = tag == null ? 0 : values[tag];
+            if ((value & WIRE_TYPE_MASK) != WIRE_INSTANT) {
+                return WireFields.super.getInstant(key);
+            }
+            Reader reader = reader(value);
+            return Instant.ofEpochSecond(reader.readSignedVarint(), reader.readVarint());
+        }
+
+        private Reader reader(long value) {
+            return new Reader(payload, (int) (value >>> WIRE_TYPE_BITS));
+        }
+    }
+
+    private String readValue(Reader reader, int wireType) {
+        return switch (wireType) {
+            case WIRE_VARINT -> Long.toString(reader.readSignedVarint());
+            case WIRE_STRING -> reader.readString();
+            case WIRE_INSTANT -> WireInstants.format(reader.readSignedVarint(), (int) reader.readVarint());
+            default -> throw new IllegalArgumentException("Unsupported binary " + schemaName + " wire type " + wireType);
+        };
+    }
+
+    private static final class Writer {
+        private byte[] buffer;
+        private int size;
+
+        private Writer(int capacity) {
+            this.buffer = new byte[capacity];
+        }
+
+        private void writeKey(int tag, int wireType) {
+            writeVarint(((long) tag << WIRE_TYPE_BITS) | wireType);
+        }
+
+        private void writeSignedVarint(long value) {
+            writeVarint((value << 1) ^ (value >> 63));
+        }
+
+        private void writeVarint(long value) {
+            ensureCapacity(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[size++] = (byte) value;
+        }
+
+        // Wire values are almost always ASCII, whose chars copy straight into the buffer as their own UTF-8 bytes.
+        @SuppressWarnings("deprecation")
+        private void writeString(String value) {
+            int length = value.length();
+            if (isAscii(value, length)) {
+                writeVarint(length);
+                ensureCapacity(length);
+                value.getBytes(0, length, buffer, size);
+                size += length;
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarint(bytes.length);
+            ensureCapacity(bytes.length);
+            System.arraycopy(bytes, 0, buffer, size, bytes.length);
+            size += bytes.length;
+        }
+
+        private static boolean isAscii(String value, int length) {
+            for (int i = 0; i < length; i++) {
+                if (value.charAt(i) >= 0x80) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void writeByte(byte value) {
+            ensureCapacity(1);
+            buffer[size++] = value;
+        }
+
+        private void ensureCapacity(int additional) {
+            if (size + additional > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + additional));
+            }
+        }
+
+        private byte[] toByteArray() {
+            return Arrays.copyOf(buffer, size);
+        }
+    }
+
+    private static final class Reader {
+        private final byte[] payload;
+        private int position;
+
+        private Reader(byte[] payload, int position) {
+            this.payload = payload;
+            this.position = position;
+        }
+
+        private boolean hasRemaining() {
+            return position < payload.length;
+        }
+
+        private long readSignedVarint() {
+            long raw = readVarint();
+            return (raw >>> 1) ^ -(raw & 1);
+        }
+
+        private long readVarint() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                if (position >= payload.length) {
+                    throw new IllegalArgumentException("Truncated binary wire varint");
+                }
+                byte current = payload[position++];
+                value |= (long) (current & 0x7F) << shift;
+                if ((current & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Malformed binary wire varint");
+        }
+
+        private void skip(int wireType, String schemaName) {
+            switch (wireType) {
+                case WIRE_VARINT -> readVarint();
+                case WIRE_STRING -> {
+                    long length = readVarint();
+                    if (length < 0 || length > payload.length - position) {
+                        throw new IllegalArgumentException("Truncated binary wire string");
+                    }
+                    position += (int) length;
+                }
+                case WIRE_INSTANT -> {
+                    readVarint();
+                    readVarint();
+                }
+                default -> throw new IllegalArgumentException("Unsupported binary " + schemaName + " wire type " + wireType);
+            }
+        }
+
+        private String readString() {
+            long length = readVarint();
+            if (length < 0 || length > payload.length - position) {
+                throw new IllegalArgumentException("Truncated binary wire string");
+            }
+            String value = new String(payload, position, (int) length, StandardCharsets.UTF_8);
+            position += (int) length;
+            return value;
+        }
+    }
+}
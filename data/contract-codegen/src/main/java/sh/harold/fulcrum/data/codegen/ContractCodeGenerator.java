@@ -45,6 +45,7 @@ public final class ContractCodeGenerator {
         declaration.events().forEach(event -> artifacts.add(new GeneratedArtifact("src/main/java/sh/harold/fulcrum/generated/contracts/" + event.payloadType() + ".java", payloadSource(event.payloadType(), "EventPayload", event.fields()))));
         artifacts.add(new GeneratedArtifact("src/main/java/sh/harold/fulcrum/generated/contracts/" + classPrefix + "CommandClient.java", clientSource(declaration, classPrefix)));
         artifacts.add(new GeneratedArtifact("src/main/java/sh/harold/fulcrum/generated/contracts/" + classPrefix + "Serializer.java", serializerSource(declaration, classPrefix)));
+        artifacts.add(new GeneratedArtifact("src/main/java/sh/harold/fulcrum/generated/contracts/" + classPrefix + "BinarySerializer.java", binarySerializerSource(declaration, classPrefix)));
         artifacts.add(new GeneratedArtifact("src/main/java/sh/harold/fulcrum/generated/contracts/" + classPrefix + "AuthorityStub.java", authorityStubSource(declaration, classPrefix)));
         artifacts.add(new GeneratedArtifact("manifests/" + domain + ".acl.json", aclManifest(declaration)));
         artifacts.add(new GeneratedArtifact("manifests/" + domain + ".topics.json", topicManifest(declaration)));
@@ -67,13 +68,14 @@ public final class ContractCodeGenerator {
                 %s
                     "src/main/java/sh/harold/fulcrum/generated/contracts/%sCommandClient.java",
                     "src/main/java/sh/harold/fulcrum/generated/contracts/%sSerializer.java",
+                    "src/main/java/sh/harold/fulcrum/generated/contracts/%sBinarySerializer.java",
                     "src/main/java/sh/harold/fulcrum/generated/contracts/%sAuthorityStub.java",
                     "manifests/%s.acl.json",
                     "manifests/%s.topics.json",
                     "migrations/%s.sql"
                   ]
                 }
-                """.formatted(domain, GENERATOR_VERSION, fingerprint, payloadArtifactLines(declaration), classPrefix, classPrefix, classPrefix, domain, domain, domain);
+                """.formatted(domain, GENERATOR_VERSION, fingerprint, payloadArtifactLines(declaration), classPrefix, classPrefix, classPrefix, classPrefix, domain, domain, domain);
     }
 
     private static String clientSource(ContractDeclaration declaration, String classPrefix) {
@@ -134,6 +136,8 @@ public final class ContractCodeGenerator {
         return """
                 package %s;
 
+                import sh.harold.fulcrum.data.codegen.LineFieldCursor;
+
                 import java.time.Instant;
                 import java.util.LinkedHashMap;
                 import java.util.Map;
@@ -167,12 +171,9 @@ public final class ContractCodeGenerator {
 
                     private static Map<String, String> fields(String encoded) {
                         Map<String, String> values = new LinkedHashMap<>();
-                        for (String line : encoded.split("\\\\R")) {
-                            int separator = line.indexOf('=');
-                            if (separator <= 0) {
-                                throw new IllegalArgumentException("Malformed encoded field: " + line);
-                            }
-                            values.put(line.substring(0, separator), unescape(line.substring(separator + 1)));
+                        LineFieldCursor cursor = LineFieldCursor.over(encoded, "encoded field");
+                        while (cursor.next()) {
+                            values.put(cursor.key(), unescape(cursor.value()));
                         }
                         return values;
                     }
@@ -220,6 +221,249 @@ public final class ContractCodeGenerator {
                 decodeArguments(event.fields()));
     }
 
+    private static String binarySerializerSource(ContractDeclaration declaration, String classPrefix) {
+        CommandDeclaration command = onlyCommand(declaration);
+        EventDeclaration event = onlyEvent(declaration);
+        return """
+                package %s;
+
+                import java.nio.charset.StandardCharsets;
+                import java.time.Instant;
+                import java.util.Arrays;
+                import java.util.Objects;
+
+                public final class %sBinarySerializer {
+                    private static final byte MAGIC = (byte) 0x%02X;
+                    private static final byte FORMAT_VERSION = %d;
+
+                %s
+
+                %s
+
+                %s
+
+                %s
+
+                    private static final class Writer {
+                        private byte[] buffer = new byte[64];
+                        private int size;
+
+                        private Writer() {
+                            buffer[size++] = MAGIC;
+                            buffer[size++] = FORMAT_VERSION;
+                        }
+
+                        private void writeString(int tag, String value) {
+                            if (value == null) {
+                                return;
+                            }
+                            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                            writeVarint(((long) tag << 2) | %d);
+                            writeVarint(bytes.length);
+                            ensureCapacity(bytes.length);
+                            System.arraycopy(bytes, 0, buffer, size, bytes.length);
+                            size += bytes.length;
+                        }
+
+                        private void writeInstant(int tag, Instant value) {
+                            if (value == null) {
+                                return;
+                            }
+                            writeVarint(((long) tag << 2) | %d);
+                            writeSignedVarint(value.getEpochSecond());
+                            writeVarint(value.getNano());
+                        }
+
+                        private void writeLong(int tag, long value) {
+                            writeVarint(((long) tag << 2) | %d);
+                            writeSignedVarint(value);
+                        }
+
+                        private void writeSignedVarint(long value) {
+                            writeVarint((value << 1) ^ (value >> 63));
+                        }
+
+                        private void writeVarint(long value) {
+                            ensureCapacity(10);
+                            while ((value & ~0x7FL) != 0) {
+                                buffer[size++] = (byte) ((value & 0x7F) | 0x80);
+                                value >>>= 7;
+                            }
+                            buffer[size++] = (byte) value;
+                        }
+
+                        private void ensureCapacity(int additional) {
+                            if (size + additional > buffer.length) {
+                                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + additional));
+                            }
+                        }
+
+                        private byte[] toByteArray() {
+                            return Arrays.copyOf(buffer, size);
+                        }
+                    }
+
+                    private static final class Reader {
+                        private final byte[] encoded;
+                        private int position;
+                        private int wireType;
+
+                        private Reader(byte[] encoded) {
+                            this.encoded = Objects.requireNonNull(encoded, "encoded");
+                            if (encoded.length < 2 || encoded[0] != MAGIC) {
+                                throw new IllegalArgumentException("Payload is not a binary wire frame");
+                            }
+                            if (encoded[1] != FORMAT_VERSION) {
+                                throw new IllegalArgumentException("Unsupported binary wire format version " + encoded[1]);
+                            }
+                            this.position = 2;
+                        }
+
+                        private boolean hasRemaining() {
+                            return position < encoded.length;
+                        }
+
+                        private int nextTag() {
+                            long key = readVarint();
+                            wireType = (int) (key & 3);
+                            return (int) (key >>> 2);
+                        }
+
+                        private String readString() {
+                            expect(%d);
+                            int length = (int) readVarint();
+                            if (length < 0 || length > encoded.length - position) {
+                                throw new IllegalArgumentException("Truncated binary wire string");
+                            }
+                            String value = new String(encoded, position, length, StandardCharsets.UTF_8);
+                            position += length;
+                            return value;
+                        }
+
+                        private Instant readInstant() {
+                            expect(%d);
+                            return Instant.ofEpochSecond(readSignedVarint(), readVarint());
+                        }
+
+                        private long readLong() {
+                            expect(%d);
+                            return readSignedVarint();
+                        }
+
+                        private void skip() {
+                            switch (wireType) {
+                                case %d -> readVarint();
+                                case %d -> {
+                                    readVarint();
+                                    readVarint();
+                                }
+                                default -> {
+                                    int length = (int) readVarint();
+                                    position += length;
+                                }
+                            }
+                        }
+
+                        private void expect(int expected) {
+                            if (wireType != expected) {
+                                throw new IllegalArgumentException("Unexpected binary wire type " + wireType);
+                            }
+                        }
+
+                        private long readSignedVarint() {
+                            long raw = readVarint();
+                            return (raw >>> 1) ^ -(raw & 1);
+                        }
+
+                        private long readVarint() {
+                            long value = 0;
+                            for (int shift = 0; shift < 64; shift += 7) {
+                                if (position >= encoded.length) {
+                                    throw new IllegalArgumentException("Truncated binary wire varint");
+                                }
+                                byte current = encoded[position++];
+                                value |= (long) (current & 0x7F) << shift;
+                                if ((current & 0x80) == 0) {
+                                    return value;
+                                }
+                            }
+                            throw new IllegalArgumentException("Malformed binary wire varint");
+                        }
+                    }
+                }
+                """.formatted(
+                GENERATED_PACKAGE,
+                classPrefix,
+                BinaryFieldCodec.MAGIC & 0xFF,
+                BinaryFieldCodec.FORMAT_VERSION,
+                binaryEncodeMethod(command.payloadType(), command.fields()),
+                binaryDecodeMethod(command.payloadType(), command.fields()),
+                binaryEncodeMethod(event.payloadType(), event.fields()),
+                binaryDecodeMethod(event.payloadType(), event.fields()),
+                BinaryFieldCodec.WIRE_STRING,
+                BinaryFieldCodec.WIRE_INSTANT,
+                BinaryFieldCodec.WIRE_VARINT,
+                BinaryFieldCodec.WIRE_STRING,
+                BinaryFieldCodec.WIRE_INSTANT,
+                BinaryFieldCodec.WIRE_VARINT,
+                BinaryFieldCodec.WIRE_VARINT,
+                BinaryFieldCodec.WIRE_INSTANT);
+    }
+
+    private static String binaryEncodeMethod(String payloadType, List<FieldDeclaration> fields) {
+        StringBuilder writes = new StringBuilder();
+        for (int index = 0; index < fields.size(); index++) {
+            FieldDeclaration field = fields.get(index);
+            String writer = switch (field.type()) {
+                case STRING -> "writeString";
+                case INSTANT -> "writeInstant";
+                case LONG -> "writeLong";
+            };
+            writes.append("        writer.").append(writer).append('(').append(binaryTag(field, index))
+                    .append(", payload.").append(field.name()).append("());\n");
+        }
+        return """
+                    public byte[] encode%s(%s payload) {
+                        Objects.requireNonNull(payload, "payload");
+                        Writer writer = new Writer();
+                %s        return writer.toByteArray();
+                    }""".formatted(payloadType, payloadType, writes);
+    }
+
+    private static String binaryDecodeMethod(String payloadType, List<FieldDeclaration> fields) {
+        StringBuilder locals = new StringBuilder();
+        StringBuilder cases = new StringBuilder();
+        for (int index = 0; index < fields.size(); index++) {
+            FieldDeclaration field = fields.get(index);
+            String reader = switch (field.type()) {
+                case STRING -> "readString";
+                case INSTANT -> "readInstant";
+                case LONG -> "readLong";
+            };
+            String initial = field.type() == FieldType.LONG ? "0L" : "null";
+            locals.append("        ").append(field.type().javaType()).append(' ').append(field.name())
+                    .append(" = ").append(initial).append(";\n");
+            cases.append("                case ").append(binaryTag(field, index)).append(" -> ").append(field.name())
+                    .append(" = reader.").append(reader).append("();\n");
+        }
+        String arguments = fields.stream().map(FieldDeclaration::name).collect(Collectors.joining(", "));
+        return """
+                    public %s decode%s(byte[] encoded) {
+                        Reader reader = new Reader(encoded);
+                %s        while (reader.hasRemaining()) {
+                            switch (reader.nextTag()) {
+                %s                default -> reader.skip();
+                            }
+                        }
+                        return new %s(%s);
+                    }""".formatted(payloadType, payloadType, locals, cases, payloadType, arguments);
+    }
+
+    // A payload's fields take their declared tags, or their 1-based positions when they declare none.
+    private static int binaryTag(FieldDeclaration field, int index) {
+        return field.tag() == 0 ? index + 1 : field.tag();
+    }
+
     private static String authorityStubSource(ContractDeclaration declaration, String classPrefix) {
         CommandDeclaration command = onlyCommand(declaration);
         EventDeclaration event = onlyEvent(declaration);
@@ -0,0 +1,247 @@
+package sh.harold.fulcrum.data.codegen;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+// Walks key=value lines in place. Line breaks follow the \R rule the codecs used with String.split, in text and in
+// UTF-8 bytes alike, trailing breaks are ignored, and any other empty or separator-less line is malformed. Byte
+// payloads are UTF-8; keys are compared byte-wise, so only ASCII keys can match, and strings are materialized only
+// when asked for.
+public final class LineFieldCursor {
+    private final CharSequence text;
+    private final byte[] bytes;
+    private final int length;
+    private final String label;
+    private int position;
+    private int lineStart;
+    private int separator = -1;
+    private int lineEnd = -1;
+
+    private LineFieldCursor(CharSequence text, byte[] bytes, int length, String label) {
+        this.text = text;
+        this.bytes = bytes;
+        this.length = length;
+        this.label = CodegenNames.requireNonBlank(label, "label");
+    }
+
+    public static LineFieldCursor over(CharSequence payload, String label) {
+        CharSequence text = payload == null ? "" : payload;
+        return new LineFieldCursor(text, null, text.length(), label);
+    }
+
+    public static LineFieldCursor over(byte[] payload, String label) {
+        byte[] bytes = payload == null ? new byte[0] : payload;
+        return new LineFieldCursor(null, bytes, bytes.length, label);
+    }
+
+    public static boolean hasField(CharSequence payload, String key, String value, String label) {
+        Objects.requireNonNull(key, "key");
+        Objects.requireNonNull(value, "value");
+        LineFieldCursor cursor = over(payload, label);
+        boolean matched = false;
+        while (cursor.next()) {
+            // Later duplicates win, exactly as they would in the field map.
+            if (cursor.keyEquals(key)) {
+                matched = cursor.valueEquals(value);
+            }
+        }
+        return matched;
+    }
+
+    public boolean next() {
+        if (blankPayload()) {
+            position = length;
+        }
+        if (position >= length) {
+            separator = -1;
+            lineEnd = -1;
+            return false;
+        }
+        lineStart = position;
+        separator = -1;
+        int index = position;
+        while (index < length) {
+            if (lineBreak(index) > 0) {
+                break;
+            }
+            if (at(index) == '=' && separator < 0) {
+                separator = index;
+            }
+            index++;
+        }
+        lineEnd = index;
+        position = skipLineBreak(index);
+        if (lineEnd == lineStart && onlyLineBreaksFrom(position)) {
+            position = length;
+            separator = -1;
+            lineEnd = -1;
+            return false;
+        }
+        if (separator <= lineStart) {
+            throw new IllegalArgumentException("Malformed " + label + " wire line: " + line());
+        }
+        return true;
+    }
+
+    public String key() {
+        requireLine();
+        return slice(lineStart, separator);
+    }
+
+    public String value() {
+        requireLine();
+        return slice(separator + 1, lineEnd);
+    }
+
+    public boolean keyEquals(String key) {
+        requireLine();
+        return regionEquals(lineStart, separator, key);
+    }
+
+    public boolean valueEquals(String value) {
+        requireLine();
+        return regionEquals(separator + 1, lineEnd, value);
+    }
+
+    public boolean valueBlank() {
+        requireLine();
+        for (int index = separator + 1; index < lineEnd; index++) {
+            if (!Character.isWhitespace(at(index))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean blankPayload() {
+        if (position != 0 || lineEnd >= 0) {
+            return false;
+        }
+        for (int index = 0; index < length; index++) {
+            if (!Character.isWhitespace(at(index))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean onlyLineBreaksFrom(int index) {
+        int current = index;
+        while (current < length) {
+            int width = lineBreak(current);
+            if (width == 0) {
+                return false;
+            }
+            current += width;
+        }
+        return true;
+    }
+
+    private int skipLineBreak(int index) {
+        if (index >= length) {
+            return index;
+        }
+        if (at(index) == '\r' && index + 1 < length && at(index + 1) == '\n') {
+            return index + 2;
+        }
+        return index + lineBreak(index);
+    }
+
+    int lineStart() {
+        return lineStart;
+    }
+
+    int separator() {
+        return separator;
+    }
+
+    int lineEnd() {
+        return lineEnd;
+    }
+
+    boolean regionEquals(int start, int end, String expected) {
+        if (end - start != expected.length()) {
+            return false;
+        }
+        for (int index = 0; index < expected.length(); index++) {
+            if (at(start + index) != expected.charAt(index)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    boolean regionEquals(int start, int end, String prefix, String expected) {
+        int prefixLength = prefix.length();
+        if (end - start != prefixLength + expected.length()) {
+            return false;
+        }
+        for (int index = 0; index < prefixLength; index++) {
+            if (at(start + index) != prefix.charAt(index)) {
+                return false;
+            }
+        }
+        return regionEquals(start + prefixLength, end, expected);
+    }
+
+    // String.hashCode over the region, so an ASCII key hashes like the String it would materialize as.
+    int regionHash(int start, int end) {
+        int hash = 0;
+        for (int index = start; index < end; index++) {
+            hash = 31 * hash + at(index);
+        }
+        return hash;
+    }
+
+    boolean regionStartsWith(int start, int end, String prefix) {
+        if (end - start < prefix.length()) {
+            return false;
+        }
+        for (int index = 0; index < prefix.length(); index++) {
+            if (at(start + index) != prefix.charAt(index)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    String slice(int start, int end) {
+        if (bytes != null) {
+            return new String(bytes, start, end - start, StandardCharsets.UTF_8);
+        }
+        return text.subSequence(start, end).toString();
+    }
+
+    private String line() {
+        return slice(lineStart, lineEnd);
+    }
+
+    private void requireLine() {
+        if (lineEnd < 0) {
+            throw new IllegalStateException("Cursor is not positioned on a " + label + " wire line");
+        }
+    }
+
+    private int at(int index) {
+        return bytes != null ? bytes[index] & 0xFF : text.charAt(index);
+    }
+
+    // Width of the line break starting at index, or 0. NEL, LS and PS are single chars in text but two or three
+    // bytes in UTF-8, so a byte payload matches their encoded sequences rather than lone continuation bytes.
+    private int lineBreak(int index) {
+        int current = at(index);
+        if (current <= '\r') {
+            return current >= '\n' ? 1 : 0;
+        }
+        if (bytes == null) {
+            return current == 0x85 || current == 0x2028 || current == 0x2029 ? 1 : 0;
+        }
+        if (current == 0xC2) {
+            return index + 1 < length && at(index + 1) == 0x85 ? 2 : 0;
+        }
+        if (current == 0xE2) {
+            return index + 2 < length && at(index + 1) == 0x80 && (at(index + 2) == 0xA8 || at(index + 2) == 0xA9) ? 3 : 0;
+        }
+        return 0;
+    }
+}
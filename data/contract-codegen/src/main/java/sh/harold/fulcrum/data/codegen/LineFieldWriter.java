@@ -0,0 +1,57 @@
+package sh.harold.fulcrum.data.codegen;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Objects;
+
+// Appends key=value lines in write order, the same text a LinkedHashMap of the fields would have produced. A view
+// from within(prefix) writes into the same record with every name prefixed, for nested state and response fields.
+public final class LineFieldWriter implements WireFieldWriter {
+    private final StringBuilder builder;
+    private final String prefix;
+
+    public LineFieldWriter() {
+        this(new StringBuilder(256), "");
+    }
+
+    private LineFieldWriter(StringBuilder builder, String prefix) {
+        this.builder = builder;
+        this.prefix = prefix;
+    }
+
+    public LineFieldWriter within(String prefix) {
+        return new LineFieldWriter(builder, this.prefix + Objects.requireNonNull(prefix, "prefix"));
+    }
+
+    @Override
+    public LineFieldWriter string(String name, String value) {
+        name(name).append(value == null ? "" : value).append('\n');
+        return this;
+    }
+
+    @Override
+    public LineFieldWriter longValue(String name, long value) {
+        name(name).append(value).append('\n');
+        return this;
+    }
+
+    @Override
+    public LineFieldWriter instant(String name, Instant value) {
+        Objects.requireNonNull(value, name);
+        WireInstants.append(name(name), value.getEpochSecond(), value.getNano()).append('\n');
+        return this;
+    }
+
+    public String text() {
+        return builder.toString();
+    }
+
+    @Override
+    public byte[] toByteArray() {
+        return text().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private StringBuilder name(String name) {
+        return builder.append(prefix).append(name).append('=');
+    }
+}
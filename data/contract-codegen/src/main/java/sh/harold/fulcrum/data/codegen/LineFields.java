@@ -0,0 +1,122 @@
+package sh.harold.fulcrum.data.codegen;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+
+// A key=value payload indexed by one cursor pass: each line keeps only its key, separator and end offsets plus the
+// key's hash, and lookups probe that hash and compare keys in place. Later duplicates win, as they did in the field
+// maps this replaces. within(prefix) reads the nested fields a stored decision writes under "state." or "response."
+// without copying them out.
+public final class LineFields implements WireFields {
+    private static final int SLOTS = 3;
+
+    private final LineFieldCursor cursor;
+    private final int[] lines;
+    private final int[] hashes;
+    private final int[] table;
+    private final int count;
+    private final String prefix;
+
+    private LineFields(LineFieldCursor cursor, int[] lines, int[] hashes, int[] table, int count, String prefix) {
+        this.cursor = cursor;
+        this.lines = lines;
+        this.hashes = hashes;
+        this.table = table;
+        this.count = count;
+        this.prefix = prefix;
+    }
+
+    public static LineFields of(CharSequence payload, String label) {
+        return index(LineFieldCursor.over(payload, label));
+    }
+
+    public static LineFields of(byte[] payload, String label) {
+        return index(LineFieldCursor.over(payload, label));
+    }
+
+    private static LineFields index(LineFieldCursor cursor) {
+        int[] lines = new int[SLOTS * 32];
+        int[] hashes = new int[32];
+        int count = 0;
+        while (cursor.next()) {
+            if (count == hashes.length) {
+                lines = Arrays.copyOf(lines, lines.length * 2);
+                hashes = Arrays.copyOf(hashes, hashes.length * 2);
+            }
+            int offset = count * SLOTS;
+            lines[offset] = cursor.lineStart();
+            lines[offset + 1] = cursor.separator();
+            lines[offset + 2] = cursor.lineEnd();
+            hashes[count] = cursor.regionHash(cursor.lineStart(), cursor.separator());
+            count++;
+        }
+        // Open addressing over line numbers + 1, at most half full, so a miss ends at the first empty slot.
+        int[] table = new int[Math.max(16, Integer.highestOneBit(Math.max(1, count)) << 2)];
+        int mask = table.length - 1;
+        for (int line = 0; line < count; line++) {
+            int slot = spread(hashes[line]) & mask;
+            while (table[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            table[slot] = line + 1;
+        }
+        return new LineFields(cursor, lines, hashes, table, count, "");
+    }
+
+    public LineFields within(String prefix) {
+        Objects.requireNonNull(prefix, "prefix");
+        return new LineFields(cursor, lines, hashes, table, count, this.prefix + prefix);
+    }
+
+    @Override
+    public String get(String key) {
+        int line = find(key);
+        if (line < 0) {
+            return null;
+        }
+        int offset = line * SLOTS;
+        return cursor.slice(lines[offset + 1] + 1, lines[offset + 2]);
+    }
+
+    // Visits fields in payload order, including duplicates, with this view's prefix removed from each key.
+    public void forEach(BiConsumer<String, String> action) {
+        Objects.requireNonNull(action, "action");
+        for (int line = 0; line < count; line++) {
+            int offset = line * SLOTS;
+            if (cursor.regionStartsWith(lines[offset], lines[offset + 1], prefix)) {
+                action.accept(
+                        cursor.slice(lines[offset] + prefix.length(), lines[offset + 1]),
+                        cursor.slice(lines[offset + 1] + 1, lines[offset + 2]));
+            }
+        }
+    }
+
+    private int find(String key) {
+        Objects.requireNonNull(key, "key");
+        int hash = prefix.isEmpty() ? key.hashCode() : hash(key);
+        int mask = table.length - 1;
+        int found = -1;
+        for (int slot = spread(hash) & mask; table[slot] != 0; slot = (slot + 1) & mask) {
+            int line = table[slot] - 1;
+            int offset = line * SLOTS;
+            if (line > found && hashes[line] == hash
+                    && cursor.regionEquals(lines[offset], lines[offset + 1], prefix, key)) {
+                found = line;
+            }
+        }
+        return found;
+    }
+
+    private int hash(String key) {
+        int hash = prefix.hashCode();
+        for (int index = 0; index < key.length(); index++) {
+            hash = 31 * hash + key.charAt(index);
+        }
+        return hash;
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -0,0 +1,25 @@
+package sh.harold.fulcrum.data.codegen;
+
+import java.time.Instant;
+import java.util.Optional;
+
+// Writes one wire record field by field, so a codec targets the line format and the binary frame through the same
+// code without building a field map first. An absent optional value is written as a blank field, which both formats
+// read back as absent.
+public interface WireFieldWriter {
+    WireFieldWriter string(String name, String value);
+
+    WireFieldWriter longValue(String name, long value);
+
+    WireFieldWriter instant(String name, Instant value);
+
+    default WireFieldWriter longValue(String name, Optional<Long> value) {
+        return value.isPresent() ? longValue(name, value.get()) : string(name, "");
+    }
+
+    default WireFieldWriter instant(String name, Optional<Instant> value) {
+        return value.isPresent() ? instant(name, value.get()) : string(name, "");
+    }
+
+    byte[] toByteArray();
+}
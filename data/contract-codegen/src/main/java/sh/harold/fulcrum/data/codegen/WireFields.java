@@ -0,0 +1,20 @@
+package sh.harold.fulcrum.data.codegen;
+
+import java.time.Instant;
+
+// One decoded wire record, read by field name. Implementations look fields up in the payload they were built over,
+// so only the values a codec asks for become strings. Absent fields read as null.
+public interface WireFields {
+    String get(String key);
+
+    default boolean containsKey(String key) {
+        return get(key) != null;
+    }
+
+    // Blank reads as absent, as it does for every other field. Binary frames carry instants as numbers and override
+    // this to skip the text round trip.
+    default Instant getInstant(String key) {
+        String value = get(key);
+        return value == null || value.isBlank() ? null : WireInstants.parse(value);
+    }
+}
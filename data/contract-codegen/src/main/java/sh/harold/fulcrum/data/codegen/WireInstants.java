@@ -0,0 +1,109 @@
+package sh.harold.fulcrum.data.codegen;
+
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+// Instant.parse and Instant.toString go through DateTimeFormatter, which costs more than the rest of a wire record;
+// the fixed-width UTC form Instant.toString produces for years 0000-9999 is handled directly and anything else
+// falls back to the JDK, so results match Instant.parse and Instant.toString exactly.
+public final class WireInstants {
+    private WireInstants() {
+    }
+
+    public static Instant parse(String value) {
+        Instant canonical = parseCanonical(value);
+        return canonical != null ? canonical : Instant.parse(value);
+    }
+
+    private static Instant parseCanonical(String value) {
+        int length = value.length();
+        if (length < 20 || value.charAt(4) != '-' || value.charAt(7) != '-' || value.charAt(10) != 'T'
+                || value.charAt(13) != ':' || value.charAt(16) != ':' || value.charAt(length - 1) != 'Z') {
+            return null;
+        }
+        int nanos = 0;
+        if (length > 20) {
+            int digits = length - 21;
+            if (value.charAt(19) != '.' || digits < 1 || digits > 9) {
+                return null;
+            }
+            nanos = digits(value, 20, digits);
+            for (int i = digits; i < 9; i++) {
+                nanos *= 10;
+            }
+        }
+        int year = digits(value, 0, 4);
+        int month = digits(value, 5, 2);
+        int day = digits(value, 8, 2);
+        int hour = digits(value, 11, 2);
+        int minute = digits(value, 14, 2);
+        int second = digits(value, 17, 2);
+        if (year < 0 || month < 0 || day < 0 || hour < 0 || minute < 0 || second < 0 || nanos < 0) {
+            return null;
+        }
+        try {
+            long epochDay = LocalDate.of(year, month, day).toEpochDay();
+            return Instant.ofEpochSecond(LocalTime.of(hour, minute, second).toSecondOfDay() + epochDay * 86_400L, nanos);
+        } catch (DateTimeException exception) {
+            // Leap seconds and out-of-range dates take the JDK path, which accepts or rejects them as Instant.parse does.
+            return null;
+        }
+    }
+
+    private static int digits(String value, int offset, int count) {
+        int result = 0;
+        for (int i = offset; i < offset + count; i++) {
+            char current = value.charAt(i);
+            if (current < '0' || current > '9') {
+                return -1;
+            }
+            result = result * 10 + (current - '0');
+        }
+        return result;
+    }
+
+    public static String format(Instant instant) {
+        return format(instant.getEpochSecond(), instant.getNano());
+    }
+
+    static String format(long epochSecond, int nanos) {
+        return append(new StringBuilder(30), epochSecond, nanos).toString();
+    }
+
+    static StringBuilder append(StringBuilder builder, long epochSecond, int nanos) {
+        long epochDay = Math.floorDiv(epochSecond, 86_400L);
+        LocalDate date = LocalDate.ofEpochDay(epochDay);
+        if (date.getYear() < 0 || date.getYear() > 9999) {
+            return builder.append(Instant.ofEpochSecond(epochSecond, nanos));
+        }
+        int secondOfDay = (int) Math.floorMod(epochSecond, 86_400L);
+        pad(builder, date.getYear(), 4).append('-');
+        pad(builder, date.getMonthValue(), 2).append('-');
+        pad(builder, date.getDayOfMonth(), 2).append('T');
+        pad(builder, secondOfDay / 3_600, 2).append(':');
+        pad(builder, secondOfDay / 60 % 60, 2).append(':');
+        pad(builder, secondOfDay % 60, 2);
+        if (nanos > 0) {
+            // Same fraction grouping as DateTimeFormatter.ISO_INSTANT: 3, 6 or 9 digits.
+            builder.append('.');
+            if (nanos % 1_000_000 == 0) {
+                pad(builder, nanos / 1_000_000, 3);
+            } else if (nanos % 1_000 == 0) {
+                pad(builder, nanos / 1_000, 6);
+            } else {
+                pad(builder, nanos, 9);
+            }
+        }
+        return builder.append('Z');
+    }
+
+    private static StringBuilder pad(StringBuilder builder, int value, int width) {
+        String digits = Integer.toString(value);
+        for (int i = digits.length(); i < width; i++) {
+            builder.append('0');
+        }
+        return builder.append(digits);
+    }
+}
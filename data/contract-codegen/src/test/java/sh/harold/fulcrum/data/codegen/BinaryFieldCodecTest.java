@@ -0,0 +1,160 @@
+package sh.harold.fulcrum.data.codegen;
+
+import org.junit.jupiter.api.Test;
+import sh.harold.fulcrum.api.contract.CommandName;
+import sh.harold.fulcrum.api.contract.ContractName;
+import sh.harold.fulcrum.api.contract.EventName;
+import sh.harold.fulcrum.data.contract.CommandDeclaration;
+import sh.harold.fulcrum.data.contract.ContractDeclaration;
+import sh.harold.fulcrum.data.contract.EventDeclaration;
+import sh.harold.fulcrum.data.contract.FieldDeclaration;
+import sh.harold.fulcrum.data.contract.FieldType;
+import sh.harold.fulcrum.data.contract.SnapshotDeclaration;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class BinaryFieldCodecTest {
+    private static final BinaryFieldCodec CODEC = new BinaryFieldCodec("session", List.of(
+            new FieldDeclaration("sessionId", FieldType.STRING),
+            new FieldDeclaration("ownerEpoch", FieldType.LONG),
+            new FieldDeclaration("openedAt", FieldType.INSTANT),
+            new FieldDeclaration("closedAt", FieldType.INSTANT, true)));
+
+    @Test
+    void roundTripsDeclaredUndeclaredAndBlankFields() {
+        Map<String, String> fields = new LinkedHashMap<>();
+        fields.put("sessionId", "session-1");
+        fields.put("ownerEpoch", "-42");
+        fields.put("openedAt", "2026-06-16T07:00:00.000000123Z");
+        fields.put("closedAt", "");
+        fields.put("state.note", "line one\nline=two");
+
+        byte[] encoded = CODEC.encode(fields);
+        Map<String, String> decoded = CODEC.decode(encoded);
+
+        assertEquals(Map.of(
+                "sessionId", "session-1",
+                "ownerEpoch", "-42",
+                "openedAt", "2026-06-16T07:00:00.000000123Z",
+                "state.note", "line one\nline=two"), decoded);
+        assertTrue(BinaryFieldCodec.isBinary(encoded));
+        assertFalse(BinaryFieldCodec.isBinary("sessionId=session-1\n".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void olderSchemasSkipAppendedFieldsAndRejectMistypedValues() {
+        BinaryFieldCodec older = new BinaryFieldCodec("session", CODEC.fields().subList(0, 2));
+        byte[] encoded = CODEC.encode(Map.of("sessionId", "session-1", "openedAt", "2026-06-16T07:00:00Z"));
+
+        assertEquals(Map.of("sessionId", "session-1"), older.decode(encoded));
+        assertThrows(IllegalArgumentException.class, () -> CODEC.encode(Map.of("ownerEpoch", "not-a-number")));
+        assertThrows(IllegalArgumentException.class, () -> CODEC.decode(new byte[]{BinaryFieldCodec.MAGIC, 9}));
+    }
+
+    @Test
+    void contractSchemasTagEachDeclaredFieldOnceWithItsDeclaredTag() {
+        BinaryFieldCodec schema = BinaryFieldCodec.forContract(
+                sessionContract(List.of(), List.of()), List.of(new FieldDeclaration("commandId", FieldType.STRING, false, 1)));
+
+        assertEquals("session", schema.schemaName());
+        assertEquals(
+                List.of("commandId", "sessionId", "openedAt", "ownerEpoch", "closedAt", "status"),
+                schema.fields().stream().map(FieldDeclaration::name).toList());
+        assertEquals(
+                List.of(1, 32, 33, 34, 35, 36),
+                schema.fields().stream().map(FieldDeclaration::tag).toList());
+        assertThrows(IllegalArgumentException.class, () -> BinaryFieldCodec.forContract(
+                sessionContract(List.of(), List.of()), List.of(new FieldDeclaration("ownerEpoch", FieldType.LONG, false, 2))));
+        assertThrows(IllegalArgumentException.class, () -> BinaryFieldCodec.forContract(
+                sessionContract(List.of(), List.of()), List.of(new FieldDeclaration("commandId", FieldType.STRING, false, 32))));
+        assertThrows(IllegalArgumentException.class, () -> BinaryFieldCodec.forContract(
+                sessionContract(List.of(), List.of()), List.of(new FieldDeclaration("commandId", FieldType.STRING))));
+    }
+
+    @Test
+    void addingACommandOrAMiddleCommandFieldLeavesEveryExistingTagInPlace() {
+        List<FieldDeclaration> envelope = List.of(new FieldDeclaration("commandId", FieldType.STRING, false, 1));
+        BinaryFieldCodec before = BinaryFieldCodec.forContract(sessionContract(List.of(), List.of()), envelope);
+        BinaryFieldCodec after = BinaryFieldCodec.forContract(sessionContract(
+                List.of(new FieldDeclaration("openedBy", FieldType.STRING, false, 38)),
+                List.of(new CommandDeclaration(new CommandName("expire-session"), "ExpireSession", List.of(
+                        new FieldDeclaration("sessionId", FieldType.STRING, false, 32),
+                        new FieldDeclaration("expiredAt", FieldType.INSTANT, false, 37)), false))), envelope);
+
+        Map<String, Integer> beforeTags = tags(before);
+        Map<String, Integer> afterTags = tags(after);
+        beforeTags.forEach((name, tag) -> assertEquals(tag, afterTags.get(name), name));
+
+        Map<String, String> values = new LinkedHashMap<>();
+        values.put("commandId", "command-1");
+        values.put("openedBy", "host-1");
+        values.put("closedAt", "2026-06-16T07:00:00Z");
+        values.put("status", "CLOSED");
+        values.put("expiredAt", "2026-06-16T08:00:00Z");
+        Map<String, String> expected = new LinkedHashMap<>(values);
+        expected.remove("openedBy");
+        expected.remove("expiredAt");
+        assertEquals(expected, before.decode(after.encode(values)));
+        assertEquals(expected, after.decode(before.encode(expected)));
+    }
+
+    private static ContractDeclaration sessionContract(
+            List<FieldDeclaration> extraOpenFields,
+            List<CommandDeclaration> extraCommands) {
+        FieldDeclaration sessionId = new FieldDeclaration("sessionId", FieldType.STRING, false, 32);
+        List<FieldDeclaration> openFields = new ArrayList<>(List.of(
+                sessionId,
+                new FieldDeclaration("openedAt", FieldType.INSTANT, false, 33)));
+        openFields.addAll(extraOpenFields);
+        List<CommandDeclaration> commands = new ArrayList<>(List.of(
+                new CommandDeclaration(new CommandName("open-session"), "OpenSession", openFields, false),
+                new CommandDeclaration(new CommandName("close-session"), "CloseSession", List.of(
+                        sessionId,
+                        new FieldDeclaration("ownerEpoch", FieldType.LONG, false, 34),
+                        new FieldDeclaration("closedAt", FieldType.INSTANT, false, 35)), false)));
+        commands.addAll(extraCommands);
+        return new ContractDeclaration(
+                new ContractName("session"),
+                commands,
+                List.of(new EventDeclaration(new EventName("session-closed"), "SessionClosed", List.of(sessionId))),
+                Optional.of(new SnapshotDeclaration("SessionState", List.of(
+                        sessionId,
+                        new FieldDeclaration("status", FieldType.STRING, false, 36)))),
+                List.of(),
+                List.of());
+    }
+
+    private static Map<String, Integer> tags(BinaryFieldCodec schema) {
+        Map<String, Integer> tags = new LinkedHashMap<>();
+        schema.fields().forEach(field -> tags.put(field.name(), field.tag()));
+        return tags;
+    }
+
+    @Test
+    void instantsDecodeToTheSameTextAsInstantToString() {
+        for (Instant instant : List.of(
+                Instant.EPOCH,
+                Instant.parse("1969-12-31T23:59:59.999Z"),
+                Instant.parse("2026-06-16T07:00:00.120Z"),
+                Instant.parse("2026-06-16T07:00:00.000120Z"),
+                Instant.parse("2400-02-29T23:59:59.123456789Z"),
+                Instant.parse("+10000-01-01T00:00:00Z"))) {
+            byte[] encoded = CODEC.encode(Map.of("openedAt", instant.toString()));
+
+            assertEquals(instant.toString(), CODEC.decode(encoded).get("openedAt"));
+        }
+        byte[] offset = CODEC.encode(Map.of("openedAt", "2026-06-16T09:00:00+02:00"));
+        assertEquals("2026-06-16T07:00:00Z", CODEC.decode(offset).get("openedAt"));
+    }
+}
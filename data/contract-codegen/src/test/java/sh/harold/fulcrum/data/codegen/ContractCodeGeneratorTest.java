@@ -27,10 +27,13 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.Instant;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -49,6 +52,7 @@ final class ContractCodeGeneratorTest {
                 "migrations/hello-world.sql",
                 "src/main/java/sh/harold/fulcrum/generated/contracts/GreetingAccepted.java",
                 "src/main/java/sh/harold/fulcrum/generated/contracts/HelloWorldAuthorityStub.java",
+                "src/main/java/sh/harold/fulcrum/generated/contracts/HelloWorldBinarySerializer.java",
                 "src/main/java/sh/harold/fulcrum/generated/contracts/HelloWorldCommandClient.java",
                 "src/main/java/sh/harold/fulcrum/generated/contracts/HelloWorldSerializer.java",
                 "src/main/java/sh/harold/fulcrum/generated/contracts/SayHello.java"
@@ -156,6 +160,32 @@ final class ContractCodeGeneratorTest {
         }
     }
 
+    @Test
+    void generatedBinarySerializerRoundTripsAndMatchesRuntimeFieldCodec(@TempDir Path tempDir) throws Exception {
+        ContractDeclaration declaration = helloWorldContract();
+        GeneratedContractPacket packet = generator.generate(declaration);
+        Path classesDir = compileGeneratedSources(packet, tempDir);
+
+        try (URLClassLoader loader = new URLClassLoader(new java.net.URL[]{classesDir.toUri().toURL()}, getClass().getClassLoader())) {
+            Class<?> payloadClass = loader.loadClass("sh.harold.fulcrum.generated.contracts.SayHello");
+            Object payload = payloadClass.getConstructor(String.class, Instant.class)
+                    .newInstance("hi=there\nfriend", Instant.parse("2026-06-16T07:00:00.123Z"));
+
+            Class<?> serializerClass = loader.loadClass("sh.harold.fulcrum.generated.contracts.HelloWorldBinarySerializer");
+            Object serializer = serializerClass.getConstructor().newInstance();
+            byte[] encoded = (byte[]) serializerClass.getMethod("encodeSayHello", payloadClass).invoke(serializer, payload);
+            Object decoded = serializerClass.getMethod("decodeSayHello", byte[].class).invoke(serializer, (Object) encoded);
+
+            assertEquals(payload, decoded);
+            BinaryFieldCodec runtimeCodec = new BinaryFieldCodec("say-hello", declaration.commands().getFirst().fields());
+            Map<String, String> fields = new LinkedHashMap<>();
+            fields.put("greeting", "hi=there\nfriend");
+            fields.put("requestedAt", "2026-06-16T07:00:00.123Z");
+            assertArrayEquals(encoded, runtimeCodec.encode(fields));
+            assertTrue(BinaryFieldCodec.isBinary(encoded));
+        }
+    }
+
     @Test
     void refusesContractWithoutProjectionForMigrationOutput() {
         ContractDeclaration declaration = new ContractDeclaration(
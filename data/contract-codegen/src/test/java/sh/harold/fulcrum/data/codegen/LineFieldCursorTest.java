@@ -0,0 +1,78 @@
+package sh.harold.fulcrum.data.codegen;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class LineFieldCursorTest {
+    @Test
+    void matchesTheSplitParserForTextAndUtf8Payloads() {
+        String payload = "commandId=command-1\r\nnote=a=b display=Zoë\nempty=\n\n";
+
+        Map<String, String> expected = Map.of(
+                "commandId", "command-1",
+                "note", "a=b",
+                "display", "Zoë",
+                "empty", "");
+        assertEquals(expected, fields(payload, "test"));
+        assertEquals(List.of("commandId", "note", "display", "empty"),
+                List.copyOf(fields(payload, "test").keySet()));
+        assertEquals(Map.of("commandId", "command-1", "display", "Zoë"),
+                fields("commandId=command-1\ndisplay=Zoë\n".getBytes(StandardCharsets.UTF_8), "test"));
+        assertEquals(Map.of(), fields(" \n ", "test"));
+        assertEquals(Map.of(), fields((String) null, "test"));
+    }
+
+    @Test
+    void comparesInPlaceAndRejectsMalformedLines() {
+        LineFieldCursor cursor = LineFieldCursor.over("recordType=route\nrevision=  ", "test");
+
+        assertTrue(cursor.next());
+        assertTrue(cursor.keyEquals("recordType"));
+        assertTrue(cursor.valueEquals("route"));
+        assertTrue(cursor.next());
+        assertTrue(cursor.valueBlank());
+        assertFalse(cursor.next());
+        assertThrows(IllegalStateException.class, cursor::key);
+
+        assertTrue(LineFieldCursor.hasField("recordType=a\nrecordType=b", "recordType", "b", "test"));
+        assertFalse(LineFieldCursor.hasField("recordType=a\nrecordType=b", "recordType", "a", "test"));
+        IllegalArgumentException malformed = assertThrows(IllegalArgumentException.class,
+                () -> LineFields.of("a=1\n\nb=2", "route authority"));
+        assertEquals("Malformed route authority wire line: ", malformed.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> LineFields.of("=value", "test"));
+        assertThrows(IllegalArgumentException.class, () -> LineFields.of("novalue", "test"));
+    }
+
+    @Test
+    void breaksLinesTheSameWayInTextAndUtf8() {
+        String payload = "a=1\u0085b=2\u2028c=Zoë\u2029d=4\r\ne=5\u2028\u2029";
+
+        Map<String, String> expected = Map.of("a", "1", "b", "2", "c", "Zoë", "d", "4", "e", "5");
+        assertEquals(expected, fields(payload, "test"));
+        assertEquals(expected, fields(payload.getBytes(StandardCharsets.UTF_8), "test"));
+        // Continuation bytes of other characters are not breaks on their own.
+        assertEquals(Map.of("name", "\u00c5\u20ac\u2030"),
+                fields("name=\u00c5\u20ac\u2030".getBytes(StandardCharsets.UTF_8), "test"));
+    }
+
+    private static Map<String, String> fields(String payload, String label) {
+        Map<String, String> fields = new LinkedHashMap<>();
+        LineFields.of(payload, label).forEach(fields::put);
+        return fields;
+    }
+
+    private static Map<String, String> fields(byte[] payload, String label) {
+        Map<String, String> fields = new LinkedHashMap<>();
+        LineFields.of(payload, label).forEach(fields::put);
+        return fields;
+    }
+}
@@ -0,0 +1,58 @@
+package sh.harold.fulcrum.data.codegen;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class LineFieldsTest {
+    @Test
+    void looksFieldsUpInPlaceWithLaterDuplicatesWinning() {
+        LineFields fields = LineFields.of("status=OPEN\nrevision=3\nempty=\nstatus=CLOSED\n", "test");
+
+        assertEquals("CLOSED", fields.get("status"));
+        assertEquals("3", fields.get("revision"));
+        assertEquals("", fields.get("empty"));
+        assertTrue(fields.containsKey("empty"));
+        assertNull(fields.get("missing"));
+        assertFalse(fields.containsKey("statu"));
+    }
+
+    @Test
+    void scopesNestedFieldsByPrefix() {
+        byte[] payload = "revision=7\nstate.revision=5\nstate.owner=Zoë\nresponse.status=ACCEPTED\n"
+                .getBytes(StandardCharsets.UTF_8);
+        LineFields fields = LineFields.of(payload, "test");
+        LineFields state = fields.within("state.");
+
+        assertEquals("7", fields.get("revision"));
+        assertEquals("5", state.get("revision"));
+        assertEquals("Zoë", state.get("owner"));
+        assertNull(state.get("status"));
+        assertEquals("ACCEPTED", fields.within("response.").get("status"));
+
+        List<String> visited = new ArrayList<>();
+        state.forEach((key, value) -> visited.add(key + "=" + value));
+        assertEquals(List.of("revision=5", "owner=Zoë"), visited);
+    }
+
+    @Test
+    void indexesLargePayloadsWithoutLosingFields() {
+        StringBuilder payload = new StringBuilder();
+        for (int index = 0; index < 10_000; index++) {
+            payload.append("entry.").append(index).append(".id=intent-").append(index).append('\n');
+        }
+        LineFields fields = LineFields.of(payload, "test");
+
+        for (int index = 0; index < 10_000; index++) {
+            assertEquals("intent-" + index, fields.get("entry." + index + ".id"));
+        }
+        assertNull(fields.get("entry.10000.id"));
+    }
+}
@@ -0,0 +1,40 @@
+package sh.harold.fulcrum.data.codegen;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+final class WireInstantsTest {
+    @Test
+    void parsesAndFormatsExactlyLikeTheJdk() {
+        SplittableRandom random = new SplittableRandom(17);
+        for (int index = 0; index < 10_000; index++) {
+            int nanos = switch (index % 4) {
+                case 0 -> 0;
+                case 1 -> random.nextInt(1_000) * 1_000_000;
+                case 2 -> random.nextInt(1_000_000) * 1_000;
+                default -> random.nextInt(1_000_000_000);
+            };
+            Instant instant = Instant.ofEpochSecond(random.nextLong(-62_167_219_200L, 253_402_300_800L), nanos);
+
+            assertEquals(instant.toString(), WireInstants.format(instant));
+            assertEquals(instant, WireInstants.parse(instant.toString()));
+        }
+        Instant farFuture = Instant.parse("+12026-06-17T12:00:00Z");
+        assertEquals(farFuture.toString(), WireInstants.format(farFuture));
+        assertEquals(farFuture, WireInstants.parse(farFuture.toString()));
+        assertEquals(Instant.parse("2026-06-17T12:00:00.5Z"), WireInstants.parse("2026-06-17T12:00:00.5Z"));
+    }
+
+    @Test
+    void rejectsWhatInstantParseRejects() {
+        assertThrows(DateTimeException.class, () -> WireInstants.parse("2026-13-17T12:00:00Z"));
+        assertThrows(DateTimeException.class, () -> WireInstants.parse("2026-02-30T12:00:00Z"));
+        assertThrows(DateTimeException.class, () -> WireInstants.parse("not-an-instant"));
+    }
+}
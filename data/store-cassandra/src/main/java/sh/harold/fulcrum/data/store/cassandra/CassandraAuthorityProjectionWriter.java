@@ -1,13 +1,18 @@
 package sh.harold.fulcrum.data.store.cassandra;
 
 import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.cql.AsyncResultSet;
 import com.datastax.oss.driver.api.core.cql.SimpleStatement;
 import sh.harold.fulcrum.api.contract.CommandPayload;
 import sh.harold.fulcrum.data.authority.AuthorityCommand;
 import sh.harold.fulcrum.data.authority.AuthorityDecision;
+import sh.harold.fulcrum.data.authority.runtime.AuthorityHandledCommand;
 import sh.harold.fulcrum.data.authority.runtime.AuthorityProjectionWriter;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CompletionStage;
 
 public final class CassandraAuthorityProjectionWriter<S, C extends CommandPayload, R>
         implements AuthorityProjectionWriter<S, C, R> {
@@ -26,4 +31,21 @@ public final class CassandraAuthorityProjectionWriter<S, C extends CommandPayloa
         SimpleStatement statement = statementFactory.statementFor(command, decision);
         session.execute(statement);
     }
+
+    @Override
+    public void writeAll(List<AuthorityHandledCommand<S, C, R>> handledCommands) {
+        List<CompletionStage<AsyncResultSet>> pending = new ArrayList<>(handledCommands.size());
+        for (AuthorityHandledCommand<S, C, R> handled : handledCommands) {
+            pending.add(session.executeAsync(statementFactory.statementFor(
+                    handled.delivery().command(),
+                    handled.decision())));
+        }
+        for (CompletionStage<AsyncResultSet> stage : pending) {
+            try {
+                stage.toCompletableFuture().join();
+            } catch (RuntimeException exception) {
+                throw new IllegalStateException("Could not write authority projection to Cassandra", exception);
+            }
+        }
+    }
 }
@@ -3,27 +3,42 @@ package sh.harold.fulcrum.data.store.kafka;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.clients.consumer.ConsumerRecords;
 import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.common.TopicPartition;
 import sh.harold.fulcrum.api.contract.CommandPayload;
+import sh.harold.fulcrum.data.authority.AuthorityCommand;
 import sh.harold.fulcrum.data.authority.runtime.AuthorityCommandDelivery;
 import sh.harold.fulcrum.data.authority.runtime.AuthorityCommandSource;
 import sh.harold.fulcrum.data.authority.runtime.AuthorityOffset;
+import sh.harold.fulcrum.data.authority.runtime.AuthorityPartition;
+import sh.harold.fulcrum.data.authority.runtime.AuthorityPartitionListener;
 
 import java.time.Duration;
 import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Queue;
+import java.util.function.BiFunction;
 
+// The rebalance callbacks run on the polling thread from inside consumer.poll, so buffered records of a revoked
+// partition are dropped before the partition listener fences the runtime's in-flight work for it.
 public final class KafkaAuthorityCommandSource<C extends CommandPayload> implements AuthorityCommandSource<C> {
-    private final Consumer<String, String> consumer;
+    private final Consumer<String, ?> consumer;
     private final Duration pollTimeout;
-    private final KafkaAuthorityCommandDecoder<C> decoder;
-    private final Queue<ConsumerRecord<String, String>> pendingRecords = new ArrayDeque<>();
+    private final RecordDecoder<C> decoder;
+    private final Queue<ConsumerRecord<String, ?>> pendingRecords = new ArrayDeque<>();
+    private AuthorityPartitionListener partitionListener;
 
     public KafkaAuthorityCommandSource(
             Consumer<String, String> consumer,
             Duration pollTimeout,
             KafkaAuthorityCommandDecoder<C> decoder) {
+        this(consumer, pollTimeout, stringValues(decoder));
+    }
+
+    private KafkaAuthorityCommandSource(Consumer<String, ?> consumer, Duration pollTimeout, RecordDecoder<C> decoder) {
         this.consumer = Objects.requireNonNull(consumer, "consumer");
         this.pollTimeout = Objects.requireNonNull(pollTimeout, "pollTimeout");
         this.decoder = Objects.requireNonNull(decoder, "decoder");
@@ -32,20 +47,123 @@ public final class KafkaAuthorityCommandSource<C extends CommandPayload> impleme
         }
     }
 
+    // For consumers that read raw values, such as command topics carrying binary frames; the decoder gets the record
+    // key alongside the value.
+    public static <C extends CommandPayload> KafkaAuthorityCommandSource<C> forByteValues(
+            Consumer<String, byte[]> consumer,
+            Duration pollTimeout,
+            BiFunction<String, byte[], AuthorityCommand<C>> decoder) {
+        Objects.requireNonNull(decoder, "decoder");
+        return new KafkaAuthorityCommandSource<>(
+                consumer,
+                pollTimeout,
+                record -> decoder.apply(record.key(), (byte[]) record.value()));
+    }
+
     @Override
     public Optional<AuthorityCommandDelivery<C>> poll() {
+        fillIfEmpty();
+        ConsumerRecord<String, ?> record = pendingRecords.poll();
+        if (record == null) {
+            return Optional.empty();
+        }
+        return Optional.of(delivery(record));
+    }
+
+    @Override
+    public List<AuthorityCommandDelivery<C>> pollBatch(int maxDeliveries) {
+        if (maxDeliveries <= 0) {
+            throw new IllegalArgumentException("maxDeliveries must be positive");
+        }
+        fillIfEmpty();
+        List<AuthorityCommandDelivery<C>> deliveries = new ArrayList<>(Math.min(maxDeliveries, pendingRecords.size()));
+        while (deliveries.size() < maxDeliveries && !pendingRecords.isEmpty()) {
+            deliveries.add(delivery(pendingRecords.poll()));
+        }
+        return List.copyOf(deliveries);
+    }
+
+    @Override
+    public void pause(Collection<AuthorityPartition> partitions) {
+        consumer.pause(topicPartitions(partitions));
+    }
+
+    @Override
+    public void resume(Collection<AuthorityPartition> partitions) {
+        consumer.resume(topicPartitions(partitions));
+    }
+
+    @Override
+    public void partitionListener(AuthorityPartitionListener listener) {
+        this.partitionListener = Objects.requireNonNull(listener, "listener");
+    }
+
+    public void onPartitionsRevoked(Collection<TopicPartition> partitions) {
+        List<AuthorityPartition> revoked = dropPending(partitions);
+        if (partitionListener != null && !revoked.isEmpty()) {
+            partitionListener.partitionsRevoked(revoked);
+        }
+    }
+
+    public void onPartitionsLost(Collection<TopicPartition> partitions) {
+        List<AuthorityPartition> lost = dropPending(partitions);
+        if (partitionListener != null && !lost.isEmpty()) {
+            partitionListener.partitionsLost(lost);
+        }
+    }
+
+    public void onPartitionsAssigned(Collection<TopicPartition> partitions) {
+        Objects.requireNonNull(partitions, "partitions");
+        if (partitionListener != null && !partitions.isEmpty()) {
+            partitionListener.partitionsAssigned(authorityPartitions(partitions));
+        }
+    }
+
+    private List<AuthorityPartition> dropPending(Collection<TopicPartition> partitions) {
+        Objects.requireNonNull(partitions, "partitions");
+        pendingRecords.removeIf(record -> partitions.contains(new TopicPartition(record.topic(), record.partition())));
+        return authorityPartitions(partitions);
+    }
+
+    private static List<AuthorityPartition> authorityPartitions(Collection<TopicPartition> partitions) {
+        List<AuthorityPartition> converted = new ArrayList<>(partitions.size());
+        for (TopicPartition partition : partitions) {
+            converted.add(new AuthorityPartition(partition.topic(), partition.partition()));
+        }
+        return converted;
+    }
+
+    private static List<TopicPartition> topicPartitions(Collection<AuthorityPartition> partitions) {
+        List<TopicPartition> converted = new ArrayList<>(Objects.requireNonNull(partitions, "partitions").size());
+        for (AuthorityPartition partition : partitions) {
+            converted.add(new TopicPartition(partition.source(), partition.partition()));
+        }
+        return converted;
+    }
+
+    private void fillIfEmpty() {
         if (pendingRecords.isEmpty()) {
-            ConsumerRecords<String, String> records = consumer.poll(pollTimeout);
-            for (ConsumerRecord<String, String> record : records) {
+            ConsumerRecords<String, ?> records = consumer.poll(pollTimeout);
+            for (ConsumerRecord<String, ?> record : records) {
                 pendingRecords.add(record);
             }
         }
-        ConsumerRecord<String, String> record = pendingRecords.poll();
-        if (record == null) {
-            return Optional.empty();
-        }
-        return Optional.of(new AuthorityCommandDelivery<>(
+    }
+
+    private AuthorityCommandDelivery<C> delivery(ConsumerRecord<String, ?> record) {
+        return new AuthorityCommandDelivery<>(
                 decoder.decode(record),
-                new AuthorityOffset(record.topic(), record.partition(), record.offset())));
+                new AuthorityOffset(record.topic(), record.partition(), record.offset()));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <C extends CommandPayload> RecordDecoder<C> stringValues(KafkaAuthorityCommandDecoder<C> decoder) {
+        Objects.requireNonNull(decoder, "decoder");
+        return record -> decoder.decode((ConsumerRecord<String, String>) record);
+    }
+
+    @FunctionalInterface
+    private interface RecordDecoder<C extends CommandPayload> {
+        AuthorityCommand<C> decode(ConsumerRecord<String, ?> record);
     }
 }
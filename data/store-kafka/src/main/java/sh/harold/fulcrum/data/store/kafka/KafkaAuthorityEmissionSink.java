@@ -2,17 +2,30 @@ package sh.harold.fulcrum.data.store.kafka;
 
 import org.apache.kafka.clients.producer.Producer;
 import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
 import sh.harold.fulcrum.data.authority.AuthorityEmission;
+import sh.harold.fulcrum.data.authority.runtime.AuthorityEmissionMetrics;
 import sh.harold.fulcrum.data.authority.runtime.AuthorityEmissionSink;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 public final class KafkaAuthorityEmissionSink implements AuthorityEmissionSink {
     private final Producer<String, String> producer;
     private final KafkaAuthorityEmissionTopics topics;
     private final Duration sendTimeout;
+    // Each worker thread awaits only its own sends, so sharded workers sharing one sink cannot flush for each other.
+    private final ThreadLocal<List<PendingEmission>> pending = ThreadLocal.withInitial(ArrayList::new);
+    private final AtomicLong inFlight = new AtomicLong();
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong totalLatencyNanos = new AtomicLong();
+    private final AtomicLong maxLatencyNanos = new AtomicLong();
 
     public KafkaAuthorityEmissionSink(
             Producer<String, String> producer,
@@ -28,15 +41,66 @@ public final class KafkaAuthorityEmissionSink implements AuthorityEmissionSink {
 
     @Override
     public void publish(AuthorityEmission emission) {
-        topics.topicFor(emission.kind()).ifPresent(topic -> send(topic, emission));
+        topics.topicFor(emission.kind()).ifPresent(topic -> pending.get().add(send(topic, emission)));
     }
 
-    private void send(String topic, AuthorityEmission emission) {
+    @Override
+    public void flush() {
+        List<PendingEmission> sends = pending.get();
+        if (sends.isEmpty()) {
+            return;
+        }
         try {
-            producer.send(new ProducerRecord<>(topic, emission.key(), emission.payload()))
-                    .get(sendTimeout.toMillis(), TimeUnit.MILLISECONDS);
-        } catch (Exception exception) {
+            long deadline = System.nanoTime() + sendTimeout.toNanos();
+            for (PendingEmission send : sends) {
+                try {
+                    send.future().get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                } catch (InterruptedException exception) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while publishing authority emission to Kafka topic "
+                            + send.topic(), exception);
+                } catch (Exception exception) {
+                    throw new IllegalStateException("Could not publish authority emission to Kafka topic "
+                            + send.topic(), exception);
+                }
+            }
+        } finally {
+            sends.clear();
+        }
+    }
+
+    @Override
+    public AuthorityEmissionMetrics metrics() {
+        return new AuthorityEmissionMetrics(
+                published.get(),
+                failed.get(),
+                inFlight.get(),
+                Duration.ofNanos(totalLatencyNanos.get()),
+                Duration.ofNanos(maxLatencyNanos.get()));
+    }
+
+    private PendingEmission send(String topic, AuthorityEmission emission) {
+        long started = System.nanoTime();
+        inFlight.incrementAndGet();
+        try {
+            Future<RecordMetadata> future = producer.send(
+                    new ProducerRecord<>(topic, emission.key(), emission.payload()),
+                    (metadata, exception) -> completed(started, exception == null));
+            return new PendingEmission(topic, future);
+        } catch (RuntimeException exception) {
+            completed(started, false);
             throw new IllegalStateException("Could not publish authority emission to Kafka topic " + topic, exception);
         }
     }
+
+    private void completed(long started, boolean succeeded) {
+        long latency = System.nanoTime() - started;
+        inFlight.decrementAndGet();
+        (succeeded ? published : failed).incrementAndGet();
+        totalLatencyNanos.addAndGet(latency);
+        maxLatencyNanos.accumulateAndGet(latency, Math::max);
+    }
+
+    private record PendingEmission(String topic, Future<RecordMetadata> future) {
+    }
 }
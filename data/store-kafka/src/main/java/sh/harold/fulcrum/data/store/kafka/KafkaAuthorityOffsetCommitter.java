@@ -6,19 +6,149 @@ import org.apache.kafka.common.TopicPartition;
 import sh.harold.fulcrum.data.authority.runtime.AuthorityOffset;
 import sh.harold.fulcrum.data.authority.runtime.AuthorityOffsetCommitter;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
 
+// Offsets are only handed to the committer after the record, projection, decision and emissions are durable, so
+// committing lazily never skips work: a crash replays the uncommitted tail and the idempotency ledger answers it.
+// All methods run on the consumer's polling thread, including the rebalance callbacks invoked from poll().
 public final class KafkaAuthorityOffsetCommitter implements AuthorityOffsetCommitter {
     private final Consumer<?, ?> consumer;
+    private final KafkaOffsetCommitPolicy policy;
+    private final Map<TopicPartition, OffsetAndMetadata> completed = new HashMap<>();
+    private final Map<TopicPartition, OffsetAndMetadata> uncommitted = new HashMap<>();
+    private final AtomicLong failedAsyncCommits = new AtomicLong();
+    private int pendingOffsets;
+    private long lastCommitNanos = System.nanoTime();
+    private long asyncCommits;
+    private long syncCommits;
 
     public KafkaAuthorityOffsetCommitter(Consumer<?, ?> consumer) {
+        this(consumer, KafkaOffsetCommitPolicy.synchronous());
+    }
+
+    public KafkaAuthorityOffsetCommitter(Consumer<?, ?> consumer, KafkaOffsetCommitPolicy policy) {
         this.consumer = Objects.requireNonNull(consumer, "consumer");
+        this.policy = Objects.requireNonNull(policy, "policy");
     }
 
     @Override
     public void commit(AuthorityOffset offset) {
+        commitAll(List.of(offset));
+    }
+
+    @Override
+    public void commitAll(List<AuthorityOffset> offsets) {
+        if (offsets.isEmpty()) {
+            return;
+        }
+        for (AuthorityOffset offset : offsets) {
+            track(offset);
+        }
+        pendingOffsets += offsets.size();
+        if (!policy.coalesces()) {
+            flush();
+            return;
+        }
+        if (pendingOffsets >= policy.maxPendingOffsets() || intervalElapsed()) {
+            commitAsync();
+        }
+    }
+
+    // Without this the last offsets before a partition goes quiet would wait for the next command or a rebalance.
+    @Override
+    public void maybeCommit() {
+        if (!uncommitted.isEmpty() && intervalElapsed()) {
+            commitAsync();
+        }
+    }
+
+    @Override
+    public void flush() {
+        if (uncommitted.isEmpty() && failedAsyncCommits.get() == 0) {
+            return;
+        }
+        // A failed asynchronous commit may have been the last one for its partition, so resend every known position.
+        long failedBefore = failedAsyncCommits.get();
+        Map<TopicPartition, OffsetAndMetadata> commits = failedBefore == 0
+                ? Map.copyOf(uncommitted)
+                : Map.copyOf(completed);
+        if (!commits.isEmpty()) {
+            consumer.commitSync(commits);
+            syncCommits++;
+        }
+        failedAsyncCommits.addAndGet(-failedBefore);
+        markCommitted();
+    }
+
+    public void onPartitionsRevoked(Collection<TopicPartition> partitions) {
+        Objects.requireNonNull(partitions, "partitions");
+        if (partitions.isEmpty()) {
+            return;
+        }
+        flush();
+        forget(partitions);
+    }
+
+    public void onPartitionsLost(Collection<TopicPartition> partitions) {
+        // Lost partitions already belong to another member; committing for them would be rejected or clobber its progress.
+        forget(Objects.requireNonNull(partitions, "partitions"));
+    }
+
+    public int pendingOffsets() {
+        return pendingOffsets;
+    }
+
+    public long asyncCommits() {
+        return asyncCommits;
+    }
+
+    public long syncCommits() {
+        return syncCommits;
+    }
+
+    private void track(AuthorityOffset offset) {
         TopicPartition partition = new TopicPartition(offset.source(), offset.partition());
-        consumer.commitSync(Map.of(partition, new OffsetAndMetadata(offset.position() + 1)));
+        OffsetAndMetadata next = new OffsetAndMetadata(offset.position() + 1);
+        OffsetAndMetadata current = completed.get(partition);
+        if (current == null || next.offset() > current.offset()) {
+            completed.put(partition, next);
+            uncommitted.put(partition, next);
+        }
+    }
+
+    private void commitAsync() {
+        if (uncommitted.isEmpty()) {
+            markCommitted();
+            return;
+        }
+        consumer.commitAsync(Map.copyOf(uncommitted), (offsets, exception) -> {
+            if (exception != null) {
+                failedAsyncCommits.incrementAndGet();
+            }
+        });
+        asyncCommits++;
+        markCommitted();
+    }
+
+    private boolean intervalElapsed() {
+        return System.nanoTime() - lastCommitNanos >= policy.maxPendingInterval().toNanos();
+    }
+
+    private void markCommitted() {
+        uncommitted.clear();
+        pendingOffsets = 0;
+        lastCommitNanos = System.nanoTime();
+    }
+
+    private void forget(Collection<TopicPartition> partitions) {
+        for (TopicPartition partition : partitions) {
+            completed.remove(partition);
+            uncommitted.remove(partition);
+        }
     }
 }
@@ -2,10 +2,13 @@ package sh.harold.fulcrum.data.store.kafka;
 
 import org.apache.kafka.clients.consumer.Consumer;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRebalanceListener;
 import org.apache.kafka.clients.consumer.KafkaConsumer;
 import org.apache.kafka.clients.producer.KafkaProducer;
 import org.apache.kafka.clients.producer.Producer;
 import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.apache.kafka.common.serialization.StringSerializer;
 
@@ -27,31 +30,77 @@ public final class KafkaClientBundle implements AutoCloseable {
     private final String clientId;
     private final String groupId;
     private final Producer<String, String> producer;
-    private final Consumer<String, String> consumer;
+    private final Consumer<String, ?> consumer;
+    private final boolean byteValueConsumer;
+    private final KafkaProducerTuning producerTuning;
+    private Producer<String, byte[]> byteValueProducer;
 
     private KafkaClientBundle(
             String bootstrapServers,
             String clientId,
             String groupId,
             Producer<String, String> producer,
-            Consumer<String, String> consumer) {
+            Consumer<String, ?> consumer,
+            boolean byteValueConsumer,
+            KafkaProducerTuning producerTuning) {
         this.bootstrapServers = requireNonBlank(bootstrapServers, "bootstrapServers");
         this.clientId = requireNonBlank(clientId, "clientId");
         this.groupId = requireNonBlank(groupId, "groupId");
         this.producer = Objects.requireNonNull(producer, "producer");
         this.consumer = Objects.requireNonNull(consumer, "consumer");
+        this.byteValueConsumer = byteValueConsumer;
+        this.producerTuning = Objects.requireNonNull(producerTuning, "producerTuning");
     }
 
     public static KafkaClientBundle create(String bootstrapServers, String clientId, String groupId) {
+        return create(bootstrapServers, clientId, groupId, KafkaProducerTuning.defaults());
+    }
+
+    public static KafkaClientBundle create(
+            String bootstrapServers,
+            String clientId,
+            String groupId,
+            KafkaProducerTuning producerTuning) {
+        return create(bootstrapServers, clientId, groupId, producerTuning, false);
+    }
+
+    // The producer still writes String values; only the consumer hands out raw bytes, for topics whose payloads are
+    // not necessarily UTF-8 text.
+    public static KafkaClientBundle createWithByteValueConsumer(
+            String bootstrapServers,
+            String clientId,
+            String groupId,
+            KafkaProducerTuning producerTuning) {
+        return create(bootstrapServers, clientId, groupId, producerTuning, true);
+    }
+
+    private static KafkaClientBundle create(
+            String bootstrapServers,
+            String clientId,
+            String groupId,
+            KafkaProducerTuning producerTuning,
+            boolean byteValueConsumer) {
+        Objects.requireNonNull(producerTuning, "producerTuning");
         String checkedBootstrapServers = requireNonBlank(bootstrapServers, "bootstrapServers");
         String checkedClientId = requireNonBlank(clientId, "clientId");
         String checkedGroupId = requireNonBlank(groupId, "groupId");
+        Properties consumerProperties = consumerProperties(
+                checkedBootstrapServers,
+                checkedClientId,
+                checkedGroupId,
+                byteValueConsumer ? ByteArrayDeserializer.class : StringDeserializer.class);
         return new KafkaClientBundle(
                 checkedBootstrapServers,
                 checkedClientId,
                 checkedGroupId,
-                new KafkaProducer<>(producerProperties(checkedBootstrapServers, checkedClientId)),
-                new KafkaConsumer<>(consumerProperties(checkedBootstrapServers, checkedClientId, checkedGroupId)));
+                new KafkaProducer<>(producerProperties(
+                        checkedBootstrapServers,
+                        checkedClientId,
+                        producerTuning,
+                        StringSerializer.class)),
+                new KafkaConsumer<>(consumerProperties),
+                byteValueConsumer,
+                producerTuning);
     }
 
     public String description() {
@@ -62,14 +111,44 @@ public final class KafkaClientBundle implements AutoCloseable {
         return producer;
     }
 
+    // Created on first use, so bundles that only ever write text never open a second producer connection.
+    public synchronized Producer<String, byte[]> byteValueProducer() {
+        if (byteValueProducer == null) {
+            byteValueProducer = new KafkaProducer<>(producerProperties(
+                    bootstrapServers,
+                    clientId + "-bytes",
+                    producerTuning,
+                    ByteArraySerializer.class));
+        }
+        return byteValueProducer;
+    }
+
+    @SuppressWarnings("unchecked")
     public Consumer<String, String> consumer() {
-        return consumer;
+        if (byteValueConsumer) {
+            throw new IllegalStateException("Kafka consumer for " + description() + " reads byte values");
+        }
+        return (Consumer<String, String>) consumer;
+    }
+
+    @SuppressWarnings("unchecked")
+    public Consumer<String, byte[]> byteValueConsumer() {
+        if (!byteValueConsumer) {
+            throw new IllegalStateException("Kafka consumer for " + description() + " reads String values");
+        }
+        return (Consumer<String, byte[]>) consumer;
     }
 
     public void subscribe(Collection<String> topics) {
         consumer.subscribe(List.copyOf(Objects.requireNonNull(topics, "topics")));
     }
 
+    public void subscribe(Collection<String> topics, ConsumerRebalanceListener rebalanceListener) {
+        consumer.subscribe(
+                List.copyOf(Objects.requireNonNull(topics, "topics")),
+                Objects.requireNonNull(rebalanceListener, "rebalanceListener"));
+    }
+
     @Override
     public void close() {
         RuntimeException failure = null;
@@ -87,6 +166,21 @@ public final class KafkaClientBundle implements AutoCloseable {
                 failure.addSuppressed(exception);
             }
         }
+        Producer<String, byte[]> openedByteValueProducer;
+        synchronized (this) {
+            openedByteValueProducer = byteValueProducer;
+        }
+        if (openedByteValueProducer != null) {
+            try {
+                closeClient("byte-producer", () -> openedByteValueProducer.close(CLIENT_CLOSE_TIMEOUT));
+            } catch (RuntimeException exception) {
+                if (failure == null) {
+                    failure = exception;
+                } else {
+                    failure.addSuppressed(exception);
+                }
+            }
+        }
         if (failure != null) {
             throw failure;
         }
@@ -113,24 +207,34 @@ public final class KafkaClientBundle implements AutoCloseable {
         }
     }
 
-    private static Properties producerProperties(String bootstrapServers, String clientId) {
+    private static Properties producerProperties(
+            String bootstrapServers,
+            String clientId,
+            KafkaProducerTuning producerTuning,
+            Class<?> valueSerializer) {
         Properties properties = new Properties();
         properties.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         properties.put(ProducerConfig.CLIENT_ID_CONFIG, clientId + "-producer");
         properties.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class.getName());
-        properties.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class.getName());
+        properties.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, valueSerializer.getName());
         properties.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, "true");
         properties.put(ProducerConfig.ACKS_CONFIG, "all");
+        properties.put(ProducerConfig.LINGER_MS_CONFIG, Long.toString(producerTuning.linger().toMillis()));
+        properties.put(ProducerConfig.BATCH_SIZE_CONFIG, Integer.toString(producerTuning.batchSizeBytes()));
         return properties;
     }
 
-    private static Properties consumerProperties(String bootstrapServers, String clientId, String groupId) {
+    private static Properties consumerProperties(
+            String bootstrapServers,
+            String clientId,
+            String groupId,
+            Class<?> valueDeserializer) {
         Properties properties = new Properties();
         properties.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         properties.put(ConsumerConfig.CLIENT_ID_CONFIG, clientId + "-consumer");
         properties.put(ConsumerConfig.GROUP_ID_CONFIG, groupId);
         properties.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class.getName());
-        properties.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class.getName());
+        properties.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, valueDeserializer.getName());
         properties.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, "false");
         properties.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
         return properties;
@@ -0,0 +1,31 @@
+package sh.harold.fulcrum.data.store.kafka;
+
+import java.time.Duration;
+import java.util.Objects;
+
+public record KafkaOffsetCommitPolicy(int maxPendingOffsets, Duration maxPendingInterval) {
+    private static final int DEFAULT_MAX_PENDING_OFFSETS = 1_000;
+    private static final Duration DEFAULT_MAX_PENDING_INTERVAL = Duration.ofSeconds(1);
+
+    public KafkaOffsetCommitPolicy {
+        if (maxPendingOffsets <= 0) {
+            throw new IllegalArgumentException("maxPendingOffsets must be positive");
+        }
+        maxPendingInterval = Objects.requireNonNull(maxPendingInterval, "maxPendingInterval");
+        if (maxPendingInterval.isNegative()) {
+            throw new IllegalArgumentException("maxPendingInterval must not be negative");
+        }
+    }
+
+    public static KafkaOffsetCommitPolicy synchronous() {
+        return new KafkaOffsetCommitPolicy(1, Duration.ZERO);
+    }
+
+    public static KafkaOffsetCommitPolicy defaults() {
+        return new KafkaOffsetCommitPolicy(DEFAULT_MAX_PENDING_OFFSETS, DEFAULT_MAX_PENDING_INTERVAL);
+    }
+
+    boolean coalesces() {
+        return maxPendingOffsets > 1 && !maxPendingInterval.isZero();
+    }
+}
@@ -0,0 +1,23 @@
+package sh.harold.fulcrum.data.store.kafka;
+
+import java.time.Duration;
+import java.util.Objects;
+
+public record KafkaProducerTuning(Duration linger, int batchSizeBytes) {
+    private static final Duration DEFAULT_LINGER = Duration.ofMillis(5);
+    private static final int DEFAULT_BATCH_SIZE_BYTES = 16_384;
+
+    public KafkaProducerTuning {
+        linger = Objects.requireNonNull(linger, "linger");
+        if (linger.isNegative()) {
+            throw new IllegalArgumentException("linger must not be negative");
+        }
+        if (batchSizeBytes <= 0) {
+            throw new IllegalArgumentException("batchSizeBytes must be positive");
+        }
+    }
+
+    public static KafkaProducerTuning defaults() {
+        return new KafkaProducerTuning(DEFAULT_LINGER, DEFAULT_BATCH_SIZE_BYTES);
+    }
+}
@@ -21,15 +21,21 @@ import sh.harold.fulcrum.api.kernel.InstanceId;
 import sh.harold.fulcrum.data.authority.AuthorityCommand;
 import sh.harold.fulcrum.data.authority.AuthorityEmission;
 import sh.harold.fulcrum.data.authority.AuthorityEmissionKind;
+import sh.harold.fulcrum.data.authority.runtime.AuthorityOffset;
+import sh.harold.fulcrum.data.authority.runtime.AuthorityPartition;
+import sh.harold.fulcrum.data.authority.runtime.AuthorityPartitionListener;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 final class KafkaAuthorityAdapterTest {
@@ -77,6 +83,69 @@ final class KafkaAuthorityAdapterTest {
         assertEquals(new AggregateId("aggregate-2"), second.command().envelope().aggregateId());
     }
 
+    @Test
+    void byteValueCommandSourceHandsTheDecoderTheRecordKeyAndRawValue() {
+        MockConsumer<String, byte[]> consumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+        TopicPartition partition = new TopicPartition("cmd.test", 0);
+        consumer.assign(List.of(partition));
+        consumer.updateBeginningOffsets(Map.of(partition, 0L));
+        consumer.addRecord(new ConsumerRecord<>("cmd.test", 0, 2L, "aggregate-1", new byte[] {(byte) 0xFB, 1}));
+        List<byte[]> values = new ArrayList<>();
+
+        KafkaAuthorityCommandSource<TestPayload> source = KafkaAuthorityCommandSource.forByteValues(
+                consumer,
+                Duration.ofMillis(1),
+                (key, value) -> {
+                    values.add(value);
+                    return command(key);
+                });
+
+        var delivery = source.poll().orElseThrow();
+
+        assertEquals(2L, delivery.offset().position());
+        assertEquals(new AggregateId("aggregate-1"), delivery.command().envelope().aggregateId());
+        assertEquals(1, values.size());
+        assertEquals((byte) 0xFB, values.getFirst()[0]);
+    }
+
+    @Test
+    void commandSourceDropsBufferedRecordsOfRevokedPartitionsAndPausesByPartition() {
+        MockConsumer<String, String> consumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+        TopicPartition revoked = new TopicPartition("cmd.test", 0);
+        TopicPartition kept = new TopicPartition("cmd.test", 1);
+        consumer.assign(List.of(revoked, kept));
+        consumer.updateBeginningOffsets(Map.of(revoked, 0L, kept, 0L));
+        consumer.addRecord(new ConsumerRecord<>("cmd.test", 0, 0L, "aggregate-1", "payload-1"));
+        consumer.addRecord(new ConsumerRecord<>("cmd.test", 0, 1L, "aggregate-1", "payload-2"));
+        consumer.addRecord(new ConsumerRecord<>("cmd.test", 1, 0L, "aggregate-2", "payload-3"));
+        KafkaAuthorityCommandSource<TestPayload> source = new KafkaAuthorityCommandSource<>(
+                consumer,
+                Duration.ofMillis(1),
+                record -> command(record.key()));
+        List<AuthorityPartition> revokedPartitions = new ArrayList<>();
+        source.partitionListener(new AuthorityPartitionListener() {
+            @Override
+            public void partitionsRevoked(Collection<AuthorityPartition> partitions) {
+                revokedPartitions.addAll(partitions);
+            }
+
+            @Override
+            public void partitionsLost(Collection<AuthorityPartition> partitions) {
+            }
+        });
+
+        var first = source.poll().orElseThrow();
+        source.onPartitionsRevoked(List.of(revoked));
+        var remaining = source.pollBatch(10);
+        source.pause(List.of(new AuthorityPartition("cmd.test", 1)));
+
+        assertEquals(0, first.offset().partition());
+        assertEquals(List.of(new AuthorityPartition("cmd.test", 0)), revokedPartitions);
+        assertEquals(1, remaining.size());
+        assertEquals(1, remaining.getFirst().offset().partition());
+        assertEquals(Set.of(kept), consumer.paused());
+    }
+
     @Test
     void emissionSinkPublishesLogEmissionsAndLeavesCacheWritesForValkey() {
         MockProducer<String, String> producer = new MockProducer<>(true, null, new StringSerializer(), new StringSerializer());
@@ -95,17 +164,95 @@ final class KafkaAuthorityAdapterTest {
         assertEquals("event-payload", history.getFirst().value());
     }
 
+    @Test
+    void emissionSinkKeepsSendsInFlightUntilFlush() {
+        MockProducer<String, String> producer = new MockProducer<>(false, null, new StringSerializer(), new StringSerializer());
+        KafkaAuthorityEmissionSink sink = new KafkaAuthorityEmissionSink(
+                producer,
+                new KafkaAuthorityEmissionTopics("evt.test", "state.test", "rsp.test"),
+                Duration.ofSeconds(1));
+
+        sink.publishAll(List.of(
+                new AuthorityEmission(AuthorityEmissionKind.EVENT, "aggregate-1", "event-payload"),
+                new AuthorityEmission(AuthorityEmissionKind.STATE, "aggregate-1", "state-payload")));
+
+        assertEquals(2, producer.history().size());
+        assertEquals(2, sink.metrics().inFlight());
+        assertTrue(producer.completeNext());
+        assertTrue(producer.errorNext(new RuntimeException("broker unavailable")));
+        assertThrows(IllegalStateException.class, sink::flush);
+        assertEquals(0, sink.metrics().inFlight());
+        assertEquals(1, sink.metrics().published());
+        assertEquals(1, sink.metrics().failed());
+
+        sink.publish(new AuthorityEmission(AuthorityEmissionKind.RESPONSE, "command-1", "response-payload"));
+        assertTrue(producer.completeNext());
+        sink.flush();
+        assertEquals(2, sink.metrics().published());
+    }
+
     @Test
     void offsetCommitterCommitsNextKafkaPosition() {
         MockConsumer<String, String> consumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
         TopicPartition partition = new TopicPartition("cmd.test", 2);
         consumer.assign(List.of(partition));
 
-        new KafkaAuthorityOffsetCommitter(consumer).commit(new sh.harold.fulcrum.data.authority.runtime.AuthorityOffset("cmd.test", 2, 10L));
+        new KafkaAuthorityOffsetCommitter(consumer).commit(new AuthorityOffset("cmd.test", 2, 10L));
 
         assertEquals(11L, consumer.committed(Set.of(partition)).get(partition).offset());
     }
 
+    @Test
+    void coalescingOffsetCommitterCommitsOnThresholdAndRevocation() {
+        MockConsumer<String, String> consumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+        TopicPartition first = new TopicPartition("cmd.test", 0);
+        TopicPartition second = new TopicPartition("cmd.test", 1);
+        consumer.assign(List.of(first, second));
+        KafkaAuthorityOffsetCommitter committer = new KafkaAuthorityOffsetCommitter(
+                consumer,
+                new KafkaOffsetCommitPolicy(3, Duration.ofHours(1)));
+
+        committer.commit(new AuthorityOffset("cmd.test", 0, 4L));
+        committer.commit(new AuthorityOffset("cmd.test", 0, 2L));
+        assertTrue(consumer.committed(Set.of(first)).isEmpty());
+        assertEquals(2, committer.pendingOffsets());
+
+        committer.commitAll(List.of(new AuthorityOffset("cmd.test", 1, 7L)));
+        assertEquals(5L, consumer.committed(Set.of(first)).get(first).offset());
+        assertEquals(8L, consumer.committed(Set.of(second)).get(second).offset());
+        assertEquals(1, committer.asyncCommits());
+
+        committer.commit(new AuthorityOffset("cmd.test", 1, 9L));
+        committer.onPartitionsRevoked(List.of(second));
+        assertEquals(10L, consumer.committed(Set.of(second)).get(second).offset());
+        assertEquals(1, committer.syncCommits());
+        assertEquals(0, committer.pendingOffsets());
+
+        committer.flush();
+        assertEquals(1, committer.syncCommits());
+    }
+
+    @Test
+    void coalescingOffsetCommitterCommitsAQuietPartitionOnceItsIntervalRunsOut() throws InterruptedException {
+        MockConsumer<String, String> consumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+        TopicPartition partition = new TopicPartition("cmd.test", 0);
+        consumer.assign(List.of(partition));
+        KafkaAuthorityOffsetCommitter committer = new KafkaAuthorityOffsetCommitter(
+                consumer,
+                new KafkaOffsetCommitPolicy(100, Duration.ofMillis(200)));
+
+        committer.commit(new AuthorityOffset("cmd.test", 0, 4L));
+        committer.maybeCommit();
+        assertTrue(consumer.committed(Set.of(partition)).isEmpty());
+
+        Thread.sleep(250);
+        committer.maybeCommit();
+
+        assertEquals(5L, consumer.committed(Set.of(partition)).get(partition).offset());
+        assertEquals(1, committer.asyncCommits());
+        assertEquals(0, committer.pendingOffsets());
+    }
+
     private static AuthorityCommand<TestPayload> command(String aggregateId) {
         Instant now = Instant.parse("2026-06-16T00:00:00Z");
         TraceEnvelope trace = new TraceEnvelope(
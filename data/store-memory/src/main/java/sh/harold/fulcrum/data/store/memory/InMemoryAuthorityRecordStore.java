@@ -5,6 +5,7 @@ import sh.harold.fulcrum.api.contract.Revision;
 import sh.harold.fulcrum.data.authority.AuthorityRecord;
 import sh.harold.fulcrum.data.authority.runtime.AuthorityRecordStore;
 
+import java.util.Collection;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Objects;
@@ -36,6 +37,31 @@ public final class InMemoryAuthorityRecordStore<S> implements AuthorityRecordSto
         records.put(aggregateId, record);
     }
 
+    @Override
+    public synchronized Map<AggregateId, AuthorityRecord<S>> loadAll(Collection<AggregateId> aggregateIds) {
+        Objects.requireNonNull(aggregateIds, "aggregateIds");
+        Map<AggregateId, AuthorityRecord<S>> loaded = new LinkedHashMap<>();
+        for (AggregateId aggregateId : aggregateIds) {
+            Objects.requireNonNull(aggregateId, "aggregateId");
+            loaded.computeIfAbsent(aggregateId, ignored -> records.getOrDefault(aggregateId, emptyRecord.get()));
+        }
+        return loaded;
+    }
+
+    @Override
+    public synchronized void storeAll(Map<AggregateId, AuthorityRecord<S>> records) {
+        Objects.requireNonNull(records, "records");
+        for (Map.Entry<AggregateId, AuthorityRecord<S>> entry : records.entrySet()) {
+            Objects.requireNonNull(entry.getKey(), "aggregateId");
+            Objects.requireNonNull(entry.getValue(), "record");
+            AuthorityRecord<S> current = this.records.getOrDefault(entry.getKey(), emptyRecord.get());
+            if (entry.getValue().revision().value() <= current.revision().value()) {
+                throw new IllegalStateException("stored authority record must advance revision");
+            }
+        }
+        this.records.putAll(records);
+    }
+
     public synchronized boolean compareAndSet(
             AggregateId aggregateId,
             Revision expectedRevision,
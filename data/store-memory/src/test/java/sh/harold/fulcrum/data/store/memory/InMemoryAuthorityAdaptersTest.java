@@ -26,10 +26,13 @@ import sh.harold.fulcrum.data.authority.runtime.AuthorityRuntimeReceipt;
 import sh.harold.fulcrum.data.authority.runtime.AuthorityRuntimeWorker;
 
 import java.time.Instant;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 final class InMemoryAuthorityAdaptersTest {
@@ -55,6 +58,22 @@ final class InMemoryAuthorityAdaptersTest {
         assertTrue(log.openSource().poll().isEmpty());
     }
 
+    @Test
+    void storeAllRejectsTheWholeBatchWhenAnyRecordDoesNotAdvance() {
+        InMemoryAuthorityRecordStore<CertState> recordStore = new InMemoryAuthorityRecordStore<>(
+                () -> new AuthorityRecord<>(new Revision(0), FENCING_EPOCH, new CertState(0)));
+        AggregateId other = new AggregateId("cert:aggregate:memory:other");
+        recordStore.store(AGGREGATE_ID, new AuthorityRecord<>(new Revision(2), FENCING_EPOCH, new CertState(5)));
+
+        Map<AggregateId, AuthorityRecord<CertState>> batch = new LinkedHashMap<>();
+        batch.put(other, new AuthorityRecord<>(new Revision(1), FENCING_EPOCH, new CertState(1)));
+        batch.put(AGGREGATE_ID, new AuthorityRecord<>(new Revision(2), FENCING_EPOCH, new CertState(7)));
+        assertThrows(IllegalStateException.class, () -> recordStore.storeAll(batch));
+
+        assertTrue(recordStore.findStored(other).isEmpty());
+        assertEquals(5, recordStore.loadAll(List.of(AGGREGATE_ID, other)).get(AGGREGATE_ID).state().total());
+    }
+
     @Test
     void inMemoryAdaptersRunTheAuthorityWorkerContract() {
         InMemoryAuthorityCommandLog<CertCommand> commandLog = new InMemoryAuthorityCommandLog<>("cmd.memory-certification");
@@ -4,31 +4,61 @@ import sh.harold.fulcrum.api.contract.CommandPayload;
 import sh.harold.fulcrum.data.authority.AuthorityDecision;
 import sh.harold.fulcrum.data.authority.runtime.AuthorityCommandDelivery;
 import sh.harold.fulcrum.data.authority.runtime.AuthorityDecisionRecorder;
+import sh.harold.fulcrum.data.authority.runtime.AuthorityHandledCommand;
 
 import javax.sql.DataSource;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.List;
 import java.util.Objects;
 
 public final class JdbcAuthorityDecisionRecorder<S, C extends CommandPayload, R>
         implements AuthorityDecisionRecorder<S, C, R> {
     private final DataSource dataSource;
-    private final JdbcAuthorityDecisionRecorderConfig config;
     private final JdbcAuthorityDecisionPayloadEncoder<S, R> payloadEncoder;
+    private final String insertSql;
 
     public JdbcAuthorityDecisionRecorder(
             DataSource dataSource,
             JdbcAuthorityDecisionRecorderConfig config,
             JdbcAuthorityDecisionPayloadEncoder<S, R> payloadEncoder) {
         this.dataSource = Objects.requireNonNull(dataSource, "dataSource");
-        this.config = Objects.requireNonNull(config, "config");
+        Objects.requireNonNull(config, "config");
         this.payloadEncoder = Objects.requireNonNull(payloadEncoder, "payloadEncoder");
+        this.insertSql = insertSql(config);
     }
 
     @Override
     public void record(AuthorityCommandDelivery<C> delivery, AuthorityDecision<S, R> decision) {
-        String sql = """
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(insertSql)) {
+            bind(statement, delivery, decision);
+            statement.executeUpdate();
+        } catch (SQLException exception) {
+            throw new IllegalStateException("Could not record authority decision in PostgreSQL", exception);
+        }
+    }
+
+    @Override
+    public void recordAll(List<AuthorityHandledCommand<S, C, R>> handledCommands) {
+        if (handledCommands.isEmpty()) {
+            return;
+        }
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(insertSql)) {
+            for (AuthorityHandledCommand<S, C, R> handled : handledCommands) {
+                bind(statement, handled.delivery(), handled.decision());
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        } catch (SQLException exception) {
+            throw new IllegalStateException("Could not record authority decisions in PostgreSQL", exception);
+        }
+    }
+
+    private static String insertSql(JdbcAuthorityDecisionRecorderConfig config) {
+        return """
                 INSERT INTO %s (
                     command_id,
                     aggregate_id,
@@ -44,22 +74,22 @@ public final class JdbcAuthorityDecisionRecorder<S, C extends CommandPayload, R>
                 ) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
                 ON CONFLICT (command_id) DO NOTHING
                 """.formatted(config.tableName());
-        try (Connection connection = dataSource.getConnection();
-             PreparedStatement statement = connection.prepareStatement(sql)) {
-            statement.setString(1, delivery.command().envelope().commandId().value());
-            statement.setString(2, delivery.command().envelope().aggregateId().value());
-            statement.setString(3, delivery.offset().source());
-            statement.setInt(4, delivery.offset().partition());
-            statement.setLong(5, delivery.offset().position());
-            statement.setString(6, decision.status().name());
-            statement.setString(7, decision.rejectionReason().map(Enum::name).orElse(""));
-            statement.setLong(8, decision.revision().value());
-            statement.setBoolean(9, decision.replayed());
-            statement.setString(10, decision.traceEnvelope().traceId());
-            statement.setString(11, payloadEncoder.encode(decision));
-            statement.executeUpdate();
-        } catch (SQLException exception) {
-            throw new IllegalStateException("Could not record authority decision in PostgreSQL", exception);
-        }
+    }
+
+    private void bind(
+            PreparedStatement statement,
+            AuthorityCommandDelivery<C> delivery,
+            AuthorityDecision<S, R> decision) throws SQLException {
+        statement.setString(1, delivery.command().envelope().commandId().value());
+        statement.setString(2, delivery.command().envelope().aggregateId().value());
+        statement.setString(3, delivery.offset().source());
+        statement.setInt(4, delivery.offset().partition());
+        statement.setLong(5, delivery.offset().position());
+        statement.setString(6, decision.status().name());
+        statement.setString(7, decision.rejectionReason().map(Enum::name).orElse(""));
+        statement.setLong(8, decision.revision().value());
+        statement.setBoolean(9, decision.replayed());
+        statement.setString(10, decision.traceEnvelope().traceId());
+        statement.setString(11, payloadEncoder.encode(decision));
     }
 }
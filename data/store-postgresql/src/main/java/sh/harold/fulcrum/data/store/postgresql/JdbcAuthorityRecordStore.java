@@ -10,14 +10,22 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Objects;
 import java.util.function.Supplier;
 
+// Writes only land when they advance the stored revision, matching the in-memory store: a write that would not is
+// reported as an IllegalStateException, and a batch containing one is rolled back as a whole.
 public final class JdbcAuthorityRecordStore<S> implements AuthorityRecordStore<S> {
     private final DataSource dataSource;
-    private final JdbcAuthorityRecordStoreConfig config;
     private final JdbcAuthorityStateCodec<S> codec;
     private final Supplier<AuthorityRecord<S>> emptyRecord;
+    private final String loadSql;
+    private final String storeSql;
+    private final String loadAllSql;
+    private final String storeAllSql;
 
     public JdbcAuthorityRecordStore(
             DataSource dataSource,
@@ -25,51 +33,146 @@ public final class JdbcAuthorityRecordStore<S> implements AuthorityRecordStore<S
             JdbcAuthorityStateCodec<S> codec,
             Supplier<AuthorityRecord<S>> emptyRecord) {
         this.dataSource = Objects.requireNonNull(dataSource, "dataSource");
-        this.config = Objects.requireNonNull(config, "config");
+        Objects.requireNonNull(config, "config");
         this.codec = Objects.requireNonNull(codec, "codec");
         this.emptyRecord = Objects.requireNonNull(emptyRecord, "emptyRecord");
+        this.loadSql = "SELECT revision, fencing_epoch, state_payload FROM %s WHERE aggregate_id = ?"
+                .formatted(config.tableName());
+        this.storeSql = """
+                INSERT INTO %s AS stored (aggregate_id, revision, fencing_epoch, state_payload)
+                VALUES (?, ?, ?, ?)
+                ON CONFLICT (aggregate_id) DO UPDATE SET
+                    revision = EXCLUDED.revision,
+                    fencing_epoch = EXCLUDED.fencing_epoch,
+                    state_payload = EXCLUDED.state_payload
+                WHERE stored.revision < EXCLUDED.revision
+                """.formatted(config.tableName());
+        this.loadAllSql = "SELECT aggregate_id, revision, fencing_epoch, state_payload FROM %s WHERE aggregate_id = ANY(?)"
+                .formatted(config.tableName());
+        this.storeAllSql = """
+                INSERT INTO %s AS stored (aggregate_id, revision, fencing_epoch, state_payload)
+                SELECT * FROM UNNEST(?::text[], ?::bigint[], ?::bigint[], ?::text[])
+                ON CONFLICT (aggregate_id) DO UPDATE SET
+                    revision = EXCLUDED.revision,
+                    fencing_epoch = EXCLUDED.fencing_epoch,
+                    state_payload = EXCLUDED.state_payload
+                WHERE stored.revision < EXCLUDED.revision
+                """.formatted(config.tableName());
     }
 
     @Override
     public AuthorityRecord<S> load(AggregateId aggregateId) {
-        String sql = "SELECT revision, fencing_epoch, state_payload FROM %s WHERE aggregate_id = ?"
-                .formatted(config.tableName());
         try (Connection connection = dataSource.getConnection();
-             PreparedStatement statement = connection.prepareStatement(sql)) {
+             PreparedStatement statement = connection.prepareStatement(loadSql)) {
             statement.setString(1, aggregateId.value());
             try (ResultSet result = statement.executeQuery()) {
                 if (!result.next()) {
                     return emptyRecord.get();
                 }
-                return new AuthorityRecord<>(
-                        new Revision(result.getLong("revision")),
-                        result.getLong("fencing_epoch"),
-                        codec.decode(result.getString("state_payload")));
+                return record(result);
             }
         } catch (SQLException exception) {
             throw new IllegalStateException("Could not load authority record from PostgreSQL", exception);
         }
     }
 
+    @Override
+    public Map<AggregateId, AuthorityRecord<S>> loadAll(Collection<AggregateId> aggregateIds) {
+        Map<AggregateId, AuthorityRecord<S>> records = new LinkedHashMap<>();
+        for (AggregateId aggregateId : aggregateIds) {
+            records.put(Objects.requireNonNull(aggregateId, "aggregateId"), null);
+        }
+        if (records.isEmpty()) {
+            return records;
+        }
+        String[] keys = records.keySet().stream().map(AggregateId::value).toArray(String[]::new);
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(loadAllSql)) {
+            statement.setArray(1, connection.createArrayOf("text", keys));
+            try (ResultSet result = statement.executeQuery()) {
+                while (result.next()) {
+                    records.put(new AggregateId(result.getString("aggregate_id")), record(result));
+                }
+            }
+        } catch (SQLException exception) {
+            throw new IllegalStateException("Could not load authority records from PostgreSQL", exception);
+        }
+        records.replaceAll((aggregateId, record) -> record == null ? emptyRecord.get() : record);
+        return records;
+    }
+
     @Override
     public void store(AggregateId aggregateId, AuthorityRecord<S> record) {
-        String sql = """
-                INSERT INTO %s (aggregate_id, revision, fencing_epoch, state_payload)
-                VALUES (?, ?, ?, ?)
-                ON CONFLICT (aggregate_id) DO UPDATE SET
-                    revision = EXCLUDED.revision,
-                    fencing_epoch = EXCLUDED.fencing_epoch,
-                    state_payload = EXCLUDED.state_payload
-                """.formatted(config.tableName());
         try (Connection connection = dataSource.getConnection();
-             PreparedStatement statement = connection.prepareStatement(sql)) {
+             PreparedStatement statement = connection.prepareStatement(storeSql)) {
             statement.setString(1, aggregateId.value());
             statement.setLong(2, record.revision().value());
             statement.setLong(3, record.fencingEpoch());
             statement.setString(4, codec.encode(record.state()));
-            statement.executeUpdate();
+            if (statement.executeUpdate() != 1) {
+                throw new IllegalStateException("stored authority record must advance revision");
+            }
         } catch (SQLException exception) {
             throw new IllegalStateException("Could not store authority record in PostgreSQL", exception);
         }
     }
+
+    @Override
+    public void storeAll(Map<AggregateId, AuthorityRecord<S>> records) {
+        if (records.isEmpty()) {
+            return;
+        }
+        String[] aggregateIds = new String[records.size()];
+        Long[] revisions = new Long[records.size()];
+        Long[] fencingEpochs = new Long[records.size()];
+        String[] statePayloads = new String[records.size()];
+        int index = 0;
+        for (Map.Entry<AggregateId, AuthorityRecord<S>> entry : records.entrySet()) {
+            AuthorityRecord<S> record = Objects.requireNonNull(entry.getValue(), "record");
+            aggregateIds[index] = entry.getKey().value();
+            revisions[index] = record.revision().value();
+            fencingEpochs[index] = record.fencingEpoch();
+            statePayloads[index] = codec.encode(record.state());
+            index++;
+        }
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                int stored = storeAll(connection, aggregateIds, revisions, fencingEpochs, statePayloads);
+                if (stored != aggregateIds.length) {
+                    throw new IllegalStateException("stored authority record must advance revision");
+                }
+                connection.commit();
+            } catch (SQLException | RuntimeException exception) {
+                connection.rollback();
+                throw exception;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        } catch (SQLException exception) {
+            throw new IllegalStateException("Could not store authority records in PostgreSQL", exception);
+        }
+    }
+
+    private int storeAll(
+            Connection connection,
+            String[] aggregateIds,
+            Long[] revisions,
+            Long[] fencingEpochs,
+            String[] statePayloads) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(storeAllSql)) {
+            statement.setArray(1, connection.createArrayOf("text", aggregateIds));
+            statement.setArray(2, connection.createArrayOf("bigint", revisions));
+            statement.setArray(3, connection.createArrayOf("bigint", fencingEpochs));
+            statement.setArray(4, connection.createArrayOf("text", statePayloads));
+            return statement.executeUpdate();
+        }
+    }
+
+    private AuthorityRecord<S> record(ResultSet result) throws SQLException {
+        return new AuthorityRecord<>(
+                new Revision(result.getLong("revision")),
+                result.getLong("fencing_epoch"),
+                codec.decode(result.getString("state_payload")));
+    }
 }
@@ -1,6 +1,6 @@
 package sh.harold.fulcrum.data.store.postgresql;
 
-import org.postgresql.ds.PGSimpleDataSource;
+import org.postgresql.ds.PGConnectionPoolDataSource;
 
 import javax.sql.DataSource;
 import java.util.Objects;
@@ -8,24 +8,40 @@ import java.util.Objects;
 public final class PostgresClientHandle implements AutoCloseable {
     private final String jdbcUrl;
     private final String username;
-    private final DataSource dataSource;
+    private final PostgresConnectionPool pool;
 
-    private PostgresClientHandle(String jdbcUrl, String username, DataSource dataSource) {
+    private PostgresClientHandle(String jdbcUrl, String username, PostgresConnectionPool pool) {
         this.jdbcUrl = requireNonBlank(jdbcUrl, "jdbcUrl");
         this.username = requireNonBlank(username, "username");
-        this.dataSource = Objects.requireNonNull(dataSource, "dataSource");
+        this.pool = Objects.requireNonNull(pool, "pool");
     }
 
     public static PostgresClientHandle create(String jdbcUrl, String username, String password) {
-        PGSimpleDataSource dataSource = new PGSimpleDataSource();
-        dataSource.setURL(requireNonBlank(jdbcUrl, "jdbcUrl"));
-        dataSource.setUser(requireNonBlank(username, "username"));
-        dataSource.setPassword(requireNonBlank(password, "password"));
-        return new PostgresClientHandle(jdbcUrl, username, dataSource);
+        return create(jdbcUrl, username, password, PostgresPoolSettings.defaults());
+    }
+
+    public static PostgresClientHandle create(
+            String jdbcUrl,
+            String username,
+            String password,
+            PostgresPoolSettings poolSettings) {
+        Objects.requireNonNull(poolSettings, "poolSettings");
+        PGConnectionPoolDataSource physicalSource = new PGConnectionPoolDataSource();
+        physicalSource.setURL(requireNonBlank(jdbcUrl, "jdbcUrl"));
+        physicalSource.setUser(requireNonBlank(username, "username"));
+        physicalSource.setPassword(requireNonBlank(password, "password"));
+        // Statement SQL is fixed per table, so server-side prepare on first use and keep it per connection.
+        physicalSource.setPrepareThreshold(1);
+        physicalSource.setPreparedStatementCacheQueries(poolSettings.preparedStatementCacheQueries());
+        return new PostgresClientHandle(jdbcUrl, username, new PostgresConnectionPool(physicalSource, poolSettings));
     }
 
     public DataSource dataSource() {
-        return dataSource;
+        return pool;
+    }
+
+    public PostgresPoolMetrics poolMetrics() {
+        return pool.metrics();
     }
 
     public String redactedDescription() {
@@ -34,7 +50,7 @@ public final class PostgresClientHandle implements AutoCloseable {
 
     @Override
     public void close() {
-        // PGSimpleDataSource owns no pool or socket until a connection is requested.
+        pool.close();
     }
 
     private static String requireNonBlank(String value, String label) {
@@ -0,0 +1,233 @@
+package sh.harold.fulcrum.data.store.postgresql;
+
+import javax.sql.ConnectionEvent;
+import javax.sql.ConnectionEventListener;
+import javax.sql.ConnectionPoolDataSource;
+import javax.sql.DataSource;
+import javax.sql.PooledConnection;
+import java.io.PrintWriter;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLTimeoutException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+final class PostgresConnectionPool implements DataSource, AutoCloseable {
+    private static final int VALIDATION_TIMEOUT_SECONDS = 1;
+
+    private final ConnectionPoolDataSource physicalSource;
+    private final PostgresPoolSettings settings;
+    private final Semaphore permits;
+    private final BlockingDeque<IdleConnection> idle = new LinkedBlockingDeque<>();
+    private final Set<PooledConnection> broken = ConcurrentHashMap.newKeySet();
+    private final Map<PooledConnection, Long> openedAtNanos = new ConcurrentHashMap<>();
+    private final ConnectionEventListener listener = new ReturnListener();
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicLong acquisitions = new AtomicLong();
+    private final AtomicLong acquireTimeouts = new AtomicLong();
+    private final AtomicLong retired = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private volatile boolean closed;
+
+    PostgresConnectionPool(ConnectionPoolDataSource physicalSource, PostgresPoolSettings settings) {
+        this.physicalSource = Objects.requireNonNull(physicalSource, "physicalSource");
+        this.settings = Objects.requireNonNull(settings, "settings");
+        this.permits = new Semaphore(settings.maxConnections(), true);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (closed) {
+            throw new SQLException("PostgreSQL connection pool is closed");
+        }
+        long started = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(settings.acquireTimeout().toNanos(), TimeUnit.NANOSECONDS)) {
+                acquireTimeouts.incrementAndGet();
+                throw new SQLTimeoutException("Timed out waiting "
+                        + settings.acquireTimeout().toMillis()
+                        + "ms for a PostgreSQL connection");
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a PostgreSQL connection", exception);
+        }
+        long waited = System.nanoTime() - started;
+        acquisitions.incrementAndGet();
+        totalWaitNanos.addAndGet(waited);
+        maxWaitNanos.accumulateAndGet(waited, Math::max);
+        PooledConnection pooled = null;
+        try {
+            Connection connection = null;
+            while (connection == null) {
+                IdleConnection candidate = idle.pollFirst();
+                if (candidate == null) {
+                    pooled = open();
+                    connection = pooled.getConnection();
+                } else {
+                    connection = borrow(candidate);
+                }
+            }
+            active.incrementAndGet();
+            return connection;
+        } catch (SQLException | RuntimeException exception) {
+            if (pooled != null) {
+                discard(pooled);
+            }
+            permits.release();
+            throw exception;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("PostgreSQL connection pool uses its configured credentials");
+    }
+
+    PostgresPoolMetrics metrics() {
+        return new PostgresPoolMetrics(
+                settings.maxConnections(),
+                active.get(),
+                idle.size(),
+                acquisitions.get(),
+                acquireTimeouts.get(),
+                retired.get(),
+                Duration.ofNanos(totalWaitNanos.get()),
+                Duration.ofNanos(maxWaitNanos.get()));
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        IdleConnection pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            discard(pooled.pooled());
+        }
+    }
+
+    @Override
+    public PrintWriter getLogWriter() {
+        return null;
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) {
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) {
+    }
+
+    @Override
+    public int getLoginTimeout() {
+        return 0;
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        throw new SQLFeatureNotSupportedException("PostgreSQL connection pool does not use java.util.logging");
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> type) throws SQLException {
+        if (type.isInstance(this)) {
+            return type.cast(this);
+        }
+        throw new SQLException("PostgreSQL connection pool does not wrap " + type.getName());
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> type) {
+        return type.isInstance(this);
+    }
+
+    private PooledConnection open() throws SQLException {
+        PooledConnection pooled = physicalSource.getPooledConnection();
+        openedAtNanos.put(pooled, System.nanoTime());
+        pooled.addConnectionEventListener(listener);
+        return pooled;
+    }
+
+    // Returns null when the idle connection had to be retired, so the caller moves on to the next one.
+    private Connection borrow(IdleConnection candidate) {
+        PooledConnection pooled = candidate.pooled();
+        long now = System.nanoTime();
+        if (pastLifetime(pooled, now)) {
+            retire(pooled);
+            return null;
+        }
+        try {
+            Connection connection = pooled.getConnection();
+            if (now - candidate.idleSinceNanos() < settings.validateAfterIdle().toNanos()
+                    || connection.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+                return connection;
+            }
+        } catch (SQLException | RuntimeException invalid) {
+            // Treated like a failed validation: the connection is dropped and the next one is tried.
+        }
+        retire(pooled);
+        return null;
+    }
+
+    private boolean pastLifetime(PooledConnection pooled, long now) {
+        Long openedAt = openedAtNanos.get(pooled);
+        return openedAt == null || now - openedAt >= settings.maxLifetime().toNanos();
+    }
+
+    // The listener goes first so closing the physical connection does not hand it back through release().
+    private void retire(PooledConnection pooled) {
+        pooled.removeConnectionEventListener(listener);
+        retired.incrementAndGet();
+        discard(pooled);
+    }
+
+    private void release(PooledConnection pooled) {
+        active.decrementAndGet();
+        if (broken.remove(pooled) || closed) {
+            discard(pooled);
+        } else if (pastLifetime(pooled, System.nanoTime())) {
+            retired.incrementAndGet();
+            discard(pooled);
+        } else {
+            idle.addFirst(new IdleConnection(pooled, System.nanoTime()));
+        }
+        permits.release();
+    }
+
+    private void discard(PooledConnection pooled) {
+        openedAtNanos.remove(pooled);
+        broken.remove(pooled);
+        try {
+            pooled.close();
+        } catch (SQLException ignored) {
+            // The physical connection is already unusable; dropping it is the recovery.
+        }
+    }
+
+    private final class ReturnListener implements ConnectionEventListener {
+        @Override
+        public void connectionClosed(ConnectionEvent event) {
+            release((PooledConnection) event.getSource());
+        }
+
+        @Override
+        public void connectionErrorOccurred(ConnectionEvent event) {
+            broken.add((PooledConnection) event.getSource());
+        }
+    }
+
+    private record IdleConnection(PooledConnection pooled, long idleSinceNanos) {
+    }
+}
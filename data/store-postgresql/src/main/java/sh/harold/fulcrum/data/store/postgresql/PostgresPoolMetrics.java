@@ -0,0 +1,30 @@
+package sh.harold.fulcrum.data.store.postgresql;
+
+import java.time.Duration;
+import java.util.Objects;
+
+public record PostgresPoolMetrics(
+        int maxConnections,
+        int activeConnections,
+        int idleConnections,
+        long acquisitions,
+        long acquireTimeouts,
+        long retiredConnections,
+        Duration totalWait,
+        Duration maxWait) {
+    public PostgresPoolMetrics {
+        if (maxConnections <= 0) {
+            throw new IllegalArgumentException("maxConnections must be positive");
+        }
+        if (activeConnections < 0 || idleConnections < 0 || acquisitions < 0 || acquireTimeouts < 0
+                || retiredConnections < 0) {
+            throw new IllegalArgumentException("pool counters must not be negative");
+        }
+        totalWait = Objects.requireNonNull(totalWait, "totalWait");
+        maxWait = Objects.requireNonNull(maxWait, "maxWait");
+    }
+
+    public Duration averageWait() {
+        return acquisitions == 0 ? Duration.ZERO : totalWait.dividedBy(acquisitions);
+    }
+}
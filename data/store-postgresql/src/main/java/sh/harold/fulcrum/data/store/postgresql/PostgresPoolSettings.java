@@ -0,0 +1,56 @@
+package sh.harold.fulcrum.data.store.postgresql;
+
+import java.time.Duration;
+import java.util.Objects;
+
+// A connection idle for validateAfterIdle is checked before it is handed out, and one older than maxLifetime is
+// closed instead of being reused, so connections cut by a failover or a server-side timeout do not reach a caller.
+public record PostgresPoolSettings(
+        int maxConnections,
+        Duration acquireTimeout,
+        int preparedStatementCacheQueries,
+        Duration validateAfterIdle,
+        Duration maxLifetime) {
+    public static final int DEFAULT_MAX_CONNECTIONS = 8;
+    public static final Duration DEFAULT_ACQUIRE_TIMEOUT = Duration.ofSeconds(5);
+    public static final int DEFAULT_PREPARED_STATEMENT_CACHE_QUERIES = 256;
+    public static final Duration DEFAULT_VALIDATE_AFTER_IDLE = Duration.ofSeconds(30);
+    public static final Duration DEFAULT_MAX_LIFETIME = Duration.ofMinutes(30);
+
+    public PostgresPoolSettings(int maxConnections, Duration acquireTimeout, int preparedStatementCacheQueries) {
+        this(
+                maxConnections,
+                acquireTimeout,
+                preparedStatementCacheQueries,
+                DEFAULT_VALIDATE_AFTER_IDLE,
+                DEFAULT_MAX_LIFETIME);
+    }
+
+    public PostgresPoolSettings {
+        if (maxConnections <= 0) {
+            throw new IllegalArgumentException("maxConnections must be positive");
+        }
+        acquireTimeout = Objects.requireNonNull(acquireTimeout, "acquireTimeout");
+        if (acquireTimeout.isNegative() || acquireTimeout.isZero()) {
+            throw new IllegalArgumentException("acquireTimeout must be positive");
+        }
+        if (preparedStatementCacheQueries <= 0) {
+            throw new IllegalArgumentException("preparedStatementCacheQueries must be positive");
+        }
+        validateAfterIdle = Objects.requireNonNull(validateAfterIdle, "validateAfterIdle");
+        if (validateAfterIdle.isNegative()) {
+            throw new IllegalArgumentException("validateAfterIdle must not be negative");
+        }
+        maxLifetime = Objects.requireNonNull(maxLifetime, "maxLifetime");
+        if (maxLifetime.isNegative() || maxLifetime.isZero()) {
+            throw new IllegalArgumentException("maxLifetime must be positive");
+        }
+    }
+
+    public static PostgresPoolSettings defaults() {
+        return new PostgresPoolSettings(
+                DEFAULT_MAX_CONNECTIONS,
+                DEFAULT_ACQUIRE_TIMEOUT,
+                DEFAULT_PREPARED_STATEMENT_CACHE_QUERIES);
+    }
+}
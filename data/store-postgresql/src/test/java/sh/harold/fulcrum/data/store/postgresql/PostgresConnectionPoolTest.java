@@ -0,0 +1,203 @@
+package sh.harold.fulcrum.data.store.postgresql;
+
+import org.junit.jupiter.api.Test;
+
+import javax.sql.ConnectionEvent;
+import javax.sql.ConnectionEventListener;
+import javax.sql.ConnectionPoolDataSource;
+import javax.sql.PooledConnection;
+import javax.sql.StatementEventListener;
+import java.io.PrintWriter;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class PostgresConnectionPoolTest {
+    @Test
+    void returnedConnectionsAreReusedAndCountedInMetrics() throws SQLException {
+        FakePhysicalSource physicalSource = new FakePhysicalSource();
+        PostgresConnectionPool pool = new PostgresConnectionPool(physicalSource, settings(2));
+
+        Connection first = pool.getConnection();
+        Connection second = pool.getConnection();
+        assertEquals(2, pool.metrics().activeConnections());
+        first.close();
+        second.close();
+        try (Connection ignored = pool.getConnection()) {
+            assertEquals(1, pool.metrics().activeConnections());
+            assertEquals(1, pool.metrics().idleConnections());
+        }
+
+        PostgresPoolMetrics metrics = pool.metrics();
+        assertEquals(2, physicalSource.opened.size());
+        assertEquals(0, metrics.activeConnections());
+        assertEquals(2, metrics.idleConnections());
+        assertEquals(3, metrics.acquisitions());
+        pool.close();
+        assertTrue(physicalSource.opened.stream().allMatch(connection -> connection.closed));
+    }
+
+    @Test
+    void exhaustedPoolTimesOutAndBrokenConnectionsAreDiscarded() throws SQLException {
+        FakePhysicalSource physicalSource = new FakePhysicalSource();
+        PostgresConnectionPool pool = new PostgresConnectionPool(physicalSource, settings(1));
+
+        Connection held = pool.getConnection();
+        assertThrows(SQLTimeoutException.class, pool::getConnection);
+        physicalSource.opened.getFirst().fail();
+        held.close();
+        try (Connection ignored = pool.getConnection()) {
+            assertEquals(2, physicalSource.opened.size());
+        }
+
+        assertTrue(physicalSource.opened.getFirst().closed);
+        assertEquals(1, pool.metrics().acquireTimeouts());
+        pool.close();
+    }
+
+    @Test
+    void idleConnectionThatFailsValidationIsReplacedBeforeItIsHandedOut() throws SQLException {
+        FakePhysicalSource physicalSource = new FakePhysicalSource();
+        PostgresConnectionPool pool = new PostgresConnectionPool(
+                physicalSource,
+                new PostgresPoolSettings(1, Duration.ofMillis(20), 16, Duration.ZERO, Duration.ofHours(1)));
+
+        pool.getConnection().close();
+        try (Connection connection = pool.getConnection()) {
+            assertTrue(connection.isValid(1));
+        }
+        assertEquals(1, physicalSource.opened.size());
+
+        physicalSource.opened.getFirst().valid = false;
+        try (Connection connection = pool.getConnection()) {
+            assertTrue(connection.isValid(1));
+        }
+
+        assertEquals(2, physicalSource.opened.size());
+        assertTrue(physicalSource.opened.getFirst().closed);
+        assertEquals(1, pool.metrics().retiredConnections());
+        assertEquals(1, pool.metrics().idleConnections());
+        assertEquals(0, pool.metrics().activeConnections());
+        pool.close();
+    }
+
+    @Test
+    void connectionPastItsMaximumLifetimeIsClosedInsteadOfReused() throws SQLException {
+        FakePhysicalSource physicalSource = new FakePhysicalSource();
+        PostgresConnectionPool pool = new PostgresConnectionPool(
+                physicalSource,
+                new PostgresPoolSettings(1, Duration.ofMillis(20), 16, Duration.ofHours(1), Duration.ofNanos(1)));
+
+        pool.getConnection().close();
+        pool.getConnection().close();
+
+        assertEquals(2, physicalSource.opened.size());
+        assertTrue(physicalSource.opened.stream().allMatch(connection -> connection.closed));
+        assertEquals(2, pool.metrics().retiredConnections());
+        assertEquals(0, pool.metrics().idleConnections());
+        pool.close();
+    }
+
+    private static PostgresPoolSettings settings(int maxConnections) {
+        return new PostgresPoolSettings(maxConnections, Duration.ofMillis(20), 16);
+    }
+
+    private static final class FakePhysicalSource implements ConnectionPoolDataSource {
+        private final List<FakePooledConnection> opened = new ArrayList<>();
+
+        @Override
+        public PooledConnection getPooledConnection() {
+            FakePooledConnection connection = new FakePooledConnection();
+            opened.add(connection);
+            return connection;
+        }
+
+        @Override
+        public PooledConnection getPooledConnection(String user, String password) {
+            return getPooledConnection();
+        }
+
+        @Override
+        public PrintWriter getLogWriter() {
+            return null;
+        }
+
+        @Override
+        public void setLogWriter(PrintWriter out) {
+        }
+
+        @Override
+        public void setLoginTimeout(int seconds) {
+        }
+
+        @Override
+        public int getLoginTimeout() {
+            return 0;
+        }
+
+        @Override
+        public Logger getParentLogger() {
+            return Logger.getGlobal();
+        }
+    }
+
+    private static final class FakePooledConnection implements PooledConnection {
+        private final List<ConnectionEventListener> listeners = new ArrayList<>();
+        private boolean closed;
+        private boolean valid = true;
+
+        @Override
+        public Connection getConnection() {
+            return (Connection) Proxy.newProxyInstance(
+                    Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class},
+                    (proxy, method, arguments) -> {
+                        if ("close".equals(method.getName())) {
+                            listeners.forEach(listener -> listener.connectionClosed(new ConnectionEvent(this)));
+                            return null;
+                        }
+                        if ("isValid".equals(method.getName())) {
+                            return valid;
+                        }
+                        throw new UnsupportedOperationException(method.getName());
+                    });
+        }
+
+        private void fail() {
+            listeners.forEach(listener -> listener.connectionErrorOccurred(
+                    new ConnectionEvent(this, new SQLException("connection reset"))));
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+
+        @Override
+        public void addConnectionEventListener(ConnectionEventListener listener) {
+            listeners.add(listener);
+        }
+
+        @Override
+        public void removeConnectionEventListener(ConnectionEventListener listener) {
+            listeners.remove(listener);
+        }
+
+        @Override
+        public void addStatementEventListener(StatementEventListener listener) {
+        }
+
+        @Override
+        public void removeStatementEventListener(StatementEventListener listener) {
+        }
+    }
+}
@@ -28,6 +28,7 @@ dependencies {
     implementation(project(":capability:capability-bundle-runtime"))
     implementation(project(":data:artifact-authority"))
     implementation(project(":data:authority-runtime"))
+    implementation(project(":data:contract-codegen"))
     implementation(project(":data:presence-authority"))
     implementation(project(":data:route-authority"))
     implementation(project(":data:session-authority"))
@@ -0,0 +1,59 @@
+package sh.harold.fulcrum.distribution.launcher;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import sh.harold.fulcrum.data.authority.AuthorityCommand;
+import sh.harold.fulcrum.data.session.SessionCommand;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+// One open-session command through both authority wire formats.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuthorityWireFormatBenchmark {
+    private AuthorityCommand<SessionCommand> command;
+    private String key;
+    private byte[] text;
+    private byte[] binary;
+
+    @Setup
+    public void setUp() {
+        command = SessionAuthorityWireCodecTest.openCommand();
+        key = command.envelope().aggregateId().value();
+        text = SessionAuthorityWireCodec.encodeCommand(command).getBytes(StandardCharsets.UTF_8);
+        binary = SessionAuthorityWireCodec.encodeCommand(command, AuthorityWireFormat.BINARY);
+    }
+
+    @Benchmark
+    public byte[] encodeText() {
+        return SessionAuthorityWireCodec.encodeCommand(command, AuthorityWireFormat.TEXT);
+    }
+
+    @Benchmark
+    public byte[] encodeBinary() {
+        return SessionAuthorityWireCodec.encodeCommand(command, AuthorityWireFormat.BINARY);
+    }
+
+    @Benchmark
+    public Object decodeText() {
+        return SessionAuthorityWireCodec.decodeCommand(key, text);
+    }
+
+    @Benchmark
+    public Object decodeBinary() {
+        return SessionAuthorityWireCodec.decodeCommand(key, binary);
+    }
+}
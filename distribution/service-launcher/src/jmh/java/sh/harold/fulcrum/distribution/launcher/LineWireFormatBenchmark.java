@@ -0,0 +1,150 @@
+package sh.harold.fulcrum.distribution.launcher;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import sh.harold.fulcrum.api.contract.AggregateId;
+import sh.harold.fulcrum.api.contract.CommandEnvelope;
+import sh.harold.fulcrum.api.contract.CommandId;
+import sh.harold.fulcrum.api.contract.CommandName;
+import sh.harold.fulcrum.api.contract.ContractName;
+import sh.harold.fulcrum.api.contract.IdempotencyKey;
+import sh.harold.fulcrum.api.contract.PrincipalId;
+import sh.harold.fulcrum.api.contract.TraceEnvelope;
+import sh.harold.fulcrum.api.kernel.InstanceId;
+import sh.harold.fulcrum.api.kernel.PresenceId;
+import sh.harold.fulcrum.api.kernel.SessionId;
+import sh.harold.fulcrum.api.kernel.SubjectId;
+import sh.harold.fulcrum.data.authority.AuthorityCommand;
+import sh.harold.fulcrum.data.codegen.LineFieldCursor;
+import sh.harold.fulcrum.data.codegen.LineFields;
+import sh.harold.fulcrum.data.presence.ClaimPresence;
+import sh.harold.fulcrum.data.presence.PresenceCommand;
+import sh.harold.fulcrum.data.presence.PresenceOwnerToken;
+import sh.harold.fulcrum.data.route.contract.RouteCommand;
+import sh.harold.fulcrum.data.session.SessionCommand;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+
+// Text command payloads parsed the way every codec did before the shared cursor, and the ways they are parsed now.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LineWireFormatBenchmark {
+    @Param({"session", "presence", "route"})
+    public String contract;
+
+    private String key;
+    private String payload;
+    private byte[] bytes;
+    private BiFunction<String, byte[], ?> decoder;
+
+    @Setup
+    public void setUp() {
+        switch (contract) {
+            case "session" -> {
+                AuthorityCommand<SessionCommand> command = SessionAuthorityWireCodecTest.openCommand();
+                key = command.envelope().aggregateId().value();
+                payload = SessionAuthorityWireCodec.encodeCommand(command);
+                decoder = SessionAuthorityWireCodec::decodeCommand;
+            }
+            case "presence" -> {
+                AuthorityCommand<PresenceCommand> command = claimPresenceCommand();
+                key = command.envelope().aggregateId().value();
+                payload = PresenceAuthorityWireCodec.encodeCommand(command);
+                decoder = PresenceAuthorityWireCodec::decodeCommand;
+            }
+            case "route" -> {
+                AuthorityCommand<RouteCommand> command = RouteAuthorityWireCodecTest.openCommand();
+                key = command.envelope().aggregateId().value();
+                payload = RouteAuthorityWireCodec.encodeCommand(command);
+                decoder = RouteAuthorityWireCodec::decodeCommand;
+            }
+            default -> throw new IllegalArgumentException("Unknown contract " + contract);
+        }
+        bytes = payload.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public Map<String, String> splitMap() {
+        Map<String, String> fields = new LinkedHashMap<>();
+        for (String line : payload.split("\\R")) {
+            int separator = line.indexOf('=');
+            if (separator < 1) {
+                throw new IllegalArgumentException("Malformed wire line: " + line);
+            }
+            fields.put(line.substring(0, separator), line.substring(separator + 1));
+        }
+        return fields;
+    }
+
+    @Benchmark
+    public Object lineIndex() {
+        return LineFields.of(bytes, contract);
+    }
+
+    @Benchmark
+    public boolean cursorScan() {
+        return LineFieldCursor.hasField(payload, "commandName", "absent", contract);
+    }
+
+    @Benchmark
+    public Object decode() {
+        return decoder.apply(key, bytes);
+    }
+
+    private static AuthorityCommand<PresenceCommand> claimPresenceCommand() {
+        Instant now = Instant.parse("2026-06-17T12:00:00Z");
+        SubjectId subject = new SubjectId(UUID.fromString("cccccccc-cccc-cccc-cccc-cccccccccccc"));
+        PrincipalId principal = new PrincipalId("principal-presence-benchmark");
+        ClaimPresence claim = new ClaimPresence(
+                new PresenceId("presence-benchmark"),
+                subject,
+                new InstanceId("instance-velocity-benchmark"),
+                new PresenceOwnerToken("owner-token-benchmark"),
+                Optional.of(new SessionId("session-benchmark")),
+                Optional.empty(),
+                now,
+                now.plusSeconds(30));
+        return new AuthorityCommand<>(
+                new CommandEnvelope<>(
+                        new CommandId("command-claim-presence"),
+                        new IdempotencyKey("idem-claim-presence"),
+                        principal,
+                        new AggregateId("presence:" + subject.value()),
+                        new ContractName(PresenceAuthorityWireCodec.CONTRACT),
+                        new CommandName(PresenceAuthorityWireCodec.CLAIM_COMMAND),
+                        new TraceEnvelope(
+                                "trace-presence-benchmark",
+                                "span-presence-benchmark",
+                                Optional.empty(),
+                                now,
+                                "velocity-agent",
+                                new InstanceId("instance-velocity-benchmark")),
+                        Optional.of(now.plusSeconds(30)),
+                        claim),
+                principal,
+                7,
+                Optional.empty(),
+                "payload-claim-presence",
+                now);
+    }
+}
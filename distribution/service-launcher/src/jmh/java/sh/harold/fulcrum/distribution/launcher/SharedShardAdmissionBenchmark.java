@@ -0,0 +1,178 @@
+package sh.harold.fulcrum.distribution.launcher;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import sh.harold.fulcrum.api.contract.PrincipalId;
+import sh.harold.fulcrum.api.contract.TraceEnvelope;
+import sh.harold.fulcrum.api.kernel.InstanceId;
+import sh.harold.fulcrum.api.kernel.MachineRef;
+import sh.harold.fulcrum.api.kernel.PoolId;
+import sh.harold.fulcrum.api.kernel.PresenceId;
+import sh.harold.fulcrum.api.kernel.ResolvedManifestId;
+import sh.harold.fulcrum.api.kernel.SessionId;
+import sh.harold.fulcrum.api.kernel.SlotId;
+import sh.harold.fulcrum.host.api.HostAllocationClaim;
+import sh.harold.fulcrum.host.api.HostInstanceIdentity;
+import sh.harold.fulcrum.host.api.HostInstanceKinds;
+import sh.harold.fulcrum.host.api.HostNetworkEndpoint;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// One login storm per invocation: `threads` login threads place more logins than the pool holds against a fresh index
+// while a route thread confirms presences behind them, the way routed presences reach the registry from the route
+// topic after the login has already been answered. With `reserve` the storm must never overpack a shard.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class SharedShardAdmissionBenchmark {
+    private static final int SHARDS = 50;
+    private static final int HARD_CAPACITY = 80;
+    private static final int LOGINS = SHARDS * HARD_CAPACITY * 5 / 4;
+    private static final PoolId POOL_ID = new PoolId("pool-lobby");
+    private static final ResolvedManifestId MANIFEST_ID = new ResolvedManifestId("manifest-lobby-bedrock-v1");
+    private static final Instant NOW = Instant.parse("2026-06-16T12:00:00Z");
+    private static final TraceEnvelope TRACE = new TraceEnvelope(
+            "trace-admission-benchmark",
+            "span-admission-benchmark",
+            Optional.empty(),
+            NOW,
+            "admission-benchmark",
+            new InstanceId("instance-admission-benchmark"));
+    private static final Placement END = new Placement(new SessionId("session-end"), new PresenceId("presence-end"));
+
+    @Param({"1", "2", "4", "8", "16"})
+    public int threads;
+
+    @Param({"false", "true"})
+    public boolean reserve;
+
+    private SharedShardPlacementIndex index;
+    private SharedShardSlotReservations reservations;
+    private Map<SessionId, AtomicInteger> routed;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        index = new SharedShardPlacementIndex();
+        reservations = new SharedShardSlotReservations();
+        routed = new HashMap<>();
+        for (int shard = 0; shard < SHARDS; shard++) {
+            HostAllocationClaim claim = claim(shard);
+            index.record(claim);
+            routed.put(claim.sessionId(), new AtomicInteger());
+        }
+    }
+
+    @Benchmark
+    public int storm() throws InterruptedException {
+        LinkedBlockingQueue<Placement> confirmations = new LinkedBlockingQueue<>();
+        Thread routeThread = Thread.ofPlatform().start(() -> confirm(confirmations));
+        AtomicInteger nextLogin = new AtomicInteger();
+        AtomicInteger admitted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> loginThreads = new ArrayList<>(threads);
+        for (int thread = 0; thread < threads; thread++) {
+            loginThreads.add(Thread.ofPlatform().start(() -> {
+                awaitQuietly(start);
+                int login;
+                while ((login = nextLogin.getAndIncrement()) < LOGINS) {
+                    PresenceId presenceId = new PresenceId("presence-velocity-login-" + login);
+                    Optional<SessionId> placed = reserve
+                            ? reservedPlacement(presenceId)
+                            : index.withCapacity(POOL_ID, MANIFEST_ID, HARD_CAPACITY).findFirst().map(HostAllocationClaim::sessionId);
+                    if (placed.isPresent()) {
+                        admitted.incrementAndGet();
+                        routed.get(placed.orElseThrow()).incrementAndGet();
+                        confirmations.add(new Placement(placed.orElseThrow(), presenceId));
+                    }
+                }
+            }));
+        }
+        start.countDown();
+        for (Thread thread : loginThreads) {
+            thread.join();
+        }
+        confirmations.add(END);
+        routeThread.join();
+        if (reserve) {
+            for (AtomicInteger count : routed.values()) {
+                if (count.get() > HARD_CAPACITY) {
+                    throw new IllegalStateException("Reserved placement overpacked a shard with " + count.get() + " logins");
+                }
+            }
+        }
+        return admitted.get();
+    }
+
+    private Optional<SessionId> reservedPlacement(PresenceId presenceId) {
+        var shards = index.withCapacity(POOL_ID, MANIFEST_ID, HARD_CAPACITY).iterator();
+        while (shards.hasNext()) {
+            SessionId sessionId = shards.next().sessionId();
+            if (reservations.tryReserve(sessionId, presenceId, HARD_CAPACITY, NOW)) {
+                return Optional.of(sessionId);
+            }
+        }
+        return Optional.empty();
+    }
+
+    private void confirm(LinkedBlockingQueue<Placement> confirmations) {
+        try {
+            Placement placement;
+            while ((placement = confirmations.poll(1, TimeUnit.MINUTES)) != END && placement != null) {
+                if (index.recordPresence(placement.sessionId(), placement.presenceId())) {
+                    reservations.confirm(placement.sessionId(), placement.presenceId());
+                }
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static HostAllocationClaim claim(int shard) {
+        return new HostAllocationClaim(
+                new SlotId("slot-lobby-" + shard),
+                new SessionId("session-lobby-" + shard),
+                new HostInstanceIdentity(
+                        new InstanceId("instance-paper-lobby-" + shard),
+                        HostInstanceKinds.PAPER,
+                        POOL_ID,
+                        new MachineRef("machine-paper-lobby"),
+                        new PrincipalId("principal-paper-lobby")),
+                MANIFEST_ID,
+                new HostNetworkEndpoint("10.244.0." + shard, 31565),
+                TRACE,
+                NOW);
+    }
+
+    private record Placement(SessionId sessionId, PresenceId presenceId) {
+    }
+}
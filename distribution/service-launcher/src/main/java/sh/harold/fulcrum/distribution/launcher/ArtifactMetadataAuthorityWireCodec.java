@@ -25,30 +25,173 @@ import sh.harold.fulcrum.data.authority.AuthorityDecision;
 import sh.harold.fulcrum.data.authority.AuthorityDecisionStatus;
 import sh.harold.fulcrum.data.authority.AuthorityRejectionReason;
 import sh.harold.fulcrum.data.authority.StoredAuthorityDecision;
+import sh.harold.fulcrum.data.codegen.BinaryFieldCodec;
+import sh.harold.fulcrum.data.codegen.LineFieldWriter;
+import sh.harold.fulcrum.data.codegen.LineFields;
+import sh.harold.fulcrum.data.codegen.WireFieldWriter;
+import sh.harold.fulcrum.data.codegen.WireFields;
+import sh.harold.fulcrum.data.contract.ContractDeclaration;
 
 import java.time.Instant;
-import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 
 final class ArtifactMetadataAuthorityWireCodec {
     static final String CONTRACT = "artifact-metadata";
     static final String PUBLISH_COMMAND = "publish-artifact-metadata";
+    private static final ContractDeclaration DECLARATION = AuthorityWireFormat.contract(
+            CONTRACT,
+            List.of(
+                    AuthorityWireFormat.command(PUBLISH_COMMAND, "PublishArtifactMetadata",
+                            AuthorityWireFormat.string(32, "contentAddress"),
+                            AuthorityWireFormat.string(33, "digestAlgorithm"),
+                            AuthorityWireFormat.string(34, "digestValue"),
+                            AuthorityWireFormat.longValue(35, "byteLength"),
+                            AuthorityWireFormat.string(36, "kind"),
+                            AuthorityWireFormat.string(37, "provenance"))),
+            AuthorityWireFormat.snapshot("ArtifactMetadataState",
+                    AuthorityWireFormat.string(38, "metadata"),
+                    AuthorityWireFormat.string(33, "digestAlgorithm"),
+                    AuthorityWireFormat.string(34, "digestValue"),
+                    AuthorityWireFormat.string(36, "kind"),
+                    AuthorityWireFormat.longValue(35, "byteLength"),
+                    AuthorityWireFormat.string(32, "contentAddress"),
+                    AuthorityWireFormat.string(39, "producerPrincipal"),
+                    AuthorityWireFormat.string(37, "provenance"),
+                    AuthorityWireFormat.instant(40, "publishedAt")),
+            AuthorityWireFormat.response("artifact-metadata-receipt", "ArtifactMetadataReceipt",
+                    AuthorityWireFormat.string(41, "status"),
+                    AuthorityWireFormat.string(42, "reason"),
+                    AuthorityWireFormat.string(33, "digestAlgorithm"),
+                    AuthorityWireFormat.string(34, "digestValue"),
+                    AuthorityWireFormat.longValue(43, "revision"),
+                    AuthorityWireFormat.longValue(17, "fencingEpoch"),
+                    AuthorityWireFormat.string(2, "idempotencyKey"),
+                    AuthorityWireFormat.string(1, "commandId")),
+            AuthorityWireFormat.response("artifact-metadata-decision", "StoredAuthorityDecision",
+                    AuthorityWireFormat.string(44, "decisionStatus"),
+                    AuthorityWireFormat.string(45, "rejectionReason"),
+                    AuthorityWireFormat.longValue(43, "revision"),
+                    AuthorityWireFormat.string(46, "replayed")));
+    private static final BinaryFieldCodec BINARY = AuthorityWireFormat.schema(DECLARATION);
 
     private ArtifactMetadataAuthorityWireCodec() {
     }
 
     static AuthorityCommand<PublishArtifactMetadata> decodeCommand(ConsumerRecord<String, String> record) {
-        Map<String, String> fields = fields(record.value());
+        return decodeCommand(fields(record.value()), record.key());
+    }
+
+    static AuthorityCommand<PublishArtifactMetadata> decodeCommand(String key, byte[] payload) {
+        return decodeCommand(AuthorityWireFormat.decode(payload, BINARY, "artifact metadata authority"), key);
+    }
+
+    static String encodeCommand(AuthorityCommand<PublishArtifactMetadata> command) {
+        return writeCommand(new LineFieldWriter(), command).text();
+    }
+
+    static byte[] encodeCommand(AuthorityCommand<PublishArtifactMetadata> command, AuthorityWireFormat format) {
+        return writeCommand(format.writer(BINARY), command).toByteArray();
+    }
+
+    static String encodeState(ArtifactMetadataState state) {
+        return writeState(new LineFieldWriter(), state).text();
+    }
+
+    static byte[] encodeState(ArtifactMetadataState state, AuthorityWireFormat format) {
+        return writeState(format.writer(BINARY), state).toByteArray();
+    }
+
+    static ArtifactMetadataState decodeState(String payload) {
+        return decodeState(fields(payload));
+    }
+
+    static ArtifactMetadataState decodeState(byte[] payload) {
+        return decodeState(AuthorityWireFormat.decode(payload, BINARY, "artifact metadata authority"));
+    }
+
+    static String encodeReceipt(ArtifactMetadataReceipt receipt) {
+        return writeReceipt(new LineFieldWriter(), receipt).text();
+    }
+
+    static byte[] encodeReceipt(ArtifactMetadataReceipt receipt, AuthorityWireFormat format) {
+        return writeReceipt(format.writer(BINARY), receipt).toByteArray();
+    }
+
+    static ArtifactMetadataReceipt decodeReceipt(String payload) {
+        return decodeReceipt(fields(payload));
+    }
+
+    static ArtifactMetadataReceipt decodeReceipt(byte[] payload) {
+        return decodeReceipt(AuthorityWireFormat.decode(payload, BINARY, "artifact metadata authority"));
+    }
+
+    static String encodeStoredDecision(
+            StoredAuthorityDecision<ArtifactMetadataState, ArtifactMetadataReceipt> stored) {
+        Objects.requireNonNull(stored, "stored");
+        AuthorityDecision<ArtifactMetadataState, ArtifactMetadataReceipt> decision = stored.decision();
+        LineFieldWriter out = new LineFieldWriter();
+        out.string("payloadFingerprint", stored.payloadFingerprint());
+        out.string("decisionStatus", decision.status().name());
+        out.string("rejectionReason", decision.rejectionReason().map(Enum::name).orElse(""));
+        out.longValue("revision", decision.revision().value());
+        out.string("replayed", Boolean.toString(decision.replayed()));
+        encodeTrace(out, decision.traceEnvelope());
+        writeState(out.within("state."), decision.state());
+        writeReceipt(out.within("response."), decision.response());
+        return out.text();
+    }
+
+    static StoredAuthorityDecision<ArtifactMetadataState, ArtifactMetadataReceipt> decodeStoredDecision(String payload) {
+        LineFields fields = fields(payload);
+        AuthorityDecisionStatus status = AuthorityDecisionStatus.valueOf(required(fields, "decisionStatus"));
+        Optional<AuthorityRejectionReason> rejectionReason =
+                optional(fields, "rejectionReason").map(AuthorityRejectionReason::valueOf);
+        AuthorityDecision<ArtifactMetadataState, ArtifactMetadataReceipt> decision = new AuthorityDecision<>(
+                status,
+                rejectionReason,
+                new Revision(longValue(fields, "revision")),
+                decodeState(fields.within("state.")),
+                decodeReceipt(fields.within("response.")),
+                List.of(),
+                decodeTrace(fields),
+                Boolean.parseBoolean(required(fields, "replayed")));
+        return new StoredAuthorityDecision<>(required(fields, "payloadFingerprint"), decision);
+    }
+
+    static String encodeDecisionPayload(AuthorityDecision<ArtifactMetadataState, ArtifactMetadataReceipt> decision) {
+        return encodeStoredDecision(new StoredAuthorityDecision<>("recorded-decision", decision));
+    }
+
+    private static <W extends WireFieldWriter> W writeCommand(W out, AuthorityCommand<PublishArtifactMetadata> command) {
+        Objects.requireNonNull(command, "command");
+        CommandEnvelope<PublishArtifactMetadata> envelope = command.envelope();
+        out.string("commandId", envelope.commandId().value());
+        out.string("idempotencyKey", envelope.idempotencyKey().value());
+        out.string("principalId", envelope.principalId().value());
+        out.string("aggregateId", envelope.aggregateId().value());
+        out.string("contractName", envelope.contractName().value());
+        out.string("commandName", envelope.commandName().value());
+        encodeTrace(out, envelope.traceEnvelope());
+        out.instant("deadlineAt", envelope.deadlineAt());
+        out.string("authenticatedPrincipal", command.authenticatedPrincipal().value());
+        out.longValue("fencingEpoch", command.fencingEpoch());
+        out.longValue("expectedRevision", command.expectedRevision().map(Revision::value));
+        out.string("payloadFingerprint", command.payloadFingerprint());
+        out.instant("receivedAt", command.receivedAt());
+        encodePayload(out, envelope.payload());
+        return out;
+    }
+
+    private static AuthorityCommand<PublishArtifactMetadata> decodeCommand(WireFields fields, String key) {
         PublishArtifactMetadata payload = decodePayload(fields);
         return new AuthorityCommand<>(
                 new CommandEnvelope<>(
                         new CommandId(required(fields, "commandId")),
                         new IdempotencyKey(required(fields, "idempotencyKey")),
                         new PrincipalId(firstRequired(fields, "principalId", "declaredPrincipalId")),
-                        new AggregateId(optional(fields, "aggregateId").orElse(record.key())),
+                        new AggregateId(optional(fields, "aggregateId").orElse(key)),
                         new ContractName(optional(fields, "contractName").orElse(CONTRACT)),
                         new CommandName(required(fields, "commandName")),
                         decodeTrace(fields),
@@ -61,59 +204,34 @@ final class ArtifactMetadataAuthorityWireCodec {
                 instant(fields, "receivedAt"));
     }
 
-    static String encodeCommand(AuthorityCommand<PublishArtifactMetadata> command) {
-        Objects.requireNonNull(command, "command");
-        Map<String, String> fields = new LinkedHashMap<>();
-        CommandEnvelope<PublishArtifactMetadata> envelope = command.envelope();
-        fields.put("commandId", envelope.commandId().value());
-        fields.put("idempotencyKey", envelope.idempotencyKey().value());
-        fields.put("principalId", envelope.principalId().value());
-        fields.put("aggregateId", envelope.aggregateId().value());
-        fields.put("contractName", envelope.contractName().value());
-        fields.put("commandName", envelope.commandName().value());
-        encodeTrace(fields, envelope.traceEnvelope());
-        fields.put("deadlineAt", envelope.deadlineAt().map(Instant::toString).orElse(""));
-        fields.put("authenticatedPrincipal", command.authenticatedPrincipal().value());
-        fields.put("fencingEpoch", Long.toString(command.fencingEpoch()));
-        fields.put("expectedRevision", command.expectedRevision().map(value -> Long.toString(value.value())).orElse(""));
-        fields.put("payloadFingerprint", command.payloadFingerprint());
-        fields.put("receivedAt", command.receivedAt().toString());
-        encodePayload(fields, envelope.payload());
-        return lines(fields);
-    }
-
-    static String encodeState(ArtifactMetadataState state) {
+    private static <W extends WireFieldWriter> W writeState(W out, ArtifactMetadataState state) {
         Objects.requireNonNull(state, "state");
-        Map<String, String> fields = new LinkedHashMap<>();
-        fields.put("metadata", Boolean.toString(state.metadata().isPresent()));
-        state.metadata().ifPresent(metadata -> encodeMetadata(fields, "", metadata));
-        return lines(fields);
+        out.string("metadata", Boolean.toString(state.metadata().isPresent()));
+        state.metadata().ifPresent(metadata -> encodeMetadata(out, "", metadata));
+        return out;
     }
 
-    static ArtifactMetadataState decodeState(String payload) {
-        Map<String, String> fields = fields(payload);
+    private static ArtifactMetadataState decodeState(WireFields fields) {
         if (!Boolean.parseBoolean(required(fields, "metadata"))) {
             return new ArtifactMetadataState(Optional.empty());
         }
         return new ArtifactMetadataState(decodeMetadata(fields, ""));
     }
 
-    static String encodeReceipt(ArtifactMetadataReceipt receipt) {
+    private static <W extends WireFieldWriter> W writeReceipt(W out, ArtifactMetadataReceipt receipt) {
         Objects.requireNonNull(receipt, "receipt");
-        Map<String, String> fields = new LinkedHashMap<>();
-        fields.put("status", receipt.status().name());
-        fields.put("reason", receipt.rejectionReason().orElse(""));
-        fields.put("digestAlgorithm", receipt.digest().map(ArtifactDigest::algorithm).orElse(""));
-        fields.put("digestValue", receipt.digest().map(ArtifactDigest::value).orElse(""));
-        fields.put("revision", receipt.revision().map(value -> Long.toString(value.value())).orElse(""));
-        fields.put("fencingEpoch", receipt.fencingEpoch().map(Object::toString).orElse(""));
-        fields.put("idempotencyKey", receipt.idempotencyKey().orElse(""));
-        fields.put("commandId", receipt.commandId().orElse(""));
-        return lines(fields);
+        out.string("status", receipt.status().name());
+        out.string("reason", receipt.rejectionReason().orElse(""));
+        out.string("digestAlgorithm", receipt.digest().map(ArtifactDigest::algorithm).orElse(""));
+        out.string("digestValue", receipt.digest().map(ArtifactDigest::value).orElse(""));
+        out.longValue("revision", receipt.revision().map(Revision::value));
+        out.longValue("fencingEpoch", receipt.fencingEpoch());
+        out.string("idempotencyKey", receipt.idempotencyKey().orElse(""));
+        out.string("commandId", receipt.commandId().orElse(""));
+        return out;
     }
 
-    static ArtifactMetadataReceipt decodeReceipt(String payload) {
-        Map<String, String> fields = fields(payload);
+    private static ArtifactMetadataReceipt decodeReceipt(WireFields fields) {
         Optional<ArtifactDigest> digest = optional(fields, "digestAlgorithm")
                 .map(algorithm -> new ArtifactDigest(algorithm, required(fields, "digestValue")));
         return new ArtifactMetadataReceipt(
@@ -126,44 +244,7 @@ final class ArtifactMetadataAuthorityWireCodec {
                 optional(fields, "commandId"));
     }
 
-    static String encodeStoredDecision(
-            StoredAuthorityDecision<ArtifactMetadataState, ArtifactMetadataReceipt> stored) {
-        Objects.requireNonNull(stored, "stored");
-        AuthorityDecision<ArtifactMetadataState, ArtifactMetadataReceipt> decision = stored.decision();
-        Map<String, String> fields = new LinkedHashMap<>();
-        fields.put("payloadFingerprint", stored.payloadFingerprint());
-        fields.put("decisionStatus", decision.status().name());
-        fields.put("rejectionReason", decision.rejectionReason().map(Enum::name).orElse(""));
-        fields.put("revision", Long.toString(decision.revision().value()));
-        fields.put("replayed", Boolean.toString(decision.replayed()));
-        encodeTrace(fields, decision.traceEnvelope());
-        prefixed(fields, "state.", encodeState(decision.state()));
-        prefixed(fields, "response.", encodeReceipt(decision.response()));
-        return lines(fields);
-    }
-
-    static StoredAuthorityDecision<ArtifactMetadataState, ArtifactMetadataReceipt> decodeStoredDecision(String payload) {
-        Map<String, String> fields = fields(payload);
-        AuthorityDecisionStatus status = AuthorityDecisionStatus.valueOf(required(fields, "decisionStatus"));
-        Optional<AuthorityRejectionReason> rejectionReason =
-                optional(fields, "rejectionReason").map(AuthorityRejectionReason::valueOf);
-        AuthorityDecision<ArtifactMetadataState, ArtifactMetadataReceipt> decision = new AuthorityDecision<>(
-                status,
-                rejectionReason,
-                new Revision(longValue(fields, "revision")),
-                decodeState(unprefixed(fields, "state.")),
-                decodeReceipt(unprefixed(fields, "response.")),
-                List.of(),
-                decodeTrace(fields),
-                Boolean.parseBoolean(required(fields, "replayed")));
-        return new StoredAuthorityDecision<>(required(fields, "payloadFingerprint"), decision);
-    }
-
-    static String encodeDecisionPayload(AuthorityDecision<ArtifactMetadataState, ArtifactMetadataReceipt> decision) {
-        return encodeStoredDecision(new StoredAuthorityDecision<>("recorded-decision", decision));
-    }
-
-    private static PublishArtifactMetadata decodePayload(Map<String, String> fields) {
+    private static PublishArtifactMetadata decodePayload(WireFields fields) {
         String commandName = required(fields, "commandName");
         if (!PUBLISH_COMMAND.equals(commandName)) {
             throw new IllegalArgumentException("Unsupported artifact metadata command " + commandName);
@@ -176,27 +257,27 @@ final class ArtifactMetadataAuthorityWireCodec {
                 new ProvenanceRef(required(fields, "provenance")));
     }
 
-    private static void encodePayload(Map<String, String> fields, PublishArtifactMetadata payload) {
-        fields.put("digestAlgorithm", payload.digest().algorithm());
-        fields.put("digestValue", payload.digest().value());
-        fields.put("kind", payload.kind().name());
-        fields.put("byteLength", Long.toString(payload.byteLength()));
-        fields.put("contentAddress", payload.contentAddress().value());
-        fields.put("provenance", payload.provenance().value());
+    private static void encodePayload(WireFieldWriter out, PublishArtifactMetadata payload) {
+        out.string("digestAlgorithm", payload.digest().algorithm());
+        out.string("digestValue", payload.digest().value());
+        out.string("kind", payload.kind().name());
+        out.longValue("byteLength", payload.byteLength());
+        out.string("contentAddress", payload.contentAddress().value());
+        out.string("provenance", payload.provenance().value());
     }
 
-    private static void encodeMetadata(Map<String, String> fields, String prefix, ArtifactMetadata metadata) {
-        fields.put(prefix + "digestAlgorithm", metadata.digest().algorithm());
-        fields.put(prefix + "digestValue", metadata.digest().value());
-        fields.put(prefix + "kind", metadata.kind().name());
-        fields.put(prefix + "byteLength", Long.toString(metadata.byteLength()));
-        fields.put(prefix + "contentAddress", metadata.contentAddress().value());
-        fields.put(prefix + "producerPrincipal", metadata.producerPrincipal().value());
-        fields.put(prefix + "provenance", metadata.provenance().value());
-        fields.put(prefix + "publishedAt", metadata.publishedAt().toString());
+    private static void encodeMetadata(WireFieldWriter out, String prefix, ArtifactMetadata metadata) {
+        out.string(prefix + "digestAlgorithm", metadata.digest().algorithm());
+        out.string(prefix + "digestValue", metadata.digest().value());
+        out.string(prefix + "kind", metadata.kind().name());
+        out.longValue(prefix + "byteLength", metadata.byteLength());
+        out.string(prefix + "contentAddress", metadata.contentAddress().value());
+        out.string(prefix + "producerPrincipal", metadata.producerPrincipal().value());
+        out.string(prefix + "provenance", metadata.provenance().value());
+        out.instant(prefix + "publishedAt", metadata.publishedAt());
     }
 
-    private static ArtifactMetadata decodeMetadata(Map<String, String> fields, String prefix) {
+    private static ArtifactMetadata decodeMetadata(WireFields fields, String prefix) {
         return new ArtifactMetadata(
                 new ArtifactDigest(required(fields, prefix + "digestAlgorithm"), required(fields, prefix + "digestValue")),
                 ArtifactKind.valueOf(required(fields, prefix + "kind")),
@@ -207,16 +288,16 @@ final class ArtifactMetadataAuthorityWireCodec {
                 instant(fields, prefix + "publishedAt"));
     }
 
-    private static void encodeTrace(Map<String, String> fields, TraceEnvelope trace) {
-        fields.put("traceId", trace.traceId());
-        fields.put("spanId", trace.spanId());
-        fields.put("parentSpanId", trace.parentSpanId().orElse(""));
-        fields.put("traceCreatedAt", trace.createdAt().toString());
-        fields.put("originService", trace.originService());
-        fields.put("originInstanceId", trace.originInstanceId().value());
+    private static void encodeTrace(WireFieldWriter out, TraceEnvelope trace) {
+        out.string("traceId", trace.traceId());
+        out.string("spanId", trace.spanId());
+        out.string("parentSpanId", trace.parentSpanId().orElse(""));
+        out.instant("traceCreatedAt", trace.createdAt());
+        out.string("originService", trace.originService());
+        out.string("originInstanceId", trace.originInstanceId().value());
     }
 
-    private static TraceEnvelope decodeTrace(Map<String, String> fields) {
+    private static TraceEnvelope decodeTrace(WireFields fields) {
         return new TraceEnvelope(
                 required(fields, "traceId"),
                 required(fields, "spanId"),
@@ -226,42 +307,11 @@ final class ArtifactMetadataAuthorityWireCodec {
                 new InstanceId(required(fields, "originInstanceId")));
     }
 
-    private static void prefixed(Map<String, String> target, String prefix, String payload) {
-        fields(payload).forEach((key, value) -> target.put(prefix + key, value));
-    }
-
-    private static String unprefixed(Map<String, String> source, String prefix) {
-        Map<String, String> values = new LinkedHashMap<>();
-        source.forEach((key, value) -> {
-            if (key.startsWith(prefix)) {
-                values.put(key.substring(prefix.length()), value);
-            }
-        });
-        return lines(values);
-    }
-
-    private static Map<String, String> fields(String payload) {
-        Map<String, String> fields = new LinkedHashMap<>();
-        if (payload == null || payload.isBlank()) {
-            return fields;
-        }
-        for (String line : payload.split("\\R")) {
-            int separator = line.indexOf('=');
-            if (separator < 1) {
-                throw new IllegalArgumentException("Malformed artifact metadata authority wire line: " + line);
-            }
-            fields.put(line.substring(0, separator), line.substring(separator + 1));
-        }
-        return fields;
-    }
-
-    private static String lines(Map<String, String> fields) {
-        StringBuilder builder = new StringBuilder();
-        fields.forEach((key, value) -> builder.append(key).append('=').append(value == null ? "" : value).append('\n'));
-        return builder.toString();
+    private static LineFields fields(String payload) {
+        return LineFields.of(payload, "artifact metadata authority");
     }
 
-    private static String required(Map<String, String> fields, String key) {
+    private static String required(WireFields fields, String key) {
         String value = fields.get(key);
         if (value == null || value.isBlank()) {
             throw new IllegalArgumentException("Missing artifact metadata authority wire field " + key);
@@ -269,33 +319,37 @@ final class ArtifactMetadataAuthorityWireCodec {
         return value;
     }
 
-    private static String firstRequired(Map<String, String> fields, String first, String second) {
+    private static String firstRequired(WireFields fields, String first, String second) {
         return optional(fields, first).or(() -> optional(fields, second))
                 .orElseThrow(() -> new IllegalArgumentException("Missing artifact metadata authority wire field " + first));
     }
 
-    private static Optional<String> optional(Map<String, String> fields, String key) {
+    private static Optional<String> optional(WireFields fields, String key) {
         String value = fields.get(key);
         return value == null || value.isBlank() ? Optional.empty() : Optional.of(value);
     }
 
-    private static long longValue(Map<String, String> fields, String key) {
+    private static long longValue(WireFields fields, String key) {
         return Long.parseLong(required(fields, key));
     }
 
-    private static Optional<Long> optionalLong(Map<String, String> fields, String key) {
+    private static Optional<Long> optionalLong(WireFields fields, String key) {
         return optional(fields, key).map(Long::parseLong);
     }
 
-    private static Optional<Revision> optionalRevision(Map<String, String> fields, String key) {
+    private static Optional<Revision> optionalRevision(WireFields fields, String key) {
         return optionalLong(fields, key).map(Revision::new);
     }
 
-    private static Instant instant(Map<String, String> fields, String key) {
-        return Instant.parse(required(fields, key));
+    private static Instant instant(WireFields fields, String key) {
+        Instant value = fields.getInstant(key);
+        if (value == null) {
+            throw new IllegalArgumentException("Missing LABEL authority wire field " + key);
+        }
+        return value;
     }
 
-    private static Optional<Instant> optionalInstant(Map<String, String> fields, String key) {
-        return optional(fields, key).map(Instant::parse);
+    private static Optional<Instant> optionalInstant(WireFields fields, String key) {
+        return Optional.ofNullable(fields.getInstant(key));
     }
 }
@@ -0,0 +1,191 @@
+package sh.harold.fulcrum.distribution.launcher;
+
+import sh.harold.fulcrum.data.authority.runtime.AuthorityEmissionSink;
+import sh.harold.fulcrum.data.authority.runtime.AuthorityRuntimeBatchReceipt;
+import sh.harold.fulcrum.data.authority.runtime.CachedAuthorityRecordStore;
+import sh.harold.fulcrum.data.store.postgresql.PostgresClientHandle;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+// Per-domain instruments for an authority worker. Receipts already carry the time spent in each stage, so a batch or a
+// single delivery is recorded from its receipt; whatever the receipt does not account for is the poll.
+final class AuthorityRuntimeMetrics {
+    private static final String STAGE_NAME = "fulcrum_authority_stage_seconds";
+    private static final String STAGE_HELP = "Time an authority worker spent in each stage of a delivery cycle.";
+
+    private final LongAdder commands;
+    private final LatencyHistogram cycle;
+    private final LatencyHistogram poll;
+    private final LatencyHistogram load;
+    private final LatencyHistogram handle;
+    private final LatencyHistogram store;
+    private final LatencyHistogram projection;
+    private final LatencyHistogram emission;
+    private final LatencyHistogram decision;
+    private final LatencyHistogram commit;
+    private final LatencyHistogram dispatch;
+
+    AuthorityRuntimeMetrics(RuntimeMetrics metrics, String domain) {
+        Objects.requireNonNull(metrics, "metrics");
+        Objects.requireNonNull(domain, "domain");
+        this.commands = metrics.counter(
+                "fulcrum_authority_commands_total", "Commands handled by an authority worker.", "domain", domain);
+        this.cycle = stage(metrics, domain, "cycle");
+        this.poll = stage(metrics, domain, "poll");
+        this.load = stage(metrics, domain, "load");
+        this.handle = stage(metrics, domain, "handle");
+        this.store = stage(metrics, domain, "store");
+        this.projection = stage(metrics, domain, "projection");
+        this.emission = stage(metrics, domain, "emission");
+        this.decision = stage(metrics, domain, "decision");
+        this.commit = stage(metrics, domain, "commit");
+        this.dispatch = stage(metrics, domain, "dispatch");
+    }
+
+    void recordBatch(long startedAtNanos, AuthorityRuntimeBatchReceipt receipt) {
+        long cycleNanos = System.nanoTime() - startedAtNanos;
+        cycle.recordNanos(cycleNanos);
+        poll.recordNanos(cycleNanos - recordStages(receipt));
+    }
+
+    // A sharded runtime handles batches on its shard threads, so their stages are recorded as the dispatcher folds
+    // them in, and the dispatcher's own pass is recorded separately.
+    long recordStages(AuthorityRuntimeBatchReceipt receipt) {
+        commands.add(receipt.commandCount());
+        load.record(receipt.loadDuration());
+        handle.record(receipt.handleDuration());
+        store.record(receipt.storeDuration());
+        projection.record(receipt.projectionDuration());
+        emission.record(receipt.emissionDuration());
+        decision.record(receipt.decisionDuration());
+        commit.record(receipt.commitDuration());
+        return receipt.totalDuration().toNanos();
+    }
+
+    void recordDispatch(long startedAtNanos) {
+        dispatch.recordNanos(System.nanoTime() - startedAtNanos);
+    }
+
+    // The record cache, emission sink and connection pool keep their own counters; these read them on each scrape.
+    static void exportRecordCache(RuntimeMetrics registry, String domain, CachedAuthorityRecordStore<?> cache) {
+        Objects.requireNonNull(cache, "cache");
+        registry.counter(
+                "fulcrum_authority_record_cache_hits_total",
+                "Authority record loads answered from the cache.",
+                () -> cache.metrics().hits(),
+                "domain",
+                domain);
+        registry.counter(
+                "fulcrum_authority_record_cache_misses_total",
+                "Authority record loads that went to the record store.",
+                () -> cache.metrics().misses(),
+                "domain",
+                domain);
+        registry.counter(
+                "fulcrum_authority_record_cache_evictions_total",
+                "Cached authority records evicted for space.",
+                () -> cache.metrics().evictions(),
+                "domain",
+                domain);
+        registry.counter(
+                "fulcrum_authority_record_cache_invalidations_total",
+                "Cached authority records dropped by a rebalance, fencing change or newer write.",
+                () -> cache.metrics().invalidations(),
+                "domain",
+                domain);
+        registry.gauge(
+                "fulcrum_authority_record_cache_entries",
+                "Authority records currently cached.",
+                () -> cache.metrics().size(),
+                "domain",
+                domain);
+    }
+
+    static void exportEmissions(RuntimeMetrics registry, String domain, AuthorityEmissionSink sink) {
+        Objects.requireNonNull(sink, "sink");
+        registry.counter(
+                "fulcrum_authority_emissions_total",
+                "Authority emissions the sink completed, by outcome.",
+                () -> sink.metrics().published(),
+                "domain",
+                domain,
+                "outcome",
+                "published");
+        registry.counter(
+                "fulcrum_authority_emissions_total",
+                "Authority emissions the sink completed, by outcome.",
+                () -> sink.metrics().failed(),
+                "domain",
+                domain,
+                "outcome",
+                "failed");
+        registry.gauge(
+                "fulcrum_authority_emissions_in_flight",
+                "Authority emissions sent but not yet acknowledged.",
+                () -> sink.metrics().inFlight(),
+                "domain",
+                domain);
+        registry.gauge(
+                "fulcrum_authority_emission_latency_average_seconds",
+                "Mean time from send to acknowledgement over the sink's lifetime.",
+                () -> seconds(sink.metrics().averageLatency()),
+                "domain",
+                domain);
+        registry.gauge(
+                "fulcrum_authority_emission_latency_max_seconds",
+                "Longest time from send to acknowledgement over the sink's lifetime.",
+                () -> seconds(sink.metrics().maxLatency()),
+                "domain",
+                domain);
+    }
+
+    static void exportConnectionPool(RuntimeMetrics registry, PostgresClientHandle postgres) {
+        Objects.requireNonNull(postgres, "postgres");
+        registry.gauge(
+                "fulcrum_postgres_pool_connections",
+                "PostgreSQL connections held by the pool, by state.",
+                () -> postgres.poolMetrics().activeConnections(),
+                "state",
+                "active");
+        registry.gauge(
+                "fulcrum_postgres_pool_connections",
+                "PostgreSQL connections held by the pool, by state.",
+                () -> postgres.poolMetrics().idleConnections(),
+                "state",
+                "idle");
+        registry.gauge(
+                "fulcrum_postgres_pool_max_connections",
+                "PostgreSQL connections the pool may open.",
+                () -> postgres.poolMetrics().maxConnections());
+        registry.counter(
+                "fulcrum_postgres_pool_acquisitions_total",
+                "PostgreSQL connections handed out by the pool.",
+                () -> postgres.poolMetrics().acquisitions());
+        registry.counter(
+                "fulcrum_postgres_pool_acquire_timeouts_total",
+                "PostgreSQL connection requests that timed out waiting for the pool.",
+                () -> postgres.poolMetrics().acquireTimeouts());
+        registry.counter(
+                "fulcrum_postgres_pool_retired_connections_total",
+                "PostgreSQL connections closed for failing validation after idling or for outliving the maximum lifetime.",
+                () -> postgres.poolMetrics().retiredConnections());
+        registry.gauge(
+                "fulcrum_postgres_pool_wait_average_seconds",
+                "Mean time spent waiting for a pooled PostgreSQL connection.",
+                () -> seconds(postgres.poolMetrics().averageWait()));
+        registry.gauge(
+                "fulcrum_postgres_pool_wait_max_seconds",
+                "Longest time spent waiting for a pooled PostgreSQL connection.",
+                () -> seconds(postgres.poolMetrics().maxWait()));
+    }
+
+    private static double seconds(Duration duration) {
+        return duration.toNanos() / 1_000_000_000.0d;
+    }
+
+    private static LatencyHistogram stage(RuntimeMetrics metrics, String domain, String stage) {
+        return metrics.histogram(STAGE_NAME, STAGE_HELP, "domain", domain, "stage", stage);
+    }
+}
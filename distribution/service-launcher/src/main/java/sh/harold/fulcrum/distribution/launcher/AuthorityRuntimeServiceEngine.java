@@ -79,7 +79,8 @@ final class AuthorityRuntimeServiceEngine implements RuntimeServiceEngine {
                     }
                     loopCount.incrementAndGet();
                     try {
-                        handled = worker.handleNext().isPresent() || handled;
+                        // A sharded dispatch returns its receipts on a later pass, so handing work off counts too.
+                        handled = worker.handleNext().isPresent() || worker.dispatchedWork() || handled;
                     } catch (RuntimeException exception) {
                         if (!running.get() && Thread.currentThread().isInterrupted()) {
                             return;
@@ -93,6 +94,33 @@ final class AuthorityRuntimeServiceEngine implements RuntimeServiceEngine {
             }
         } finally {
             ready.set(false);
+            // Closing commits pending offsets synchronously; a pending interrupt from close() would abort that commit.
+            boolean interrupted = Thread.interrupted();
+            try {
+                closeWorkers();
+            } finally {
+                if (interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+
+    private void closeWorkers() {
+        RuntimeException failure = null;
+        for (AuthorityWorkerBinding worker : workers) {
+            try {
+                worker.close();
+            } catch (RuntimeException exception) {
+                if (failure == null) {
+                    failure = exception;
+                } else {
+                    failure.addSuppressed(exception);
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
         }
     }
 
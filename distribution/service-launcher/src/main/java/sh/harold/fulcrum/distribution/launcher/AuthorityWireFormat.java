@@ -0,0 +1,122 @@
+package sh.harold.fulcrum.distribution.launcher;
+
+import sh.harold.fulcrum.api.contract.CommandName;
+import sh.harold.fulcrum.api.contract.ContractName;
+import sh.harold.fulcrum.api.contract.EventName;
+import sh.harold.fulcrum.data.codegen.BinaryFieldCodec;
+import sh.harold.fulcrum.data.codegen.LineFieldWriter;
+import sh.harold.fulcrum.data.codegen.LineFields;
+import sh.harold.fulcrum.data.codegen.WireFieldWriter;
+import sh.harold.fulcrum.data.codegen.WireFields;
+import sh.harold.fulcrum.data.contract.CommandDeclaration;
+import sh.harold.fulcrum.data.contract.ContractDeclaration;
+import sh.harold.fulcrum.data.contract.EventDeclaration;
+import sh.harold.fulcrum.data.contract.FieldDeclaration;
+import sh.harold.fulcrum.data.contract.FieldType;
+import sh.harold.fulcrum.data.contract.SnapshotDeclaration;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+// Only authority commands are produced in binary. State rows still go through JdbcAuthorityStateCodec as text, and
+// receipts and emissions remain String payloads; the codecs can write those payloads in binary, but nothing does yet.
+// Each launcher codec declares its own schema here rather than taking it from contract-codegen.
+enum AuthorityWireFormat {
+    TEXT,
+    BINARY;
+
+    // Every binary field carries its own tag, so adding a command or a field anywhere in a declaration leaves every
+    // other tag where it was. A name keeps one tag across all of a contract's payloads. Tags below FIRST_CONTRACT_TAG
+    // belong to the command envelope; a retired tag is never handed to another field.
+    static final int FIRST_CONTRACT_TAG = 32;
+    private static final List<FieldDeclaration> ENVELOPE_FIELDS = List.of(
+            string(1, "commandId"),
+            string(2, "idempotencyKey"),
+            string(3, "principalId"),
+            string(4, "declaredPrincipalId"),
+            string(5, "aggregateId"),
+            string(6, "contractName"),
+            string(7, "commandName"),
+            string(8, "traceId"),
+            string(9, "spanId"),
+            string(10, "parentSpanId"),
+            instant(11, "traceCreatedAt"),
+            string(12, "originService"),
+            string(13, "originInstanceId"),
+            instant(14, "deadlineAt"),
+            string(15, "authenticatedPrincipal"),
+            string(16, "authenticatedPrincipalId"),
+            longValue(17, "fencingEpoch"),
+            longValue(18, "expectedRevision"),
+            string(19, "payloadFingerprint"),
+            instant(20, "receivedAt"));
+
+    static ContractDeclaration contract(
+            String name,
+            List<CommandDeclaration> commands,
+            SnapshotDeclaration snapshot,
+            EventDeclaration... responses) {
+        return new ContractDeclaration(
+                new ContractName(name),
+                commands,
+                List.of(responses),
+                Optional.of(snapshot),
+                List.of(),
+                List.of());
+    }
+
+    static CommandDeclaration command(String name, String payloadType, FieldDeclaration... fields) {
+        return new CommandDeclaration(new CommandName(name), payloadType, List.of(fields), false);
+    }
+
+    static SnapshotDeclaration snapshot(String payloadType, FieldDeclaration... fields) {
+        return new SnapshotDeclaration(payloadType, List.of(fields));
+    }
+
+    // Receipts and stored decisions are not domain events, but they travel under the same contract and codec, so they
+    // are declared in its event slot to take binary tags like every other payload.
+    static EventDeclaration response(String name, String payloadType, FieldDeclaration... fields) {
+        return new EventDeclaration(new EventName(name), payloadType, List.of(fields));
+    }
+
+    static BinaryFieldCodec schema(ContractDeclaration declaration) {
+        BinaryFieldCodec schema = BinaryFieldCodec.forContract(declaration, ENVELOPE_FIELDS);
+        for (FieldDeclaration field : schema.fields().subList(ENVELOPE_FIELDS.size(), schema.fields().size())) {
+            if (field.tag() < FIRST_CONTRACT_TAG) {
+                throw new IllegalArgumentException("Binary wire field " + field.name() + " in contract "
+                        + declaration.name().value() + " uses tag " + field.tag() + " reserved for the command envelope");
+            }
+        }
+        return schema;
+    }
+
+    static FieldDeclaration string(int tag, String name) {
+        return new FieldDeclaration(name, FieldType.STRING, true, tag);
+    }
+
+    static FieldDeclaration instant(int tag, String name) {
+        return new FieldDeclaration(name, FieldType.INSTANT, true, tag);
+    }
+
+    static FieldDeclaration longValue(int tag, String name) {
+        return new FieldDeclaration(name, FieldType.LONG, true, tag);
+    }
+
+    WireFieldWriter writer(BinaryFieldCodec binary) {
+        Objects.requireNonNull(binary, "binary");
+        return this == BINARY ? binary.writer() : new LineFieldWriter();
+    }
+
+    static AuthorityWireFormat of(byte[] payload) {
+        return BinaryFieldCodec.isBinary(payload) ? BINARY : TEXT;
+    }
+
+    static WireFields decode(byte[] payload, BinaryFieldCodec binary, String textLabel) {
+        Objects.requireNonNull(payload, "payload");
+        if (of(payload) == BINARY) {
+            return binary.fields(payload);
+        }
+        return LineFields.of(payload, textLabel);
+    }
+}
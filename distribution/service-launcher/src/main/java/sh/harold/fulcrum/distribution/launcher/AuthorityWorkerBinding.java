@@ -1,8 +1,13 @@
 package sh.harold.fulcrum.distribution.launcher;
 
 import sh.harold.fulcrum.api.contract.CommandPayload;
+import sh.harold.fulcrum.data.authority.runtime.AuthorityEmissionSink;
+import sh.harold.fulcrum.data.authority.runtime.AuthorityRecordStore;
+import sh.harold.fulcrum.data.authority.runtime.AuthorityRuntimeBatchReceipt;
 import sh.harold.fulcrum.data.authority.runtime.AuthorityRuntimeReceipt;
 import sh.harold.fulcrum.data.authority.runtime.AuthorityRuntimeWorker;
+import sh.harold.fulcrum.data.authority.runtime.AuthorityShardedRuntime;
+import sh.harold.fulcrum.data.authority.runtime.CachedAuthorityRecordStore;
 
 import java.util.Objects;
 import java.util.Optional;
@@ -19,10 +24,106 @@ record AuthorityWorkerBinding(
         return poller.handleNext();
     }
 
+    boolean dispatchedWork() {
+        return poller.dispatchedWork();
+    }
+
+    void close() {
+        poller.close();
+    }
+
     static <S, C extends CommandPayload, R> AuthorityWorkerBinding fromWorker(
             String authorityDomain,
             AuthorityRuntimeWorker<S, C, R> worker) {
-        return new AuthorityWorkerBinding(authorityDomain, Objects.requireNonNull(worker, "worker")::handleNext);
+        Objects.requireNonNull(worker, "worker");
+        AuthorityRuntimeMetrics metrics = new AuthorityRuntimeMetrics(RuntimeMetrics.process(), authorityDomain);
+        return new AuthorityWorkerBinding(authorityDomain, new AuthorityWorkerPoller() {
+            @Override
+            public Optional<AuthorityRuntimeReceipt> handleNext() {
+                long startedAt = System.nanoTime();
+                Optional<AuthorityRuntimeBatchReceipt> handled = worker.handleNextTimed();
+                if (handled.isEmpty()) {
+                    return Optional.empty();
+                }
+                metrics.recordBatch(startedAt, handled.orElseThrow());
+                return Optional.of(handled.orElseThrow().receipts().getFirst());
+            }
+
+            @Override
+            public void close() {
+                worker.flushOffsets();
+            }
+        });
+    }
+
+    static <S, C extends CommandPayload, R> AuthorityWorkerBinding fromBatchWorker(
+            String authorityDomain,
+            AuthorityRuntimeWorker<S, C, R> worker,
+            int maxBatchDeliveries) {
+        Objects.requireNonNull(worker, "worker");
+        if (maxBatchDeliveries <= 0) {
+            throw new IllegalArgumentException("maxBatchDeliveries must be positive");
+        }
+        AuthorityRuntimeMetrics metrics = new AuthorityRuntimeMetrics(RuntimeMetrics.process(), authorityDomain);
+        return new AuthorityWorkerBinding(authorityDomain, new AuthorityWorkerPoller() {
+            @Override
+            public Optional<AuthorityRuntimeReceipt> handleNext() {
+                long startedAt = System.nanoTime();
+                Optional<AuthorityRuntimeBatchReceipt> batch = worker.handleBatch(maxBatchDeliveries);
+                if (batch.isEmpty()) {
+                    return Optional.empty();
+                }
+                metrics.recordBatch(startedAt, batch.orElseThrow());
+                return Optional.of(batch.orElseThrow().receipts().getLast());
+            }
+
+            @Override
+            public void close() {
+                worker.flushOffsets();
+            }
+        });
+    }
+
+    static <S, C extends CommandPayload, R> AuthorityWorkerBinding fromShardedRuntime(
+            String authorityDomain,
+            AuthorityShardedRuntime<S, C, R> runtime) {
+        Objects.requireNonNull(runtime, "runtime");
+        AuthorityRuntimeMetrics metrics = new AuthorityRuntimeMetrics(RuntimeMetrics.process(), authorityDomain);
+        runtime.batchListener(metrics::recordStages);
+        return new AuthorityWorkerBinding(authorityDomain, new AuthorityWorkerPoller() {
+            @Override
+            public Optional<AuthorityRuntimeReceipt> handleNext() {
+                long startedAt = System.nanoTime();
+                Optional<AuthorityRuntimeReceipt> receipt = runtime.dispatchNext();
+                if (receipt.isPresent() || runtime.lastDispatched() > 0) {
+                    metrics.recordDispatch(startedAt);
+                }
+                return receipt;
+            }
+
+            @Override
+            public boolean dispatchedWork() {
+                return runtime.lastDispatched() > 0;
+            }
+
+            @Override
+            public void close() {
+                runtime.close();
+            }
+        });
+    }
+
+    // Exposes the counters a worker's record store and emission sink already keep, next to its stage timings.
+    static void exportStores(
+            String authorityDomain,
+            AuthorityRecordStore<?> recordStore,
+            AuthorityEmissionSink emissionSink) {
+        String domain = requireNonBlank(authorityDomain, "authorityDomain");
+        RuntimeMetrics metrics = RuntimeMetrics.process();
+        if (recordStore instanceof CachedAuthorityRecordStore<?> cache) {
+            AuthorityRuntimeMetrics.exportRecordCache(metrics, domain, cache);
+        }
+        AuthorityRuntimeMetrics.exportEmissions(metrics, domain, Objects.requireNonNull(emissionSink, "emissionSink"));
     }
 
     private static String requireNonBlank(String value, String label) {
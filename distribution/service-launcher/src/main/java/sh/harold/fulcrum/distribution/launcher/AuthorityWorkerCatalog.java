@@ -7,8 +7,13 @@ import sh.harold.fulcrum.data.artifact.ArtifactMetadataState;
 import sh.harold.fulcrum.data.artifact.PublishArtifactMetadata;
 import sh.harold.fulcrum.data.authority.AuthorityRecord;
 import sh.harold.fulcrum.data.authority.IdempotencyLedger;
+import sh.harold.fulcrum.data.authority.runtime.AuthorityCommandSource;
 import sh.harold.fulcrum.data.authority.runtime.AuthorityDomainHandler;
+import sh.harold.fulcrum.data.authority.runtime.AuthorityEmissionSink;
+import sh.harold.fulcrum.data.authority.runtime.AuthorityRecordStore;
 import sh.harold.fulcrum.data.authority.runtime.AuthorityRuntimeWorker;
+import sh.harold.fulcrum.data.authority.runtime.AuthorityShardedRuntime;
+import sh.harold.fulcrum.data.authority.runtime.AuthorityShardedRuntimeSettings;
 import sh.harold.fulcrum.data.presence.PresenceAuthority;
 import sh.harold.fulcrum.data.presence.PresenceCommand;
 import sh.harold.fulcrum.data.presence.PresenceReceipt;
@@ -28,6 +33,7 @@ import sh.harold.fulcrum.data.subject.SubjectState;
 
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
@@ -40,13 +46,28 @@ final class AuthorityWorkerCatalog {
 
     private final AuthorityRuntimeBindings bindings;
     private final long fencingEpoch;
+    private final int maxBatchDeliveries;
+    private final Optional<AuthorityShardedRuntimeSettings> sharding;
 
     AuthorityWorkerCatalog(AuthorityRuntimeBindings bindings, long fencingEpoch) {
+        this(bindings, fencingEpoch, 1, Optional.empty());
+    }
+
+    AuthorityWorkerCatalog(
+            AuthorityRuntimeBindings bindings,
+            long fencingEpoch,
+            int maxBatchDeliveries,
+            Optional<AuthorityShardedRuntimeSettings> sharding) {
         this.bindings = Objects.requireNonNull(bindings, "bindings");
         if (fencingEpoch < 0) {
             throw new IllegalArgumentException("fencingEpoch must be non-negative");
         }
+        if (maxBatchDeliveries <= 0) {
+            throw new IllegalArgumentException("maxBatchDeliveries must be positive");
+        }
         this.fencingEpoch = fencingEpoch;
+        this.maxBatchDeliveries = maxBatchDeliveries;
+        this.sharding = Objects.requireNonNull(sharding, "sharding");
     }
 
     static List<String> authorityDomains() {
@@ -76,14 +97,33 @@ final class AuthorityWorkerCatalog {
             String authorityDomain,
             Supplier<AuthorityRecord<S>> emptyRecord,
             Function<IdempotencyLedger<S, R>, AuthorityDomainHandler<S, C, R>> handlerFactory) {
+        AuthorityCommandSource<C> commandSource = bindings.commandSource(authorityDomain);
+        AuthorityRecordStore<S> recordStore = bindings.recordStore(authorityDomain, emptyRecord);
+        AuthorityEmissionSink emissionSink = bindings.emissionSink(authorityDomain);
+        AuthorityWorkerBinding.exportStores(authorityDomain, recordStore, emissionSink);
+        if (sharding.isPresent()) {
+            return AuthorityWorkerBinding.fromShardedRuntime(authorityDomain, new AuthorityShardedRuntime<>(
+                    authorityDomain,
+                    commandSource,
+                    recordStore,
+                    handlerFactory.apply(bindings.idempotencyLedger(authorityDomain)),
+                    bindings.projectionWriter(authorityDomain),
+                    emissionSink,
+                    bindings.decisionRecorder(authorityDomain),
+                    bindings.offsetCommitter(authorityDomain),
+                    sharding.orElseThrow()));
+        }
         AuthorityRuntimeWorker<S, C, R> worker = new AuthorityRuntimeWorker<>(
-                bindings.commandSource(authorityDomain),
-                bindings.recordStore(authorityDomain, emptyRecord),
+                commandSource,
+                recordStore,
                 handlerFactory.apply(bindings.idempotencyLedger(authorityDomain)),
                 bindings.projectionWriter(authorityDomain),
-                bindings.emissionSink(authorityDomain),
+                emissionSink,
                 bindings.decisionRecorder(authorityDomain),
                 bindings.offsetCommitter(authorityDomain));
-        return AuthorityWorkerBinding.fromWorker(authorityDomain, worker);
+        if (maxBatchDeliveries == 1) {
+            return AuthorityWorkerBinding.fromWorker(authorityDomain, worker);
+        }
+        return AuthorityWorkerBinding.fromBatchWorker(authorityDomain, worker, maxBatchDeliveries);
     }
 }
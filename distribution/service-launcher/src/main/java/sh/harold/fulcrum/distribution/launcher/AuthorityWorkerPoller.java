@@ -7,4 +7,12 @@ import java.util.Optional;
 @FunctionalInterface
 interface AuthorityWorkerPoller {
     Optional<AuthorityRuntimeReceipt> handleNext();
+
+    // True when the last handleNext handed work off whose receipt comes later, as a sharded dispatch does.
+    default boolean dispatchedWork() {
+        return false;
+    }
+
+    default void close() {
+    }
 }
@@ -0,0 +1,41 @@
+package sh.harold.fulcrum.distribution.launcher;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+// Instruments shared by the Paper bridges: frames accepted or refused at the HTTP edge, and how long the sink took
+// to publish each accepted frame.
+final class BridgeMetrics {
+    private final LongAdder accepted;
+    private final LongAdder rejected;
+    private final LongAdder failed;
+    private final LatencyHistogram publish;
+
+    BridgeMetrics(RuntimeMetrics metrics, String bridge) {
+        Objects.requireNonNull(metrics, "metrics");
+        Objects.requireNonNull(bridge, "bridge");
+        this.accepted = metrics.counter(
+                "fulcrum_bridge_frames_total", "Bridge frames by outcome.", "bridge", bridge, "outcome", "accepted");
+        this.rejected = metrics.counter(
+                "fulcrum_bridge_frames_total", "Bridge frames by outcome.", "bridge", bridge, "outcome", "rejected");
+        this.failed = metrics.counter(
+                "fulcrum_bridge_frames_total", "Bridge frames by outcome.", "bridge", bridge, "outcome", "failed");
+        this.publish = metrics.histogram(
+                "fulcrum_bridge_publish_seconds", "Time the bridge sink spent publishing one frame.", "bridge", bridge);
+    }
+
+    void accepted() {
+        accepted.increment();
+    }
+
+    void rejected() {
+        rejected.increment();
+    }
+
+    void published(long startedAtNanos, boolean succeeded) {
+        publish.recordNanos(System.nanoTime() - startedAtNanos);
+        if (!succeeded) {
+            failed.increment();
+        }
+    }
+}
@@ -40,6 +40,7 @@ import sh.harold.fulcrum.control.lifecycle.LifecycleTraceId;
 import sh.harold.fulcrum.control.lifecycle.RecordLifecycleObservation;
 import sh.harold.fulcrum.control.lifecycle.RequestExperienceSession;
 import sh.harold.fulcrum.control.queue.ControlQueueNames;
+import sh.harold.fulcrum.control.queue.ExpireQueueIntent;
 import sh.harold.fulcrum.control.queue.FormRosterIntent;
 import sh.harold.fulcrum.control.queue.QueueIntentId;
 import sh.harold.fulcrum.control.queue.QueuePartitionKey;
@@ -64,6 +65,10 @@ import sh.harold.fulcrum.control.route.RequestRouteAttempt;
 import sh.harold.fulcrum.control.route.RouteAttemptCommand;
 import sh.harold.fulcrum.control.route.RouteAttemptControlCommand;
 import sh.harold.fulcrum.control.route.RouteAttemptId;
+import sh.harold.fulcrum.control.route.TimeoutRouteAttempt;
+import sh.harold.fulcrum.data.codegen.LineFields;
+import sh.harold.fulcrum.data.codegen.WireFields;
+import sh.harold.fulcrum.data.codegen.WireInstants;
 
 import java.time.Instant;
 import java.util.Arrays;
@@ -79,7 +84,7 @@ final class ControlCommandWireCodec {
     }
 
     static Optional<ControlCommandLedgerKey> commandLedgerKey(ConsumerRecord<String, String> record) {
-        Map<String, String> fields = fields(record.value());
+        LineFields fields = fields(record.value());
         Optional<String> commandId = optional(fields, "commandId");
         Optional<String> idempotencyKey = optional(fields, "idempotencyKey");
         Optional<String> payloadFingerprint = optional(fields, "payloadFingerprint");
@@ -104,7 +109,7 @@ final class ControlCommandWireCodec {
 
     static RouteAttemptControlCommand<? extends RouteAttemptCommand> decodeRouteAttemptCommand(
             ConsumerRecord<String, String> record) {
-        Map<String, String> fields = fields(record.value());
+        LineFields fields = fields(record.value());
         TraceEnvelope trace = decodeTrace(fields);
         RouteAttemptCommand payload = routeAttemptPayload(fields, trace);
         return new RouteAttemptControlCommand<>(
@@ -149,7 +154,7 @@ final class ControlCommandWireCodec {
                 command.receivedAt());
     }
 
-    private static RouteAttemptCommand routeAttemptPayload(Map<String, String> fields, TraceEnvelope trace) {
+    private static RouteAttemptCommand routeAttemptPayload(WireFields fields, TraceEnvelope trace) {
         String commandName = required(fields, "commandName");
         RouteAttemptId routeAttemptId = new RouteAttemptId(required(fields, "routeAttemptId"));
         if (ControlRouteNames.REQUEST_ROUTE_ATTEMPT.value().equals(commandName)) {
@@ -179,6 +184,9 @@ final class ControlCommandWireCodec {
         if (ControlRouteNames.ACKNOWLEDGE_ROUTE_ATTEMPT.value().equals(commandName)) {
             return new AcknowledgeRouteAttempt(routeAttemptId, instant(fields, "acknowledgedAt"));
         }
+        if (ControlRouteNames.TIMEOUT_ROUTE_ATTEMPT.value().equals(commandName)) {
+            return new TimeoutRouteAttempt(routeAttemptId, instant(fields, "timedOutAt"));
+        }
         throw new IllegalArgumentException("Unsupported control command " + commandName);
     }
 
@@ -217,12 +225,17 @@ final class ControlCommandWireCodec {
             fields.put("acknowledgedAt", acknowledge.acknowledgedAt().toString());
             return;
         }
+        if (payload instanceof TimeoutRouteAttempt timeout) {
+            fields.put("routeAttemptId", timeout.routeAttemptId().value());
+            fields.put("timedOutAt", timeout.timedOutAt().toString());
+            return;
+        }
         throw new IllegalArgumentException("Unsupported route-attempt payload " + payload.getClass().getSimpleName());
     }
 
     static ExperienceSessionControlCommand<RequestExperienceSession> decodeExperienceSessionRequest(
             ConsumerRecord<String, String> record) {
-        Map<String, String> fields = fields(record.value());
+        LineFields fields = fields(record.value());
         requireCommand(fields, ControlLifecycleNames.REQUEST_EXPERIENCE_SESSION);
         TraceEnvelope trace = decodeTrace(fields);
         RequestExperienceSession payload = new RequestExperienceSession(
@@ -258,7 +271,7 @@ final class ControlCommandWireCodec {
 
     static LifecycleTraceControlCommand<RecordLifecycleObservation> decodeLifecycleTraceRecord(
             ConsumerRecord<String, String> record) {
-        Map<String, String> fields = fields(record.value());
+        LineFields fields = fields(record.value());
         requireCommand(fields, ControlLifecycleNames.RECORD_LIFECYCLE_OBSERVATION);
         TraceEnvelope trace = decodeTrace(fields);
         RecordLifecycleObservation payload = new RecordLifecycleObservation(
@@ -296,7 +309,7 @@ final class ControlCommandWireCodec {
 
     static CapabilityEnablementControlCommand<EnableCapability> decodeCapabilityEnablement(
             ConsumerRecord<String, String> record) {
-        Map<String, String> fields = fields(record.value());
+        LineFields fields = fields(record.value());
         requireCommand(fields, ControlCapabilityNames.ENABLE);
         TraceEnvelope trace = decodeTrace(fields);
         EnableCapability payload = new EnableCapability(
@@ -338,7 +351,7 @@ final class ControlCommandWireCodec {
 
     static QueueRosterControlCommand<? extends QueueRosterCommand> decodeQueueRosterCommand(
             ConsumerRecord<String, String> record) {
-        Map<String, String> fields = fields(record.value());
+        LineFields fields = fields(record.value());
         TraceEnvelope trace = decodeTrace(fields);
         QueueRosterCommand payload = queueRosterPayload(fields, trace);
         return new QueueRosterControlCommand<>(
@@ -350,7 +363,7 @@ final class ControlCommandWireCodec {
                 instant(fields, "receivedAt"));
     }
 
-    private static QueueRosterCommand queueRosterPayload(Map<String, String> fields, TraceEnvelope trace) {
+    private static QueueRosterCommand queueRosterPayload(WireFields fields, TraceEnvelope trace) {
         String commandName = required(fields, "commandName");
         if (ControlQueueNames.SUBMIT_QUEUE_INTENT.value().equals(commandName)) {
             return queueRosterSubmitPayload(fields, trace);
@@ -364,10 +377,16 @@ final class ControlCommandWireCodec {
                     instant(fields, "formedAt"),
                     trace);
         }
+        if (ControlQueueNames.EXPIRE_QUEUE_INTENT.value().equals(commandName)) {
+            return new ExpireQueueIntent(
+                    queuePartitionKey(fields),
+                    new QueueIntentId(required(fields, "queueIntentId")),
+                    instant(fields, "expiredAt"));
+        }
         throw new IllegalArgumentException("Unsupported control command " + commandName);
     }
 
-    private static SubmitQueueIntent queueRosterSubmitPayload(Map<String, String> fields, TraceEnvelope trace) {
+    private static SubmitQueueIntent queueRosterSubmitPayload(WireFields fields, TraceEnvelope trace) {
         SubmitQueueIntent payload = new SubmitQueueIntent(
                 new QueueIntentId(required(fields, "queueIntentId")),
                 subjectIds(fields, "subjectIds"),
@@ -428,6 +447,12 @@ final class ControlCommandWireCodec {
             fields.put("queueIntentIds", joinQueueIntentIds(form.queueIntentIds()));
             fields.put("maxSubjects", Integer.toString(form.maxSubjects()));
             fields.put("formedAt", form.formedAt().toString());
+        } else if (payload instanceof ExpireQueueIntent expire) {
+            fields.put("experienceId", expire.partitionKey().experienceId().value());
+            fields.put("modeId", expire.partitionKey().modeId().orElse(""));
+            fields.put("poolId", expire.partitionKey().poolId().value());
+            fields.put("queueIntentId", expire.queueIntentId().value());
+            fields.put("expiredAt", expire.expiredAt().toString());
         } else {
             throw new IllegalArgumentException(
                     "Unsupported queue-roster payload " + payload.getClass().getSimpleName());
@@ -436,7 +461,7 @@ final class ControlCommandWireCodec {
     }
 
     static FaultControlCommand<RecordFault> decodeFaultRecord(ConsumerRecord<String, String> record) {
-        Map<String, String> fields = fields(record.value());
+        LineFields fields = fields(record.value());
         requireCommand(fields, ControlFaultNames.RECORD_FAULT);
         TraceEnvelope trace = decodeTrace(fields);
         RecordFault payload = new RecordFault(
@@ -472,7 +497,7 @@ final class ControlCommandWireCodec {
     }
 
     static SharedShardPlacementWireRequest decodeSharedShardPlacementRequest(ConsumerRecord<String, String> record) {
-        Map<String, String> fields = fields(record.value());
+        LineFields fields = fields(record.value());
         TraceEnvelope trace = decodeTrace(fields);
         SharedShardExperienceDescriptor experience = new SharedShardExperienceDescriptor(
                 new ExperienceId(required(fields, "experienceId")),
@@ -563,7 +588,7 @@ final class ControlCommandWireCodec {
     }
 
     static SharedShardAllocationRequest decodeSharedShardAllocationRequest(ConsumerRecord<String, String> record) {
-        Map<String, String> fields = fields(record.value());
+        LineFields fields = fields(record.value());
         return new SharedShardAllocationRequest(
                 new ExperienceId(required(fields, "experienceId")),
                 new PoolId(required(fields, "poolId")),
@@ -586,7 +611,7 @@ final class ControlCommandWireCodec {
     }
 
     private static <T extends CommandPayload> CommandEnvelope<T> envelope(
-            Map<String, String> fields,
+            WireFields fields,
             ConsumerRecord<String, String> record,
             ContractName contract,
             CommandName commandName,
@@ -637,7 +662,7 @@ final class ControlCommandWireCodec {
         fields.put("originInstanceId", trace.originInstanceId().value());
     }
 
-    private static TraceEnvelope decodeTrace(Map<String, String> fields) {
+    private static TraceEnvelope decodeTrace(WireFields fields) {
         return new TraceEnvelope(
                 required(fields, "traceId"),
                 required(fields, "spanId"),
@@ -647,18 +672,18 @@ final class ControlCommandWireCodec {
                 new InstanceId(required(fields, "originInstanceId")));
     }
 
-    private static void requireCommand(Map<String, String> fields, CommandName expected) {
+    private static void requireCommand(WireFields fields, CommandName expected) {
         String actual = required(fields, "commandName");
         if (!expected.value().equals(actual)) {
             throw new IllegalArgumentException("Unsupported control command " + actual);
         }
     }
 
-    private static PrincipalId authenticatedPrincipal(Map<String, String> fields) {
+    private static PrincipalId authenticatedPrincipal(WireFields fields) {
         return new PrincipalId(required(fields, "authenticatedPrincipal"));
     }
 
-    private static List<SubjectId> subjectIds(Map<String, String> fields, String key) {
+    private static List<SubjectId> subjectIds(WireFields fields, String key) {
         return Arrays.stream(required(fields, key).split(","))
                 .map(String::trim)
                 .filter(value -> !value.isEmpty())
@@ -666,14 +691,14 @@ final class ControlCommandWireCodec {
                 .toList();
     }
 
-    private static QueuePartitionKey queuePartitionKey(Map<String, String> fields) {
+    private static QueuePartitionKey queuePartitionKey(WireFields fields) {
         return new QueuePartitionKey(
                 new ExperienceId(required(fields, "experienceId")),
                 optional(fields, "modeId"),
                 new PoolId(required(fields, "poolId")));
     }
 
-    private static List<QueueIntentId> queueIntentIds(Map<String, String> fields, String key) {
+    private static List<QueueIntentId> queueIntentIds(WireFields fields, String key) {
         return Arrays.stream(required(fields, key).split(","))
                 .map(String::trim)
                 .filter(value -> !value.isEmpty())
@@ -681,7 +706,7 @@ final class ControlCommandWireCodec {
                 .toList();
     }
 
-    private static List<InstanceId> instanceIds(Map<String, String> fields, String key) {
+    private static List<InstanceId> instanceIds(WireFields fields, String key) {
         return Arrays.stream(required(fields, key).split(","))
                 .map(String::trim)
                 .filter(value -> !value.isEmpty())
@@ -707,19 +732,8 @@ final class ControlCommandWireCodec {
                 .collect(java.util.stream.Collectors.joining(","));
     }
 
-    private static Map<String, String> fields(String payload) {
-        Map<String, String> fields = new LinkedHashMap<>();
-        if (payload == null || payload.isBlank()) {
-            return fields;
-        }
-        for (String line : payload.split("\\R")) {
-            int separator = line.indexOf('=');
-            if (separator < 1) {
-                throw new IllegalArgumentException("Malformed control command wire line: " + line);
-            }
-            fields.put(line.substring(0, separator), line.substring(separator + 1));
-        }
-        return fields;
+    private static LineFields fields(String payload) {
+        return LineFields.of(payload, "control command");
     }
 
     private static String lines(Map<String, String> fields) {
@@ -728,7 +742,7 @@ final class ControlCommandWireCodec {
         return builder.toString();
     }
 
-    private static String required(Map<String, String> fields, String key) {
+    private static String required(WireFields fields, String key) {
         String value = fields.get(key);
         if (value == null || value.isBlank()) {
             throw new IllegalArgumentException("Missing control command wire field " + key);
@@ -736,37 +750,37 @@ final class ControlCommandWireCodec {
         return value;
     }
 
-    private static Optional<String> optional(Map<String, String> fields, String key) {
+    private static Optional<String> optional(WireFields fields, String key) {
         String value = fields.get(key);
         return value == null || value.isBlank() ? Optional.empty() : Optional.of(value);
     }
 
-    private static int intValue(Map<String, String> fields, String key) {
+    private static int intValue(WireFields fields, String key) {
         return Integer.parseInt(required(fields, key));
     }
 
-    private static boolean booleanValue(Map<String, String> fields, String key) {
+    private static boolean booleanValue(WireFields fields, String key) {
         return Boolean.parseBoolean(required(fields, key));
     }
 
-    private static long longValue(Map<String, String> fields, String key) {
+    private static long longValue(WireFields fields, String key) {
         return Long.parseLong(required(fields, key));
     }
 
-    private static Optional<Long> optionalLong(Map<String, String> fields, String key) {
+    private static Optional<Long> optionalLong(WireFields fields, String key) {
         return optional(fields, key).map(Long::parseLong);
     }
 
-    private static Optional<Revision> optionalRevision(Map<String, String> fields, String key) {
+    private static Optional<Revision> optionalRevision(WireFields fields, String key) {
         return optionalLong(fields, key).map(Revision::new);
     }
 
-    private static Instant instant(Map<String, String> fields, String key) {
-        return Instant.parse(required(fields, key));
+    private static Instant instant(WireFields fields, String key) {
+        return WireInstants.parse(required(fields, key));
     }
 
-    private static Optional<Instant> optionalInstant(Map<String, String> fields, String key) {
-        return optional(fields, key).map(Instant::parse);
+    private static Optional<Instant> optionalInstant(WireFields fields, String key) {
+        return optional(fields, key).map(WireInstants::parse);
     }
 }
 
@@ -0,0 +1,29 @@
+package sh.harold.fulcrum.distribution.launcher;
+
+import sh.harold.fulcrum.api.kernel.SessionId;
+import sh.harold.fulcrum.control.queue.QueueIntentId;
+import sh.harold.fulcrum.control.queue.QueuePartitionKey;
+import sh.harold.fulcrum.control.route.RouteAttemptId;
+
+import java.util.Objects;
+
+sealed interface ControlDeadline {
+    record RouteAttempt(RouteAttemptId routeAttemptId) implements ControlDeadline {
+        public RouteAttempt {
+            routeAttemptId = Objects.requireNonNull(routeAttemptId, "routeAttemptId");
+        }
+    }
+
+    record QueueIntent(QueuePartitionKey partitionKey, QueueIntentId queueIntentId) implements ControlDeadline {
+        public QueueIntent {
+            partitionKey = Objects.requireNonNull(partitionKey, "partitionKey");
+            queueIntentId = Objects.requireNonNull(queueIntentId, "queueIntentId");
+        }
+    }
+
+    record SessionLease(SessionId sessionId) implements ControlDeadline {
+        public SessionLease {
+            sessionId = Objects.requireNonNull(sessionId, "sessionId");
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package sh.harold.fulcrum.distribution.launcher;
+
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import sh.harold.fulcrum.api.contract.CommandEnvelope;
+import sh.harold.fulcrum.api.contract.CommandId;
+import sh.harold.fulcrum.api.contract.CommandName;
+import sh.harold.fulcrum.api.contract.ContractName;
+import sh.harold.fulcrum.api.contract.IdempotencyKey;
+import sh.harold.fulcrum.api.contract.PrincipalId;
+import sh.harold.fulcrum.api.contract.TraceEnvelope;
+import sh.harold.fulcrum.control.queue.ControlQueueNames;
+import sh.harold.fulcrum.control.queue.ExpireQueueIntent;
+import sh.harold.fulcrum.control.queue.QueueRosterControlCommand;
+import sh.harold.fulcrum.control.route.ControlRouteNames;
+import sh.harold.fulcrum.control.route.RouteAttemptControlCommand;
+import sh.harold.fulcrum.control.route.TimeoutRouteAttempt;
+import sh.harold.fulcrum.data.authority.AuthorityCommand;
+import sh.harold.fulcrum.data.session.ExpireSession;
+import sh.harold.fulcrum.data.session.SessionAuthority;
+import sh.harold.fulcrum.data.session.SessionCommand;
+import sh.harold.fulcrum.host.api.HostSecurityContext;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+// Turns a fired deadline into the owner's own expiry command. Ids, idempotency keys and payload times derive from the
+// deadline rather than the firing instant, so firing the same deadline twice is an idempotent replay at the owner.
+final class ControlDeadlineCommands {
+    static final String ORIGIN_SERVICE = "control-deadline";
+    static final String ROUTE_ATTEMPT_COMMAND_TOPIC = "ctrl.cmd." + ControllerWorkerCatalog.ROUTE_ATTEMPT;
+    static final String QUEUE_ROSTER_COMMAND_TOPIC = "ctrl.cmd." + ControllerWorkerCatalog.QUEUE_ROSTER;
+    static final String SESSION_COMMAND_TOPIC = "cmd.session";
+
+    private final HostSecurityContext securityContext;
+    private final long fencingEpoch;
+    private final AuthorityWireFormat commandFormat;
+
+    ControlDeadlineCommands(HostSecurityContext securityContext, long fencingEpoch, AuthorityWireFormat commandFormat) {
+        this.securityContext = Objects.requireNonNull(securityContext, "securityContext");
+        if (fencingEpoch < 0) {
+            throw new IllegalArgumentException("fencingEpoch must be non-negative");
+        }
+        this.fencingEpoch = fencingEpoch;
+        this.commandFormat = Objects.requireNonNull(commandFormat, "commandFormat");
+    }
+
+    ProducerRecord<String, byte[]> command(DeadlineTimingWheel.Expired<ControlDeadline> expired, Instant firedAt) {
+        Objects.requireNonNull(expired, "expired");
+        Objects.requireNonNull(firedAt, "firedAt");
+        return switch (expired.key()) {
+            case ControlDeadline.RouteAttempt routeAttempt -> routeTimeout(routeAttempt, expired.deadline(), firedAt);
+            case ControlDeadline.QueueIntent queueIntent -> queueExpiry(queueIntent, expired.deadline(), firedAt);
+            case ControlDeadline.SessionLease sessionLease -> sessionExpiry(sessionLease, expired.deadline(), firedAt);
+        };
+    }
+
+    // Sends one batch with a single flush, then hands every deadline whose send failed back to the service to retry.
+    // Returns the key of the last command sent.
+    String publish(
+            Producer<String, byte[]> producer,
+            ControlDeadlineService deadlines,
+            List<DeadlineTimingWheel.Expired<ControlDeadline>> fired,
+            Instant firedAt) {
+        Objects.requireNonNull(producer, "producer");
+        Objects.requireNonNull(deadlines, "deadlines");
+        List<Future<RecordMetadata>> sends = new ArrayList<>(fired.size());
+        String lastKey = null;
+        for (DeadlineTimingWheel.Expired<ControlDeadline> expired : fired) {
+            ProducerRecord<String, byte[]> command = command(expired, firedAt);
+            sends.add(send(producer, command));
+            lastKey = command.key();
+        }
+        producer.flush();
+        for (int index = 0; index < fired.size(); index++) {
+            if (!sent(sends.get(index))) {
+                deadlines.retry(fired.get(index));
+            }
+        }
+        return lastKey;
+    }
+
+    private ProducerRecord<String, byte[]> routeTimeout(
+            ControlDeadline.RouteAttempt deadline,
+            Instant deadlineAt,
+            Instant firedAt) {
+        String suffix = "timeout-" + deadline.routeAttemptId().value() + "-" + deadlineAt.toEpochMilli();
+        TimeoutRouteAttempt payload = new TimeoutRouteAttempt(deadline.routeAttemptId(), deadlineAt);
+        PrincipalId principal = securityContext.identity().principalId();
+        RouteAttemptControlCommand<TimeoutRouteAttempt> command = new RouteAttemptControlCommand<>(
+                new CommandEnvelope<>(
+                        new CommandId("command-deadline-" + suffix),
+                        new IdempotencyKey("idem-deadline-" + suffix),
+                        principal,
+                        ControlRouteNames.aggregateId(deadline.routeAttemptId()),
+                        ControlRouteNames.CONTRACT,
+                        ControlRouteNames.TIMEOUT_ROUTE_ATTEMPT,
+                        trace(suffix, firedAt),
+                        Optional.empty(),
+                        payload),
+                principal,
+                fencingEpoch,
+                Optional.empty(),
+                "route-attempt-timeout|routeAttemptId=" + deadline.routeAttemptId().value()
+                        + "|timedOutAt=" + deadlineAt,
+                firedAt);
+        return new ProducerRecord<>(
+                ROUTE_ATTEMPT_COMMAND_TOPIC,
+                command.envelope().aggregateId().value(),
+                ControlCommandWireCodec.encodeRouteAttemptCommand(command).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private ProducerRecord<String, byte[]> queueExpiry(
+            ControlDeadline.QueueIntent deadline,
+            Instant deadlineAt,
+            Instant firedAt) {
+        String suffix = "expire-" + deadline.queueIntentId().value() + "-" + deadlineAt.toEpochMilli();
+        ExpireQueueIntent payload = new ExpireQueueIntent(deadline.partitionKey(), deadline.queueIntentId(), deadlineAt);
+        PrincipalId principal = securityContext.identity().principalId();
+        QueueRosterControlCommand<ExpireQueueIntent> command = new QueueRosterControlCommand<>(
+                new CommandEnvelope<>(
+                        new CommandId("command-deadline-" + suffix),
+                        new IdempotencyKey("idem-deadline-" + suffix),
+                        principal,
+                        ControlQueueNames.aggregateId(deadline.partitionKey()),
+                        ControlQueueNames.CONTRACT,
+                        ControlQueueNames.EXPIRE_QUEUE_INTENT,
+                        trace(suffix, firedAt),
+                        Optional.empty(),
+                        payload),
+                principal,
+                fencingEpoch,
+                Optional.empty(),
+                "queue-intent-expiry|queueIntentId=" + deadline.queueIntentId().value()
+                        + "|expiredAt=" + deadlineAt,
+                firedAt);
+        return new ProducerRecord<>(
+                QUEUE_ROSTER_COMMAND_TOPIC,
+                command.envelope().aggregateId().value(),
+                ControlCommandWireCodec.encodeQueueRosterCommand(command).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private ProducerRecord<String, byte[]> sessionExpiry(
+            ControlDeadline.SessionLease deadline,
+            Instant deadlineAt,
+            Instant firedAt) {
+        String suffix = "expire-" + deadline.sessionId().value() + "-" + deadlineAt.toEpochMilli();
+        SessionCommand payload = new ExpireSession(deadline.sessionId(), deadlineAt);
+        PrincipalId principal = securityContext.identity().principalId();
+        AuthorityCommand<SessionCommand> command = new AuthorityCommand<>(
+                new CommandEnvelope<>(
+                        new CommandId("command-deadline-" + suffix),
+                        new IdempotencyKey("idem-deadline-" + suffix),
+                        principal,
+                        SessionAuthority.aggregateId(deadline.sessionId()),
+                        new ContractName(SessionAuthorityWireCodec.CONTRACT),
+                        new CommandName(SessionAuthorityWireCodec.EXPIRE_COMMAND),
+                        trace(suffix, firedAt),
+                        Optional.empty(),
+                        payload),
+                principal,
+                fencingEpoch,
+                Optional.empty(),
+                "session-expiry|sessionId=" + deadline.sessionId().value() + "|expiredAt=" + deadlineAt,
+                firedAt);
+        return new ProducerRecord<>(
+                SESSION_COMMAND_TOPIC,
+                command.envelope().aggregateId().value(),
+                SessionAuthorityWireCodec.encodeCommand(command, commandFormat));
+    }
+
+    private TraceEnvelope trace(String suffix, Instant firedAt) {
+        return new TraceEnvelope(
+                "trace-deadline-" + suffix,
+                "span-deadline-" + suffix,
+                Optional.empty(),
+                firedAt,
+                ORIGIN_SERVICE,
+                securityContext.identity().instanceId());
+    }
+
+    private static Future<RecordMetadata> send(Producer<String, byte[]> producer, ProducerRecord<String, byte[]> command) {
+        try {
+            return producer.send(command);
+        } catch (RuntimeException exception) {
+            return CompletableFuture.failedFuture(exception);
+        }
+    }
+
+    private static boolean sent(Future<RecordMetadata> send) {
+        try {
+            send.get();
+            return true;
+        } catch (ExecutionException exception) {
+            return false;
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
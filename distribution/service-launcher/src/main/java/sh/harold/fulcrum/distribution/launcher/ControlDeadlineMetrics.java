@@ -0,0 +1,17 @@
+package sh.harold.fulcrum.distribution.launcher;
+
+import java.util.Objects;
+
+record ControlDeadlineMetrics(
+        long outstanding,
+        long backlog,
+        long fired,
+        long batches,
+        LatencySnapshot fireLag) {
+    ControlDeadlineMetrics {
+        if (outstanding < 0 || backlog < 0 || fired < 0 || batches < 0) {
+            throw new IllegalArgumentException("deadline counters must not be negative");
+        }
+        fireLag = Objects.requireNonNull(fireLag, "fireLag");
+    }
+}
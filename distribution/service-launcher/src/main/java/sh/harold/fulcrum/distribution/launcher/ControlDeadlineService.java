@@ -0,0 +1,184 @@
+package sh.harold.fulcrum.distribution.launcher;
+
+import sh.harold.fulcrum.api.kernel.SessionId;
+import sh.harold.fulcrum.control.queue.QueueIntentStatus;
+import sh.harold.fulcrum.control.queue.QueuePartitionKey;
+import sh.harold.fulcrum.control.queue.QueueRosterControlRecord;
+import sh.harold.fulcrum.control.queue.QueueRosterState;
+import sh.harold.fulcrum.control.route.RouteAttemptControlRecord;
+import sh.harold.fulcrum.control.route.RouteAttemptLifecycleStatus;
+import sh.harold.fulcrum.control.route.RouteAttemptSnapshot;
+import sh.harold.fulcrum.data.session.SessionLifecycleStatus;
+import sh.harold.fulcrum.data.session.SessionSnapshot;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+// Tracks every outstanding route-attempt, queue-intent and session-lease deadline from the state the owning
+// controllers and authorities publish, and hands back the ones that have fallen due in bounded batches. State is
+// last-write-wins, so replaying a state topic from any point converges on the same schedule. Firing is advisory: the
+// owner still validates each expiry command, so a deadline fired from slightly stale state is simply rejected.
+final class ControlDeadlineService {
+    static final Duration DEFAULT_TICK = Duration.ofMillis(10);
+    static final int DEFAULT_MAX_BATCH = 512;
+    static final Duration RETRY_AFTER = Duration.ofSeconds(1);
+    private static final String SESSION_KEY_PREFIX = "session:";
+
+    private final Clock clock;
+    private final int maxBatch;
+    private final DeadlineTimingWheel<ControlDeadline> wheel;
+    // The last queue-roster state seen per partition. States are persistent, so holding one shares its structure with
+    // the controller's own copy, and the next observation diffs against it in proportion to what changed.
+    private final Map<QueuePartitionKey, QueueRosterState> queueRosters = new HashMap<>();
+    private final Map<ControlDeadline, Instant> retries = new HashMap<>();
+    private final LatencyHistogram fireLag = new LatencyHistogram();
+    private long fired;
+    private long batches;
+
+    ControlDeadlineService(Clock clock) {
+        this(clock, DEFAULT_TICK, DEFAULT_MAX_BATCH);
+    }
+
+    ControlDeadlineService(Clock clock, Duration tick, int maxBatch) {
+        this.clock = Objects.requireNonNull(clock, "clock");
+        if (maxBatch <= 0) {
+            throw new IllegalArgumentException("maxBatch must be positive");
+        }
+        this.maxBatch = maxBatch;
+        this.wheel = new DeadlineTimingWheel<>(tick, clock.instant());
+    }
+
+    synchronized void observeRouteAttempt(RouteAttemptControlRecord record) {
+        Objects.requireNonNull(record, "record");
+        record.snapshot().ifPresent(snapshot -> {
+            ControlDeadline deadline = new ControlDeadline.RouteAttempt(snapshot.routeAttemptId());
+            if (awaitingOutcome(snapshot)) {
+                schedule(deadline, snapshot.deadlineAt());
+            } else {
+                cancel(deadline);
+            }
+        });
+    }
+
+    synchronized void observeQueueRoster(QueuePartitionKey partitionKey, QueueRosterControlRecord record) {
+        Objects.requireNonNull(partitionKey, "partitionKey");
+        Objects.requireNonNull(record, "record");
+        QueueRosterState state = record.state();
+        QueueRosterState previous = queueRosters.getOrDefault(partitionKey, QueueRosterState.empty());
+        state.forEachQueueIntentChange(previous, QueueIntentStatus.WAITING, (queueIntentId, snapshot) -> {
+            ControlDeadline deadline = new ControlDeadline.QueueIntent(partitionKey, queueIntentId);
+            if (snapshot.isPresent()) {
+                schedule(deadline, snapshot.orElseThrow().deadlineAt());
+            } else {
+                cancel(deadline);
+            }
+        });
+        if (state.queueIntentsWithStatus(QueueIntentStatus.WAITING).isEmpty()) {
+            queueRosters.remove(partitionKey);
+        } else {
+            queueRosters.put(partitionKey, state);
+        }
+    }
+
+    // Session state values are keyed by the session aggregate; a tombstone, or a value without a live snapshot,
+    // drops the lease.
+    synchronized void observeSessionState(String key, String value) {
+        Optional<SessionSnapshot> snapshot = value == null
+                ? Optional.empty()
+                : SessionAuthorityWireCodec.decodeState(value).current();
+        if (snapshot.isEmpty()) {
+            if (key != null && key.startsWith(SESSION_KEY_PREFIX)) {
+                cancel(new ControlDeadline.SessionLease(new SessionId(key.substring(SESSION_KEY_PREFIX.length()))));
+            }
+            return;
+        }
+        SessionSnapshot session = snapshot.orElseThrow();
+        ControlDeadline deadline = new ControlDeadline.SessionLease(session.sessionId());
+        if (session.status() == SessionLifecycleStatus.PREPARING || session.status() == SessionLifecycleStatus.ACTIVE) {
+            schedule(deadline, session.leaseExpiresAt());
+        } else {
+            cancel(deadline);
+        }
+    }
+
+    // A deadline comes out of here once; the owner's own state change then keeps it from being rescheduled.
+    synchronized List<DeadlineTimingWheel.Expired<ControlDeadline>> fireDue() {
+        Instant now = clock.instant();
+        wheel.advance(now);
+        if (wheel.dueCount() == 0) {
+            return List.of();
+        }
+        List<DeadlineTimingWheel.Expired<ControlDeadline>> batch = new ArrayList<>(wheel.pollDue(maxBatch));
+        for (int index = 0; index < batch.size(); index++) {
+            DeadlineTimingWheel.Expired<ControlDeadline> expired = batch.get(index);
+            fireLag.record(Duration.between(expired.deadline(), now));
+            Instant original = retries.remove(expired.key());
+            if (original != null) {
+                batch.set(index, new DeadlineTimingWheel.Expired<>(expired.key(), original));
+            }
+        }
+        fired += batch.size();
+        batches++;
+        return List.copyOf(batch);
+    }
+
+    // A fired deadline whose command never reached its topic goes back on the wheel RETRY_AFTER from now, so an
+    // unreachable broker is not hit on every pass. It fires again under its original deadline, which keeps the
+    // retried command's ids the same as the lost one's, unless newer state reschedules or cancels it first.
+    synchronized void retry(DeadlineTimingWheel.Expired<ControlDeadline> expired) {
+        Objects.requireNonNull(expired, "expired");
+        wheel.schedule(expired.key(), clock.instant().plus(RETRY_AFTER));
+        retries.put(expired.key(), expired.deadline());
+    }
+
+    synchronized ControlDeadlineMetrics metrics() {
+        return new ControlDeadlineMetrics(wheel.size(), wheel.dueCount(), fired, batches, fireLag.snapshot());
+    }
+
+    void exportTo(RuntimeMetrics registry, String domain) {
+        registry.gauge(
+                "fulcrum_control_deadlines_outstanding",
+                "Deadlines scheduled on the timing wheel.",
+                () -> metrics().outstanding(),
+                "domain",
+                domain);
+        registry.gauge(
+                "fulcrum_control_deadlines_backlog",
+                "Deadlines already due but not yet fired.",
+                () -> metrics().backlog(),
+                "domain",
+                domain);
+        registry.counter("fulcrum_control_deadlines_fired_total", "Deadlines fired.", () -> metrics().fired(), "domain", domain);
+        registry.histogram(
+                "fulcrum_control_deadline_fire_lag_seconds",
+                "Delay between a deadline falling due and firing.",
+                fireLag,
+                "domain",
+                domain);
+    }
+
+    private void schedule(ControlDeadline deadline, Instant at) {
+        retries.remove(deadline);
+        wheel.schedule(deadline, at);
+    }
+
+    private void cancel(ControlDeadline deadline) {
+        retries.remove(deadline);
+        wheel.cancel(deadline);
+    }
+
+    private static boolean awaitingOutcome(RouteAttemptSnapshot snapshot) {
+        RouteAttemptLifecycleStatus status = snapshot.status();
+        return status != RouteAttemptLifecycleStatus.ACKED
+                && status != RouteAttemptLifecycleStatus.TIMED_OUT
+                && status != RouteAttemptLifecycleStatus.FAILED
+                && status != RouteAttemptLifecycleStatus.CANCELLED;
+    }
+}
@@ -2,14 +2,27 @@ package sh.harold.fulcrum.distribution.launcher;
 
 import java.util.Objects;
 
+// A TOMBSTONE emission carries no value; it is published as a null record so compaction drops the key.
 record ControlLogEmission(
         String kind,
         String key,
         String value) {
+    static final String TOMBSTONE = "TOMBSTONE";
+
     ControlLogEmission {
         kind = requireNonBlank(kind, "kind");
         key = requireNonBlank(key, "key");
-        value = Objects.requireNonNull(value, "value");
+        if (TOMBSTONE.equals(kind)) {
+            if (value != null) {
+                throw new IllegalArgumentException("tombstone must not carry a value");
+            }
+        } else {
+            value = Objects.requireNonNull(value, "value");
+        }
+    }
+
+    static ControlLogEmission tombstone(String key) {
+        return new ControlLogEmission(TOMBSTONE, key, null);
     }
 
     private static String requireNonBlank(String value, String label) {
@@ -0,0 +1,162 @@
+package sh.harold.fulcrum.distribution.launcher;
+
+import org.apache.kafka.clients.producer.ProducerRecord;
+import sh.harold.fulcrum.api.contract.CommandEnvelope;
+import sh.harold.fulcrum.api.contract.CommandId;
+import sh.harold.fulcrum.api.contract.IdempotencyKey;
+import sh.harold.fulcrum.api.contract.PrincipalId;
+import sh.harold.fulcrum.api.contract.TraceEnvelope;
+import sh.harold.fulcrum.control.queue.ControlQueueNames;
+import sh.harold.fulcrum.control.queue.FormRosterIntent;
+import sh.harold.fulcrum.control.queue.QueueIntentId;
+import sh.harold.fulcrum.control.queue.QueueIntentSnapshot;
+import sh.harold.fulcrum.control.queue.QueueIntentStatus;
+import sh.harold.fulcrum.control.queue.QueueMatchmakingPolicy;
+import sh.harold.fulcrum.control.queue.QueuePartitionKey;
+import sh.harold.fulcrum.control.queue.QueueRosterControlCommand;
+import sh.harold.fulcrum.control.queue.QueueRosterControlRecord;
+import sh.harold.fulcrum.control.queue.QueueRosterMatchmaker;
+import sh.harold.fulcrum.control.queue.QueueRosterState;
+import sh.harold.fulcrum.host.api.HostSecurityContext;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+// Feeds the matchmaker from the queue-roster records the controller catalog decides and replays, and turns what it
+// forms into FormRosterIntent commands. A formed intent stays in flight until a record shows it left WAITING; one
+// still waiting after RETRY_AFTER is offered again, which covers rejected commands as well as lost ones.
+final class ControlRosterFormation {
+    static final String ORIGIN_SERVICE = "control-roster-formation";
+    static final Duration RETRY_AFTER = Duration.ofSeconds(5);
+
+    private final QueueRosterMatchmaker matchmaker;
+    private final HostSecurityContext securityContext;
+    private final long fencingEpoch;
+    // The last queue-roster state per partition with intents waiting; persistent, so it shares structure with the
+    // controller's copy and each observation diffs against it in proportion to what changed.
+    private final Map<QueuePartitionKey, QueueRosterState> waiting = new HashMap<>();
+    private final Map<QueueIntentId, InFlight> inFlight = new HashMap<>();
+
+    ControlRosterFormation(QueueMatchmakingPolicy policy, HostSecurityContext securityContext, long fencingEpoch) {
+        this.matchmaker = new QueueRosterMatchmaker(Objects.requireNonNull(policy, "policy"));
+        this.securityContext = Objects.requireNonNull(securityContext, "securityContext");
+        if (fencingEpoch < 0) {
+            throw new IllegalArgumentException("fencingEpoch must be non-negative");
+        }
+        this.fencingEpoch = fencingEpoch;
+    }
+
+    synchronized void observeQueueRoster(QueuePartitionKey partitionKey, QueueRosterControlRecord record) {
+        Objects.requireNonNull(partitionKey, "partitionKey");
+        Objects.requireNonNull(record, "record");
+        QueueRosterState state = record.state();
+        QueueRosterState previous = waiting.getOrDefault(partitionKey, QueueRosterState.empty());
+        state.forEachQueueIntentChange(previous, QueueIntentStatus.WAITING, (queueIntentId, snapshot) -> {
+            if (snapshot.isEmpty()) {
+                matchmaker.withdraw(partitionKey, queueIntentId);
+                inFlight.remove(queueIntentId);
+            } else if (!inFlight.containsKey(queueIntentId)) {
+                matchmaker.offer(snapshot.orElseThrow());
+            }
+        });
+        if (state.queueIntentsWithStatus(QueueIntentStatus.WAITING).isEmpty()) {
+            waiting.remove(partitionKey);
+        } else {
+            waiting.put(partitionKey, state);
+        }
+    }
+
+    synchronized List<FormRosterIntent> formReady(Instant now) {
+        return inFlight(matchmaker.formReady(now, trace(now)), now);
+    }
+
+    synchronized List<FormRosterIntent> tick(Instant now) {
+        Objects.requireNonNull(now, "now");
+        Iterator<Map.Entry<QueueIntentId, InFlight>> iterator = inFlight.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<QueueIntentId, InFlight> entry = iterator.next();
+            if (!entry.getValue().formedAt().plus(RETRY_AFTER).isAfter(now)) {
+                iterator.remove();
+                waitingSnapshot(entry.getValue().partitionKey(), entry.getKey()).ifPresent(matchmaker::offer);
+            }
+        }
+        return inFlight(matchmaker.tick(now, trace(now)), now);
+    }
+
+    // A command that never reached the topic gives its intents straight back instead of waiting out RETRY_AFTER.
+    synchronized void release(FormRosterIntent form) {
+        Objects.requireNonNull(form, "form");
+        for (QueueIntentId queueIntentId : form.queueIntentIds()) {
+            if (inFlight.remove(queueIntentId) != null) {
+                waitingSnapshot(form.partitionKey(), queueIntentId).ifPresent(matchmaker::offer);
+            }
+        }
+    }
+
+    synchronized int inFlightIntents() {
+        return inFlight.size();
+    }
+
+    ProducerRecord<String, String> command(FormRosterIntent form) {
+        Objects.requireNonNull(form, "form");
+        // Formation time is part of the ids so a retried roster is not answered from the ledger entry of a rejected one.
+        String suffix = "form-" + form.rosterIntentId().value() + "-" + form.formedAt().toEpochMilli();
+        PrincipalId principal = securityContext.identity().principalId();
+        QueueRosterControlCommand<FormRosterIntent> command = new QueueRosterControlCommand<>(
+                new CommandEnvelope<>(
+                        new CommandId("command-roster-formation-" + suffix),
+                        new IdempotencyKey("idem-roster-formation-" + suffix),
+                        principal,
+                        ControlQueueNames.aggregateId(form.partitionKey()),
+                        ControlQueueNames.CONTRACT,
+                        ControlQueueNames.FORM_ROSTER_INTENT,
+                        form.traceEnvelope().child("span-roster-formation-" + suffix, form.formedAt()),
+                        Optional.empty(),
+                        form),
+                principal,
+                fencingEpoch,
+                Optional.empty(),
+                "roster-formation|rosterIntentId=" + form.rosterIntentId().value()
+                        + "|queueIntents=" + form.queueIntentIds().size(),
+                form.formedAt());
+        return new ProducerRecord<>(
+                ControlDeadlineCommands.QUEUE_ROSTER_COMMAND_TOPIC,
+                command.envelope().aggregateId().value(),
+                ControlCommandWireCodec.encodeQueueRosterCommand(command));
+    }
+
+    private List<FormRosterIntent> inFlight(List<FormRosterIntent> formed, Instant now) {
+        for (FormRosterIntent form : formed) {
+            InFlight entry = new InFlight(form.partitionKey(), now);
+            form.queueIntentIds().forEach(queueIntentId -> inFlight.put(queueIntentId, entry));
+        }
+        return formed;
+    }
+
+    private Optional<QueueIntentSnapshot> waitingSnapshot(QueuePartitionKey partitionKey, QueueIntentId queueIntentId) {
+        QueueRosterState state = waiting.get(partitionKey);
+        return state == null
+                ? Optional.empty()
+                : Optional.ofNullable(state.queueIntentsWithStatus(QueueIntentStatus.WAITING).get(queueIntentId));
+    }
+
+    private TraceEnvelope trace(Instant now) {
+        String suffix = Long.toString(now.toEpochMilli());
+        return new TraceEnvelope(
+                "trace-roster-formation-" + suffix,
+                "span-roster-formation-" + suffix,
+                Optional.empty(),
+                now,
+                ORIGIN_SERVICE,
+                securityContext.identity().instanceId());
+    }
+
+    private record InFlight(QueuePartitionKey partitionKey, Instant formedAt) {
+    }
+}
@@ -40,6 +40,7 @@ import sh.harold.fulcrum.control.lifecycle.LifecycleTraceControlRecord;
 import sh.harold.fulcrum.control.lifecycle.LifecycleTraceEntry;
 import sh.harold.fulcrum.control.lifecycle.LifecycleTraceId;
 import sh.harold.fulcrum.control.lifecycle.LifecycleTraceRecord;
+import sh.harold.fulcrum.control.lifecycle.LifecycleTraceSegment;
 import sh.harold.fulcrum.control.queue.QueueIntentId;
 import sh.harold.fulcrum.control.queue.QueueIntentSnapshot;
 import sh.harold.fulcrum.control.queue.QueueIntentStatus;
@@ -52,6 +53,10 @@ import sh.harold.fulcrum.control.route.RouteAttemptControlRecord;
 import sh.harold.fulcrum.control.route.RouteAttemptId;
 import sh.harold.fulcrum.control.route.RouteAttemptLifecycleStatus;
 import sh.harold.fulcrum.control.route.RouteAttemptSnapshot;
+import sh.harold.fulcrum.data.codegen.LineFieldCursor;
+import sh.harold.fulcrum.data.codegen.LineFields;
+import sh.harold.fulcrum.data.codegen.WireFields;
+import sh.harold.fulcrum.data.codegen.WireInstants;
 import sh.harold.fulcrum.host.api.HostAllocationClaim;
 import sh.harold.fulcrum.host.api.HostInstanceIdentity;
 import sh.harold.fulcrum.host.api.HostNetworkEndpoint;
@@ -73,7 +78,8 @@ final class ControllerStateWireCodec {
     }
 
     static boolean isRecordType(String payload, String type) {
-        return type.equals(fields(payload).get(RECORD_TYPE));
+        // Replay routes each record through several of these checks, so match in place instead of building the map.
+        return LineFieldCursor.hasField(payload, RECORD_TYPE, type, "controller state");
     }
 
     static String encodeInstanceRegistry(InstanceRegistryRecord record) {
@@ -95,7 +101,7 @@ final class ControllerStateWireCodec {
     }
 
     static InstanceRegistryRecord decodeInstanceRegistry(String payload) {
-        Map<String, String> fields = fields(payload);
+        LineFields fields = fields(payload);
         requireType(fields, "instance-registry");
         if (!booleanValue(fields, "snapshot")) {
             return InstanceRegistryRecord.empty(longValue(fields, "fencingEpoch"));
@@ -138,7 +144,7 @@ final class ControllerStateWireCodec {
     }
 
     static RouteAttemptControlRecord decodeRouteAttempt(String payload) {
-        Map<String, String> fields = fields(payload);
+        LineFields fields = fields(payload);
         requireType(fields, "route-attempt");
         if (!booleanValue(fields, "snapshot")) {
             return RouteAttemptControlRecord.empty(longValue(fields, "fencingEpoch"));
@@ -186,7 +192,7 @@ final class ControllerStateWireCodec {
     }
 
     static ExperienceSessionControlRecord decodeExperienceSession(String payload) {
-        Map<String, String> fields = fields(payload);
+        LineFields fields = fields(payload);
         requireType(fields, "experience-session");
         if (!booleanValue(fields, "sessionRecord")) {
             return ExperienceSessionControlRecord.empty(longValue(fields, "fencingEpoch"));
@@ -213,9 +219,42 @@ final class ControllerStateWireCodec {
     static String encodeLifecycleTrace(LifecycleTraceControlRecord record) {
         Map<String, String> fields = base("lifecycle-trace", record.revision(), record.fencingEpoch());
         fields.put("traceId", record.traceRecord().traceId().value());
-        fields.put("entryCount", Integer.toString(record.traceRecord().entries().size()));
-        for (int index = 0; index < record.traceRecord().entries().size(); index++) {
-            LifecycleTraceEntry entry = record.traceRecord().entries().get(index);
+        fields.put("spilledEntryCount", Integer.toString(record.traceRecord().spilledEntryCount()));
+        encodeLifecycleTraceEntries(fields, record.traceRecord().entries());
+        return lines(fields);
+    }
+
+    static LifecycleTraceControlRecord decodeLifecycleTrace(String payload) {
+        LineFields fields = fields(payload);
+        requireType(fields, "lifecycle-trace");
+        LifecycleTraceId traceId = new LifecycleTraceId(required(fields, "traceId"));
+        // Records written before traces spilled carry no spilledEntryCount.
+        int spilledEntryCount = optional(fields, "spilledEntryCount").map(Integer::parseInt).orElse(0);
+        return new LifecycleTraceControlRecord(
+                revision(fields),
+                longValue(fields, "fencingEpoch"),
+                new LifecycleTraceRecord(traceId, spilledEntryCount, decodeLifecycleTraceEntries(fields)));
+    }
+
+    // Spilled segments share the state topic with trace records but carry their own type, so state replay skips them.
+    static String encodeLifecycleTraceSegment(LifecycleTraceControlRecord record, LifecycleTraceSegment segment) {
+        Map<String, String> fields = base("lifecycle-trace-segment", record.revision(), record.fencingEpoch());
+        fields.put("traceId", segment.traceId().value());
+        fields.put("firstSequence", Integer.toString(segment.firstSequence()));
+        encodeLifecycleTraceEntries(fields, segment.entries());
+        return lines(fields);
+    }
+
+    static LifecycleTraceSegment decodeLifecycleTraceSegment(String payload) {
+        LineFields fields = fields(payload);
+        requireType(fields, "lifecycle-trace-segment");
+        return new LifecycleTraceSegment(new LifecycleTraceId(required(fields, "traceId")), decodeLifecycleTraceEntries(fields));
+    }
+
+    private static void encodeLifecycleTraceEntries(Map<String, String> fields, List<LifecycleTraceEntry> entries) {
+        fields.put("entryCount", Integer.toString(entries.size()));
+        for (int index = 0; index < entries.size(); index++) {
+            LifecycleTraceEntry entry = entries.get(index);
             String prefix = "entry." + index + ".";
             fields.put(prefix + "sequence", Integer.toString(entry.sequence()));
             fields.put(prefix + "phase", entry.phase().name());
@@ -226,15 +265,11 @@ final class ControllerStateWireCodec {
             fields.put(prefix + "observedAt", entry.observedAt().toString());
             encodeTrace(fields, prefix + "trace", entry.traceEnvelope());
         }
-        return lines(fields);
     }
 
-    static LifecycleTraceControlRecord decodeLifecycleTrace(String payload) {
-        Map<String, String> fields = fields(payload);
-        requireType(fields, "lifecycle-trace");
-        LifecycleTraceId traceId = new LifecycleTraceId(required(fields, "traceId"));
+    private static List<LifecycleTraceEntry> decodeLifecycleTraceEntries(WireFields fields) {
         int entryCount = intValue(fields, "entryCount");
-        java.util.ArrayList<LifecycleTraceEntry> entries = new java.util.ArrayList<>();
+        java.util.ArrayList<LifecycleTraceEntry> entries = new java.util.ArrayList<>(entryCount);
         for (int index = 0; index < entryCount; index++) {
             String prefix = "entry." + index + ".";
             entries.add(new LifecycleTraceEntry(
@@ -247,10 +282,7 @@ final class ControllerStateWireCodec {
                     instant(fields, prefix + "observedAt"),
                     decodeTrace(fields, prefix + "trace")));
         }
-        return new LifecycleTraceControlRecord(
-                revision(fields),
-                longValue(fields, "fencingEpoch"),
-                new LifecycleTraceRecord(traceId, entries));
+        return entries;
     }
 
     static String encodeCapabilityEnablement(CapabilityEnablementControlRecord record) {
@@ -272,7 +304,7 @@ final class ControllerStateWireCodec {
     }
 
     static CapabilityEnablementControlRecord decodeCapabilityEnablement(String payload) {
-        Map<String, String> fields = fields(payload);
+        LineFields fields = fields(payload);
         requireType(fields, "capability-enablement");
         Map<CapabilityId, CapabilityBinding> bindings = new LinkedHashMap<>();
         int bindingCount = intValue(fields, "bindingCount");
@@ -333,7 +365,7 @@ final class ControllerStateWireCodec {
     }
 
     static QueueRosterControlRecord decodeQueueRoster(String payload) {
-        Map<String, String> fields = fields(payload);
+        LineFields fields = fields(payload);
         requireType(fields, "queue-roster");
         Map<QueueIntentId, QueueIntentSnapshot> queueIntents = new LinkedHashMap<>();
         int queueIntentCount = intValue(fields, "queueIntentCount");
@@ -396,7 +428,7 @@ final class ControllerStateWireCodec {
     }
 
     static FaultControlRecord decodeFault(String payload) {
-        Map<String, String> fields = fields(payload);
+        LineFields fields = fields(payload);
         requireType(fields, "fault");
         if (!booleanValue(fields, "faultRecord")) {
             return FaultControlRecord.empty(longValue(fields, "fencingEpoch"));
@@ -442,7 +474,7 @@ final class ControllerStateWireCodec {
     }
 
     static ExternalControllerWorkerCatalog.StoredSharedShardPlacement decodeSharedShardPlacement(String payload) {
-        Map<String, String> fields = fields(payload);
+        LineFields fields = fields(payload);
         requireType(fields, "shared-shard-placement");
         SharedShardPlacementRequest request = new SharedShardPlacementRequest(
                 new SharedShardExperienceDescriptor(
@@ -502,7 +534,7 @@ final class ControllerStateWireCodec {
     }
 
     static ExternalControllerWorkerCatalog.StoredSharedShardAllocation decodeSharedShardAllocation(String payload) {
-        Map<String, String> fields = fields(payload);
+        LineFields fields = fields(payload);
         requireType(fields, "shared-shard-allocation");
         sh.harold.fulcrum.control.allocation.SharedShardAllocationRequest request =
                 new sh.harold.fulcrum.control.allocation.SharedShardAllocationRequest(
@@ -539,7 +571,7 @@ final class ControllerStateWireCodec {
         return fields;
     }
 
-    private static void requireType(Map<String, String> fields, String expected) {
+    private static void requireType(WireFields fields, String expected) {
         String actual = required(fields, RECORD_TYPE);
         if (!expected.equals(actual)) {
             throw new IllegalArgumentException("Expected controller state " + expected + " but got " + actual);
@@ -555,7 +587,7 @@ final class ControllerStateWireCodec {
         fields.put(prefix + ".originInstanceId", trace.originInstanceId().value());
     }
 
-    private static TraceEnvelope decodeTrace(Map<String, String> fields, String prefix) {
+    private static TraceEnvelope decodeTrace(WireFields fields, String prefix) {
         return new TraceEnvelope(
                 required(fields, prefix + ".traceId"),
                 required(fields, prefix + ".spanId"),
@@ -583,7 +615,7 @@ final class ControllerStateWireCodec {
                 .collect(Collectors.joining(","));
     }
 
-    private static List<SubjectId> subjectIds(Map<String, String> fields, String key) {
+    private static List<SubjectId> subjectIds(WireFields fields, String key) {
         return Arrays.stream(required(fields, key).split(","))
                 .map(String::trim)
                 .filter(value -> !value.isEmpty())
@@ -591,7 +623,7 @@ final class ControllerStateWireCodec {
                 .toList();
     }
 
-    private static List<InstanceId> instanceIds(Map<String, String> fields, String key) {
+    private static List<InstanceId> instanceIds(WireFields fields, String key) {
         return Arrays.stream(required(fields, key).split(","))
                 .map(String::trim)
                 .filter(value -> !value.isEmpty())
@@ -599,7 +631,7 @@ final class ControllerStateWireCodec {
                 .toList();
     }
 
-    private static List<QueueIntentId> queueIntentIds(Map<String, String> fields, String key) {
+    private static List<QueueIntentId> queueIntentIds(WireFields fields, String key) {
         return Arrays.stream(required(fields, key).split(","))
                 .map(String::trim)
                 .filter(value -> !value.isEmpty())
@@ -607,19 +639,8 @@ final class ControllerStateWireCodec {
                 .toList();
     }
 
-    private static Map<String, String> fields(String payload) {
-        Map<String, String> fields = new LinkedHashMap<>();
-        if (payload == null || payload.isBlank()) {
-            return fields;
-        }
-        for (String line : payload.split("\\R")) {
-            int separator = line.indexOf('=');
-            if (separator < 1) {
-                throw new IllegalArgumentException("Malformed controller state wire line: " + line);
-            }
-            fields.put(line.substring(0, separator), line.substring(separator + 1));
-        }
-        return fields;
+    private static LineFields fields(String payload) {
+        return LineFields.of(payload, "controller state");
     }
 
     private static String lines(Map<String, String> fields) {
@@ -628,7 +649,7 @@ final class ControllerStateWireCodec {
         return builder.toString();
     }
 
-    private static String required(Map<String, String> fields, String key) {
+    private static String required(WireFields fields, String key) {
         String value = fields.get(key);
         if (value == null || value.isBlank()) {
             throw new IllegalArgumentException("Missing controller state wire field " + key);
@@ -636,32 +657,32 @@ final class ControllerStateWireCodec {
         return value;
     }
 
-    private static Optional<String> optional(Map<String, String> fields, String key) {
+    private static Optional<String> optional(WireFields fields, String key) {
         String value = fields.get(key);
         return value == null || value.isBlank() ? Optional.empty() : Optional.of(value);
     }
 
-    private static Revision revision(Map<String, String> fields) {
+    private static Revision revision(WireFields fields) {
         return new Revision(longValue(fields, "revision"));
     }
 
-    private static boolean booleanValue(Map<String, String> fields, String key) {
+    private static boolean booleanValue(WireFields fields, String key) {
         return Boolean.parseBoolean(required(fields, key));
     }
 
-    private static int intValue(Map<String, String> fields, String key) {
+    private static int intValue(WireFields fields, String key) {
         return Integer.parseInt(required(fields, key));
     }
 
-    private static long longValue(Map<String, String> fields, String key) {
+    private static long longValue(WireFields fields, String key) {
         return Long.parseLong(required(fields, key));
     }
 
-    private static Instant instant(Map<String, String> fields, String key) {
-        return Instant.parse(required(fields, key));
+    private static Instant instant(WireFields fields, String key) {
+        return WireInstants.parse(required(fields, key));
     }
 
-    private static Optional<Instant> optionalInstant(Map<String, String> fields, String key) {
-        return optional(fields, key).map(Instant::parse);
+    private static Optional<Instant> optionalInstant(WireFields fields, String key) {
+        return optional(fields, key).map(WireInstants::parse);
     }
 }
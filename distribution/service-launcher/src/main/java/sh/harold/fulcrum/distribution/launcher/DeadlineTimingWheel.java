@@ -0,0 +1,209 @@
+package sh.harold.fulcrum.distribution.launcher;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+// Hierarchical timing wheel: six levels of 64 slots, each level's slot spanning a whole turn of the level below.
+// Scheduling and cancelling are O(1) whatever the number of outstanding deadlines; advancing touches only the slots
+// whose time has come, cascading a higher-level slot down as the clock crosses its boundary. A deadline belongs to
+// the first tick boundary at or after its instant, so it is never due early and at most one tick late. Deadlines
+// past the top level's span are parked in its last slot and re-placed whenever it cascades. Not thread-safe.
+final class DeadlineTimingWheel<K> {
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 6;
+    private static final long SPAN_TICKS = 1L << (SLOT_BITS * LEVELS);
+
+    private final long tickMillis;
+    private final Entry<K>[][] levels;
+    private final Entry<K> due = Entry.sentinel();
+    private final Map<K, Entry<K>> entries = new HashMap<>();
+    private long currentTick;
+    private int dueCount;
+
+    @SuppressWarnings("unchecked")
+    DeadlineTimingWheel(Duration tick, Instant start) {
+        Objects.requireNonNull(tick, "tick");
+        if (tick.toMillis() <= 0) {
+            throw new IllegalArgumentException("tick must be at least one millisecond");
+        }
+        this.tickMillis = tick.toMillis();
+        this.currentTick = Math.floorDiv(Objects.requireNonNull(start, "start").toEpochMilli(), tickMillis);
+        this.levels = new Entry[LEVELS][SLOTS];
+        for (Entry<K>[] level : levels) {
+            for (int slot = 0; slot < SLOTS; slot++) {
+                level[slot] = Entry.sentinel();
+            }
+        }
+    }
+
+    // Replaces any deadline already scheduled for the key.
+    void schedule(K key, Instant deadline) {
+        Objects.requireNonNull(key, "key");
+        Objects.requireNonNull(deadline, "deadline");
+        Entry<K> existing = entries.get(key);
+        if (existing != null) {
+            if (existing.deadline.equals(deadline)) {
+                return;
+            }
+            unlink(existing);
+        }
+        long deadlineMillis = deadline.toEpochMilli() + (deadline.getNano() % 1_000_000 == 0 ? 0 : 1);
+        Entry<K> entry = new Entry<>(key, deadline, Math.ceilDiv(deadlineMillis, tickMillis));
+        entries.put(key, entry);
+        place(entry);
+    }
+
+    boolean cancel(K key) {
+        Entry<K> entry = entries.remove(Objects.requireNonNull(key, "key"));
+        if (entry == null) {
+            return false;
+        }
+        unlink(entry);
+        return true;
+    }
+
+    Instant deadline(K key) {
+        Entry<K> entry = entries.get(Objects.requireNonNull(key, "key"));
+        return entry == null ? null : entry.deadline;
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    // Deadlines that have come due but have not been polled yet.
+    int dueCount() {
+        return dueCount;
+    }
+
+    void advance(Instant now) {
+        long target = Math.floorDiv(Objects.requireNonNull(now, "now").toEpochMilli(), tickMillis);
+        if (entries.size() == dueCount) {
+            // Nothing is waiting in the wheel, so there is nothing to cascade on the way.
+            currentTick = Math.max(currentTick, target);
+            return;
+        }
+        while (currentTick < target) {
+            currentTick++;
+            for (int level = 1; level < LEVELS && (currentTick & ((1L << (SLOT_BITS * level)) - 1)) == 0; level++) {
+                cascade(levels[level][slotIndex(currentTick, level)]);
+            }
+            moveToDue(levels[0][(int) (currentTick & SLOT_MASK)]);
+        }
+    }
+
+    // Deadlines come out in the order they fell due.
+    List<Expired<K>> pollDue(int max) {
+        if (max <= 0) {
+            throw new IllegalArgumentException("max must be positive");
+        }
+        List<Expired<K>> expired = new ArrayList<>(Math.min(max, dueCount));
+        while (expired.size() < max && due.next != due) {
+            Entry<K> entry = due.next;
+            unlink(entry);
+            entries.remove(entry.key);
+            expired.add(new Expired<>(entry.key, entry.deadline));
+        }
+        return expired;
+    }
+
+    private void place(Entry<K> entry) {
+        long delta = entry.tick - currentTick;
+        if (delta <= 0) {
+            append(due, entry);
+            dueCount++;
+            return;
+        }
+        if (delta >= SPAN_TICKS) {
+            append(levels[LEVELS - 1][slotIndex(currentTick + SPAN_TICKS - 1, LEVELS - 1)], entry);
+            return;
+        }
+        int level = (63 - Long.numberOfLeadingZeros(delta)) / SLOT_BITS;
+        append(levels[level][slotIndex(entry.tick, level)], entry);
+    }
+
+    private void cascade(Entry<K> slot) {
+        Entry<K> entry = slot.next;
+        slot.next = slot;
+        slot.previous = slot;
+        while (entry != slot) {
+            Entry<K> next = entry.next;
+            entry.next = null;
+            entry.previous = null;
+            place(entry);
+            entry = next;
+        }
+    }
+
+    private void moveToDue(Entry<K> slot) {
+        while (slot.next != slot) {
+            Entry<K> entry = slot.next;
+            unlinkFromSlot(entry);
+            append(due, entry);
+            dueCount++;
+        }
+    }
+
+    private void unlink(Entry<K> entry) {
+        if (entry.due) {
+            dueCount--;
+        }
+        unlinkFromSlot(entry);
+    }
+
+    private void append(Entry<K> slot, Entry<K> entry) {
+        entry.due = slot == due;
+        entry.previous = slot.previous;
+        entry.next = slot;
+        slot.previous.next = entry;
+        slot.previous = entry;
+    }
+
+    private static <K> void unlinkFromSlot(Entry<K> entry) {
+        entry.previous.next = entry.next;
+        entry.next.previous = entry.previous;
+        entry.next = null;
+        entry.previous = null;
+        entry.due = false;
+    }
+
+    private static int slotIndex(long tick, int level) {
+        return (int) ((tick >>> (SLOT_BITS * level)) & SLOT_MASK);
+    }
+
+    record Expired<K>(K key, Instant deadline) {
+        Expired {
+            Objects.requireNonNull(key, "key");
+            Objects.requireNonNull(deadline, "deadline");
+        }
+    }
+
+    private static final class Entry<K> {
+        private final K key;
+        private final Instant deadline;
+        private final long tick;
+        private Entry<K> previous;
+        private Entry<K> next;
+        private boolean due;
+
+        private Entry(K key, Instant deadline, long tick) {
+            this.key = key;
+            this.deadline = deadline;
+            this.tick = tick;
+        }
+
+        private static <K> Entry<K> sentinel() {
+            Entry<K> sentinel = new Entry<>(null, Instant.EPOCH, 0);
+            sentinel.previous = sentinel;
+            sentinel.next = sentinel;
+            return sentinel;
+        }
+    }
+}
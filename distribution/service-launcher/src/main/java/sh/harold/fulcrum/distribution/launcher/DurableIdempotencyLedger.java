@@ -1,12 +1,18 @@
 package sh.harold.fulcrum.distribution.launcher;
 
 import org.apache.kafka.clients.consumer.ConsumerRecord;
+import sh.harold.fulcrum.data.codegen.LineFieldCursor;
 import sh.harold.fulcrum.data.store.kafka.KafkaClientBundle;
 
 import java.nio.charset.StandardCharsets;
+import java.time.Clock;
 import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Base64;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
@@ -14,12 +20,16 @@ import java.util.Optional;
 final class DurableIdempotencyLedger {
     static final String CONTROL_RECORD_TYPE = "control-idempotency";
     static final String WORKER_RECORD_TYPE = "worker-idempotency";
+    static final String CONTROL_KEY_PREFIX = "ctrl.idempotency.";
 
     private final String recordType;
-    private final Map<String, StoredDecision> decisions = new LinkedHashMap<>();
+    private final Clock clock;
+    // Kept in record order, so entries past a retention cutoff are always at the head.
+    private final Map<String, Entry> decisions = new LinkedHashMap<>();
 
-    private DurableIdempotencyLedger(String recordType) {
+    private DurableIdempotencyLedger(String recordType, Clock clock) {
         this.recordType = requireNonBlank(recordType, "recordType");
+        this.clock = Objects.requireNonNull(clock, "clock");
     }
 
     static DurableIdempotencyLedger replay(
@@ -27,17 +37,61 @@ final class DurableIdempotencyLedger {
             String topic,
             Duration pollTimeout,
             String recordType) {
-        DurableIdempotencyLedger ledger = new DurableIdempotencyLedger(recordType);
-        KafkaStateTopicReplayer.replay(kafka, topic, pollTimeout, ledger::replayRecord);
+        return replay(kafka, topic, pollTimeout, recordType, StateTopicSnapshotStore.disabled());
+    }
+
+    static DurableIdempotencyLedger replay(
+            KafkaClientBundle kafka,
+            String topic,
+            Duration pollTimeout,
+            String recordType,
+            StateTopicSnapshotStore snapshots) {
+        Objects.requireNonNull(kafka, "kafka");
+        return replay(kafka.consumer(), topic, pollTimeout, recordType, snapshots, Clock.systemUTC());
+    }
+
+    static DurableIdempotencyLedger replay(
+            org.apache.kafka.clients.consumer.Consumer<String, String> consumer,
+            String topic,
+            Duration pollTimeout,
+            String recordType,
+            StateTopicSnapshotStore snapshots,
+            Clock clock) {
+        DurableIdempotencyLedger ledger = new DurableIdempotencyLedger(recordType, clock);
+        KafkaStateTopicReplayer.replay(consumer, topic, pollTimeout, snapshots, ledger::replayRecord);
         return ledger;
     }
 
+    static String controlStateKey(String domain, String idempotencyKey) {
+        return CONTROL_KEY_PREFIX + requireNonBlank(domain, "domain") + ":" + requireNonBlank(idempotencyKey, "idempotencyKey");
+    }
+
     Optional<StoredDecision> lookup(String idempotencyKey) {
-        return Optional.ofNullable(decisions.get(requireNonBlank(idempotencyKey, "idempotencyKey")));
+        Entry entry = decisions.get(requireNonBlank(idempotencyKey, "idempotencyKey"));
+        return entry == null ? Optional.empty() : Optional.of(entry.decision());
     }
 
     void put(StoredDecision decision) {
-        decisions.put(decision.idempotencyKey(), decision);
+        put(decision, clock.instant());
+    }
+
+    int size() {
+        return decisions.size();
+    }
+
+    List<String> evictRecordedBefore(Instant cutoff) {
+        Objects.requireNonNull(cutoff, "cutoff");
+        List<String> evicted = new ArrayList<>();
+        Iterator<Entry> entries = decisions.values().iterator();
+        while (entries.hasNext()) {
+            Entry entry = entries.next();
+            if (!entry.recordedAt().isBefore(cutoff)) {
+                break;
+            }
+            entries.remove();
+            evicted.add(entry.decision().idempotencyKey());
+        }
+        return List.copyOf(evicted);
     }
 
     String encode(StoredDecision decision) {
@@ -48,23 +102,61 @@ final class DurableIdempotencyLedger {
         fields.put("payloadFingerprint", encodeField(decision.payloadFingerprint()));
         fields.put("responseKey", encodeField(decision.responseKey()));
         fields.put("responseValue", encodeField(decision.responseValue()));
+        Entry entry = decisions.get(decision.idempotencyKey());
+        fields.put("recordedAt", (entry == null ? clock.instant() : entry.recordedAt()).toString());
         return lines(fields);
     }
 
+    private void put(StoredDecision decision, Instant recordedAt) {
+        decisions.remove(decision.idempotencyKey());
+        decisions.put(decision.idempotencyKey(), new Entry(decision, recordedAt));
+    }
+
     private void replayRecord(ConsumerRecord<String, String> record) {
-        decode(record.value(), recordType).ifPresent(this::put);
+        if (record.value() == null) {
+            // Retention tombstones carry only the state key.
+            String key = record.key();
+            if (key != null && key.startsWith(CONTROL_KEY_PREFIX) && key.indexOf(':') > 0) {
+                decisions.remove(key.substring(key.indexOf(':') + 1));
+            }
+            return;
+        }
+        replayPayload(record.value());
     }
 
-    private static Optional<StoredDecision> decode(String payload, String expectedRecordType) {
-        Map<String, String> fields = fields(payload);
-        if (!expectedRecordType.equals(fields.get("recordType"))) {
-            return Optional.empty();
+    private void replayPayload(String payload) {
+        LineFieldCursor cursor = LineFieldCursor.over(payload, "idempotency ledger");
+        boolean matched = false;
+        String idempotencyKey = null;
+        String payloadFingerprint = null;
+        String responseKey = null;
+        String responseValue = null;
+        String recordedAt = null;
+        while (cursor.next()) {
+            if (cursor.keyEquals("recordType")) {
+                matched = cursor.valueEquals(recordType);
+            } else if (cursor.keyEquals("idempotencyKey")) {
+                idempotencyKey = cursor.value();
+            } else if (cursor.keyEquals("payloadFingerprint")) {
+                payloadFingerprint = cursor.value();
+            } else if (cursor.keyEquals("responseKey")) {
+                responseKey = cursor.value();
+            } else if (cursor.keyEquals("responseValue")) {
+                responseValue = cursor.value();
+            } else if (cursor.keyEquals("recordedAt")) {
+                recordedAt = cursor.value();
+            }
+        }
+        if (!matched) {
+            return;
         }
-        return Optional.of(new StoredDecision(
-                required(fields, "idempotencyKey"),
-                decodeField(required(fields, "payloadFingerprint")),
-                decodeField(required(fields, "responseKey")),
-                decodeField(required(fields, "responseValue"))));
+        put(new StoredDecision(
+                        required(idempotencyKey, "idempotencyKey"),
+                        decodeField(required(payloadFingerprint, "payloadFingerprint")),
+                        decodeField(required(responseKey, "responseKey")),
+                        decodeField(required(responseValue, "responseValue"))),
+                // Entries written before recordedAt existed restart their retention window at replay.
+                recordedAt == null || recordedAt.isBlank() ? clock.instant() : Instant.parse(recordedAt));
     }
 
     private static String encodeField(String value) {
@@ -76,29 +168,13 @@ final class DurableIdempotencyLedger {
         return new String(Base64.getDecoder().decode(requireNonBlank(value, "value")), StandardCharsets.UTF_8);
     }
 
-    private static Map<String, String> fields(String payload) {
-        Map<String, String> fields = new LinkedHashMap<>();
-        if (payload == null || payload.isBlank()) {
-            return fields;
-        }
-        for (String line : payload.split("\\R")) {
-            int separator = line.indexOf('=');
-            if (separator < 1) {
-                throw new IllegalArgumentException("Malformed idempotency ledger wire line: " + line);
-            }
-            fields.put(line.substring(0, separator), line.substring(separator + 1));
-        }
-        return fields;
-    }
-
     private static String lines(Map<String, String> fields) {
         StringBuilder builder = new StringBuilder();
         fields.forEach((key, value) -> builder.append(key).append('=').append(value == null ? "" : value).append('\n'));
         return builder.toString();
     }
 
-    private static String required(Map<String, String> fields, String key) {
-        String value = fields.get(key);
+    private static String required(String value, String key) {
         if (value == null || value.isBlank()) {
             throw new IllegalArgumentException("Missing idempotency ledger wire field " + key);
         }
@@ -125,4 +201,7 @@ final class DurableIdempotencyLedger {
             responseValue = requireNonBlank(responseValue, "responseValue");
         }
     }
+
+    private record Entry(StoredDecision decision, Instant recordedAt) {
+    }
 }
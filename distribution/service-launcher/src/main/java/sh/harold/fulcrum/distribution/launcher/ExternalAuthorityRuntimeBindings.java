@@ -1,6 +1,8 @@
 package sh.harold.fulcrum.distribution.launcher;
 
 import com.datastax.oss.driver.api.core.cql.SimpleStatement;
+import org.apache.kafka.clients.consumer.ConsumerRebalanceListener;
+import org.apache.kafka.common.TopicPartition;
 import sh.harold.fulcrum.api.contract.CommandPayload;
 import sh.harold.fulcrum.api.kernel.RouteId;
 import sh.harold.fulcrum.api.kernel.SessionId;
@@ -8,6 +10,7 @@ import sh.harold.fulcrum.data.artifact.ArtifactMetadata;
 import sh.harold.fulcrum.data.artifact.ArtifactMetadataReceipt;
 import sh.harold.fulcrum.data.artifact.ArtifactMetadataState;
 import sh.harold.fulcrum.data.artifact.PublishArtifactMetadata;
+import sh.harold.fulcrum.data.authority.AuthorityCommand;
 import sh.harold.fulcrum.data.authority.AuthorityDecision;
 import sh.harold.fulcrum.data.authority.AuthorityRecord;
 import sh.harold.fulcrum.data.authority.IdempotencyLedger;
@@ -15,9 +18,11 @@ import sh.harold.fulcrum.data.authority.StoredAuthorityDecision;
 import sh.harold.fulcrum.data.authority.runtime.AuthorityCommandSource;
 import sh.harold.fulcrum.data.authority.runtime.AuthorityDecisionRecorder;
 import sh.harold.fulcrum.data.authority.runtime.AuthorityEmissionSink;
+import sh.harold.fulcrum.data.authority.runtime.AuthorityEmissionSinks;
 import sh.harold.fulcrum.data.authority.runtime.AuthorityOffsetCommitter;
 import sh.harold.fulcrum.data.authority.runtime.AuthorityProjectionWriter;
 import sh.harold.fulcrum.data.authority.runtime.AuthorityRecordStore;
+import sh.harold.fulcrum.data.authority.runtime.CachedAuthorityRecordStore;
 import sh.harold.fulcrum.data.presence.PresenceCommand;
 import sh.harold.fulcrum.data.presence.PresenceReceipt;
 import sh.harold.fulcrum.data.presence.PresenceSnapshot;
@@ -31,12 +36,12 @@ import sh.harold.fulcrum.data.session.SessionReceipt;
 import sh.harold.fulcrum.data.session.SessionSnapshot;
 import sh.harold.fulcrum.data.session.SessionState;
 import sh.harold.fulcrum.data.store.cassandra.CassandraAuthorityProjectionWriter;
-import sh.harold.fulcrum.data.store.kafka.KafkaAuthorityCommandDecoder;
 import sh.harold.fulcrum.data.store.kafka.KafkaAuthorityCommandSource;
 import sh.harold.fulcrum.data.store.kafka.KafkaAuthorityEmissionSink;
 import sh.harold.fulcrum.data.store.kafka.KafkaAuthorityEmissionTopics;
 import sh.harold.fulcrum.data.store.kafka.KafkaAuthorityOffsetCommitter;
 import sh.harold.fulcrum.data.store.kafka.KafkaClientBundle;
+import sh.harold.fulcrum.data.store.kafka.KafkaOffsetCommitPolicy;
 import sh.harold.fulcrum.data.store.postgresql.JdbcAuthorityDecisionRecorder;
 import sh.harold.fulcrum.data.store.postgresql.JdbcAuthorityDecisionRecorderConfig;
 import sh.harold.fulcrum.data.store.postgresql.JdbcAuthorityRecordStore;
@@ -51,8 +56,11 @@ import sh.harold.fulcrum.data.subject.SubjectSnapshot;
 import sh.harold.fulcrum.data.subject.SubjectState;
 
 import java.time.Duration;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
 
 final class ExternalAuthorityRuntimeBindings implements AuthorityRuntimeBindings {
@@ -63,33 +71,87 @@ final class ExternalAuthorityRuntimeBindings implements AuthorityRuntimeBindings
     private static final String ARTIFACT_METADATA = "artifact-metadata";
     private static final Duration KAFKA_POLL_TIMEOUT = Duration.ofMillis(100);
     private static final Duration KAFKA_SEND_TIMEOUT = Duration.ofSeconds(10);
+    private static final int RECORD_CACHE_ENTRIES = 10_000;
     private static final JdbcAuthorityRecordStoreConfig RECORD_STORE =
             new JdbcAuthorityRecordStoreConfig("authority_records");
     private static final JdbcAuthorityDecisionRecorderConfig DECISION_RECORDER =
             new JdbcAuthorityDecisionRecorderConfig("authority_decisions");
 
     private final RuntimeExternalClients.AuthorityClients clients;
+    private final Map<String, CachedAuthorityRecordStore<?>> recordCaches = new ConcurrentHashMap<>();
+    private final Map<String, KafkaAuthorityOffsetCommitter> offsetCommitters = new ConcurrentHashMap<>();
 
     ExternalAuthorityRuntimeBindings(RuntimeExternalClients.AuthorityClients clients) {
         this.clients = Objects.requireNonNull(clients, "clients");
     }
 
+    // Every authority domain shares one PostgreSQL pool, so it is exported once rather than per worker.
+    void exportTo(RuntimeMetrics registry) {
+        AuthorityRuntimeMetrics.exportConnectionPool(registry, clients.postgres());
+    }
+
     @Override
     public <C extends CommandPayload> AuthorityCommandSource<C> commandSource(String authorityDomain) {
         KafkaClientBundle kafka = kafka(authorityDomain);
-        kafka.subscribe(List.of(commandTopic(authorityDomain)));
-        return new KafkaAuthorityCommandSource<>(kafka.consumer(), KAFKA_POLL_TIMEOUT, commandDecoder(authorityDomain));
+        AuthorityWireSerde<AuthorityCommand<C>> commandSerde = commandSerde(authorityDomain);
+        KafkaAuthorityCommandSource<C> commandSource = KafkaAuthorityCommandSource.forByteValues(
+                kafka.byteValueConsumer(),
+                KAFKA_POLL_TIMEOUT,
+                commandSerde::decode);
+        kafka.subscribe(List.of(commandTopic(authorityDomain)), new ConsumerRebalanceListener() {
+            @Override
+            public void onPartitionsRevoked(Collection<TopicPartition> partitions) {
+                // The command source fences a sharded runtime first, so its final offsets reach the committer's flush.
+                commandSource.onPartitionsRevoked(partitions);
+                KafkaAuthorityOffsetCommitter offsetCommitter = offsetCommitters.get(authorityDomain);
+                if (offsetCommitter != null) {
+                    offsetCommitter.onPartitionsRevoked(partitions);
+                }
+                if (!partitions.isEmpty()) {
+                    invalidateRecordCache(authorityDomain);
+                }
+            }
+
+            @Override
+            public void onPartitionsAssigned(Collection<TopicPartition> partitions) {
+                commandSource.onPartitionsAssigned(partitions);
+            }
+
+            @Override
+            public void onPartitionsLost(Collection<TopicPartition> partitions) {
+                commandSource.onPartitionsLost(partitions);
+                KafkaAuthorityOffsetCommitter offsetCommitter = offsetCommitters.get(authorityDomain);
+                if (offsetCommitter != null) {
+                    offsetCommitter.onPartitionsLost(partitions);
+                }
+                invalidateRecordCache(authorityDomain);
+            }
+        });
+        return commandSource;
     }
 
     @Override
     public <S> AuthorityRecordStore<S> recordStore(
             String authorityDomain,
             Supplier<AuthorityRecord<S>> emptyRecord) {
-        return new JdbcAuthorityRecordStore<>(
-                clients.postgres().dataSource(),
-                RECORD_STORE,
-                stateCodec(authorityDomain),
-                emptyRecord);
+        CachedAuthorityRecordStore<S> recordStore = new CachedAuthorityRecordStore<>(
+                new JdbcAuthorityRecordStore<>(
+                        clients.postgres().dataSource(),
+                        RECORD_STORE,
+                        stateCodec(authorityDomain),
+                        emptyRecord),
+                RECORD_CACHE_ENTRIES);
+        recordCaches.put(authorityDomain, recordStore);
+        return recordStore;
+    }
+
+    private void invalidateRecordCache(String authorityDomain) {
+        // Command keys are not guaranteed to be aggregate ids, so a revoked partition cannot be mapped back to
+        // its cached aggregates; drop the domain's whole cache and let the new assignment warm it again.
+        CachedAuthorityRecordStore<?> recordStore = recordCaches.get(authorityDomain);
+        if (recordStore != null) {
+            recordStore.invalidateAll();
+        }
     }
 
     @Override
@@ -134,10 +196,7 @@ final class ExternalAuthorityRuntimeBindings implements AuthorityRuntimeBindings
                         responseTopic(authorityDomain)),
                 KAFKA_SEND_TIMEOUT);
         AuthorityEmissionSink cacheSink = new ValkeyAuthorityCacheSink(clients.valkey().client());
-        return emission -> {
-            kafkaSink.publish(emission);
-            cacheSink.publish(emission);
-        };
+        return AuthorityEmissionSinks.composite(kafkaSink, cacheSink);
     }
 
     @Override
@@ -180,7 +239,11 @@ final class ExternalAuthorityRuntimeBindings implements AuthorityRuntimeBindings
 
     @Override
     public AuthorityOffsetCommitter offsetCommitter(String authorityDomain) {
-        return new KafkaAuthorityOffsetCommitter(kafka(authorityDomain).consumer());
+        KafkaAuthorityOffsetCommitter offsetCommitter = new KafkaAuthorityOffsetCommitter(
+                kafka(authorityDomain).byteValueConsumer(),
+                KafkaOffsetCommitPolicy.defaults());
+        offsetCommitters.put(authorityDomain, offsetCommitter);
+        return offsetCommitter;
     }
 
     @Override
@@ -225,31 +288,47 @@ final class ExternalAuthorityRuntimeBindings implements AuthorityRuntimeBindings
         return clients.kafka(authorityDomain);
     }
 
-    @SuppressWarnings("unchecked")
-    private static <C extends CommandPayload> KafkaAuthorityCommandDecoder<C> commandDecoder(String authorityDomain) {
+    // The authority only reads commands, so the serde's encoding format is never used here; each record is decoded
+    // according to its own frame marker.
+    private static <C extends CommandPayload> AuthorityWireSerde<AuthorityCommand<C>> commandSerde(String authorityDomain) {
         if (PRESENCE.equals(authorityDomain)) {
-            return record -> (sh.harold.fulcrum.data.authority.AuthorityCommand<C>)
-                    PresenceAuthorityWireCodec.decodeCommand(record);
+            return castSerde(new AuthorityWireSerde<AuthorityCommand<PresenceCommand>>(
+                    AuthorityWireFormat.TEXT,
+                    PresenceAuthorityWireCodec::encodeCommand,
+                    PresenceAuthorityWireCodec::decodeCommand));
         }
         if (SUBJECT.equals(authorityDomain)) {
-            return record -> (sh.harold.fulcrum.data.authority.AuthorityCommand<C>)
-                    SubjectAuthorityWireCodec.decodeCommand(record);
+            return castSerde(new AuthorityWireSerde<AuthorityCommand<SubjectCommand>>(
+                    AuthorityWireFormat.TEXT,
+                    SubjectAuthorityWireCodec::encodeCommand,
+                    SubjectAuthorityWireCodec::decodeCommand));
         }
         if (ROUTE.equals(authorityDomain)) {
-            return record -> (sh.harold.fulcrum.data.authority.AuthorityCommand<C>)
-                    RouteAuthorityWireCodec.decodeCommand(record);
+            return castSerde(new AuthorityWireSerde<AuthorityCommand<RouteCommand>>(
+                    AuthorityWireFormat.TEXT,
+                    RouteAuthorityWireCodec::encodeCommand,
+                    RouteAuthorityWireCodec::decodeCommand));
         }
         if (SESSION.equals(authorityDomain)) {
-            return record -> (sh.harold.fulcrum.data.authority.AuthorityCommand<C>)
-                    SessionAuthorityWireCodec.decodeCommand(record);
+            return castSerde(new AuthorityWireSerde<AuthorityCommand<SessionCommand>>(
+                    AuthorityWireFormat.TEXT,
+                    SessionAuthorityWireCodec::encodeCommand,
+                    SessionAuthorityWireCodec::decodeCommand));
         }
         if (ARTIFACT_METADATA.equals(authorityDomain)) {
-            return record -> (sh.harold.fulcrum.data.authority.AuthorityCommand<C>)
-                    ArtifactMetadataAuthorityWireCodec.decodeCommand(record);
+            return castSerde(new AuthorityWireSerde<AuthorityCommand<PublishArtifactMetadata>>(
+                    AuthorityWireFormat.TEXT,
+                    ArtifactMetadataAuthorityWireCodec::encodeCommand,
+                    ArtifactMetadataAuthorityWireCodec::decodeCommand));
         }
-        return record -> {
-            throw new IllegalArgumentException("No external command decoder for authority domain " + authorityDomain);
-        };
+        return new AuthorityWireSerde<>(
+                AuthorityWireFormat.TEXT,
+                (command, format) -> {
+                    throw new IllegalArgumentException("No external command codec for authority domain " + authorityDomain);
+                },
+                (key, payload) -> {
+                    throw new IllegalArgumentException("No external command decoder for authority domain " + authorityDomain);
+                });
     }
 
     @SuppressWarnings("unchecked")
@@ -272,6 +351,11 @@ final class ExternalAuthorityRuntimeBindings implements AuthorityRuntimeBindings
         return unsupportedStateCodec(authorityDomain);
     }
 
+    @SuppressWarnings("unchecked")
+    private static <C extends CommandPayload> AuthorityWireSerde<AuthorityCommand<C>> castSerde(AuthorityWireSerde<?> serde) {
+        return (AuthorityWireSerde<AuthorityCommand<C>>) serde;
+    }
+
     @SuppressWarnings("unchecked")
     private static <S, C extends CommandPayload, R> AuthorityProjectionWriter<S, C, R> castProjection(
             AuthorityProjectionWriter<?, ?, ?> writer) {
@@ -458,7 +542,7 @@ final class ExternalAuthorityRuntimeBindings implements AuthorityRuntimeBindings
     }
 
     private static SimpleStatement presenceProjectionStatement(
-            sh.harold.fulcrum.data.authority.AuthorityCommand<PresenceCommand> command,
+            AuthorityCommand<PresenceCommand> command,
             AuthorityDecision<PresenceState, PresenceReceipt> decision) {
         PresenceSnapshot snapshot = decision.state().current().orElseThrow();
         return SimpleStatement.newInstance("""
@@ -490,7 +574,7 @@ final class ExternalAuthorityRuntimeBindings implements AuthorityRuntimeBindings
     }
 
     private static SimpleStatement subjectProjectionStatement(
-            sh.harold.fulcrum.data.authority.AuthorityCommand<SubjectCommand> command,
+            AuthorityCommand<SubjectCommand> command,
             AuthorityDecision<SubjectState, SubjectReceipt> decision) {
         SubjectSnapshot snapshot = decision.state().current().orElseThrow();
         return SimpleStatement.newInstance("""
@@ -520,7 +604,7 @@ final class ExternalAuthorityRuntimeBindings implements AuthorityRuntimeBindings
     }
 
     private static SimpleStatement routeProjectionStatement(
-            sh.harold.fulcrum.data.authority.AuthorityCommand<RouteCommand> command,
+            AuthorityCommand<RouteCommand> command,
             AuthorityDecision<RouteState, RouteReceipt> decision) {
         RouteSnapshot snapshot = decision.state().current().orElseThrow();
         return SimpleStatement.newInstance("""
@@ -548,7 +632,7 @@ final class ExternalAuthorityRuntimeBindings implements AuthorityRuntimeBindings
     }
 
     private static SimpleStatement sessionProjectionStatement(
-            sh.harold.fulcrum.data.authority.AuthorityCommand<SessionCommand> command,
+            AuthorityCommand<SessionCommand> command,
             AuthorityDecision<SessionState, SessionReceipt> decision) {
         SessionSnapshot snapshot = decision.state().current().orElseThrow();
         return SimpleStatement.newInstance("""
@@ -586,7 +670,7 @@ final class ExternalAuthorityRuntimeBindings implements AuthorityRuntimeBindings
     }
 
     private static SimpleStatement artifactProjectionStatement(
-            sh.harold.fulcrum.data.authority.AuthorityCommand<PublishArtifactMetadata> command,
+            AuthorityCommand<PublishArtifactMetadata> command,
             AuthorityDecision<ArtifactMetadataState, ArtifactMetadataReceipt> decision) {
         ArtifactMetadata metadata = decision.state().metadata().orElseThrow();
         return SimpleStatement.newInstance("""
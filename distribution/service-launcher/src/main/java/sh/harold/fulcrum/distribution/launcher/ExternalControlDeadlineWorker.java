@@ -0,0 +1,41 @@
+package sh.harold.fulcrum.distribution.launcher;
+
+import org.apache.kafka.clients.producer.Producer;
+
+import java.time.Clock;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+// Fires route-attempt timeouts and queue-intent expiries that the controller catalog scheduled while handling and
+// replaying its own state. One pass sends at most one batch, so a large backlog drains across loop passes instead of
+// starving the command workers. A deadline whose command did not reach its topic is retried, not dropped.
+final class ExternalControlDeadlineWorker implements ControllerWorkerPoller {
+    static final String DOMAIN = "control-deadline";
+
+    private final ControlDeadlineService deadlines;
+    private final ControlDeadlineCommands commands;
+    private final Producer<String, byte[]> producer;
+    private final Clock clock;
+
+    ExternalControlDeadlineWorker(
+            ControlDeadlineService deadlines,
+            ControlDeadlineCommands commands,
+            Producer<String, byte[]> producer,
+            Clock clock) {
+        this.deadlines = Objects.requireNonNull(deadlines, "deadlines");
+        this.commands = Objects.requireNonNull(commands, "commands");
+        this.producer = Objects.requireNonNull(producer, "producer");
+        this.clock = Objects.requireNonNull(clock, "clock");
+    }
+
+    @Override
+    public Optional<ControllerRuntimeReceipt> handleNext() {
+        List<DeadlineTimingWheel.Expired<ControlDeadline>> fired = deadlines.fireDue();
+        if (fired.isEmpty()) {
+            return Optional.empty();
+        }
+        String lastKey = commands.publish(producer, deadlines, fired, clock.instant());
+        return Optional.of(new ControllerRuntimeReceipt(DOMAIN, lastKey));
+    }
+}
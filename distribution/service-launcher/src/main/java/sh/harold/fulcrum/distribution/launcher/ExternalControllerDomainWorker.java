@@ -7,6 +7,7 @@ import org.apache.kafka.clients.producer.ProducerRecord;
 import org.apache.kafka.common.TopicPartition;
 import sh.harold.fulcrum.data.store.kafka.KafkaClientBundle;
 
+import java.time.Clock;
 import java.time.Duration;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
@@ -15,11 +16,20 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
+// Commands are started in log order and their results are published and committed in the same order. Each cycle starts
+// every polled command up to MAX_IN_FLIGHT. A synchronous handler completes, and is published, before the next command
+// starts; an asynchronous one, such as a shared-shard allocation waiting on the allocation port, lets later commands
+// start while it runs, and its completion is published by a later cycle.
 final class ExternalControllerDomainWorker implements ControllerWorkerPoller {
     private static final Duration POLL_TIMEOUT = Duration.ofMillis(100);
+    private static final Duration IN_FLIGHT_POLL_TIMEOUT = Duration.ofMillis(5);
+    private static final int MAX_IN_FLIGHT = 256;
 
     private final RuntimeExternalClients.ControllerClients clients;
     private final KafkaClientBundle kafka;
@@ -28,9 +38,18 @@ final class ExternalControllerDomainWorker implements ControllerWorkerPoller {
     private final String eventTopic;
     private final String stateTopic;
     private final String responseTopic;
-    private final Function<ConsumerRecord<String, String>, ControllerDomainResult> handler;
+    private final CommandHandler handler;
     private final DurableIdempotencyLedger idempotencyLedger;
+    private final Optional<Duration> idempotencyRetention;
+    private final Clock clock = Clock.systemUTC();
     private final Queue<ConsumerRecord<String, String>> pendingRecords = new ArrayDeque<>();
+    private final Queue<StartedCommand> started = new ArrayDeque<>();
+    private final LongAdder handledCommands;
+    private final LongAdder replayedCommands;
+    private final LatencyHistogram pollLatency;
+    private final LatencyHistogram handleLatency;
+    private final LatencyHistogram publishLatency;
+    private final LatencyHistogram commitLatency;
     private boolean subscribed;
 
     ExternalControllerDomainWorker(
@@ -38,7 +57,26 @@ final class ExternalControllerDomainWorker implements ControllerWorkerPoller {
             String domain,
             Function<ConsumerRecord<String, String>, ControllerDomainResult> handler,
             Consumer<ConsumerRecord<String, String>> stateReplayer) {
+        this(clients, domain, handler, stateReplayer, Optional.empty());
+    }
+
+    ExternalControllerDomainWorker(
+            RuntimeExternalClients.ControllerClients clients,
+            String domain,
+            Function<ConsumerRecord<String, String>, ControllerDomainResult> handler,
+            Consumer<ConsumerRecord<String, String>> stateReplayer,
+            Optional<Duration> idempotencyRetention) {
+        this(clients, domain, synchronous(handler), stateReplayer, idempotencyRetention);
+    }
+
+    ExternalControllerDomainWorker(
+            RuntimeExternalClients.ControllerClients clients,
+            String domain,
+            CommandHandler handler,
+            Consumer<ConsumerRecord<String, String>> stateReplayer,
+            Optional<Duration> idempotencyRetention) {
         this.clients = Objects.requireNonNull(clients, "clients");
+        this.idempotencyRetention = Objects.requireNonNull(idempotencyRetention, "idempotencyRetention");
         this.domain = requireNonBlank(domain, "domain");
         this.kafka = clients.controlKafka(domain);
         this.commandTopic = "ctrl.cmd." + domain;
@@ -46,33 +84,93 @@ final class ExternalControllerDomainWorker implements ControllerWorkerPoller {
         this.stateTopic = stateTopic(clients.settings().controlStateTopic(), domain);
         this.responseTopic = "ctrl.rsp." + domain;
         this.handler = Objects.requireNonNull(handler, "handler");
-        KafkaStateTopicReplayer.replay(kafka, stateTopic, POLL_TIMEOUT, Objects.requireNonNull(stateReplayer, "stateReplayer"));
+        RuntimeMetrics metrics = RuntimeMetrics.process();
+        this.handledCommands = metrics.counter(
+                "fulcrum_controller_commands_total", "Commands handled by a controller domain worker.", "domain", this.domain);
+        this.replayedCommands = metrics.counter(
+                "fulcrum_controller_durable_replays_total",
+                "Commands answered from the durable idempotency ledger.",
+                "domain",
+                this.domain);
+        this.pollLatency = stage(metrics, this.domain, "poll");
+        this.handleLatency = stage(metrics, this.domain, "handle");
+        this.publishLatency = stage(metrics, this.domain, "publish");
+        this.commitLatency = stage(metrics, this.domain, "commit");
+        StateTopicSnapshotStore snapshots = clients.settings().stateSnapshots();
+        KafkaStateTopicReplayer.replay(
+                kafka,
+                stateTopic,
+                POLL_TIMEOUT,
+                snapshots,
+                Objects.requireNonNull(stateReplayer, "stateReplayer"));
         this.idempotencyLedger = DurableIdempotencyLedger.replay(
                 kafka,
                 stateTopic,
                 POLL_TIMEOUT,
-                DurableIdempotencyLedger.CONTROL_RECORD_TYPE);
+                DurableIdempotencyLedger.CONTROL_RECORD_TYPE,
+                snapshots);
     }
 
     @Override
     public Optional<ControllerRuntimeReceipt> handleNext() {
         subscribeOnce();
         if (pendingRecords.isEmpty()) {
-            ConsumerRecords<String, String> records = kafka.consumer().poll(POLL_TIMEOUT);
+            long pollStartedAt = System.nanoTime();
+            ConsumerRecords<String, String> records =
+                    kafka.consumer().poll(started.isEmpty() ? POLL_TIMEOUT : IN_FLIGHT_POLL_TIMEOUT);
+            // An idle poll waits out the whole timeout; only polls that delivered work say anything about latency.
+            if (!records.isEmpty()) {
+                pollLatency.recordNanos(System.nanoTime() - pollStartedAt);
+            }
             for (ConsumerRecord<String, String> record : records) {
                 pendingRecords.add(record);
             }
         }
-        ConsumerRecord<String, String> record = pendingRecords.poll();
-        if (record == null) {
-            return Optional.empty();
+        // Start everything the poll delivered up to the in-flight bound. Finished commands are published after each
+        // start so a synchronous result reaches the idempotency ledger before a later duplicate looks it up.
+        Optional<ControllerRuntimeReceipt> latest = completeFinished();
+        while (started.size() < MAX_IN_FLIGHT && !pendingRecords.isEmpty()) {
+            start(pendingRecords.poll());
+            Optional<ControllerRuntimeReceipt> completed = completeFinished();
+            if (completed.isPresent()) {
+                latest = completed;
+            }
         }
+        return latest;
+    }
+
+    private void start(ConsumerRecord<String, String> record) {
+        long startedAt = System.nanoTime();
         Optional<ControlCommandLedgerKey> ledgerKey = ControlCommandWireCodec.commandLedgerKey(record);
-        ControllerDomainResult result = ledgerKey.flatMap(this::durableReplay)
-                .orElseGet(() -> withDurableLedgerEntry(ledgerKey, handler.apply(record)));
-        publish(result.emissions());
-        commit(record);
-        return Optional.of(new ControllerRuntimeReceipt(domain, result.commandId()));
+        Optional<ControllerDomainResult> replayed = ledgerKey.flatMap(this::durableReplay);
+        CompletableFuture<ControllerDomainResult> result = replayed.isPresent()
+                ? CompletableFuture.completedFuture(replayed.orElseThrow())
+                : handler.start(record);
+        started.add(new StartedCommand(record, ledgerKey, replayed.isPresent(), result, startedAt));
+    }
+
+    private Optional<ControllerRuntimeReceipt> completeFinished() {
+        ControllerRuntimeReceipt latest = null;
+        while (!started.isEmpty() && started.peek().result().isDone()) {
+            StartedCommand command = started.poll();
+            ControllerDomainResult result = command.replayed()
+                    ? joined(command.result())
+                    : withDurableLedgerEntry(command.ledgerKey(), joined(command.result()));
+            long publishStartedAt = System.nanoTime();
+            publish(result.emissions(), expiredLedgerKeys());
+            long commitStartedAt = System.nanoTime();
+            commit(command.record());
+            long committedAt = System.nanoTime();
+            handleLatency.recordNanos(publishStartedAt - command.startedAt());
+            publishLatency.recordNanos(commitStartedAt - publishStartedAt);
+            commitLatency.recordNanos(committedAt - commitStartedAt);
+            handledCommands.increment();
+            if (command.replayed()) {
+                replayedCommands.increment();
+            }
+            latest = new ControllerRuntimeReceipt(domain, result.commandId());
+        }
+        return Optional.ofNullable(latest);
     }
 
     private Optional<ControllerDomainResult> durableReplay(ControlCommandLedgerKey key) {
@@ -114,7 +212,7 @@ final class ExternalControllerDomainWorker implements ControllerWorkerPoller {
         List<ControlLogEmission> emissions = new ArrayList<>(result.emissions());
         emissions.add(new ControlLogEmission(
                 "STATE",
-                "ctrl.idempotency." + domain + ":" + ledgerKey.idempotencyKey(),
+                DurableIdempotencyLedger.controlStateKey(domain, ledgerKey.idempotencyKey()),
                 idempotencyLedger.encode(decision)));
         return new ControllerDomainResult(result.commandId(), emissions);
     }
@@ -126,10 +224,23 @@ final class ExternalControllerDomainWorker implements ControllerWorkerPoller {
         }
     }
 
-    private void publish(List<ControlLogEmission> emissions) {
+    private List<String> expiredLedgerKeys() {
+        if (idempotencyRetention.isEmpty()) {
+            return List.of();
+        }
+        return idempotencyLedger.evictRecordedBefore(clock.instant().minus(idempotencyRetention.orElseThrow())).stream()
+                .map(idempotencyKey -> DurableIdempotencyLedger.controlStateKey(domain, idempotencyKey))
+                .toList();
+    }
+
+    private void publish(List<ControlLogEmission> emissions, List<String> tombstoneKeys) {
         for (ControlLogEmission emission : emissions) {
             kafka.producer().send(new ProducerRecord<>(topic(emission.kind()), emission.key(), emission.value()));
         }
+        // Tombstones let compaction drop expired ledger entries and keep replay from restoring them.
+        for (String key : tombstoneKeys) {
+            kafka.producer().send(new ProducerRecord<>(stateTopic, key, null));
+        }
         kafka.producer().flush();
     }
 
@@ -146,6 +257,7 @@ final class ExternalControllerDomainWorker implements ControllerWorkerPoller {
             case "HOST_COMMAND" -> clients.settings().hostCommandTopic();
             case "PROXY_COMMAND" -> clients.settings().proxyRouteCommandTopic();
             case "SHARED_SHARD_ALLOCATION_COMMAND" -> "ctrl.cmd." + ControllerWorkerCatalog.SHARED_SHARD_ALLOCATION;
+            case ControlLogEmission.TOMBSTONE -> stateTopic;
             default -> stateTopic;
         };
     }
@@ -168,6 +280,32 @@ final class ExternalControllerDomainWorker implements ControllerWorkerPoller {
         return Optional.empty();
     }
 
+    private static ControllerDomainResult joined(CompletableFuture<ControllerDomainResult> result) {
+        try {
+            return result.join();
+        } catch (CompletionException failure) {
+            if (failure.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw failure;
+        }
+    }
+
+    private static CommandHandler synchronous(Function<ConsumerRecord<String, String>, ControllerDomainResult> handler) {
+        Objects.requireNonNull(handler, "handler");
+        return record -> CompletableFuture.completedFuture(handler.apply(record));
+    }
+
+    private static LatencyHistogram stage(RuntimeMetrics metrics, String domain, String stage) {
+        return metrics.histogram(
+                "fulcrum_controller_stage_seconds",
+                "Time a controller domain worker spent in each stage of handling a command.",
+                "domain",
+                domain,
+                "stage",
+                stage);
+    }
+
     private static String stateTopic(String configuredTopic, String domain) {
         String checked = requireNonBlank(configuredTopic, "configuredTopic");
         if (checked.endsWith("." + domain)) {
@@ -184,6 +322,19 @@ final class ExternalControllerDomainWorker implements ControllerWorkerPoller {
         return checked;
     }
 
+    @FunctionalInterface
+    interface CommandHandler {
+        CompletableFuture<ControllerDomainResult> start(ConsumerRecord<String, String> record);
+    }
+
+    private record StartedCommand(
+            ConsumerRecord<String, String> record,
+            Optional<ControlCommandLedgerKey> ledgerKey,
+            boolean replayed,
+            CompletableFuture<ControllerDomainResult> result,
+            long startedAt) {
+    }
+
     record ControllerDomainResult(
             String commandId,
             List<ControlLogEmission> emissions) {
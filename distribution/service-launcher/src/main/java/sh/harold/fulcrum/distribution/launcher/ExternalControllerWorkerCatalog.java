@@ -5,9 +5,8 @@ import sh.harold.fulcrum.api.kernel.SessionId;
 import sh.harold.fulcrum.capability.api.CapabilityScope;
 import sh.harold.fulcrum.control.allocation.SharedShardAllocationBridge;
 import sh.harold.fulcrum.control.allocation.SharedShardAllocationDecision;
+import sh.harold.fulcrum.control.allocation.SharedShardAllocationDecisionStatus;
 import sh.harold.fulcrum.control.allocation.SharedShardAllocationEmission;
-import sh.harold.fulcrum.control.allocation.SharedShardAllocationReceipt;
-import sh.harold.fulcrum.control.allocation.SharedShardAllocationRejectionReason;
 import sh.harold.fulcrum.control.allocation.SharedShardAllocationRequest;
 import sh.harold.fulcrum.control.capability.CapabilityEnablementControlCommand;
 import sh.harold.fulcrum.control.capability.CapabilityEnablementControlRecord;
@@ -26,6 +25,7 @@ import sh.harold.fulcrum.control.instance.SharedShardPlacementController;
 import sh.harold.fulcrum.control.instance.SharedShardPlacementDecision;
 import sh.harold.fulcrum.control.instance.SharedShardPlacementDecisionStatus;
 import sh.harold.fulcrum.control.instance.SharedShardPlacementRequest;
+import sh.harold.fulcrum.control.lifecycle.ControlLifecycleNames;
 import sh.harold.fulcrum.control.lifecycle.ExperienceSessionCommand;
 import sh.harold.fulcrum.control.lifecycle.ExperienceSessionControlCommand;
 import sh.harold.fulcrum.control.lifecycle.ExperienceSessionControlRecord;
@@ -38,7 +38,9 @@ import sh.harold.fulcrum.control.lifecycle.LifecycleTraceControlRecord;
 import sh.harold.fulcrum.control.lifecycle.LifecycleTraceController;
 import sh.harold.fulcrum.control.lifecycle.LifecycleTraceDecision;
 import sh.harold.fulcrum.control.lifecycle.LifecycleTraceEmission;
+import sh.harold.fulcrum.control.lifecycle.LifecycleTraceEmissionKind;
 import sh.harold.fulcrum.control.lifecycle.LifecycleTraceId;
+import sh.harold.fulcrum.control.lifecycle.LifecycleTraceRecord;
 import sh.harold.fulcrum.control.queue.QueuePartitionKey;
 import sh.harold.fulcrum.control.queue.QueueRosterCommand;
 import sh.harold.fulcrum.control.queue.QueueRosterControlCommand;
@@ -46,6 +48,7 @@ import sh.harold.fulcrum.control.queue.QueueRosterControlEmission;
 import sh.harold.fulcrum.control.queue.QueueRosterControlRecord;
 import sh.harold.fulcrum.control.queue.QueueRosterController;
 import sh.harold.fulcrum.control.queue.QueueRosterDecision;
+import sh.harold.fulcrum.control.queue.QueueRosterRetention;
 import sh.harold.fulcrum.control.route.RouteAttemptCommand;
 import sh.harold.fulcrum.control.route.RouteAttemptControlCommand;
 import sh.harold.fulcrum.control.route.RouteAttemptControlEmission;
@@ -54,22 +57,35 @@ import sh.harold.fulcrum.control.route.RouteAttemptController;
 import sh.harold.fulcrum.control.route.RouteAttemptDecision;
 import sh.harold.fulcrum.control.route.RouteAttemptId;
 import sh.harold.fulcrum.host.api.HostAllocationClaim;
+import sh.harold.fulcrum.host.api.HostAllocationPort;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
 
 final class ExternalControllerWorkerCatalog {
     private final RuntimeExternalClients.ControllerClients clients;
     private final SharedShardAllocationBridge sharedShardAllocationBridge;
+    private final LatencyHistogram sharedShardAllocationPortLatency = new LatencyHistogram();
+    // Allocations wait on the allocation port off the controller thread; the bridge keeps one port call per session
+    // and its retention bounds the accepted-decision ledger, so the catalog keeps no allocation map of its own.
+    private final Executor sharedShardAllocationExecutor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("fulcrum-shared-shard-allocation-", 0).factory());
     private final SharedShardPlacementController sharedShardPlacementController = new SharedShardPlacementController();
     private final RouteAttemptController routeAttemptController = new RouteAttemptController();
     private final ExperienceSessionController experienceSessionController = new ExperienceSessionController();
     private final LifecycleTraceController lifecycleTraceController = new LifecycleTraceController();
     private final CapabilityEnablementController capabilityEnablementController = new CapabilityEnablementController();
-    private final QueueRosterController queueRosterController = new QueueRosterController();
+    private final QueueRosterController queueRosterController;
     private final FaultController faultController = new FaultController();
     private final Map<RouteAttemptId, RouteAttemptControlRecord> routeAttemptRecords = new HashMap<>();
     private final Map<SessionId, ExperienceSessionControlRecord> experienceSessionRecords = new HashMap<>();
@@ -78,35 +94,109 @@ final class ExternalControllerWorkerCatalog {
     private final Map<QueuePartitionKey, QueueRosterControlRecord> queueRosterRecords = new HashMap<>();
     private final Map<FaultId, FaultControlRecord> faultRecords = new HashMap<>();
     private final Map<String, StoredSharedShardPlacement> sharedShardPlacements = new HashMap<>();
-    private final Map<SessionId, StoredSharedShardAllocation> sharedShardAllocations = new HashMap<>();
+    private final ControlDeadlineService deadlines;
+    private final Optional<ControlRosterFormation> rosterFormation;
     private final long fencingEpoch;
+    private Instant nextTraceRetirementAt = Instant.MIN;
 
-    ExternalControllerWorkerCatalog(RuntimeExternalClients.ControllerClients clients, long fencingEpoch) {
+    ExternalControllerWorkerCatalog(
+            RuntimeExternalClients.ControllerClients clients,
+            long fencingEpoch,
+            ControlDeadlineService deadlines,
+            Optional<ControlRosterFormation> rosterFormation) {
         this.clients = Objects.requireNonNull(clients, "clients");
-        this.sharedShardAllocationBridge = new SharedShardAllocationBridge(clients.allocationPort());
+        this.deadlines = Objects.requireNonNull(deadlines, "deadlines");
+        this.rosterFormation = Objects.requireNonNull(rosterFormation, "rosterFormation");
+        this.sharedShardAllocationBridge = new SharedShardAllocationBridge(timed(clients.allocationPort()));
+        this.queueRosterController = new QueueRosterController(
+                new QueueRosterRetention(clients.settings().queueRosterRetention()));
         if (fencingEpoch < 0) {
             throw new IllegalArgumentException("fencingEpoch must be non-negative");
         }
         this.fencingEpoch = fencingEpoch;
     }
 
+    void exportTo(RuntimeMetrics registry) {
+        registry.gauge(
+                "fulcrum_shared_shard_allocations_in_flight",
+                "Shared-shard allocations waiting on the allocation port.",
+                () -> sharedShardAllocationBridge.metrics().inFlight());
+        registry.gauge(
+                "fulcrum_shared_shard_allocation_ledger_size",
+                "Accepted shared-shard allocations retained for idempotent replay.",
+                () -> sharedShardAllocationBridge.metrics().ledgerSize());
+        registry.counter(
+                "fulcrum_shared_shard_allocation_port_calls_total",
+                "Shared-shard allocations that reached the allocation port.",
+                () -> sharedShardAllocationBridge.metrics().portCalls());
+        registry.counter(
+                "fulcrum_shared_shard_allocation_joined_flights_total",
+                "Shared-shard allocations that joined a request already in flight.",
+                () -> sharedShardAllocationBridge.metrics().joinedFlights());
+        registry.counter(
+                "fulcrum_shared_shard_allocation_evictions_total",
+                "Shared-shard allocations evicted from the replay ledger.",
+                () -> sharedShardAllocationBridge.metrics().evictions());
+        registry.histogram(
+                "fulcrum_shared_shard_allocation_port_seconds",
+                "Time shared-shard allocations spent waiting on the allocation port.",
+                sharedShardAllocationPortLatency);
+    }
+
+    private HostAllocationPort timed(HostAllocationPort allocationPort) {
+        Objects.requireNonNull(allocationPort, "allocationPort");
+        return request -> {
+            long startedAt = System.nanoTime();
+            try {
+                return allocationPort.allocate(request);
+            } finally {
+                sharedShardAllocationPortLatency.recordNanos(System.nanoTime() - startedAt);
+            }
+        };
+    }
+
     List<ControllerWorkerBinding> workerBindings() {
         return List.of(
                 binding(ControllerWorkerCatalog.ROUTE_ATTEMPT, this::handleRouteAttempt, this::replayRouteAttemptState),
                 binding(ControllerWorkerCatalog.EXPERIENCE_SESSION, this::handleExperienceSession, this::replayExperienceSessionState),
-                binding(ControllerWorkerCatalog.LIFECYCLE_TRACE, this::handleLifecycleTrace, this::replayLifecycleTraceState),
+                binding(
+                        ControllerWorkerCatalog.LIFECYCLE_TRACE,
+                        this::handleLifecycleTrace,
+                        this::replayLifecycleTraceState,
+                        Optional.of(queueRosterController.retention().horizon())),
                 binding(ControllerWorkerCatalog.CAPABILITY_ENABLEMENT, this::handleCapabilityEnablement, this::replayCapabilityEnablementState),
-                binding(ControllerWorkerCatalog.QUEUE_ROSTER, this::handleQueueRoster, this::replayQueueRosterState),
+                binding(
+                        ControllerWorkerCatalog.QUEUE_ROSTER,
+                        this::handleQueueRoster,
+                        this::replayQueueRosterState,
+                        Optional.of(queueRosterController.retention().horizon())),
                 binding(ControllerWorkerCatalog.FAULT, this::handleFault, this::replayFaultState),
                 binding(ControllerWorkerCatalog.SHARED_SHARD_PLACEMENT, this::handleSharedShardPlacement, this::replaySharedShardPlacementState),
-                binding(ControllerWorkerCatalog.SHARED_SHARD_ALLOCATION, this::handleSharedShardAllocation, this::replaySharedShardAllocationState));
+                new ControllerWorkerBinding(
+                        ControllerWorkerCatalog.SHARED_SHARD_ALLOCATION,
+                        new ExternalControllerDomainWorker(
+                                clients,
+                                ControllerWorkerCatalog.SHARED_SHARD_ALLOCATION,
+                                this::startSharedShardAllocation,
+                                this::replaySharedShardAllocationState,
+                                Optional.empty())));
     }
 
     private ControllerWorkerBinding binding(
             String domain,
             java.util.function.Function<ConsumerRecord<String, String>, ExternalControllerDomainWorker.ControllerDomainResult> handler,
             java.util.function.Consumer<ConsumerRecord<String, String>> stateReplayer) {
-        return new ControllerWorkerBinding(domain, new ExternalControllerDomainWorker(clients, domain, handler, stateReplayer));
+        return binding(domain, handler, stateReplayer, Optional.empty());
+    }
+
+    private ControllerWorkerBinding binding(
+            String domain,
+            java.util.function.Function<ConsumerRecord<String, String>, ExternalControllerDomainWorker.ControllerDomainResult> handler,
+            java.util.function.Consumer<ConsumerRecord<String, String>> stateReplayer,
+            Optional<java.time.Duration> idempotencyRetention) {
+        return new ControllerWorkerBinding(
+                domain,
+                new ExternalControllerDomainWorker(clients, domain, handler, stateReplayer, idempotencyRetention));
     }
 
     private ExternalControllerDomainWorker.ControllerDomainResult handleRouteAttempt(ConsumerRecord<String, String> record) {
@@ -117,6 +207,7 @@ final class ExternalControllerWorkerCatalog {
                 routeAttemptRecords.computeIfAbsent(id, ignored -> RouteAttemptController.emptyRecord(fencingEpoch));
         RouteAttemptDecision decision = routeAttemptController.handle(command, current);
         routeAttemptRecords.put(id, decision.record());
+        deadlines.observeRouteAttempt(decision.record());
         return result(command.envelope().commandId().value(), routeEmissions(decision));
     }
 
@@ -139,7 +230,31 @@ final class ExternalControllerWorkerCatalog {
                 lifecycleTraceRecords.computeIfAbsent(id, ignored -> LifecycleTraceController.emptyRecord(fencingEpoch, id));
         LifecycleTraceDecision decision = lifecycleTraceController.handle(command, current);
         lifecycleTraceRecords.put(id, decision.record());
-        return result(command.envelope().commandId().value(), lifecycleTraceEmissions(decision));
+        List<ControlLogEmission> emissions = new ArrayList<>(lifecycleTraceEmissions(current, decision));
+        emissions.addAll(retireIdleLifecycleTraces(command.receivedAt()));
+        return result(command.envelope().commandId().value(), emissions);
+    }
+
+    // Traces share the queue-roster retention horizon. A trace with no observation inside it is dropped together with
+    // every segment it spilled, so compaction removes the whole trace instead of orphaning its segments. Like terminal
+    // queue intents, idle traces are retired in batches and may outlive the horizon by up to a quarter of it.
+    private List<ControlLogEmission> retireIdleLifecycleTraces(Instant now) {
+        if (now.isBefore(nextTraceRetirementAt)) {
+            return List.of();
+        }
+        Duration horizon = queueRosterController.retention().horizon();
+        nextTraceRetirementAt = now.plus(horizon.dividedBy(4));
+        Instant cutoff = queueRosterController.retention().cutoff(now);
+        List<ControlLogEmission> tombstones = new ArrayList<>();
+        Iterator<LifecycleTraceControlRecord> records = lifecycleTraceRecords.values().iterator();
+        while (records.hasNext()) {
+            LifecycleTraceRecord trace = records.next().traceRecord();
+            if (trace.lastEntry().map(entry -> entry.observedAt().isBefore(cutoff)).orElse(true)) {
+                records.remove();
+                ControlLifecycleNames.traceKeys(trace).forEach(key -> tombstones.add(ControlLogEmission.tombstone(key)));
+            }
+        }
+        return tombstones;
     }
 
     private ExternalControllerDomainWorker.ControllerDomainResult handleCapabilityEnablement(ConsumerRecord<String, String> record) {
@@ -162,6 +277,8 @@ final class ExternalControllerWorkerCatalog {
                 queueRosterRecords.computeIfAbsent(partitionKey, ignored -> QueueRosterControlRecord.empty(fencingEpoch));
         QueueRosterDecision decision = queueRosterController.handle(command, current);
         queueRosterRecords.put(partitionKey, decision.record());
+        deadlines.observeQueueRoster(partitionKey, decision.record());
+        rosterFormation.ifPresent(formation -> formation.observeQueueRoster(partitionKey, decision.record()));
         return result(command.envelope().commandId().value(), queueEmissions(decision, partitionKey));
     }
 
@@ -196,27 +313,23 @@ final class ExternalControllerWorkerCatalog {
         return result(request.placementAttemptId(), placementEmissions(storedDecision));
     }
 
-    private ExternalControllerDomainWorker.ControllerDomainResult handleSharedShardAllocation(ConsumerRecord<String, String> record) {
+    private CompletableFuture<ExternalControllerDomainWorker.ControllerDomainResult> startSharedShardAllocation(
+            ConsumerRecord<String, String> record) {
         SharedShardAllocationRequest request = ControlCommandWireCodec.decodeSharedShardAllocationRequest(record);
-        StoredSharedShardAllocation stored = sharedShardAllocations.get(request.sessionId());
-        if (stored != null) {
-            if (stored.requestFingerprint().equals(sharedShardAllocationFingerprint(request))) {
-                SharedShardAllocationReceipt receipt =
-                        SharedShardAllocationReceipt.accepted(stored.request(), stored.claim());
-                return result(request.sessionId().value(), List.of(new ControlLogEmission(
-                        "RESPONSE",
-                        request.sessionId().value(),
-                        receipt.wireValue())));
-            }
-            SharedShardAllocationDecision decision = SharedShardAllocationDecision.rejected(
-                    request,
-                    SharedShardAllocationRejectionReason.IDEMPOTENCY_CONFLICT);
-            return result(request.sessionId().value(), allocationEmissions(decision.emissions()));
+        return CompletableFuture.supplyAsync(
+                () -> sharedShardAllocationResult(request, sharedShardAllocationBridge.allocate(request)),
+                sharedShardAllocationExecutor);
+    }
+
+    private static ExternalControllerDomainWorker.ControllerDomainResult sharedShardAllocationResult(
+            SharedShardAllocationRequest request,
+            SharedShardAllocationDecision decision) {
+        if (decision.status() == SharedShardAllocationDecisionStatus.REPLAYED) {
+            return result(request.sessionId().value(), List.of(new ControlLogEmission(
+                    "RESPONSE",
+                    request.sessionId().value(),
+                    decision.receipt().wireValue())));
         }
-        SharedShardAllocationDecision decision = sharedShardAllocationBridge.allocate(request);
-        decision.claim().ifPresent(claim -> sharedShardAllocations.put(
-                request.sessionId(),
-                new StoredSharedShardAllocation(sharedShardAllocationFingerprint(request), request, claim)));
         return result(request.sessionId().value(), allocationEmissions(request, decision));
     }
 
@@ -224,6 +337,7 @@ final class ExternalControllerWorkerCatalog {
         if (ControllerStateWireCodec.isRecordType(record.value(), ControllerWorkerCatalog.ROUTE_ATTEMPT)) {
             RouteAttemptControlRecord replayed = ControllerStateWireCodec.decodeRouteAttempt(record.value());
             replayed.snapshot().ifPresent(snapshot -> routeAttemptRecords.put(snapshot.routeAttemptId(), replayed));
+            deadlines.observeRouteAttempt(replayed);
         }
     }
 
@@ -235,7 +349,10 @@ final class ExternalControllerWorkerCatalog {
     }
 
     private void replayLifecycleTraceState(ConsumerRecord<String, String> record) {
-        if (ControllerStateWireCodec.isRecordType(record.value(), ControllerWorkerCatalog.LIFECYCLE_TRACE)) {
+        if (record.value() == null) {
+            // A retired trace's tombstone; its segment tombstones name no trace and change nothing.
+            ControlLifecycleNames.traceOfStateKey(record.key()).ifPresent(lifecycleTraceRecords::remove);
+        } else if (ControllerStateWireCodec.isRecordType(record.value(), ControllerWorkerCatalog.LIFECYCLE_TRACE)) {
             LifecycleTraceControlRecord replayed = ControllerStateWireCodec.decodeLifecycleTrace(record.value());
             lifecycleTraceRecords.put(replayed.traceRecord().traceId(), replayed);
         }
@@ -250,7 +367,11 @@ final class ExternalControllerWorkerCatalog {
 
     private void replayQueueRosterState(ConsumerRecord<String, String> record) {
         if (ControllerStateWireCodec.isRecordType(record.value(), ControllerWorkerCatalog.QUEUE_ROSTER)) {
-            queueRosterRecords.put(queuePartitionKey(record.key()), ControllerStateWireCodec.decodeQueueRoster(record.value()));
+            QueuePartitionKey partitionKey = queuePartitionKey(record.key());
+            QueueRosterControlRecord replayed = ControllerStateWireCodec.decodeQueueRoster(record.value());
+            queueRosterRecords.put(partitionKey, replayed);
+            deadlines.observeQueueRoster(partitionKey, replayed);
+            rosterFormation.ifPresent(formation -> formation.observeQueueRoster(partitionKey, replayed));
         }
     }
 
@@ -271,7 +392,7 @@ final class ExternalControllerWorkerCatalog {
     private void replaySharedShardAllocationState(ConsumerRecord<String, String> record) {
         if (ControllerStateWireCodec.isRecordType(record.value(), ControllerWorkerCatalog.SHARED_SHARD_ALLOCATION)) {
             StoredSharedShardAllocation replayed = ControllerStateWireCodec.decodeSharedShardAllocation(record.value());
-            sharedShardAllocations.put(replayed.request().sessionId(), replayed);
+            sharedShardAllocationBridge.restore(replayed.request(), replayed.claim());
         }
     }
 
@@ -305,7 +426,9 @@ final class ExternalControllerWorkerCatalog {
                 .toList();
     }
 
-    private static List<ControlLogEmission> lifecycleTraceEmissions(LifecycleTraceDecision decision) {
+    private static List<ControlLogEmission> lifecycleTraceEmissions(
+            LifecycleTraceControlRecord previous,
+            LifecycleTraceDecision decision) {
         if (decision.emissions().isEmpty()) {
             return List.of(new ControlLogEmission("RESPONSE", decision.receipt().commandId(), decision.receipt().wireValue()));
         }
@@ -313,7 +436,11 @@ final class ExternalControllerWorkerCatalog {
                 .map(emission -> new ControlLogEmission(
                         emission.kind().name(),
                         emission.key(),
-                        stateValue(emission.kind().name(), emission.value(), ControllerStateWireCodec.encodeLifecycleTrace(decision.record()))))
+                        emission.kind() == LifecycleTraceEmissionKind.SEGMENT
+                                ? ControllerStateWireCodec.encodeLifecycleTraceSegment(
+                                        decision.record(),
+                                        previous.traceRecord().spilledInto(decision.record().traceRecord()).orElseThrow())
+                                : stateValue(emission.kind().name(), emission.value(), ControllerStateWireCodec.encodeLifecycleTrace(decision.record()))))
                 .toList();
     }
 
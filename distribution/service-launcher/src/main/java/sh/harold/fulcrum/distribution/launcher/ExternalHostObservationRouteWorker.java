@@ -35,6 +35,7 @@ import sh.harold.fulcrum.host.api.HostObservationTypes;
 import sh.harold.fulcrum.host.api.HostObservationWireCodec;
 import sh.harold.fulcrum.host.api.HostSecurityContext;
 
+import java.time.Clock;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayDeque;
@@ -59,6 +60,7 @@ final class ExternalHostObservationRouteWorker implements ControllerWorkerPoller
     private final Map<RouteObservationKey, RouteAttemptControlRecord> routeAttempts = new HashMap<>();
     private final Map<RouteObservationKey, HostObservation> pendingAttachObservations = new HashMap<>();
     private final Queue<ConsumerRecord<String, String>> pendingRecords = new ArrayDeque<>();
+    private final StateTopicSnapshotter routeStateSnapshots;
     private boolean subscribed;
 
     ExternalHostObservationRouteWorker(
@@ -71,16 +73,15 @@ final class ExternalHostObservationRouteWorker implements ControllerWorkerPoller
         this.routeCommandTopic = "ctrl.cmd." + ControllerWorkerCatalog.ROUTE_ATTEMPT;
         this.routeStateTopic = stateTopic(clients.settings().controlStateTopic(), ControllerWorkerCatalog.ROUTE_ATTEMPT);
         this.lifecycleTraceCommandTopic = "ctrl.cmd." + ControllerWorkerCatalog.LIFECYCLE_TRACE;
-        KafkaStateTopicReplayer.replay(
-                kafka,
-                routeStateTopic,
-                POLL_TIMEOUT,
-                this::recordRouteState);
+        this.routeStateSnapshots =
+                new StateTopicSnapshotter(routeStateTopic, clients.settings().stateSnapshots(), Clock.systemUTC());
+        KafkaStateTopicReplayer.replay(kafka, POLL_TIMEOUT, routeStateSnapshots, this::recordRouteState);
     }
 
     @Override
     public Optional<ControllerRuntimeReceipt> handleNext() {
         subscribeOnce();
+        routeStateSnapshots.snapshotIfDue();
         if (pendingRecords.isEmpty()) {
             ConsumerRecords<String, String> records = kafka.consumer().poll(POLL_TIMEOUT);
             for (ConsumerRecord<String, String> record : records) {
@@ -93,6 +94,7 @@ final class ExternalHostObservationRouteWorker implements ControllerWorkerPoller
         }
         if (routeStateTopic.equals(record.topic())) {
             recordRouteState(record);
+            routeStateSnapshots.apply(record);
             commit(record);
             return Optional.of(new ControllerRuntimeReceipt(DOMAIN, "route-state-" + record.offset()));
         }
@@ -50,12 +50,14 @@ final class ExternalInstanceRegistryControllerWorker implements ControllerWorker
             throw new IllegalArgumentException("fencingEpoch must be non-negative");
         }
         this.fencingEpoch = fencingEpoch;
-        KafkaStateTopicReplayer.replay(kafka, stateTopic, POLL_TIMEOUT, this::replayState);
+        StateTopicSnapshotStore snapshots = clients.settings().stateSnapshots();
+        KafkaStateTopicReplayer.replay(kafka, stateTopic, POLL_TIMEOUT, snapshots, this::replayState);
         this.idempotencyLedger = DurableIdempotencyLedger.replay(
                 kafka,
                 stateTopic,
                 POLL_TIMEOUT,
-                DurableIdempotencyLedger.CONTROL_RECORD_TYPE);
+                DurableIdempotencyLedger.CONTROL_RECORD_TYPE,
+                snapshots);
     }
 
     @Override
@@ -151,7 +153,7 @@ final class ExternalInstanceRegistryControllerWorker implements ControllerWorker
         idempotencyLedger.put(decision);
         kafka.producer().send(new ProducerRecord<>(
                 stateTopic,
-                "ctrl.idempotency." + DOMAIN + ":" + key.idempotencyKey(),
+                DurableIdempotencyLedger.controlStateKey(DOMAIN, key.idempotencyKey()),
                 idempotencyLedger.encode(decision)));
         kafka.producer().flush();
     }
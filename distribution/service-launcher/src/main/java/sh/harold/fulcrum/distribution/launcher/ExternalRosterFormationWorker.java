@@ -0,0 +1,85 @@
+package sh.harold.fulcrum.distribution.launcher;
+
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import sh.harold.fulcrum.control.queue.FormRosterIntent;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+// Publishes the rosters the controller forms from its own queue-roster state. Every pass forms the complete rosters
+// that newly waiting intents made possible; once per tick interval it also drops expired intents and releases partial
+// rosters near their deadlines. The commands go through the queue-roster command topic like any other producer's.
+final class ExternalRosterFormationWorker implements ControllerWorkerPoller {
+    static final String DOMAIN = "control-roster-formation";
+    static final Duration TICK_INTERVAL = Duration.ofSeconds(1);
+
+    private final ControlRosterFormation formation;
+    private final Producer<String, String> producer;
+    private final Clock clock;
+    private Instant nextTickAt = Instant.MIN;
+
+    ExternalRosterFormationWorker(ControlRosterFormation formation, Producer<String, String> producer, Clock clock) {
+        this.formation = Objects.requireNonNull(formation, "formation");
+        this.producer = Objects.requireNonNull(producer, "producer");
+        this.clock = Objects.requireNonNull(clock, "clock");
+    }
+
+    @Override
+    public Optional<ControllerRuntimeReceipt> handleNext() {
+        Instant now = clock.instant();
+        List<FormRosterIntent> formed;
+        if (now.isBefore(nextTickAt)) {
+            formed = formation.formReady(now);
+        } else {
+            nextTickAt = now.plus(TICK_INTERVAL);
+            formed = formation.tick(now);
+        }
+        if (formed.isEmpty()) {
+            return Optional.empty();
+        }
+        List<Future<RecordMetadata>> sends = new ArrayList<>(formed.size());
+        String lastKey = null;
+        for (FormRosterIntent form : formed) {
+            ProducerRecord<String, String> command = formation.command(form);
+            sends.add(send(command));
+            lastKey = command.key();
+        }
+        producer.flush();
+        for (int index = 0; index < formed.size(); index++) {
+            if (!sent(sends.get(index))) {
+                formation.release(formed.get(index));
+            }
+        }
+        return Optional.of(new ControllerRuntimeReceipt(DOMAIN, lastKey));
+    }
+
+    private Future<RecordMetadata> send(ProducerRecord<String, String> command) {
+        try {
+            return producer.send(command);
+        } catch (RuntimeException exception) {
+            return CompletableFuture.failedFuture(exception);
+        }
+    }
+
+    private static boolean sent(Future<RecordMetadata> send) {
+        try {
+            send.get();
+            return true;
+        } catch (ExecutionException exception) {
+            return false;
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -130,11 +130,11 @@ final class ExternalVelocityRouteWorker {
                 Optional.empty(),
                 payloadFingerprint(transfer),
                 transfer.acknowledgedAt());
-        kafka.producer().send(new ProducerRecord<>(
+        kafka.byteValueProducer().send(new ProducerRecord<>(
                 routeCommandTopic,
                 RouteContracts.aggregateId(transfer.routeId()).value(),
-                RouteAuthorityWireCodec.encodeCommand(command)));
-        kafka.producer().flush();
+                RouteAuthorityWireCodec.encodeCommand(command, clients.settings().commandWireFormat())));
+        kafka.byteValueProducer().flush();
     }
 
     private void subscribeOnce() {
@@ -0,0 +1,124 @@
+package sh.harold.fulcrum.distribution.launcher;
+
+import sh.harold.fulcrum.data.codegen.LineFieldCursor;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+final class FileStateTopicSnapshotStore implements StateTopicSnapshotStore {
+    private static final String FORMAT = "1";
+    private static final String LABEL = "state topic snapshot";
+    private static final String NULL_KEY = "-";
+
+    private final Path directory;
+
+    FileStateTopicSnapshotStore(Path directory) {
+        this.directory = Objects.requireNonNull(directory, "directory").toAbsolutePath().normalize();
+    }
+
+    @Override
+    public Optional<StateTopicSnapshot> load(String topic) {
+        byte[] bytes;
+        try {
+            bytes = Files.readAllBytes(pathFor(topic));
+        } catch (NoSuchFileException exception) {
+            return Optional.empty();
+        } catch (IOException exception) {
+            throw new IllegalStateException("Could not read state topic snapshot for " + topic, exception);
+        }
+        try {
+            return Optional.of(decode(topic, bytes));
+        } catch (RuntimeException exception) {
+            // A torn or foreign file only costs a full replay, which rewrites it.
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public void save(StateTopicSnapshot snapshot) {
+        Objects.requireNonNull(snapshot, "snapshot");
+        Path target = pathFor(snapshot.topic());
+        try {
+            Files.createDirectories(directory);
+            Path temporary = Files.createTempFile(directory, target.getFileName().toString(), ".tmp");
+            try {
+                Files.write(temporary, encode(snapshot));
+                move(temporary, target);
+            } finally {
+                Files.deleteIfExists(temporary);
+            }
+        } catch (IOException exception) {
+            throw new IllegalStateException("Could not write state topic snapshot for " + snapshot.topic(), exception);
+        }
+    }
+
+    private Path pathFor(String topic) {
+        String name = Objects.requireNonNull(topic, "topic").replaceAll("[^A-Za-z0-9._-]", "_");
+        return directory.resolve(name + ".snapshot");
+    }
+
+    private static void move(Path temporary, Path target) throws IOException {
+        try {
+            Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException exception) {
+            Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static byte[] encode(StateTopicSnapshot snapshot) {
+        Base64.Encoder base64 = Base64.getEncoder();
+        StringBuilder builder = new StringBuilder();
+        builder.append("format=").append(FORMAT).append('\n');
+        builder.append("topic=").append(snapshot.topic()).append('\n');
+        snapshot.nextOffsets().forEach((partition, offset) ->
+                builder.append("offset=").append(partition).append(':').append(offset).append('\n'));
+        for (StateTopicSnapshot.Entry entry : snapshot.entries()) {
+            builder.append("entry=").append(entry.partition()).append(':').append(entry.offset()).append(':')
+                    .append(entry.key() == null ? NULL_KEY : base64.encodeToString(entry.key().getBytes(StandardCharsets.UTF_8)))
+                    .append(':')
+                    .append(base64.encodeToString(entry.value().getBytes(StandardCharsets.UTF_8)))
+                    .append('\n');
+        }
+        return builder.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static StateTopicSnapshot decode(String topic, byte[] bytes) {
+        LineFieldCursor cursor = LineFieldCursor.over(bytes, LABEL);
+        if (!cursor.next() || !cursor.keyEquals("format") || !cursor.valueEquals(FORMAT)) {
+            throw new IllegalArgumentException("Unsupported state topic snapshot format");
+        }
+        if (!cursor.next() || !cursor.keyEquals("topic") || !cursor.valueEquals(topic)) {
+            throw new IllegalArgumentException("State topic snapshot belongs to another topic");
+        }
+        Map<Integer, Long> offsets = new LinkedHashMap<>();
+        List<StateTopicSnapshot.Entry> entries = new ArrayList<>();
+        Base64.Decoder base64 = Base64.getDecoder();
+        while (cursor.next()) {
+            String[] parts = cursor.value().split(":", -1);
+            if (cursor.keyEquals("offset") && parts.length == 2) {
+                offsets.put(Integer.parseInt(parts[0]), Long.parseLong(parts[1]));
+            } else if (cursor.keyEquals("entry") && parts.length == 4) {
+                entries.add(new StateTopicSnapshot.Entry(
+                        Integer.parseInt(parts[0]),
+                        Long.parseLong(parts[1]),
+                        NULL_KEY.equals(parts[2]) ? null : new String(base64.decode(parts[2]), StandardCharsets.UTF_8),
+                        new String(base64.decode(parts[3]), StandardCharsets.UTF_8)));
+            } else {
+                throw new IllegalArgumentException("Malformed state topic snapshot line " + cursor.key());
+            }
+        }
+        return new StateTopicSnapshot(topic, offsets, entries);
+    }
+}
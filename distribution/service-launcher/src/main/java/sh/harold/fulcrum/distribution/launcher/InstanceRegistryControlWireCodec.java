@@ -15,6 +15,9 @@ import sh.harold.fulcrum.api.kernel.PoolId;
 import sh.harold.fulcrum.control.instance.ControlInstanceNames;
 import sh.harold.fulcrum.control.instance.InstanceRegistryControlCommand;
 import sh.harold.fulcrum.control.instance.RegisterInstance;
+import sh.harold.fulcrum.data.codegen.LineFields;
+import sh.harold.fulcrum.data.codegen.WireFields;
+import sh.harold.fulcrum.data.codegen.WireInstants;
 
 import java.time.Instant;
 import java.util.LinkedHashMap;
@@ -27,7 +30,7 @@ final class InstanceRegistryControlWireCodec {
     }
 
     static Optional<ControlCommandLedgerKey> commandLedgerKey(ConsumerRecord<String, String> record) {
-        Map<String, String> fields = fields(record.value());
+        LineFields fields = fields(record.value());
         Optional<String> commandId = optional(fields, "commandId");
         Optional<String> idempotencyKey = optional(fields, "idempotencyKey");
         Optional<String> payloadFingerprint = optional(fields, "payloadFingerprint");
@@ -42,7 +45,7 @@ final class InstanceRegistryControlWireCodec {
     }
 
     static InstanceRegistryControlCommand<RegisterInstance> decodeRegisterCommand(ConsumerRecord<String, String> record) {
-        Map<String, String> fields = fields(record.value());
+        LineFields fields = fields(record.value());
         if (!ControlInstanceNames.REGISTER.value().equals(required(fields, "commandName"))) {
             throw new IllegalArgumentException("Unsupported instance-registry control command " + required(fields, "commandName"));
         }
@@ -108,7 +111,7 @@ final class InstanceRegistryControlWireCodec {
         fields.put("originInstanceId", trace.originInstanceId().value());
     }
 
-    private static TraceEnvelope decodeTrace(Map<String, String> fields) {
+    private static TraceEnvelope decodeTrace(WireFields fields) {
         return new TraceEnvelope(
                 required(fields, "traceId"),
                 required(fields, "spanId"),
@@ -118,19 +121,8 @@ final class InstanceRegistryControlWireCodec {
                 new InstanceId(required(fields, "originInstanceId")));
     }
 
-    private static Map<String, String> fields(String payload) {
-        Map<String, String> fields = new LinkedHashMap<>();
-        if (payload == null || payload.isBlank()) {
-            return fields;
-        }
-        for (String line : payload.split("\\R")) {
-            int separator = line.indexOf('=');
-            if (separator < 1) {
-                throw new IllegalArgumentException("Malformed instance-registry control wire line: " + line);
-            }
-            fields.put(line.substring(0, separator), line.substring(separator + 1));
-        }
-        return fields;
+    private static LineFields fields(String payload) {
+        return LineFields.of(payload, "instance-registry control");
     }
 
     private static String lines(Map<String, String> fields) {
@@ -139,7 +131,7 @@ final class InstanceRegistryControlWireCodec {
         return builder.toString();
     }
 
-    private static String required(Map<String, String> fields, String key) {
+    private static String required(WireFields fields, String key) {
         String value = fields.get(key);
         if (value == null || value.isBlank()) {
             throw new IllegalArgumentException("Missing instance-registry control wire field " + key);
@@ -147,33 +139,33 @@ final class InstanceRegistryControlWireCodec {
         return value;
     }
 
-    private static String firstRequired(Map<String, String> fields, String first, String second) {
+    private static String firstRequired(WireFields fields, String first, String second) {
         return optional(fields, first).or(() -> optional(fields, second))
                 .orElseThrow(() -> new IllegalArgumentException("Missing instance-registry control wire field " + first));
     }
 
-    private static Optional<String> optional(Map<String, String> fields, String key) {
+    private static Optional<String> optional(WireFields fields, String key) {
         String value = fields.get(key);
         return value == null || value.isBlank() ? Optional.empty() : Optional.of(value);
     }
 
-    private static long longValue(Map<String, String> fields, String key) {
+    private static long longValue(WireFields fields, String key) {
         return Long.parseLong(required(fields, key));
     }
 
-    private static Optional<Long> optionalLong(Map<String, String> fields, String key) {
+    private static Optional<Long> optionalLong(WireFields fields, String key) {
         return optional(fields, key).map(Long::parseLong);
     }
 
-    private static Optional<Revision> optionalRevision(Map<String, String> fields, String key) {
+    private static Optional<Revision> optionalRevision(WireFields fields, String key) {
         return optionalLong(fields, key).map(Revision::new);
     }
 
-    private static Instant instant(Map<String, String> fields, String key) {
-        return Instant.parse(required(fields, key));
+    private static Instant instant(WireFields fields, String key) {
+        return WireInstants.parse(required(fields, key));
     }
 
-    private static Optional<Instant> optionalInstant(Map<String, String> fields, String key) {
-        return optional(fields, key).map(Instant::parse);
+    private static Optional<Instant> optionalInstant(WireFields fields, String key) {
+        return optional(fields, key).map(WireInstants::parse);
     }
 }
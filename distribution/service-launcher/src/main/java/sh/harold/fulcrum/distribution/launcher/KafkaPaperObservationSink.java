@@ -9,8 +9,11 @@ import sh.harold.fulcrum.host.api.HostResourceFamily;
 import sh.harold.fulcrum.host.api.HostSecurityContext;
 import sh.harold.fulcrum.host.paper.PaperObservationSink;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 final class KafkaPaperObservationSink implements PaperObservationSink {
     private final HostSecurityContext securityContext;
@@ -43,6 +46,30 @@ final class KafkaPaperObservationSink implements PaperObservationSink {
         }
     }
 
+    // Every record is sent before the first acknowledgement is awaited, so a frame costs one round trip.
+    @Override
+    public void publishAll(List<HostObservation> observations) {
+        Objects.requireNonNull(observations, "observations");
+        requireObservationGrant();
+        List<Future<?>> acknowledgements = new ArrayList<>(observations.size());
+        for (HostObservation observation : observations) {
+            acknowledgements.add(producer.send(new ProducerRecord<>(
+                    topic,
+                    observation.instanceId().value(),
+                    HostObservationWireCodec.encode(observation))));
+        }
+        try {
+            for (Future<?> acknowledgement : acknowledgements) {
+                acknowledgement.get();
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while publishing Paper host observations", exception);
+        } catch (ExecutionException exception) {
+            throw new IllegalStateException("Could not publish Paper host observations to " + topic, exception);
+        }
+    }
+
     private void requireObservationGrant() {
         if (!securityContext.credentialScope().permits(HostResourceFamily.TOPIC, HostAccessMode.PRODUCE, topic)) {
             throw new SecurityException("Paper Instance is not allowed to produce host observations to " + topic);
@@ -36,11 +36,16 @@ final class KafkaPaperSessionLifecyclePort implements PaperSessionLifecyclePort
     private static final long AUTHORITY_FENCING_EPOCH = 1;
 
     private final HostSecurityContext securityContext;
-    private final Producer<String, String> producer;
+    private final Producer<String, byte[]> producer;
+    private final AuthorityWireFormat commandFormat;
 
-    KafkaPaperSessionLifecyclePort(HostSecurityContext securityContext, Producer<String, String> producer) {
+    KafkaPaperSessionLifecyclePort(
+            HostSecurityContext securityContext,
+            Producer<String, byte[]> producer,
+            AuthorityWireFormat commandFormat) {
         this.securityContext = Objects.requireNonNull(securityContext, "securityContext");
         this.producer = Objects.requireNonNull(producer, "producer");
+        this.commandFormat = Objects.requireNonNull(commandFormat, "commandFormat");
     }
 
     @Override
@@ -140,7 +145,7 @@ final class KafkaPaperSessionLifecyclePort implements PaperSessionLifecyclePort
             producer.send(new ProducerRecord<>(
                     SESSION_COMMAND_TOPIC,
                     command.envelope().aggregateId().value(),
-                    SessionAuthorityWireCodec.encodeCommand(command))).get();
+                    SessionAuthorityWireCodec.encodeCommand(command, commandFormat))).get();
         } catch (InterruptedException exception) {
             Thread.currentThread().interrupt();
             throw new IllegalStateException("Interrupted while publishing Paper Session command", exception);
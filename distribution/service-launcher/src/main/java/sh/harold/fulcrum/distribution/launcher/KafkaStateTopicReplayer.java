@@ -1,18 +1,28 @@
 package sh.harold.fulcrum.distribution.launcher;
 
 import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
 import org.apache.kafka.common.PartitionInfo;
 import org.apache.kafka.common.TopicPartition;
 import org.apache.kafka.common.errors.TimeoutException;
 import sh.harold.fulcrum.data.store.kafka.KafkaClientBundle;
 
+import java.time.Clock;
 import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 
 final class KafkaStateTopicReplayer {
+    static final long SNAPSHOT_MIN_TAIL_RECORDS = 1_000;
+    private static final long PROGRESS_INTERVAL_RECORDS = 10_000;
+    private static final Map<String, StateTopicReplayMetrics> LATEST_METRICS = new ConcurrentHashMap<>();
+
     private KafkaStateTopicReplayer() {
     }
 
@@ -21,49 +31,183 @@ final class KafkaStateTopicReplayer {
             String topic,
             Duration pollTimeout,
             Consumer<ConsumerRecord<String, String>> stateHandler) {
+        return (int) replay(kafka, topic, pollTimeout, StateTopicSnapshotStore.disabled(), stateHandler).replayedRecords();
+    }
+
+    static StateTopicReplayMetrics replay(
+            KafkaClientBundle kafka,
+            String topic,
+            Duration pollTimeout,
+            StateTopicSnapshotStore snapshots,
+            Consumer<ConsumerRecord<String, String>> stateHandler) {
         Objects.requireNonNull(kafka, "kafka");
-        String checkedTopic = requireNonBlank(topic, "topic");
+        return replay(kafka.consumer(), topic, pollTimeout, snapshots, stateHandler);
+    }
+
+    // A worker that keeps tailing the topic passes its own snapshotter and goes on feeding it after the replay.
+    static StateTopicReplayMetrics replay(
+            KafkaClientBundle kafka,
+            Duration pollTimeout,
+            StateTopicSnapshotter snapshotter,
+            Consumer<ConsumerRecord<String, String>> stateHandler) {
+        Objects.requireNonNull(kafka, "kafka");
+        return replay(kafka.consumer(), pollTimeout, snapshotter, stateHandler);
+    }
+
+    static StateTopicReplayMetrics replay(
+            org.apache.kafka.clients.consumer.Consumer<String, String> consumer,
+            String topic,
+            Duration pollTimeout,
+            StateTopicSnapshotStore snapshots,
+            Consumer<ConsumerRecord<String, String>> stateHandler) {
+        return replay(
+                consumer,
+                pollTimeout,
+                new StateTopicSnapshotter(requireNonBlank(topic, "topic"), snapshots, Clock.systemUTC()),
+                stateHandler);
+    }
+
+    static StateTopicReplayMetrics replay(
+            org.apache.kafka.clients.consumer.Consumer<String, String> consumer,
+            Duration pollTimeout,
+            StateTopicSnapshotter snapshotter,
+            Consumer<ConsumerRecord<String, String>> stateHandler) {
+        Objects.requireNonNull(consumer, "consumer");
         Objects.requireNonNull(pollTimeout, "pollTimeout");
+        Objects.requireNonNull(snapshotter, "snapshotter");
         Objects.requireNonNull(stateHandler, "stateHandler");
+        String checkedTopic = snapshotter.topic();
+        StateTopicSnapshotStore snapshots = snapshotter.store();
 
         List<PartitionInfo> partitionInfos;
         try {
-            partitionInfos = kafka.consumer().partitionsFor(checkedTopic, pollTimeout);
+            partitionInfos = consumer.partitionsFor(checkedTopic, pollTimeout);
         } catch (TimeoutException exception) {
-            return 0;
+            return StateTopicReplayMetrics.empty(checkedTopic);
         }
-
-        List<TopicPartition> partitions = partitionInfos.stream()
+        List<TopicPartition> partitions = partitionInfos == null ? List.of() : partitionInfos.stream()
                 .map(PartitionInfo::partition)
                 .map(partition -> new TopicPartition(checkedTopic, partition))
                 .toList();
         if (partitions.isEmpty()) {
-            return 0;
+            return StateTopicReplayMetrics.empty(checkedTopic);
         }
 
-        kafka.consumer().assign(partitions);
-        kafka.consumer().seekToBeginning(partitions);
-        Map<TopicPartition, Long> endOffsets = kafka.consumer().endOffsets(partitions);
-        int replayed = 0;
-        while (!consumedToEnd(kafka, endOffsets)) {
-            for (ConsumerRecord<String, String> record : kafka.consumer().poll(pollTimeout)) {
+        long started = System.nanoTime();
+        consumer.assign(partitions);
+        Map<TopicPartition, Long> endOffsets = consumer.endOffsets(partitions);
+        Optional<StateTopicSnapshot> snapshot = snapshots.load(checkedTopic)
+                .filter(candidate -> usable(candidate, partitions, endOffsets));
+
+        long snapshotRecords = 0;
+        if (snapshot.isPresent()) {
+            for (StateTopicSnapshot.Entry entry : snapshot.get().entries()) {
+                ConsumerRecord<String, String> record = new ConsumerRecord<>(
+                        checkedTopic, entry.partition(), entry.offset(), entry.key(), entry.value());
                 stateHandler.accept(record);
-                replayed++;
+                snapshotter.restore(record);
+                snapshotRecords++;
             }
         }
-        kafka.consumer().unsubscribe();
-        return replayed;
+        Map<TopicPartition, Long> positions = startPositions(consumer, partitions, snapshot);
+
+        Progress progress = new Progress(checkedTopic, partitions.size(), snapshotRecords, started);
+        while (!consumedToEnd(positions, endOffsets)) {
+            ConsumerRecords<String, String> records = consumer.poll(pollTimeout);
+            for (ConsumerRecord<String, String> record : records) {
+                stateHandler.accept(record);
+                snapshotter.apply(record);
+                positions.put(new TopicPartition(record.topic(), record.partition()), record.offset() + 1);
+                progress.recordReplayed(positions, endOffsets);
+            }
+            if (records.isEmpty()) {
+                // Compaction gaps and transaction markers can leave the last record short of the end offset.
+                for (TopicPartition partition : partitions) {
+                    if (positions.getOrDefault(partition, 0L) < endOffsets.getOrDefault(partition, 0L)) {
+                        positions.put(partition, consumer.position(partition));
+                    }
+                }
+            }
+        }
+        consumer.unsubscribe();
+
+        positions.forEach((partition, offset) -> snapshotter.advance(partition.partition(), offset));
+        boolean snapshotWritten = false;
+        if (snapshots.enabled() && worthSnapshotting(snapshot, progress.tailRecords)) {
+            snapshotter.snapshot();
+            snapshotWritten = true;
+        }
+        StateTopicReplayMetrics metrics = progress.metrics(0, true, snapshotWritten);
+        LATEST_METRICS.put(checkedTopic, metrics);
+        exportReplay(checkedTopic, metrics);
+        return metrics;
+    }
+
+    private static void exportReplay(String topic, StateTopicReplayMetrics metrics) {
+        RuntimeMetrics registry = RuntimeMetrics.process();
+        long replayed = metrics.replayedRecords();
+        double seconds = metrics.elapsed().toNanos() / 1_000_000_000.0d;
+        registry.gauge("fulcrum_state_topic_replay_records", "Records replayed from a state topic at startup.", () -> replayed, "topic", topic);
+        registry.gauge("fulcrum_state_topic_replay_seconds", "Time spent replaying a state topic at startup.", () -> seconds, "topic", topic);
+    }
+
+    static Collection<StateTopicReplayMetrics> metrics() {
+        return List.copyOf(LATEST_METRICS.values());
     }
 
-    private static boolean consumedToEnd(KafkaClientBundle kafka, Map<TopicPartition, Long> endOffsets) {
+    private static boolean usable(
+            StateTopicSnapshot snapshot,
+            List<TopicPartition> partitions,
+            Map<TopicPartition, Long> endOffsets) {
+        for (Map.Entry<Integer, Long> entry : snapshot.nextOffsets().entrySet()) {
+            TopicPartition partition = new TopicPartition(snapshot.topic(), entry.getKey());
+            // An offset past the end means the topic was recreated underneath the snapshot.
+            if (!partitions.contains(partition) || entry.getValue() > endOffsets.getOrDefault(partition, 0L)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Map<TopicPartition, Long> startPositions(
+            org.apache.kafka.clients.consumer.Consumer<String, String> consumer,
+            List<TopicPartition> partitions,
+            Optional<StateTopicSnapshot> snapshot) {
+        Map<Integer, Long> snapshotOffsets = snapshot.map(StateTopicSnapshot::nextOffsets).orElse(Map.of());
+        Map<TopicPartition, Long> beginningOffsets = consumer.beginningOffsets(partitions);
+        Map<TopicPartition, Long> positions = new HashMap<>();
+        for (TopicPartition partition : partitions) {
+            // Retention may already have dropped records the snapshot covers; start at whatever is left.
+            long offset = Math.max(
+                    beginningOffsets.getOrDefault(partition, 0L),
+                    snapshotOffsets.getOrDefault(partition.partition(), 0L));
+            consumer.seek(partition, offset);
+            positions.put(partition, offset);
+        }
+        return positions;
+    }
+
+    private static boolean consumedToEnd(Map<TopicPartition, Long> positions, Map<TopicPartition, Long> endOffsets) {
         for (Map.Entry<TopicPartition, Long> entry : endOffsets.entrySet()) {
-            if (kafka.consumer().position(entry.getKey()) < entry.getValue()) {
+            if (positions.getOrDefault(entry.getKey(), 0L) < entry.getValue()) {
                 return false;
             }
         }
         return true;
     }
 
+    private static boolean worthSnapshotting(Optional<StateTopicSnapshot> snapshot, long tailRecords) {
+        return snapshot.isEmpty() ? tailRecords > 0 : tailRecords >= SNAPSHOT_MIN_TAIL_RECORDS;
+    }
+
+    private static long remaining(Map<TopicPartition, Long> positions, Map<TopicPartition, Long> endOffsets) {
+        long remaining = 0;
+        for (Map.Entry<TopicPartition, Long> entry : endOffsets.entrySet()) {
+            remaining += Math.max(0, entry.getValue() - positions.getOrDefault(entry.getKey(), 0L));
+        }
+        return remaining;
+    }
+
     private static String requireNonBlank(String value, String label) {
         String checked = Objects.requireNonNull(value, label).trim();
         if (checked.isEmpty()) {
@@ -71,4 +215,38 @@ final class KafkaStateTopicReplayer {
         }
         return checked;
     }
+
+    private static final class Progress {
+        private final String topic;
+        private final int partitions;
+        private final long snapshotRecords;
+        private final long started;
+        private long tailRecords;
+
+        private Progress(String topic, int partitions, long snapshotRecords, long started) {
+            this.topic = topic;
+            this.partitions = partitions;
+            this.snapshotRecords = snapshotRecords;
+            this.started = started;
+        }
+
+        private void recordReplayed(Map<TopicPartition, Long> positions, Map<TopicPartition, Long> endOffsets) {
+            tailRecords++;
+            if (tailRecords % PROGRESS_INTERVAL_RECORDS == 0) {
+                LATEST_METRICS.put(topic, metrics(remaining(positions, endOffsets), false, false));
+            }
+        }
+
+        private StateTopicReplayMetrics metrics(long remainingRecords, boolean completed, boolean snapshotWritten) {
+            return new StateTopicReplayMetrics(
+                    topic,
+                    partitions,
+                    snapshotRecords,
+                    tailRecords,
+                    remainingRecords,
+                    Duration.ofNanos(System.nanoTime() - started),
+                    completed,
+                    snapshotWritten);
+        }
+    }
 }
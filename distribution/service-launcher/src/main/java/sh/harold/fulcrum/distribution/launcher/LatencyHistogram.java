@@ -0,0 +1,108 @@
+package sh.harold.fulcrum.distribution.launcher;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Lock-free log-linear histogram of microsecond latencies: exact below 16 us, then sixteen buckets per power of
+// two, so any reported percentile is within 1/16 of the true value. Recording is a few atomic updates and never
+// allocates.
+final class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = (Long.SIZE - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong total = new AtomicLong();
+    private final AtomicLong sumMicros = new AtomicLong();
+    private final AtomicLong maxMicros = new AtomicLong();
+
+    void record(Duration latency) {
+        recordNanos(latency.toNanos());
+    }
+
+    void recordNanos(long nanos) {
+        long micros = Math.max(0, nanos / 1_000);
+        counts.incrementAndGet(bucket(micros));
+        total.incrementAndGet();
+        sumMicros.addAndGet(micros);
+        maxMicros.accumulateAndGet(micros, Math::max);
+    }
+
+    LatencySnapshot snapshot() {
+        long[] copy = new long[BUCKETS];
+        long count = 0;
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            copy[bucket] = counts.get(bucket);
+            count += copy[bucket];
+        }
+        long max = maxMicros.get();
+        return new LatencySnapshot(
+                count,
+                Duration.ofNanos(Math.min(percentileMicros(copy, count, 50), max) * 1_000),
+                Duration.ofNanos(Math.min(percentileMicros(copy, count, 99), max) * 1_000),
+                Duration.ofNanos(max * 1_000));
+    }
+
+    // Cumulative counts at each bound, in one pass over the buckets; the last entry is the total. A bound falls inside
+    // one bucket, and that whole bucket is counted at the bound, so each count is within the 1/16 resolution.
+    long[] cumulativeCounts(long[] boundsMicros) {
+        long[] cumulative = new long[boundsMicros.length + 1];
+        long seen = 0;
+        int bound = 0;
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            while (bound < boundsMicros.length && bucket > bucket(boundsMicros[bound])) {
+                cumulative[bound++] = seen;
+            }
+            seen += counts.get(bucket);
+        }
+        while (bound < boundsMicros.length) {
+            cumulative[bound++] = seen;
+        }
+        cumulative[boundsMicros.length] = seen;
+        return cumulative;
+    }
+
+    long count() {
+        return total.get();
+    }
+
+    long sumMicros() {
+        return sumMicros.get();
+    }
+
+    // Upper bound of the bucket holding the sample at the requested position, counted from the fastest.
+    private static long percentileMicros(long[] counts, long count, int percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        long position = Math.max(1, (long) Math.ceil(percentile / 100.0d * count));
+        long seen = 0;
+        for (int bucket = 0; bucket < counts.length; bucket++) {
+            seen += counts[bucket];
+            if (seen >= position) {
+                return upperBound(bucket);
+            }
+        }
+        return upperBound(counts.length - 1);
+    }
+
+    static int bucket(long micros) {
+        if (micros < SUB_BUCKETS) {
+            return (int) micros;
+        }
+        int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(micros);
+        int subBucket = (int) (micros >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    static long upperBound(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        long subBucket = bucket % SUB_BUCKETS;
+        long width = 1L << (exponent - SUB_BUCKET_BITS);
+        return ((SUB_BUCKETS + subBucket) << (exponent - SUB_BUCKET_BITS)) + width - 1;
+    }
+}
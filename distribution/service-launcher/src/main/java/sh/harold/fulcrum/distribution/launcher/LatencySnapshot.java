@@ -0,0 +1,15 @@
+package sh.harold.fulcrum.distribution.launcher;
+
+import java.time.Duration;
+import java.util.Objects;
+
+record LatencySnapshot(long count, Duration p50, Duration p99, Duration max) {
+    LatencySnapshot {
+        if (count < 0) {
+            throw new IllegalArgumentException("count must not be negative");
+        }
+        p50 = Objects.requireNonNull(p50, "p50");
+        p99 = Objects.requireNonNull(p99, "p99");
+        max = Objects.requireNonNull(max, "max");
+    }
+}
@@ -4,6 +4,7 @@ import org.apache.kafka.clients.producer.KafkaProducer;
 import org.apache.kafka.clients.producer.Producer;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
 import org.apache.kafka.common.serialization.StringSerializer;
 import sh.harold.fulcrum.adapters.objectstorage.ObjectStorageAdapter;
 import sh.harold.fulcrum.adapters.objectstorage.StoredObject;
@@ -62,7 +63,7 @@ public final class LobbyWorldArtifactProvisioner {
         }
         RuntimeEnvironment environment = RuntimeEnvironment.system();
         Config config = Config.fromEnvironment(environment);
-        try (KafkaProducer<String, String> producer = new KafkaProducer<>(producerProperties(config.kafkaBootstrapServers()))) {
+        try (KafkaProducer<String, byte[]> producer = new KafkaProducer<>(producerProperties(config.kafkaBootstrapServers()))) {
             Result result = provision(
                     config,
                     RuntimeExternalClients.objectStorage(config.objectStore(), config.objectBucket()),
@@ -90,7 +91,7 @@ public final class LobbyWorldArtifactProvisioner {
     static Result provision(
             Config config,
             ObjectStorageAdapter objectStorage,
-            Producer<String, String> producer,
+            Producer<String, byte[]> producer,
             Clock clock) throws IOException, ExecutionException, InterruptedException {
         Objects.requireNonNull(config, "config");
         Objects.requireNonNull(objectStorage, "objectStorage");
@@ -109,7 +110,7 @@ public final class LobbyWorldArtifactProvisioner {
                 new ContentAddress(stored.address().value()),
                 new ProvenanceRef(config.provenance()));
         AuthorityCommand<PublishArtifactMetadata> command = publishCommand(config, payload, clock.instant());
-        String encoded = ArtifactMetadataAuthorityWireCodec.encodeCommand(command);
+        byte[] encoded = ArtifactMetadataAuthorityWireCodec.encodeCommand(command, config.commandWireFormat());
         producer.send(new ProducerRecord<>(
                 config.commandTopic(),
                 command.envelope().aggregateId().value(),
@@ -168,7 +169,7 @@ public final class LobbyWorldArtifactProvisioner {
         Properties properties = new Properties();
         properties.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         properties.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class.getName());
-        properties.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class.getName());
+        properties.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class.getName());
         properties.put(ProducerConfig.ACKS_CONFIG, "all");
         return properties;
     }
@@ -190,7 +191,8 @@ public final class LobbyWorldArtifactProvisioner {
             String kafkaBootstrapServers,
             String commandTopic,
             PrincipalId principalId,
-            InstanceId instanceId) {
+            InstanceId instanceId,
+            AuthorityWireFormat commandWireFormat) {
         Config {
             objectStore = Objects.requireNonNull(objectStore, "objectStore");
             objectBucket = requireNonBlank(objectBucket, "objectBucket");
@@ -201,6 +203,7 @@ public final class LobbyWorldArtifactProvisioner {
             commandTopic = requireNonBlank(commandTopic, "commandTopic");
             principalId = Objects.requireNonNull(principalId, "principalId");
             instanceId = Objects.requireNonNull(instanceId, "instanceId");
+            commandWireFormat = Objects.requireNonNull(commandWireFormat, "commandWireFormat");
         }
 
         static Config fromEnvironment(RuntimeEnvironment environment) {
@@ -214,7 +217,8 @@ public final class LobbyWorldArtifactProvisioner {
                     required(environment, "FULCRUM_KAFKA_BOOTSTRAP_SERVERS"),
                     environment.value("FULCRUM_ARTIFACT_METADATA_COMMAND_TOPIC").orElse(DEFAULT_COMMAND_TOPIC),
                     new PrincipalId(environment.value("FULCRUM_PRINCIPAL_ID").orElse(DEFAULT_PRINCIPAL_ID)),
-                    new InstanceId(environment.value("FULCRUM_INSTANCE_ID").orElse(DEFAULT_INSTANCE_ID)));
+                    new InstanceId(environment.value("FULCRUM_INSTANCE_ID").orElse(DEFAULT_INSTANCE_ID)),
+                    RuntimeConnectionSettings.commandWireFormat(environment));
         }
 
         Path objectStoreRoot() {
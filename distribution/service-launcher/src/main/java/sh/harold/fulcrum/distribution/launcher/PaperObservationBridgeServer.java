@@ -10,6 +10,7 @@ import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.net.URI;
 import java.nio.charset.StandardCharsets;
+import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -24,6 +25,7 @@ final class PaperObservationBridgeServer implements AutoCloseable {
     private final ExecutorService publisher;
     private final AtomicBoolean started = new AtomicBoolean(false);
     private final AtomicReference<Throwable> failure = new AtomicReference<>();
+    private final BridgeMetrics metrics = new BridgeMetrics(RuntimeMetrics.process(), "paper-observation");
     private HttpServer server;
 
     PaperObservationBridgeServer(URI configuredUrl, PaperObservationSink observationSink) {
@@ -97,30 +99,38 @@ final class PaperObservationBridgeServer implements AutoCloseable {
 
     private void handle(HttpExchange exchange) throws IOException {
         if (!"POST".equals(exchange.getRequestMethod())) {
+            metrics.rejected();
             respond(exchange, 405, "method not allowed\n");
             return;
         }
         String payload = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
-        HostObservation observation;
+        List<HostObservation> observations;
         try {
-            observation = HostObservationWireCodec.decode(payload);
+            observations = HostObservationWireCodec.decodeAll(payload);
         } catch (RuntimeException exception) {
+            metrics.rejected();
             respond(exchange, 400, exception.getMessage() + "\n");
             return;
         }
         try {
-            publisher.execute(() -> publish(observation));
+            publisher.execute(() -> publish(observations));
         } catch (RejectedExecutionException exception) {
+            metrics.rejected();
             respond(exchange, 503, "observation bridge is stopping\n");
             return;
         }
+        metrics.accepted();
         respond(exchange, 202, "accepted\n");
     }
 
-    private void publish(HostObservation observation) {
+    // A frame is republished as one unit, so the sink can put all of it on the wire before waiting.
+    private void publish(List<HostObservation> observations) {
+        long startedAt = System.nanoTime();
         try {
-            observationSink.publish(observation);
+            observationSink.publishAll(observations);
+            metrics.published(startedAt, true);
         } catch (RuntimeException exception) {
+            metrics.published(startedAt, false);
             failure.compareAndSet(null, exception);
         }
     }
@@ -25,6 +25,7 @@ final class PaperRewardBridgeServer implements AutoCloseable {
     private final ExecutorService publisher;
     private final AtomicBoolean started = new AtomicBoolean(false);
     private final AtomicReference<Throwable> failure = new AtomicReference<>();
+    private final BridgeMetrics metrics = new BridgeMetrics(RuntimeMetrics.process(), "paper-reward");
     private HttpServer server;
 
     PaperRewardBridgeServer(URI configuredUrl, PaperRewardSink rewardSink) {
@@ -106,6 +107,7 @@ final class PaperRewardBridgeServer implements AutoCloseable {
 
     private void handle(HttpExchange exchange) throws IOException {
         if (!"POST".equals(exchange.getRequestMethod())) {
+            metrics.rejected();
             respond(exchange, 405, "method not allowed\n");
             return;
         }
@@ -114,24 +116,30 @@ final class PaperRewardBridgeServer implements AutoCloseable {
         try {
             report = PaperSessionRewardReportCodec.decode(payload);
         } catch (RuntimeException exception) {
+            metrics.rejected();
             respond(exchange, 400, exception.getMessage() + "\n");
             return;
         }
         try {
             publisher.execute(() -> publish(report));
         } catch (RejectedExecutionException exception) {
+            metrics.rejected();
             respond(exchange, 503, "reward bridge is stopping\n");
             return;
         }
+        metrics.accepted();
         respond(exchange, 202, "accepted\n");
     }
 
     private void publish(PaperSessionRewardReport report) {
+        long startedAt = System.nanoTime();
         try {
             for (int copy = 0; copy < deliveryCopies; copy++) {
                 rewardSink.publish(report);
             }
+            metrics.published(startedAt, true);
         } catch (RuntimeException exception) {
+            metrics.published(startedAt, false);
             failure.compareAndSet(null, exception);
         }
     }
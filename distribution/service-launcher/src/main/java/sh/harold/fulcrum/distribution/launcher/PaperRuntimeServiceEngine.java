@@ -118,7 +118,10 @@ final class PaperRuntimeServiceEngine implements RuntimeServiceEngine {
                 new AgonesGameServerHttpClient(settings.agonesSdkUrl()),
                 new PaperArtifactCache(settings.paperServerRoot().resolve("artifact-cache"), artifactSource),
                 new PaperWorldArchiveInstaller(settings.paperServerRoot().resolve("world")),
-                new KafkaPaperSessionLifecyclePort(securityContext, clients.paperKafka().producer()),
+                new KafkaPaperSessionLifecyclePort(
+                        securityContext,
+                        clients.paperKafka().byteValueProducer(),
+                        settings.commandWireFormat()),
                 observationSink,
                 Clock.systemUTC());
         return new PaperRuntimeServiceEngine(
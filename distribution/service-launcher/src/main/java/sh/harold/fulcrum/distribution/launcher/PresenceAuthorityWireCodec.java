@@ -20,6 +20,12 @@ import sh.harold.fulcrum.data.authority.AuthorityDecision;
 import sh.harold.fulcrum.data.authority.AuthorityDecisionStatus;
 import sh.harold.fulcrum.data.authority.AuthorityRejectionReason;
 import sh.harold.fulcrum.data.authority.StoredAuthorityDecision;
+import sh.harold.fulcrum.data.codegen.BinaryFieldCodec;
+import sh.harold.fulcrum.data.codegen.LineFieldWriter;
+import sh.harold.fulcrum.data.codegen.LineFields;
+import sh.harold.fulcrum.data.codegen.WireFieldWriter;
+import sh.harold.fulcrum.data.codegen.WireFields;
+import sh.harold.fulcrum.data.contract.ContractDeclaration;
 import sh.harold.fulcrum.data.presence.ClaimPresence;
 import sh.harold.fulcrum.data.presence.HeartbeatPresence;
 import sh.harold.fulcrum.data.presence.PresenceCommand;
@@ -33,9 +39,7 @@ import sh.harold.fulcrum.data.presence.PresenceState;
 import sh.harold.fulcrum.data.presence.ReleasePresence;
 
 import java.time.Instant;
-import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
@@ -45,19 +49,176 @@ final class PresenceAuthorityWireCodec {
     static final String CLAIM_COMMAND = "claim-presence";
     static final String HEARTBEAT_COMMAND = "heartbeat-presence";
     static final String RELEASE_COMMAND = "release-presence";
+    private static final ContractDeclaration DECLARATION = AuthorityWireFormat.contract(
+            CONTRACT,
+            List.of(
+                    AuthorityWireFormat.command(CLAIM_COMMAND, "ClaimPresence",
+                            AuthorityWireFormat.string(32, "subjectId"),
+                            AuthorityWireFormat.string(33, "presenceId"),
+                            AuthorityWireFormat.string(34, "ownerInstanceId"),
+                            AuthorityWireFormat.string(35, "ownerToken"),
+                            AuthorityWireFormat.string(36, "sessionId"),
+                            AuthorityWireFormat.string(37, "routeId"),
+                            AuthorityWireFormat.instant(38, "observedAt"),
+                            AuthorityWireFormat.instant(39, "expiresAt")),
+                    AuthorityWireFormat.command(HEARTBEAT_COMMAND, "HeartbeatPresence",
+                            AuthorityWireFormat.string(32, "subjectId"),
+                            AuthorityWireFormat.string(35, "ownerToken"),
+                            AuthorityWireFormat.longValue(40, "ownerEpoch"),
+                            AuthorityWireFormat.instant(38, "observedAt"),
+                            AuthorityWireFormat.instant(39, "expiresAt")),
+                    AuthorityWireFormat.command(RELEASE_COMMAND, "ReleasePresence",
+                            AuthorityWireFormat.string(32, "subjectId"),
+                            AuthorityWireFormat.string(35, "ownerToken"),
+                            AuthorityWireFormat.longValue(40, "ownerEpoch"),
+                            AuthorityWireFormat.instant(41, "releasedAt"),
+                            AuthorityWireFormat.string(42, "releaseReason"))),
+            AuthorityWireFormat.snapshot("PresenceState",
+                    AuthorityWireFormat.string(43, "current"),
+                    AuthorityWireFormat.string(33, "presenceId"),
+                    AuthorityWireFormat.string(32, "subjectId"),
+                    AuthorityWireFormat.string(34, "ownerInstanceId"),
+                    AuthorityWireFormat.string(35, "ownerToken"),
+                    AuthorityWireFormat.longValue(40, "ownerEpoch"),
+                    AuthorityWireFormat.string(44, "status"),
+                    AuthorityWireFormat.string(36, "sessionId"),
+                    AuthorityWireFormat.string(37, "routeId"),
+                    AuthorityWireFormat.instant(38, "observedAt"),
+                    AuthorityWireFormat.instant(39, "expiresAt"),
+                    AuthorityWireFormat.instant(41, "releasedAt"),
+                    AuthorityWireFormat.string(42, "releaseReason")),
+            AuthorityWireFormat.response("presence-receipt", "PresenceReceipt",
+                    AuthorityWireFormat.string(44, "status"),
+                    AuthorityWireFormat.string(45, "reason"),
+                    AuthorityWireFormat.string(33, "presenceId"),
+                    AuthorityWireFormat.string(32, "subjectId"),
+                    AuthorityWireFormat.longValue(46, "revision"),
+                    AuthorityWireFormat.longValue(17, "fencingEpoch"),
+                    AuthorityWireFormat.longValue(40, "ownerEpoch"),
+                    AuthorityWireFormat.string(47, "lifecycleStatus"),
+                    AuthorityWireFormat.string(2, "idempotencyKey"),
+                    AuthorityWireFormat.string(1, "commandId")),
+            AuthorityWireFormat.response("presence-decision", "StoredAuthorityDecision",
+                    AuthorityWireFormat.string(48, "decisionStatus"),
+                    AuthorityWireFormat.string(49, "rejectionReason"),
+                    AuthorityWireFormat.longValue(46, "revision"),
+                    AuthorityWireFormat.string(50, "replayed")));
+    private static final BinaryFieldCodec BINARY = AuthorityWireFormat.schema(DECLARATION);
 
     private PresenceAuthorityWireCodec() {
     }
 
     static AuthorityCommand<PresenceCommand> decodeCommand(ConsumerRecord<String, String> record) {
-        Map<String, String> fields = fields(record.value());
+        return decodeCommand(fields(record.value()), record.key());
+    }
+
+    static AuthorityCommand<PresenceCommand> decodeCommand(String key, byte[] payload) {
+        return decodeCommand(AuthorityWireFormat.decode(payload, BINARY, "Presence authority"), key);
+    }
+
+    static String encodeCommand(AuthorityCommand<PresenceCommand> command) {
+        return writeCommand(new LineFieldWriter(), command).text();
+    }
+
+    static byte[] encodeCommand(AuthorityCommand<PresenceCommand> command, AuthorityWireFormat format) {
+        return writeCommand(format.writer(BINARY), command).toByteArray();
+    }
+
+    static String encodeState(PresenceState state) {
+        return writeState(new LineFieldWriter(), state).text();
+    }
+
+    static byte[] encodeState(PresenceState state, AuthorityWireFormat format) {
+        return writeState(format.writer(BINARY), state).toByteArray();
+    }
+
+    static PresenceState decodeState(String payload) {
+        return decodeState(fields(payload));
+    }
+
+    static PresenceState decodeState(byte[] payload) {
+        return decodeState(AuthorityWireFormat.decode(payload, BINARY, "Presence authority"));
+    }
+
+    static String encodeReceipt(PresenceReceipt receipt) {
+        return writeReceipt(new LineFieldWriter(), receipt).text();
+    }
+
+    static byte[] encodeReceipt(PresenceReceipt receipt, AuthorityWireFormat format) {
+        return writeReceipt(format.writer(BINARY), receipt).toByteArray();
+    }
+
+    static PresenceReceipt decodeReceipt(String payload) {
+        return decodeReceipt(fields(payload));
+    }
+
+    static PresenceReceipt decodeReceipt(byte[] payload) {
+        return decodeReceipt(AuthorityWireFormat.decode(payload, BINARY, "Presence authority"));
+    }
+
+    static String encodeStoredDecision(StoredAuthorityDecision<PresenceState, PresenceReceipt> stored) {
+        Objects.requireNonNull(stored, "stored");
+        AuthorityDecision<PresenceState, PresenceReceipt> decision = stored.decision();
+        LineFieldWriter out = new LineFieldWriter();
+        out.string("payloadFingerprint", stored.payloadFingerprint());
+        out.string("decisionStatus", decision.status().name());
+        out.string("rejectionReason", decision.rejectionReason().map(Enum::name).orElse(""));
+        out.longValue("revision", decision.revision().value());
+        out.string("replayed", Boolean.toString(decision.replayed()));
+        encodeTrace(out, decision.traceEnvelope());
+        writeState(out.within("state."), decision.state());
+        writeReceipt(out.within("response."), decision.response());
+        return out.text();
+    }
+
+    static StoredAuthorityDecision<PresenceState, PresenceReceipt> decodeStoredDecision(String payload) {
+        LineFields fields = fields(payload);
+        AuthorityDecision<PresenceState, PresenceReceipt> decision = new AuthorityDecision<>(
+                AuthorityDecisionStatus.valueOf(required(fields, "decisionStatus")),
+                optional(fields, "rejectionReason").map(AuthorityRejectionReason::valueOf),
+                new Revision(longValue(fields, "revision")),
+                decodeState(fields.within("state.")),
+                decodeReceipt(fields.within("response.")),
+                List.of(),
+                decodeTrace(fields),
+                Boolean.parseBoolean(required(fields, "replayed")));
+        return new StoredAuthorityDecision<>(required(fields, "payloadFingerprint"), decision);
+    }
+
+    static String encodeDecisionPayload(AuthorityDecision<PresenceState, PresenceReceipt> decision) {
+        return encodeStoredDecision(new StoredAuthorityDecision<>("recorded-decision", decision));
+    }
+
+    private static <W extends WireFieldWriter> W writeCommand(W out, AuthorityCommand<PresenceCommand> command) {
+        Objects.requireNonNull(command, "command");
+        CommandEnvelope<PresenceCommand> envelope = command.envelope();
+        out.string("commandId", envelope.commandId().value());
+        out.string("idempotencyKey", envelope.idempotencyKey().value());
+        out.string("principalId", envelope.principalId().value());
+        out.string("declaredPrincipalId", envelope.principalId().value());
+        out.string("aggregateId", envelope.aggregateId().value());
+        out.string("contractName", envelope.contractName().value());
+        out.string("commandName", envelope.commandName().value());
+        encodeTrace(out, envelope.traceEnvelope());
+        out.instant("deadlineAt", envelope.deadlineAt());
+        out.string("authenticatedPrincipal", command.authenticatedPrincipal().value());
+        out.string("authenticatedPrincipalId", command.authenticatedPrincipal().value());
+        out.longValue("fencingEpoch", command.fencingEpoch());
+        out.longValue("expectedRevision", command.expectedRevision().map(Revision::value));
+        out.string("payloadFingerprint", command.payloadFingerprint());
+        out.instant("receivedAt", command.receivedAt());
+        encodePayload(out, envelope.payload());
+        return out;
+    }
+
+    private static AuthorityCommand<PresenceCommand> decodeCommand(WireFields fields, String key) {
         PresenceCommand payload = decodePayload(fields);
         return new AuthorityCommand<>(
                 new CommandEnvelope<>(
                         new CommandId(required(fields, "commandId")),
                         new IdempotencyKey(required(fields, "idempotencyKey")),
                         new PrincipalId(firstRequired(fields, "declaredPrincipalId", "principalId")),
-                        new AggregateId(optional(fields, "aggregateId").orElse(record.key())),
+                        new AggregateId(optional(fields, "aggregateId").orElse(key)),
                         new ContractName(optional(fields, "contractName").orElse(CONTRACT)),
                         new CommandName(required(fields, "commandName")),
                         decodeTrace(fields),
@@ -70,63 +231,36 @@ final class PresenceAuthorityWireCodec {
                 instant(fields, "receivedAt"));
     }
 
-    static String encodeCommand(AuthorityCommand<PresenceCommand> command) {
-        Objects.requireNonNull(command, "command");
-        Map<String, String> fields = new LinkedHashMap<>();
-        CommandEnvelope<PresenceCommand> envelope = command.envelope();
-        fields.put("commandId", envelope.commandId().value());
-        fields.put("idempotencyKey", envelope.idempotencyKey().value());
-        fields.put("principalId", envelope.principalId().value());
-        fields.put("declaredPrincipalId", envelope.principalId().value());
-        fields.put("aggregateId", envelope.aggregateId().value());
-        fields.put("contractName", envelope.contractName().value());
-        fields.put("commandName", envelope.commandName().value());
-        encodeTrace(fields, envelope.traceEnvelope());
-        fields.put("deadlineAt", envelope.deadlineAt().map(Instant::toString).orElse(""));
-        fields.put("authenticatedPrincipal", command.authenticatedPrincipal().value());
-        fields.put("authenticatedPrincipalId", command.authenticatedPrincipal().value());
-        fields.put("fencingEpoch", Long.toString(command.fencingEpoch()));
-        fields.put("expectedRevision", command.expectedRevision().map(value -> Long.toString(value.value())).orElse(""));
-        fields.put("payloadFingerprint", command.payloadFingerprint());
-        fields.put("receivedAt", command.receivedAt().toString());
-        encodePayload(fields, envelope.payload());
-        return lines(fields);
-    }
-
-    static String encodeState(PresenceState state) {
+    private static <W extends WireFieldWriter> W writeState(W out, PresenceState state) {
         Objects.requireNonNull(state, "state");
-        Map<String, String> fields = new LinkedHashMap<>();
-        fields.put("current", Boolean.toString(state.current().isPresent()));
-        state.current().ifPresent(snapshot -> encodeSnapshot(fields, "", snapshot));
-        return lines(fields);
+        out.string("current", Boolean.toString(state.current().isPresent()));
+        state.current().ifPresent(snapshot -> encodeSnapshot(out, "", snapshot));
+        return out;
     }
 
-    static PresenceState decodeState(String payload) {
-        Map<String, String> fields = fields(payload);
+    private static PresenceState decodeState(WireFields fields) {
         if (!Boolean.parseBoolean(required(fields, "current"))) {
             return new PresenceState(Optional.empty());
         }
         return new PresenceState(decodeSnapshot(fields, ""));
     }
 
-    static String encodeReceipt(PresenceReceipt receipt) {
+    private static <W extends WireFieldWriter> W writeReceipt(W out, PresenceReceipt receipt) {
         Objects.requireNonNull(receipt, "receipt");
-        Map<String, String> fields = new LinkedHashMap<>();
-        fields.put("status", receipt.status().name());
-        fields.put("reason", receipt.rejectionReason().orElse(""));
-        fields.put("presenceId", receipt.presenceId().map(PresenceId::value).orElse(""));
-        fields.put("subjectId", receipt.subjectId().map(value -> value.value().toString()).orElse(""));
-        fields.put("revision", receipt.revision().map(value -> Long.toString(value.value())).orElse(""));
-        fields.put("fencingEpoch", receipt.fencingEpoch().map(Object::toString).orElse(""));
-        fields.put("ownerEpoch", receipt.ownerEpoch().map(Object::toString).orElse(""));
-        fields.put("lifecycleStatus", receipt.lifecycleStatus().map(PresenceLifecycleStatus::name).orElse(""));
-        fields.put("idempotencyKey", receipt.idempotencyKey().orElse(""));
-        fields.put("commandId", receipt.commandId().orElse(""));
-        return lines(fields);
+        out.string("status", receipt.status().name());
+        out.string("reason", receipt.rejectionReason().orElse(""));
+        out.string("presenceId", receipt.presenceId().map(PresenceId::value).orElse(""));
+        out.string("subjectId", receipt.subjectId().map(value -> value.value().toString()).orElse(""));
+        out.longValue("revision", receipt.revision().map(Revision::value));
+        out.longValue("fencingEpoch", receipt.fencingEpoch());
+        out.longValue("ownerEpoch", receipt.ownerEpoch());
+        out.string("lifecycleStatus", receipt.lifecycleStatus().map(PresenceLifecycleStatus::name).orElse(""));
+        out.string("idempotencyKey", receipt.idempotencyKey().orElse(""));
+        out.string("commandId", receipt.commandId().orElse(""));
+        return out;
     }
 
-    static PresenceReceipt decodeReceipt(String payload) {
-        Map<String, String> fields = fields(payload);
+    private static PresenceReceipt decodeReceipt(WireFields fields) {
         return new PresenceReceipt(
                 PresenceReceiptStatus.valueOf(required(fields, "status")),
                 optional(fields, "reason"),
@@ -140,40 +274,7 @@ final class PresenceAuthorityWireCodec {
                 optional(fields, "commandId"));
     }
 
-    static String encodeStoredDecision(StoredAuthorityDecision<PresenceState, PresenceReceipt> stored) {
-        Objects.requireNonNull(stored, "stored");
-        AuthorityDecision<PresenceState, PresenceReceipt> decision = stored.decision();
-        Map<String, String> fields = new LinkedHashMap<>();
-        fields.put("payloadFingerprint", stored.payloadFingerprint());
-        fields.put("decisionStatus", decision.status().name());
-        fields.put("rejectionReason", decision.rejectionReason().map(Enum::name).orElse(""));
-        fields.put("revision", Long.toString(decision.revision().value()));
-        fields.put("replayed", Boolean.toString(decision.replayed()));
-        encodeTrace(fields, decision.traceEnvelope());
-        prefixed(fields, "state.", encodeState(decision.state()));
-        prefixed(fields, "response.", encodeReceipt(decision.response()));
-        return lines(fields);
-    }
-
-    static StoredAuthorityDecision<PresenceState, PresenceReceipt> decodeStoredDecision(String payload) {
-        Map<String, String> fields = fields(payload);
-        AuthorityDecision<PresenceState, PresenceReceipt> decision = new AuthorityDecision<>(
-                AuthorityDecisionStatus.valueOf(required(fields, "decisionStatus")),
-                optional(fields, "rejectionReason").map(AuthorityRejectionReason::valueOf),
-                new Revision(longValue(fields, "revision")),
-                decodeState(unprefixed(fields, "state.")),
-                decodeReceipt(unprefixed(fields, "response.")),
-                List.of(),
-                decodeTrace(fields),
-                Boolean.parseBoolean(required(fields, "replayed")));
-        return new StoredAuthorityDecision<>(required(fields, "payloadFingerprint"), decision);
-    }
-
-    static String encodeDecisionPayload(AuthorityDecision<PresenceState, PresenceReceipt> decision) {
-        return encodeStoredDecision(new StoredAuthorityDecision<>("recorded-decision", decision));
-    }
-
-    private static PresenceCommand decodePayload(Map<String, String> fields) {
+    private static PresenceCommand decodePayload(WireFields fields) {
         SubjectId subjectId = subjectId(required(fields, "subjectId"));
         return switch (required(fields, "commandName")) {
             case CLAIM_COMMAND -> new ClaimPresence(
@@ -201,53 +302,53 @@ final class PresenceAuthorityWireCodec {
         };
     }
 
-    private static void encodePayload(Map<String, String> fields, PresenceCommand payload) {
+    private static void encodePayload(WireFieldWriter out, PresenceCommand payload) {
         if (payload instanceof ClaimPresence claim) {
-            fields.put("subjectId", claim.subjectId().value().toString());
-            fields.put("presenceId", claim.presenceId().value());
-            fields.put("ownerInstanceId", claim.ownerInstanceId().value());
-            fields.put("ownerToken", claim.ownerToken().value());
-            fields.put("sessionId", claim.sessionId().map(SessionId::value).orElse(""));
-            fields.put("routeId", claim.routeId().map(RouteId::value).orElse(""));
-            fields.put("observedAt", claim.observedAt().toString());
-            fields.put("expiresAt", claim.expiresAt().toString());
+            out.string("subjectId", claim.subjectId().value().toString());
+            out.string("presenceId", claim.presenceId().value());
+            out.string("ownerInstanceId", claim.ownerInstanceId().value());
+            out.string("ownerToken", claim.ownerToken().value());
+            out.string("sessionId", claim.sessionId().map(SessionId::value).orElse(""));
+            out.string("routeId", claim.routeId().map(RouteId::value).orElse(""));
+            out.instant("observedAt", claim.observedAt());
+            out.instant("expiresAt", claim.expiresAt());
             return;
         }
         if (payload instanceof HeartbeatPresence heartbeat) {
-            fields.put("subjectId", heartbeat.subjectId().value().toString());
-            fields.put("ownerToken", heartbeat.ownerToken().value());
-            fields.put("ownerEpoch", Long.toString(heartbeat.ownerEpoch()));
-            fields.put("observedAt", heartbeat.observedAt().toString());
-            fields.put("expiresAt", heartbeat.expiresAt().toString());
+            out.string("subjectId", heartbeat.subjectId().value().toString());
+            out.string("ownerToken", heartbeat.ownerToken().value());
+            out.longValue("ownerEpoch", heartbeat.ownerEpoch());
+            out.instant("observedAt", heartbeat.observedAt());
+            out.instant("expiresAt", heartbeat.expiresAt());
             return;
         }
         if (payload instanceof ReleasePresence release) {
-            fields.put("subjectId", release.subjectId().value().toString());
-            fields.put("ownerToken", release.ownerToken().value());
-            fields.put("ownerEpoch", Long.toString(release.ownerEpoch()));
-            fields.put("releasedAt", release.releasedAt().toString());
-            fields.put("releaseReason", release.reason().name());
+            out.string("subjectId", release.subjectId().value().toString());
+            out.string("ownerToken", release.ownerToken().value());
+            out.longValue("ownerEpoch", release.ownerEpoch());
+            out.instant("releasedAt", release.releasedAt());
+            out.string("releaseReason", release.reason().name());
             return;
         }
         throw new IllegalArgumentException("Unsupported Presence command " + payload.getClass().getSimpleName());
     }
 
-    private static void encodeSnapshot(Map<String, String> fields, String prefix, PresenceSnapshot snapshot) {
-        fields.put(prefix + "presenceId", snapshot.presenceId().value());
-        fields.put(prefix + "subjectId", snapshot.subjectId().value().toString());
-        fields.put(prefix + "ownerInstanceId", snapshot.ownerInstanceId().value());
-        fields.put(prefix + "ownerToken", snapshot.ownerToken().value());
-        fields.put(prefix + "ownerEpoch", Long.toString(snapshot.ownerEpoch()));
-        fields.put(prefix + "status", snapshot.status().name());
-        fields.put(prefix + "sessionId", snapshot.sessionId().map(SessionId::value).orElse(""));
-        fields.put(prefix + "routeId", snapshot.routeId().map(RouteId::value).orElse(""));
-        fields.put(prefix + "observedAt", snapshot.observedAt().toString());
-        fields.put(prefix + "expiresAt", snapshot.expiresAt().toString());
-        fields.put(prefix + "releasedAt", snapshot.releasedAt().map(Instant::toString).orElse(""));
-        fields.put(prefix + "releaseReason", snapshot.releaseReason().map(PresenceReleaseReason::name).orElse(""));
+    private static void encodeSnapshot(WireFieldWriter out, String prefix, PresenceSnapshot snapshot) {
+        out.string(prefix + "presenceId", snapshot.presenceId().value());
+        out.string(prefix + "subjectId", snapshot.subjectId().value().toString());
+        out.string(prefix + "ownerInstanceId", snapshot.ownerInstanceId().value());
+        out.string(prefix + "ownerToken", snapshot.ownerToken().value());
+        out.longValue(prefix + "ownerEpoch", snapshot.ownerEpoch());
+        out.string(prefix + "status", snapshot.status().name());
+        out.string(prefix + "sessionId", snapshot.sessionId().map(SessionId::value).orElse(""));
+        out.string(prefix + "routeId", snapshot.routeId().map(RouteId::value).orElse(""));
+        out.instant(prefix + "observedAt", snapshot.observedAt());
+        out.instant(prefix + "expiresAt", snapshot.expiresAt());
+        out.instant(prefix + "releasedAt", snapshot.releasedAt());
+        out.string(prefix + "releaseReason", snapshot.releaseReason().map(PresenceReleaseReason::name).orElse(""));
     }
 
-    private static PresenceSnapshot decodeSnapshot(Map<String, String> fields, String prefix) {
+    private static PresenceSnapshot decodeSnapshot(WireFields fields, String prefix) {
         return new PresenceSnapshot(
                 new PresenceId(required(fields, prefix + "presenceId")),
                 subjectId(required(fields, prefix + "subjectId")),
@@ -263,16 +364,16 @@ final class PresenceAuthorityWireCodec {
                 optional(fields, prefix + "releaseReason").map(PresenceReleaseReason::valueOf));
     }
 
-    private static void encodeTrace(Map<String, String> fields, TraceEnvelope trace) {
-        fields.put("traceId", trace.traceId());
-        fields.put("spanId", trace.spanId());
-        fields.put("parentSpanId", trace.parentSpanId().orElse(""));
-        fields.put("traceCreatedAt", trace.createdAt().toString());
-        fields.put("originService", trace.originService());
-        fields.put("originInstanceId", trace.originInstanceId().value());
+    private static void encodeTrace(WireFieldWriter out, TraceEnvelope trace) {
+        out.string("traceId", trace.traceId());
+        out.string("spanId", trace.spanId());
+        out.string("parentSpanId", trace.parentSpanId().orElse(""));
+        out.instant("traceCreatedAt", trace.createdAt());
+        out.string("originService", trace.originService());
+        out.string("originInstanceId", trace.originInstanceId().value());
     }
 
-    private static TraceEnvelope decodeTrace(Map<String, String> fields) {
+    private static TraceEnvelope decodeTrace(WireFields fields) {
         return new TraceEnvelope(
                 required(fields, "traceId"),
                 required(fields, "spanId"),
@@ -283,47 +384,16 @@ final class PresenceAuthorityWireCodec {
                 new InstanceId(required(fields, "originInstanceId")));
     }
 
-    private static void prefixed(Map<String, String> target, String prefix, String payload) {
-        fields(payload).forEach((key, value) -> target.put(prefix + key, value));
+    private static LineFields fields(String payload) {
+        return LineFields.of(payload, "Presence authority");
     }
 
-    private static String unprefixed(Map<String, String> source, String prefix) {
-        Map<String, String> values = new LinkedHashMap<>();
-        source.forEach((key, value) -> {
-            if (key.startsWith(prefix)) {
-                values.put(key.substring(prefix.length()), value);
-            }
-        });
-        return lines(values);
-    }
-
-    private static Map<String, String> fields(String payload) {
-        Map<String, String> fields = new LinkedHashMap<>();
-        if (payload == null || payload.isBlank()) {
-            return fields;
-        }
-        for (String line : payload.split("\\R")) {
-            int separator = line.indexOf('=');
-            if (separator < 1) {
-                throw new IllegalArgumentException("Malformed Presence authority wire line: " + line);
-            }
-            fields.put(line.substring(0, separator), line.substring(separator + 1));
-        }
-        return fields;
-    }
-
-    private static String lines(Map<String, String> fields) {
-        StringBuilder builder = new StringBuilder();
-        fields.forEach((key, value) -> builder.append(key).append('=').append(value == null ? "" : value).append('\n'));
-        return builder.toString();
-    }
-
-    private static String firstRequired(Map<String, String> fields, String first, String second) {
+    private static String firstRequired(WireFields fields, String first, String second) {
         return optional(fields, first).or(() -> optional(fields, second))
                 .orElseThrow(() -> new IllegalArgumentException("Missing Presence authority wire field " + first));
     }
 
-    private static String required(Map<String, String> fields, String key) {
+    private static String required(WireFields fields, String key) {
         String value = fields.get(key);
         if (value == null || value.isBlank()) {
             throw new IllegalArgumentException("Missing Presence authority wire field " + key);
@@ -331,32 +401,36 @@ final class PresenceAuthorityWireCodec {
         return value;
     }
 
-    private static Optional<String> optional(Map<String, String> fields, String key) {
+    private static Optional<String> optional(WireFields fields, String key) {
         String value = fields.get(key);
         return value == null || value.isBlank() ? Optional.empty() : Optional.of(value);
     }
 
-    private static long longValue(Map<String, String> fields, String key) {
+    private static long longValue(WireFields fields, String key) {
         return Long.parseLong(required(fields, key));
     }
 
-    private static Optional<Long> optionalLong(Map<String, String> fields, String key) {
+    private static Optional<Long> optionalLong(WireFields fields, String key) {
         return optional(fields, key).map(Long::parseLong);
     }
 
-    private static Optional<Revision> optionalRevision(Map<String, String> fields, String key) {
+    private static Optional<Revision> optionalRevision(WireFields fields, String key) {
         return optionalLong(fields, key).map(Revision::new);
     }
 
-    private static Instant instant(Map<String, String> fields, String key) {
-        return Instant.parse(required(fields, key));
+    private static Instant instant(WireFields fields, String key) {
+        Instant value = fields.getInstant(key);
+        if (value == null) {
+            throw new IllegalArgumentException("Missing Presence authority wire field " + key);
+        }
+        return value;
     }
 
-    private static Optional<Instant> optionalInstant(Map<String, String> fields, String key) {
-        return optional(fields, key).map(Instant::parse);
+    private static Optional<Instant> optionalInstant(WireFields fields, String key) {
+        return Optional.ofNullable(fields.getInstant(key));
     }
 
-    private static Optional<SubjectId> optionalSubjectId(Map<String, String> fields, String key) {
+    private static Optional<SubjectId> optionalSubjectId(WireFields fields, String key) {
         return optional(fields, key).map(PresenceAuthorityWireCodec::subjectId);
     }
 
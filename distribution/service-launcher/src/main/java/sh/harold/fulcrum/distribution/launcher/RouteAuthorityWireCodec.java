@@ -19,6 +19,12 @@ import sh.harold.fulcrum.data.authority.AuthorityDecision;
 import sh.harold.fulcrum.data.authority.AuthorityDecisionStatus;
 import sh.harold.fulcrum.data.authority.AuthorityRejectionReason;
 import sh.harold.fulcrum.data.authority.StoredAuthorityDecision;
+import sh.harold.fulcrum.data.codegen.BinaryFieldCodec;
+import sh.harold.fulcrum.data.codegen.LineFieldWriter;
+import sh.harold.fulcrum.data.codegen.LineFields;
+import sh.harold.fulcrum.data.codegen.WireFieldWriter;
+import sh.harold.fulcrum.data.codegen.WireFields;
+import sh.harold.fulcrum.data.contract.ContractDeclaration;
 import sh.harold.fulcrum.data.route.RouteLifecycleStatus;
 import sh.harold.fulcrum.data.route.RouteReceipt;
 import sh.harold.fulcrum.data.route.RouteReceiptStatus;
@@ -30,9 +36,7 @@ import sh.harold.fulcrum.data.route.contract.RouteCommand;
 import sh.harold.fulcrum.data.route.contract.TimeoutRoute;
 
 import java.time.Instant;
-import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
@@ -42,19 +46,167 @@ final class RouteAuthorityWireCodec {
     static final String OPEN_COMMAND = "open-route";
     static final String ACKNOWLEDGE_COMMAND = "acknowledge-route";
     static final String TIMEOUT_COMMAND = "timeout-route";
+    private static final ContractDeclaration DECLARATION = AuthorityWireFormat.contract(
+            CONTRACT,
+            List.of(
+                    AuthorityWireFormat.command(OPEN_COMMAND, "OpenRoute",
+                            AuthorityWireFormat.string(32, "routeId"),
+                            AuthorityWireFormat.string(33, "subjectId"),
+                            AuthorityWireFormat.string(34, "targetInstanceId"),
+                            AuthorityWireFormat.string(35, "targetSessionId"),
+                            AuthorityWireFormat.instant(36, "requestedAt"),
+                            AuthorityWireFormat.instant(37, "expiresAt")),
+                    AuthorityWireFormat.command(ACKNOWLEDGE_COMMAND, "AcknowledgeRoute",
+                            AuthorityWireFormat.string(32, "routeId"),
+                            AuthorityWireFormat.string(33, "subjectId"),
+                            AuthorityWireFormat.string(34, "targetInstanceId"),
+                            AuthorityWireFormat.string(35, "targetSessionId"),
+                            AuthorityWireFormat.instant(38, "acknowledgedAt")),
+                    AuthorityWireFormat.command(TIMEOUT_COMMAND, "TimeoutRoute",
+                            AuthorityWireFormat.string(32, "routeId"),
+                            AuthorityWireFormat.instant(39, "timedOutAt"))),
+            AuthorityWireFormat.snapshot("RouteState",
+                    AuthorityWireFormat.string(40, "current"),
+                    AuthorityWireFormat.string(32, "routeId"),
+                    AuthorityWireFormat.string(33, "subjectId"),
+                    AuthorityWireFormat.string(35, "targetSessionId"),
+                    AuthorityWireFormat.string(34, "targetInstanceId"),
+                    AuthorityWireFormat.string(41, "status"),
+                    AuthorityWireFormat.instant(36, "requestedAt"),
+                    AuthorityWireFormat.instant(37, "expiresAt"),
+                    AuthorityWireFormat.instant(42, "completedAt")),
+            AuthorityWireFormat.response("route-receipt", "RouteReceipt",
+                    AuthorityWireFormat.string(41, "status"),
+                    AuthorityWireFormat.string(43, "reason"),
+                    AuthorityWireFormat.string(32, "routeId"),
+                    AuthorityWireFormat.string(33, "subjectId"),
+                    AuthorityWireFormat.longValue(44, "revision"),
+                    AuthorityWireFormat.longValue(17, "fencingEpoch"),
+                    AuthorityWireFormat.string(45, "lifecycleStatus"),
+                    AuthorityWireFormat.string(2, "idempotencyKey"),
+                    AuthorityWireFormat.string(1, "commandId")),
+            AuthorityWireFormat.response("route-decision", "StoredAuthorityDecision",
+                    AuthorityWireFormat.string(46, "decisionStatus"),
+                    AuthorityWireFormat.string(47, "rejectionReason"),
+                    AuthorityWireFormat.longValue(44, "revision"),
+                    AuthorityWireFormat.string(48, "replayed")));
+    private static final BinaryFieldCodec BINARY = AuthorityWireFormat.schema(DECLARATION);
 
     private RouteAuthorityWireCodec() {
     }
 
     static AuthorityCommand<RouteCommand> decodeCommand(ConsumerRecord<String, String> record) {
-        Map<String, String> fields = fields(record.value());
+        return decodeCommand(fields(record.value()), record.key());
+    }
+
+    static AuthorityCommand<RouteCommand> decodeCommand(String key, byte[] payload) {
+        return decodeCommand(AuthorityWireFormat.decode(payload, BINARY, "Route authority"), key);
+    }
+
+    static String encodeCommand(AuthorityCommand<RouteCommand> command) {
+        return writeCommand(new LineFieldWriter(), command).text();
+    }
+
+    static byte[] encodeCommand(AuthorityCommand<RouteCommand> command, AuthorityWireFormat format) {
+        return writeCommand(format.writer(BINARY), command).toByteArray();
+    }
+
+    static String encodeState(RouteState state) {
+        return writeState(new LineFieldWriter(), state).text();
+    }
+
+    static byte[] encodeState(RouteState state, AuthorityWireFormat format) {
+        return writeState(format.writer(BINARY), state).toByteArray();
+    }
+
+    static RouteState decodeState(String payload) {
+        return decodeState(fields(payload));
+    }
+
+    static RouteState decodeState(byte[] payload) {
+        return decodeState(AuthorityWireFormat.decode(payload, BINARY, "Route authority"));
+    }
+
+    static String encodeReceipt(RouteReceipt receipt) {
+        return writeReceipt(new LineFieldWriter(), receipt).text();
+    }
+
+    static byte[] encodeReceipt(RouteReceipt receipt, AuthorityWireFormat format) {
+        return writeReceipt(format.writer(BINARY), receipt).toByteArray();
+    }
+
+    static RouteReceipt decodeReceipt(String payload) {
+        return decodeReceipt(fields(payload));
+    }
+
+    static RouteReceipt decodeReceipt(byte[] payload) {
+        return decodeReceipt(AuthorityWireFormat.decode(payload, BINARY, "Route authority"));
+    }
+
+    static String encodeStoredDecision(StoredAuthorityDecision<RouteState, RouteReceipt> stored) {
+        Objects.requireNonNull(stored, "stored");
+        AuthorityDecision<RouteState, RouteReceipt> decision = stored.decision();
+        LineFieldWriter out = new LineFieldWriter();
+        out.string("payloadFingerprint", stored.payloadFingerprint());
+        out.string("decisionStatus", decision.status().name());
+        out.string("rejectionReason", decision.rejectionReason().map(Enum::name).orElse(""));
+        out.longValue("revision", decision.revision().value());
+        out.string("replayed", Boolean.toString(decision.replayed()));
+        encodeTrace(out, decision.traceEnvelope());
+        writeState(out.within("state."), decision.state());
+        writeReceipt(out.within("response."), decision.response());
+        return out.text();
+    }
+
+    static StoredAuthorityDecision<RouteState, RouteReceipt> decodeStoredDecision(String payload) {
+        LineFields fields = fields(payload);
+        AuthorityDecisionStatus status = AuthorityDecisionStatus.valueOf(required(fields, "decisionStatus"));
+        Optional<AuthorityRejectionReason> rejectionReason =
+                optional(fields, "rejectionReason").map(AuthorityRejectionReason::valueOf);
+        AuthorityDecision<RouteState, RouteReceipt> decision = new AuthorityDecision<>(
+                status,
+                rejectionReason,
+                new Revision(longValue(fields, "revision")),
+                decodeState(fields.within("state.")),
+                decodeReceipt(fields.within("response.")),
+                List.of(),
+                decodeTrace(fields),
+                Boolean.parseBoolean(required(fields, "replayed")));
+        return new StoredAuthorityDecision<>(required(fields, "payloadFingerprint"), decision);
+    }
+
+    static String encodeDecisionPayload(AuthorityDecision<RouteState, RouteReceipt> decision) {
+        return encodeStoredDecision(new StoredAuthorityDecision<>("recorded-decision", decision));
+    }
+
+    private static <W extends WireFieldWriter> W writeCommand(W out, AuthorityCommand<RouteCommand> command) {
+        Objects.requireNonNull(command, "command");
+        CommandEnvelope<RouteCommand> envelope = command.envelope();
+        out.string("commandId", envelope.commandId().value());
+        out.string("idempotencyKey", envelope.idempotencyKey().value());
+        out.string("principalId", envelope.principalId().value());
+        out.string("aggregateId", envelope.aggregateId().value());
+        out.string("contractName", envelope.contractName().value());
+        out.string("commandName", envelope.commandName().value());
+        encodeTrace(out, envelope.traceEnvelope());
+        out.instant("deadlineAt", envelope.deadlineAt());
+        out.string("authenticatedPrincipal", command.authenticatedPrincipal().value());
+        out.longValue("fencingEpoch", command.fencingEpoch());
+        out.longValue("expectedRevision", command.expectedRevision().map(Revision::value));
+        out.string("payloadFingerprint", command.payloadFingerprint());
+        out.instant("receivedAt", command.receivedAt());
+        encodePayload(out, envelope.payload());
+        return out;
+    }
+
+    private static AuthorityCommand<RouteCommand> decodeCommand(WireFields fields, String key) {
         RouteCommand payload = decodePayload(fields);
         return new AuthorityCommand<>(
                 new CommandEnvelope<>(
                         new CommandId(required(fields, "commandId")),
                         new IdempotencyKey(required(fields, "idempotencyKey")),
                         new PrincipalId(firstRequired(fields, "principalId", "declaredPrincipalId")),
-                        new AggregateId(optional(fields, "aggregateId").orElse(record.key())),
+                        new AggregateId(optional(fields, "aggregateId").orElse(key)),
                         new ContractName(optional(fields, "contractName").orElse(CONTRACT)),
                         new CommandName(required(fields, "commandName")),
                         decodeTrace(fields),
@@ -67,60 +219,35 @@ final class RouteAuthorityWireCodec {
                 instant(fields, "receivedAt"));
     }
 
-    static String encodeCommand(AuthorityCommand<RouteCommand> command) {
-        Objects.requireNonNull(command, "command");
-        Map<String, String> fields = new LinkedHashMap<>();
-        CommandEnvelope<RouteCommand> envelope = command.envelope();
-        fields.put("commandId", envelope.commandId().value());
-        fields.put("idempotencyKey", envelope.idempotencyKey().value());
-        fields.put("principalId", envelope.principalId().value());
-        fields.put("aggregateId", envelope.aggregateId().value());
-        fields.put("contractName", envelope.contractName().value());
-        fields.put("commandName", envelope.commandName().value());
-        encodeTrace(fields, envelope.traceEnvelope());
-        fields.put("deadlineAt", envelope.deadlineAt().map(Instant::toString).orElse(""));
-        fields.put("authenticatedPrincipal", command.authenticatedPrincipal().value());
-        fields.put("fencingEpoch", Long.toString(command.fencingEpoch()));
-        fields.put("expectedRevision", command.expectedRevision().map(value -> Long.toString(value.value())).orElse(""));
-        fields.put("payloadFingerprint", command.payloadFingerprint());
-        fields.put("receivedAt", command.receivedAt().toString());
-        encodePayload(fields, envelope.payload());
-        return lines(fields);
-    }
-
-    static String encodeState(RouteState state) {
+    private static <W extends WireFieldWriter> W writeState(W out, RouteState state) {
         Objects.requireNonNull(state, "state");
-        Map<String, String> fields = new LinkedHashMap<>();
-        fields.put("current", Boolean.toString(state.current().isPresent()));
-        state.current().ifPresent(snapshot -> encodeSnapshot(fields, "", snapshot));
-        return lines(fields);
+        out.string("current", Boolean.toString(state.current().isPresent()));
+        state.current().ifPresent(snapshot -> encodeSnapshot(out, "", snapshot));
+        return out;
     }
 
-    static RouteState decodeState(String payload) {
-        Map<String, String> fields = fields(payload);
+    private static RouteState decodeState(WireFields fields) {
         if (!Boolean.parseBoolean(required(fields, "current"))) {
             return RouteState.empty();
         }
         return new RouteState(decodeSnapshot(fields, ""));
     }
 
-    static String encodeReceipt(RouteReceipt receipt) {
+    private static <W extends WireFieldWriter> W writeReceipt(W out, RouteReceipt receipt) {
         Objects.requireNonNull(receipt, "receipt");
-        Map<String, String> fields = new LinkedHashMap<>();
-        fields.put("status", receipt.status().name());
-        fields.put("reason", receipt.rejectionReason().orElse(""));
-        fields.put("routeId", receipt.routeId().map(RouteId::value).orElse(""));
-        fields.put("subjectId", receipt.subjectId().map(value -> value.value().toString()).orElse(""));
-        fields.put("revision", receipt.revision().map(value -> Long.toString(value.value())).orElse(""));
-        fields.put("fencingEpoch", receipt.fencingEpoch().map(Object::toString).orElse(""));
-        fields.put("lifecycleStatus", receipt.lifecycleStatus().map(RouteLifecycleStatus::name).orElse(""));
-        fields.put("idempotencyKey", receipt.idempotencyKey().orElse(""));
-        fields.put("commandId", receipt.commandId().orElse(""));
-        return lines(fields);
+        out.string("status", receipt.status().name());
+        out.string("reason", receipt.rejectionReason().orElse(""));
+        out.string("routeId", receipt.routeId().map(RouteId::value).orElse(""));
+        out.string("subjectId", receipt.subjectId().map(value -> value.value().toString()).orElse(""));
+        out.longValue("revision", receipt.revision().map(Revision::value));
+        out.longValue("fencingEpoch", receipt.fencingEpoch());
+        out.string("lifecycleStatus", receipt.lifecycleStatus().map(RouteLifecycleStatus::name).orElse(""));
+        out.string("idempotencyKey", receipt.idempotencyKey().orElse(""));
+        out.string("commandId", receipt.commandId().orElse(""));
+        return out;
     }
 
-    static RouteReceipt decodeReceipt(String payload) {
-        Map<String, String> fields = fields(payload);
+    private static RouteReceipt decodeReceipt(WireFields fields) {
         return new RouteReceipt(
                 RouteReceiptStatus.valueOf(required(fields, "status")),
                 optional(fields, "reason"),
@@ -133,43 +260,7 @@ final class RouteAuthorityWireCodec {
                 optional(fields, "commandId"));
     }
 
-    static String encodeStoredDecision(StoredAuthorityDecision<RouteState, RouteReceipt> stored) {
-        Objects.requireNonNull(stored, "stored");
-        AuthorityDecision<RouteState, RouteReceipt> decision = stored.decision();
-        Map<String, String> fields = new LinkedHashMap<>();
-        fields.put("payloadFingerprint", stored.payloadFingerprint());
-        fields.put("decisionStatus", decision.status().name());
-        fields.put("rejectionReason", decision.rejectionReason().map(Enum::name).orElse(""));
-        fields.put("revision", Long.toString(decision.revision().value()));
-        fields.put("replayed", Boolean.toString(decision.replayed()));
-        encodeTrace(fields, decision.traceEnvelope());
-        prefixed(fields, "state.", encodeState(decision.state()));
-        prefixed(fields, "response.", encodeReceipt(decision.response()));
-        return lines(fields);
-    }
-
-    static StoredAuthorityDecision<RouteState, RouteReceipt> decodeStoredDecision(String payload) {
-        Map<String, String> fields = fields(payload);
-        AuthorityDecisionStatus status = AuthorityDecisionStatus.valueOf(required(fields, "decisionStatus"));
-        Optional<AuthorityRejectionReason> rejectionReason =
-                optional(fields, "rejectionReason").map(AuthorityRejectionReason::valueOf);
-        AuthorityDecision<RouteState, RouteReceipt> decision = new AuthorityDecision<>(
-                status,
-                rejectionReason,
-                new Revision(longValue(fields, "revision")),
-                decodeState(unprefixed(fields, "state.")),
-                decodeReceipt(unprefixed(fields, "response.")),
-                List.of(),
-                decodeTrace(fields),
-                Boolean.parseBoolean(required(fields, "replayed")));
-        return new StoredAuthorityDecision<>(required(fields, "payloadFingerprint"), decision);
-    }
-
-    static String encodeDecisionPayload(AuthorityDecision<RouteState, RouteReceipt> decision) {
-        return encodeStoredDecision(new StoredAuthorityDecision<>("recorded-decision", decision));
-    }
-
-    private static RouteCommand decodePayload(Map<String, String> fields) {
+    private static RouteCommand decodePayload(WireFields fields) {
         String commandName = required(fields, "commandName");
         RouteId routeId = new RouteId(required(fields, "routeId"));
         return switch (commandName) {
@@ -191,42 +282,42 @@ final class RouteAuthorityWireCodec {
         };
     }
 
-    private static void encodePayload(Map<String, String> fields, RouteCommand payload) {
-        fields.put("routeId", payload.routeId().value());
+    private static void encodePayload(WireFieldWriter out, RouteCommand payload) {
+        out.string("routeId", payload.routeId().value());
         if (payload instanceof OpenRoute open) {
-            fields.put("subjectId", open.subjectId().value().toString());
-            fields.put("targetSessionId", open.targetSessionId().value());
-            fields.put("targetInstanceId", open.targetInstanceId().value());
-            fields.put("requestedAt", open.requestedAt().toString());
-            fields.put("expiresAt", open.expiresAt().toString());
+            out.string("subjectId", open.subjectId().value().toString());
+            out.string("targetSessionId", open.targetSessionId().value());
+            out.string("targetInstanceId", open.targetInstanceId().value());
+            out.instant("requestedAt", open.requestedAt());
+            out.instant("expiresAt", open.expiresAt());
             return;
         }
         if (payload instanceof AcknowledgeRoute acknowledge) {
-            fields.put("subjectId", acknowledge.subjectId().value().toString());
-            fields.put("targetSessionId", acknowledge.targetSessionId().value());
-            fields.put("targetInstanceId", acknowledge.targetInstanceId().value());
-            fields.put("acknowledgedAt", acknowledge.acknowledgedAt().toString());
+            out.string("subjectId", acknowledge.subjectId().value().toString());
+            out.string("targetSessionId", acknowledge.targetSessionId().value());
+            out.string("targetInstanceId", acknowledge.targetInstanceId().value());
+            out.instant("acknowledgedAt", acknowledge.acknowledgedAt());
             return;
         }
         if (payload instanceof TimeoutRoute timeout) {
-            fields.put("timedOutAt", timeout.timedOutAt().toString());
+            out.instant("timedOutAt", timeout.timedOutAt());
             return;
         }
         throw new IllegalArgumentException("Unsupported Route payload " + payload.getClass().getName());
     }
 
-    private static void encodeSnapshot(Map<String, String> fields, String prefix, RouteSnapshot snapshot) {
-        fields.put(prefix + "routeId", snapshot.routeId().value());
-        fields.put(prefix + "subjectId", snapshot.subjectId().value().toString());
-        fields.put(prefix + "targetSessionId", snapshot.targetSessionId().value());
-        fields.put(prefix + "targetInstanceId", snapshot.targetInstanceId().value());
-        fields.put(prefix + "status", snapshot.status().name());
-        fields.put(prefix + "requestedAt", snapshot.requestedAt().toString());
-        fields.put(prefix + "expiresAt", snapshot.expiresAt().toString());
-        fields.put(prefix + "completedAt", snapshot.completedAt().map(Instant::toString).orElse(""));
+    private static void encodeSnapshot(WireFieldWriter out, String prefix, RouteSnapshot snapshot) {
+        out.string(prefix + "routeId", snapshot.routeId().value());
+        out.string(prefix + "subjectId", snapshot.subjectId().value().toString());
+        out.string(prefix + "targetSessionId", snapshot.targetSessionId().value());
+        out.string(prefix + "targetInstanceId", snapshot.targetInstanceId().value());
+        out.string(prefix + "status", snapshot.status().name());
+        out.instant(prefix + "requestedAt", snapshot.requestedAt());
+        out.instant(prefix + "expiresAt", snapshot.expiresAt());
+        out.instant(prefix + "completedAt", snapshot.completedAt());
     }
 
-    private static RouteSnapshot decodeSnapshot(Map<String, String> fields, String prefix) {
+    private static RouteSnapshot decodeSnapshot(WireFields fields, String prefix) {
         return new RouteSnapshot(
                 new RouteId(required(fields, prefix + "routeId")),
                 subjectId(required(fields, prefix + "subjectId")),
@@ -238,16 +329,16 @@ final class RouteAuthorityWireCodec {
                 optionalInstant(fields, prefix + "completedAt"));
     }
 
-    private static void encodeTrace(Map<String, String> fields, TraceEnvelope trace) {
-        fields.put("traceId", trace.traceId());
-        fields.put("spanId", trace.spanId());
-        fields.put("parentSpanId", trace.parentSpanId().orElse(""));
-        fields.put("traceCreatedAt", trace.createdAt().toString());
-        fields.put("originService", trace.originService());
-        fields.put("originInstanceId", trace.originInstanceId().value());
+    private static void encodeTrace(WireFieldWriter out, TraceEnvelope trace) {
+        out.string("traceId", trace.traceId());
+        out.string("spanId", trace.spanId());
+        out.string("parentSpanId", trace.parentSpanId().orElse(""));
+        out.instant("traceCreatedAt", trace.createdAt());
+        out.string("originService", trace.originService());
+        out.string("originInstanceId", trace.originInstanceId().value());
     }
 
-    private static TraceEnvelope decodeTrace(Map<String, String> fields) {
+    private static TraceEnvelope decodeTrace(WireFields fields) {
         return new TraceEnvelope(
                 required(fields, "traceId"),
                 required(fields, "spanId"),
@@ -257,7 +348,7 @@ final class RouteAuthorityWireCodec {
                 new InstanceId(required(fields, "originInstanceId")));
     }
 
-    private static Instant traceCreatedAt(Map<String, String> fields) {
+    private static Instant traceCreatedAt(WireFields fields) {
         return optionalInstant(fields, "traceCreatedAt")
                 .or(() -> optionalInstant(fields, "requestedAt"))
                 .or(() -> optionalInstant(fields, "acknowledgedAt"))
@@ -265,42 +356,11 @@ final class RouteAuthorityWireCodec {
                 .orElseGet(() -> instant(fields, "receivedAt"));
     }
 
-    private static void prefixed(Map<String, String> target, String prefix, String payload) {
-        fields(payload).forEach((key, value) -> target.put(prefix + key, value));
-    }
-
-    private static String unprefixed(Map<String, String> source, String prefix) {
-        Map<String, String> values = new LinkedHashMap<>();
-        source.forEach((key, value) -> {
-            if (key.startsWith(prefix)) {
-                values.put(key.substring(prefix.length()), value);
-            }
-        });
-        return lines(values);
-    }
-
-    private static Map<String, String> fields(String payload) {
-        Map<String, String> fields = new LinkedHashMap<>();
-        if (payload == null || payload.isBlank()) {
-            return fields;
-        }
-        for (String line : payload.split("\\R")) {
-            int separator = line.indexOf('=');
-            if (separator < 1) {
-                throw new IllegalArgumentException("Malformed Route authority wire line: " + line);
-            }
-            fields.put(line.substring(0, separator), line.substring(separator + 1));
-        }
-        return fields;
-    }
-
-    private static String lines(Map<String, String> fields) {
-        StringBuilder builder = new StringBuilder();
-        fields.forEach((key, value) -> builder.append(key).append('=').append(value == null ? "" : value).append('\n'));
-        return builder.toString();
+    private static LineFields fields(String payload) {
+        return LineFields.of(payload, "Route authority");
     }
 
-    private static String required(Map<String, String> fields, String key) {
+    private static String required(WireFields fields, String key) {
         String value = fields.get(key);
         if (value == null || value.isBlank()) {
             throw new IllegalArgumentException("Missing Route authority wire field " + key);
@@ -308,37 +368,41 @@ final class RouteAuthorityWireCodec {
         return value;
     }
 
-    private static String firstRequired(Map<String, String> fields, String first, String second) {
+    private static String firstRequired(WireFields fields, String first, String second) {
         return optional(fields, first).or(() -> optional(fields, second))
                 .orElseThrow(() -> new IllegalArgumentException("Missing Route authority wire field " + first));
     }
 
-    private static Optional<String> optional(Map<String, String> fields, String key) {
+    private static Optional<String> optional(WireFields fields, String key) {
         String value = fields.get(key);
         return value == null || value.isBlank() ? Optional.empty() : Optional.of(value);
     }
 
-    private static long longValue(Map<String, String> fields, String key) {
+    private static long longValue(WireFields fields, String key) {
         return Long.parseLong(required(fields, key));
     }
 
-    private static Optional<Long> optionalLong(Map<String, String> fields, String key) {
+    private static Optional<Long> optionalLong(WireFields fields, String key) {
         return optional(fields, key).map(Long::parseLong);
     }
 
-    private static Optional<Revision> optionalRevision(Map<String, String> fields, String key) {
+    private static Optional<Revision> optionalRevision(WireFields fields, String key) {
         return optionalLong(fields, key).map(Revision::new);
     }
 
-    private static Instant instant(Map<String, String> fields, String key) {
-        return Instant.parse(required(fields, key));
+    private static Instant instant(WireFields fields, String key) {
+        Instant value = fields.getInstant(key);
+        if (value == null) {
+            throw new IllegalArgumentException("Missing Route authority wire field " + key);
+        }
+        return value;
     }
 
-    private static Optional<Instant> optionalInstant(Map<String, String> fields, String key) {
-        return optional(fields, key).map(Instant::parse);
+    private static Optional<Instant> optionalInstant(WireFields fields, String key) {
+        return Optional.ofNullable(fields.getInstant(key));
     }
 
-    private static Optional<SubjectId> optionalSubjectId(Map<String, String> fields, String key) {
+    private static Optional<SubjectId> optionalSubjectId(WireFields fields, String key) {
         return optional(fields, key).map(RouteAuthorityWireCodec::subjectId);
     }
 
@@ -6,8 +6,13 @@ import sh.harold.fulcrum.api.kernel.PoolId;
 import sh.harold.fulcrum.api.kernel.ResolvedManifestId;
 import sh.harold.fulcrum.api.kernel.SessionId;
 import sh.harold.fulcrum.api.kernel.SlotId;
+import sh.harold.fulcrum.control.queue.QueueMatchmakingPolicy;
+import sh.harold.fulcrum.control.queue.QueueRosterRetention;
 import sh.harold.fulcrum.core.manifest.ArtifactPin;
 import sh.harold.fulcrum.core.manifest.ResolvedManifest;
+import sh.harold.fulcrum.data.authority.runtime.AuthorityShardKey;
+import sh.harold.fulcrum.data.store.postgresql.PostgresPoolSettings;
+import sh.harold.fulcrum.host.api.HostWarmAllocationSettings;
 import sh.harold.fulcrum.host.paper.PaperAllocatedAssignmentFile;
 
 import java.net.URI;
@@ -15,7 +20,9 @@ import java.net.URISyntaxException;
 import java.nio.file.Path;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.EnumMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -79,15 +86,29 @@ final class RuntimeConnectionSettings {
 
     private static ServiceConnections resolve(LaunchRole role, RuntimeEnvironment environment) {
         return switch (role) {
-            case AUTHORITY_SERVICE -> new AuthorityConnections(
-                    parseHostPorts("FULCRUM_KAFKA_BOOTSTRAP_SERVERS", required(environment, "FULCRUM_KAFKA_BOOTSTRAP_SERVERS")),
-                    new PostgresJdbcSettings(
-                            requirePostgresJdbcUrl(required(environment, "FULCRUM_POSTGRES_JDBC_URL")),
-                            required(environment, "FULCRUM_POSTGRES_USERNAME"),
-                            required(environment, "FULCRUM_POSTGRES_PASSWORD")),
-                    parseHostPorts("FULCRUM_CASSANDRA_CONTACT_POINTS", required(environment, "FULCRUM_CASSANDRA_CONTACT_POINTS")),
-                    optional(environment, "FULCRUM_CASSANDRA_LOCAL_DATACENTER", "datacenter1"),
-                    parseHostPort("FULCRUM_VALKEY_ENDPOINT", required(environment, "FULCRUM_VALKEY_ENDPOINT")));
+            case AUTHORITY_SERVICE -> {
+                int shardCount = optionalPositiveInt(environment, "FULCRUM_AUTHORITY_SHARD_COUNT", 1);
+                yield new AuthorityConnections(
+                        parseHostPorts("FULCRUM_KAFKA_BOOTSTRAP_SERVERS", required(environment, "FULCRUM_KAFKA_BOOTSTRAP_SERVERS")),
+                        new PostgresJdbcSettings(
+                                requirePostgresJdbcUrl(required(environment, "FULCRUM_POSTGRES_JDBC_URL")),
+                                required(environment, "FULCRUM_POSTGRES_USERNAME"),
+                                required(environment, "FULCRUM_POSTGRES_PASSWORD"),
+                                optionalPositiveInt(
+                                        environment,
+                                        "FULCRUM_POSTGRES_POOL_SIZE",
+                                        PostgresJdbcSettings.defaultPoolSize(shardCount)),
+                                environment.value("FULCRUM_POSTGRES_POOL_ACQUIRE_TIMEOUT")
+                                        .map(value -> requireDuration("FULCRUM_POSTGRES_POOL_ACQUIRE_TIMEOUT", value))
+                                        .orElse(PostgresPoolSettings.DEFAULT_ACQUIRE_TIMEOUT)),
+                        parseHostPorts("FULCRUM_CASSANDRA_CONTACT_POINTS", required(environment, "FULCRUM_CASSANDRA_CONTACT_POINTS")),
+                        optional(environment, "FULCRUM_CASSANDRA_LOCAL_DATACENTER", "datacenter1"),
+                        parseHostPort("FULCRUM_VALKEY_ENDPOINT", required(environment, "FULCRUM_VALKEY_ENDPOINT")),
+                        shardCount,
+                        requireShardKey(optional(environment, "FULCRUM_AUTHORITY_SHARD_KEY", "aggregate-hash")),
+                        requireShardThreads(optional(environment, "FULCRUM_AUTHORITY_SHARD_THREADS", "virtual")),
+                        commandWireFormat(environment));
+            }
             case CONTROLLER_SERVICE -> new ControllerConnections(
                     parseHostPorts("FULCRUM_CONTROL_KAFKA_BOOTSTRAP_SERVERS", required(environment, "FULCRUM_CONTROL_KAFKA_BOOTSTRAP_SERVERS")),
                     requireHttpUri("FULCRUM_AGONES_ALLOCATOR_URL", required(environment, "FULCRUM_AGONES_ALLOCATOR_URL")),
@@ -104,7 +125,14 @@ final class RuntimeConnectionSettings {
                     required(environment, "FULCRUM_CONTROL_STATE_TOPIC"),
                     required(environment, "FULCRUM_HOST_COMMAND_TOPIC"),
                     required(environment, "FULCRUM_HOST_OBSERVATION_TOPIC"),
-                    required(environment, "FULCRUM_VELOCITY_ROUTE_COMMAND_TOPIC"));
+                    required(environment, "FULCRUM_VELOCITY_ROUTE_COMMAND_TOPIC"),
+                    optionalPath(environment, "FULCRUM_CONTROL_STATE_SNAPSHOT_DIR"),
+                    environment.value("FULCRUM_CONTROL_QUEUE_ROSTER_RETENTION")
+                            .map(value -> requireDuration("FULCRUM_CONTROL_QUEUE_ROSTER_RETENTION", value))
+                            .orElse(QueueRosterRetention.DEFAULT_HORIZON),
+                    queueMatchmaking(environment),
+                    warmAllocation(environment),
+                    commandWireFormat(environment));
             case WORKER_AGENT -> new WorkerConnections(
                     parseHostPorts(
                             "FULCRUM_WORKER_KAFKA_BOOTSTRAP_SERVERS",
@@ -156,7 +184,8 @@ final class RuntimeConnectionSettings {
                         resolvedManifest,
                         worldArtifact,
                         required(environment, "FULCRUM_PAPER_SESSION_OWNER_TOKEN"),
-                        requireDuration("FULCRUM_PAPER_SESSION_LEASE", required(environment, "FULCRUM_PAPER_SESSION_LEASE")));
+                        requireDuration("FULCRUM_PAPER_SESSION_LEASE", required(environment, "FULCRUM_PAPER_SESSION_LEASE")),
+                        commandWireFormat(environment));
             }
             case VELOCITY_AGENT -> new VelocityConnections(
                     Path.of(required(environment, "FULCRUM_VELOCITY_SERVER_ROOT")),
@@ -188,7 +217,8 @@ final class RuntimeConnectionSettings {
                     requireDuration(
                             "FULCRUM_VELOCITY_PRESENCE_LEASE",
                             required(environment, "FULCRUM_VELOCITY_PRESENCE_LEASE")),
-                    parseHostPort("FULCRUM_VALKEY_ENDPOINT", required(environment, "FULCRUM_VALKEY_ENDPOINT")));
+                    parseHostPort("FULCRUM_VALKEY_ENDPOINT", required(environment, "FULCRUM_VALKEY_ENDPOINT")),
+                    commandWireFormat(environment));
             case ALL -> throw new RuntimeConfigurationException("Cannot resolve connections for aggregate role " + role.id());
         };
     }
@@ -211,6 +241,97 @@ final class RuntimeConnectionSettings {
                 .orElse(defaultValue);
     }
 
+    private static int optionalPositiveInt(RuntimeEnvironment environment, String name, int defaultValue) {
+        return environment.value(name)
+                .map(value -> requirePositiveInt(name, value))
+                .orElse(defaultValue);
+    }
+
+    // Rosters are formed by the controller only when a roster size is configured; otherwise the producers that submit
+    // queue intents also form their rosters.
+    private static Optional<QueueMatchmakingPolicy> queueMatchmaking(RuntimeEnvironment environment) {
+        Optional<Integer> maxSubjects = environment.value("FULCRUM_CONTROL_QUEUE_ROSTER_SUBJECTS")
+                .map(value -> requirePositiveInt("FULCRUM_CONTROL_QUEUE_ROSTER_SUBJECTS", value));
+        if (maxSubjects.isEmpty()) {
+            return Optional.empty();
+        }
+        int minSubjects = optionalPositiveInt(environment, "FULCRUM_CONTROL_QUEUE_ROSTER_MIN_SUBJECTS", maxSubjects.orElseThrow());
+        if (minSubjects > maxSubjects.orElseThrow()) {
+            throw new RuntimeConfigurationException(
+                    "FULCRUM_CONTROL_QUEUE_ROSTER_MIN_SUBJECTS must not exceed FULCRUM_CONTROL_QUEUE_ROSTER_SUBJECTS");
+        }
+        Duration fillWindow = environment.value("FULCRUM_CONTROL_QUEUE_ROSTER_FILL_WINDOW")
+                .map(value -> requireDuration("FULCRUM_CONTROL_QUEUE_ROSTER_FILL_WINDOW", value))
+                .orElse(Duration.ZERO);
+        return Optional.of(new QueueMatchmakingPolicy(maxSubjects.orElseThrow(), minSubjects, fillWindow));
+    }
+
+    // Warm allocation wraps the allocator in a HostWarmAllocationPool primed with one resolved manifest per listed
+    // pool, given as "pool=manifest" pairs.
+    private static Optional<WarmAllocation> warmAllocation(RuntimeEnvironment environment) {
+        Optional<String> pools = environment.value("FULCRUM_AGONES_WARM_POOLS");
+        if (pools.isEmpty()) {
+            return Optional.empty();
+        }
+        Map<PoolId, ResolvedManifestId> primed = new LinkedHashMap<>();
+        for (String pair : requireNonBlank(pools.orElseThrow(), "FULCRUM_AGONES_WARM_POOLS").split(",")) {
+            int separator = pair.indexOf('=');
+            if (separator <= 0 || separator == pair.length() - 1) {
+                throw new RuntimeConfigurationException("FULCRUM_AGONES_WARM_POOLS entries must be pool=manifest");
+            }
+            PoolId poolId = new PoolId(requireNonBlank(pair.substring(0, separator), "FULCRUM_AGONES_WARM_POOLS pool"));
+            ResolvedManifestId manifest = new ResolvedManifestId(
+                    requireNonBlank(pair.substring(separator + 1), "FULCRUM_AGONES_WARM_POOLS manifest"));
+            if (primed.put(poolId, manifest) != null) {
+                throw new RuntimeConfigurationException("FULCRUM_AGONES_WARM_POOLS lists pool " + poolId.value() + " twice");
+            }
+        }
+        int minimumWarm = optionalPositiveInt(environment, "FULCRUM_AGONES_WARM_MINIMUM", 1);
+        int maximumWarm = optionalPositiveInt(environment, "FULCRUM_AGONES_WARM_MAXIMUM", Math.max(minimumWarm, 4));
+        if (maximumWarm < minimumWarm) {
+            throw new RuntimeConfigurationException("FULCRUM_AGONES_WARM_MAXIMUM must not be below FULCRUM_AGONES_WARM_MINIMUM");
+        }
+        Duration demandWindow = environment.value("FULCRUM_AGONES_WARM_DEMAND_WINDOW")
+                .map(value -> requireDuration("FULCRUM_AGONES_WARM_DEMAND_WINDOW", value))
+                .orElse(Duration.ofMinutes(1));
+        Duration reservationTtl = environment.value("FULCRUM_AGONES_WARM_RESERVATION_TTL")
+                .map(value -> requireDuration("FULCRUM_AGONES_WARM_RESERVATION_TTL", value))
+                .orElse(Duration.ofMinutes(10));
+        return Optional.of(new WarmAllocation(
+                new HostWarmAllocationSettings(minimumWarm, maximumWarm, demandWindow, reservationTtl),
+                primed));
+    }
+
+    private static AuthorityShardKey requireShardKey(String value) {
+        return switch (value.toLowerCase(java.util.Locale.ROOT)) {
+            case "aggregate-hash" -> AuthorityShardKey.AGGREGATE_HASH;
+            case "partition" -> AuthorityShardKey.PARTITION;
+            default -> throw new RuntimeConfigurationException(
+                    "FULCRUM_AUTHORITY_SHARD_KEY must be aggregate-hash or partition, got " + value);
+        };
+    }
+
+    // Producers write text until told otherwise: a consumer from before the binary frame cannot read one, so binary is
+    // switched on only once every consumer of the command topics decodes by frame marker.
+    static AuthorityWireFormat commandWireFormat(RuntimeEnvironment environment) {
+        String value = optional(environment, "FULCRUM_AUTHORITY_COMMAND_WIRE_FORMAT", "text");
+        return switch (value.toLowerCase(java.util.Locale.ROOT)) {
+            case "binary" -> AuthorityWireFormat.BINARY;
+            case "text" -> AuthorityWireFormat.TEXT;
+            default -> throw new RuntimeConfigurationException(
+                    "FULCRUM_AUTHORITY_COMMAND_WIRE_FORMAT must be binary or text, got " + value);
+        };
+    }
+
+    private static boolean requireShardThreads(String value) {
+        return switch (value.toLowerCase(java.util.Locale.ROOT)) {
+            case "virtual" -> true;
+            case "platform" -> false;
+            default -> throw new RuntimeConfigurationException(
+                    "FULCRUM_AUTHORITY_SHARD_THREADS must be virtual or platform, got " + value);
+        };
+    }
+
     private static Optional<HostPort> optionalBind(
             RuntimeEnvironment environment,
             String hostName,
@@ -393,13 +514,22 @@ final class RuntimeConnectionSettings {
             PostgresJdbcSettings postgres,
             List<HostPort> cassandraContactPoints,
             String cassandraLocalDatacenter,
-            HostPort valkeyEndpoint) implements ServiceConnections {
+            HostPort valkeyEndpoint,
+            int shardCount,
+            AuthorityShardKey shardKey,
+            boolean virtualShardThreads,
+            AuthorityWireFormat commandWireFormat) implements ServiceConnections {
         AuthorityConnections {
             kafkaBootstrapServers = List.copyOf(kafkaBootstrapServers);
             postgres = Objects.requireNonNull(postgres, "postgres");
             cassandraContactPoints = List.copyOf(cassandraContactPoints);
             cassandraLocalDatacenter = requireNonBlank(cassandraLocalDatacenter, "cassandraLocalDatacenter");
             valkeyEndpoint = Objects.requireNonNull(valkeyEndpoint, "valkeyEndpoint");
+            if (shardCount <= 0) {
+                throw new RuntimeConfigurationException("shardCount must be positive");
+            }
+            shardKey = Objects.requireNonNull(shardKey, "shardKey");
+            commandWireFormat = Objects.requireNonNull(commandWireFormat, "commandWireFormat");
         }
 
         @Override
@@ -413,7 +543,11 @@ final class RuntimeConnectionSettings {
                     role().id() + ": kafka=" + kafkaBootstrapServers,
                     role().id() + ": postgres=" + postgres.redactedValue(),
                     role().id() + ": cassandra=" + cassandraContactPoints + "|localDatacenter=" + cassandraLocalDatacenter,
-                    role().id() + ": valkey=" + valkeyEndpoint);
+                    role().id() + ": valkey=" + valkeyEndpoint,
+                    role().id() + ": shards=" + shardCount
+                            + "|shardKey=" + shardKey.name().toLowerCase(java.util.Locale.ROOT).replace('_', '-')
+                            + "|shardThreads=" + (virtualShardThreads ? "virtual" : "platform"),
+                    role().id() + ": commandWireFormat=" + commandWireFormat.name().toLowerCase(java.util.Locale.ROOT));
         }
     }
 
@@ -429,7 +563,12 @@ final class RuntimeConnectionSettings {
             String controlStateTopic,
             String hostCommandTopic,
             String hostObservationTopic,
-            String proxyRouteCommandTopic) implements ServiceConnections {
+            String proxyRouteCommandTopic,
+            Optional<Path> stateSnapshotDirectory,
+            Duration queueRosterRetention,
+            Optional<QueueMatchmakingPolicy> queueMatchmaking,
+            Optional<WarmAllocation> warmAllocation,
+            AuthorityWireFormat commandWireFormat) implements ServiceConnections {
         ControllerConnections {
             controlKafkaBootstrapServers = List.copyOf(controlKafkaBootstrapServers);
             agonesAllocatorUrl = Objects.requireNonNull(agonesAllocatorUrl, "agonesAllocatorUrl");
@@ -459,6 +598,11 @@ final class RuntimeConnectionSettings {
             hostCommandTopic = requireNonBlank(hostCommandTopic, "hostCommandTopic");
             hostObservationTopic = requireNonBlank(hostObservationTopic, "hostObservationTopic");
             proxyRouteCommandTopic = requireNonBlank(proxyRouteCommandTopic, "proxyRouteCommandTopic");
+            stateSnapshotDirectory = Objects.requireNonNull(stateSnapshotDirectory, "stateSnapshotDirectory");
+            queueRosterRetention = Objects.requireNonNull(queueRosterRetention, "queueRosterRetention");
+            queueMatchmaking = Objects.requireNonNull(queueMatchmaking, "queueMatchmaking");
+            warmAllocation = Objects.requireNonNull(warmAllocation, "warmAllocation");
+            commandWireFormat = Objects.requireNonNull(commandWireFormat, "commandWireFormat");
         }
 
         @Override
@@ -478,7 +622,22 @@ final class RuntimeConnectionSettings {
                     role().id() + ": controlStateTopic=" + controlStateTopic,
                     role().id() + ": hostCommandTopic=" + hostCommandTopic,
                     role().id() + ": hostObservationTopic=" + hostObservationTopic,
-                    role().id() + ": proxyRouteCommandTopic=" + proxyRouteCommandTopic);
+                    role().id() + ": proxyRouteCommandTopic=" + proxyRouteCommandTopic,
+                    role().id() + ": stateSnapshotDirectory=" + stateSnapshotDirectory.map(Path::toString).orElse("disabled"),
+                    role().id() + ": queueRosterRetention=" + queueRosterRetention,
+                    role().id() + ": queueMatchmaking=" + queueMatchmaking
+                            .map(policy -> "maxSubjects=" + policy.maxSubjects()
+                                    + "|minSubjects=" + policy.minSubjects()
+                                    + "|fillWindow=" + policy.fillWindow())
+                            .orElse("disabled"),
+                    role().id() + ": warmAllocation=" + warmAllocation.map(WarmAllocation::summary).orElse("disabled"),
+                    role().id() + ": commandWireFormat=" + commandWireFormat.name().toLowerCase(java.util.Locale.ROOT));
+        }
+
+        StateTopicSnapshotStore stateSnapshots() {
+            return stateSnapshotDirectory
+                    .<StateTopicSnapshotStore>map(FileStateTopicSnapshotStore::new)
+                    .orElseGet(StateTopicSnapshotStore::disabled);
         }
     }
 
@@ -536,7 +695,8 @@ final class RuntimeConnectionSettings {
             ResolvedManifest resolvedManifest,
             ArtifactPin worldArtifact,
             String sessionOwnerToken,
-            Duration sessionLease) implements ServiceConnections {
+            Duration sessionLease,
+            AuthorityWireFormat commandWireFormat) implements ServiceConnections {
         PaperConnections {
             paperServerRoot = Objects.requireNonNull(paperServerRoot, "paperServerRoot");
             allocatedAssignmentFile = Objects.requireNonNull(allocatedAssignmentFile, "allocatedAssignmentFile");
@@ -562,6 +722,7 @@ final class RuntimeConnectionSettings {
             if (sessionLease.isNegative() || sessionLease.isZero()) {
                 throw new IllegalArgumentException("sessionLease must be positive");
             }
+            commandWireFormat = Objects.requireNonNull(commandWireFormat, "commandWireFormat");
         }
 
         @Override
@@ -587,7 +748,8 @@ final class RuntimeConnectionSettings {
                             + "|slotId=" + slotId.value()
                             + "|resolvedManifestId=" + resolvedManifest.resolvedManifestId().value(),
                     role().id() + ": worldArtifactId=" + worldArtifact.artifactId().value(),
-                    role().id() + ": sessionOwnerToken=<redacted>"));
+                    role().id() + ": sessionOwnerToken=<redacted>",
+                    role().id() + ": commandWireFormat=" + commandWireFormat.name().toLowerCase(java.util.Locale.ROOT)));
             summary.addAll(objectStore.redactedSummary(role()));
             return List.copyOf(summary);
         }
@@ -686,7 +848,8 @@ final class RuntimeConnectionSettings {
             String lobbyCapabilityScopeFingerprint,
             String loginGateScope,
             Duration presenceLease,
-            HostPort valkeyEndpoint) implements ServiceConnections {
+            HostPort valkeyEndpoint,
+            AuthorityWireFormat commandWireFormat) implements ServiceConnections {
         VelocityConnections {
             velocityServerRoot = Objects.requireNonNull(velocityServerRoot, "velocityServerRoot");
             velocityKafkaBootstrapServers = List.copyOf(velocityKafkaBootstrapServers);
@@ -717,6 +880,7 @@ final class RuntimeConnectionSettings {
                 throw new RuntimeConfigurationException("presenceLease must be positive");
             }
             valkeyEndpoint = Objects.requireNonNull(valkeyEndpoint, "valkeyEndpoint");
+            commandWireFormat = Objects.requireNonNull(commandWireFormat, "commandWireFormat");
         }
 
         @Override
@@ -745,19 +909,70 @@ final class RuntimeConnectionSettings {
                             + "|resolvedManifestId=" + lobbyResolvedManifestId.value(),
                     role().id() + ": loginGateScope=" + loginGateScope,
                     role().id() + ": presenceLease=" + presenceLease,
-                    role().id() + ": valkey=" + valkeyEndpoint);
+                    role().id() + ": valkey=" + valkeyEndpoint,
+                    role().id() + ": commandWireFormat=" + commandWireFormat.name().toLowerCase(java.util.Locale.ROOT));
         }
     }
 
-    record PostgresJdbcSettings(String jdbcUrl, String username, String password) {
+    record PostgresJdbcSettings(
+            String jdbcUrl,
+            String username,
+            String password,
+            int poolSize,
+            Duration poolAcquireTimeout) {
         PostgresJdbcSettings {
             jdbcUrl = requirePostgresJdbcUrl(jdbcUrl);
             username = requireNonBlank(username, "postgres username");
             password = requireNonBlank(password, "postgres password");
+            if (poolSize <= 0) {
+                throw new RuntimeConfigurationException("postgres poolSize must be positive");
+            }
+            poolAcquireTimeout = Objects.requireNonNull(poolAcquireTimeout, "poolAcquireTimeout");
+        }
+
+        PostgresJdbcSettings(String jdbcUrl, String username, String password) {
+            this(jdbcUrl, username, password, defaultPoolSize(1), PostgresPoolSettings.DEFAULT_ACQUIRE_TIMEOUT);
+        }
+
+        static int defaultPoolSize(int shardCount) {
+            // Each shard holds at most one connection at a time; the engine thread may hold one more.
+            return Math.max(PostgresPoolSettings.DEFAULT_MAX_CONNECTIONS, shardCount + 1);
+        }
+
+        PostgresPoolSettings poolSettings() {
+            return new PostgresPoolSettings(
+                    poolSize,
+                    poolAcquireTimeout,
+                    PostgresPoolSettings.DEFAULT_PREPARED_STATEMENT_CACHE_QUERIES);
         }
 
         String redactedValue() {
-            return "jdbcUrl=" + jdbcUrl + "|username=" + username + "|password=<redacted>";
+            return "jdbcUrl=" + jdbcUrl + "|username=" + username + "|password=<redacted>"
+                    + "|poolSize=" + poolSize + "|poolAcquireTimeout=" + poolAcquireTimeout;
+        }
+    }
+
+    record WarmAllocation(HostWarmAllocationSettings pool, Map<PoolId, ResolvedManifestId> primed) {
+        WarmAllocation {
+            pool = Objects.requireNonNull(pool, "pool");
+            primed = Collections.unmodifiableMap(new LinkedHashMap<>(Objects.requireNonNull(primed, "primed")));
+            if (primed.isEmpty()) {
+                throw new IllegalArgumentException("primed must not be empty");
+            }
+        }
+
+        String summary() {
+            StringBuilder pools = new StringBuilder();
+            primed.forEach((poolId, manifest) -> pools
+                    .append(pools.isEmpty() ? "" : ",")
+                    .append(poolId.value())
+                    .append('=')
+                    .append(manifest.value()));
+            return "minimumWarm=" + pool.minimumWarm()
+                    + "|maximumWarm=" + pool.maximumWarm()
+                    + "|demandWindow=" + pool.demandWindow()
+                    + "|reservationTtl=" + pool.reservationTtl()
+                    + "|pools=" + pools;
         }
     }
 
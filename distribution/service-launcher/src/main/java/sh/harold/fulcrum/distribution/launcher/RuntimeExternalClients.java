@@ -6,12 +6,16 @@ import sh.harold.fulcrum.adapters.objectstorage.ObjectStorageAdapter;
 import sh.harold.fulcrum.adapters.objectstorage.S3ObjectStorageAdapter;
 import sh.harold.fulcrum.data.store.cassandra.CassandraClientHandle;
 import sh.harold.fulcrum.data.store.kafka.KafkaClientBundle;
+import sh.harold.fulcrum.data.store.kafka.KafkaProducerTuning;
 import sh.harold.fulcrum.data.store.postgresql.PostgresClientHandle;
 import sh.harold.fulcrum.data.store.valkey.ValkeyClientHandle;
 import sh.harold.fulcrum.host.api.HostAllocationPort;
+import sh.harold.fulcrum.host.api.HostWarmAllocationPool;
 import sh.harold.fulcrum.host.velocity.VelocityRouteBridgeClient;
 
 import java.net.InetSocketAddress;
+import java.time.Clock;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.LinkedHashMap;
@@ -19,9 +23,12 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.Executors;
 
 final class RuntimeExternalClients implements AutoCloseable {
     private static final String PAPER_ARTIFACT_BUCKET = "artifact-store";
+    private static final KafkaProducerTuning AUTHORITY_PRODUCER_TUNING =
+            new KafkaProducerTuning(Duration.ofMillis(5), 65_536);
 
     private final Optional<AuthorityClients> authority;
     private final Optional<ControllerClients> controller;
@@ -109,20 +116,31 @@ final class RuntimeExternalClients implements AutoCloseable {
 
     private static AuthorityClients authorityClients(RuntimeConnectionSettings.AuthorityConnections settings) {
         Map<String, KafkaClientBundle> kafkaByAuthorityDomain = new LinkedHashMap<>();
+        // Command consumers read raw bytes so a command may arrive as a text or a binary frame.
         for (String authorityDomain : AuthorityWorkerCatalog.authorityDomains()) {
             kafkaByAuthorityDomain.put(
                     authorityDomain,
-                    KafkaClientBundle.create(
+                    KafkaClientBundle.createWithByteValueConsumer(
                             bootstrapServers(settings.kafkaBootstrapServers()),
                             "fulcrum-authority-service-" + authorityDomain,
-                            "fulcrum-authority-service-" + authorityDomain));
+                            "fulcrum-authority-service-" + authorityDomain,
+                            AUTHORITY_PRODUCER_TUNING));
         }
+        // The Session lease tail reads state.session on its own consumer so it never disturbs the command worker's.
+        kafkaByAuthorityDomain.put(
+                SessionLeaseDeadlineWorker.DOMAIN,
+                KafkaClientBundle.create(
+                        bootstrapServers(settings.kafkaBootstrapServers()),
+                        "fulcrum-authority-service-" + SessionLeaseDeadlineWorker.DOMAIN,
+                        "fulcrum-authority-service-" + SessionLeaseDeadlineWorker.DOMAIN,
+                        AUTHORITY_PRODUCER_TUNING));
         return new AuthorityClients(
                 kafkaByAuthorityDomain,
                 PostgresClientHandle.create(
                         settings.postgres().jdbcUrl(),
                         settings.postgres().username(),
-                        settings.postgres().password()),
+                        settings.postgres().password(),
+                        settings.postgres().poolSettings()),
                 CassandraClientHandle.createLazy(
                         settings.cassandraContactPoints().stream()
                                 .map(RuntimeExternalClients::socketAddress)
@@ -149,10 +167,27 @@ final class RuntimeExternalClients implements AutoCloseable {
                         bootstrapServers(settings.controlKafkaBootstrapServers()),
                         "fulcrum-controller-service-host-observation-route",
                         "fulcrum-controller-service-host-observation-route"),
-                agonesAllocator(settings),
+                allocationPort(agonesAllocator(settings), settings.warmAllocation()),
                 settings);
     }
 
+    // Refills and releases run on virtual threads so a slow allocator never holds up the allocating caller.
+    private static HostAllocationPort allocationPort(
+            AgonesAllocatorRestClient allocator,
+            Optional<RuntimeConnectionSettings.WarmAllocation> warmAllocation) {
+        if (warmAllocation.isEmpty()) {
+            return allocator;
+        }
+        RuntimeConnectionSettings.WarmAllocation warm = warmAllocation.orElseThrow();
+        HostWarmAllocationPool pool = new HostWarmAllocationPool(
+                allocator,
+                warm.pool(),
+                Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("fulcrum-warm-allocation-", 0).factory()),
+                Clock.systemUTC());
+        warm.primed().forEach(pool::prime);
+        return pool;
+    }
+
     private static AgonesAllocatorRestClient agonesAllocator(RuntimeConnectionSettings.ControllerConnections settings) {
         if (settings.agonesAllocatorClientCertificatePath().isPresent()) {
             return AgonesAllocatorRestClient.mtls(
@@ -335,6 +370,9 @@ final class RuntimeExternalClients implements AutoCloseable {
 
         @Override
         public void close() {
+            if (allocationPort instanceof HostWarmAllocationPool warmPool) {
+                warmPool.releaseAll();
+            }
             closeAll(kafkaByControllerDomain.values());
             closeAll(hostObservationKafka);
         }
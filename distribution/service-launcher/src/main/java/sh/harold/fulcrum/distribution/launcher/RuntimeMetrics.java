@@ -0,0 +1,168 @@
+package sh.harold.fulcrum.distribution.launcher;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.DoubleSupplier;
+import java.util.function.LongSupplier;
+import java.util.regex.Pattern;
+
+// Process-wide registry behind the probe server's /metrics. Instruments are created once, when a worker or bridge is
+// built, and held directly from then on, so recording is a LongAdder or LatencyHistogram update with no lookup and
+// no allocation. Sampled counters and gauges read an existing metrics view only when the endpoint is scraped.
+final class RuntimeMetrics {
+    private static final RuntimeMetrics PROCESS = new RuntimeMetrics();
+    private static final Pattern NAME = Pattern.compile("[a-zA-Z_:][a-zA-Z0-9_:]*");
+    private static final Pattern LABEL = Pattern.compile("[a-zA-Z_][a-zA-Z0-9_]*");
+    // Fixed bucket bounds, so the server can aggregate across instances and compute quantiles over whatever window a
+    // query asks for from rate() of the buckets, instead of reading lifetime quantiles from each process.
+    private static final long[] BUCKET_MICROS = {
+            100, 250, 500, 1_000, 2_500, 5_000, 10_000, 25_000, 50_000, 100_000, 250_000, 500_000,
+            1_000_000, 2_500_000, 5_000_000, 10_000_000};
+    private static final String[] BUCKET_LABELS = bucketLabels();
+
+    private final Map<String, Family> families = new ConcurrentSkipListMap<>();
+
+    static RuntimeMetrics process() {
+        return PROCESS;
+    }
+
+    LongAdder counter(String name, String help, String... labels) {
+        return (LongAdder) family(name, help, Type.COUNTER).instruments
+                .computeIfAbsent(labels(labels), ignored -> new LongAdder());
+    }
+
+    void counter(String name, String help, LongSupplier value, String... labels) {
+        Objects.requireNonNull(value, "value");
+        family(name, help, Type.COUNTER).instruments.put(labels(labels), value);
+    }
+
+    void gauge(String name, String help, DoubleSupplier value, String... labels) {
+        Objects.requireNonNull(value, "value");
+        family(name, help, Type.GAUGE).instruments.put(labels(labels), value);
+    }
+
+    LatencyHistogram histogram(String name, String help, String... labels) {
+        return (LatencyHistogram) family(name, help, Type.HISTOGRAM).instruments
+                .computeIfAbsent(labels(labels), ignored -> new LatencyHistogram());
+    }
+
+    // Exposes a histogram some component already records into, such as the login evaluator's decision latency.
+    void histogram(String name, String help, LatencyHistogram histogram, String... labels) {
+        Objects.requireNonNull(histogram, "histogram");
+        family(name, help, Type.HISTOGRAM).instruments.put(labels(labels), histogram);
+    }
+
+    String prometheusText() {
+        StringBuilder builder = new StringBuilder(4_096);
+        families.forEach((name, family) -> {
+            builder.append("# HELP ").append(name).append(' ').append(family.help).append('\n');
+            builder.append("# TYPE ").append(name).append(' ').append(family.type.exposition).append('\n');
+            family.instruments.forEach((labels, instrument) -> sample(builder, name, labels, instrument));
+        });
+        return builder.toString();
+    }
+
+    private Family family(String name, String help, Type type) {
+        if (!NAME.matcher(Objects.requireNonNull(name, "name")).matches()) {
+            throw new IllegalArgumentException("metric name is not valid: " + name);
+        }
+        String checkedHelp = Objects.requireNonNull(help, "help").replace("\\", "\\\\").replace("\n", "\\n");
+        Family family = families.computeIfAbsent(name, ignored -> new Family(type, checkedHelp));
+        if (family.type != type) {
+            throw new IllegalArgumentException("metric " + name + " is already registered as a " + family.type.exposition);
+        }
+        return family;
+    }
+
+    private static void sample(StringBuilder builder, String name, String labels, Object instrument) {
+        switch (instrument) {
+            case LongAdder adder -> line(builder, name, labels, "", Long.toString(adder.sum()));
+            case LongSupplier supplier -> line(builder, name, labels, "", Long.toString(supplier.getAsLong()));
+            case DoubleSupplier supplier -> line(builder, name, labels, "", Double.toString(supplier.getAsDouble()));
+            case LatencyHistogram histogram -> {
+                long[] cumulative = histogram.cumulativeCounts(BUCKET_MICROS);
+                for (int bound = 0; bound < cumulative.length; bound++) {
+                    line(builder, name + "_bucket", labels, BUCKET_LABELS[bound], Long.toString(cumulative[bound]));
+                }
+                line(builder, name + "_sum", labels, "", seconds(histogram.sumMicros()));
+                line(builder, name + "_count", labels, "", Long.toString(cumulative[cumulative.length - 1]));
+            }
+            default -> throw new IllegalStateException("Unexpected metric instrument " + instrument.getClass().getName());
+        }
+    }
+
+    private static void line(StringBuilder builder, String name, String labels, String extraLabel, String value) {
+        builder.append(name);
+        if (!labels.isEmpty() || !extraLabel.isEmpty()) {
+            builder.append('{').append(labels);
+            if (!labels.isEmpty() && !extraLabel.isEmpty()) {
+                builder.append(',');
+            }
+            builder.append(extraLabel).append('}');
+        }
+        builder.append(' ').append(value).append('\n');
+    }
+
+    private static String seconds(long micros) {
+        return Double.toString(micros / 1_000_000.0d);
+    }
+
+    // Labels are rendered once at registration; the rendered text doubles as the series key.
+    private static String labels(String... pairs) {
+        Objects.requireNonNull(pairs, "labels");
+        if (pairs.length % 2 != 0) {
+            throw new IllegalArgumentException("labels must be name and value pairs");
+        }
+        StringBuilder rendered = new StringBuilder();
+        for (int index = 0; index < pairs.length; index += 2) {
+            String label = Objects.requireNonNull(pairs[index], "label");
+            if (!LABEL.matcher(label).matches() || label.equals("le") || label.equals("quantile")) {
+                throw new IllegalArgumentException("label name is not valid: " + label);
+            }
+            if (index > 0) {
+                rendered.append(',');
+            }
+            rendered.append(label).append("=\"").append(escape(Objects.requireNonNull(pairs[index + 1], label))).append('"');
+        }
+        return rendered.toString();
+    }
+
+    private static String[] bucketLabels() {
+        String[] rendered = new String[BUCKET_MICROS.length + 1];
+        for (int bound = 0; bound < BUCKET_MICROS.length; bound++) {
+            rendered[bound] = "le=\"" + BigDecimal.valueOf(BUCKET_MICROS[bound], 6).stripTrailingZeros().toPlainString() + '"';
+        }
+        rendered[BUCKET_MICROS.length] = "le=\"+Inf\"";
+        return rendered;
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    private enum Type {
+        COUNTER("counter"),
+        GAUGE("gauge"),
+        HISTOGRAM("histogram");
+
+        private final String exposition;
+
+        Type(String exposition) {
+            this.exposition = exposition;
+        }
+    }
+
+    private static final class Family {
+        private final Type type;
+        private final String help;
+        private final Map<String, Object> instruments = new ConcurrentSkipListMap<>();
+
+        private Family(Type type, String help) {
+            this.type = type;
+            this.help = help;
+        }
+    }
+}
@@ -11,15 +11,29 @@ import java.util.Objects;
 import java.util.function.Supplier;
 
 final class RuntimeProbeServer implements AutoCloseable {
+    private static final String JSON = "application/json; charset=utf-8";
+    private static final String PROMETHEUS_TEXT = "text/plain; version=0.0.4; charset=utf-8";
+
     private final HttpServer server;
     private final Supplier<List<RuntimeServiceSnapshot>> snapshots;
+    private final RuntimeMetrics metrics;
 
     RuntimeProbeServer(String host, int port, Supplier<List<RuntimeServiceSnapshot>> snapshots) throws IOException {
+        this(host, port, snapshots, RuntimeMetrics.process());
+    }
+
+    RuntimeProbeServer(
+            String host,
+            int port,
+            Supplier<List<RuntimeServiceSnapshot>> snapshots,
+            RuntimeMetrics metrics) throws IOException {
         this.snapshots = Objects.requireNonNull(snapshots, "snapshots");
+        this.metrics = Objects.requireNonNull(metrics, "metrics");
         this.server = HttpServer.create(new InetSocketAddress(host, port), 0);
         server.createContext("/live", this::handleLive);
         server.createContext("/ready", this::handleReady);
         server.createContext("/identity", this::handleIdentity);
+        server.createContext("/metrics", this::handleMetrics);
     }
 
     void start() {
@@ -38,17 +52,30 @@ final class RuntimeProbeServer implements AutoCloseable {
     private void handleLive(HttpExchange exchange) throws IOException {
         List<RuntimeServiceSnapshot> current = snapshots.get();
         boolean live = current.stream().allMatch(RuntimeServiceSnapshot::live);
-        respond(exchange, live ? 200 : 503, statusJson("live", live, current));
+        respond(exchange, live ? 200 : 503, JSON, statusJson("live", live, current));
     }
 
     private void handleReady(HttpExchange exchange) throws IOException {
         List<RuntimeServiceSnapshot> current = snapshots.get();
         boolean ready = current.stream().allMatch(RuntimeServiceSnapshot::ready);
-        respond(exchange, ready ? 200 : 503, statusJson("ready", ready, current));
+        respond(exchange, ready ? 200 : 503, JSON, statusJson("ready", ready, current));
     }
 
     private void handleIdentity(HttpExchange exchange) throws IOException {
-        respond(exchange, 200, statusJson("identity", true, snapshots.get()));
+        respond(exchange, 200, JSON, statusJson("identity", true, snapshots.get()));
+    }
+
+    // Loop counts ride along with the registry so a scrape sees every service, including ones without instruments.
+    private void handleMetrics(HttpExchange exchange) throws IOException {
+        StringBuilder body = new StringBuilder(metrics.prometheusText());
+        body.append("# HELP fulcrum_service_loops_total Runtime service loop iterations.\n")
+                .append("# TYPE fulcrum_service_loops_total counter\n");
+        for (RuntimeServiceSnapshot snapshot : snapshots.get()) {
+            body.append("fulcrum_service_loops_total{role=\"").append(label(snapshot.role()))
+                    .append("\",instance_id=\"").append(label(snapshot.instanceId()))
+                    .append("\"} ").append(snapshot.loopCount()).append('\n');
+        }
+        respond(exchange, 200, PROMETHEUS_TEXT, body.toString());
     }
 
     private static String statusJson(String statusName, boolean status, List<RuntimeServiceSnapshot> snapshots) {
@@ -75,9 +102,9 @@ final class RuntimeProbeServer implements AutoCloseable {
         return builder.toString();
     }
 
-    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+    private static void respond(HttpExchange exchange, int status, String contentType, String body) throws IOException {
         byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
-        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.getResponseHeaders().set("Content-Type", contentType);
         exchange.sendResponseHeaders(status, bytes.length);
         try (var response = exchange.getResponseBody()) {
             response.write(bytes);
@@ -87,4 +114,8 @@ final class RuntimeProbeServer implements AutoCloseable {
     private static String escape(String value) {
         return value.replace("\\", "\\\\").replace("\"", "\\\"");
     }
+
+    private static String label(String value) {
+        return escape(value).replace("\n", "\\n");
+    }
 }
@@ -1,7 +1,9 @@
 package sh.harold.fulcrum.distribution.launcher;
 
 import sh.harold.fulcrum.api.kernel.ResolvedManifestId;
+import sh.harold.fulcrum.data.authority.runtime.AuthorityShardedRuntimeSettings;
 import sh.harold.fulcrum.host.api.HostSecurityContext;
+import sh.harold.fulcrum.host.api.HostWarmAllocationPool;
 import sh.harold.fulcrum.host.velocity.VelocityLoginGateDecision;
 import sh.harold.fulcrum.host.velocity.VelocityLoginGateBridgeServer;
 import sh.harold.fulcrum.host.worker.WorkerAgentRuntime;
@@ -14,8 +16,13 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 
 final class RuntimeServiceEngines {
+    private static final int AUTHORITY_MAX_BATCH_DELIVERIES = 500;
+    private static final int AUTHORITY_SHARD_QUEUE_CAPACITY = 1_000;
+    private static final Duration AUTHORITY_SHARD_IDLE_WAIT = Duration.ofMillis(50);
+
     private RuntimeServiceEngines() {
     }
 
@@ -28,13 +35,27 @@ final class RuntimeServiceEngines {
         Objects.requireNonNull(connectionSettings, "connectionSettings");
         Objects.requireNonNull(externalClients, "externalClients");
         if (entry.role() == LaunchRole.AUTHORITY_SERVICE) {
-            connectionSettings.authority().orElseThrow();
+            RuntimeConnectionSettings.AuthorityConnections authoritySettings =
+                    connectionSettings.authority().orElseThrow();
             RuntimeExternalClients.AuthorityClients authorityClients =
                     externalClients.authority().orElseThrow();
             ExternalAuthorityRuntimeBindings bindings = new ExternalAuthorityRuntimeBindings(authorityClients);
-            return new AuthorityRuntimeServiceEngine(
-                    new AuthorityWorkerCatalog(bindings, 1).workerBindings(),
-                    Duration.ofMillis(50));
+            bindings.exportTo(RuntimeMetrics.process());
+            List<AuthorityWorkerBinding> workers = new ArrayList<>(new AuthorityWorkerCatalog(
+                    bindings,
+                    1,
+                    AUTHORITY_MAX_BATCH_DELIVERIES,
+                    authoritySharding(authoritySettings)).workerBindings());
+            ControlDeadlineService sessionLeaseDeadlines = new ControlDeadlineService(Clock.systemUTC());
+            sessionLeaseDeadlines.exportTo(RuntimeMetrics.process(), SessionLeaseDeadlineWorker.DOMAIN);
+            workers.add(new AuthorityWorkerBinding(
+                    SessionLeaseDeadlineWorker.DOMAIN,
+                    new SessionLeaseDeadlineWorker(
+                            authorityClients.kafka(SessionLeaseDeadlineWorker.DOMAIN),
+                            sessionLeaseDeadlines,
+                            new ControlDeadlineCommands(securityContext, 1, authoritySettings.commandWireFormat()),
+                            Clock.systemUTC())));
+            return new AuthorityRuntimeServiceEngine(workers, Duration.ofMillis(50));
         }
         if (entry.role() == LaunchRole.CONTROLLER_SERVICE) {
             RuntimeConnectionSettings.ControllerConnections controllerSettings =
@@ -46,7 +67,27 @@ final class RuntimeServiceEngines {
             workers.add(new ControllerWorkerBinding(
                     ExternalInstanceRegistryControllerWorker.DOMAIN,
                     new ExternalInstanceRegistryControllerWorker(controllerClients, 1)));
-            workers.addAll(new ExternalControllerWorkerCatalog(controllerClients, 1).workerBindings());
+            ControlDeadlineService controlDeadlines = new ControlDeadlineService(Clock.systemUTC());
+            controlDeadlines.exportTo(RuntimeMetrics.process(), ExternalControlDeadlineWorker.DOMAIN);
+            Optional<ControlRosterFormation> rosterFormation = controllerSettings.queueMatchmaking()
+                    .map(policy -> new ControlRosterFormation(policy, securityContext, 1));
+            ExternalControllerWorkerCatalog externalCatalog =
+                    new ExternalControllerWorkerCatalog(controllerClients, 1, controlDeadlines, rosterFormation);
+            externalCatalog.exportTo(RuntimeMetrics.process());
+            workers.addAll(externalCatalog.workerBindings());
+            workers.add(new ControllerWorkerBinding(
+                    ExternalControlDeadlineWorker.DOMAIN,
+                    new ExternalControlDeadlineWorker(
+                            controlDeadlines,
+                            new ControlDeadlineCommands(securityContext, 1, controllerSettings.commandWireFormat()),
+                            controllerClients.controlKafka(ControllerWorkerCatalog.ROUTE_ATTEMPT).byteValueProducer(),
+                            Clock.systemUTC())));
+            rosterFormation.ifPresent(formation -> workers.add(new ControllerWorkerBinding(
+                    ExternalRosterFormationWorker.DOMAIN,
+                    new ExternalRosterFormationWorker(
+                            formation,
+                            controllerClients.controlKafka(ControllerWorkerCatalog.QUEUE_ROSTER).producer(),
+                            Clock.systemUTC()))));
             workers.add(new ControllerWorkerBinding(
                     ExternalHostObservationRouteWorker.DOMAIN,
                     new ExternalHostObservationRouteWorker(controllerClients, securityContext)));
@@ -54,6 +95,11 @@ final class RuntimeServiceEngines {
                     bindings,
                     controllerClients.allocationPort(),
                     1).workerBindings());
+            if (controllerClients.allocationPort() instanceof HostWarmAllocationPool warmPool) {
+                workers.add(new ControllerWorkerBinding(
+                        WarmAllocationSweepWorker.DOMAIN,
+                        new WarmAllocationSweepWorker(warmPool)));
+            }
             return new ControllerRuntimeServiceEngine(
                     workers,
                     Duration.ofMillis(50),
@@ -93,18 +139,32 @@ final class RuntimeServiceEngines {
             connectionSettings.velocity().orElseThrow();
             RuntimeExternalClients.VelocityClients velocityClients = externalClients.velocity().orElseThrow();
             VelocitySharedShardAllocationRegistry allocations = new VelocitySharedShardAllocationRegistry();
+            VelocityLoginRoutingEvaluator loginEvaluator = new VelocityLoginRoutingEvaluator(
+                    request -> VelocityLoginGateDecision.allowed(request.subjectId()),
+                    velocityClients.velocityKafka().byteValueProducer(),
+                    securityContext,
+                    velocityClients.settings(),
+                    allocations);
+            loginEvaluator.exportTo(RuntimeMetrics.process());
             return new VelocityRuntimeServiceEngine(
                     new ExternalVelocityRouteWorker(velocityClients, securityContext, allocations),
-                    new VelocityLoginGateBridgeServer(
-                            velocityClients.settings().loginGateBridgeUrl(),
-                            new VelocityLoginRoutingEvaluator(
-                                    request -> VelocityLoginGateDecision.allowed(request.subjectId()),
-                                    velocityClients.velocityKafka().producer(),
-                                    securityContext,
-                                    velocityClients.settings(),
-                                    allocations)),
+                    new VelocityLoginGateBridgeServer(velocityClients.settings().loginGateBridgeUrl(), loginEvaluator),
                     Duration.ofMillis(50));
         }
         return new HeartbeatRuntimeServiceEngine("fulcrum-" + entry.role().id());
     }
+
+    private static Optional<AuthorityShardedRuntimeSettings> authoritySharding(
+            RuntimeConnectionSettings.AuthorityConnections settings) {
+        if (settings.shardCount() == 1) {
+            return Optional.empty();
+        }
+        return Optional.of(new AuthorityShardedRuntimeSettings(
+                settings.shardCount(),
+                settings.shardKey(),
+                AUTHORITY_SHARD_QUEUE_CAPACITY,
+                AUTHORITY_MAX_BATCH_DELIVERIES,
+                AUTHORITY_SHARD_IDLE_WAIT,
+                settings.virtualShardThreads()));
+    }
 }
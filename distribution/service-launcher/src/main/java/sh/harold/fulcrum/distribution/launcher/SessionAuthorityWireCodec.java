@@ -20,6 +20,12 @@ import sh.harold.fulcrum.data.authority.AuthorityDecision;
 import sh.harold.fulcrum.data.authority.AuthorityDecisionStatus;
 import sh.harold.fulcrum.data.authority.AuthorityRejectionReason;
 import sh.harold.fulcrum.data.authority.StoredAuthorityDecision;
+import sh.harold.fulcrum.data.codegen.BinaryFieldCodec;
+import sh.harold.fulcrum.data.codegen.LineFieldWriter;
+import sh.harold.fulcrum.data.codegen.LineFields;
+import sh.harold.fulcrum.data.codegen.WireFieldWriter;
+import sh.harold.fulcrum.data.codegen.WireFields;
+import sh.harold.fulcrum.data.contract.ContractDeclaration;
 import sh.harold.fulcrum.data.session.ActivateSession;
 import sh.harold.fulcrum.data.session.CloseSession;
 import sh.harold.fulcrum.data.session.ExpireSession;
@@ -35,9 +41,7 @@ import sh.harold.fulcrum.data.session.SessionSnapshot;
 import sh.harold.fulcrum.data.session.SessionState;
 
 import java.time.Instant;
-import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 
@@ -48,19 +52,188 @@ final class SessionAuthorityWireCodec {
     static final String HEARTBEAT_COMMAND = "heartbeat-session";
     static final String CLOSE_COMMAND = "close-session";
     static final String EXPIRE_COMMAND = "expire-session";
+    private static final ContractDeclaration DECLARATION = AuthorityWireFormat.contract(
+            CONTRACT,
+            List.of(
+                    AuthorityWireFormat.command(OPEN_COMMAND, "OpenSession",
+                            AuthorityWireFormat.string(32, "sessionId"),
+                            AuthorityWireFormat.string(33, "experienceId"),
+                            AuthorityWireFormat.string(34, "slotId"),
+                            AuthorityWireFormat.string(35, "ownerInstanceId"),
+                            AuthorityWireFormat.string(36, "ownerToken"),
+                            AuthorityWireFormat.string(37, "resolvedManifestId"),
+                            AuthorityWireFormat.instant(38, "openedAt"),
+                            AuthorityWireFormat.instant(39, "leaseExpiresAt")),
+                    AuthorityWireFormat.command(ACTIVATE_COMMAND, "ActivateSession",
+                            AuthorityWireFormat.string(32, "sessionId"),
+                            AuthorityWireFormat.string(36, "ownerToken"),
+                            AuthorityWireFormat.longValue(40, "ownerEpoch"),
+                            AuthorityWireFormat.instant(41, "activatedAt"),
+                            AuthorityWireFormat.instant(39, "leaseExpiresAt")),
+                    AuthorityWireFormat.command(HEARTBEAT_COMMAND, "HeartbeatSession",
+                            AuthorityWireFormat.string(32, "sessionId"),
+                            AuthorityWireFormat.string(36, "ownerToken"),
+                            AuthorityWireFormat.longValue(40, "ownerEpoch"),
+                            AuthorityWireFormat.instant(42, "observedAt"),
+                            AuthorityWireFormat.instant(39, "leaseExpiresAt")),
+                    AuthorityWireFormat.command(CLOSE_COMMAND, "CloseSession",
+                            AuthorityWireFormat.string(32, "sessionId"),
+                            AuthorityWireFormat.string(36, "ownerToken"),
+                            AuthorityWireFormat.longValue(40, "ownerEpoch"),
+                            AuthorityWireFormat.instant(43, "closedAt"),
+                            AuthorityWireFormat.string(44, "closeReason")),
+                    AuthorityWireFormat.command(EXPIRE_COMMAND, "ExpireSession",
+                            AuthorityWireFormat.string(32, "sessionId"),
+                            AuthorityWireFormat.instant(45, "expiredAt"))),
+            AuthorityWireFormat.snapshot("SessionState",
+                    AuthorityWireFormat.string(46, "current"),
+                    AuthorityWireFormat.string(32, "sessionId"),
+                    AuthorityWireFormat.string(33, "experienceId"),
+                    AuthorityWireFormat.string(34, "slotId"),
+                    AuthorityWireFormat.string(35, "ownerInstanceId"),
+                    AuthorityWireFormat.string(36, "ownerToken"),
+                    AuthorityWireFormat.longValue(40, "ownerEpoch"),
+                    AuthorityWireFormat.string(37, "resolvedManifestId"),
+                    AuthorityWireFormat.string(47, "status"),
+                    AuthorityWireFormat.instant(38, "openedAt"),
+                    AuthorityWireFormat.instant(39, "leaseExpiresAt"),
+                    AuthorityWireFormat.instant(41, "activatedAt"),
+                    AuthorityWireFormat.instant(43, "closedAt"),
+                    AuthorityWireFormat.string(44, "closeReason")),
+            AuthorityWireFormat.response("session-receipt", "SessionReceipt",
+                    AuthorityWireFormat.string(47, "status"),
+                    AuthorityWireFormat.string(48, "reason"),
+                    AuthorityWireFormat.string(32, "sessionId"),
+                    AuthorityWireFormat.longValue(49, "revision"),
+                    AuthorityWireFormat.longValue(17, "fencingEpoch"),
+                    AuthorityWireFormat.longValue(40, "ownerEpoch"),
+                    AuthorityWireFormat.string(50, "lifecycleStatus"),
+                    AuthorityWireFormat.string(2, "idempotencyKey"),
+                    AuthorityWireFormat.string(1, "commandId")),
+            AuthorityWireFormat.response("session-decision", "StoredAuthorityDecision",
+                    AuthorityWireFormat.string(51, "decisionStatus"),
+                    AuthorityWireFormat.string(52, "rejectionReason"),
+                    AuthorityWireFormat.longValue(49, "revision"),
+                    AuthorityWireFormat.string(53, "replayed")));
+    private static final BinaryFieldCodec BINARY = AuthorityWireFormat.schema(DECLARATION);
 
     private SessionAuthorityWireCodec() {
     }
 
     static AuthorityCommand<SessionCommand> decodeCommand(ConsumerRecord<String, String> record) {
-        Map<String, String> fields = fields(record.value());
+        return decodeCommand(fields(record.value()), record.key());
+    }
+
+    static AuthorityCommand<SessionCommand> decodeCommand(String key, byte[] payload) {
+        return decodeCommand(AuthorityWireFormat.decode(payload, BINARY, "Session authority"), key);
+    }
+
+    static String encodeCommand(AuthorityCommand<SessionCommand> command) {
+        return writeCommand(new LineFieldWriter(), command).text();
+    }
+
+    static byte[] encodeCommand(AuthorityCommand<SessionCommand> command, AuthorityWireFormat format) {
+        return writeCommand(format.writer(BINARY), command).toByteArray();
+    }
+
+    static String encodeState(SessionState state) {
+        return writeState(new LineFieldWriter(), state).text();
+    }
+
+    static byte[] encodeState(SessionState state, AuthorityWireFormat format) {
+        return writeState(format.writer(BINARY), state).toByteArray();
+    }
+
+    // Also reads the authority's own state-topic value, which carries the snapshot fields and a revision but no
+    // current flag; a value without a session id is a session that is gone.
+    static SessionState decodeState(String payload) {
+        return decodeState(fields(payload));
+    }
+
+    static SessionState decodeState(byte[] payload) {
+        return decodeState(AuthorityWireFormat.decode(payload, BINARY, "Session authority"));
+    }
+
+    static String encodeReceipt(SessionReceipt receipt) {
+        return writeReceipt(new LineFieldWriter(), receipt).text();
+    }
+
+    static byte[] encodeReceipt(SessionReceipt receipt, AuthorityWireFormat format) {
+        return writeReceipt(format.writer(BINARY), receipt).toByteArray();
+    }
+
+    static SessionReceipt decodeReceipt(String payload) {
+        return decodeReceipt(fields(payload));
+    }
+
+    static SessionReceipt decodeReceipt(byte[] payload) {
+        return decodeReceipt(AuthorityWireFormat.decode(payload, BINARY, "Session authority"));
+    }
+
+    static String encodeStoredDecision(StoredAuthorityDecision<SessionState, SessionReceipt> stored) {
+        Objects.requireNonNull(stored, "stored");
+        AuthorityDecision<SessionState, SessionReceipt> decision = stored.decision();
+        LineFieldWriter out = new LineFieldWriter();
+        out.string("payloadFingerprint", stored.payloadFingerprint());
+        out.string("decisionStatus", decision.status().name());
+        out.string("rejectionReason", decision.rejectionReason().map(Enum::name).orElse(""));
+        out.longValue("revision", decision.revision().value());
+        out.string("replayed", Boolean.toString(decision.replayed()));
+        encodeTrace(out, decision.traceEnvelope());
+        writeState(out.within("state."), decision.state());
+        writeReceipt(out.within("response."), decision.response());
+        return out.text();
+    }
+
+    static StoredAuthorityDecision<SessionState, SessionReceipt> decodeStoredDecision(String payload) {
+        LineFields fields = fields(payload);
+        AuthorityDecisionStatus status = AuthorityDecisionStatus.valueOf(required(fields, "decisionStatus"));
+        Optional<AuthorityRejectionReason> rejectionReason =
+                optional(fields, "rejectionReason").map(AuthorityRejectionReason::valueOf);
+        AuthorityDecision<SessionState, SessionReceipt> decision = new AuthorityDecision<>(
+                status,
+                rejectionReason,
+                new Revision(longValue(fields, "revision")),
+                decodeState(fields.within("state.")),
+                decodeReceipt(fields.within("response.")),
+                List.of(),
+                decodeTrace(fields),
+                Boolean.parseBoolean(required(fields, "replayed")));
+        return new StoredAuthorityDecision<>(required(fields, "payloadFingerprint"), decision);
+    }
+
+    static String encodeDecisionPayload(AuthorityDecision<SessionState, SessionReceipt> decision) {
+        return encodeStoredDecision(new StoredAuthorityDecision<>("recorded-decision", decision));
+    }
+
+    private static <W extends WireFieldWriter> W writeCommand(W out, AuthorityCommand<SessionCommand> command) {
+        Objects.requireNonNull(command, "command");
+        CommandEnvelope<SessionCommand> envelope = command.envelope();
+        out.string("commandId", envelope.commandId().value());
+        out.string("idempotencyKey", envelope.idempotencyKey().value());
+        out.string("principalId", envelope.principalId().value());
+        out.string("aggregateId", envelope.aggregateId().value());
+        out.string("contractName", envelope.contractName().value());
+        out.string("commandName", envelope.commandName().value());
+        encodeTrace(out, envelope.traceEnvelope());
+        out.instant("deadlineAt", envelope.deadlineAt());
+        out.string("authenticatedPrincipal", command.authenticatedPrincipal().value());
+        out.longValue("fencingEpoch", command.fencingEpoch());
+        out.longValue("expectedRevision", command.expectedRevision().map(Revision::value));
+        out.string("payloadFingerprint", command.payloadFingerprint());
+        out.instant("receivedAt", command.receivedAt());
+        encodePayload(out, envelope.payload());
+        return out;
+    }
+
+    private static AuthorityCommand<SessionCommand> decodeCommand(WireFields fields, String key) {
         SessionCommand payload = decodePayload(fields);
         return new AuthorityCommand<>(
                 new CommandEnvelope<>(
                         new CommandId(required(fields, "commandId")),
                         new IdempotencyKey(required(fields, "idempotencyKey")),
                         new PrincipalId(firstRequired(fields, "principalId", "declaredPrincipalId")),
-                        new AggregateId(optional(fields, "aggregateId").orElse(record.key())),
+                        new AggregateId(optional(fields, "aggregateId").orElse(key)),
                         new ContractName(optional(fields, "contractName").orElse(CONTRACT)),
                         new CommandName(required(fields, "commandName")),
                         decodeTrace(fields),
@@ -73,60 +246,38 @@ final class SessionAuthorityWireCodec {
                 instant(fields, "receivedAt"));
     }
 
-    static String encodeCommand(AuthorityCommand<SessionCommand> command) {
-        Objects.requireNonNull(command, "command");
-        Map<String, String> fields = new LinkedHashMap<>();
-        CommandEnvelope<SessionCommand> envelope = command.envelope();
-        fields.put("commandId", envelope.commandId().value());
-        fields.put("idempotencyKey", envelope.idempotencyKey().value());
-        fields.put("principalId", envelope.principalId().value());
-        fields.put("aggregateId", envelope.aggregateId().value());
-        fields.put("contractName", envelope.contractName().value());
-        fields.put("commandName", envelope.commandName().value());
-        encodeTrace(fields, envelope.traceEnvelope());
-        fields.put("deadlineAt", envelope.deadlineAt().map(Instant::toString).orElse(""));
-        fields.put("authenticatedPrincipal", command.authenticatedPrincipal().value());
-        fields.put("fencingEpoch", Long.toString(command.fencingEpoch()));
-        fields.put("expectedRevision", command.expectedRevision().map(value -> Long.toString(value.value())).orElse(""));
-        fields.put("payloadFingerprint", command.payloadFingerprint());
-        fields.put("receivedAt", command.receivedAt().toString());
-        encodePayload(fields, envelope.payload());
-        return lines(fields);
-    }
-
-    static String encodeState(SessionState state) {
+    private static <W extends WireFieldWriter> W writeState(W out, SessionState state) {
         Objects.requireNonNull(state, "state");
-        Map<String, String> fields = new LinkedHashMap<>();
-        fields.put("current", Boolean.toString(state.current().isPresent()));
-        state.current().ifPresent(snapshot -> encodeSnapshot(fields, "", snapshot));
-        return lines(fields);
+        out.string("current", Boolean.toString(state.current().isPresent()));
+        state.current().ifPresent(snapshot -> encodeSnapshot(out, "", snapshot));
+        return out;
     }
 
-    static SessionState decodeState(String payload) {
-        Map<String, String> fields = fields(payload);
-        if (!Boolean.parseBoolean(required(fields, "current"))) {
+    private static SessionState decodeState(WireFields fields) {
+        boolean current = fields.containsKey("current")
+                ? Boolean.parseBoolean(required(fields, "current"))
+                : fields.containsKey("sessionId");
+        if (!current) {
             return SessionState.empty();
         }
         return new SessionState(decodeSnapshot(fields, ""));
     }
 
-    static String encodeReceipt(SessionReceipt receipt) {
+    private static <W extends WireFieldWriter> W writeReceipt(W out, SessionReceipt receipt) {
         Objects.requireNonNull(receipt, "receipt");
-        Map<String, String> fields = new LinkedHashMap<>();
-        fields.put("status", receipt.status().name());
-        fields.put("reason", receipt.rejectionReason().orElse(""));
-        fields.put("sessionId", receipt.sessionId().map(SessionId::value).orElse(""));
-        fields.put("revision", receipt.revision().map(value -> Long.toString(value.value())).orElse(""));
-        fields.put("fencingEpoch", receipt.fencingEpoch().map(Object::toString).orElse(""));
-        fields.put("ownerEpoch", receipt.ownerEpoch().map(Object::toString).orElse(""));
-        fields.put("lifecycleStatus", receipt.lifecycleStatus().map(SessionLifecycleStatus::name).orElse(""));
-        fields.put("idempotencyKey", receipt.idempotencyKey().orElse(""));
-        fields.put("commandId", receipt.commandId().orElse(""));
-        return lines(fields);
+        out.string("status", receipt.status().name());
+        out.string("reason", receipt.rejectionReason().orElse(""));
+        out.string("sessionId", receipt.sessionId().map(SessionId::value).orElse(""));
+        out.longValue("revision", receipt.revision().map(Revision::value));
+        out.longValue("fencingEpoch", receipt.fencingEpoch());
+        out.longValue("ownerEpoch", receipt.ownerEpoch());
+        out.string("lifecycleStatus", receipt.lifecycleStatus().map(SessionLifecycleStatus::name).orElse(""));
+        out.string("idempotencyKey", receipt.idempotencyKey().orElse(""));
+        out.string("commandId", receipt.commandId().orElse(""));
+        return out;
     }
 
-    static SessionReceipt decodeReceipt(String payload) {
-        Map<String, String> fields = fields(payload);
+    private static SessionReceipt decodeReceipt(WireFields fields) {
         return new SessionReceipt(
                 SessionReceiptStatus.valueOf(required(fields, "status")),
                 optional(fields, "reason"),
@@ -139,43 +290,7 @@ final class SessionAuthorityWireCodec {
                 optional(fields, "commandId"));
     }
 
-    static String encodeStoredDecision(StoredAuthorityDecision<SessionState, SessionReceipt> stored) {
-        Objects.requireNonNull(stored, "stored");
-        AuthorityDecision<SessionState, SessionReceipt> decision = stored.decision();
-        Map<String, String> fields = new LinkedHashMap<>();
-        fields.put("payloadFingerprint", stored.payloadFingerprint());
-        fields.put("decisionStatus", decision.status().name());
-        fields.put("rejectionReason", decision.rejectionReason().map(Enum::name).orElse(""));
-        fields.put("revision", Long.toString(decision.revision().value()));
-        fields.put("replayed", Boolean.toString(decision.replayed()));
-        encodeTrace(fields, decision.traceEnvelope());
-        prefixed(fields, "state.", encodeState(decision.state()));
-        prefixed(fields, "response.", encodeReceipt(decision.response()));
-        return lines(fields);
-    }
-
-    static StoredAuthorityDecision<SessionState, SessionReceipt> decodeStoredDecision(String payload) {
-        Map<String, String> fields = fields(payload);
-        AuthorityDecisionStatus status = AuthorityDecisionStatus.valueOf(required(fields, "decisionStatus"));
-        Optional<AuthorityRejectionReason> rejectionReason =
-                optional(fields, "rejectionReason").map(AuthorityRejectionReason::valueOf);
-        AuthorityDecision<SessionState, SessionReceipt> decision = new AuthorityDecision<>(
-                status,
-                rejectionReason,
-                new Revision(longValue(fields, "revision")),
-                decodeState(unprefixed(fields, "state.")),
-                decodeReceipt(unprefixed(fields, "response.")),
-                List.of(),
-                decodeTrace(fields),
-                Boolean.parseBoolean(required(fields, "replayed")));
-        return new StoredAuthorityDecision<>(required(fields, "payloadFingerprint"), decision);
-    }
-
-    static String encodeDecisionPayload(AuthorityDecision<SessionState, SessionReceipt> decision) {
-        return encodeStoredDecision(new StoredAuthorityDecision<>("recorded-decision", decision));
-    }
-
-    private static SessionCommand decodePayload(Map<String, String> fields) {
+    private static SessionCommand decodePayload(WireFields fields) {
         String commandName = required(fields, "commandName");
         SessionId sessionId = new SessionId(required(fields, "sessionId"));
         return switch (commandName) {
@@ -211,63 +326,63 @@ final class SessionAuthorityWireCodec {
         };
     }
 
-    private static void encodePayload(Map<String, String> fields, SessionCommand payload) {
-        fields.put("sessionId", payload.sessionId().value());
+    private static void encodePayload(WireFieldWriter out, SessionCommand payload) {
+        out.string("sessionId", payload.sessionId().value());
         if (payload instanceof OpenSession open) {
-            fields.put("experienceId", open.experienceId().value());
-            fields.put("slotId", open.slotId().value());
-            fields.put("ownerInstanceId", open.ownerInstanceId().value());
-            fields.put("ownerToken", open.ownerToken().value());
-            fields.put("resolvedManifestId", open.resolvedManifestId().value());
-            fields.put("openedAt", open.openedAt().toString());
-            fields.put("leaseExpiresAt", open.leaseExpiresAt().toString());
+            out.string("experienceId", open.experienceId().value());
+            out.string("slotId", open.slotId().value());
+            out.string("ownerInstanceId", open.ownerInstanceId().value());
+            out.string("ownerToken", open.ownerToken().value());
+            out.string("resolvedManifestId", open.resolvedManifestId().value());
+            out.instant("openedAt", open.openedAt());
+            out.instant("leaseExpiresAt", open.leaseExpiresAt());
             return;
         }
         if (payload instanceof ActivateSession activate) {
-            fields.put("ownerToken", activate.ownerToken().value());
-            fields.put("ownerEpoch", Long.toString(activate.ownerEpoch()));
-            fields.put("activatedAt", activate.activatedAt().toString());
-            fields.put("leaseExpiresAt", activate.leaseExpiresAt().toString());
+            out.string("ownerToken", activate.ownerToken().value());
+            out.longValue("ownerEpoch", activate.ownerEpoch());
+            out.instant("activatedAt", activate.activatedAt());
+            out.instant("leaseExpiresAt", activate.leaseExpiresAt());
             return;
         }
         if (payload instanceof HeartbeatSession heartbeat) {
-            fields.put("ownerToken", heartbeat.ownerToken().value());
-            fields.put("ownerEpoch", Long.toString(heartbeat.ownerEpoch()));
-            fields.put("observedAt", heartbeat.observedAt().toString());
-            fields.put("leaseExpiresAt", heartbeat.leaseExpiresAt().toString());
+            out.string("ownerToken", heartbeat.ownerToken().value());
+            out.longValue("ownerEpoch", heartbeat.ownerEpoch());
+            out.instant("observedAt", heartbeat.observedAt());
+            out.instant("leaseExpiresAt", heartbeat.leaseExpiresAt());
             return;
         }
         if (payload instanceof CloseSession close) {
-            fields.put("ownerToken", close.ownerToken().value());
-            fields.put("ownerEpoch", Long.toString(close.ownerEpoch()));
-            fields.put("closedAt", close.closedAt().toString());
-            fields.put("closeReason", close.reason().name());
+            out.string("ownerToken", close.ownerToken().value());
+            out.longValue("ownerEpoch", close.ownerEpoch());
+            out.instant("closedAt", close.closedAt());
+            out.string("closeReason", close.reason().name());
             return;
         }
         if (payload instanceof ExpireSession expire) {
-            fields.put("expiredAt", expire.expiredAt().toString());
+            out.instant("expiredAt", expire.expiredAt());
             return;
         }
         throw new IllegalArgumentException("Unsupported Session payload " + payload.getClass().getName());
     }
 
-    private static void encodeSnapshot(Map<String, String> fields, String prefix, SessionSnapshot snapshot) {
-        fields.put(prefix + "sessionId", snapshot.sessionId().value());
-        fields.put(prefix + "experienceId", snapshot.experienceId().value());
-        fields.put(prefix + "slotId", snapshot.slotId().value());
-        fields.put(prefix + "ownerInstanceId", snapshot.ownerInstanceId().value());
-        fields.put(prefix + "ownerToken", snapshot.ownerToken().value());
-        fields.put(prefix + "ownerEpoch", Long.toString(snapshot.ownerEpoch()));
-        fields.put(prefix + "resolvedManifestId", snapshot.resolvedManifestId().value());
-        fields.put(prefix + "status", snapshot.status().name());
-        fields.put(prefix + "openedAt", snapshot.openedAt().toString());
-        fields.put(prefix + "leaseExpiresAt", snapshot.leaseExpiresAt().toString());
-        fields.put(prefix + "activatedAt", snapshot.activatedAt().map(Instant::toString).orElse(""));
-        fields.put(prefix + "closedAt", snapshot.closedAt().map(Instant::toString).orElse(""));
-        fields.put(prefix + "closeReason", snapshot.closeReason().map(SessionCloseReason::name).orElse(""));
+    private static void encodeSnapshot(WireFieldWriter out, String prefix, SessionSnapshot snapshot) {
+        out.string(prefix + "sessionId", snapshot.sessionId().value());
+        out.string(prefix + "experienceId", snapshot.experienceId().value());
+        out.string(prefix + "slotId", snapshot.slotId().value());
+        out.string(prefix + "ownerInstanceId", snapshot.ownerInstanceId().value());
+        out.string(prefix + "ownerToken", snapshot.ownerToken().value());
+        out.longValue(prefix + "ownerEpoch", snapshot.ownerEpoch());
+        out.string(prefix + "resolvedManifestId", snapshot.resolvedManifestId().value());
+        out.string(prefix + "status", snapshot.status().name());
+        out.instant(prefix + "openedAt", snapshot.openedAt());
+        out.instant(prefix + "leaseExpiresAt", snapshot.leaseExpiresAt());
+        out.instant(prefix + "activatedAt", snapshot.activatedAt());
+        out.instant(prefix + "closedAt", snapshot.closedAt());
+        out.string(prefix + "closeReason", snapshot.closeReason().map(SessionCloseReason::name).orElse(""));
     }
 
-    private static SessionSnapshot decodeSnapshot(Map<String, String> fields, String prefix) {
+    private static SessionSnapshot decodeSnapshot(WireFields fields, String prefix) {
         return new SessionSnapshot(
                 new SessionId(required(fields, prefix + "sessionId")),
                 new ExperienceId(required(fields, prefix + "experienceId")),
@@ -284,16 +399,16 @@ final class SessionAuthorityWireCodec {
                 optional(fields, prefix + "closeReason").map(SessionCloseReason::valueOf));
     }
 
-    private static void encodeTrace(Map<String, String> fields, TraceEnvelope trace) {
-        fields.put("traceId", trace.traceId());
-        fields.put("spanId", trace.spanId());
-        fields.put("parentSpanId", trace.parentSpanId().orElse(""));
-        fields.put("traceCreatedAt", trace.createdAt().toString());
-        fields.put("originService", trace.originService());
-        fields.put("originInstanceId", trace.originInstanceId().value());
+    private static void encodeTrace(WireFieldWriter out, TraceEnvelope trace) {
+        out.string("traceId", trace.traceId());
+        out.string("spanId", trace.spanId());
+        out.string("parentSpanId", trace.parentSpanId().orElse(""));
+        out.instant("traceCreatedAt", trace.createdAt());
+        out.string("originService", trace.originService());
+        out.string("originInstanceId", trace.originInstanceId().value());
     }
 
-    private static TraceEnvelope decodeTrace(Map<String, String> fields) {
+    private static TraceEnvelope decodeTrace(WireFields fields) {
         return new TraceEnvelope(
                 required(fields, "traceId"),
                 required(fields, "spanId"),
@@ -303,7 +418,7 @@ final class SessionAuthorityWireCodec {
                 new InstanceId(required(fields, "originInstanceId")));
     }
 
-    private static Instant traceCreatedAt(Map<String, String> fields) {
+    private static Instant traceCreatedAt(WireFields fields) {
         return optionalInstant(fields, "traceCreatedAt")
                 .or(() -> optionalInstant(fields, "openedAt"))
                 .or(() -> optionalInstant(fields, "activatedAt"))
@@ -313,42 +428,11 @@ final class SessionAuthorityWireCodec {
                 .orElseGet(() -> instant(fields, "receivedAt"));
     }
 
-    private static void prefixed(Map<String, String> target, String prefix, String payload) {
-        fields(payload).forEach((key, value) -> target.put(prefix + key, value));
-    }
-
-    private static String unprefixed(Map<String, String> source, String prefix) {
-        Map<String, String> values = new LinkedHashMap<>();
-        source.forEach((key, value) -> {
-            if (key.startsWith(prefix)) {
-                values.put(key.substring(prefix.length()), value);
-            }
-        });
-        return lines(values);
-    }
-
-    private static Map<String, String> fields(String payload) {
-        Map<String, String> fields = new LinkedHashMap<>();
-        if (payload == null || payload.isBlank()) {
-            return fields;
-        }
-        for (String line : payload.split("\\R")) {
-            int separator = line.indexOf('=');
-            if (separator < 1) {
-                throw new IllegalArgumentException("Malformed Session authority wire line: " + line);
-            }
-            fields.put(line.substring(0, separator), line.substring(separator + 1));
-        }
-        return fields;
-    }
-
-    private static String lines(Map<String, String> fields) {
-        StringBuilder builder = new StringBuilder();
-        fields.forEach((key, value) -> builder.append(key).append('=').append(value == null ? "" : value).append('\n'));
-        return builder.toString();
+    private static LineFields fields(String payload) {
+        return LineFields.of(payload, "Session authority");
     }
 
-    private static String required(Map<String, String> fields, String key) {
+    private static String required(WireFields fields, String key) {
         String value = fields.get(key);
         if (value == null || value.isBlank()) {
             throw new IllegalArgumentException("Missing Session authority wire field " + key);
@@ -356,33 +440,37 @@ final class SessionAuthorityWireCodec {
         return value;
     }
 
-    private static String firstRequired(Map<String, String> fields, String first, String second) {
+    private static String firstRequired(WireFields fields, String first, String second) {
         return optional(fields, first).or(() -> optional(fields, second))
                 .orElseThrow(() -> new IllegalArgumentException("Missing Session authority wire field " + first));
     }
 
-    private static Optional<String> optional(Map<String, String> fields, String key) {
+    private static Optional<String> optional(WireFields fields, String key) {
         String value = fields.get(key);
         return value == null || value.isBlank() ? Optional.empty() : Optional.of(value);
     }
 
-    private static long longValue(Map<String, String> fields, String key) {
+    private static long longValue(WireFields fields, String key) {
         return Long.parseLong(required(fields, key));
     }
 
-    private static Optional<Long> optionalLong(Map<String, String> fields, String key) {
+    private static Optional<Long> optionalLong(WireFields fields, String key) {
         return optional(fields, key).map(Long::parseLong);
     }
 
-    private static Optional<Revision> optionalRevision(Map<String, String> fields, String key) {
+    private static Optional<Revision> optionalRevision(WireFields fields, String key) {
         return optionalLong(fields, key).map(Revision::new);
     }
 
-    private static Instant instant(Map<String, String> fields, String key) {
-        return Instant.parse(required(fields, key));
+    private static Instant instant(WireFields fields, String key) {
+        Instant value = fields.getInstant(key);
+        if (value == null) {
+            throw new IllegalArgumentException("Missing Session authority wire field " + key);
+        }
+        return value;
     }
 
-    private static Optional<Instant> optionalInstant(Map<String, String> fields, String key) {
-        return optional(fields, key).map(Instant::parse);
+    private static Optional<Instant> optionalInstant(WireFields fields, String key) {
+        return Optional.ofNullable(fields.getInstant(key));
     }
 }
@@ -0,0 +1,89 @@
+package sh.harold.fulcrum.distribution.launcher;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import sh.harold.fulcrum.data.authority.runtime.AuthorityRuntimeReceipt;
+import sh.harold.fulcrum.data.store.kafka.KafkaClientBundle;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+// Tails the Session state topic into a deadline wheel and publishes expire-session once a live lease lapses. The
+// Session authority still checks the lease against its own record, so a lease renewed after it fired is left alone.
+// Firing is not an authority decision, so this never reports a receipt; it drains a few batches per pass instead.
+final class SessionLeaseDeadlineWorker implements AuthorityWorkerPoller {
+    static final String DOMAIN = "session-lease";
+    static final String STATE_TOPIC = "state.session";
+    private static final Duration REPLAY_POLL_TIMEOUT = Duration.ofMillis(100);
+    private static final int MAX_BATCHES_PER_PASS = 8;
+
+    private final KafkaClientBundle kafka;
+    private final ControlDeadlineService deadlines;
+    private final ControlDeadlineCommands commands;
+    private final Clock clock;
+
+    SessionLeaseDeadlineWorker(
+            KafkaClientBundle kafka,
+            ControlDeadlineService deadlines,
+            ControlDeadlineCommands commands,
+            Clock clock) {
+        this.kafka = Objects.requireNonNull(kafka, "kafka");
+        this.deadlines = Objects.requireNonNull(deadlines, "deadlines");
+        this.commands = Objects.requireNonNull(commands, "commands");
+        this.clock = Objects.requireNonNull(clock, "clock");
+        Map<Integer, Long> nextOffsets = new HashMap<>();
+        KafkaStateTopicReplayer.replay(
+                kafka,
+                STATE_TOPIC,
+                REPLAY_POLL_TIMEOUT,
+                record -> {
+                    observe(record);
+                    nextOffsets.merge(record.partition(), record.offset() + 1, Math::max);
+                });
+        tailFrom(nextOffsets);
+    }
+
+    @Override
+    public Optional<AuthorityRuntimeReceipt> handleNext() {
+        ConsumerRecords<String, String> records = kafka.consumer().poll(Duration.ZERO);
+        for (ConsumerRecord<String, String> record : records) {
+            observe(record);
+        }
+        for (int batch = 0; batch < MAX_BATCHES_PER_PASS; batch++) {
+            List<DeadlineTimingWheel.Expired<ControlDeadline>> fired = deadlines.fireDue();
+            if (fired.isEmpty()) {
+                break;
+            }
+            commands.publish(kafka.byteValueProducer(), deadlines, fired, clock.instant());
+        }
+        return Optional.empty();
+    }
+
+    private void observe(ConsumerRecord<String, String> record) {
+        deadlines.observeSessionState(record.key(), record.value());
+    }
+
+    // State is last-write-wins, so the tail picks up exactly where the replay stopped without committing offsets.
+    private void tailFrom(Map<Integer, Long> nextOffsets) {
+        List<PartitionInfo> partitionInfos = kafka.consumer().partitionsFor(STATE_TOPIC, REPLAY_POLL_TIMEOUT);
+        List<TopicPartition> partitions = partitionInfos == null ? List.of() : partitionInfos.stream()
+                .map(info -> new TopicPartition(STATE_TOPIC, info.partition()))
+                .toList();
+        kafka.consumer().assign(partitions);
+        for (TopicPartition partition : partitions) {
+            Long offset = nextOffsets.get(partition.partition());
+            if (offset == null) {
+                kafka.consumer().seekToBeginning(List.of(partition));
+            } else {
+                kafka.consumer().seek(partition, offset);
+            }
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package sh.harold.fulcrum.distribution.launcher;
+
+import sh.harold.fulcrum.api.kernel.InstanceId;
+import sh.harold.fulcrum.api.kernel.PoolId;
+import sh.harold.fulcrum.api.kernel.PresenceId;
+import sh.harold.fulcrum.api.kernel.ResolvedManifestId;
+import sh.harold.fulcrum.api.kernel.SessionId;
+import sh.harold.fulcrum.host.api.HostAllocationClaim;
+
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.stream.Stream;
+
+// Allocated shared shards per pool and resolved manifest, ordered the way SharedShardPlacementController ranks
+// candidates: highest occupancy first, ties to the greatest instance id. A placement is one ordered-set lookup.
+// Writers serialize on the index; login threads read without locking and may briefly miss a shard whose
+// occupancy is being moved, which only costs them the next-best choice.
+final class SharedShardPlacementIndex {
+    private final Map<PoolId, Map<ResolvedManifestId, NavigableSet<Shard>>> shardsByPool = new ConcurrentHashMap<>();
+    private final Map<InstanceId, Shard> shards = new ConcurrentHashMap<>();
+    private final Map<SessionId, InstanceId> instancesBySession = new ConcurrentHashMap<>();
+    private final Map<SessionId, Set<PresenceId>> presencesBySession = new ConcurrentHashMap<>();
+    // Reused between lookups; rebuilt only when the requested capacity changes. Racing readers at most rebuild it.
+    private volatile Shard capacityProbe = Shard.probe(Integer.MAX_VALUE);
+
+    synchronized void record(HostAllocationClaim claim) {
+        Objects.requireNonNull(claim, "claim");
+        InstanceId instanceId = claim.instanceIdentity().instanceId();
+        Shard previous = shards.remove(instanceId);
+        if (previous != null) {
+            ordered(previous.claim()).remove(previous);
+            instancesBySession.remove(previous.claim().sessionId(), instanceId);
+        }
+        Shard shard = new Shard(claim, presences(claim.sessionId()));
+        shards.put(instanceId, shard);
+        instancesBySession.put(claim.sessionId(), instanceId);
+        ordered(claim).add(shard);
+    }
+
+    // Returns whether the presence is new to its session.
+    synchronized boolean recordPresence(SessionId sessionId, PresenceId presenceId) {
+        Objects.requireNonNull(sessionId, "sessionId");
+        Objects.requireNonNull(presenceId, "presenceId");
+        if (!presencesBySession.computeIfAbsent(sessionId, ignored -> ConcurrentHashMap.newKeySet()).add(presenceId)) {
+            return false;
+        }
+        InstanceId instanceId = instancesBySession.get(sessionId);
+        if (instanceId == null) {
+            return true;
+        }
+        Shard previous = shards.get(instanceId);
+        NavigableSet<Shard> ordered = ordered(previous.claim());
+        ordered.remove(previous);
+        Shard shard = new Shard(previous.claim(), previous.occupancy() + 1);
+        shards.put(instanceId, shard);
+        ordered.add(shard);
+        return true;
+    }
+
+    // Every shard with room below hardCapacity, best first, read from the live ordering.
+    Stream<HostAllocationClaim> withCapacity(
+            PoolId poolId,
+            ResolvedManifestId resolvedManifestId,
+            int hardCapacity) {
+        Map<ResolvedManifestId, NavigableSet<Shard>> byManifest =
+                shardsByPool.get(Objects.requireNonNull(poolId, "poolId"));
+        NavigableSet<Shard> ordered = byManifest == null
+                ? null
+                : byManifest.get(Objects.requireNonNull(resolvedManifestId, "resolvedManifestId"));
+        if (ordered == null || hardCapacity <= 0) {
+            return Stream.empty();
+        }
+        Shard probe = capacityProbe;
+        if (probe.occupancy() != hardCapacity - 1) {
+            probe = Shard.probe(hardCapacity - 1);
+            capacityProbe = probe;
+        }
+        return ordered.tailSet(probe, true).stream().map(Shard::claim);
+    }
+
+    private NavigableSet<Shard> ordered(HostAllocationClaim claim) {
+        return shardsByPool
+                .computeIfAbsent(claim.instanceIdentity().poolId(), ignored -> new ConcurrentHashMap<>())
+                .computeIfAbsent(claim.resolvedManifestId(), ignored -> new ConcurrentSkipListSet<>(Shard::compare));
+    }
+
+    private int presences(SessionId sessionId) {
+        Set<PresenceId> presences = presencesBySession.get(sessionId);
+        return presences == null ? 0 : presences.size();
+    }
+
+    // A probe carries no claim and sorts ahead of every shard with the same occupancy, so ceiling(probe) is the
+    // first shard whose occupancy is at most the probe's.
+    private record Shard(HostAllocationClaim claim, int occupancy) {
+        static Shard probe(int occupancy) {
+            return new Shard(null, occupancy);
+        }
+
+        static int compare(Shard left, Shard right) {
+            int byOccupancy = Integer.compare(right.occupancy, left.occupancy);
+            if (byOccupancy != 0) {
+                return byOccupancy;
+            }
+            if (left.claim == null || right.claim == null) {
+                return left.claim == right.claim ? 0 : left.claim == null ? -1 : 1;
+            }
+            return right.claim.instanceIdentity().instanceId().value()
+                    .compareTo(left.claim.instanceIdentity().instanceId().value());
+        }
+    }
+}
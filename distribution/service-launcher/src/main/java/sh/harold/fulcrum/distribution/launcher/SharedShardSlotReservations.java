@@ -0,0 +1,128 @@
+package sh.harold.fulcrum.distribution.launcher;
+
+import sh.harold.fulcrum.api.kernel.PresenceId;
+import sh.harold.fulcrum.api.kernel.SessionId;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Admission slots for shared shards. A login claims a slot with a compare-and-set on the session's held count
+// before it publishes its route, so concurrent logins cannot all pick the same nearly full shard. The slot turns
+// into occupancy when the routed presence is confirmed, and goes back to the shard if the login is released or
+// never confirms within the reservation lifetime.
+final class SharedShardSlotReservations {
+    static final Duration DEFAULT_LIFETIME = Duration.ofSeconds(30);
+
+    private final Duration lifetime;
+    private final Map<SessionId, Slots> slotsBySession = new ConcurrentHashMap<>();
+
+    SharedShardSlotReservations() {
+        this(DEFAULT_LIFETIME);
+    }
+
+    SharedShardSlotReservations(Duration lifetime) {
+        this.lifetime = Objects.requireNonNull(lifetime, "lifetime");
+        if (lifetime.isZero() || lifetime.isNegative()) {
+            throw new IllegalArgumentException("lifetime must be positive");
+        }
+    }
+
+    boolean tryReserve(SessionId sessionId, PresenceId presenceId, int hardCapacity, Instant now) {
+        Objects.requireNonNull(presenceId, "presenceId");
+        Objects.requireNonNull(now, "now");
+        Slots slots = slots(sessionId);
+        if (slots.pending.containsKey(presenceId)) {
+            return true;
+        }
+        if (!slots.claim(hardCapacity)) {
+            // Only a full shard pays for the sweep, and only over its own pending reservations.
+            if (slots.releaseExpired(now) == 0 || !slots.claim(hardCapacity)) {
+                return false;
+            }
+        }
+        Instant expiresAt = now.plus(lifetime);
+        if (slots.pending.putIfAbsent(presenceId, expiresAt) != null) {
+            slots.held.decrementAndGet();
+        } else {
+            slots.earliestExpiry.accumulateAndGet(expiresAt.toEpochMilli(), Math::min);
+        }
+        return true;
+    }
+
+    // A routed presence occupies the slot its login reserved, or a new one when it arrived without a reservation.
+    void confirm(SessionId sessionId, PresenceId presenceId) {
+        Objects.requireNonNull(presenceId, "presenceId");
+        Slots slots = slots(sessionId);
+        if (slots.pending.remove(presenceId) == null) {
+            slots.held.incrementAndGet();
+        }
+    }
+
+    void release(SessionId sessionId, PresenceId presenceId) {
+        Objects.requireNonNull(presenceId, "presenceId");
+        Slots slots = slotsBySession.get(Objects.requireNonNull(sessionId, "sessionId"));
+        if (slots != null && slots.pending.remove(presenceId) != null) {
+            slots.held.decrementAndGet();
+        }
+    }
+
+    // Confirmed presences plus reservations that have not yet been confirmed or released.
+    int held(SessionId sessionId) {
+        Slots slots = slotsBySession.get(Objects.requireNonNull(sessionId, "sessionId"));
+        return slots == null ? 0 : slots.held.get();
+    }
+
+    int pending(SessionId sessionId) {
+        Slots slots = slotsBySession.get(Objects.requireNonNull(sessionId, "sessionId"));
+        return slots == null ? 0 : slots.pending.size();
+    }
+
+    private Slots slots(SessionId sessionId) {
+        return slotsBySession.computeIfAbsent(Objects.requireNonNull(sessionId, "sessionId"), ignored -> new Slots());
+    }
+
+    private static final class Slots {
+        private final AtomicInteger held = new AtomicInteger();
+        private final Map<PresenceId, Instant> pending = new ConcurrentHashMap<>();
+        // Lets a full shard skip the sweep until something can have lapsed. A reservation added while a sweep
+        // recomputes it may be reclaimed late, never early.
+        private final AtomicLong earliestExpiry = new AtomicLong(Long.MAX_VALUE);
+
+        private boolean claim(int hardCapacity) {
+            int current = held.get();
+            while (current < hardCapacity) {
+                if (held.compareAndSet(current, current + 1)) {
+                    return true;
+                }
+                current = held.get();
+            }
+            return false;
+        }
+
+        // Whoever removes an entry gives its slot back, so a sweep racing a confirm or release frees it once.
+        private int releaseExpired(Instant now) {
+            if (earliestExpiry.get() > now.toEpochMilli()) {
+                return 0;
+            }
+            int released = 0;
+            long earliest = Long.MAX_VALUE;
+            for (Map.Entry<PresenceId, Instant> entry : pending.entrySet()) {
+                if (!entry.getValue().isAfter(now)) {
+                    if (pending.remove(entry.getKey(), entry.getValue())) {
+                        held.decrementAndGet();
+                        released++;
+                    }
+                } else {
+                    earliest = Math.min(earliest, entry.getValue().toEpochMilli());
+                }
+            }
+            earliestExpiry.set(earliest);
+            return released;
+        }
+    }
+}
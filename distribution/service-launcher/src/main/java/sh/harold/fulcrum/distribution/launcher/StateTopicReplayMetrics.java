@@ -0,0 +1,35 @@
+package sh.harold.fulcrum.distribution.launcher;
+
+import java.time.Duration;
+import java.util.Objects;
+
+record StateTopicReplayMetrics(
+        String topic,
+        int partitions,
+        long snapshotRecords,
+        long tailRecords,
+        long remainingRecords,
+        Duration elapsed,
+        boolean completed,
+        boolean snapshotWritten) {
+    StateTopicReplayMetrics {
+        topic = Objects.requireNonNull(topic, "topic");
+        elapsed = Objects.requireNonNull(elapsed, "elapsed");
+        if (partitions < 0 || snapshotRecords < 0 || tailRecords < 0 || remainingRecords < 0) {
+            throw new IllegalArgumentException("replay counters must not be negative");
+        }
+    }
+
+    static StateTopicReplayMetrics empty(String topic) {
+        return new StateTopicReplayMetrics(topic, 0, 0, 0, 0, Duration.ZERO, true, false);
+    }
+
+    long replayedRecords() {
+        return snapshotRecords + tailRecords;
+    }
+
+    double recordsPerSecond() {
+        long nanos = elapsed.toNanos();
+        return nanos == 0 ? 0.0 : replayedRecords() * 1_000_000_000.0 / nanos;
+    }
+}
@@ -0,0 +1,30 @@
+package sh.harold.fulcrum.distribution.launcher;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+record StateTopicSnapshot(String topic, Map<Integer, Long> nextOffsets, List<Entry> entries) {
+    StateTopicSnapshot {
+        topic = Objects.requireNonNull(topic, "topic");
+        nextOffsets = Map.copyOf(Objects.requireNonNull(nextOffsets, "nextOffsets"));
+        entries = List.copyOf(Objects.requireNonNull(entries, "entries"));
+        if (topic.isBlank()) {
+            throw new IllegalArgumentException("topic must not be blank");
+        }
+        nextOffsets.forEach((partition, offset) -> {
+            if (partition < 0 || offset < 0) {
+                throw new IllegalArgumentException("snapshot offsets must not be negative");
+            }
+        });
+    }
+
+    record Entry(int partition, long offset, String key, String value) {
+        Entry {
+            if (partition < 0 || offset < 0) {
+                throw new IllegalArgumentException("snapshot entry position must not be negative");
+            }
+            value = Objects.requireNonNull(value, "value");
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package sh.harold.fulcrum.distribution.launcher;
+
+import java.util.Optional;
+
+interface StateTopicSnapshotStore {
+    Optional<StateTopicSnapshot> load(String topic);
+
+    void save(StateTopicSnapshot snapshot);
+
+    default boolean enabled() {
+        return true;
+    }
+
+    static StateTopicSnapshotStore disabled() {
+        return new StateTopicSnapshotStore() {
+            @Override
+            public Optional<StateTopicSnapshot> load(String topic) {
+                return Optional.empty();
+            }
+
+            @Override
+            public void save(StateTopicSnapshot snapshot) {
+            }
+
+            @Override
+            public boolean enabled() {
+                return false;
+            }
+        };
+    }
+}
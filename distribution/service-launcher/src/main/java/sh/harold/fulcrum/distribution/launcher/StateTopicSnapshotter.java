@@ -0,0 +1,118 @@
+package sh.harold.fulcrum.distribution.launcher;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+// Holds the compacted view of a state topic as a worker applies it: the startup replay seeds it, and a worker that
+// keeps tailing the topic feeds it the records it applies and asks for a snapshot after SNAPSHOT_EVERY_RECORDS records
+// or once SNAPSHOT_EVERY has passed. The snapshot is tagged with the offsets applied so far, so the next startup
+// replays only what came after them.
+final class StateTopicSnapshotter {
+    static final long SNAPSHOT_EVERY_RECORDS = 10_000;
+    static final Duration SNAPSHOT_EVERY = Duration.ofMinutes(5);
+
+    private final String topic;
+    private final StateTopicSnapshotStore store;
+    private final Clock clock;
+    private final LinkedHashMap<Object, StateTopicSnapshot.Entry> latest = new LinkedHashMap<>();
+    private final Map<Integer, Long> nextOffsets = new HashMap<>();
+    private long appliedSinceSnapshot;
+    private Instant lastSnapshotAt;
+
+    StateTopicSnapshotter(String topic, StateTopicSnapshotStore store, Clock clock) {
+        this.topic = Objects.requireNonNull(topic, "topic");
+        this.store = Objects.requireNonNull(store, "store");
+        this.clock = Objects.requireNonNull(clock, "clock");
+        if (topic.isBlank()) {
+            throw new IllegalArgumentException("topic must not be blank");
+        }
+        this.lastSnapshotAt = clock.instant();
+    }
+
+    String topic() {
+        return topic;
+    }
+
+    StateTopicSnapshotStore store() {
+        return store;
+    }
+
+    // State topics are keyed last-write-wins (the same contract log compaction relies on), so only the newest record
+    // per partition and key needs to survive into a snapshot. Keyless records are kept as they are. A record below the
+    // partition's applied offset is a redelivery and must not replace the newer value already held.
+    void apply(ConsumerRecord<String, String> record) {
+        if (add(record)) {
+            appliedSinceSnapshot++;
+        }
+    }
+
+    // Entries restored from the snapshot being replayed are already on disk, so they do not count toward the next one.
+    void restore(ConsumerRecord<String, String> record) {
+        add(record);
+    }
+
+    private boolean add(ConsumerRecord<String, String> record) {
+        Objects.requireNonNull(record, "record");
+        if (!store.enabled() || !topic.equals(record.topic())
+                || record.offset() < nextOffsets.getOrDefault(record.partition(), 0L)) {
+            return false;
+        }
+        if (record.key() == null) {
+            if (record.value() != null) {
+                latest.put(new PartitionOffset(record.partition(), record.offset()), entry(record));
+            }
+        } else {
+            PartitionKey key = new PartitionKey(record.partition(), record.key());
+            latest.remove(key);
+            if (record.value() != null) {
+                latest.put(key, entry(record));
+            }
+        }
+        nextOffsets.put(record.partition(), record.offset() + 1);
+        return true;
+    }
+
+    // Compaction gaps and transaction markers move a partition's position without delivering a record.
+    void advance(int partition, long nextOffset) {
+        nextOffsets.merge(partition, nextOffset, Math::max);
+    }
+
+    long appliedSinceSnapshot() {
+        return appliedSinceSnapshot;
+    }
+
+    boolean snapshotIfDue() {
+        if (!store.enabled() || appliedSinceSnapshot == 0) {
+            return false;
+        }
+        if (appliedSinceSnapshot < SNAPSHOT_EVERY_RECORDS && clock.instant().isBefore(lastSnapshotAt.plus(SNAPSHOT_EVERY))) {
+            return false;
+        }
+        snapshot();
+        return true;
+    }
+
+    void snapshot() {
+        store.save(new StateTopicSnapshot(topic, nextOffsets, List.copyOf(latest.values())));
+        appliedSinceSnapshot = 0;
+        lastSnapshotAt = clock.instant();
+    }
+
+    private static StateTopicSnapshot.Entry entry(ConsumerRecord<String, String> record) {
+        return new StateTopicSnapshot.Entry(record.partition(), record.offset(), record.key(), record.value());
+    }
+
+    private record PartitionKey(int partition, String key) {
+    }
+
+    private record PartitionOffset(int partition, long offset) {
+    }
+}
@@ -17,6 +17,12 @@ import sh.harold.fulcrum.data.authority.AuthorityDecision;
 import sh.harold.fulcrum.data.authority.AuthorityDecisionStatus;
 import sh.harold.fulcrum.data.authority.AuthorityRejectionReason;
 import sh.harold.fulcrum.data.authority.StoredAuthorityDecision;
+import sh.harold.fulcrum.data.codegen.BinaryFieldCodec;
+import sh.harold.fulcrum.data.codegen.LineFieldWriter;
+import sh.harold.fulcrum.data.codegen.LineFields;
+import sh.harold.fulcrum.data.codegen.WireFieldWriter;
+import sh.harold.fulcrum.data.codegen.WireFields;
+import sh.harold.fulcrum.data.contract.ContractDeclaration;
 import sh.harold.fulcrum.data.subject.RegisterSubject;
 import sh.harold.fulcrum.data.subject.RetireSubject;
 import sh.harold.fulcrum.data.subject.SubjectCommand;
@@ -30,9 +36,7 @@ import sh.harold.fulcrum.data.subject.SubjectSnapshot;
 import sh.harold.fulcrum.data.subject.SubjectState;
 
 import java.time.Instant;
-import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
@@ -41,19 +45,160 @@ final class SubjectAuthorityWireCodec {
     static final String CONTRACT = "subject";
     static final String REGISTER_COMMAND = "register-subject";
     static final String RETIRE_COMMAND = "retire-subject";
+    private static final ContractDeclaration DECLARATION = AuthorityWireFormat.contract(
+            CONTRACT,
+            List.of(
+                    AuthorityWireFormat.command(REGISTER_COMMAND, "RegisterSubject",
+                            AuthorityWireFormat.string(32, "subjectId"),
+                            AuthorityWireFormat.string(33, "externalIdentity"),
+                            AuthorityWireFormat.string(34, "identityProvider"),
+                            AuthorityWireFormat.instant(35, "registeredAt")),
+                    AuthorityWireFormat.command(RETIRE_COMMAND, "RetireSubject",
+                            AuthorityWireFormat.string(32, "subjectId"),
+                            AuthorityWireFormat.string(36, "retireReason"),
+                            AuthorityWireFormat.instant(37, "retiredAt"))),
+            AuthorityWireFormat.snapshot("SubjectState",
+                    AuthorityWireFormat.string(38, "current"),
+                    AuthorityWireFormat.string(32, "subjectId"),
+                    AuthorityWireFormat.string(34, "identityProvider"),
+                    AuthorityWireFormat.string(33, "externalIdentity"),
+                    AuthorityWireFormat.string(39, "registeredBy"),
+                    AuthorityWireFormat.string(40, "status"),
+                    AuthorityWireFormat.instant(35, "registeredAt"),
+                    AuthorityWireFormat.string(41, "retiredBy"),
+                    AuthorityWireFormat.instant(37, "retiredAt"),
+                    AuthorityWireFormat.string(36, "retireReason")),
+            AuthorityWireFormat.response("subject-receipt", "SubjectReceipt",
+                    AuthorityWireFormat.string(40, "status"),
+                    AuthorityWireFormat.string(42, "reason"),
+                    AuthorityWireFormat.string(32, "subjectId"),
+                    AuthorityWireFormat.longValue(43, "revision"),
+                    AuthorityWireFormat.longValue(17, "fencingEpoch"),
+                    AuthorityWireFormat.string(44, "lifecycleStatus"),
+                    AuthorityWireFormat.string(2, "idempotencyKey"),
+                    AuthorityWireFormat.string(1, "commandId")),
+            AuthorityWireFormat.response("subject-decision", "StoredAuthorityDecision",
+                    AuthorityWireFormat.string(45, "decisionStatus"),
+                    AuthorityWireFormat.string(46, "rejectionReason"),
+                    AuthorityWireFormat.longValue(43, "revision"),
+                    AuthorityWireFormat.string(47, "replayed")));
+    private static final BinaryFieldCodec BINARY = AuthorityWireFormat.schema(DECLARATION);
 
     private SubjectAuthorityWireCodec() {
     }
 
     static AuthorityCommand<SubjectCommand> decodeCommand(ConsumerRecord<String, String> record) {
-        Map<String, String> fields = fields(record.value());
+        return decodeCommand(fields(record.value()), record.key());
+    }
+
+    static AuthorityCommand<SubjectCommand> decodeCommand(String key, byte[] payload) {
+        return decodeCommand(AuthorityWireFormat.decode(payload, BINARY, "Subject authority"), key);
+    }
+
+    static String encodeCommand(AuthorityCommand<SubjectCommand> command) {
+        return writeCommand(new LineFieldWriter(), command).text();
+    }
+
+    static byte[] encodeCommand(AuthorityCommand<SubjectCommand> command, AuthorityWireFormat format) {
+        return writeCommand(format.writer(BINARY), command).toByteArray();
+    }
+
+    static String encodeState(SubjectState state) {
+        return writeState(new LineFieldWriter(), state).text();
+    }
+
+    static byte[] encodeState(SubjectState state, AuthorityWireFormat format) {
+        return writeState(format.writer(BINARY), state).toByteArray();
+    }
+
+    static SubjectState decodeState(String payload) {
+        return decodeState(fields(payload));
+    }
+
+    static SubjectState decodeState(byte[] payload) {
+        return decodeState(AuthorityWireFormat.decode(payload, BINARY, "Subject authority"));
+    }
+
+    static String encodeReceipt(SubjectReceipt receipt) {
+        return writeReceipt(new LineFieldWriter(), receipt).text();
+    }
+
+    static byte[] encodeReceipt(SubjectReceipt receipt, AuthorityWireFormat format) {
+        return writeReceipt(format.writer(BINARY), receipt).toByteArray();
+    }
+
+    static SubjectReceipt decodeReceipt(String payload) {
+        return decodeReceipt(fields(payload));
+    }
+
+    static SubjectReceipt decodeReceipt(byte[] payload) {
+        return decodeReceipt(AuthorityWireFormat.decode(payload, BINARY, "Subject authority"));
+    }
+
+    static String encodeStoredDecision(StoredAuthorityDecision<SubjectState, SubjectReceipt> stored) {
+        Objects.requireNonNull(stored, "stored");
+        AuthorityDecision<SubjectState, SubjectReceipt> decision = stored.decision();
+        LineFieldWriter out = new LineFieldWriter();
+        out.string("payloadFingerprint", stored.payloadFingerprint());
+        out.string("decisionStatus", decision.status().name());
+        out.string("rejectionReason", decision.rejectionReason().map(Enum::name).orElse(""));
+        out.longValue("revision", decision.revision().value());
+        out.string("replayed", Boolean.toString(decision.replayed()));
+        encodeTrace(out, decision.traceEnvelope());
+        writeState(out.within("state."), decision.state());
+        writeReceipt(out.within("response."), decision.response());
+        return out.text();
+    }
+
+    static StoredAuthorityDecision<SubjectState, SubjectReceipt> decodeStoredDecision(String payload) {
+        LineFields fields = fields(payload);
+        AuthorityDecisionStatus status = AuthorityDecisionStatus.valueOf(required(fields, "decisionStatus"));
+        Optional<AuthorityRejectionReason> rejectionReason =
+                optional(fields, "rejectionReason").map(AuthorityRejectionReason::valueOf);
+        AuthorityDecision<SubjectState, SubjectReceipt> decision = new AuthorityDecision<>(
+                status,
+                rejectionReason,
+                new Revision(longValue(fields, "revision")),
+                decodeState(fields.within("state.")),
+                decodeReceipt(fields.within("response.")),
+                List.of(),
+                decodeTrace(fields),
+                Boolean.parseBoolean(required(fields, "replayed")));
+        return new StoredAuthorityDecision<>(required(fields, "payloadFingerprint"), decision);
+    }
+
+    static String encodeDecisionPayload(AuthorityDecision<SubjectState, SubjectReceipt> decision) {
+        return encodeStoredDecision(new StoredAuthorityDecision<>("recorded-decision", decision));
+    }
+
+    private static <W extends WireFieldWriter> W writeCommand(W out, AuthorityCommand<SubjectCommand> command) {
+        Objects.requireNonNull(command, "command");
+        CommandEnvelope<SubjectCommand> envelope = command.envelope();
+        out.string("commandId", envelope.commandId().value());
+        out.string("idempotencyKey", envelope.idempotencyKey().value());
+        out.string("principalId", envelope.principalId().value());
+        out.string("aggregateId", envelope.aggregateId().value());
+        out.string("contractName", envelope.contractName().value());
+        out.string("commandName", envelope.commandName().value());
+        encodeTrace(out, envelope.traceEnvelope());
+        out.instant("deadlineAt", envelope.deadlineAt());
+        out.string("authenticatedPrincipal", command.authenticatedPrincipal().value());
+        out.longValue("fencingEpoch", command.fencingEpoch());
+        out.longValue("expectedRevision", command.expectedRevision().map(Revision::value));
+        out.string("payloadFingerprint", command.payloadFingerprint());
+        out.instant("receivedAt", command.receivedAt());
+        encodePayload(out, envelope.payload());
+        return out;
+    }
+
+    private static AuthorityCommand<SubjectCommand> decodeCommand(WireFields fields, String key) {
         SubjectCommand payload = decodePayload(fields);
         return new AuthorityCommand<>(
                 new CommandEnvelope<>(
                         new CommandId(required(fields, "commandId")),
                         new IdempotencyKey(required(fields, "idempotencyKey")),
                         new PrincipalId(required(fields, "principalId")),
-                        new AggregateId(optional(fields, "aggregateId").orElse(record.key())),
+                        new AggregateId(optional(fields, "aggregateId").orElse(key)),
                         new ContractName(optional(fields, "contractName").orElse(CONTRACT)),
                         new CommandName(required(fields, "commandName")),
                         decodeTrace(fields),
@@ -66,59 +211,34 @@ final class SubjectAuthorityWireCodec {
                 instant(fields, "receivedAt"));
     }
 
-    static String encodeCommand(AuthorityCommand<SubjectCommand> command) {
-        Objects.requireNonNull(command, "command");
-        Map<String, String> fields = new LinkedHashMap<>();
-        CommandEnvelope<SubjectCommand> envelope = command.envelope();
-        fields.put("commandId", envelope.commandId().value());
-        fields.put("idempotencyKey", envelope.idempotencyKey().value());
-        fields.put("principalId", envelope.principalId().value());
-        fields.put("aggregateId", envelope.aggregateId().value());
-        fields.put("contractName", envelope.contractName().value());
-        fields.put("commandName", envelope.commandName().value());
-        encodeTrace(fields, envelope.traceEnvelope());
-        fields.put("deadlineAt", envelope.deadlineAt().map(Instant::toString).orElse(""));
-        fields.put("authenticatedPrincipal", command.authenticatedPrincipal().value());
-        fields.put("fencingEpoch", Long.toString(command.fencingEpoch()));
-        fields.put("expectedRevision", command.expectedRevision().map(value -> Long.toString(value.value())).orElse(""));
-        fields.put("payloadFingerprint", command.payloadFingerprint());
-        fields.put("receivedAt", command.receivedAt().toString());
-        encodePayload(fields, envelope.payload());
-        return lines(fields);
-    }
-
-    static String encodeState(SubjectState state) {
+    private static <W extends WireFieldWriter> W writeState(W out, SubjectState state) {
         Objects.requireNonNull(state, "state");
-        Map<String, String> fields = new LinkedHashMap<>();
-        fields.put("current", Boolean.toString(state.current().isPresent()));
-        state.current().ifPresent(snapshot -> encodeSnapshot(fields, "", snapshot));
-        return lines(fields);
+        out.string("current", Boolean.toString(state.current().isPresent()));
+        state.current().ifPresent(snapshot -> encodeSnapshot(out, "", snapshot));
+        return out;
     }
 
-    static SubjectState decodeState(String payload) {
-        Map<String, String> fields = fields(payload);
+    private static SubjectState decodeState(WireFields fields) {
         if (!Boolean.parseBoolean(required(fields, "current"))) {
             return SubjectState.empty();
         }
         return new SubjectState(decodeSnapshot(fields, ""));
     }
 
-    static String encodeReceipt(SubjectReceipt receipt) {
+    private static <W extends WireFieldWriter> W writeReceipt(W out, SubjectReceipt receipt) {
         Objects.requireNonNull(receipt, "receipt");
-        Map<String, String> fields = new LinkedHashMap<>();
-        fields.put("status", receipt.status().name());
-        fields.put("reason", receipt.rejectionReason().orElse(""));
-        fields.put("subjectId", receipt.subjectId().map(value -> value.value().toString()).orElse(""));
-        fields.put("revision", receipt.revision().map(value -> Long.toString(value.value())).orElse(""));
-        fields.put("fencingEpoch", receipt.fencingEpoch().map(Object::toString).orElse(""));
-        fields.put("lifecycleStatus", receipt.lifecycleStatus().map(SubjectLifecycleStatus::name).orElse(""));
-        fields.put("idempotencyKey", receipt.idempotencyKey().orElse(""));
-        fields.put("commandId", receipt.commandId().orElse(""));
-        return lines(fields);
+        out.string("status", receipt.status().name());
+        out.string("reason", receipt.rejectionReason().orElse(""));
+        out.string("subjectId", receipt.subjectId().map(value -> value.value().toString()).orElse(""));
+        out.longValue("revision", receipt.revision().map(Revision::value));
+        out.longValue("fencingEpoch", receipt.fencingEpoch());
+        out.string("lifecycleStatus", receipt.lifecycleStatus().map(SubjectLifecycleStatus::name).orElse(""));
+        out.string("idempotencyKey", receipt.idempotencyKey().orElse(""));
+        out.string("commandId", receipt.commandId().orElse(""));
+        return out;
     }
 
-    static SubjectReceipt decodeReceipt(String payload) {
-        Map<String, String> fields = fields(payload);
+    private static SubjectReceipt decodeReceipt(WireFields fields) {
         return new SubjectReceipt(
                 SubjectReceiptStatus.valueOf(required(fields, "status")),
                 optional(fields, "reason"),
@@ -130,43 +250,7 @@ final class SubjectAuthorityWireCodec {
                 optional(fields, "commandId"));
     }
 
-    static String encodeStoredDecision(StoredAuthorityDecision<SubjectState, SubjectReceipt> stored) {
-        Objects.requireNonNull(stored, "stored");
-        AuthorityDecision<SubjectState, SubjectReceipt> decision = stored.decision();
-        Map<String, String> fields = new LinkedHashMap<>();
-        fields.put("payloadFingerprint", stored.payloadFingerprint());
-        fields.put("decisionStatus", decision.status().name());
-        fields.put("rejectionReason", decision.rejectionReason().map(Enum::name).orElse(""));
-        fields.put("revision", Long.toString(decision.revision().value()));
-        fields.put("replayed", Boolean.toString(decision.replayed()));
-        encodeTrace(fields, decision.traceEnvelope());
-        prefixed(fields, "state.", encodeState(decision.state()));
-        prefixed(fields, "response.", encodeReceipt(decision.response()));
-        return lines(fields);
-    }
-
-    static StoredAuthorityDecision<SubjectState, SubjectReceipt> decodeStoredDecision(String payload) {
-        Map<String, String> fields = fields(payload);
-        AuthorityDecisionStatus status = AuthorityDecisionStatus.valueOf(required(fields, "decisionStatus"));
-        Optional<AuthorityRejectionReason> rejectionReason =
-                optional(fields, "rejectionReason").map(AuthorityRejectionReason::valueOf);
-        AuthorityDecision<SubjectState, SubjectReceipt> decision = new AuthorityDecision<>(
-                status,
-                rejectionReason,
-                new Revision(longValue(fields, "revision")),
-                decodeState(unprefixed(fields, "state.")),
-                decodeReceipt(unprefixed(fields, "response.")),
-                List.of(),
-                decodeTrace(fields),
-                Boolean.parseBoolean(required(fields, "replayed")));
-        return new StoredAuthorityDecision<>(required(fields, "payloadFingerprint"), decision);
-    }
-
-    static String encodeDecisionPayload(AuthorityDecision<SubjectState, SubjectReceipt> decision) {
-        return encodeStoredDecision(new StoredAuthorityDecision<>("recorded-decision", decision));
-    }
-
-    private static SubjectCommand decodePayload(Map<String, String> fields) {
+    private static SubjectCommand decodePayload(WireFields fields) {
         String commandName = required(fields, "commandName");
         SubjectId subjectId = subjectId(required(fields, "subjectId"));
         return switch (commandName) {
@@ -183,36 +267,36 @@ final class SubjectAuthorityWireCodec {
         };
     }
 
-    private static void encodePayload(Map<String, String> fields, SubjectCommand payload) {
+    private static void encodePayload(WireFieldWriter out, SubjectCommand payload) {
         if (payload instanceof RegisterSubject register) {
-            fields.put("subjectId", register.subjectId().value().toString());
-            fields.put("identityProvider", register.identityProvider().name());
-            fields.put("externalIdentity", register.externalIdentity().value());
-            fields.put("registeredAt", register.registeredAt().toString());
+            out.string("subjectId", register.subjectId().value().toString());
+            out.string("identityProvider", register.identityProvider().name());
+            out.string("externalIdentity", register.externalIdentity().value());
+            out.instant("registeredAt", register.registeredAt());
             return;
         }
         if (payload instanceof RetireSubject retire) {
-            fields.put("subjectId", retire.subjectId().value().toString());
-            fields.put("retiredAt", retire.retiredAt().toString());
-            fields.put("retireReason", retire.reason().name());
+            out.string("subjectId", retire.subjectId().value().toString());
+            out.instant("retiredAt", retire.retiredAt());
+            out.string("retireReason", retire.reason().name());
             return;
         }
         throw new IllegalArgumentException("Unsupported Subject payload " + payload.getClass().getName());
     }
 
-    private static void encodeSnapshot(Map<String, String> fields, String prefix, SubjectSnapshot snapshot) {
-        fields.put(prefix + "subjectId", snapshot.subjectId().value().toString());
-        fields.put(prefix + "identityProvider", snapshot.identityProvider().name());
-        fields.put(prefix + "externalIdentity", snapshot.externalIdentity().value());
-        fields.put(prefix + "registeredBy", snapshot.registeredBy().value());
-        fields.put(prefix + "status", snapshot.status().name());
-        fields.put(prefix + "registeredAt", snapshot.registeredAt().toString());
-        fields.put(prefix + "retiredBy", snapshot.retiredBy().map(PrincipalId::value).orElse(""));
-        fields.put(prefix + "retiredAt", snapshot.retiredAt().map(Instant::toString).orElse(""));
-        fields.put(prefix + "retireReason", snapshot.retireReason().map(SubjectRetireReason::name).orElse(""));
+    private static void encodeSnapshot(WireFieldWriter out, String prefix, SubjectSnapshot snapshot) {
+        out.string(prefix + "subjectId", snapshot.subjectId().value().toString());
+        out.string(prefix + "identityProvider", snapshot.identityProvider().name());
+        out.string(prefix + "externalIdentity", snapshot.externalIdentity().value());
+        out.string(prefix + "registeredBy", snapshot.registeredBy().value());
+        out.string(prefix + "status", snapshot.status().name());
+        out.instant(prefix + "registeredAt", snapshot.registeredAt());
+        out.string(prefix + "retiredBy", snapshot.retiredBy().map(PrincipalId::value).orElse(""));
+        out.instant(prefix + "retiredAt", snapshot.retiredAt());
+        out.string(prefix + "retireReason", snapshot.retireReason().map(SubjectRetireReason::name).orElse(""));
     }
 
-    private static SubjectSnapshot decodeSnapshot(Map<String, String> fields, String prefix) {
+    private static SubjectSnapshot decodeSnapshot(WireFields fields, String prefix) {
         return new SubjectSnapshot(
                 subjectId(required(fields, prefix + "subjectId")),
                 SubjectIdentityProvider.valueOf(required(fields, prefix + "identityProvider")),
@@ -225,16 +309,16 @@ final class SubjectAuthorityWireCodec {
                 optional(fields, prefix + "retireReason").map(SubjectRetireReason::valueOf));
     }
 
-    private static void encodeTrace(Map<String, String> fields, TraceEnvelope trace) {
-        fields.put("traceId", trace.traceId());
-        fields.put("spanId", trace.spanId());
-        fields.put("parentSpanId", trace.parentSpanId().orElse(""));
-        fields.put("traceCreatedAt", trace.createdAt().toString());
-        fields.put("originService", trace.originService());
-        fields.put("originInstanceId", trace.originInstanceId().value());
+    private static void encodeTrace(WireFieldWriter out, TraceEnvelope trace) {
+        out.string("traceId", trace.traceId());
+        out.string("spanId", trace.spanId());
+        out.string("parentSpanId", trace.parentSpanId().orElse(""));
+        out.instant("traceCreatedAt", trace.createdAt());
+        out.string("originService", trace.originService());
+        out.string("originInstanceId", trace.originInstanceId().value());
     }
 
-    private static TraceEnvelope decodeTrace(Map<String, String> fields) {
+    private static TraceEnvelope decodeTrace(WireFields fields) {
         return new TraceEnvelope(
                 required(fields, "traceId"),
                 required(fields, "spanId"),
@@ -245,42 +329,11 @@ final class SubjectAuthorityWireCodec {
                 new InstanceId(required(fields, "originInstanceId")));
     }
 
-    private static void prefixed(Map<String, String> target, String prefix, String payload) {
-        fields(payload).forEach((key, value) -> target.put(prefix + key, value));
-    }
-
-    private static String unprefixed(Map<String, String> source, String prefix) {
-        Map<String, String> values = new LinkedHashMap<>();
-        source.forEach((key, value) -> {
-            if (key.startsWith(prefix)) {
-                values.put(key.substring(prefix.length()), value);
-            }
-        });
-        return lines(values);
-    }
-
-    private static Map<String, String> fields(String payload) {
-        Map<String, String> fields = new LinkedHashMap<>();
-        if (payload == null || payload.isBlank()) {
-            return fields;
-        }
-        for (String line : payload.split("\\R")) {
-            int separator = line.indexOf('=');
-            if (separator < 1) {
-                throw new IllegalArgumentException("Malformed Subject authority wire line: " + line);
-            }
-            fields.put(line.substring(0, separator), line.substring(separator + 1));
-        }
-        return fields;
-    }
-
-    private static String lines(Map<String, String> fields) {
-        StringBuilder builder = new StringBuilder();
-        fields.forEach((key, value) -> builder.append(key).append('=').append(value == null ? "" : value).append('\n'));
-        return builder.toString();
+    private static LineFields fields(String payload) {
+        return LineFields.of(payload, "Subject authority");
     }
 
-    private static String required(Map<String, String> fields, String key) {
+    private static String required(WireFields fields, String key) {
         String value = fields.get(key);
         if (value == null || value.isBlank()) {
             throw new IllegalArgumentException("Missing Subject authority wire field " + key);
@@ -288,32 +341,36 @@ final class SubjectAuthorityWireCodec {
         return value;
     }
 
-    private static Optional<String> optional(Map<String, String> fields, String key) {
+    private static Optional<String> optional(WireFields fields, String key) {
         String value = fields.get(key);
         return value == null || value.isBlank() ? Optional.empty() : Optional.of(value);
     }
 
-    private static long longValue(Map<String, String> fields, String key) {
+    private static long longValue(WireFields fields, String key) {
         return Long.parseLong(required(fields, key));
     }
 
-    private static Optional<Long> optionalLong(Map<String, String> fields, String key) {
+    private static Optional<Long> optionalLong(WireFields fields, String key) {
         return optional(fields, key).map(Long::parseLong);
     }
 
-    private static Optional<Revision> optionalRevision(Map<String, String> fields, String key) {
+    private static Optional<Revision> optionalRevision(WireFields fields, String key) {
         return optionalLong(fields, key).map(Revision::new);
     }
 
-    private static Instant instant(Map<String, String> fields, String key) {
-        return Instant.parse(required(fields, key));
+    private static Instant instant(WireFields fields, String key) {
+        Instant value = fields.getInstant(key);
+        if (value == null) {
+            throw new IllegalArgumentException("Missing Subject authority wire field " + key);
+        }
+        return value;
     }
 
-    private static Optional<Instant> optionalInstant(Map<String, String> fields, String key) {
-        return optional(fields, key).map(Instant::parse);
+    private static Optional<Instant> optionalInstant(WireFields fields, String key) {
+        return Optional.ofNullable(fields.getInstant(key));
     }
 
-    private static Optional<SubjectId> optionalSubjectId(Map<String, String> fields, String key) {
+    private static Optional<SubjectId> optionalSubjectId(WireFields fields, String key) {
         return optional(fields, key).map(SubjectAuthorityWireCodec::subjectId);
     }
 
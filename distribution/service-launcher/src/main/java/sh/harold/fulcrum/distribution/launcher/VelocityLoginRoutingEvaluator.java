@@ -61,30 +61,35 @@ import sh.harold.fulcrum.host.velocity.VelocityLoginGateDecision;
 import sh.harold.fulcrum.host.velocity.VelocityLoginGateEvaluator;
 import sh.harold.fulcrum.host.velocity.VelocityLoginGateRequest;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.concurrent.ExecutionException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.TimeoutException;
 
 final class VelocityLoginRoutingEvaluator implements VelocityLoginGateEvaluator {
     private static final Duration ROUTE_DEADLINE = Duration.ofSeconds(30);
     private static final Duration SEND_TIMEOUT = Duration.ofSeconds(30);
+    // Queue roster, presence, placement, route, route attempt, and lifecycle records for an admitted login.
+    private static final int LOGIN_RECORDS = 12;
     static final String NO_LOBBY_ROUTE_REASON = "No lobby route is currently available";
 
     private final VelocityLoginGateEvaluator delegate;
-    private final Producer<String, String> producer;
+    private final Producer<String, byte[]> producer;
     private final HostSecurityContext securityContext;
     private final RuntimeConnectionSettings.VelocityConnections settings;
     private final VelocitySharedShardAllocationRegistry allocations;
     private final SharedShardPlacementController placementController = new SharedShardPlacementController();
+    private final LatencyHistogram latency = new LatencyHistogram();
 
     VelocityLoginRoutingEvaluator(
             VelocityLoginGateEvaluator delegate,
-            Producer<String, String> producer,
+            Producer<String, byte[]> producer,
             HostSecurityContext securityContext,
             RuntimeConnectionSettings.VelocityConnections settings,
             VelocitySharedShardAllocationRegistry allocations) {
@@ -106,15 +111,41 @@ final class VelocityLoginRoutingEvaluator implements VelocityLoginGateEvaluator
 
     @Override
     public VelocityLoginGateDecision evaluate(VelocityLoginGateRequest request) {
+        try {
+            return evaluateAsync(request).join();
+        } catch (CompletionException exception) {
+            if (exception.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Timed out publishing Velocity login intent", exception.getCause());
+        }
+    }
+
+    @Override
+    public CompletableFuture<VelocityLoginGateDecision> evaluateAsync(VelocityLoginGateRequest request) {
         Objects.requireNonNull(request, "request");
-        VelocityLoginGateDecision decision = delegate.evaluate(request);
-        if (decision.allowed()) {
-            return publishLoginIntents(request);
+        long startedAt = System.nanoTime();
+        CompletableFuture<VelocityLoginGateDecision> decision;
+        try {
+            VelocityLoginGateDecision delegated = delegate.evaluate(request);
+            decision = delegated.allowed()
+                    ? publishLoginIntents(request)
+                    : CompletableFuture.completedFuture(delegated);
+        } catch (RuntimeException exception) {
+            decision = CompletableFuture.failedFuture(exception);
         }
-        return decision;
+        return decision.whenComplete((ignored, failure) -> latency.recordNanos(System.nanoTime() - startedAt));
+    }
+
+    LatencySnapshot latency() {
+        return latency.snapshot();
     }
 
-    private VelocityLoginGateDecision publishLoginIntents(VelocityLoginGateRequest request) {
+    void exportTo(RuntimeMetrics registry) {
+        registry.histogram("fulcrum_velocity_login_decision_seconds", "Time to reach a login gate decision.", latency);
+    }
+
+    private CompletableFuture<VelocityLoginGateDecision> publishLoginIntents(VelocityLoginGateRequest request) {
         String suffix = compact(request.subjectId());
         Instant attemptedAt = request.attemptedAt();
         TraceEnvelope trace = new TraceEnvelope(
@@ -124,27 +155,54 @@ final class VelocityLoginRoutingEvaluator implements VelocityLoginGateEvaluator
                 attemptedAt,
                 "velocity-login-routing",
                 securityContext.identity().instanceId());
-        List<SharedShardPlacementCandidate> candidates =
-                allocations.placementCandidates(settings, trace, attemptedAt);
-        SharedShardPlacementRequest placementRequest = placementRequest(request, suffix, trace);
-        SharedShardPlacementDecision placementDecision =
-                placementController.place(placementRequest, candidates);
-        Optional<RoutePlan> routePlan = routePlan(suffix, routeAttemptSuffix(suffix, attemptedAt), placementDecision, attemptedAt);
-        if (routePlan.isEmpty()) {
-            publishPlacementRequest(placementRequest, candidates);
-            producer.flush();
-            return VelocityLoginGateDecision.denied(request.subjectId(), NO_LOBBY_ROUTE_REASON);
+        // A successful placement holds a slot on the chosen shard until the routed presence is confirmed, so
+        // concurrent logins cannot overpack it, and carries only that shard; the controller re-ranks whatever it
+        // receives and reaches the same decision. The full candidate list is only built when no shard has room.
+        PresenceId presenceId = presenceId(suffix);
+        Optional<SharedShardPlacementCandidate> reserved =
+                allocations.reservePlacementCandidate(settings, trace, attemptedAt, presenceId);
+        List<SharedShardPlacementCandidate> candidates = reserved
+                .map(List::of)
+                .orElseGet(() -> allocations.placementCandidates(settings, trace, attemptedAt));
+        List<ProducerRecord<String, byte[]>> records = new ArrayList<>(LOGIN_RECORDS);
+        VelocityLoginGateDecision decision;
+        try {
+            SharedShardPlacementRequest placementRequest = placementRequest(request, suffix, trace);
+            SharedShardPlacementDecision placementDecision =
+                    placementController.place(placementRequest, candidates);
+            Optional<RoutePlan> routePlan =
+                    routePlan(suffix, routeAttemptSuffix(suffix, attemptedAt), placementDecision, attemptedAt);
+            if (routePlan.isEmpty()) {
+                release(reserved, presenceId);
+                publishPlacementRequest(records, placementRequest, candidates);
+                decision = VelocityLoginGateDecision.denied(request.subjectId(), NO_LOBBY_ROUTE_REASON);
+            } else {
+                RoutePlan selectedRoute = routePlan.orElseThrow();
+                publishQueueRosterSequence(records, request, suffix, trace);
+                publishPresenceClaim(records, request, suffix, trace, selectedRoute);
+                publishPlacementRequest(records, placementRequest, candidates);
+                publishRouteOpen(records, request, trace, selectedRoute);
+                publishRouteAttemptSequence(records, request, trace, selectedRoute);
+                publishLifecycleTraceSequence(records, request, suffix, trace, selectedRoute);
+                decision = VelocityLoginGateDecision.allowed(request.subjectId());
+            }
+        } catch (RuntimeException exception) {
+            release(reserved, presenceId);
+            throw exception;
         }
+        return publish(records).handle((ignored, failure) -> {
+            if (failure == null) {
+                return decision;
+            }
+            release(reserved, presenceId);
+            throw failure instanceof CompletionException completion ? completion : new CompletionException(failure);
+        });
+    }
 
-        RoutePlan selectedRoute = routePlan.orElseThrow();
-        publishQueueRosterSequence(request, suffix, trace);
-        publishPresenceClaim(request, suffix, trace, selectedRoute);
-        publishPlacementRequest(placementRequest, candidates);
-        publishRouteOpen(request, trace, selectedRoute);
-        publishRouteAttemptSequence(request, trace, selectedRoute);
-        publishLifecycleTraceSequence(request, suffix, trace, selectedRoute);
-        producer.flush();
-        return VelocityLoginGateDecision.allowed(request.subjectId());
+    private void release(Optional<SharedShardPlacementCandidate> reserved, PresenceId presenceId) {
+        reserved.ifPresent(candidate -> allocations.releaseReservation(
+                candidate.occupancySnapshot().sessionId(),
+                presenceId));
     }
 
     private SharedShardPlacementRequest placementRequest(
@@ -187,6 +245,7 @@ final class VelocityLoginRoutingEvaluator implements VelocityLoginGateEvaluator
     }
 
     private void publishPresenceClaim(
+            List<ProducerRecord<String, byte[]>> records,
             VelocityLoginGateRequest request,
             String suffix,
             TraceEnvelope trace,
@@ -221,19 +280,26 @@ final class VelocityLoginRoutingEvaluator implements VelocityLoginGateEvaluator
                         + "|sessionId=" + claim.sessionId().map(SessionId::value).orElse("none")
                         + "|routeId=" + claim.routeId().map(RouteId::value).orElse("none"),
                 observedAt);
-        send(settings.presenceCommandTopic(), envelope.aggregateId().value(), PresenceAuthorityWireCodec.encodeCommand(command));
+        stage(
+                records,
+                settings.presenceCommandTopic(),
+                envelope.aggregateId().value(),
+                PresenceAuthorityWireCodec.encodeCommand(command, settings.commandWireFormat()));
     }
 
     private void publishPlacementRequest(
+            List<ProducerRecord<String, byte[]>> records,
             SharedShardPlacementRequest request,
             List<SharedShardPlacementCandidate> candidates) {
-        send(
+        stage(
+                records,
                 settings.sharedShardPlacementCommandTopic(),
                 request.placementAttemptId(),
                 ControlCommandWireCodec.encodeSharedShardPlacementRequest(request, candidates));
     }
 
     private void publishRouteOpen(
+            List<ProducerRecord<String, byte[]>> records,
             VelocityLoginGateRequest request,
             TraceEnvelope trace,
             RoutePlan routePlan) {
@@ -265,14 +331,19 @@ final class VelocityLoginRoutingEvaluator implements VelocityLoginGateEvaluator
                         + "|sessionId=" + routePlan.sessionId().value()
                         + "|targetInstanceId=" + routePlan.targetInstanceId().value(),
                 requestedAt);
-        send(settings.routeCommandTopic(), envelope.aggregateId().value(), RouteAuthorityWireCodec.encodeCommand(command));
+        stage(
+                records,
+                settings.routeCommandTopic(),
+                envelope.aggregateId().value(),
+                RouteAuthorityWireCodec.encodeCommand(command, settings.commandWireFormat()));
     }
 
     private void publishRouteAttemptSequence(
+            List<ProducerRecord<String, byte[]>> records,
             VelocityLoginGateRequest request,
             TraceEnvelope trace,
             RoutePlan routePlan) {
-        sendRouteAttempt(routeAttemptCommand(
+        stageRouteAttempt(records, routeAttemptCommand(
                 new RequestRouteAttempt(
                         routePlan.routeAttemptId(),
                         routePlan.routeId(),
@@ -290,13 +361,13 @@ final class VelocityLoginRoutingEvaluator implements VelocityLoginGateEvaluator
                 "request",
                 0,
                 routePlan.requestedAt()));
-        sendRouteAttempt(routeAttemptCommand(
+        stageRouteAttempt(records, routeAttemptCommand(
                 new IssueProxyRoute(routePlan.routeAttemptId(), routePlan.requestedAt().plusSeconds(1)),
                 ControlRouteNames.ISSUE_PROXY_ROUTE,
                 "issue-proxy",
                 1,
                 routePlan.requestedAt().plusSeconds(1)));
-        sendRouteAttempt(routeAttemptCommand(
+        stageRouteAttempt(records, routeAttemptCommand(
                 new PrepareHostRoute(routePlan.routeAttemptId(), routePlan.requestedAt().plusSeconds(2)),
                 ControlRouteNames.PREPARE_HOST_ROUTE,
                 "prepare-host",
@@ -338,20 +409,24 @@ final class VelocityLoginRoutingEvaluator implements VelocityLoginGateEvaluator
                 receivedAt);
     }
 
-    private void sendRouteAttempt(RouteAttemptControlCommand<? extends RouteAttemptCommand> command) {
-        send(
+    private void stageRouteAttempt(
+            List<ProducerRecord<String, byte[]>> records,
+            RouteAttemptControlCommand<? extends RouteAttemptCommand> command) {
+        stage(
+                records,
                 settings.routeAttemptCommandTopic(),
                 ControlRouteNames.aggregateId(command.envelope().payload().routeAttemptId()).value(),
                 ControlCommandWireCodec.encodeRouteAttemptCommand(command));
     }
 
     private void publishLifecycleTraceSequence(
+            List<ProducerRecord<String, byte[]>> records,
             VelocityLoginGateRequest request,
             String subjectSuffix,
             TraceEnvelope trace,
             RoutePlan routePlan) {
         Instant submittedAt = request.attemptedAt();
-        sendLifecycleTrace(lifecycleTraceCommand(
+        stageLifecycleTrace(records, lifecycleTraceCommand(
                 trace,
                 LifecyclePhase.QUEUE_INTENT_SUBMITTED,
                 "queue-intent",
@@ -360,7 +435,7 @@ final class VelocityLoginRoutingEvaluator implements VelocityLoginGateEvaluator
                 Optional.empty(),
                 "queue",
                 submittedAt));
-        sendLifecycleTrace(lifecycleTraceCommand(
+        stageLifecycleTrace(records, lifecycleTraceCommand(
                 trace,
                 LifecyclePhase.ROSTER_INTENT_FORMED,
                 "roster-intent",
@@ -369,7 +444,7 @@ final class VelocityLoginRoutingEvaluator implements VelocityLoginGateEvaluator
                 Optional.empty(),
                 "roster",
                 submittedAt.plusMillis(1)));
-        sendLifecycleTrace(lifecycleTraceCommand(
+        stageLifecycleTrace(records, lifecycleTraceCommand(
                 trace,
                 LifecyclePhase.ALLOCATION_CLAIMED,
                 "slot",
@@ -378,7 +453,7 @@ final class VelocityLoginRoutingEvaluator implements VelocityLoginGateEvaluator
                 Optional.of(settings.lobbyResolvedManifestId()),
                 "allocation",
                 routePlan.requestedAt()));
-        sendLifecycleTrace(lifecycleTraceCommand(
+        stageLifecycleTrace(records, lifecycleTraceCommand(
                 trace,
                 LifecyclePhase.ROUTE_ATTEMPT_CREATED,
                 "route-attempt",
@@ -431,23 +506,48 @@ final class VelocityLoginRoutingEvaluator implements VelocityLoginGateEvaluator
                 observedAt);
     }
 
-    private void sendLifecycleTrace(LifecycleTraceControlCommand<RecordLifecycleObservation> command) {
-        send(
+    private void stageLifecycleTrace(
+            List<ProducerRecord<String, byte[]>> records,
+            LifecycleTraceControlCommand<RecordLifecycleObservation> command) {
+        stage(
+                records,
                 settings.lifecycleTraceCommandTopic(),
                 ControlLifecycleNames.traceAggregateId(command.envelope().payload().traceId()).value(),
                 ControlCommandWireCodec.encodeLifecycleTraceRecord(command));
     }
 
-    private void send(String topic, String key, String value) {
-        try {
-            producer.send(new ProducerRecord<>(topic, key, value))
-                    .get(SEND_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
-        } catch (InterruptedException exception) {
-            Thread.currentThread().interrupt();
-            throw new IllegalStateException("Interrupted while publishing Velocity login intent", exception);
-        } catch (ExecutionException | TimeoutException exception) {
-            throw new IllegalStateException("Failed to publish Velocity login intent to " + topic, exception);
+    private static void stage(List<ProducerRecord<String, byte[]>> records, String topic, String key, String value) {
+        stage(records, topic, key, value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void stage(List<ProducerRecord<String, byte[]>> records, String topic, String key, byte[] value) {
+        records.add(new ProducerRecord<>(topic, key, value));
+    }
+
+    // Hands the login's records to the producer back to back so they share its open batches, and waits on their
+    // own acknowledgements only: a flush would also wait for every other login's records in flight.
+    private CompletableFuture<Void> publish(List<ProducerRecord<String, byte[]>> records) {
+        CompletableFuture<?>[] acknowledgements = new CompletableFuture<?>[records.size()];
+        for (int index = 0; index < acknowledgements.length; index++) {
+            ProducerRecord<String, byte[]> record = records.get(index);
+            CompletableFuture<Void> acknowledged = new CompletableFuture<>();
+            acknowledgements[index] = acknowledged;
+            try {
+                producer.send(record, (metadata, exception) -> {
+                    if (exception == null) {
+                        acknowledged.complete(null);
+                    } else {
+                        acknowledged.completeExceptionally(new IllegalStateException(
+                                "Failed to publish Velocity login intent to " + record.topic(), exception));
+                    }
+                });
+            } catch (RuntimeException exception) {
+                acknowledged.completeExceptionally(new IllegalStateException(
+                        "Failed to publish Velocity login intent to " + record.topic(), exception));
+            }
         }
+        return CompletableFuture.allOf(acknowledgements)
+                .orTimeout(SEND_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
     }
 
     private void requireTopicProduce(String topic) {
@@ -461,6 +561,7 @@ final class VelocityLoginRoutingEvaluator implements VelocityLoginGateEvaluator
     }
 
     private void publishQueueRosterSequence(
+            List<ProducerRecord<String, byte[]>> records,
             VelocityLoginGateRequest request,
             String suffix,
             TraceEnvelope trace) {
@@ -470,7 +571,7 @@ final class VelocityLoginRoutingEvaluator implements VelocityLoginGateEvaluator
                 new QueuePartitionKey(settings.lobbyExperienceId(), Optional.empty(), settings.lobbyPoolId());
         Instant submittedAt = request.attemptedAt();
         Instant formedAt = submittedAt.plusMillis(1);
-        sendQueueRoster(queueRosterCommand(
+        stageQueueRoster(records, queueRosterCommand(
                 new SubmitQueueIntent(
                         queueIntentId,
                         List.of(request.subjectId()),
@@ -485,7 +586,7 @@ final class VelocityLoginRoutingEvaluator implements VelocityLoginGateEvaluator
                 "submit",
                 0,
                 submittedAt));
-        sendQueueRoster(queueRosterCommand(
+        stageQueueRoster(records, queueRosterCommand(
                 new FormRosterIntent(
                         rosterIntentId,
                         partitionKey,
@@ -533,8 +634,11 @@ final class VelocityLoginRoutingEvaluator implements VelocityLoginGateEvaluator
                 receivedAt);
     }
 
-    private void sendQueueRoster(QueueRosterControlCommand<? extends QueueRosterCommand> command) {
-        send(
+    private void stageQueueRoster(
+            List<ProducerRecord<String, byte[]>> records,
+            QueueRosterControlCommand<? extends QueueRosterCommand> command) {
+        stage(
+                records,
                 settings.queueRosterCommandTopic(),
                 ControlQueueNames.aggregateId(command.envelope().payload().partitionKey()).value(),
                 ControlCommandWireCodec.encodeQueueRosterCommand(command));
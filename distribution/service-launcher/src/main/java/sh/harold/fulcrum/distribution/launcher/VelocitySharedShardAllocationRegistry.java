@@ -15,29 +15,29 @@ import sh.harold.fulcrum.host.velocity.VelocityBackendEndpoint;
 
 import java.time.Instant;
 import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
 final class VelocitySharedShardAllocationRegistry {
     private final Map<InstanceId, HostAllocationClaim> claims = new ConcurrentHashMap<>();
-    private final Map<SessionId, Set<PresenceId>> routedPresences = new ConcurrentHashMap<>();
+    private final SharedShardPlacementIndex placementIndex = new SharedShardPlacementIndex();
+    private final SharedShardSlotReservations reservations = new SharedShardSlotReservations();
 
     void record(ExternalControllerWorkerCatalog.StoredSharedShardAllocation allocation) {
         Objects.requireNonNull(allocation, "allocation");
         HostAllocationClaim claim = allocation.claim();
         claims.put(claim.instanceIdentity().instanceId(), claim);
+        placementIndex.record(claim);
     }
 
     void recordRoutedPresence(SessionId sessionId, PresenceId presenceId) {
-        Objects.requireNonNull(sessionId, "sessionId");
-        Objects.requireNonNull(presenceId, "presenceId");
-        routedPresences
-                .computeIfAbsent(sessionId, ignored -> ConcurrentHashMap.newKeySet())
-                .add(presenceId);
+        if (placementIndex.recordPresence(sessionId, presenceId)) {
+            reservations.confirm(sessionId, presenceId);
+        }
     }
 
     void recordRoutedSubject(SessionId sessionId, SubjectId subjectId) {
@@ -55,6 +55,35 @@ final class VelocitySharedShardAllocationRegistry {
                 claim.minecraftEndpoint().port());
     }
 
+    // Walks shards best first and keeps a slot on the first one whose held count is still below hard capacity.
+    // The candidate reports the occupancy it was admitted against, excluding its own slot.
+    Optional<SharedShardPlacementCandidate> reservePlacementCandidate(
+            RuntimeConnectionSettings.VelocityConnections settings,
+            TraceEnvelope trace,
+            Instant observedAt,
+            PresenceId presenceId) {
+        Objects.requireNonNull(settings, "settings");
+        Objects.requireNonNull(trace, "trace");
+        Objects.requireNonNull(observedAt, "observedAt");
+        Objects.requireNonNull(presenceId, "presenceId");
+        int hardCapacity = settings.lobbyHardCapacity();
+        Iterator<HostAllocationClaim> shards = placementIndex
+                .withCapacity(settings.lobbyPoolId(), settings.lobbyResolvedManifestId(), hardCapacity)
+                .iterator();
+        while (shards.hasNext()) {
+            HostAllocationClaim claim = shards.next();
+            if (reservations.tryReserve(claim.sessionId(), presenceId, hardCapacity, observedAt)) {
+                int admittedAgainst = Math.min(reservations.held(claim.sessionId()) - 1, hardCapacity - 1);
+                return Optional.of(candidate(claim, settings, trace, observedAt, admittedAgainst));
+            }
+        }
+        return Optional.empty();
+    }
+
+    void releaseReservation(SessionId sessionId, PresenceId presenceId) {
+        reservations.release(sessionId, presenceId);
+    }
+
     List<SharedShardPlacementCandidate> placementCandidates(
             RuntimeConnectionSettings.VelocityConnections settings,
             TraceEnvelope trace,
@@ -66,7 +95,12 @@ final class VelocitySharedShardAllocationRegistry {
                 .filter(claim -> settings.lobbyPoolId().equals(claim.instanceIdentity().poolId()))
                 .filter(claim -> settings.lobbyResolvedManifestId().equals(claim.resolvedManifestId()))
                 .sorted(Comparator.comparing(claim -> claim.instanceIdentity().instanceId().value()))
-                .map(claim -> candidate(claim, settings, trace, observedAt))
+                .map(claim -> candidate(
+                        claim,
+                        settings,
+                        trace,
+                        observedAt,
+                        Math.min(reservations.held(claim.sessionId()), settings.lobbyHardCapacity())))
                 .toList();
     }
 
@@ -74,7 +108,8 @@ final class VelocitySharedShardAllocationRegistry {
             HostAllocationClaim claim,
             RuntimeConnectionSettings.VelocityConnections settings,
             TraceEnvelope trace,
-            Instant observedAt) {
+            Instant observedAt,
+            int currentPresences) {
         HostInstanceIdentity identity = claim.instanceIdentity();
         return new SharedShardPlacementCandidate(
                 new InstanceSnapshot(
@@ -91,23 +126,13 @@ final class VelocitySharedShardAllocationRegistry {
                 new SharedShardOccupancySnapshot(
                         claim.sessionId(),
                         claim.slotId(),
-                        currentPresences(claim, settings),
+                        currentPresences,
                         settings.lobbyHardCapacity(),
                         true,
                         observedAt,
                         trace));
     }
 
-    private int currentPresences(
-            HostAllocationClaim claim,
-            RuntimeConnectionSettings.VelocityConnections settings) {
-        Set<PresenceId> presences = routedPresences.get(claim.sessionId());
-        if (presences == null) {
-            return 0;
-        }
-        return Math.min(presences.size(), settings.lobbyHardCapacity());
-    }
-
     private static PresenceId presenceId(SubjectId subjectId) {
         Objects.requireNonNull(subjectId, "subjectId");
         return new PresenceId("presence-velocity-login-" + subjectId.value().toString().replace("-", ""));
@@ -0,0 +1,24 @@
+package sh.harold.fulcrum.distribution.launcher;
+
+import sh.harold.fulcrum.host.api.HostWarmAllocationPool;
+
+import java.util.Objects;
+import java.util.Optional;
+
+// Gives the warm allocation pool its timer: every loop pass offers a sweep, and the pool itself decides when one is
+// due. It never reports work, so it does not keep the loop from idling.
+final class WarmAllocationSweepWorker implements ControllerWorkerPoller {
+    static final String DOMAIN = "warm-allocation-sweep";
+
+    private final HostWarmAllocationPool pool;
+
+    WarmAllocationSweepWorker(HostWarmAllocationPool pool) {
+        this.pool = Objects.requireNonNull(pool, "pool");
+    }
+
+    @Override
+    public Optional<ControllerRuntimeReceipt> handleNext() {
+        pool.sweep();
+        return Optional.empty();
+    }
+}
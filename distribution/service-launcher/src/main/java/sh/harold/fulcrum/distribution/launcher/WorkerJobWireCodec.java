@@ -5,6 +5,9 @@ import sh.harold.fulcrum.api.contract.IdempotencyKey;
 import sh.harold.fulcrum.api.contract.TraceEnvelope;
 import sh.harold.fulcrum.api.kernel.InstanceId;
 import sh.harold.fulcrum.api.kernel.ResolvedManifestId;
+import sh.harold.fulcrum.data.codegen.LineFields;
+import sh.harold.fulcrum.data.codegen.WireFields;
+import sh.harold.fulcrum.data.codegen.WireInstants;
 import sh.harold.fulcrum.host.worker.WorkerJobDecisionStatus;
 import sh.harold.fulcrum.host.worker.WorkerJobId;
 import sh.harold.fulcrum.host.worker.WorkerJobKind;
@@ -27,7 +30,7 @@ final class WorkerJobWireCodec {
 
     static WorkerJobRequest decodeRequest(ConsumerRecord<String, String> record) {
         Objects.requireNonNull(record, "record");
-        Map<String, String> fields = fields(record.value());
+        LineFields fields = fields(record.value());
         return new WorkerJobRequest(
                 new WorkerJobId(optional(fields, "jobId").orElse(record.key())),
                 jobKind(required(fields, "jobKind")),
@@ -56,7 +59,7 @@ final class WorkerJobWireCodec {
     }
 
     static WorkerJobReceipt decodeReceipt(String payload) {
-        Map<String, String> fields = fields(payload);
+        LineFields fields = fields(payload);
         return new WorkerJobReceipt(
                 WorkerJobDecisionStatus.valueOf(required(fields, "status")),
                 Boolean.parseBoolean(required(fields, "accepted")),
@@ -102,7 +105,7 @@ final class WorkerJobWireCodec {
         fields.put("originInstanceId", trace.originInstanceId().value());
     }
 
-    private static TraceEnvelope decodeTrace(Map<String, String> fields) {
+    private static TraceEnvelope decodeTrace(WireFields fields) {
         return new TraceEnvelope(
                 required(fields, "traceId"),
                 required(fields, "spanId"),
@@ -116,19 +119,8 @@ final class WorkerJobWireCodec {
         return WorkerJobKind.valueOf(value.trim().replace('-', '_').toUpperCase(Locale.ROOT));
     }
 
-    private static Map<String, String> fields(String payload) {
-        Map<String, String> fields = new LinkedHashMap<>();
-        if (payload == null || payload.isBlank()) {
-            return fields;
-        }
-        for (String line : payload.split("\\R")) {
-            int separator = line.indexOf('=');
-            if (separator < 1) {
-                throw new IllegalArgumentException("Malformed worker job wire line: " + line);
-            }
-            fields.put(line.substring(0, separator), line.substring(separator + 1));
-        }
-        return fields;
+    private static LineFields fields(String payload) {
+        return LineFields.of(payload, "worker job");
     }
 
     private static String lines(Map<String, String> fields) {
@@ -137,7 +129,7 @@ final class WorkerJobWireCodec {
         return builder.toString();
     }
 
-    private static String required(Map<String, String> fields, String key) {
+    private static String required(WireFields fields, String key) {
         String value = fields.get(key);
         if (value == null || value.isBlank()) {
             throw new IllegalArgumentException("Missing worker job wire field " + key);
@@ -145,20 +137,20 @@ final class WorkerJobWireCodec {
         return value;
     }
 
-    private static Optional<String> optional(Map<String, String> fields, String key) {
+    private static Optional<String> optional(WireFields fields, String key) {
         String value = fields.get(key);
         return value == null || value.isBlank() ? Optional.empty() : Optional.of(value);
     }
 
-    private static long longValue(Map<String, String> fields, String key) {
+    private static long longValue(WireFields fields, String key) {
         return Long.parseLong(required(fields, key));
     }
 
-    private static Instant instant(Map<String, String> fields, String key) {
-        return Instant.parse(required(fields, key));
+    private static Instant instant(WireFields fields, String key) {
+        return WireInstants.parse(required(fields, key));
     }
 
-    private static Optional<Instant> optionalInstant(Map<String, String> fields, String key) {
-        return optional(fields, key).map(Instant::parse);
+    private static Optional<Instant> optionalInstant(WireFields fields, String key) {
+        return optional(fields, key).map(WireInstants::parse);
     }
 }
@@ -28,6 +28,7 @@ import java.time.Instant;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 final class ArtifactMetadataAuthorityWireCodecTest {
     private static final Instant NOW = Instant.parse("2026-06-17T12:00:00Z");
@@ -80,6 +81,26 @@ final class ArtifactMetadataAuthorityWireCodecTest {
         assertEquals("trace-artifact-runtime", decoded.decision().traceEnvelope().traceId());
     }
 
+    @Test
+    void binaryFramesRoundTripAndTextPayloadsRemainDecodable() {
+        AuthorityCommand<PublishArtifactMetadata> command = publishCommand();
+        String key = command.envelope().aggregateId().value();
+        byte[] binary = ArtifactMetadataAuthorityWireCodec.encodeCommand(command, AuthorityWireFormat.BINARY);
+        byte[] text = ArtifactMetadataAuthorityWireCodec.encodeCommand(command, AuthorityWireFormat.TEXT);
+
+        assertEquals(AuthorityWireFormat.BINARY, AuthorityWireFormat.of(binary));
+        assertEquals(command, ArtifactMetadataAuthorityWireCodec.decodeCommand(key, binary));
+        assertEquals(command, ArtifactMetadataAuthorityWireCodec.decodeCommand(key, text));
+        assertTrue(binary.length < text.length, () -> binary.length + " binary bytes vs " + text.length + " text bytes");
+
+        var decision = new ArtifactMetadataAuthority(new InMemoryIdempotencyLedger<ArtifactMetadataState, ArtifactMetadataReceipt>())
+                .handle(command, ArtifactMetadataAuthority.emptyRecord(7));
+        assertEquals(decision.state(), ArtifactMetadataAuthorityWireCodec.decodeState(
+                ArtifactMetadataAuthorityWireCodec.encodeState(decision.state(), AuthorityWireFormat.BINARY)));
+        assertEquals(decision.response(), ArtifactMetadataAuthorityWireCodec.decodeReceipt(
+                ArtifactMetadataAuthorityWireCodec.encodeReceipt(decision.response(), AuthorityWireFormat.BINARY)));
+    }
+
     private static AuthorityCommand<PublishArtifactMetadata> publishCommand() {
         PublishArtifactMetadata payload = new PublishArtifactMetadata(
                 DIGEST,
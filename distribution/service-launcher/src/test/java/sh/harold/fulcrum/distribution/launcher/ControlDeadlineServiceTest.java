@@ -0,0 +1,403 @@
+package sh.harold.fulcrum.distribution.launcher;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.Test;
+import sh.harold.fulcrum.api.contract.CommandEnvelope;
+import sh.harold.fulcrum.api.contract.CommandId;
+import sh.harold.fulcrum.api.contract.CommandName;
+import sh.harold.fulcrum.api.contract.IdempotencyKey;
+import sh.harold.fulcrum.api.contract.PrincipalId;
+import sh.harold.fulcrum.api.contract.TraceEnvelope;
+import sh.harold.fulcrum.api.kernel.ExperienceId;
+import sh.harold.fulcrum.api.kernel.InstanceId;
+import sh.harold.fulcrum.api.kernel.MachineRef;
+import sh.harold.fulcrum.api.kernel.PoolId;
+import sh.harold.fulcrum.api.kernel.PresenceId;
+import sh.harold.fulcrum.api.kernel.ResolvedManifestId;
+import sh.harold.fulcrum.api.kernel.RouteId;
+import sh.harold.fulcrum.api.kernel.SessionId;
+import sh.harold.fulcrum.api.kernel.SlotId;
+import sh.harold.fulcrum.api.kernel.SubjectId;
+import sh.harold.fulcrum.control.queue.CancelQueueIntent;
+import sh.harold.fulcrum.control.queue.ControlQueueNames;
+import sh.harold.fulcrum.control.queue.QueueIntentId;
+import sh.harold.fulcrum.control.queue.QueueIntentStatus;
+import sh.harold.fulcrum.control.queue.QueuePartitionKey;
+import sh.harold.fulcrum.control.queue.QueueRosterCommand;
+import sh.harold.fulcrum.control.queue.QueueRosterControlCommand;
+import sh.harold.fulcrum.control.queue.QueueRosterControlRecord;
+import sh.harold.fulcrum.control.queue.QueueRosterController;
+import sh.harold.fulcrum.control.queue.QueueRosterDecision;
+import sh.harold.fulcrum.control.queue.QueueRosterDecisionStatus;
+import sh.harold.fulcrum.control.queue.SubmitQueueIntent;
+import sh.harold.fulcrum.control.route.ControlRouteNames;
+import sh.harold.fulcrum.control.route.RequestRouteAttempt;
+import sh.harold.fulcrum.control.route.RouteAttemptControlCommand;
+import sh.harold.fulcrum.control.route.RouteAttemptController;
+import sh.harold.fulcrum.control.route.RouteAttemptDecision;
+import sh.harold.fulcrum.control.route.RouteAttemptDecisionStatus;
+import sh.harold.fulcrum.control.route.RouteAttemptId;
+import sh.harold.fulcrum.control.route.RouteAttemptLifecycleStatus;
+import sh.harold.fulcrum.data.authority.AuthorityDecision;
+import sh.harold.fulcrum.data.authority.AuthorityDecisionStatus;
+import sh.harold.fulcrum.data.authority.AuthorityEmissionKind;
+import sh.harold.fulcrum.data.authority.AuthorityRecord;
+import sh.harold.fulcrum.data.authority.InMemoryIdempotencyLedger;
+import sh.harold.fulcrum.data.session.SessionAuthority;
+import sh.harold.fulcrum.data.session.SessionLifecycleStatus;
+import sh.harold.fulcrum.data.session.SessionOwnerToken;
+import sh.harold.fulcrum.data.session.SessionReceipt;
+import sh.harold.fulcrum.data.session.SessionSnapshot;
+import sh.harold.fulcrum.data.session.SessionState;
+import sh.harold.fulcrum.host.api.HostCredentialScope;
+import sh.harold.fulcrum.host.api.HostInstanceIdentity;
+import sh.harold.fulcrum.host.api.HostSecurityContext;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class ControlDeadlineServiceTest {
+    private static final Instant NOW = Instant.parse("2026-06-17T12:00:00Z");
+    private static final PrincipalId PRINCIPAL = new PrincipalId("principal-controller-deadline");
+
+    @Test
+    void routeAttemptTimeoutFiresOnceItsDeadlinePassesAndTheControllerAcceptsIt() {
+        MutableClock clock = new MutableClock(NOW);
+        ControlDeadlineService deadlines = new ControlDeadlineService(clock);
+        RouteAttemptController controller = new RouteAttemptController();
+        RouteAttemptId routeAttempt = new RouteAttemptId("route-attempt-deadline");
+        RouteAttemptDecision requested = controller.handle(
+                requestRouteAttempt(routeAttempt),
+                RouteAttemptController.emptyRecord(1));
+        deadlines.observeRouteAttempt(requested.record());
+
+        clock.advance(Duration.ofSeconds(29));
+        assertTrue(deadlines.fireDue().isEmpty());
+        clock.advance(Duration.ofSeconds(1).plusMillis(15));
+        List<DeadlineTimingWheel.Expired<ControlDeadline>> fired = deadlines.fireDue();
+        assertEquals(List.of(new DeadlineTimingWheel.Expired<ControlDeadline>(
+                new ControlDeadline.RouteAttempt(routeAttempt),
+                NOW.plusSeconds(30))), fired);
+
+        ProducerRecord<String, byte[]> command = commands(1).command(fired.getFirst(), clock.instant());
+        assertEquals(ControlDeadlineCommands.ROUTE_ATTEMPT_COMMAND_TOPIC, command.topic());
+        RouteAttemptDecision timedOut = controller.handle(
+                ControlCommandWireCodec.decodeRouteAttemptCommand(consumed(command)),
+                requested.record());
+        assertEquals(RouteAttemptDecisionStatus.ACCEPTED, timedOut.status());
+        assertEquals(RouteAttemptLifecycleStatus.TIMED_OUT, timedOut.record().snapshot().orElseThrow().status());
+
+        deadlines.observeRouteAttempt(timedOut.record());
+        assertEquals(0, deadlines.metrics().outstanding());
+    }
+
+    @Test
+    void queueIntentsThatLeaveTheWaitingQueueStopCountingDown() {
+        MutableClock clock = new MutableClock(NOW);
+        ControlDeadlineService deadlines = new ControlDeadlineService(clock);
+        QueueRosterController controller = new QueueRosterController();
+        QueueIntentId kept = new QueueIntentId("queue-intent-deadline-kept");
+        QueueIntentId cancelled = new QueueIntentId("queue-intent-deadline-cancelled");
+        QueueRosterControlRecord record = QueueRosterControlRecord.empty(1);
+        QueuePartitionKey partitionKey = null;
+        for (QueueIntentId queueIntent : List.of(kept, cancelled)) {
+            SubmitQueueIntent submit = submitQueueIntent(queueIntent);
+            partitionKey = submit.partitionKey();
+            record = controller.handle(queueCommand(submit, ControlQueueNames.SUBMIT_QUEUE_INTENT, queueIntent), record)
+                    .record();
+            deadlines.observeQueueRoster(partitionKey, record);
+        }
+        assertEquals(2, deadlines.metrics().outstanding());
+
+        record = controller.handle(queueCommand(
+                new CancelQueueIntent(partitionKey, cancelled, NOW.plusSeconds(1)),
+                ControlQueueNames.CANCEL_QUEUE_INTENT,
+                cancelled), record).record();
+        deadlines.observeQueueRoster(partitionKey, record);
+        assertEquals(1, deadlines.metrics().outstanding());
+
+        clock.advance(Duration.ofSeconds(31));
+        List<DeadlineTimingWheel.Expired<ControlDeadline>> fired = deadlines.fireDue();
+        assertEquals(1, fired.size());
+        assertEquals(new ControlDeadline.QueueIntent(partitionKey, kept), fired.getFirst().key());
+
+        // A later change elsewhere in the partition touches only its own intent; the fired one stays off the wheel.
+        QueueIntentId later = new QueueIntentId("queue-intent-deadline-later");
+        record = controller.handle(
+                queueCommand(submitQueueIntent(later), ControlQueueNames.SUBMIT_QUEUE_INTENT, later),
+                record).record();
+        deadlines.observeQueueRoster(partitionKey, record);
+        assertEquals(
+                List.of(new ControlDeadline.QueueIntent(partitionKey, later)),
+                deadlines.fireDue().stream().map(DeadlineTimingWheel.Expired::key).toList());
+
+        ProducerRecord<String, byte[]> command = commands(1).command(fired.getFirst(), clock.instant());
+        assertEquals(ControlDeadlineCommands.QUEUE_ROSTER_COMMAND_TOPIC, command.topic());
+        QueueRosterDecision expired = controller.handle(
+                ControlCommandWireCodec.decodeQueueRosterCommand(consumed(command)),
+                record);
+        assertEquals(QueueRosterDecisionStatus.ACCEPTED, expired.status());
+        assertEquals(
+                QueueIntentStatus.EXPIRED,
+                expired.record().state().queueIntent(kept).orElseThrow().status());
+    }
+
+    @Test
+    void sessionLeaseFollowsTheStateTopicAndExpiresThroughTheAuthority() {
+        MutableClock clock = new MutableClock(NOW);
+        ControlDeadlineService deadlines = new ControlDeadlineService(clock);
+        SessionAuthority authority = new SessionAuthority(new InMemoryIdempotencyLedger<SessionState, SessionReceipt>());
+        AuthorityDecision<SessionState, SessionReceipt> opened =
+                authority.handle(SessionAuthorityWireCodecTest.openCommand(), SessionAuthority.emptyRecord(7));
+        String key = SessionAuthority.aggregateId(new SessionId("session-codec-test")).value();
+        deadlines.observeSessionState(key, statePayload(opened));
+        assertEquals(1, deadlines.metrics().outstanding());
+
+        deadlines.observeSessionState(key, null);
+        assertEquals(0, deadlines.metrics().outstanding());
+        deadlines.observeSessionState(key, statePayload(opened));
+
+        clock.advance(Duration.ofSeconds(30));
+        List<DeadlineTimingWheel.Expired<ControlDeadline>> fired = deadlines.fireDue();
+        assertEquals(1, fired.size());
+        ProducerRecord<String, byte[]> command = commands(7).command(fired.getFirst(), clock.instant());
+        assertEquals(ControlDeadlineCommands.SESSION_COMMAND_TOPIC, command.topic());
+        assertEquals(key, command.key());
+
+        AuthorityDecision<SessionState, SessionReceipt> expired = authority.handle(
+                SessionAuthorityWireCodec.decodeCommand(command.key(), command.value()),
+                new AuthorityRecord<>(opened.revision(), 7, opened.state()));
+        assertEquals(AuthorityDecisionStatus.ACCEPTED, expired.status());
+        assertEquals(SessionLifecycleStatus.FAILED, expired.state().current().orElseThrow().status());
+        deadlines.observeSessionState(key, statePayload(expired));
+        assertEquals(0, deadlines.metrics().outstanding());
+    }
+
+    @Test
+    void metricsReportBacklogBeyondOneBatchAndHowLateDeadlinesFired() {
+        MutableClock clock = new MutableClock(NOW);
+        ControlDeadlineService deadlines = new ControlDeadlineService(clock, Duration.ofMillis(10), 2);
+        for (int attempt = 0; attempt < 5; attempt++) {
+            deadlines.observeSessionState(
+                    "session:deadline-metrics-" + attempt,
+                    preparingSession("deadline-metrics-" + attempt, NOW.plusMillis(100)));
+        }
+
+        clock.advance(Duration.ofMillis(350));
+        assertEquals(2, deadlines.fireDue().size());
+        ControlDeadlineMetrics metrics = deadlines.metrics();
+        assertEquals(5, metrics.outstanding() + metrics.fired());
+        assertEquals(3, metrics.backlog());
+        assertEquals(1, metrics.batches());
+        assertEquals(2, metrics.fireLag().count());
+        assertTrue(metrics.fireLag().p50().compareTo(Duration.ofMillis(250)) >= 0);
+
+        assertEquals(2, deadlines.fireDue().size());
+        assertEquals(1, deadlines.fireDue().size());
+        assertEquals(new ControlDeadlineMetrics(0, 0, 5, 3, deadlines.metrics().fireLag()), deadlines.metrics());
+    }
+
+    @Test
+    void deadlinesWhoseCommandsWereNotSentFireAgainUnderTheirOriginalDeadline() {
+        MutableClock clock = new MutableClock(NOW);
+        ControlDeadlineService deadlines = new ControlDeadlineService(clock);
+        deadlines.observeSessionState("session:deadline-retry-lost", preparingSession("deadline-retry-lost", NOW.plusMillis(100)));
+        deadlines.observeSessionState("session:deadline-retry-sent", preparingSession("deadline-retry-sent", NOW.plusMillis(100)));
+        clock.advance(Duration.ofMillis(200));
+        List<DeadlineTimingWheel.Expired<ControlDeadline>> fired = deadlines.fireDue();
+        assertEquals(2, fired.size());
+        ControlDeadline lost = new ControlDeadline.SessionLease(new SessionId("deadline-retry-lost"));
+        String lostKey = SessionAuthority.aggregateId(new SessionId("deadline-retry-lost")).value();
+        MockProducer<String, byte[]> producer =
+                new MockProducer<String, byte[]>(true, null, new StringSerializer(), new ByteArraySerializer()) {
+                    @Override
+                    public synchronized Future<RecordMetadata> send(ProducerRecord<String, byte[]> record) {
+                        if (record.key().equals(lostKey)) {
+                            throw new IllegalStateException("broker unavailable");
+                        }
+                        return super.send(record);
+                    }
+                };
+
+        commands(7).publish(producer, deadlines, fired, clock.instant());
+
+        assertEquals(1, producer.history().size());
+        assertEquals(1, deadlines.metrics().outstanding());
+        clock.advance(ControlDeadlineService.RETRY_AFTER.minusMillis(100));
+        assertTrue(deadlines.fireDue().isEmpty());
+        clock.advance(Duration.ofMillis(200));
+        assertEquals(
+                List.of(new DeadlineTimingWheel.Expired<>(lost, NOW.plusMillis(100))),
+                deadlines.fireDue());
+
+        deadlines.observeSessionState("session:deadline-retry-lost", preparingSession("deadline-retry-lost", NOW.plusMillis(100)));
+        deadlines.observeSessionState("session:deadline-retry-lost", null);
+        assertEquals(0, deadlines.metrics().outstanding());
+    }
+
+    private static String preparingSession(String sessionId, Instant leaseExpiresAt) {
+        return SessionAuthorityWireCodec.encodeState(new SessionState(new SessionSnapshot(
+                new SessionId(sessionId),
+                new ExperienceId("experience-deadline"),
+                new SlotId("slot-deadline"),
+                new InstanceId("instance-paper-deadline"),
+                new SessionOwnerToken("owner-token-deadline"),
+                1,
+                new ResolvedManifestId("manifest-deadline"),
+                SessionLifecycleStatus.PREPARING,
+                NOW,
+                leaseExpiresAt,
+                Optional.empty(),
+                Optional.empty(),
+                Optional.empty())));
+    }
+
+    private static String statePayload(AuthorityDecision<SessionState, SessionReceipt> decision) {
+        return decision.emissions().stream()
+                .filter(emission -> emission.kind() == AuthorityEmissionKind.STATE)
+                .findFirst()
+                .orElseThrow()
+                .payload();
+    }
+
+    private static ControlDeadlineCommands commands(long fencingEpoch) {
+        return new ControlDeadlineCommands(
+                new HostSecurityContext(
+                        new HostInstanceIdentity(
+                                new InstanceId("instance-controller-deadline"),
+                                "controller-service",
+                                new PoolId("pool-controller"),
+                                new MachineRef("machine-controller-deadline"),
+                                PRINCIPAL),
+                        "service-account:controller-service",
+                        new HostCredentialScope(Set.of())),
+                fencingEpoch,
+                AuthorityWireFormat.BINARY);
+    }
+
+    private static ConsumerRecord<String, String> consumed(ProducerRecord<String, byte[]> record) {
+        return new ConsumerRecord<>(record.topic(), 0, 0, record.key(), new String(record.value(), StandardCharsets.UTF_8));
+    }
+
+    private static RouteAttemptControlCommand<RequestRouteAttempt> requestRouteAttempt(RouteAttemptId routeAttempt) {
+        RequestRouteAttempt payload = new RequestRouteAttempt(
+                routeAttempt,
+                new RouteId("route-deadline"),
+                new SessionId("session-deadline"),
+                new SlotId("slot-deadline"),
+                List.of(new SubjectId(UUID.fromString("55555555-5555-5555-5555-555555555555"))),
+                List.of(new InstanceId("instance-velocity-deadline")),
+                new PresenceId("presence-deadline"),
+                new InstanceId("instance-paper-deadline"),
+                new ResolvedManifestId("manifest-deadline"),
+                NOW,
+                NOW.plusSeconds(30),
+                trace());
+        return new RouteAttemptControlCommand<>(
+                new CommandEnvelope<>(
+                        new CommandId("command-request-" + routeAttempt.value()),
+                        new IdempotencyKey("idem-request-" + routeAttempt.value()),
+                        PRINCIPAL,
+                        ControlRouteNames.aggregateId(routeAttempt),
+                        ControlRouteNames.CONTRACT,
+                        ControlRouteNames.REQUEST_ROUTE_ATTEMPT,
+                        trace(),
+                        Optional.empty(),
+                        payload),
+                PRINCIPAL,
+                1,
+                Optional.empty(),
+                "payload-request-" + routeAttempt.value(),
+                NOW);
+    }
+
+    private static SubmitQueueIntent submitQueueIntent(QueueIntentId queueIntent) {
+        return new SubmitQueueIntent(
+                queueIntent,
+                List.of(new SubjectId(UUID.nameUUIDFromBytes(queueIntent.value().getBytes()))),
+                new ExperienceId("experience-lobby"),
+                Optional.empty(),
+                new PoolId("pool-lobby"),
+                0,
+                NOW,
+                NOW.plusSeconds(30),
+                trace());
+    }
+
+    private static <T extends QueueRosterCommand> QueueRosterControlCommand<T> queueCommand(
+            T payload,
+            CommandName commandName,
+            QueueIntentId queueIntent) {
+        String suffix = commandName.value() + "-" + queueIntent.value();
+        return new QueueRosterControlCommand<>(
+                new CommandEnvelope<>(
+                        new CommandId("command-" + suffix),
+                        new IdempotencyKey("idem-" + suffix),
+                        PRINCIPAL,
+                        ControlQueueNames.aggregateId(payload.partitionKey()),
+                        ControlQueueNames.CONTRACT,
+                        commandName,
+                        trace(),
+                        Optional.empty(),
+                        payload),
+                PRINCIPAL,
+                1,
+                Optional.empty(),
+                "payload-" + suffix,
+                NOW);
+    }
+
+    private static TraceEnvelope trace() {
+        return new TraceEnvelope(
+                "trace-controller-deadline",
+                "span-controller-deadline",
+                Optional.empty(),
+                NOW,
+                "controller-service",
+                new InstanceId("instance-controller-deadline"));
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
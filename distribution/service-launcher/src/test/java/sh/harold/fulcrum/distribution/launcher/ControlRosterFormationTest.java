@@ -0,0 +1,170 @@
+package sh.harold.fulcrum.distribution.launcher;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.Test;
+import sh.harold.fulcrum.api.contract.CommandEnvelope;
+import sh.harold.fulcrum.api.contract.CommandId;
+import sh.harold.fulcrum.api.contract.IdempotencyKey;
+import sh.harold.fulcrum.api.contract.PrincipalId;
+import sh.harold.fulcrum.api.contract.TraceEnvelope;
+import sh.harold.fulcrum.api.kernel.ExperienceId;
+import sh.harold.fulcrum.api.kernel.InstanceId;
+import sh.harold.fulcrum.api.kernel.MachineRef;
+import sh.harold.fulcrum.api.kernel.PoolId;
+import sh.harold.fulcrum.api.kernel.SubjectId;
+import sh.harold.fulcrum.control.queue.ControlQueueNames;
+import sh.harold.fulcrum.control.queue.FormRosterIntent;
+import sh.harold.fulcrum.control.queue.QueueIntentId;
+import sh.harold.fulcrum.control.queue.QueueIntentStatus;
+import sh.harold.fulcrum.control.queue.QueueMatchmakingPolicy;
+import sh.harold.fulcrum.control.queue.QueuePartitionKey;
+import sh.harold.fulcrum.control.queue.QueueRosterControlCommand;
+import sh.harold.fulcrum.control.queue.QueueRosterControlRecord;
+import sh.harold.fulcrum.control.queue.QueueRosterController;
+import sh.harold.fulcrum.control.queue.QueueRosterDecision;
+import sh.harold.fulcrum.control.queue.QueueRosterDecisionStatus;
+import sh.harold.fulcrum.control.queue.SubmitQueueIntent;
+import sh.harold.fulcrum.host.api.HostCredentialScope;
+import sh.harold.fulcrum.host.api.HostInstanceIdentity;
+import sh.harold.fulcrum.host.api.HostSecurityContext;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class ControlRosterFormationTest {
+    private static final Instant NOW = Instant.parse("2026-06-17T12:00:00Z");
+    private static final PrincipalId PRINCIPAL = new PrincipalId("principal-controller-roster");
+    private static final QueuePartitionKey PARTITION_KEY = new QueuePartitionKey(
+            new ExperienceId("experience-arena"), Optional.empty(), new PoolId("pool-arena"));
+
+    @Test
+    void workerPublishesRostersFormedFromObservedStateAndTheControllerAcceptsThem() {
+        ControlRosterFormation formation = formation();
+        QueueRosterController controller = new QueueRosterController();
+        QueueRosterControlRecord record = QueueRosterControlRecord.empty(1);
+        for (String queueIntent : List.of("queue-intent-roster-1", "queue-intent-roster-2")) {
+            record = accepted(controller, record, submit(queueIntent));
+            formation.observeQueueRoster(PARTITION_KEY, record);
+        }
+        MockProducer<String, String> producer =
+                new MockProducer<String, String>(true, null, new StringSerializer(), new StringSerializer());
+        ExternalRosterFormationWorker worker =
+                new ExternalRosterFormationWorker(formation, producer, Clock.fixed(NOW, ZoneOffset.UTC));
+
+        assertTrue(worker.handleNext().isPresent());
+
+        assertEquals(1, producer.history().size());
+        ProducerRecord<String, String> command = producer.history().getFirst();
+        assertEquals(ControlDeadlineCommands.QUEUE_ROSTER_COMMAND_TOPIC, command.topic());
+        QueueRosterDecision formed = controller.handle(
+                ControlCommandWireCodec.decodeQueueRosterCommand(
+                        new ConsumerRecord<>(command.topic(), 0, 0, command.key(), command.value())),
+                record);
+        assertEquals(QueueRosterDecisionStatus.ACCEPTED, formed.status());
+        assertTrue(formed.record().state().queueIntentsWithStatus(QueueIntentStatus.WAITING).isEmpty());
+        assertEquals(2, formation.inFlightIntents());
+
+        formation.observeQueueRoster(PARTITION_KEY, formed.record());
+
+        assertEquals(0, formation.inFlightIntents());
+        assertTrue(worker.handleNext().isEmpty());
+    }
+
+    @Test
+    void rostersThatWereNotAppliedAreFormedAgain() {
+        ControlRosterFormation formation = formation();
+        QueueRosterController controller = new QueueRosterController();
+        QueueRosterControlRecord record = QueueRosterControlRecord.empty(1);
+        for (String queueIntent : List.of("queue-intent-roster-1", "queue-intent-roster-2")) {
+            record = accepted(controller, record, submit(queueIntent));
+            formation.observeQueueRoster(PARTITION_KEY, record);
+        }
+
+        List<FormRosterIntent> lost = formation.formReady(NOW);
+        assertEquals(1, lost.size());
+        assertTrue(formation.formReady(NOW).isEmpty());
+
+        formation.release(lost.getFirst());
+        List<FormRosterIntent> rejected = formation.formReady(NOW.plusSeconds(1));
+        assertEquals(lost.getFirst().queueIntentIds(), rejected.getFirst().queueIntentIds());
+
+        formation.observeQueueRoster(PARTITION_KEY, record);
+        assertTrue(formation.tick(NOW.plusSeconds(2)).isEmpty());
+        List<FormRosterIntent> retried = formation.tick(NOW.plusSeconds(1).plus(ControlRosterFormation.RETRY_AFTER));
+        assertEquals(lost.getFirst().queueIntentIds(), retried.getFirst().queueIntentIds());
+    }
+
+    private static ControlRosterFormation formation() {
+        return new ControlRosterFormation(
+                QueueMatchmakingPolicy.fullRostersOnly(2),
+                new HostSecurityContext(
+                        new HostInstanceIdentity(
+                                new InstanceId("instance-controller-roster"),
+                                "controller-service",
+                                new PoolId("pool-controller"),
+                                new MachineRef("machine-controller-roster"),
+                                PRINCIPAL),
+                        "service-account:controller-service",
+                        new HostCredentialScope(Set.of())),
+                1);
+    }
+
+    private static QueueRosterControlRecord accepted(
+            QueueRosterController controller,
+            QueueRosterControlRecord record,
+            SubmitQueueIntent submit) {
+        String suffix = submit.queueIntentId().value();
+        QueueRosterDecision decision = controller.handle(new QueueRosterControlCommand<>(
+                new CommandEnvelope<>(
+                        new CommandId("command-submit-" + suffix),
+                        new IdempotencyKey("idem-submit-" + suffix),
+                        PRINCIPAL,
+                        ControlQueueNames.aggregateId(PARTITION_KEY),
+                        ControlQueueNames.CONTRACT,
+                        ControlQueueNames.SUBMIT_QUEUE_INTENT,
+                        trace(),
+                        Optional.empty(),
+                        submit),
+                PRINCIPAL,
+                1,
+                Optional.empty(),
+                "payload-submit-" + suffix,
+                NOW), record);
+        assertEquals(QueueRosterDecisionStatus.ACCEPTED, decision.status());
+        return decision.record();
+    }
+
+    private static SubmitQueueIntent submit(String queueIntent) {
+        return new SubmitQueueIntent(
+                new QueueIntentId(queueIntent),
+                List.of(new SubjectId(UUID.nameUUIDFromBytes(queueIntent.getBytes()))),
+                PARTITION_KEY.experienceId(),
+                PARTITION_KEY.modeId(),
+                PARTITION_KEY.poolId(),
+                0,
+                NOW,
+                NOW.plusSeconds(60),
+                trace());
+    }
+
+    private static TraceEnvelope trace() {
+        return new TraceEnvelope(
+                "trace-controller-roster",
+                "span-controller-roster",
+                Optional.empty(),
+                NOW,
+                "controller-service",
+                new InstanceId("instance-controller-roster"));
+    }
+}
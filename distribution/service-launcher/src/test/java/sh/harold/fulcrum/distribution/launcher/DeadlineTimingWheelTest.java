@@ -0,0 +1,99 @@
+package sh.harold.fulcrum.distribution.launcher;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class DeadlineTimingWheelTest {
+    private static final Instant START = Instant.parse("2026-06-18T12:00:00.003Z");
+    private static final Duration TICK = Duration.ofMillis(10);
+
+    @Test
+    void firesEveryDeadlineOnTheFirstAdvancePastItsTickAndNeverEarly() {
+        DeadlineTimingWheel<Integer> wheel = new DeadlineTimingWheel<>(TICK, START);
+        SplittableRandom random = new SplittableRandom(21);
+        Map<Integer, Instant> scheduled = new HashMap<>();
+        // Twenty minutes of deadlines spans three wheel levels, so entries cascade on the way down.
+        for (int key = 0; key < 20_000; key++) {
+            Instant deadline = START.plusNanos(random.nextLong(Duration.ofMinutes(20).toNanos()));
+            wheel.schedule(key, deadline);
+            scheduled.put(key, deadline);
+        }
+
+        Instant previous = START;
+        Instant now = START;
+        int fired = 0;
+        while (fired < scheduled.size()) {
+            now = now.plusMillis(1 + random.nextInt(40));
+            wheel.advance(now);
+            for (DeadlineTimingWheel.Expired<Integer> expired : wheel.pollDue(Integer.MAX_VALUE)) {
+                Instant deadline = scheduled.get(expired.key());
+                assertEquals(deadline, expired.deadline());
+                assertFalse(deadline.isAfter(now));
+                assertTrue(previous.isBefore(tickBoundaryAtOrAfter(deadline)));
+                fired++;
+            }
+            previous = now;
+        }
+        assertEquals(0, wheel.size());
+        assertEquals(0, wheel.dueCount());
+    }
+
+    @Test
+    void reschedulingReplacesTheDeadlineAndCancelledKeysNeverFire() {
+        DeadlineTimingWheel<String> wheel = new DeadlineTimingWheel<>(TICK, START);
+        wheel.schedule("moved", START.plusSeconds(100));
+        wheel.schedule("moved", START.plusMillis(50));
+        wheel.schedule("cancelled", START.plusMillis(40));
+        wheel.schedule("parked", START.plus(Duration.ofDays(365L * 30)));
+
+        assertTrue(wheel.cancel("cancelled"));
+        assertFalse(wheel.cancel("cancelled"));
+        assertNull(wheel.deadline("cancelled"));
+        assertEquals(2, wheel.size());
+
+        wheel.advance(START.plusMillis(60));
+        List<DeadlineTimingWheel.Expired<String>> expired = wheel.pollDue(10);
+        assertEquals(List.of(new DeadlineTimingWheel.Expired<>("moved", START.plusMillis(50))), expired);
+        assertEquals(START.plus(Duration.ofDays(365L * 30)), wheel.deadline("parked"));
+        assertTrue(wheel.cancel("parked"));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void pollDueHandsBackBoundedBatchesInTheOrderDeadlinesFellDue() {
+        DeadlineTimingWheel<Integer> wheel = new DeadlineTimingWheel<>(TICK, START);
+        for (int key = 9; key >= 0; key--) {
+            wheel.schedule(key, START.plusMillis(20L * (key + 1)));
+        }
+        wheel.schedule(99, START.minusSeconds(1));
+
+        wheel.advance(START.plusSeconds(1));
+        assertEquals(11, wheel.dueCount());
+        List<DeadlineTimingWheel.Expired<Integer>> first = wheel.pollDue(4);
+        assertEquals(List.of(99, 0, 1, 2), first.stream().map(DeadlineTimingWheel.Expired::key).toList());
+        assertEquals(7, wheel.dueCount());
+        assertEquals(7, wheel.size());
+
+        assertTrue(wheel.cancel(5));
+        assertEquals(6, wheel.dueCount());
+        assertEquals(List.of(3, 4, 6, 7, 8, 9), wheel.pollDue(100).stream()
+                .map(DeadlineTimingWheel.Expired::key)
+                .toList());
+    }
+
+    private static Instant tickBoundaryAtOrAfter(Instant deadline) {
+        long millis = deadline.toEpochMilli() + (deadline.getNano() % 1_000_000 == 0 ? 0 : 1);
+        return Instant.ofEpochMilli(Math.ceilDiv(millis, TICK.toMillis()) * TICK.toMillis());
+    }
+}
@@ -0,0 +1,100 @@
+package sh.harold.fulcrum.distribution.launcher;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class DurableIdempotencyLedgerTest {
+    private static final String TOPIC = "fulcrum.control.state.queue-roster";
+    private static final TopicPartition PARTITION = new TopicPartition(TOPIC, 0);
+    private static final Instant BASE_TIME = Instant.parse("2026-06-16T12:00:00Z");
+
+    @Test
+    void replayKeepsRecordedAtAndDropsTombstonedEntries() {
+        DurableIdempotencyLedger writer = ledger(List.of(), 0, BASE_TIME);
+        DurableIdempotencyLedger.StoredDecision first = decision("idem-1");
+        DurableIdempotencyLedger.StoredDecision second = decision("idem-2");
+        writer.put(first);
+        writer.put(second);
+        List<ConsumerRecord<String, String>> log = List.of(
+                record(0, DurableIdempotencyLedger.controlStateKey("queue-roster", "idem-1"), writer.encode(first)),
+                record(1, DurableIdempotencyLedger.controlStateKey("queue-roster", "idem-2"), writer.encode(second)),
+                record(2, DurableIdempotencyLedger.controlStateKey("queue-roster", "idem-1"), null));
+
+        DurableIdempotencyLedger replayed = ledger(log, 3, BASE_TIME.plusSeconds(3_600));
+
+        assertEquals(1, replayed.size());
+        assertTrue(replayed.lookup("idem-1").isEmpty());
+        assertEquals(Optional.of(second), replayed.lookup("idem-2"));
+        assertEquals(List.of("idem-2"), replayed.evictRecordedBefore(BASE_TIME.plusSeconds(1)));
+        assertEquals(0, replayed.size());
+    }
+
+    @Test
+    void evictsOnlyEntriesRecordedBeforeTheCutoffInRecordOrder() {
+        DurableIdempotencyLedger writer = ledger(List.of(), 0, BASE_TIME);
+        List<ConsumerRecord<String, String>> log = List.of(
+                record(0, "ctrl.idempotency.queue-roster:idem-1", encoded(writer, "idem-1")),
+                record(1, "ctrl.idempotency.queue-roster:idem-2", encoded(writer, "idem-2")));
+        DurableIdempotencyLedger ledger = ledger(log, 2, BASE_TIME.plusSeconds(60));
+
+        ledger.put(decision("idem-3"));
+        ledger.put(decision("idem-1"));
+
+        assertEquals(List.of("idem-2"), ledger.evictRecordedBefore(BASE_TIME.plusSeconds(60)));
+        assertEquals(List.of(), ledger.evictRecordedBefore(BASE_TIME.plusSeconds(60)));
+        assertEquals(2, ledger.size());
+        assertEquals(List.of("idem-3", "idem-1"), ledger.evictRecordedBefore(BASE_TIME.plusSeconds(61)));
+    }
+
+    private static String encoded(DurableIdempotencyLedger writer, String idempotencyKey) {
+        DurableIdempotencyLedger.StoredDecision decision = decision(idempotencyKey);
+        writer.put(decision);
+        return writer.encode(decision);
+    }
+
+    private static DurableIdempotencyLedger ledger(List<ConsumerRecord<String, String>> log, long endOffset, Instant now) {
+        return DurableIdempotencyLedger.replay(
+                consumer(log, endOffset),
+                TOPIC,
+                Duration.ofMillis(10),
+                DurableIdempotencyLedger.CONTROL_RECORD_TYPE,
+                StateTopicSnapshotStore.disabled(),
+                Clock.fixed(now, ZoneOffset.UTC));
+    }
+
+    private static DurableIdempotencyLedger.StoredDecision decision(String idempotencyKey) {
+        return new DurableIdempotencyLedger.StoredDecision(
+                idempotencyKey,
+                "fingerprint-" + idempotencyKey,
+                "response-key-" + idempotencyKey,
+                "response-value-" + idempotencyKey);
+    }
+
+    private static MockConsumer<String, String> consumer(List<ConsumerRecord<String, String>> log, long endOffset) {
+        MockConsumer<String, String> consumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+        consumer.updatePartitions(TOPIC, List.of(new PartitionInfo(TOPIC, 0, null, null, null)));
+        consumer.updateBeginningOffsets(Map.of(PARTITION, 0L));
+        consumer.updateEndOffsets(Map.of(PARTITION, endOffset));
+        consumer.schedulePollTask(() -> log.forEach(consumer::addRecord));
+        return consumer;
+    }
+
+    private static ConsumerRecord<String, String> record(long offset, String key, String value) {
+        return new ConsumerRecord<>(TOPIC, 0, offset, key, value);
+    }
+}
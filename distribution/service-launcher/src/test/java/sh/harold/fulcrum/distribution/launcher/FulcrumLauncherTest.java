@@ -109,7 +109,10 @@ import sh.harold.fulcrum.data.authority.AuthorityRecord;
 import sh.harold.fulcrum.data.authority.runtime.AuthorityCommandDelivery;
 import sh.harold.fulcrum.data.authority.runtime.AuthorityOffset;
 import sh.harold.fulcrum.data.authority.runtime.AuthorityRecordStore;
+import sh.harold.fulcrum.data.authority.runtime.AuthorityRuntimeReceipt;
 import sh.harold.fulcrum.data.authority.runtime.AuthorityRuntimeWorker;
+import sh.harold.fulcrum.data.authority.runtime.AuthorityShardKey;
+import sh.harold.fulcrum.data.authority.runtime.AuthorityShardedRuntimeSettings;
 import sh.harold.fulcrum.data.store.valkey.ValkeyClientHandle;
 import sh.harold.fulcrum.data.presence.PresenceAuthority;
 import sh.harold.fulcrum.data.route.RouteAuthority;
@@ -135,6 +138,7 @@ import sh.harold.fulcrum.host.api.HostResourceFamily;
 import sh.harold.fulcrum.host.api.HostResourceGrant;
 import sh.harold.fulcrum.host.api.HostSecurityContext;
 import sh.harold.fulcrum.host.api.HostSessionAttachment;
+import sh.harold.fulcrum.host.api.HostWarmAllocationSettings;
 import sh.harold.fulcrum.sdk.authority.AuthorityArtifactVerificationEvidence;
 import sh.harold.fulcrum.sdk.authority.AuthorityBackendRegistrationReceipt;
 import sh.harold.fulcrum.sdk.authority.AuthorityBackendRegistrationRequest;
@@ -817,6 +821,40 @@ final class FulcrumLauncherTest {
         assertTrue(String.join("\n", settings.redactedSummary()).contains("controller-service: agonesAllocatorHostnameVerification=false"));
     }
 
+    @Test
+    void runtimeConnectionSettingsResolveWarmAllocationPools() {
+        Map<String, String> values = allBindingsMap();
+        values.put("FULCRUM_AGONES_WARM_POOLS", "pool-lobby=manifest-lobby-1, pool-arena=manifest-arena-3");
+        values.put("FULCRUM_AGONES_WARM_MINIMUM", "2");
+        values.put("FULCRUM_AGONES_WARM_DEMAND_WINDOW", "PT30S");
+        values.put("FULCRUM_AGONES_WARM_RESERVATION_TTL", "PT5M");
+        LaunchPlan plan = RuntimeEntrypointRegistry.plan(
+                LaunchCommand.parse(new String[]{
+                        "--profile=single-machine",
+                        "--role=controller-service",
+                        "--mode=run"
+                }),
+                Thread.currentThread().getContextClassLoader());
+
+        RuntimeConnectionSettings settings = RuntimeConnectionSettings.resolve(plan, RuntimeEnvironment.of(values));
+
+        RuntimeConnectionSettings.WarmAllocation warm =
+                settings.controller().orElseThrow().warmAllocation().orElseThrow();
+        assertEquals(new HostWarmAllocationSettings(2, 4, Duration.ofSeconds(30), Duration.ofMinutes(5)), warm.pool());
+        assertEquals(
+                List.of(new PoolId("pool-lobby"), new PoolId("pool-arena")),
+                List.copyOf(warm.primed().keySet()));
+        assertEquals(new ResolvedManifestId("manifest-arena-3"), warm.primed().get(new PoolId("pool-arena")));
+        assertTrue(String.join("\n", settings.redactedSummary()).contains(
+                "controller-service: warmAllocation=minimumWarm=2|maximumWarm=4|demandWindow=PT30S|reservationTtl=PT5M"
+                        + "|pools=pool-lobby=manifest-lobby-1,pool-arena=manifest-arena-3"));
+
+        values.put("FULCRUM_AGONES_WARM_POOLS", "pool-lobby");
+        assertThrows(
+                RuntimeConfigurationException.class,
+                () -> RuntimeConnectionSettings.resolve(plan, RuntimeEnvironment.of(values)));
+    }
+
     @Test
     void runtimeConnectionSettingsRejectPartialAgonesAllocatorMtlsBindings() {
         Map<String, String> values = allBindingsMap();
@@ -873,6 +911,10 @@ final class FulcrumLauncherTest {
             assertTrue(summary.contains("controller-service: hostCommandTopic=host.paper.commands"));
             assertTrue(summary.contains("controller-service: hostObservationTopic=host.observation"));
             assertTrue(summary.contains("controller-service: proxyRouteCommandTopic=host.velocity.routes"));
+            assertTrue(summary.contains("controller-service: stateSnapshotDirectory=disabled"));
+            assertTrue(summary.contains("controller-service: queueRosterRetention=PT10M"));
+            assertTrue(summary.contains("controller-service: queueMatchmaking=disabled"));
+            assertTrue(summary.contains("controller-service: warmAllocation=disabled"));
             assertTrue(summary.contains("worker-agent: objectBucket=worker-results"));
             assertTrue(summary.contains("worker-agent: objectStoreMode=local"));
             assertTrue(summary.contains("paper-agent: paperKafkaClient=bootstrapServers=localhost:9092"));
@@ -965,6 +1007,32 @@ final class FulcrumLauncherTest {
         }
     }
 
+    @Test
+    void supervisorMetricsProbeExportsPrometheusText() throws Exception {
+        LaunchCommand command = LaunchCommand.parse(new String[]{
+                "--profile=single-machine",
+                "--role=velocity-agent",
+                "--mode=run",
+                "--probe-host=127.0.0.1",
+                "--probe-port=0"
+        });
+        LaunchPlan plan = RuntimeEntrypointRegistry.plan(command, Thread.currentThread().getContextClassLoader());
+
+        try (FulcrumRuntimeSupervisor supervisor = new FulcrumRuntimeSupervisor(
+                plan,
+                allBindings(),
+                command.probeHost(),
+                command.probePort())) {
+            supervisor.start();
+
+            String body = get("http://127.0.0.1:" + supervisor.probePort() + "/metrics");
+
+            assertTrue(body.contains("# TYPE fulcrum_service_loops_total counter"), body);
+            assertTrue(body.contains("fulcrum_service_loops_total{role=\"velocity-agent\""), body);
+            assertFalse(body.contains("postgres-secret"));
+        }
+    }
+
     @Test
     void supervisorIdentityProbeExposesScopedCredentialsWithoutStoreSecrets() throws Exception {
         LaunchCommand command = LaunchCommand.parse(new String[]{
@@ -1056,6 +1124,34 @@ final class FulcrumLauncherTest {
         assertFalse(engine.ready());
     }
 
+    @Test
+    void authorityRuntimeEngineDoesNotIdleAfterAPassThatOnlyDispatchedWork() throws Exception {
+        AtomicInteger polls = new AtomicInteger();
+        AuthorityRuntimeServiceEngine engine = new AuthorityRuntimeServiceEngine(
+                List.of(new AuthorityWorkerBinding("subject", new AuthorityWorkerPoller() {
+                    @Override
+                    public Optional<AuthorityRuntimeReceipt> handleNext() {
+                        polls.incrementAndGet();
+                        return Optional.empty();
+                    }
+
+                    @Override
+                    public boolean dispatchedWork() {
+                        return polls.get() <= 3;
+                    }
+                })),
+                Duration.ofSeconds(30));
+
+        try {
+            engine.start();
+            awaitTrue(() -> polls.get() >= 4, Duration.ofSeconds(2), "engine idled after a dispatching pass");
+        } finally {
+            engine.close();
+        }
+
+        assertEquals(4, polls.get());
+    }
+
     @Test
     void controllerRuntimeEnginePollsWorkerBindingsUntilStopped() throws Exception {
         AtomicInteger polls = new AtomicInteger();
@@ -1492,6 +1588,48 @@ final class FulcrumLauncherTest {
         assertEquals(List.of(new AuthorityOffset("cmd.subject", 0, 0)), bindings.committedOffsets("subject"));
     }
 
+    @Test
+    void shardedCatalogSubjectWorkerProcessesCommandAndCommitsOnEngineThread() throws Exception {
+        LocalAuthorityRuntimeBindings bindings = new LocalAuthorityRuntimeBindings();
+        AuthorityWorkerCatalog catalog = new AuthorityWorkerCatalog(
+                bindings,
+                19,
+                16,
+                Optional.of(new AuthorityShardedRuntimeSettings(
+                        4,
+                        AuthorityShardKey.AGGREGATE_HASH,
+                        8,
+                        16,
+                        Duration.ofMillis(5),
+                        true)));
+        SubjectId subject = new SubjectId(UUID.fromString("55555555-5555-5555-5555-555555555555"));
+        bindings.enqueue(
+                "subject",
+                new AuthorityCommandDelivery<>(
+                        registerSubjectCommand(subject),
+                        new AuthorityOffset("cmd.subject", 0, 7)));
+        AuthorityRuntimeServiceEngine engine = new AuthorityRuntimeServiceEngine(
+                catalog.workerBindings(),
+                Duration.ofMillis(10));
+
+        try {
+            engine.start();
+            awaitTrue(
+                    () -> !bindings.committedOffsets("subject").isEmpty(),
+                    Duration.ofSeconds(2),
+                    "sharded subject worker did not commit its offset");
+        } finally {
+            engine.close();
+        }
+
+        AuthorityRecord<SubjectState> stored = bindings
+                .<SubjectState>storedRecord("subject", SubjectAuthority.aggregateId(subject))
+                .orElseThrow();
+        assertEquals(new Revision(1), stored.revision());
+        assertEquals(19, stored.fencingEpoch());
+        assertEquals(List.of(new AuthorityOffset("cmd.subject", 0, 0)), bindings.committedOffsets("subject"));
+    }
+
     @Test
     void launcherStartsAsSeparateJavaProcessWithReadinessAndRuntimeProgressProbe() throws Exception {
         int probePort = freePort();
@@ -0,0 +1,167 @@
+package sh.harold.fulcrum.distribution.launcher;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class KafkaStateTopicReplayerTest {
+    private static final String TOPIC = "fulcrum.control.state";
+    private static final TopicPartition PARTITION = new TopicPartition(TOPIC, 0);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void restoresFromTheSnapshotAndReplaysOnlyTheTail() {
+        FileStateTopicSnapshotStore snapshots = new FileStateTopicSnapshotStore(directory);
+        List<ConsumerRecord<String, String>> log = List.of(
+                record(0, "a", "a1"),
+                record(1, "b", "b1"),
+                record(2, "a", "a2"),
+                record(3, "c", "c1"),
+                record(4, "c", null));
+        List<String> first = new ArrayList<>();
+
+        StateTopicReplayMetrics full = KafkaStateTopicReplayer.replay(
+                consumer(log, 5), TOPIC, Duration.ofMillis(10), snapshots, record -> first.add(record.value()));
+
+        assertEquals(Arrays.asList("a1", "b1", "a2", "c1", null), first);
+        assertEquals(0, full.snapshotRecords());
+        assertEquals(5, full.tailRecords());
+        assertTrue(full.completed());
+        assertTrue(full.snapshotWritten());
+        StateTopicSnapshot snapshot = snapshots.load(TOPIC).orElseThrow();
+        assertEquals(Map.of(0, 5L), snapshot.nextOffsets());
+        assertEquals(List.of(
+                new StateTopicSnapshot.Entry(0, 1, "b", "b1"),
+                new StateTopicSnapshot.Entry(0, 2, "a", "a2")), snapshot.entries());
+
+        List<ConsumerRecord<String, String>> grown = new ArrayList<>(log);
+        grown.add(record(5, "d", "d1"));
+        List<String> second = new ArrayList<>();
+
+        StateTopicReplayMetrics restored = KafkaStateTopicReplayer.replay(
+                consumer(grown, 6), TOPIC, Duration.ofMillis(10), snapshots, record -> second.add(record.value()));
+
+        assertEquals(List.of("b1", "a2", "d1"), second);
+        assertEquals(2, restored.snapshotRecords());
+        assertEquals(1, restored.tailRecords());
+        assertEquals(3, restored.replayedRecords());
+        assertFalse(restored.snapshotWritten());
+    }
+
+    @Test
+    void ignoresSnapshotsThatNoLongerMatchTheTopic() throws Exception {
+        FileStateTopicSnapshotStore snapshots = new FileStateTopicSnapshotStore(directory);
+        List<ConsumerRecord<String, String>> log = List.of(record(0, "a", "a1"), record(1, "b", "b1"));
+        snapshots.save(new StateTopicSnapshot(TOPIC, Map.of(0, 9L), List.of(new StateTopicSnapshot.Entry(0, 8, "z", "stale"))));
+        List<String> recreated = new ArrayList<>();
+
+        StateTopicReplayMetrics replay = KafkaStateTopicReplayer.replay(
+                consumer(log, 2), TOPIC, Duration.ofMillis(10), snapshots, record -> recreated.add(record.value()));
+
+        assertEquals(List.of("a1", "b1"), recreated);
+        assertEquals(0, replay.snapshotRecords());
+        assertTrue(replay.snapshotWritten());
+
+        Path file;
+        try (var files = Files.list(directory)) {
+            file = files.filter(path -> path.toString().endsWith(".snapshot")).findFirst().orElseThrow();
+        }
+        Files.writeString(file, "format=1\ntopic=" + TOPIC + "\nentry=0:1");
+        assertTrue(snapshots.load(TOPIC).isEmpty());
+        Files.writeString(file, "format=1\ntopic=another.topic\n");
+        assertTrue(snapshots.load(TOPIC).isEmpty());
+    }
+
+    @Test
+    void tailingWorkersSnapshotTheOffsetsTheyApplyOnceEnoughTimeHasPassed() {
+        FileStateTopicSnapshotStore snapshots = new FileStateTopicSnapshotStore(directory);
+        MutableClock clock = new MutableClock(Instant.parse("2026-06-17T12:00:00Z"));
+        StateTopicSnapshotter snapshotter = new StateTopicSnapshotter(TOPIC, snapshots, clock);
+        KafkaStateTopicReplayer.replay(
+                consumer(List.of(record(0, "a", "a1")), 1), Duration.ofMillis(10), snapshotter, record -> {
+                });
+        assertEquals(Map.of(0, 1L), snapshots.load(TOPIC).orElseThrow().nextOffsets());
+
+        snapshotter.apply(record(1, "a", "a2"));
+        snapshotter.apply(record(2, "b", "b1"));
+        // A redelivered record the snapshotter already moved past must not bring back the older value.
+        snapshotter.apply(record(1, "a", "a2-redelivered"));
+        assertEquals(2, snapshotter.appliedSinceSnapshot());
+        assertFalse(snapshotter.snapshotIfDue());
+
+        clock.advance(StateTopicSnapshotter.SNAPSHOT_EVERY);
+
+        assertTrue(snapshotter.snapshotIfDue());
+        StateTopicSnapshot snapshot = snapshots.load(TOPIC).orElseThrow();
+        assertEquals(Map.of(0, 3L), snapshot.nextOffsets());
+        assertEquals(List.of(
+                new StateTopicSnapshot.Entry(0, 1, "a", "a2"),
+                new StateTopicSnapshot.Entry(0, 2, "b", "b1")), snapshot.entries());
+        assertEquals(0, snapshotter.appliedSinceSnapshot());
+        clock.advance(StateTopicSnapshotter.SNAPSHOT_EVERY);
+        assertFalse(snapshotter.snapshotIfDue());
+    }
+
+    private static MockConsumer<String, String> consumer(List<ConsumerRecord<String, String>> log, long endOffset) {
+        MockConsumer<String, String> consumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+        consumer.updatePartitions(TOPIC, List.of(new PartitionInfo(TOPIC, 0, null, null, null)));
+        consumer.updateBeginningOffsets(Map.of(PARTITION, 0L));
+        consumer.updateEndOffsets(Map.of(PARTITION, endOffset));
+        // Records can only be added once the replayer has assigned the partition.
+        consumer.schedulePollTask(() -> log.forEach(consumer::addRecord));
+        return consumer;
+    }
+
+    private static ConsumerRecord<String, String> record(long offset, String key, String value) {
+        return new ConsumerRecord<>(TOPIC, 0, offset, key, value);
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package sh.harold.fulcrum.distribution.launcher;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class LatencyHistogramTest {
+    @Test
+    void bucketsCoverEveryValueWithinOneSixteenth() {
+        for (long micros = 0; micros < 1_000_000; micros += 7) {
+            long upperBound = LatencyHistogram.upperBound(LatencyHistogram.bucket(micros));
+            assertTrue(upperBound >= micros);
+            assertTrue(upperBound - micros <= Math.max(0, micros / 16));
+        }
+        assertEquals(Long.MAX_VALUE, LatencyHistogram.upperBound(LatencyHistogram.bucket(Long.MAX_VALUE)));
+    }
+
+    @Test
+    void reportsPercentilesCappedAtTheMaximum() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(new LatencySnapshot(0, Duration.ZERO, Duration.ZERO, Duration.ZERO), histogram.snapshot());
+
+        for (int sample = 1; sample <= 100; sample++) {
+            histogram.record(Duration.ofMillis(sample));
+        }
+
+        LatencySnapshot snapshot = histogram.snapshot();
+        assertEquals(100, snapshot.count());
+        assertTrue(snapshot.p50().compareTo(Duration.ofMillis(50)) >= 0);
+        assertTrue(snapshot.p50().compareTo(Duration.ofMillis(50).plusMillis(50 / 16)) <= 0);
+        assertTrue(snapshot.p99().compareTo(Duration.ofMillis(99)) >= 0);
+        assertEquals(Duration.ofMillis(100), snapshot.max());
+        assertTrue(snapshot.p99().compareTo(snapshot.max()) <= 0);
+    }
+}
@@ -1,8 +1,8 @@
 package sh.harold.fulcrum.distribution.launcher;
 
-import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.clients.producer.MockProducer;
 import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
@@ -42,7 +42,7 @@ final class LobbyWorldArtifactProvisionerTest {
         LocalObjectStorageAdapter objectStorage = new LocalObjectStorageAdapter(
                 config.objectStoreRoot(),
                 config.objectBucket());
-        MockProducer<String, String> producer = producer();
+        MockProducer<String, byte[]> producer = producer();
 
         LobbyWorldArtifactProvisioner.Result result = LobbyWorldArtifactProvisioner.provision(
                 config,
@@ -55,12 +55,13 @@ final class LobbyWorldArtifactProvisionerTest {
         assertEquals(result.artifactPin().digest(), result.artifactDigest().value());
         assertEquals(LobbyWorldArtifactProvisioner.defaultArchiveDigest(), result.artifactDigest().value());
         assertArchiveMetadata(archive, result.artifactPin().artifactId().value(), result.artifactPin().compatibility());
-        ProducerRecord<String, String> record = producer.history().getFirst();
+        ProducerRecord<String, byte[]> record = producer.history().getFirst();
         assertEquals("cmd.artifact-metadata", record.topic());
         assertEquals(result.command().envelope().aggregateId().value(), record.key());
 
-        AuthorityCommand<PublishArtifactMetadata> decoded = ArtifactMetadataAuthorityWireCodec.decodeCommand(
-                new ConsumerRecord<>(record.topic(), 0, 0L, record.key(), record.value()));
+        assertEquals(AuthorityWireFormat.BINARY, AuthorityWireFormat.of(record.value()));
+        AuthorityCommand<PublishArtifactMetadata> decoded =
+                ArtifactMetadataAuthorityWireCodec.decodeCommand(record.key(), record.value());
         assertEquals(result.command().envelope().commandId(), decoded.envelope().commandId());
         assertEquals(result.command().envelope().idempotencyKey(), decoded.envelope().idempotencyKey());
         assertEquals(PRINCIPAL, decoded.authenticatedPrincipal());
@@ -112,6 +113,7 @@ final class LobbyWorldArtifactProvisionerTest {
         assertEquals("fulcrum:lobby-bedrock-world:v1", config.provenance());
         assertEquals("kafka:9092", config.kafkaBootstrapServers());
         assertEquals("cmd.artifact-metadata", config.commandTopic());
+        assertEquals(AuthorityWireFormat.TEXT, config.commandWireFormat());
     }
 
     @Test
@@ -122,12 +124,14 @@ final class LobbyWorldArtifactProvisionerTest {
                         "FULCRUM_OBJECT_STORE_ENDPOINT", "http://minio.fulcrum-lobby:9000",
                         "FULCRUM_OBJECT_STORE_ACCESS_KEY", "fulcrum-access",
                         "FULCRUM_OBJECT_STORE_SECRET_KEY", "fulcrum-secret",
-                        "FULCRUM_KAFKA_BOOTSTRAP_SERVERS", "kafka:9092")));
+                        "FULCRUM_KAFKA_BOOTSTRAP_SERVERS", "kafka:9092",
+                        "FULCRUM_AUTHORITY_COMMAND_WIRE_FORMAT", "binary")));
 
         assertEquals(RuntimeConnectionSettings.ObjectStoreMode.S3, config.objectStore().mode());
         RuntimeConnectionSettings.S3ObjectStoreConnection s3 = config.objectStore().s3().orElseThrow();
         assertEquals(java.net.URI.create("http://minio.fulcrum-lobby:9000"), s3.endpoint());
         assertEquals("us-east-1", s3.region());
+        assertEquals(AuthorityWireFormat.BINARY, config.commandWireFormat());
     }
 
     private static LobbyWorldArtifactProvisioner.Config config(Path tempDir) {
@@ -140,11 +144,12 @@ final class LobbyWorldArtifactProvisionerTest {
                 "unused:9092",
                 "cmd.artifact-metadata",
                 PRINCIPAL,
-                INSTANCE);
+                INSTANCE,
+                AuthorityWireFormat.BINARY);
     }
 
-    private static MockProducer<String, String> producer() {
-        return new MockProducer<>(true, null, new StringSerializer(), new StringSerializer());
+    private static MockProducer<String, byte[]> producer() {
+        return new MockProducer<>(true, null, new StringSerializer(), new ByteArraySerializer());
     }
 
     private static void assertArchiveMetadata(byte[] archive, String artifactId, String compatibility) throws Exception {
@@ -0,0 +1,107 @@
+package sh.harold.fulcrum.distribution.launcher;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.Test;
+import sh.harold.fulcrum.api.contract.CommandEnvelope;
+import sh.harold.fulcrum.api.contract.CommandId;
+import sh.harold.fulcrum.api.contract.CommandName;
+import sh.harold.fulcrum.api.contract.ContractName;
+import sh.harold.fulcrum.api.contract.IdempotencyKey;
+import sh.harold.fulcrum.api.contract.PrincipalId;
+import sh.harold.fulcrum.api.contract.Revision;
+import sh.harold.fulcrum.api.contract.TraceEnvelope;
+import sh.harold.fulcrum.api.kernel.InstanceId;
+import sh.harold.fulcrum.api.kernel.PresenceId;
+import sh.harold.fulcrum.api.kernel.SessionId;
+import sh.harold.fulcrum.api.kernel.SubjectId;
+import sh.harold.fulcrum.data.authority.AuthorityCommand;
+import sh.harold.fulcrum.data.authority.InMemoryIdempotencyLedger;
+import sh.harold.fulcrum.data.presence.ClaimPresence;
+import sh.harold.fulcrum.data.presence.PresenceAuthority;
+import sh.harold.fulcrum.data.presence.PresenceCommand;
+import sh.harold.fulcrum.data.presence.PresenceOwnerToken;
+import sh.harold.fulcrum.data.presence.PresenceReceipt;
+import sh.harold.fulcrum.data.presence.PresenceState;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class PresenceAuthorityWireCodecTest {
+    private static final Instant NOW = Instant.parse("2026-06-17T12:00:00Z");
+    private static final SubjectId SUBJECT =
+            new SubjectId(UUID.fromString("cccccccc-cccc-cccc-cccc-cccccccccccc"));
+    private static final PrincipalId PRINCIPAL = new PrincipalId("principal-presence-runtime");
+
+    @Test
+    void commandPayloadRoundTripsThroughKafkaRecordWireFormat() {
+        AuthorityCommand<PresenceCommand> command = claimCommand();
+
+        AuthorityCommand<PresenceCommand> decoded = PresenceAuthorityWireCodec.decodeCommand(
+                new ConsumerRecord<>(
+                        "cmd.presence",
+                        0,
+                        12L,
+                        command.envelope().aggregateId().value(),
+                        PresenceAuthorityWireCodec.encodeCommand(command)));
+
+        assertEquals(command, decoded);
+    }
+
+    @Test
+    void binaryFramesRoundTripAndTextPayloadsRemainDecodable() {
+        AuthorityCommand<PresenceCommand> command = claimCommand();
+        String key = command.envelope().aggregateId().value();
+        byte[] binary = PresenceAuthorityWireCodec.encodeCommand(command, AuthorityWireFormat.BINARY);
+        byte[] text = PresenceAuthorityWireCodec.encodeCommand(command, AuthorityWireFormat.TEXT);
+
+        assertEquals(AuthorityWireFormat.BINARY, AuthorityWireFormat.of(binary));
+        assertEquals(command, PresenceAuthorityWireCodec.decodeCommand(key, binary));
+        assertEquals(command, PresenceAuthorityWireCodec.decodeCommand(key, text));
+        assertTrue(binary.length < text.length, () -> binary.length + " binary bytes vs " + text.length + " text bytes");
+
+        var decision = new PresenceAuthority(new InMemoryIdempotencyLedger<PresenceState, PresenceReceipt>())
+                .handle(command, PresenceAuthority.emptyRecord(7));
+        assertEquals(decision.state(), PresenceAuthorityWireCodec.decodeState(
+                PresenceAuthorityWireCodec.encodeState(decision.state(), AuthorityWireFormat.BINARY)));
+        assertEquals(decision.response(), PresenceAuthorityWireCodec.decodeReceipt(
+                PresenceAuthorityWireCodec.encodeReceipt(decision.response(), AuthorityWireFormat.BINARY)));
+    }
+
+    private static AuthorityCommand<PresenceCommand> claimCommand() {
+        ClaimPresence payload = new ClaimPresence(
+                new PresenceId("presence-codec-test"),
+                SUBJECT,
+                new InstanceId("instance-paper-codec-test"),
+                new PresenceOwnerToken("presence-owner-token-codec-test"),
+                Optional.of(new SessionId("session-codec-test")),
+                Optional.empty(),
+                NOW,
+                NOW.plusSeconds(30));
+        return new AuthorityCommand<>(
+                new CommandEnvelope<>(
+                        new CommandId("command-claim-presence"),
+                        new IdempotencyKey("idem-claim-presence"),
+                        PRINCIPAL,
+                        PresenceAuthority.aggregateId(SUBJECT),
+                        new ContractName(PresenceAuthorityWireCodec.CONTRACT),
+                        new CommandName(PresenceAuthorityWireCodec.CLAIM_COMMAND),
+                        new TraceEnvelope(
+                                "trace-presence-runtime",
+                                "span-presence-runtime",
+                                Optional.empty(),
+                                NOW,
+                                "authority-service",
+                                new InstanceId("instance-authority-service")),
+                        Optional.of(NOW.plusSeconds(30)),
+                        payload),
+                PRINCIPAL,
+                7,
+                Optional.of(new Revision(0)),
+                "payload-claim-presence",
+                NOW);
+    }
+}
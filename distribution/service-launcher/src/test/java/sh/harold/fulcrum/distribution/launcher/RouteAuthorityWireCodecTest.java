@@ -30,6 +30,7 @@ import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 final class RouteAuthorityWireCodecTest {
     private static final Instant NOW = Instant.parse("2026-06-17T12:00:00Z");
@@ -82,7 +83,27 @@ final class RouteAuthorityWireCodecTest {
         assertEquals("trace-route-runtime", decoded.decision().traceEnvelope().traceId());
     }
 
-    private static AuthorityCommand<RouteCommand> openCommand() {
+    @Test
+    void binaryFramesRoundTripAndTextPayloadsRemainDecodable() {
+        AuthorityCommand<RouteCommand> command = openCommand();
+        String key = command.envelope().aggregateId().value();
+        byte[] binary = RouteAuthorityWireCodec.encodeCommand(command, AuthorityWireFormat.BINARY);
+        byte[] text = RouteAuthorityWireCodec.encodeCommand(command, AuthorityWireFormat.TEXT);
+
+        assertEquals(AuthorityWireFormat.BINARY, AuthorityWireFormat.of(binary));
+        assertEquals(command, RouteAuthorityWireCodec.decodeCommand(key, binary));
+        assertEquals(command, RouteAuthorityWireCodec.decodeCommand(key, text));
+        assertTrue(binary.length < text.length, () -> binary.length + " binary bytes vs " + text.length + " text bytes");
+
+        var decision = new RouteAuthority(new InMemoryIdempotencyLedger<RouteState, RouteReceipt>())
+                .handle(command, RouteAuthority.emptyRecord(7));
+        assertEquals(decision.state(), RouteAuthorityWireCodec.decodeState(
+                RouteAuthorityWireCodec.encodeState(decision.state(), AuthorityWireFormat.BINARY)));
+        assertEquals(decision.response(), RouteAuthorityWireCodec.decodeReceipt(
+                RouteAuthorityWireCodec.encodeReceipt(decision.response(), AuthorityWireFormat.BINARY)));
+    }
+
+    static AuthorityCommand<RouteCommand> openCommand() {
         OpenRoute payload = new OpenRoute(
                 ROUTE,
                 SUBJECT,
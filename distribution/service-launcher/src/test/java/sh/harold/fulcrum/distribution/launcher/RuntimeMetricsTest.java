@@ -0,0 +1,112 @@
+package sh.harold.fulcrum.distribution.launcher;
+
+import org.junit.jupiter.api.Test;
+import sh.harold.fulcrum.api.contract.AggregateId;
+import sh.harold.fulcrum.data.authority.AuthorityEmission;
+import sh.harold.fulcrum.data.authority.AuthorityRecord;
+import sh.harold.fulcrum.data.authority.runtime.AuthorityEmissionMetrics;
+import sh.harold.fulcrum.data.authority.runtime.AuthorityEmissionSink;
+import sh.harold.fulcrum.data.authority.runtime.AuthorityRecordStore;
+import sh.harold.fulcrum.data.authority.runtime.CachedAuthorityRecordStore;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class RuntimeMetricsTest {
+    @Test
+    void exportsCountersGaugesAndHistogramsInPrometheusTextFormat() {
+        RuntimeMetrics metrics = new RuntimeMetrics();
+        LongAdder handled = metrics.counter("fulcrum_test_commands_total", "Commands handled.", "domain", "route-attempt");
+        LatencyHistogram stage = metrics.histogram(
+                "fulcrum_test_stage_seconds", "Stage latency.", "domain", "route-attempt", "stage", "handle");
+        metrics.gauge("fulcrum_test_backlog", "Backlog.", () -> 3.0d);
+        handled.add(2);
+        stage.record(Duration.ofMillis(4));
+        stage.record(Duration.ofMillis(6));
+        stage.record(Duration.ofSeconds(30));
+
+        String text = metrics.prometheusText();
+
+        assertTrue(text.contains("# TYPE fulcrum_test_commands_total counter\nfulcrum_test_commands_total{domain=\"route-attempt\"} 2\n"), text);
+        assertTrue(text.contains("# TYPE fulcrum_test_backlog gauge\nfulcrum_test_backlog 3.0\n"), text);
+        assertTrue(text.contains("# TYPE fulcrum_test_stage_seconds histogram\n"), text);
+        assertTrue(text.contains("fulcrum_test_stage_seconds_bucket{domain=\"route-attempt\",stage=\"handle\",le=\"0.0025\"} 0\n"), text);
+        assertTrue(text.contains("fulcrum_test_stage_seconds_bucket{domain=\"route-attempt\",stage=\"handle\",le=\"0.005\"} 1\n"), text);
+        assertTrue(text.contains("fulcrum_test_stage_seconds_bucket{domain=\"route-attempt\",stage=\"handle\",le=\"0.01\"} 2\n"), text);
+        assertTrue(text.contains("fulcrum_test_stage_seconds_bucket{domain=\"route-attempt\",stage=\"handle\",le=\"10\"} 2\n"), text);
+        assertTrue(text.contains("fulcrum_test_stage_seconds_bucket{domain=\"route-attempt\",stage=\"handle\",le=\"+Inf\"} 3\n"), text);
+        assertTrue(text.contains("fulcrum_test_stage_seconds_sum{domain=\"route-attempt\",stage=\"handle\"} 30.01\n"), text);
+        assertTrue(text.contains("fulcrum_test_stage_seconds_count{domain=\"route-attempt\",stage=\"handle\"} 3\n"), text);
+    }
+
+    @Test
+    void exportsAuthorityRecordCacheAndEmissionSinkCountersWhenScraped() {
+        RuntimeMetrics metrics = new RuntimeMetrics();
+        AuthorityEmissionMetrics[] emitted = {AuthorityEmissionMetrics.EMPTY};
+        AuthorityEmissionSink sink = new AuthorityEmissionSink() {
+            @Override
+            public void publish(AuthorityEmission emission) {
+            }
+
+            @Override
+            public AuthorityEmissionMetrics metrics() {
+                return emitted[0];
+            }
+        };
+        CachedAuthorityRecordStore<String> cache = new CachedAuthorityRecordStore<>(new AuthorityRecordStore<>() {
+            @Override
+            public AuthorityRecord<String> load(AggregateId aggregateId) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public void store(AggregateId aggregateId, AuthorityRecord<String> record) {
+            }
+        }, 16);
+        AuthorityRuntimeMetrics.exportRecordCache(metrics, "route", cache);
+        AuthorityRuntimeMetrics.exportEmissions(metrics, "route", sink);
+
+        emitted[0] = new AuthorityEmissionMetrics(5, 1, 2, Duration.ofMillis(60), Duration.ofMillis(40));
+        String text = metrics.prometheusText();
+
+        assertTrue(text.contains("fulcrum_authority_record_cache_hits_total{domain=\"route\"} 0\n"), text);
+        assertTrue(text.contains("fulcrum_authority_record_cache_invalidations_total{domain=\"route\"} 0\n"), text);
+        assertTrue(text.contains("fulcrum_authority_record_cache_entries{domain=\"route\"} 0.0\n"), text);
+        assertTrue(text.contains("fulcrum_authority_emissions_total{domain=\"route\",outcome=\"published\"} 5\n"), text);
+        assertTrue(text.contains("fulcrum_authority_emissions_total{domain=\"route\",outcome=\"failed\"} 1\n"), text);
+        assertTrue(text.contains("fulcrum_authority_emissions_in_flight{domain=\"route\"} 2.0\n"), text);
+        assertTrue(text.contains("fulcrum_authority_emission_latency_average_seconds{domain=\"route\"} 0.01\n"), text);
+        assertTrue(text.contains("fulcrum_authority_emission_latency_max_seconds{domain=\"route\"} 0.04\n"), text);
+    }
+
+    @Test
+    void registeringTheSameSeriesTwiceReturnsTheSameInstrument() {
+        RuntimeMetrics metrics = new RuntimeMetrics();
+
+        LongAdder first = metrics.counter("fulcrum_test_total", "Test.", "domain", "a");
+        LongAdder second = metrics.counter("fulcrum_test_total", "Test.", "domain", "a");
+        LongAdder other = metrics.counter("fulcrum_test_total", "Test.", "domain", "b");
+
+        assertSame(first, second);
+        assertEquals(2, metrics.prometheusText().lines().filter(line -> line.startsWith("fulcrum_test_total{")).count());
+        assertNotSame(first, other);
+    }
+
+    @Test
+    void rejectsConflictingTypesAndMalformedLabels() {
+        RuntimeMetrics metrics = new RuntimeMetrics();
+        metrics.counter("fulcrum_test_total", "Test.");
+
+        assertThrows(IllegalArgumentException.class, () -> metrics.histogram("fulcrum_test_total", "Test."));
+        assertThrows(IllegalArgumentException.class, () -> metrics.counter("fulcrum-test", "Test."));
+        assertThrows(IllegalArgumentException.class, () -> metrics.counter("fulcrum_other_total", "Test.", "domain"));
+        assertThrows(IllegalArgumentException.class, () -> metrics.histogram("fulcrum_seconds", "Test.", "quantile", "0.5"));
+        assertThrows(IllegalArgumentException.class, () -> metrics.histogram("fulcrum_seconds", "Test.", "le", "0.5"));
+    }
+}
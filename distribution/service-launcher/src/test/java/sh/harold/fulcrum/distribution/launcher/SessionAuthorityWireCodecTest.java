@@ -31,6 +31,7 @@ import java.time.Instant;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 final class SessionAuthorityWireCodecTest {
     private static final Instant NOW = Instant.parse("2026-06-17T12:00:00Z");
@@ -79,7 +80,28 @@ final class SessionAuthorityWireCodecTest {
         assertEquals("trace-session-runtime", decoded.decision().traceEnvelope().traceId());
     }
 
-    private static AuthorityCommand<SessionCommand> openCommand() {
+    @Test
+    void binaryFramesRoundTripAndTextPayloadsRemainDecodable() {
+        AuthorityCommand<SessionCommand> command = openCommand();
+        String key = command.envelope().aggregateId().value();
+        byte[] binary = SessionAuthorityWireCodec.encodeCommand(command, AuthorityWireFormat.BINARY);
+        byte[] text = SessionAuthorityWireCodec.encodeCommand(command, AuthorityWireFormat.TEXT);
+
+        assertEquals(AuthorityWireFormat.BINARY, AuthorityWireFormat.of(binary));
+        assertEquals(AuthorityWireFormat.TEXT, AuthorityWireFormat.of(text));
+        assertEquals(command, SessionAuthorityWireCodec.decodeCommand(key, binary));
+        assertEquals(command, SessionAuthorityWireCodec.decodeCommand(key, text));
+        assertTrue(binary.length < text.length, () -> binary.length + " binary bytes vs " + text.length + " text bytes");
+
+        var decision = new SessionAuthority(new InMemoryIdempotencyLedger<SessionState, SessionReceipt>())
+                .handle(command, SessionAuthority.emptyRecord(7));
+        assertEquals(decision.state(), SessionAuthorityWireCodec.decodeState(
+                SessionAuthorityWireCodec.encodeState(decision.state(), AuthorityWireFormat.BINARY)));
+        assertEquals(decision.response(), SessionAuthorityWireCodec.decodeReceipt(
+                SessionAuthorityWireCodec.encodeReceipt(decision.response(), AuthorityWireFormat.BINARY)));
+    }
+
+    static AuthorityCommand<SessionCommand> openCommand() {
         OpenSession payload = new OpenSession(
                 SESSION,
                 new ExperienceId("experience-codec-test"),
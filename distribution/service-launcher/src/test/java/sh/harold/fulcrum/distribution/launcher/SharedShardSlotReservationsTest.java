@@ -0,0 +1,89 @@
+package sh.harold.fulcrum.distribution.launcher;
+
+import org.junit.jupiter.api.Test;
+import sh.harold.fulcrum.api.kernel.PresenceId;
+import sh.harold.fulcrum.api.kernel.SessionId;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class SharedShardSlotReservationsTest {
+    private static final SessionId SESSION = new SessionId("session-lobby-shared");
+    private static final Instant NOW = Instant.parse("2026-06-16T12:00:00Z");
+
+    @Test
+    void concurrentLoginsNeverHoldMoreThanHardCapacity() throws Exception {
+        SharedShardSlotReservations reservations = new SharedShardSlotReservations();
+        int threads = 8;
+        int attemptsPerThread = 500;
+        int hardCapacity = 100;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> admitted = new ArrayList<>();
+        try {
+            for (int thread = 0; thread < threads; thread++) {
+                int offset = thread * attemptsPerThread;
+                admitted.add(executor.submit(() -> {
+                    start.await();
+                    int granted = 0;
+                    for (int attempt = 0; attempt < attemptsPerThread; attempt++) {
+                        if (reservations.tryReserve(SESSION, presence(offset + attempt), hardCapacity, NOW)) {
+                            granted++;
+                        }
+                    }
+                    return granted;
+                }));
+            }
+            start.countDown();
+            int total = 0;
+            for (Future<Integer> future : admitted) {
+                total += future.get(30, TimeUnit.SECONDS);
+            }
+
+            assertEquals(hardCapacity, total);
+            assertEquals(hardCapacity, reservations.held(SESSION));
+            assertEquals(hardCapacity, reservations.pending(SESSION));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void confirmedSlotsStayHeldWhileReleasedAndLapsedSlotsReturn() {
+        SharedShardSlotReservations reservations = new SharedShardSlotReservations(Duration.ofSeconds(10));
+
+        assertTrue(reservations.tryReserve(SESSION, presence(1), 3, NOW));
+        assertTrue(reservations.tryReserve(SESSION, presence(1), 3, NOW));
+        assertTrue(reservations.tryReserve(SESSION, presence(2), 3, NOW));
+        reservations.confirm(SESSION, presence(1));
+        reservations.confirm(SESSION, presence(3));
+
+        assertEquals(3, reservations.held(SESSION));
+        assertEquals(1, reservations.pending(SESSION));
+        assertFalse(reservations.tryReserve(SESSION, presence(4), 3, NOW.plusSeconds(9)));
+
+        assertTrue(reservations.tryReserve(SESSION, presence(4), 3, NOW.plusSeconds(10)));
+        reservations.release(SESSION, presence(4));
+        reservations.release(SESSION, presence(4));
+
+        assertEquals(2, reservations.held(SESSION));
+        assertEquals(0, reservations.pending(SESSION));
+        assertThrows(IllegalArgumentException.class, () -> new SharedShardSlotReservations(Duration.ZERO));
+    }
+
+    private static PresenceId presence(int index) {
+        return new PresenceId("presence-velocity-login-" + index);
+    }
+}
@@ -31,6 +31,7 @@ import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 final class SubjectAuthorityWireCodecTest {
     private static final Instant NOW = Instant.parse("2026-06-17T12:00:00Z");
@@ -80,6 +81,26 @@ final class SubjectAuthorityWireCodecTest {
         assertEquals("trace-subject-runtime", decoded.decision().traceEnvelope().traceId());
     }
 
+    @Test
+    void binaryFramesRoundTripAndTextPayloadsRemainDecodable() {
+        AuthorityCommand<SubjectCommand> command = registerCommand();
+        String key = command.envelope().aggregateId().value();
+        byte[] binary = SubjectAuthorityWireCodec.encodeCommand(command, AuthorityWireFormat.BINARY);
+        byte[] text = SubjectAuthorityWireCodec.encodeCommand(command, AuthorityWireFormat.TEXT);
+
+        assertEquals(AuthorityWireFormat.BINARY, AuthorityWireFormat.of(binary));
+        assertEquals(command, SubjectAuthorityWireCodec.decodeCommand(key, binary));
+        assertEquals(command, SubjectAuthorityWireCodec.decodeCommand(key, text));
+        assertTrue(binary.length < text.length, () -> binary.length + " binary bytes vs " + text.length + " text bytes");
+
+        var decision = new SubjectAuthority(new InMemoryIdempotencyLedger<SubjectState, SubjectReceipt>())
+                .handle(command, SubjectAuthority.emptyRecord(7));
+        assertEquals(decision.state(), SubjectAuthorityWireCodec.decodeState(
+                SubjectAuthorityWireCodec.encodeState(decision.state(), AuthorityWireFormat.BINARY)));
+        assertEquals(decision.response(), SubjectAuthorityWireCodec.decodeReceipt(
+                SubjectAuthorityWireCodec.encodeReceipt(decision.response(), AuthorityWireFormat.BINARY)));
+    }
+
     private static AuthorityCommand<SubjectCommand> registerCommand() {
         RegisterSubject payload = new RegisterSubject(
                 SUBJECT,
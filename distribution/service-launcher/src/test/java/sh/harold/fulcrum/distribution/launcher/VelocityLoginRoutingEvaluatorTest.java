@@ -1,21 +1,35 @@
 package sh.harold.fulcrum.distribution.launcher;
 
 import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
 import org.apache.kafka.clients.producer.MockProducer;
 import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.junit.jupiter.api.Test;
+import sh.harold.fulcrum.api.contract.CommandPayload;
 import sh.harold.fulcrum.api.contract.PrincipalId;
 import sh.harold.fulcrum.api.contract.TraceEnvelope;
 import sh.harold.fulcrum.api.kernel.ExperienceId;
 import sh.harold.fulcrum.api.kernel.InstanceId;
 import sh.harold.fulcrum.api.kernel.MachineRef;
 import sh.harold.fulcrum.api.kernel.PoolId;
+import sh.harold.fulcrum.api.kernel.PresenceId;
 import sh.harold.fulcrum.api.kernel.ResolvedManifestId;
 import sh.harold.fulcrum.api.kernel.SessionId;
 import sh.harold.fulcrum.api.kernel.SlotId;
 import sh.harold.fulcrum.api.kernel.SubjectId;
 import sh.harold.fulcrum.control.allocation.SharedShardAllocationRequest;
+import sh.harold.fulcrum.control.instance.ExperienceShape;
+import sh.harold.fulcrum.control.instance.SharedShardExperienceDescriptor;
+import sh.harold.fulcrum.control.instance.SharedShardPlacementCandidate;
+import sh.harold.fulcrum.control.instance.SharedShardPlacementController;
+import sh.harold.fulcrum.control.instance.SharedShardPlacementDecision;
+import sh.harold.fulcrum.control.instance.SharedShardPlacementDecisionStatus;
+import sh.harold.fulcrum.control.instance.SharedShardPlacementRequest;
+import sh.harold.fulcrum.control.instance.SharedShardPoolDescriptor;
 import sh.harold.fulcrum.control.lifecycle.LifecyclePhase;
 import sh.harold.fulcrum.control.lifecycle.LifecycleTraceControlCommand;
 import sh.harold.fulcrum.control.lifecycle.RecordLifecycleObservation;
@@ -33,6 +47,7 @@ import sh.harold.fulcrum.data.presence.ClaimPresence;
 import sh.harold.fulcrum.data.presence.PresenceCommand;
 import sh.harold.fulcrum.data.route.contract.OpenRoute;
 import sh.harold.fulcrum.data.route.contract.RouteCommand;
+import sh.harold.fulcrum.data.store.kafka.KafkaAuthorityCommandSource;
 import sh.harold.fulcrum.host.api.HostAccessMode;
 import sh.harold.fulcrum.host.api.HostAllocationClaim;
 import sh.harold.fulcrum.host.api.HostCredentialScope;
@@ -47,17 +62,24 @@ import sh.harold.fulcrum.host.velocity.VelocityLoginGateDecision;
 import sh.harold.fulcrum.host.velocity.VelocityLoginGateRequest;
 
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Random;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.BiFunction;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 final class VelocityLoginRoutingEvaluatorTest {
@@ -69,7 +91,7 @@ final class VelocityLoginRoutingEvaluatorTest {
 
     @Test
     void allowedLoginPublishesPresencePlacementAndRouteAttemptCommandsWhenAllocationCandidateExists() {
-        MockProducer<String, String> producer = producer();
+        MockProducer<String, byte[]> producer = producer();
         VelocitySharedShardAllocationRegistry allocations = new VelocitySharedShardAllocationRegistry();
         allocations.record(allocation());
         VelocityLoginRoutingEvaluator evaluator = new VelocityLoginRoutingEvaluator(
@@ -86,7 +108,7 @@ final class VelocityLoginRoutingEvaluatorTest {
                 NOW));
 
         assertTrue(decision.allowed());
-        List<ProducerRecord<String, String>> records = producer.history();
+        List<ProducerRecord<String, byte[]>> records = producer.history();
         assertEquals(12, records.size());
         assertEquals("ctrl.cmd.queue-roster", records.get(0).topic());
         assertEquals("ctrl.cmd.queue-roster", records.get(1).topic());
@@ -118,7 +140,9 @@ final class VelocityLoginRoutingEvaluatorTest {
         assertEquals(List.of(submit.queueIntentId()), form.queueIntentIds());
         assertEquals(1, form.maxSubjects());
 
-        AuthorityCommand<PresenceCommand> presenceCommand = PresenceAuthorityWireCodec.decodeCommand(record(records.get(2)));
+        assertEquals(AuthorityWireFormat.BINARY, AuthorityWireFormat.of(records.get(2).value()));
+        AuthorityCommand<PresenceCommand> presenceCommand =
+                PresenceAuthorityWireCodec.decodeCommand(records.get(2).key(), records.get(2).value());
         ClaimPresence claim = assertInstanceOf(ClaimPresence.class, presenceCommand.envelope().payload());
         assertEquals(SUBJECT, claim.subjectId());
         assertEquals(Optional.of(new SessionId("session-lobby-shared")), claim.sessionId());
@@ -135,7 +159,8 @@ final class VelocityLoginRoutingEvaluatorTest {
         assertEquals(new SessionId("session-lobby-shared"), placement.candidates().getFirst().occupancySnapshot().sessionId());
         assertEquals(new SlotId("slot-lobby-shared"), placement.candidates().getFirst().occupancySnapshot().slotId());
 
-        AuthorityCommand<RouteCommand> routeCommand = RouteAuthorityWireCodec.decodeCommand(record(records.get(4)));
+        AuthorityCommand<RouteCommand> routeCommand =
+                RouteAuthorityWireCodec.decodeCommand(records.get(4).key(), records.get(4).value());
         OpenRoute openRoute = assertInstanceOf(OpenRoute.class, routeCommand.envelope().payload());
         assertEquals(SUBJECT, openRoute.subjectId());
         assertEquals(new SessionId("session-lobby-shared"), openRoute.targetSessionId());
@@ -184,9 +209,95 @@ final class VelocityLoginRoutingEvaluatorTest {
                 routeTrace.envelope().payload().aggregateId());
     }
 
+    @Test
+    void binaryAuthorityCommandsReachTheAuthorityCommandSourceAsTheirTextEquivalents() {
+        List<ProducerRecord<String, byte[]>> binary = admittedLoginRecords(AuthorityWireFormat.BINARY);
+        List<ProducerRecord<String, byte[]>> text = admittedLoginRecords(AuthorityWireFormat.TEXT);
+        assertEquals(text.size(), binary.size());
+        for (int index = 0; index < binary.size(); index++) {
+            assertEquals(text.get(index).topic(), binary.get(index).topic());
+            assertEquals(text.get(index).key(), binary.get(index).key());
+        }
+
+        assertEquals(AuthorityWireFormat.BINARY, AuthorityWireFormat.of(binary.get(2).value()));
+        assertEquals(AuthorityWireFormat.TEXT, AuthorityWireFormat.of(text.get(2).value()));
+        assertEquals(
+                consumedCommand(text.get(2), PresenceAuthorityWireCodec::decodeCommand),
+                consumedCommand(binary.get(2), PresenceAuthorityWireCodec::decodeCommand));
+        assertEquals(AuthorityWireFormat.BINARY, AuthorityWireFormat.of(binary.get(4).value()));
+        assertEquals(AuthorityWireFormat.TEXT, AuthorityWireFormat.of(text.get(4).value()));
+        assertEquals(
+                consumedCommand(text.get(4), RouteAuthorityWireCodec::decodeCommand),
+                consumedCommand(binary.get(4), RouteAuthorityWireCodec::decodeCommand));
+        assertEquals(
+                new String(text.get(3).value(), StandardCharsets.UTF_8),
+                new String(binary.get(3).value(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void asyncLoginCompletesOnItsOwnAcknowledgementsWithoutFlushingOthers() {
+        MockProducer<String, byte[]> producer =
+                new MockProducer<String, byte[]>(false, null, new StringSerializer(), new ByteArraySerializer());
+        VelocitySharedShardAllocationRegistry allocations = new VelocitySharedShardAllocationRegistry();
+        allocations.record(allocation());
+        VelocityLoginRoutingEvaluator evaluator = new VelocityLoginRoutingEvaluator(
+                request -> VelocityLoginGateDecision.allowed(request.subjectId()),
+                producer,
+                securityContext(),
+                settings(),
+                allocations);
+
+        CompletableFuture<VelocityLoginGateDecision> decision = evaluator.evaluateAsync(new VelocityLoginGateRequest(
+                SUBJECT,
+                "FulcrumBotOne",
+                "lobby-login",
+                NOW));
+
+        assertEquals(12, producer.history().size());
+        assertFalse(decision.isDone());
+        while (producer.completeNext()) {
+            assertFalse(producer.flushed());
+        }
+        assertTrue(decision.join().allowed());
+        assertEquals(1, evaluator.latency().count());
+    }
+
+    @Test
+    void failedPublishReleasesTheReservedSlot() {
+        MockProducer<String, byte[]> producer =
+                new MockProducer<String, byte[]>(false, null, new StringSerializer(), new ByteArraySerializer());
+        VelocitySharedShardAllocationRegistry allocations = new VelocitySharedShardAllocationRegistry();
+        allocations.record(allocation());
+        VelocityLoginRoutingEvaluator evaluator = new VelocityLoginRoutingEvaluator(
+                request -> VelocityLoginGateDecision.allowed(request.subjectId()),
+                producer,
+                securityContext(),
+                settings(1),
+                allocations);
+
+        CompletableFuture<VelocityLoginGateDecision> failed = evaluator.evaluateAsync(new VelocityLoginGateRequest(
+                SUBJECT,
+                "FulcrumBotOne",
+                "lobby-login",
+                NOW));
+        producer.errorNext(new IllegalStateException("broker unavailable"));
+        acknowledgePending(producer);
+        CompletableFuture<VelocityLoginGateDecision> retried = evaluator.evaluateAsync(new VelocityLoginGateRequest(
+                SECOND_SUBJECT,
+                "FulcrumBotTwo",
+                "lobby-login",
+                NOW.plusSeconds(1)));
+        acknowledgePending(producer);
+
+        CompletionException failure = assertThrows(CompletionException.class, failed::join);
+        assertTrue(failure.getCause().getMessage().startsWith("Failed to publish Velocity login intent"));
+        assertTrue(retried.join().allowed());
+        assertEquals(2, evaluator.latency().count());
+    }
+
     @Test
     void deniedLoginDoesNotPublishRoutingCommands() {
-        MockProducer<String, String> producer = producer();
+        MockProducer<String, byte[]> producer = producer();
         VelocityLoginRoutingEvaluator evaluator = new VelocityLoginRoutingEvaluator(
                 request -> VelocityLoginGateDecision.denied(request.subjectId(), "Banned from the lobby"),
                 producer,
@@ -206,7 +317,7 @@ final class VelocityLoginRoutingEvaluatorTest {
 
     @Test
     void allowedDelegateDeniesLoginWhenNoAllocatedLobbyRouteExists() {
-        MockProducer<String, String> producer = producer();
+        MockProducer<String, byte[]> producer = producer();
         VelocityLoginRoutingEvaluator evaluator = new VelocityLoginRoutingEvaluator(
                 request -> VelocityLoginGateDecision.allowed(request.subjectId()),
                 producer,
@@ -223,7 +334,7 @@ final class VelocityLoginRoutingEvaluatorTest {
         assertFalse(decision.allowed());
         assertEquals(VelocityLoginRoutingEvaluator.NO_LOBBY_ROUTE_REASON,
                 decision.denialReason().orElseThrow());
-        List<ProducerRecord<String, String>> records = producer.history();
+        List<ProducerRecord<String, byte[]>> records = producer.history();
         assertEquals(1, records.size());
         assertEquals("ctrl.cmd.shared-shard-placement", records.getFirst().topic());
         SharedShardPlacementWireRequest placement =
@@ -233,8 +344,8 @@ final class VelocityLoginRoutingEvaluatorTest {
     }
 
     @Test
-    void unconfirmedLoginIntentDoesNotConsumeSharedShardCapacity() {
-        MockProducer<String, String> producer = producer();
+    void unconfirmedLoginHoldsSharedShardCapacityOnlyUntilItsReservationLapses() {
+        MockProducer<String, byte[]> producer = producer();
         VelocitySharedShardAllocationRegistry allocations = new VelocitySharedShardAllocationRegistry();
         allocations.record(allocation());
         VelocityLoginRoutingEvaluator evaluator = new VelocityLoginRoutingEvaluator(
@@ -254,15 +365,21 @@ final class VelocityLoginRoutingEvaluatorTest {
                 "FulcrumBotTwo",
                 "lobby-login",
                 NOW.plusSeconds(1)));
+        VelocityLoginGateDecision afterLapse = evaluator.evaluate(new VelocityLoginGateRequest(
+                SECOND_SUBJECT,
+                "FulcrumBotTwo",
+                "lobby-login",
+                NOW.plus(SharedShardSlotReservations.DEFAULT_LIFETIME).plusSeconds(1)));
 
         assertTrue(firstDecision.allowed());
-        assertTrue(secondDecision.allowed());
-        assertEquals(24, producer.history().size());
+        assertFalse(secondDecision.allowed());
+        assertTrue(afterLapse.allowed());
+        assertEquals(25, producer.history().size());
     }
 
     @Test
     void secondLoginRequestsAllocationWhenExistingLobbyReachesHardCapacity() {
-        MockProducer<String, String> producer = producer();
+        MockProducer<String, byte[]> producer = producer();
         VelocitySharedShardAllocationRegistry allocations = new VelocitySharedShardAllocationRegistry();
         allocations.record(allocation());
         VelocityLoginRoutingEvaluator evaluator = new VelocityLoginRoutingEvaluator(
@@ -288,7 +405,7 @@ final class VelocityLoginRoutingEvaluatorTest {
         assertFalse(secondDecision.allowed());
         assertEquals(VelocityLoginRoutingEvaluator.NO_LOBBY_ROUTE_REASON,
                 secondDecision.denialReason().orElseThrow());
-        List<ProducerRecord<String, String>> records = producer.history();
+        List<ProducerRecord<String, byte[]>> records = producer.history();
         assertEquals(13, records.size());
         assertEquals("ctrl.cmd.shared-shard-placement", records.getLast().topic());
         SharedShardPlacementWireRequest placement =
@@ -320,12 +437,109 @@ final class VelocityLoginRoutingEvaluatorTest {
         assertEquals(new SlotId("slot-lobby-shared"), candidates.getFirst().occupancySnapshot().slotId());
     }
 
-    private static MockProducer<String, String> producer() {
-        return new MockProducer<String, String>(true, null, new StringSerializer(), new StringSerializer());
+    @Test
+    void placementIndexAgreesWithRankingEveryCandidate() {
+        VelocitySharedShardAllocationRegistry allocations = new VelocitySharedShardAllocationRegistry();
+        RuntimeConnectionSettings.VelocityConnections settings = settings(4);
+        SharedShardPlacementController controller = new SharedShardPlacementController();
+        TraceEnvelope trace = allocation().request().traceEnvelope();
+        Random random = new Random(17);
+        List<String> pools = List.of("pool-lobby", "pool-other");
+        List<String> manifests = List.of("manifest-lobby-bedrock-v1", "manifest-lobby-bedrock-v2");
+
+        for (int step = 0; step < 2_000; step++) {
+            int shard = random.nextInt(40);
+            if (random.nextInt(8) == 0) {
+                allocations.record(allocation(
+                        "instance-paper-lobby-" + shard,
+                        "session-lobby-" + shard + "-" + step,
+                        pools.get(random.nextInt(pools.size())),
+                        manifests.get(random.nextInt(manifests.size()))));
+            } else {
+                allocations.recordRoutedPresence(
+                        new SessionId("session-lobby-" + shard + "-" + random.nextInt(step + 1)),
+                        new PresenceId("presence-" + random.nextInt(200)));
+            }
+
+            SharedShardPlacementDecision ranked = controller.place(
+                    placementRequest(settings, trace),
+                    allocations.placementCandidates(settings, trace, NOW));
+            PresenceId probe = new PresenceId("presence-placement-check");
+            Optional<SharedShardPlacementCandidate> indexed =
+                    allocations.reservePlacementCandidate(settings, trace, NOW, probe);
+            assertEquals(ranked.instanceId(), indexed.map(candidate -> candidate.instanceSnapshot().instanceId()));
+            indexed.ifPresent(candidate -> {
+                assertEquals(
+                        SharedShardPlacementDecisionStatus.SELECTED_EXISTING_SESSION,
+                        controller.place(placementRequest(settings, trace), List.of(candidate)).status());
+                allocations.releaseReservation(candidate.occupancySnapshot().sessionId(), probe);
+            });
+        }
     }
 
-    private static ConsumerRecord<String, String> record(ProducerRecord<String, String> record) {
-        return new ConsumerRecord<>(record.topic(), 0, 0, record.key(), record.value());
+    private static SharedShardPlacementRequest placementRequest(
+            RuntimeConnectionSettings.VelocityConnections settings,
+            TraceEnvelope trace) {
+        return new SharedShardPlacementRequest(
+                new SharedShardExperienceDescriptor(
+                        settings.lobbyExperienceId(),
+                        ExperienceShape.SHARED_SHARD,
+                        new SharedShardPoolDescriptor(
+                                settings.lobbyPoolId(),
+                                settings.lobbyAgonesFleetName(),
+                                settings.lobbyTargetCapacity(),
+                                settings.lobbyHardCapacity()),
+                        settings.lobbyResolvedManifestId()),
+                SUBJECT,
+                new PresenceId("presence-placement-check"),
+                "placement-check",
+                Optional.empty(),
+                NOW,
+                trace);
+    }
+
+    private static List<ProducerRecord<String, byte[]>> admittedLoginRecords(AuthorityWireFormat commandWireFormat) {
+        MockProducer<String, byte[]> producer = producer();
+        VelocitySharedShardAllocationRegistry allocations = new VelocitySharedShardAllocationRegistry();
+        allocations.record(allocation());
+        VelocityLoginRoutingEvaluator evaluator = new VelocityLoginRoutingEvaluator(
+                request -> VelocityLoginGateDecision.allowed(request.subjectId()),
+                producer,
+                securityContext(),
+                settings(150, commandWireFormat),
+                allocations);
+        assertTrue(evaluator.evaluate(new VelocityLoginGateRequest(SUBJECT, "FulcrumBotOne", "lobby-login", NOW)).allowed());
+        return producer.history();
+    }
+
+    // Replays a produced record through the consumer-side command source the authority runtime polls.
+    private static <C extends CommandPayload> AuthorityCommand<C> consumedCommand(
+            ProducerRecord<String, byte[]> record,
+            BiFunction<String, byte[], AuthorityCommand<C>> decoder) {
+        MockConsumer<String, byte[]> consumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+        TopicPartition partition = new TopicPartition(record.topic(), 0);
+        consumer.assign(List.of(partition));
+        consumer.updateBeginningOffsets(Map.of(partition, 0L));
+        consumer.addRecord(new ConsumerRecord<>(record.topic(), 0, 0L, record.key(), record.value()));
+        return KafkaAuthorityCommandSource.forByteValues(consumer, Duration.ofMillis(1), decoder)
+                .poll()
+                .orElseThrow()
+                .command();
+    }
+
+    private static void acknowledgePending(MockProducer<String, byte[]> producer) {
+        boolean acknowledged;
+        do {
+            acknowledged = producer.completeNext();
+        } while (acknowledged);
+    }
+
+    private static MockProducer<String, byte[]> producer() {
+        return new MockProducer<String, byte[]>(true, null, new StringSerializer(), new ByteArraySerializer());
+    }
+
+    private static ConsumerRecord<String, String> record(ProducerRecord<String, byte[]> record) {
+        return new ConsumerRecord<>(record.topic(), 0, 0, record.key(), new String(record.value(), StandardCharsets.UTF_8));
     }
 
     private static HostSecurityContext securityContext() {
@@ -355,6 +569,12 @@ final class VelocityLoginRoutingEvaluatorTest {
     }
 
     private static RuntimeConnectionSettings.VelocityConnections settings(int lobbyHardCapacity) {
+        return settings(lobbyHardCapacity, AuthorityWireFormat.BINARY);
+    }
+
+    private static RuntimeConnectionSettings.VelocityConnections settings(
+            int lobbyHardCapacity,
+            AuthorityWireFormat commandWireFormat) {
         return new RuntimeConnectionSettings.VelocityConnections(
                 Path.of("velocity"),
                 List.of(new RuntimeConnectionSettings.HostPort("localhost", 9092)),
@@ -377,10 +597,19 @@ final class VelocityLoginRoutingEvaluatorTest {
                 "capability-scope-lobby",
                 "lobby-login",
                 Duration.ofMinutes(5),
-                new RuntimeConnectionSettings.HostPort("localhost", 6379));
+                new RuntimeConnectionSettings.HostPort("localhost", 6379),
+                commandWireFormat);
     }
 
     private static ExternalControllerWorkerCatalog.StoredSharedShardAllocation allocation() {
+        return allocation("instance-paper-lobby", "session-lobby-shared", "pool-lobby", "manifest-lobby-bedrock-v1");
+    }
+
+    private static ExternalControllerWorkerCatalog.StoredSharedShardAllocation allocation(
+            String instanceId,
+            String sessionId,
+            String poolId,
+            String resolvedManifestId) {
         TraceEnvelope trace = new TraceEnvelope(
                 "trace-allocation",
                 "span-allocation",
@@ -390,26 +619,26 @@ final class VelocityLoginRoutingEvaluatorTest {
                 new InstanceId("instance-test"));
         SharedShardAllocationRequest request = new SharedShardAllocationRequest(
                 new ExperienceId("experience-lobby"),
-                new PoolId("pool-lobby"),
-                new SessionId("session-lobby-shared"),
-                new ResolvedManifestId("manifest-lobby-bedrock-v1"),
+                new PoolId(poolId),
+                new SessionId(sessionId),
+                new ResolvedManifestId(resolvedManifestId),
                 trace,
                 NOW);
         HostAllocationClaim claim = new HostAllocationClaim(
                 new SlotId("slot-lobby-shared"),
-                new SessionId("session-lobby-shared"),
+                new SessionId(sessionId),
                 new HostInstanceIdentity(
-                        new InstanceId("instance-paper-lobby"),
+                        new InstanceId(instanceId),
                         HostInstanceKinds.PAPER,
-                        new PoolId("pool-lobby"),
+                        new PoolId(poolId),
                         new MachineRef("machine-paper-lobby"),
                         new PrincipalId("principal-paper-lobby")),
-                new ResolvedManifestId("manifest-lobby-bedrock-v1"),
+                new ResolvedManifestId(resolvedManifestId),
                 new HostNetworkEndpoint("10.244.0.17", 31565),
                 trace,
                 NOW);
         return new ExternalControllerWorkerCatalog.StoredSharedShardAllocation(
-                "experience-lobby|pool-lobby|session-lobby-shared|manifest-lobby-bedrock-v1",
+                "experience-lobby|" + poolId + "|" + sessionId + "|" + resolvedManifestId,
                 request,
                 claim);
     }
@@ -4,13 +4,16 @@ import sh.harold.fulcrum.api.contract.TraceEnvelope;
 import sh.harold.fulcrum.api.kernel.InstanceId;
 
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 
 public final class HostObservationWireCodec {
     private static final String ATTRIBUTE_PREFIX = "attribute.";
+    private static final String COUNT = "count";
 
     private HostObservationWireCodec() {
     }
@@ -44,6 +47,58 @@ public final class HostObservationWireCodec {
                 attributes);
     }
 
+    // A frame prefixes each observation's lines with its index, so one POST carries many observations in the
+    // single-observation line format.
+    public static String encodeAll(List<HostObservation> observations) {
+        Objects.requireNonNull(observations, "observations");
+        StringBuilder builder = new StringBuilder().append(COUNT).append('=').append(observations.size()).append('\n');
+        for (int index = 0; index < observations.size(); index++) {
+            String prefix = index + ".";
+            encode(Objects.requireNonNull(observations.get(index), "observation"))
+                    .lines()
+                    .forEach(line -> builder.append(prefix).append(line).append('\n'));
+        }
+        return builder.toString();
+    }
+
+    // Accepts a frame or a single observation, so senders that predate frames keep working.
+    public static List<HostObservation> decodeAll(String payload) {
+        Map<String, String> fields = fields(payload);
+        if (!fields.containsKey(COUNT)) {
+            return List.of(decode(payload));
+        }
+        int count;
+        try {
+            count = Integer.parseInt(fields.get(COUNT));
+        } catch (NumberFormatException exception) {
+            throw new IllegalArgumentException("Malformed host observation frame count", exception);
+        }
+        if (count < 0) {
+            throw new IllegalArgumentException("Host observation frame count must not be negative");
+        }
+        List<StringBuilder> entries = new ArrayList<>(count);
+        for (int index = 0; index < count; index++) {
+            entries.add(new StringBuilder());
+        }
+        fields.forEach((key, value) -> {
+            if (key.equals(COUNT)) {
+                return;
+            }
+            int separator = key.indexOf('.');
+            int index;
+            try {
+                index = separator < 1 ? -1 : Integer.parseInt(key.substring(0, separator));
+            } catch (NumberFormatException exception) {
+                index = -1;
+            }
+            if (index < 0 || index >= count) {
+                throw new IllegalArgumentException("Host observation frame field outside the frame: " + key);
+            }
+            entries.get(index).append(key, separator + 1, key.length()).append('=').append(value).append('\n');
+        });
+        return entries.stream().map(entry -> decode(entry.toString())).toList();
+    }
+
     private static void encodeTrace(Map<String, String> fields, TraceEnvelope trace) {
         fields.put("traceId", trace.traceId());
         fields.put("spanId", trace.spanId());
@@ -0,0 +1,15 @@
+package sh.harold.fulcrum.host.api;
+
+public record HostWarmAllocationMetrics(
+        int warm,
+        long warmHits,
+        long coldAllocations,
+        long reservations,
+        long releases,
+        long failures) {
+    public HostWarmAllocationMetrics {
+        if (warm < 0 || warmHits < 0 || coldAllocations < 0 || reservations < 0 || releases < 0 || failures < 0) {
+            throw new IllegalArgumentException("warm allocation metrics must not be negative");
+        }
+    }
+}
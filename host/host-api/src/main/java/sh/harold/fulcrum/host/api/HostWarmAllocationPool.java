@@ -0,0 +1,304 @@
+package sh.harold.fulcrum.host.api;
+
+import sh.harold.fulcrum.api.kernel.PoolId;
+import sh.harold.fulcrum.api.kernel.ResolvedManifestId;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+// Keeps a buffer of reserved-but-unbound Paper Instances per pool so a Session only pays for the bind, not for the
+// search over Ready capacity. Each pool warms one resolved manifest at a time: demand for a different manifest
+// retires the buffer and releases what it held. The buffer target follows demand seen over the last window, clamped
+// to the configured bounds, and refills run on the supplied executor rather than on the allocating thread. Each
+// reservation carries a deadline of reservationTtl; one that passes it unbound is never bound, since the Instance
+// shuts itself down then. Expired reservations never count toward the target, and sweep() releases and replaces
+// them when no allocation comes along to do it.
+public final class HostWarmAllocationPool implements HostAllocationPort {
+    private static final int SWEEPS_PER_TTL = 4;
+
+    private final HostWarmAllocationSource source;
+    private final HostWarmAllocationSettings settings;
+    private final Executor refillExecutor;
+    private final Clock clock;
+    private final Map<PoolId, WarmBuffer> buffers = new HashMap<>();
+    private final Duration sweepInterval;
+    private Instant nextSweepAt = Instant.MIN;
+    private long warmHits;
+    private long coldAllocations;
+    private long reservations;
+    private long releases;
+    private long failures;
+
+    public HostWarmAllocationPool(
+            HostWarmAllocationSource source,
+            HostWarmAllocationSettings settings,
+            Executor refillExecutor,
+            Clock clock) {
+        this.source = Objects.requireNonNull(source, "source");
+        this.settings = Objects.requireNonNull(settings, "settings");
+        this.refillExecutor = Objects.requireNonNull(refillExecutor, "refillExecutor");
+        this.clock = Objects.requireNonNull(clock, "clock");
+        this.sweepInterval = settings.reservationTtl().dividedBy(SWEEPS_PER_TTL);
+    }
+
+    public void prime(PoolId poolId, ResolvedManifestId resolvedManifestId) {
+        Objects.requireNonNull(poolId, "poolId");
+        Objects.requireNonNull(resolvedManifestId, "resolvedManifestId");
+        List<HostWarmReservation> retired;
+        synchronized (this) {
+            retired = buffer(poolId).retarget(resolvedManifestId);
+        }
+        releaseLater(retired);
+        refillLater(poolId);
+    }
+
+    @Override
+    public HostAllocationClaim allocate(HostAllocationRequest request) {
+        Objects.requireNonNull(request, "request");
+        List<HostWarmReservation> retired;
+        HostWarmReservation reservation;
+        synchronized (this) {
+            WarmBuffer buffer = buffer(request.poolId());
+            retired = buffer.retarget(request.resolvedManifestId());
+            Instant now = clock.instant();
+            buffer.recordDemand(now);
+            retired = buffer.expire(retired, now);
+            reservation = buffer.ready.pollFirst();
+        }
+        releaseLater(retired);
+        refillLater(request.poolId());
+        if (reservation != null) {
+            try {
+                HostAllocationClaim claim = source.bind(reservation, request);
+                synchronized (this) {
+                    warmHits++;
+                }
+                return claim;
+            } catch (IllegalStateException bindFailure) {
+                // The reserved Instance may have gone away since it was reserved. Give the reservation back so a
+                // still-Ready Instance is not left held, then fall through to a cold allocation.
+                synchronized (this) {
+                    failures++;
+                }
+                release(reservation);
+            }
+        }
+        HostAllocationClaim claim = source.allocate(request);
+        synchronized (this) {
+            coldAllocations++;
+        }
+        return claim;
+    }
+
+    public void releaseAll() {
+        List<HostWarmReservation> retired = new ArrayList<>();
+        synchronized (this) {
+            for (WarmBuffer buffer : buffers.values()) {
+                retired.addAll(buffer.retire());
+            }
+        }
+        for (HostWarmReservation reservation : retired) {
+            release(reservation);
+        }
+    }
+
+    // Meant to be called from a run loop; it does nothing until a quarter of reservationTtl has passed since the last
+    // sweep, so an expired reservation is replaced within that long even on a pool that sees no allocations.
+    public void sweep() {
+        List<HostWarmReservation> expired = new ArrayList<>();
+        List<PoolId> pools;
+        synchronized (this) {
+            Instant now = clock.instant();
+            if (now.isBefore(nextSweepAt)) {
+                return;
+            }
+            nextSweepAt = now.plus(sweepInterval);
+            for (WarmBuffer buffer : buffers.values()) {
+                expired = buffer.expire(expired, now);
+            }
+            pools = List.copyOf(buffers.keySet());
+        }
+        releaseLater(expired);
+        pools.forEach(this::refillLater);
+    }
+
+    public synchronized int warm(PoolId poolId) {
+        WarmBuffer buffer = buffers.get(Objects.requireNonNull(poolId, "poolId"));
+        return buffer == null ? 0 : buffer.ready.size();
+    }
+
+    public synchronized HostWarmAllocationMetrics metrics() {
+        int warm = 0;
+        for (WarmBuffer buffer : buffers.values()) {
+            warm += buffer.ready.size();
+        }
+        return new HostWarmAllocationMetrics(warm, warmHits, coldAllocations, reservations, releases, failures);
+    }
+
+    private WarmBuffer buffer(PoolId poolId) {
+        return buffers.computeIfAbsent(poolId, ignored -> new WarmBuffer());
+    }
+
+    private void refillLater(PoolId poolId) {
+        List<HostWarmReservation> expired;
+        boolean belowTarget;
+        synchronized (this) {
+            WarmBuffer buffer = buffers.get(poolId);
+            if (buffer == null || buffer.refilling) {
+                return;
+            }
+            Instant now = clock.instant();
+            expired = buffer.expire(List.of(), now);
+            belowTarget = buffer.ready.size() < buffer.target(now);
+            buffer.refilling = belowTarget;
+        }
+        releaseLater(expired);
+        if (!belowTarget) {
+            return;
+        }
+        try {
+            refillExecutor.execute(() -> refill(poolId));
+        } catch (RejectedExecutionException rejected) {
+            // A saturated or shut-down executor skips this refill; the next allocation or prime asks again.
+            synchronized (this) {
+                failures++;
+                buffers.get(poolId).refilling = false;
+            }
+        }
+    }
+
+    // One refill runs per pool at a time. A reservation that lands after the manifest changed is released instead.
+    private void refill(PoolId poolId) {
+        while (true) {
+            ResolvedManifestId manifest;
+            long generation;
+            List<HostWarmReservation> expired;
+            synchronized (this) {
+                WarmBuffer buffer = buffers.get(poolId);
+                Instant now = clock.instant();
+                expired = buffer.expire(List.of(), now);
+                manifest = buffer.ready.size() < buffer.target(now) ? buffer.manifest : null;
+                generation = buffer.generation;
+                if (manifest == null) {
+                    buffer.refilling = false;
+                }
+            }
+            expired.forEach(this::release);
+            if (manifest == null) {
+                return;
+            }
+            HostWarmReservation reservation;
+            try {
+                Instant reservedAt = clock.instant();
+                reservation = source.reserve(poolId, manifest, reservedAt, reservedAt.plus(settings.reservationTtl()));
+            } catch (RuntimeException reserveFailure) {
+                synchronized (this) {
+                    failures++;
+                    buffers.get(poolId).refilling = false;
+                }
+                return;
+            }
+            boolean kept;
+            synchronized (this) {
+                reservations++;
+                WarmBuffer buffer = buffers.get(poolId);
+                kept = buffer.generation == generation;
+                if (kept) {
+                    buffer.ready.addLast(reservation);
+                }
+            }
+            if (!kept) {
+                release(reservation);
+            }
+        }
+    }
+
+    private void releaseLater(List<HostWarmReservation> retired) {
+        if (retired.isEmpty()) {
+            return;
+        }
+        try {
+            refillExecutor.execute(() -> retired.forEach(this::release));
+        } catch (RejectedExecutionException rejected) {
+            // Retired reservations must not stay held, so they are released on the calling thread instead.
+            retired.forEach(this::release);
+        }
+    }
+
+    private void release(HostWarmReservation reservation) {
+        try {
+            source.release(reservation);
+            synchronized (this) {
+                releases++;
+            }
+        } catch (IllegalStateException releaseFailure) {
+            synchronized (this) {
+                failures++;
+            }
+        }
+    }
+
+    private final class WarmBuffer {
+        private final Deque<HostWarmReservation> ready = new ArrayDeque<>();
+        // Only the newest maximumWarm demand timestamps matter; the target never exceeds that many.
+        private final Deque<Instant> demand = new ArrayDeque<>();
+        private ResolvedManifestId manifest;
+        private long generation;
+        private boolean refilling;
+
+        private List<HostWarmReservation> retarget(ResolvedManifestId resolvedManifestId) {
+            if (resolvedManifestId.equals(manifest)) {
+                return List.of();
+            }
+            List<HostWarmReservation> retired = retire();
+            manifest = resolvedManifestId;
+            return retired;
+        }
+
+        private List<HostWarmReservation> retire() {
+            List<HostWarmReservation> retired = new ArrayList<>(ready);
+            ready.clear();
+            demand.clear();
+            manifest = null;
+            generation++;
+            return retired;
+        }
+
+        // Expired reservations are released too; an Instance that already shut itself down just fails the release.
+        private List<HostWarmReservation> expire(List<HostWarmReservation> retired, Instant now) {
+            if (ready.isEmpty() || !ready.peekFirst().expired(now)) {
+                return retired;
+            }
+            List<HostWarmReservation> expired = new ArrayList<>(retired);
+            while (!ready.isEmpty() && ready.peekFirst().expired(now)) {
+                expired.add(ready.removeFirst());
+            }
+            return expired;
+        }
+
+        private void recordDemand(Instant now) {
+            demand.addLast(now);
+            if (demand.size() > settings.maximumWarm()) {
+                demand.removeFirst();
+            }
+        }
+
+        private int target(Instant now) {
+            Instant cutoff = now.minus(settings.demandWindow());
+            while (!demand.isEmpty() && demand.peekFirst().isBefore(cutoff)) {
+                demand.removeFirst();
+            }
+            return Math.max(settings.minimumWarm(), demand.size());
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package sh.harold.fulcrum.host.api;
+
+import java.time.Duration;
+import java.util.Objects;
+
+// reservationTtl bounds how long a reservation may stay unbound. The Paper agent shuts a reservation down once it
+// passes, so capacity held by a controller that died without releasing comes back on its own.
+public record HostWarmAllocationSettings(
+        int minimumWarm,
+        int maximumWarm,
+        Duration demandWindow,
+        Duration reservationTtl) {
+    public HostWarmAllocationSettings {
+        if (minimumWarm < 0) {
+            throw new IllegalArgumentException("minimumWarm must not be negative");
+        }
+        if (maximumWarm <= 0) {
+            throw new IllegalArgumentException("maximumWarm must be positive");
+        }
+        if (maximumWarm < minimumWarm) {
+            throw new IllegalArgumentException("maximumWarm must not be below minimumWarm");
+        }
+        demandWindow = Objects.requireNonNull(demandWindow, "demandWindow");
+        if (demandWindow.isNegative() || demandWindow.isZero()) {
+            throw new IllegalArgumentException("demandWindow must be positive");
+        }
+        reservationTtl = Objects.requireNonNull(reservationTtl, "reservationTtl");
+        if (reservationTtl.isNegative() || reservationTtl.isZero()) {
+            throw new IllegalArgumentException("reservationTtl must be positive");
+        }
+    }
+}
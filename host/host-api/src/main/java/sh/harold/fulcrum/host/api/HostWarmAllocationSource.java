@@ -0,0 +1,22 @@
+package sh.harold.fulcrum.host.api;
+
+import sh.harold.fulcrum.api.kernel.PoolId;
+import sh.harold.fulcrum.api.kernel.ResolvedManifestId;
+
+import java.time.Instant;
+
+// An allocation port that can also take capacity out of circulation ahead of demand. reserve() claims a Ready
+// Instance without a Session until reservedUntil, bind() hands that reservation to a Session, and release() gives it
+// back. A reservation nobody binds or releases by reservedUntil is given back by the Instance itself. Failures are
+// surfaced as IllegalStateException, like allocate().
+public interface HostWarmAllocationSource extends HostAllocationPort {
+    HostWarmReservation reserve(
+            PoolId poolId,
+            ResolvedManifestId resolvedManifestId,
+            Instant reservedAt,
+            Instant reservedUntil);
+
+    HostAllocationClaim bind(HostWarmReservation reservation, HostAllocationRequest request);
+
+    void release(HostWarmReservation reservation);
+}
@@ -0,0 +1,36 @@
+package sh.harold.fulcrum.host.api;
+
+import sh.harold.fulcrum.api.kernel.PoolId;
+import sh.harold.fulcrum.api.kernel.ResolvedManifestId;
+
+import java.time.Instant;
+import java.util.Objects;
+
+public record HostWarmReservation(
+        String reservationId,
+        PoolId poolId,
+        ResolvedManifestId resolvedManifestId,
+        HostInstanceIdentity instanceIdentity,
+        HostNetworkEndpoint minecraftEndpoint,
+        Instant reservedAt,
+        Instant reservedUntil) {
+    public HostWarmReservation {
+        reservationId = HostNames.requireNonBlank(reservationId, "reservationId");
+        poolId = Objects.requireNonNull(poolId, "poolId");
+        resolvedManifestId = Objects.requireNonNull(resolvedManifestId, "resolvedManifestId");
+        instanceIdentity = Objects.requireNonNull(instanceIdentity, "instanceIdentity");
+        minecraftEndpoint = Objects.requireNonNull(minecraftEndpoint, "minecraftEndpoint");
+        reservedAt = Objects.requireNonNull(reservedAt, "reservedAt");
+        reservedUntil = Objects.requireNonNull(reservedUntil, "reservedUntil");
+        if (!reservedUntil.isAfter(reservedAt)) {
+            throw new IllegalArgumentException("reservedUntil must be after reservedAt");
+        }
+        if (!HostInstanceKinds.PAPER.equals(instanceIdentity.instanceKind())) {
+            throw new IllegalArgumentException("warm reservations only hold Paper Instances");
+        }
+    }
+
+    public boolean expired(Instant now) {
+        return !now.isBefore(reservedUntil);
+    }
+}
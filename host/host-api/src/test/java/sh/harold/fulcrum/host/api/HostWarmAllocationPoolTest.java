@@ -0,0 +1,295 @@
+package sh.harold.fulcrum.host.api;
+
+import org.junit.jupiter.api.Test;
+import sh.harold.fulcrum.api.contract.PrincipalId;
+import sh.harold.fulcrum.api.contract.TraceEnvelope;
+import sh.harold.fulcrum.api.kernel.InstanceId;
+import sh.harold.fulcrum.api.kernel.MachineRef;
+import sh.harold.fulcrum.api.kernel.PoolId;
+import sh.harold.fulcrum.api.kernel.ResolvedManifestId;
+import sh.harold.fulcrum.api.kernel.SessionId;
+import sh.harold.fulcrum.api.kernel.SlotId;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class HostWarmAllocationPoolTest {
+    private static final Instant NOW = Instant.parse("2026-06-18T15:00:00Z");
+    private static final PoolId POOL = new PoolId("pool-paper-small");
+    private static final ResolvedManifestId MANIFEST = new ResolvedManifestId("manifest-lobby-1");
+    private static final ResolvedManifestId NEXT_MANIFEST = new ResolvedManifestId("manifest-lobby-2");
+    private static final Duration TTL = Duration.ofMinutes(10);
+
+    @Test
+    void primedPoolBindsWarmReservationsAndRefillsBehindThem() {
+        ScriptedWarmSource source = new ScriptedWarmSource();
+        HostWarmAllocationPool pool = pool(source, new HostWarmAllocationSettings(2, 4, Duration.ofMinutes(1), TTL));
+
+        pool.prime(POOL, MANIFEST);
+        assertEquals(2, pool.warm(POOL));
+
+        HostAllocationClaim claim = pool.allocate(request("session-1", MANIFEST));
+
+        assertEquals("instance-paper-1", claim.instanceIdentity().instanceId().value());
+        assertEquals(new SessionId("session-1"), claim.sessionId());
+        assertEquals(1, source.binds);
+        assertEquals(0, source.allocations);
+        assertEquals(2, pool.warm(POOL));
+        assertEquals(new HostWarmAllocationMetrics(2, 1, 0, 3, 0, 0), pool.metrics());
+    }
+
+    @Test
+    void observedDemandRaisesTheWarmTargetUpToTheMaximum() {
+        ScriptedWarmSource source = new ScriptedWarmSource();
+        HostWarmAllocationPool pool = pool(source, new HostWarmAllocationSettings(1, 3, Duration.ofMinutes(1), TTL));
+        pool.prime(POOL, MANIFEST);
+
+        for (int session = 0; session < 5; session++) {
+            pool.allocate(request("session-" + session, MANIFEST));
+        }
+
+        assertEquals(3, pool.warm(POOL));
+        assertEquals(5, pool.metrics().warmHits());
+        assertEquals(0, pool.metrics().coldAllocations());
+    }
+
+    @Test
+    void manifestChangeReleasesUnusedReservationsAndWarmsTheNewManifest() {
+        ScriptedWarmSource source = new ScriptedWarmSource();
+        HostWarmAllocationPool pool = pool(source, new HostWarmAllocationSettings(2, 4, Duration.ofMinutes(1), TTL));
+        pool.prime(POOL, MANIFEST);
+
+        HostAllocationClaim claim = pool.allocate(request("session-next", NEXT_MANIFEST));
+
+        assertEquals(NEXT_MANIFEST, claim.resolvedManifestId());
+        assertEquals(1, source.allocations);
+        assertEquals(2, source.released.size());
+        assertTrue(source.released.stream().allMatch(reservation -> reservation.resolvedManifestId().equals(MANIFEST)));
+        assertEquals(2, pool.warm(POOL));
+        assertEquals(new HostWarmAllocationMetrics(2, 0, 1, 4, 2, 0), pool.metrics());
+
+        pool.releaseAll();
+        assertEquals(0, pool.warm(POOL));
+        assertEquals(4, source.released.size());
+    }
+
+    @Test
+    void failedBindFallsBackToColdAllocation() {
+        ScriptedWarmSource source = new ScriptedWarmSource();
+        HostWarmAllocationPool pool = pool(source, new HostWarmAllocationSettings(1, 1, Duration.ofMinutes(1), TTL));
+        pool.prime(POOL, MANIFEST);
+        source.failBind = true;
+
+        HostAllocationClaim claim = pool.allocate(request("session-1", MANIFEST));
+
+        assertEquals("instance-cold-1", claim.instanceIdentity().instanceId().value());
+        assertEquals(List.of("warm-1"), source.released.stream().map(HostWarmReservation::reservationId).toList());
+        assertEquals(1, pool.metrics().failures());
+        assertEquals(1, pool.metrics().coldAllocations());
+    }
+
+    @Test
+    void rejectedRefillIsRetriedByTheNextAllocationAndRetiredReservationsStillRelease() {
+        ScriptedWarmSource source = new ScriptedWarmSource();
+        List<Runnable> rejectedWork = new ArrayList<>();
+        boolean[] rejecting = {true};
+        HostWarmAllocationPool pool = new HostWarmAllocationPool(
+                source,
+                new HostWarmAllocationSettings(1, 2, Duration.ofMinutes(1), TTL),
+                work -> {
+                    if (rejecting[0]) {
+                        rejectedWork.add(work);
+                        throw new RejectedExecutionException("refill executor saturated");
+                    }
+                    work.run();
+                },
+                Clock.fixed(NOW, ZoneOffset.UTC));
+
+        pool.prime(POOL, MANIFEST);
+        assertEquals(0, pool.warm(POOL));
+        assertEquals(1, pool.metrics().failures());
+
+        rejecting[0] = false;
+        pool.allocate(request("session-1", MANIFEST));
+        assertEquals(1, pool.warm(POOL));
+
+        rejecting[0] = true;
+        pool.prime(POOL, NEXT_MANIFEST);
+        assertEquals(1, source.released.size());
+        assertEquals(3, rejectedWork.size());
+    }
+
+    @Test
+    void expiredReservationsAreReleasedInsteadOfBound() {
+        ScriptedWarmSource source = new ScriptedWarmSource();
+        MutableClock clock = new MutableClock(NOW);
+        HostWarmAllocationPool pool = new HostWarmAllocationPool(
+                source,
+                new HostWarmAllocationSettings(1, 1, Duration.ofMinutes(1), TTL),
+                Runnable::run,
+                clock);
+        pool.prime(POOL, MANIFEST);
+        assertEquals(NOW.plus(TTL), source.reserved.getFirst().reservedUntil());
+
+        clock.advance(TTL);
+        HostAllocationClaim claim = pool.allocate(request("session-1", MANIFEST));
+
+        assertEquals("instance-cold-1", claim.instanceIdentity().instanceId().value());
+        assertEquals(List.of("warm-1"), source.released.stream().map(HostWarmReservation::reservationId).toList());
+        assertEquals(0, source.binds);
+        assertEquals(1, pool.warm(POOL));
+        assertEquals(NOW.plus(TTL).plus(TTL), source.reserved.getLast().reservedUntil());
+    }
+
+    @Test
+    void sweepReplacesExpiredReservationsWithoutAnAllocation() {
+        ScriptedWarmSource source = new ScriptedWarmSource();
+        MutableClock clock = new MutableClock(NOW);
+        HostWarmAllocationPool pool = new HostWarmAllocationPool(
+                source,
+                new HostWarmAllocationSettings(2, 2, Duration.ofMinutes(1), TTL),
+                Runnable::run,
+                clock);
+        pool.prime(POOL, MANIFEST);
+        pool.sweep();
+        assertEquals(0, source.released.size());
+
+        clock.advance(TTL);
+        pool.sweep();
+
+        assertEquals(List.of("warm-1", "warm-2"), source.released.stream().map(HostWarmReservation::reservationId).toList());
+        assertEquals(2, pool.warm(POOL));
+        assertEquals(4, source.reserves);
+
+        clock.advance(TTL);
+        pool.prime(POOL, MANIFEST);
+
+        assertEquals(4, source.released.size());
+        assertEquals(2, pool.warm(POOL));
+        assertEquals(6, source.reserves);
+    }
+
+    private static HostWarmAllocationPool pool(ScriptedWarmSource source, HostWarmAllocationSettings settings) {
+        return new HostWarmAllocationPool(source, settings, Runnable::run, Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    private static HostAllocationRequest request(String sessionId, ResolvedManifestId resolvedManifestId) {
+        return new HostAllocationRequest(
+                POOL,
+                new SessionId(sessionId),
+                resolvedManifestId,
+                new TraceEnvelope(
+                        "trace-" + sessionId,
+                        "span-" + sessionId,
+                        Optional.empty(),
+                        NOW,
+                        "test-control",
+                        new InstanceId("instance-controller-1")),
+                NOW);
+    }
+
+    private static HostInstanceIdentity identity(String instanceId) {
+        return new HostInstanceIdentity(
+                new InstanceId(instanceId),
+                HostInstanceKinds.PAPER,
+                POOL,
+                new MachineRef("machine-a"),
+                new PrincipalId("principal-" + instanceId));
+    }
+
+    private static HostAllocationClaim claim(HostInstanceIdentity identity, HostAllocationRequest request) {
+        return new HostAllocationClaim(
+                new SlotId("slot-" + identity.instanceId().value()),
+                request.sessionId(),
+                identity,
+                request.resolvedManifestId(),
+                new HostNetworkEndpoint("127.0.0.1", 25_565),
+                request.traceEnvelope(),
+                request.requestedAt());
+    }
+
+    private static final class ScriptedWarmSource implements HostWarmAllocationSource {
+        private final List<HostWarmReservation> reserved = new ArrayList<>();
+        private final List<HostWarmReservation> released = new ArrayList<>();
+        private int reserves;
+        private int binds;
+        private int allocations;
+        private boolean failBind;
+
+        @Override
+        public HostAllocationClaim allocate(HostAllocationRequest request) {
+            allocations++;
+            return claim(identity("instance-cold-" + allocations), request);
+        }
+
+        @Override
+        public HostWarmReservation reserve(
+                PoolId poolId,
+                ResolvedManifestId resolvedManifestId,
+                Instant reservedAt,
+                Instant reservedUntil) {
+            reserves++;
+            HostWarmReservation reservation = new HostWarmReservation(
+                    "warm-" + reserves,
+                    poolId,
+                    resolvedManifestId,
+                    identity("instance-paper-" + reserves),
+                    new HostNetworkEndpoint("127.0.0.1", 25_565),
+                    reservedAt,
+                    reservedUntil);
+            reserved.add(reservation);
+            return reservation;
+        }
+
+        @Override
+        public HostAllocationClaim bind(HostWarmReservation reservation, HostAllocationRequest request) {
+            if (failBind) {
+                throw new IllegalStateException("reservation lost");
+            }
+            binds++;
+            return claim(reservation.instanceIdentity(), request);
+        }
+
+        @Override
+        public void release(HostWarmReservation reservation) {
+            released.add(reservation);
+        }
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package sh.harold.fulcrum.host.paper;
 
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.regex.Matcher;
@@ -13,6 +15,9 @@ public record AgonesGameServerSnapshot(
     public static final String SESSION_ID_ANNOTATION = "sh.harold.fulcrum/session-id";
     public static final String SLOT_ID_ANNOTATION = "sh.harold.fulcrum/slot-id";
     public static final String RESOLVED_MANIFEST_ID_ANNOTATION = "sh.harold.fulcrum/resolved-manifest-id";
+    public static final String WARM_RESERVATION_LABEL = "sh.harold.fulcrum/warm-reservation";
+    public static final String WARM_RELEASED_ANNOTATION = "sh.harold.fulcrum/warm-released";
+    public static final String WARM_RESERVED_UNTIL_ANNOTATION = "sh.harold.fulcrum/warm-reserved-until";
 
     public AgonesGameServerSnapshot {
         name = PaperArtifactNames.requireNonBlank(name, "name");
@@ -31,6 +36,32 @@ public record AgonesGameServerSnapshot(
         return Optional.of(PaperArtifactNames.requireNonBlank(unescape(matcher.group(1)), checkedKey));
     }
 
+    // Pre-allocated GameServers are Allocated before any Session is bound to them.
+    public boolean unboundWarmReservation() {
+        return annotation(WARM_RESERVATION_LABEL).isPresent() && annotation(SESSION_ID_ANNOTATION).isEmpty();
+    }
+
+    // An unbound reservation is given back once it is released or its reserved-until deadline has passed, so a
+    // controller that never binds or releases it cannot hold the GameServer forever.
+    public boolean abandonedWarmReservation(Instant now) {
+        if (!unboundWarmReservation()) {
+            return false;
+        }
+        if (annotation(WARM_RELEASED_ANNOTATION).isPresent()) {
+            return true;
+        }
+        Optional<String> reservedUntil = annotation(WARM_RESERVED_UNTIL_ANNOTATION);
+        if (reservedUntil.isEmpty()) {
+            return false;
+        }
+        try {
+            return !now.isBefore(Instant.parse(reservedUntil.orElseThrow()));
+        } catch (DateTimeParseException exception) {
+            throw new IllegalStateException("Invalid " + WARM_RESERVED_UNTIL_ANNOTATION + " annotation on Agones GameServer "
+                    + name, exception);
+        }
+    }
+
     private static String unescape(String value) {
         StringBuilder unescaped = new StringBuilder(value.length());
         for (int index = 0; index < value.length(); index++) {
@@ -1,18 +1,24 @@
 package sh.harold.fulcrum.host.paper;
 
 import org.bukkit.plugin.java.JavaPlugin;
+import sh.harold.fulcrum.capability.api.CapabilityEnablement;
 import sh.harold.fulcrum.host.api.HostMenuContribution;
 
 import java.time.Clock;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.ServiceLoader;
+import java.util.Set;
 
 public final class FulcrumPaperPlugin extends JavaPlugin {
+    // Five seconds of server ticks between polls of the bridge's capability enablements.
+    private static final long ENABLEMENT_REFRESH_TICKS = 100L;
+
     private PaperHostMainThread mainThread;
     private PaperPlayerSessionListener sessionListener;
     private PaperObservationSink observationSink;
     private PaperCapabilityBridge capabilityBridge;
+    private PaperChatDecorationPipeline chatDecorations;
     private PaperRewardSink rewardSink;
     private PaperHostMenuRuntime menuRuntime;
     private List<PaperLoadedContribution<HostMenuContribution>> loadedMenuContributions = List.of();
@@ -24,6 +30,14 @@ public final class FulcrumPaperPlugin extends JavaPlugin {
         mainThread = new PaperHostMainThread(this);
         observationSink = createObservationSink(configuration);
         capabilityBridge = createCapabilityBridge(configuration);
+        chatDecorations = new PaperChatDecorationPipeline(capabilityBridge);
+        if (configuration.capabilityBridgeUrl().isPresent()) {
+            getServer().getScheduler().runTaskTimerAsynchronously(
+                    this,
+                    this::refreshEnablements,
+                    0L,
+                    ENABLEMENT_REFRESH_TICKS);
+        }
         rewardSink = createRewardSink(configuration);
         getServer().getMessenger().registerOutgoingPluginChannel(this, PaperLobbyProofMessage.CHANNEL);
         sessionListener = new PaperPlayerSessionListener(
@@ -40,6 +54,7 @@ public final class FulcrumPaperPlugin extends JavaPlugin {
                 () -> PaperAllocatedAssignmentFile.requireTraceId(configuration.allocatedAssignmentFile()),
                 configuration.spawnPoint(),
                 capabilityBridge,
+                chatDecorations,
                 rewardSink);
         getServer().getPluginManager().registerEvents(sessionListener, this);
         List<HostMenuContribution> menuContributions = new ArrayList<>(ServiceLoader
@@ -82,11 +97,44 @@ public final class FulcrumPaperPlugin extends JavaPlugin {
             }
         }
         loadedMenuContributions = List.of();
+        if (observationSink instanceof PaperBatchingObservationSink batching) {
+            batching.close();
+            PaperObservationQueueMetrics metrics = batching.metrics();
+            if (metrics.rejected() > 0 || metrics.abandoned() > 0) {
+                getLogger().warning("Paper observation sink rejected " + metrics.rejected()
+                        + " and abandoned " + metrics.abandoned() + " observations");
+            }
+        }
+        if (rewardSink instanceof PaperRetryingRewardSink retrying) {
+            retrying.close();
+            if (retrying.pending() > 0) {
+                getLogger().warning("could not report " + retrying.pending() + " Paper rewards before shutdown");
+            }
+            if (retrying.deadLettered() > 0) {
+                getLogger().warning("gave up on " + retrying.deadLettered() + " Paper rewards; last failure: "
+                        + retrying.lastFailure().getMessage());
+            }
+        }
+    }
+
+    // A failed poll keeps what is cached; the caches' TTLs still bound how stale a decoration can get.
+    private void refreshEnablements() {
+        Set<CapabilityEnablement> enablements;
+        try {
+            enablements = capabilityBridge.enablements();
+        } catch (RuntimeException exception) {
+            getLogger().warning("could not refresh Paper capability enablements: " + exception.getMessage());
+            return;
+        }
+        if (capabilityBridge instanceof PaperSubjectCapabilityViewCache viewCache) {
+            viewCache.enablementsChanged(enablements);
+        }
+        chatDecorations.enablementsChanged(enablements);
     }
 
     private PaperObservationSink createObservationSink(PaperPluginRuntimeConfiguration configuration) {
         return configuration.observationBridgeUrl()
-                .<PaperObservationSink>map(PaperHttpObservationSink::new)
+                .<PaperObservationSink>map(url -> new PaperBatchingObservationSink(new PaperHttpObservationSink(url)))
                 .orElseGet(() -> observation -> getLogger().info(
                         "published " + observation.observationType()
                                 + " for " + observation.instanceId().value()
@@ -95,13 +143,13 @@ public final class FulcrumPaperPlugin extends JavaPlugin {
 
     private PaperCapabilityBridge createCapabilityBridge(PaperPluginRuntimeConfiguration configuration) {
         return configuration.capabilityBridgeUrl()
-                .<PaperCapabilityBridge>map(PaperCapabilityBridgeClient::new)
+                .<PaperCapabilityBridge>map(url -> new PaperSubjectCapabilityViewCache(new PaperCapabilityBridgeClient(url)))
                 .orElseGet(NoopPaperCapabilityBridge::new);
     }
 
     private PaperRewardSink createRewardSink(PaperPluginRuntimeConfiguration configuration) {
         return configuration.rewardBridgeUrl()
-                .<PaperRewardSink>map(PaperHttpRewardSink::new)
+                .<PaperRewardSink>map(url -> new PaperRetryingRewardSink(new PaperHttpRewardSink(url)))
                 .orElseGet(() -> report -> getLogger().info(
                         "reported Paper reward for "
                                 + report.subjectId().value()
@@ -125,6 +173,10 @@ public final class FulcrumPaperPlugin extends JavaPlugin {
         return capabilityBridge;
     }
 
+    PaperChatDecorationPipeline chatDecorations() {
+        return chatDecorations;
+    }
+
     PaperRewardSink rewardSink() {
         return rewardSink;
     }
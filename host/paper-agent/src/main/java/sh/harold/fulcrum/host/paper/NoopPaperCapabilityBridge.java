@@ -12,8 +12,9 @@ public final class NoopPaperCapabilityBridge implements PaperCapabilityBridge {
     @Override
     public PaperChatDecorationResponse decorateChat(PaperChatDecorationRequest request) {
         PaperChatDecorationRequest checkedRequest = Objects.requireNonNull(request, "request");
-        return new PaperChatDecorationResponse(
+        return PaperChatDecorationResponse.prefixed(
                 checkedRequest.subjectId(),
-                checkedRequest.username() + ": " + checkedRequest.message());
+                checkedRequest.username() + ": ",
+                checkedRequest.message());
     }
 }
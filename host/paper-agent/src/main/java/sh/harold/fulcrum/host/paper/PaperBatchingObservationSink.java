@@ -0,0 +1,253 @@
+package sh.harold.fulcrum.host.paper;
+
+import sh.harold.fulcrum.api.kernel.InstanceId;
+import sh.harold.fulcrum.host.api.HostObservation;
+import sh.harold.fulcrum.host.api.HostObservationTypes;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+// Accepts observations on the host thread without touching the network. They wait in a bounded queue that one
+// drainer thread sends downstream as multi-observation frames, so whatever arrives while a frame is on the wire rides
+// the next one. Coalescing types keep only their latest observation per instance while queued, and they are the only
+// observations dropped for space: a full queue gives up a queued coalescing observation or refuses a new one, while
+// any other observation, such as a session attachment, is queued past capacity into a bounded overflow because
+// nothing downstream could rebuild it. Once the overflow is full too, offer rejects it and publish throws. offer never
+// blocks, and its admission together with metrics() is the backpressure signal. A frame the downstream refuses
+// outright, or that still fails after MAX_ATTEMPTS sends, is abandoned and counted rather than retried forever.
+public final class PaperBatchingObservationSink implements PaperObservationSink, AutoCloseable {
+    static final int DEFAULT_CAPACITY = 1024;
+    static final int DEFAULT_MAX_BATCH = 128;
+    static final Set<String> DEFAULT_COALESCING_TYPES = Set.of(HostObservationTypes.READINESS);
+    static final int MAX_ATTEMPTS = 8;
+    private static final long INITIAL_RETRY_MILLIS = 100;
+    private static final long MAX_RETRY_MILLIS = 5_000;
+    private static final Duration CLOSE_TIMEOUT = Duration.ofSeconds(5);
+
+    private final PaperObservationSink delegate;
+    private final int capacity;
+    private final int overflowCapacity;
+    private final int maxBatch;
+    private final Set<String> coalescingTypes;
+    private final ArrayDeque<Queued> queue = new ArrayDeque<>();
+    private final Map<CoalescingKey, Queued> coalescing = new HashMap<>();
+    private final Thread drainer;
+    private boolean closed;
+    private long published;
+    private long coalesced;
+    private long dropped;
+    private long batches;
+    private long failedAttempts;
+    private long rejected;
+    private long abandoned;
+    private RuntimeException lastFailure;
+
+    public PaperBatchingObservationSink(PaperObservationSink delegate) {
+        this(delegate, DEFAULT_CAPACITY, DEFAULT_MAX_BATCH, DEFAULT_COALESCING_TYPES);
+    }
+
+    public PaperBatchingObservationSink(
+            PaperObservationSink delegate,
+            int capacity,
+            int maxBatch,
+            Set<String> coalescingTypes) {
+        this(delegate, capacity, capacity, maxBatch, coalescingTypes);
+    }
+
+    public PaperBatchingObservationSink(
+            PaperObservationSink delegate,
+            int capacity,
+            int overflowCapacity,
+            int maxBatch,
+            Set<String> coalescingTypes) {
+        this.delegate = Objects.requireNonNull(delegate, "delegate");
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        if (overflowCapacity < 0) {
+            throw new IllegalArgumentException("overflowCapacity must not be negative");
+        }
+        if (maxBatch <= 0) {
+            throw new IllegalArgumentException("maxBatch must be positive");
+        }
+        this.capacity = capacity;
+        this.overflowCapacity = overflowCapacity;
+        this.maxBatch = maxBatch;
+        this.coalescingTypes = Set.copyOf(Objects.requireNonNull(coalescingTypes, "coalescingTypes"));
+        this.drainer = new Thread(this::drain, "fulcrum-paper-observation-sink");
+        drainer.setDaemon(true);
+        drainer.start();
+    }
+
+    @Override
+    public void publish(HostObservation observation) {
+        PaperObservationAdmission admission = offer(observation);
+        if (admission == PaperObservationAdmission.REJECTED) {
+            throw new IllegalStateException("Paper observation sink is full; " + observation.observationType() + " was not sent");
+        }
+        if (admission == PaperObservationAdmission.DROPPED
+                && !coalescingTypes.contains(observation.observationType())) {
+            throw new IllegalStateException("Paper observation sink is closed; " + observation.observationType() + " was not sent");
+        }
+    }
+
+    public synchronized PaperObservationAdmission offer(HostObservation observation) {
+        Objects.requireNonNull(observation, "observation");
+        if (closed) {
+            dropped++;
+            return PaperObservationAdmission.DROPPED;
+        }
+        CoalescingKey key = coalescingTypes.contains(observation.observationType())
+                ? new CoalescingKey(observation.instanceId(), observation.observationType())
+                : null;
+        if (key != null) {
+            Queued queued = coalescing.get(key);
+            if (queued != null) {
+                queued.observation = observation;
+                coalesced++;
+                return PaperObservationAdmission.COALESCED;
+            }
+        }
+        if (queue.size() >= capacity) {
+            if (key != null) {
+                dropped++;
+                return PaperObservationAdmission.DROPPED;
+            }
+            if (!evictCoalescing() && queue.size() >= capacity + overflowCapacity) {
+                rejected++;
+                return PaperObservationAdmission.REJECTED;
+            }
+        }
+        Queued queued = new Queued(observation, key);
+        queue.addLast(queued);
+        if (key != null) {
+            coalescing.put(key, queued);
+        }
+        notifyAll();
+        return PaperObservationAdmission.QUEUED;
+    }
+
+    public synchronized PaperObservationQueueMetrics metrics() {
+        return new PaperObservationQueueMetrics(
+                queue.size(),
+                capacity,
+                published,
+                coalesced,
+                dropped,
+                batches,
+                failedAttempts,
+                rejected,
+                abandoned);
+    }
+
+    public synchronized RuntimeException lastFailure() {
+        return lastFailure;
+    }
+
+    // Sends what is still queued before returning, unless the downstream keeps failing past the close timeout.
+    @Override
+    public void close() {
+        synchronized (this) {
+            closed = true;
+            notifyAll();
+        }
+        try {
+            drainer.join(CLOSE_TIMEOUT.toMillis());
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+        drainer.interrupt();
+    }
+
+    private boolean evictCoalescing() {
+        Iterator<Queued> iterator = queue.iterator();
+        while (iterator.hasNext()) {
+            Queued queued = iterator.next();
+            if (queued.key != null) {
+                iterator.remove();
+                coalescing.remove(queued.key);
+                dropped++;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void drain() {
+        List<HostObservation> batch = new ArrayList<>();
+        long retryMillis = INITIAL_RETRY_MILLIS;
+        int attempts = 0;
+        try {
+            while (true) {
+                synchronized (this) {
+                    while (batch.isEmpty() && queue.isEmpty() && !closed) {
+                        wait();
+                    }
+                    if (batch.isEmpty() && queue.isEmpty()) {
+                        return;
+                    }
+                    while (batch.size() < maxBatch && !queue.isEmpty()) {
+                        Queued queued = queue.removeFirst();
+                        if (queued.key != null) {
+                            coalescing.remove(queued.key);
+                        }
+                        batch.add(queued.observation);
+                    }
+                }
+                try {
+                    delegate.publishAll(List.copyOf(batch));
+                } catch (RuntimeException exception) {
+                    attempts++;
+                    synchronized (this) {
+                        failedAttempts++;
+                        lastFailure = exception;
+                        if (PaperSinkRejectedException.permanent(exception) || attempts >= MAX_ATTEMPTS) {
+                            abandoned += batch.size();
+                            batch.clear();
+                            attempts = 0;
+                            retryMillis = INITIAL_RETRY_MILLIS;
+                        } else if (closed) {
+                            dropped += batch.size();
+                            batch.clear();
+                            attempts = 0;
+                        } else {
+                            // close() wakes the backoff early.
+                            wait(retryMillis);
+                            retryMillis = Math.min(MAX_RETRY_MILLIS, retryMillis * 2);
+                        }
+                    }
+                    continue;
+                }
+                synchronized (this) {
+                    published += batch.size();
+                    batches++;
+                }
+                batch.clear();
+                attempts = 0;
+                retryMillis = INITIAL_RETRY_MILLIS;
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class Queued {
+        private HostObservation observation;
+        private final CoalescingKey key;
+
+        private Queued(HostObservation observation, CoalescingKey key) {
+            this.observation = observation;
+            this.key = key;
+        }
+    }
+
+    private record CoalescingKey(InstanceId instanceId, String observationType) {
+    }
+}
@@ -1,7 +1,29 @@
 package sh.harold.fulcrum.host.paper;
 
+import sh.harold.fulcrum.capability.api.CapabilityEnablement;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
 public interface PaperCapabilityBridge {
     PaperSubjectCapabilityView subjectView(PaperSubjectCapabilityRequest request);
 
     PaperChatDecorationResponse decorateChat(PaperChatDecorationRequest request);
+
+    // Responses come back in request order.
+    default List<PaperChatDecorationResponse> decorateChats(List<PaperChatDecorationRequest> requests) {
+        return requests.stream().map(this::decorateChat).toList();
+    }
+
+    // The enablements decorations are currently rendered under; callers caching views or prefixes drop them when
+    // this set changes.
+    default Set<CapabilityEnablement> enablements() {
+        return Set.of();
+    }
+
+    default CompletableFuture<Void> prefetchSubjectViews(Collection<PaperSubjectCapabilityRequest> requests) {
+        return CompletableFuture.completedFuture(null);
+    }
 }
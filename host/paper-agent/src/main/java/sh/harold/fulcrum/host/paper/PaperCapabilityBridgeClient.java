@@ -1,5 +1,7 @@
 package sh.harold.fulcrum.host.paper;
 
+import sh.harold.fulcrum.capability.api.CapabilityEnablement;
+
 import java.io.IOException;
 import java.net.URI;
 import java.net.http.HttpClient;
@@ -7,13 +9,17 @@ import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 
 public final class PaperCapabilityBridgeClient implements PaperCapabilityBridge {
     private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(2);
 
     private final URI subjectViewUrl;
     private final URI chatDecorationUrl;
+    private final URI chatDecorationsUrl;
+    private final URI enablementsUrl;
     private final HttpClient httpClient;
 
     public PaperCapabilityBridgeClient(URI bridgeUrl) {
@@ -24,6 +30,8 @@ public final class PaperCapabilityBridgeClient implements PaperCapabilityBridge
         Objects.requireNonNull(bridgeUrl, "bridgeUrl");
         this.subjectViewUrl = endpoint(bridgeUrl, "subject-view");
         this.chatDecorationUrl = endpoint(bridgeUrl, "chat-decoration");
+        this.chatDecorationsUrl = endpoint(bridgeUrl, "chat-decorations");
+        this.enablementsUrl = endpoint(bridgeUrl, "enablements");
         this.httpClient = Objects.requireNonNull(httpClient, "httpClient");
     }
 
@@ -39,12 +47,40 @@ public final class PaperCapabilityBridgeClient implements PaperCapabilityBridge
         return PaperCapabilityBridgeCodec.decodeChatResponse(response);
     }
 
+    @Override
+    public List<PaperChatDecorationResponse> decorateChats(List<PaperChatDecorationRequest> requests) {
+        if (requests.isEmpty()) {
+            return List.of();
+        }
+        List<PaperChatDecorationResponse> responses = PaperCapabilityBridgeCodec.decodeChatResponses(
+                post(chatDecorationsUrl, PaperCapabilityBridgeCodec.encodeChatRequests(requests)));
+        if (responses.size() != requests.size()) {
+            throw new IllegalStateException("Paper capability bridge answered "
+                    + responses.size()
+                    + " chat decorations for "
+                    + requests.size()
+                    + " requests");
+        }
+        return responses;
+    }
+
+    @Override
+    public Set<CapabilityEnablement> enablements() {
+        return PaperCapabilityBridgeCodec.decodeEnablements(send(HttpRequest.newBuilder(enablementsUrl)
+                .timeout(REQUEST_TIMEOUT)
+                .GET()
+                .build()));
+    }
+
     private String post(URI url, String payload) {
-        HttpRequest httpRequest = HttpRequest.newBuilder(url)
+        return send(HttpRequest.newBuilder(url)
                 .timeout(REQUEST_TIMEOUT)
                 .header("Content-Type", "text/plain; charset=utf-8")
                 .POST(HttpRequest.BodyPublishers.ofString(payload, StandardCharsets.UTF_8))
-                .build();
+                .build());
+    }
+
+    private String send(HttpRequest httpRequest) {
         HttpResponse<String> response;
         try {
             response = httpClient.send(httpRequest, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
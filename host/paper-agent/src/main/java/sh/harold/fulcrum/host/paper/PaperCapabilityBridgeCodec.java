@@ -1,14 +1,21 @@
 package sh.harold.fulcrum.host.paper;
 
+import sh.harold.fulcrum.api.kernel.CapabilityId;
 import sh.harold.fulcrum.api.kernel.SubjectId;
+import sh.harold.fulcrum.capability.api.CapabilityEnablement;
+import sh.harold.fulcrum.capability.api.CapabilityScope;
+import sh.harold.fulcrum.capability.api.CapabilityVersion;
 
 import java.net.URLDecoder;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 public final class PaperCapabilityBridgeCodec {
@@ -69,6 +76,7 @@ public final class PaperCapabilityBridgeCodec {
         Map<String, String> fields = new LinkedHashMap<>();
         fields.put("subjectId", response.subjectId().value().toString());
         fields.put("decoratedMessage", encode(response.decoratedMessage()));
+        response.cacheablePrefix().ifPresent(prefix -> fields.put("cacheablePrefix", encode(prefix)));
         return lines(fields);
     }
 
@@ -76,7 +84,90 @@ public final class PaperCapabilityBridgeCodec {
         Map<String, String> fields = fields(payload);
         return new PaperChatDecorationResponse(
                 subjectId(required(fields, "subjectId")),
-                decode(required(fields, "decoratedMessage")));
+                decode(required(fields, "decoratedMessage")),
+                Optional.ofNullable(fields.get("cacheablePrefix")).map(PaperCapabilityBridgeCodec::decode));
+    }
+
+    // A batch indexes each entry's fields, so one payload keeps the single-entry line format.
+    public static String encodeChatRequests(List<PaperChatDecorationRequest> requests) {
+        Objects.requireNonNull(requests, "requests");
+        Map<String, String> fields = new LinkedHashMap<>();
+        fields.put("count", Integer.toString(requests.size()));
+        for (int index = 0; index < requests.size(); index++) {
+            PaperChatDecorationRequest request = Objects.requireNonNull(requests.get(index), "request");
+            fields.put("subjectId." + index, request.subjectId().value().toString());
+            fields.put("username." + index, encode(request.username()));
+            fields.put("message." + index, encode(request.message()));
+        }
+        return lines(fields);
+    }
+
+    public static List<PaperChatDecorationRequest> decodeChatRequests(String payload) {
+        Map<String, String> fields = fields(payload);
+        int count = count(fields);
+        List<PaperChatDecorationRequest> requests = new ArrayList<>(count);
+        for (int index = 0; index < count; index++) {
+            requests.add(new PaperChatDecorationRequest(
+                    subjectId(required(fields, "subjectId." + index)),
+                    decode(required(fields, "username." + index)),
+                    decode(required(fields, "message." + index))));
+        }
+        return List.copyOf(requests);
+    }
+
+    public static String encodeChatResponses(List<PaperChatDecorationResponse> responses) {
+        Objects.requireNonNull(responses, "responses");
+        Map<String, String> fields = new LinkedHashMap<>();
+        fields.put("count", Integer.toString(responses.size()));
+        for (int index = 0; index < responses.size(); index++) {
+            PaperChatDecorationResponse response = Objects.requireNonNull(responses.get(index), "response");
+            fields.put("subjectId." + index, response.subjectId().value().toString());
+            fields.put("decoratedMessage." + index, encode(response.decoratedMessage()));
+            int entry = index;
+            response.cacheablePrefix().ifPresent(prefix -> fields.put("cacheablePrefix." + entry, encode(prefix)));
+        }
+        return lines(fields);
+    }
+
+    public static List<PaperChatDecorationResponse> decodeChatResponses(String payload) {
+        Map<String, String> fields = fields(payload);
+        int count = count(fields);
+        List<PaperChatDecorationResponse> responses = new ArrayList<>(count);
+        for (int index = 0; index < count; index++) {
+            responses.add(new PaperChatDecorationResponse(
+                    subjectId(required(fields, "subjectId." + index)),
+                    decode(required(fields, "decoratedMessage." + index)),
+                    Optional.ofNullable(fields.get("cacheablePrefix." + index)).map(PaperCapabilityBridgeCodec::decode)));
+        }
+        return List.copyOf(responses);
+    }
+
+    public static String encodeEnablements(Set<CapabilityEnablement> enablements) {
+        Objects.requireNonNull(enablements, "enablements");
+        Map<String, String> fields = new LinkedHashMap<>();
+        fields.put("count", Integer.toString(enablements.size()));
+        int index = 0;
+        for (CapabilityEnablement enablement : enablements) {
+            Objects.requireNonNull(enablement, "enablement");
+            fields.put("capabilityId." + index, encode(enablement.capabilityId().value()));
+            fields.put("version." + index, enablement.version().value());
+            fields.put("scope." + index, encode(enablement.scope().value()));
+            index++;
+        }
+        return lines(fields);
+    }
+
+    public static Set<CapabilityEnablement> decodeEnablements(String payload) {
+        Map<String, String> fields = fields(payload);
+        int count = count(fields);
+        List<CapabilityEnablement> enablements = new ArrayList<>(count);
+        for (int index = 0; index < count; index++) {
+            enablements.add(new CapabilityEnablement(
+                    new CapabilityId(decode(required(fields, "capabilityId." + index))),
+                    new CapabilityVersion(required(fields, "version." + index)),
+                    new CapabilityScope(decode(required(fields, "scope." + index)))));
+        }
+        return Set.copyOf(enablements);
     }
 
     private static Map<String, String> fields(String payload) {
@@ -108,6 +199,19 @@ public final class PaperCapabilityBridgeCodec {
         return value;
     }
 
+    private static int count(Map<String, String> fields) {
+        int count;
+        try {
+            count = Integer.parseInt(required(fields, "count"));
+        } catch (NumberFormatException exception) {
+            throw new IllegalArgumentException("Malformed Paper capability bridge count", exception);
+        }
+        if (count < 0) {
+            throw new IllegalArgumentException("Paper capability bridge count must not be negative");
+        }
+        return count;
+    }
+
     private static SubjectId subjectId(String value) {
         return new SubjectId(UUID.fromString(value));
     }
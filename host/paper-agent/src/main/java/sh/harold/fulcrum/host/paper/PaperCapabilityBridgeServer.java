@@ -7,6 +7,7 @@ import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.net.URI;
 import java.nio.charset.StandardCharsets;
+import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.atomic.AtomicBoolean;
 
@@ -39,6 +40,8 @@ public final class PaperCapabilityBridgeServer implements AutoCloseable {
         }
         server.createContext(PaperCapabilityBridgeClient.endpoint(configuredUrl, "subject-view").getPath(), this::handleSubjectView);
         server.createContext(PaperCapabilityBridgeClient.endpoint(configuredUrl, "chat-decoration").getPath(), this::handleChatDecoration);
+        server.createContext(PaperCapabilityBridgeClient.endpoint(configuredUrl, "chat-decorations").getPath(), this::handleChatDecorations);
+        server.createContext(PaperCapabilityBridgeClient.endpoint(configuredUrl, "enablements").getPath(), this::handleEnablements);
         server.start();
     }
 
@@ -98,6 +101,35 @@ public final class PaperCapabilityBridgeServer implements AutoCloseable {
         }
     }
 
+    private void handleChatDecorations(HttpExchange exchange) throws IOException {
+        if (!"POST".equals(exchange.getRequestMethod())) {
+            respond(exchange, 405, "method not allowed\n");
+            return;
+        }
+        try {
+            String payload = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            List<PaperChatDecorationResponse> responses = capabilityBridge.decorateChats(
+                    PaperCapabilityBridgeCodec.decodeChatRequests(payload));
+            respond(exchange, 200, PaperCapabilityBridgeCodec.encodeChatResponses(responses));
+        } catch (SecurityException exception) {
+            respond(exchange, 403, exception.getMessage() + "\n");
+        } catch (RuntimeException exception) {
+            respond(exchange, 400, exception.getMessage() + "\n");
+        }
+    }
+
+    private void handleEnablements(HttpExchange exchange) throws IOException {
+        if (!"GET".equals(exchange.getRequestMethod())) {
+            respond(exchange, 405, "method not allowed\n");
+            return;
+        }
+        try {
+            respond(exchange, 200, PaperCapabilityBridgeCodec.encodeEnablements(capabilityBridge.enablements()));
+        } catch (RuntimeException exception) {
+            respond(exchange, 500, exception.getMessage() + "\n");
+        }
+    }
+
     private String path() {
         String path = configuredUrl.getPath();
         return path == null || path.isBlank() ? "" : path;
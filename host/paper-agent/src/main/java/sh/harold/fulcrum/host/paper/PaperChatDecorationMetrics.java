@@ -0,0 +1,21 @@
+package sh.harold.fulcrum.host.paper;
+
+import java.time.Duration;
+import java.util.Objects;
+
+public record PaperChatDecorationMetrics(
+        long messages,
+        long cacheHits,
+        long batches,
+        long fallbacks,
+        Duration meanLatency,
+        Duration maxLatency) {
+    public PaperChatDecorationMetrics {
+        meanLatency = Objects.requireNonNull(meanLatency, "meanLatency");
+        maxLatency = Objects.requireNonNull(maxLatency, "maxLatency");
+    }
+
+    public double fallbackRate() {
+        return messages == 0 ? 0 : (double) fallbacks / messages;
+    }
+}
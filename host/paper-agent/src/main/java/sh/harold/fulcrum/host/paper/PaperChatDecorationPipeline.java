@@ -0,0 +1,217 @@
+package sh.harold.fulcrum.host.paper;
+
+import sh.harold.fulcrum.api.kernel.SubjectId;
+import sh.harold.fulcrum.capability.api.CapabilityEnablement;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// Decorates chat without a bridge round trip per message. A subject whose decoration is cached for the current
+// capability revision is answered at once; every other message joins a queue that one drainer sends to the bridge
+// as a single batch, so messages arriving while a batch is on the wire ride the next one. A message that is not
+// decorated within the deadline completes empty and the caller keeps Paper's own rendering. Only a prefix the bridge
+// declares cacheable is replayed, and the plugin feeds the bridge's enablements in so a change drops every entry.
+public final class PaperChatDecorationPipeline {
+    static final Duration DEFAULT_DEADLINE = Duration.ofMillis(250);
+    static final Duration DEFAULT_TTL = Duration.ofMinutes(1);
+    static final int DEFAULT_MAX_BATCH = 64;
+
+    private final PaperCapabilityBridge bridge;
+    private final Duration deadline;
+    private final Duration ttl;
+    private final int maxBatch;
+    private final Clock clock;
+    private final Executor drainExecutor;
+    private final Queue<PendingMessage> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final Map<SubjectId, CachedDecoration> decorations = new ConcurrentHashMap<>();
+    private final AtomicLong revision = new AtomicLong();
+    private final LongAdder messages = new LongAdder();
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder fallbacks = new LongAdder();
+    private final LongAdder latencyNanos = new LongAdder();
+    private final AtomicLong maxLatencyNanos = new AtomicLong();
+    private Set<CapabilityEnablement> enablements = Set.of();
+
+    public PaperChatDecorationPipeline(PaperCapabilityBridge bridge) {
+        this(bridge, DEFAULT_DEADLINE, DEFAULT_TTL, DEFAULT_MAX_BATCH, Clock.systemUTC(),
+                Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    public PaperChatDecorationPipeline(
+            PaperCapabilityBridge bridge,
+            Duration deadline,
+            Duration ttl,
+            int maxBatch,
+            Clock clock,
+            Executor drainExecutor) {
+        this.bridge = Objects.requireNonNull(bridge, "bridge");
+        this.deadline = requirePositive(deadline, "deadline");
+        this.ttl = requirePositive(ttl, "ttl");
+        if (maxBatch <= 0) {
+            throw new IllegalArgumentException("maxBatch must be positive");
+        }
+        this.maxBatch = maxBatch;
+        this.clock = Objects.requireNonNull(clock, "clock");
+        this.drainExecutor = Objects.requireNonNull(drainExecutor, "drainExecutor");
+    }
+
+    public CompletableFuture<Optional<PaperChatDecorationResponse>> decorate(PaperChatDecorationRequest request) {
+        Objects.requireNonNull(request, "request");
+        long startedAt = System.nanoTime();
+        messages.increment();
+        CachedDecoration cached = decorations.get(request.subjectId());
+        if (cached != null && cached.revision() == revision.get() && clock.instant().isBefore(cached.expiresAt())) {
+            cacheHits.increment();
+            record(startedAt);
+            return CompletableFuture.completedFuture(Optional.of(PaperChatDecorationResponse.prefixed(
+                    request.subjectId(),
+                    cached.prefix(),
+                    request.message())));
+        }
+        CompletableFuture<Optional<PaperChatDecorationResponse>> decoration = new CompletableFuture<>();
+        decoration.completeOnTimeout(Optional.empty(), deadline.toNanos(), TimeUnit.NANOSECONDS);
+        // The caller gets the stage after the counters, so a completed decoration is already reflected in metrics().
+        CompletableFuture<Optional<PaperChatDecorationResponse>> counted =
+                decoration.whenComplete((response, failure) -> {
+                    if (failure != null || response.isEmpty()) {
+                        fallbacks.increment();
+                    }
+                    record(startedAt);
+                });
+        pending.add(new PendingMessage(request, decoration));
+        scheduleDrain();
+        return counted;
+    }
+
+    public synchronized void enablementsChanged(Collection<CapabilityEnablement> current) {
+        Set<CapabilityEnablement> next = Set.copyOf(Objects.requireNonNull(current, "current"));
+        if (!next.equals(enablements)) {
+            enablements = next;
+            revision.incrementAndGet();
+            decorations.clear();
+        }
+    }
+
+    public PaperChatDecorationMetrics metrics() {
+        long count = messages.sum();
+        return new PaperChatDecorationMetrics(
+                count,
+                cacheHits.sum(),
+                batches.sum(),
+                fallbacks.sum(),
+                Duration.ofNanos(count == 0 ? 0 : latencyNanos.sum() / count),
+                Duration.ofNanos(maxLatencyNanos.get()));
+    }
+
+    private void scheduleDrain() {
+        if (draining.compareAndSet(false, true)) {
+            drainExecutor.execute(this::drain);
+        }
+    }
+
+    // Only one drainer runs at a time. It rechecks the queue after standing down so a message enqueued in between
+    // is never left waiting for the next arrival.
+    private void drain() {
+        while (true) {
+            List<PendingMessage> batch = new ArrayList<>();
+            PendingMessage next;
+            while (batch.size() < maxBatch && (next = pending.poll()) != null) {
+                if (!next.decoration().isDone()) {
+                    batch.add(next);
+                }
+            }
+            if (!batch.isEmpty()) {
+                send(batch);
+                continue;
+            }
+            draining.set(false);
+            if (pending.isEmpty() || !draining.compareAndSet(false, true)) {
+                return;
+            }
+        }
+    }
+
+    private void send(List<PendingMessage> batch) {
+        batches.increment();
+        long sentRevision = revision.get();
+        List<PaperChatDecorationResponse> responses;
+        try {
+            responses = bridge.decorateChats(batch.stream().map(PendingMessage::request).toList());
+        } catch (RuntimeException exception) {
+            batch.forEach(message -> message.decoration().complete(Optional.empty()));
+            return;
+        }
+        Instant expiresAt = clock.instant().plus(ttl);
+        for (int index = 0; index < batch.size(); index++) {
+            PendingMessage message = batch.get(index);
+            PaperChatDecorationResponse response = index < responses.size() ? responses.get(index) : null;
+            if (response == null || !response.subjectId().equals(message.request().subjectId())) {
+                message.decoration().complete(Optional.empty());
+                continue;
+            }
+            cache(message.request(), response, sentRevision, expiresAt);
+            message.decoration().complete(Optional.of(response));
+        }
+    }
+
+    // The bridge decides whether a decoration depends on the message; a response without a declared prefix, or one
+    // the message was not rendered into, is never replayed for the subject's next message.
+    private void cache(
+            PaperChatDecorationRequest request,
+            PaperChatDecorationResponse response,
+            long sentRevision,
+            Instant expiresAt) {
+        Optional<String> prefix = response.cacheablePrefix();
+        if (prefix.isEmpty() || !response.decoratedMessage().equals(prefix.orElseThrow() + request.message())) {
+            decorations.remove(request.subjectId());
+            return;
+        }
+        CachedDecoration decoration = new CachedDecoration(prefix.orElseThrow(), sentRevision, expiresAt);
+        decorations.put(request.subjectId(), decoration);
+        if (revision.get() != sentRevision) {
+            decorations.remove(request.subjectId(), decoration);
+        }
+    }
+
+    private void record(long startedAt) {
+        long elapsed = System.nanoTime() - startedAt;
+        latencyNanos.add(elapsed);
+        maxLatencyNanos.accumulateAndGet(elapsed, Math::max);
+    }
+
+    private static Duration requirePositive(Duration value, String label) {
+        Objects.requireNonNull(value, label);
+        if (value.isZero() || value.isNegative()) {
+            throw new IllegalArgumentException(label + " must be positive");
+        }
+        return value;
+    }
+
+    private record PendingMessage(
+            PaperChatDecorationRequest request,
+            CompletableFuture<Optional<PaperChatDecorationResponse>> decoration) {
+    }
+
+    private record CachedDecoration(String prefix, long revision, Instant expiresAt) {
+    }
+}
@@ -3,12 +3,30 @@ package sh.harold.fulcrum.host.paper;
 import sh.harold.fulcrum.api.kernel.SubjectId;
 
 import java.util.Objects;
+import java.util.Optional;
 
+// cacheablePrefix is the bridge's promise that, until capabilities change, this subject's messages all decorate to the
+// prefix followed by the message. Without it a decoration may depend on the message and is never reused.
 public record PaperChatDecorationResponse(
         SubjectId subjectId,
-        String decoratedMessage) {
+        String decoratedMessage,
+        Optional<String> cacheablePrefix) {
     public PaperChatDecorationResponse {
         subjectId = Objects.requireNonNull(subjectId, "subjectId");
         decoratedMessage = PaperArtifactNames.requireNonBlank(decoratedMessage, "decoratedMessage");
+        cacheablePrefix = cacheablePrefix == null ? Optional.empty() : cacheablePrefix;
+        if (cacheablePrefix.isPresent() && !decoratedMessage.startsWith(cacheablePrefix.orElseThrow())) {
+            throw new IllegalArgumentException("decoratedMessage must start with cacheablePrefix");
+        }
+    }
+
+    public PaperChatDecorationResponse(SubjectId subjectId, String decoratedMessage) {
+        this(subjectId, decoratedMessage, Optional.empty());
+    }
+
+    public static PaperChatDecorationResponse prefixed(SubjectId subjectId, String prefix, String message) {
+        Objects.requireNonNull(prefix, "prefix");
+        Objects.requireNonNull(message, "message");
+        return new PaperChatDecorationResponse(subjectId, prefix + message, Optional.of(prefix));
     }
 }
@@ -70,6 +70,13 @@ public final class PaperGameServerLifecycle {
         if (!AGONES_ALLOCATED_STATE.equals(snapshot.state())) {
             return Optional.empty();
         }
+        if (snapshot.unboundWarmReservation()) {
+            // A released or expired reservation will never be bound, so hand the GameServer back to the fleet.
+            if (snapshot.abandonedWarmReservation(clock.instant())) {
+                agones.shutdown();
+            }
+            return Optional.empty();
+        }
         return Optional.of(openAllocatedSession(assignment.withAllocationMetadata(snapshot), traceEnvelope));
     }
 
@@ -82,6 +89,9 @@ public final class PaperGameServerLifecycle {
         if (!AGONES_ALLOCATED_STATE.equals(snapshot.state())) {
             throw new IllegalStateException("Agones GameServer must be Allocated before opening a Session");
         }
+        if (snapshot.unboundWarmReservation()) {
+            throw new IllegalStateException("Agones GameServer is a warm reservation without a bound Session");
+        }
         return openAllocatedSession(assignment.withAllocationMetadata(snapshot), traceEnvelope);
     }
 
@@ -10,6 +10,7 @@ import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.List;
 import java.util.Objects;
 
 public final class PaperHttpObservationSink implements PaperObservationSink {
@@ -43,6 +44,22 @@ public final class PaperHttpObservationSink implements PaperObservationSink {
         send(request);
     }
 
+    @Override
+    public void publishAll(List<HostObservation> observations) {
+        Objects.requireNonNull(observations, "observations");
+        if (observations.isEmpty()) {
+            return;
+        }
+        HttpRequest request = HttpRequest.newBuilder(endpoint)
+                .timeout(requestTimeout)
+                .header("Content-Type", "text/plain; charset=utf-8")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        HostObservationWireCodec.encodeAll(observations),
+                        StandardCharsets.UTF_8))
+                .build();
+        send(request);
+    }
+
     private void send(HttpRequest request) {
         HttpResponse<String> response;
         try {
@@ -53,6 +70,11 @@ public final class PaperHttpObservationSink implements PaperObservationSink {
         } catch (IOException exception) {
             throw new IllegalStateException("Paper observation bridge request failed", exception);
         }
+        if (PaperSinkRejectedException.permanentStatus(response.statusCode())) {
+            throw new PaperSinkRejectedException(
+                    "Paper observation bridge rejected the request with HTTP " + response.statusCode(),
+                    response.statusCode());
+        }
         if (response.statusCode() < 200 || response.statusCode() >= 300) {
             throw new IllegalStateException(
                     "Paper observation bridge request failed with HTTP " + response.statusCode());
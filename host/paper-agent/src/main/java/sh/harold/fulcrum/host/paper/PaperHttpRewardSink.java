@@ -50,6 +50,11 @@ public final class PaperHttpRewardSink implements PaperRewardSink {
         } catch (IOException exception) {
             throw new IllegalStateException("Paper reward bridge request failed", exception);
         }
+        if (PaperSinkRejectedException.permanentStatus(response.statusCode())) {
+            throw new PaperSinkRejectedException(
+                    "Paper reward bridge rejected the request with HTTP " + response.statusCode(),
+                    response.statusCode());
+        }
         if (response.statusCode() < 200 || response.statusCode() >= 300) {
             throw new IllegalStateException(
                     "Paper reward bridge request failed with HTTP " + response.statusCode());
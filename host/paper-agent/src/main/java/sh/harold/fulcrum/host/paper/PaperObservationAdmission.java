@@ -0,0 +1,8 @@
+package sh.harold.fulcrum.host.paper;
+
+public enum PaperObservationAdmission {
+    QUEUED,
+    COALESCED,
+    DROPPED,
+    REJECTED
+}
@@ -0,0 +1,26 @@
+package sh.harold.fulcrum.host.paper;
+
+public record PaperObservationQueueMetrics(
+        int depth,
+        int capacity,
+        long published,
+        long coalesced,
+        long dropped,
+        long batches,
+        long failedAttempts,
+        long rejected,
+        long abandoned) {
+    public PaperObservationQueueMetrics {
+        if (depth < 0) {
+            throw new IllegalArgumentException("depth must not be negative");
+        }
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+    }
+
+    // Hosts should shed optional observations once the queue is three quarters full.
+    public boolean backpressured() {
+        return depth * 4L >= capacity * 3L;
+    }
+}
@@ -2,7 +2,13 @@ package sh.harold.fulcrum.host.paper;
 
 import sh.harold.fulcrum.host.api.HostObservation;
 
+import java.util.List;
+
 @FunctionalInterface
 public interface PaperObservationSink {
     void publish(HostObservation observation);
+
+    default void publishAll(List<HostObservation> observations) {
+        observations.forEach(this::publish);
+    }
 }
@@ -9,6 +9,7 @@ import org.bukkit.Material;
 import org.bukkit.World;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
+import org.bukkit.event.player.AsyncPlayerPreLoginEvent;
 import org.bukkit.event.player.PlayerJoinEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.plugin.java.JavaPlugin;
@@ -18,7 +19,9 @@ import sh.harold.fulcrum.api.kernel.SlotId;
 import sh.harold.fulcrum.api.kernel.SubjectId;
 import sh.harold.fulcrum.host.api.HostObservation;
 
+import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.function.Supplier;
 
 public final class PaperPlayerSessionListener implements Listener {
@@ -32,6 +35,7 @@ public final class PaperPlayerSessionListener implements Listener {
     private final Supplier<String> traceIdSupplier;
     private final PaperSpawnPoint spawnPoint;
     private final PaperCapabilityBridge capabilityBridge;
+    private final PaperChatDecorationPipeline chatDecorations;
     private final PaperRewardSink rewardSink;
 
     public PaperPlayerSessionListener(
@@ -42,6 +46,7 @@ public final class PaperPlayerSessionListener implements Listener {
             Supplier<String> traceIdSupplier,
             PaperSpawnPoint spawnPoint,
             PaperCapabilityBridge capabilityBridge,
+            PaperChatDecorationPipeline chatDecorations,
             PaperRewardSink rewardSink) {
         this.plugin = Objects.requireNonNull(plugin, "plugin");
         this.attachmentHandler = Objects.requireNonNull(attachmentHandler, "attachmentHandler");
@@ -52,9 +57,18 @@ public final class PaperPlayerSessionListener implements Listener {
         this.traceIdSupplier = Objects.requireNonNull(traceIdSupplier, "traceIdSupplier");
         this.spawnPoint = Objects.requireNonNull(spawnPoint, "spawnPoint");
         this.capabilityBridge = Objects.requireNonNull(capabilityBridge, "capabilityBridge");
+        this.chatDecorations = Objects.requireNonNull(chatDecorations, "chatDecorations");
         this.rewardSink = Objects.requireNonNull(rewardSink, "rewardSink");
     }
 
+    // Runs off the main thread before the join, so the join normally finds the subject view already cached.
+    @EventHandler
+    public void onAsyncPreLogin(AsyncPlayerPreLoginEvent event) {
+        capabilityBridge.prefetchSubjectViews(List.of(new PaperSubjectCapabilityRequest(
+                new SubjectId(event.getUniqueId()),
+                event.getName())));
+    }
+
     @EventHandler
     public void onPlayerJoin(PlayerJoinEvent event) {
         var player = event.getPlayer();
@@ -119,6 +133,10 @@ public final class PaperPlayerSessionListener implements Listener {
     @EventHandler
     public void onPlayerQuit(PlayerQuitEvent event) {
         var player = event.getPlayer();
+        // The next join fetches a fresh view instead of reusing one cached before the subject left.
+        if (capabilityBridge instanceof PaperSubjectCapabilityViewCache viewCache) {
+            viewCache.invalidate(new SubjectId(player.getUniqueId()));
+        }
         try {
             attachmentHandler.detach(new PaperJoiningSubject(player.getUniqueId(), player.getName()));
         } catch (PaperAllocatedAssignmentFile.AssignmentUnavailableException exception) {
@@ -134,17 +152,15 @@ public final class PaperPlayerSessionListener implements Listener {
         if (message.isBlank()) {
             return;
         }
-        PaperChatDecorationResponse response;
-        try {
-            response = capabilityBridge.decorateChat(new PaperChatDecorationRequest(
-                    new SubjectId(player.getUniqueId()),
-                    player.getName(),
-                    message));
-        } catch (RuntimeException exception) {
-            plugin.getLogger().warning("Falling back to Paper chat renderer after capability bridge failure: "
-                    + exception.getMessage());
+        // Bounded by the pipeline's deadline; an undecorated message keeps Paper's own renderer.
+        Optional<PaperChatDecorationResponse> decorated = chatDecorations.decorate(new PaperChatDecorationRequest(
+                new SubjectId(player.getUniqueId()),
+                player.getName(),
+                message)).join();
+        if (decorated.isEmpty()) {
             return;
         }
+        PaperChatDecorationResponse response = decorated.orElseThrow();
         event.renderer(ChatRenderer.viewerUnaware((source, sourceDisplayName, renderedMessage) ->
                 Component.text(response.decoratedMessage())));
     }
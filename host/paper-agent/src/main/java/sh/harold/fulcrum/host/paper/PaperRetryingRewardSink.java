@@ -0,0 +1,150 @@
+package sh.harold.fulcrum.host.paper;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Objects;
+
+// Moves reward reports off the host thread: reports are sent one at a time in arrival order, and a failed send is
+// retried with backoff. A report the downstream refuses outright, or that still fails after its retry budget, moves to
+// a bounded dead-letter queue so the reports behind it are not held up; deadLetters() keeps it for an operator to
+// replay. close() keeps sending what is queued until the close timeout; a report published after close is refused
+// with an exception instead of vanishing.
+public final class PaperRetryingRewardSink implements PaperRewardSink, AutoCloseable {
+    private static final long INITIAL_RETRY_MILLIS = 100;
+    private static final long MAX_RETRY_MILLIS = 30_000;
+    private static final Duration CLOSE_TIMEOUT = Duration.ofSeconds(5);
+    static final int DEFAULT_MAX_ATTEMPTS = 10;
+    static final int DEAD_LETTER_CAPACITY = 1024;
+
+    private final PaperRewardSink delegate;
+    private final int maxAttempts;
+    private final ArrayDeque<PaperSessionRewardReport> queue = new ArrayDeque<>();
+    private final ArrayDeque<PaperSessionRewardReport> deadLetters = new ArrayDeque<>();
+    private final Thread sender;
+    private boolean closed;
+    private long delivered;
+    private long failedAttempts;
+    private long deadLettered;
+    private RuntimeException lastFailure;
+
+    public PaperRetryingRewardSink(PaperRewardSink delegate) {
+        this(delegate, DEFAULT_MAX_ATTEMPTS);
+    }
+
+    PaperRetryingRewardSink(PaperRewardSink delegate, int maxAttempts) {
+        this.delegate = Objects.requireNonNull(delegate, "delegate");
+        if (maxAttempts <= 0) {
+            throw new IllegalArgumentException("maxAttempts must be positive");
+        }
+        this.maxAttempts = maxAttempts;
+        this.sender = new Thread(this::send, "fulcrum-paper-reward-sink");
+        sender.setDaemon(true);
+        sender.start();
+    }
+
+    @Override
+    public synchronized void publish(PaperSessionRewardReport report) {
+        Objects.requireNonNull(report, "report");
+        if (closed) {
+            throw new IllegalStateException("Paper reward sink is closed; reward for "
+                    + report.subjectId().value() + " in " + report.sessionId().value() + " was not sent");
+        }
+        queue.addLast(report);
+        notifyAll();
+    }
+
+    // Counts the report being sent until the downstream has accepted it.
+    public synchronized int pending() {
+        return queue.size();
+    }
+
+    public synchronized long delivered() {
+        return delivered;
+    }
+
+    public synchronized long failedAttempts() {
+        return failedAttempts;
+    }
+
+    // Counts every report given up on, including ones since pushed out of the bounded dead-letter queue.
+    public synchronized long deadLettered() {
+        return deadLettered;
+    }
+
+    public synchronized List<PaperSessionRewardReport> deadLetters() {
+        return List.copyOf(deadLetters);
+    }
+
+    public synchronized RuntimeException lastFailure() {
+        return lastFailure;
+    }
+
+    @Override
+    public void close() {
+        synchronized (this) {
+            closed = true;
+            notifyAll();
+        }
+        try {
+            sender.join(CLOSE_TIMEOUT.toMillis());
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+        sender.interrupt();
+    }
+
+    private void send() {
+        long retryMillis = INITIAL_RETRY_MILLIS;
+        int attempts = 0;
+        try {
+            while (true) {
+                PaperSessionRewardReport report;
+                synchronized (this) {
+                    while (queue.isEmpty() && !closed) {
+                        wait();
+                    }
+                    if (queue.isEmpty()) {
+                        return;
+                    }
+                    report = queue.peekFirst();
+                }
+                try {
+                    delegate.publish(report);
+                } catch (RuntimeException exception) {
+                    attempts++;
+                    synchronized (this) {
+                        failedAttempts++;
+                        lastFailure = exception;
+                        if (PaperSinkRejectedException.permanent(exception) || attempts >= maxAttempts) {
+                            deadLetter(queue.removeFirst());
+                            attempts = 0;
+                            retryMillis = INITIAL_RETRY_MILLIS;
+                            continue;
+                        }
+                        // close() wakes the backoff early so the remaining reports get one more attempt each.
+                        wait(retryMillis);
+                    }
+                    retryMillis = Math.min(MAX_RETRY_MILLIS, retryMillis * 2);
+                    continue;
+                }
+                synchronized (this) {
+                    queue.removeFirst();
+                    delivered++;
+                }
+                attempts = 0;
+                retryMillis = INITIAL_RETRY_MILLIS;
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void deadLetter(PaperSessionRewardReport report) {
+        if (deadLetters.size() >= DEAD_LETTER_CAPACITY) {
+            deadLetters.removeFirst();
+        }
+        deadLetters.addLast(report);
+        deadLettered++;
+    }
+}
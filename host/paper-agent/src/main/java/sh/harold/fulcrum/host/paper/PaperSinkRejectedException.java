@@ -0,0 +1,26 @@
+package sh.harold.fulcrum.host.paper;
+
+// A downstream refused what it was sent in a way that sending it again cannot fix, such as a bridge answering 400.
+// The retrying sinks give such a send up at once instead of spending their retry budget on it.
+public final class PaperSinkRejectedException extends IllegalStateException {
+    private final int statusCode;
+
+    public PaperSinkRejectedException(String message, int statusCode) {
+        super(message);
+        this.statusCode = statusCode;
+    }
+
+    public int statusCode() {
+        return statusCode;
+    }
+
+    // Encoding failures surface as IllegalArgumentException and fail the same way on every attempt.
+    static boolean permanent(RuntimeException exception) {
+        return exception instanceof PaperSinkRejectedException || exception instanceof IllegalArgumentException;
+    }
+
+    // 408 and 429 ask the client to come back later; every other 4xx is about the request itself.
+    static boolean permanentStatus(int statusCode) {
+        return statusCode >= 400 && statusCode < 500 && statusCode != 408 && statusCode != 429;
+    }
+}
@@ -0,0 +1,146 @@
+package sh.harold.fulcrum.host.paper;
+
+import sh.harold.fulcrum.api.kernel.SubjectId;
+import sh.harold.fulcrum.capability.api.CapabilityEnablement;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+// Subject views for this Paper instance. A join reads the view its pre-login already fetched instead of calling the
+// bridge on the main thread, and concurrent lookups of one subject share a single bridge call. Failed calls are not
+// cached. Every view is dropped when the capability enablements the plugin polls from the bridge change, since those
+// decide how subjects render, and a subject's view is dropped when it quits. Between polls a view is stale for at
+// most the poll interval, and never longer than the TTL when the bridge cannot be reached.
+public final class PaperSubjectCapabilityViewCache implements PaperCapabilityBridge {
+    static final Duration DEFAULT_TTL = Duration.ofMinutes(5);
+
+    private final PaperCapabilityBridge delegate;
+    private final Duration ttl;
+    private final Clock clock;
+    private final Executor prefetchExecutor;
+    private final Map<SubjectId, CachedView> views = new ConcurrentHashMap<>();
+    private Set<CapabilityEnablement> enablements = Set.of();
+
+    public PaperSubjectCapabilityViewCache(PaperCapabilityBridge delegate) {
+        this(delegate, DEFAULT_TTL, Clock.systemUTC(), Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    public PaperSubjectCapabilityViewCache(
+            PaperCapabilityBridge delegate,
+            Duration ttl,
+            Clock clock,
+            Executor prefetchExecutor) {
+        this.delegate = Objects.requireNonNull(delegate, "delegate");
+        this.ttl = Objects.requireNonNull(ttl, "ttl");
+        if (ttl.isZero() || ttl.isNegative()) {
+            throw new IllegalArgumentException("ttl must be positive");
+        }
+        this.clock = Objects.requireNonNull(clock, "clock");
+        this.prefetchExecutor = Objects.requireNonNull(prefetchExecutor, "prefetchExecutor");
+    }
+
+    @Override
+    public PaperSubjectCapabilityView subjectView(PaperSubjectCapabilityRequest request) {
+        try {
+            return lookup(Objects.requireNonNull(request, "request"), Runnable::run).join();
+        } catch (CompletionException exception) {
+            if (exception.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw exception;
+        }
+    }
+
+    @Override
+    public PaperChatDecorationResponse decorateChat(PaperChatDecorationRequest request) {
+        return delegate.decorateChat(request);
+    }
+
+    @Override
+    public List<PaperChatDecorationResponse> decorateChats(List<PaperChatDecorationRequest> requests) {
+        return delegate.decorateChats(requests);
+    }
+
+    @Override
+    public Set<CapabilityEnablement> enablements() {
+        return delegate.enablements();
+    }
+
+    // Starts a bridge call for every subject without a live view; the returned future completes once all of them
+    // have settled, successfully or not.
+    @Override
+    public CompletableFuture<Void> prefetchSubjectViews(Collection<PaperSubjectCapabilityRequest> requests) {
+        Objects.requireNonNull(requests, "requests");
+        evictExpired(clock.instant());
+        return CompletableFuture.allOf(requests.stream()
+                .map(request -> lookup(Objects.requireNonNull(request, "request"), prefetchExecutor)
+                        .handle((view, failure) -> null))
+                .toArray(CompletableFuture[]::new));
+    }
+
+    public synchronized void enablementsChanged(Collection<CapabilityEnablement> current) {
+        Set<CapabilityEnablement> next = Set.copyOf(Objects.requireNonNull(current, "current"));
+        if (!next.equals(enablements)) {
+            enablements = next;
+            views.clear();
+        }
+    }
+
+    public void invalidate(SubjectId subjectId) {
+        views.remove(Objects.requireNonNull(subjectId, "subjectId"));
+    }
+
+    int size() {
+        return views.size();
+    }
+
+    // A view still being fetched is live, so a second lookup joins the first call rather than starting its own.
+    private CompletableFuture<PaperSubjectCapabilityView> lookup(PaperSubjectCapabilityRequest request, Executor loader) {
+        SubjectId subjectId = request.subjectId();
+        Instant now = clock.instant();
+        while (true) {
+            CachedView cached = views.get(subjectId);
+            if (cached != null && cached.liveAt(now)) {
+                return cached.view();
+            }
+            CachedView loading = new CachedView(new CompletableFuture<>(), now.plus(ttl));
+            boolean installed = cached == null
+                    ? views.putIfAbsent(subjectId, loading) == null
+                    : views.replace(subjectId, cached, loading);
+            if (installed) {
+                loader.execute(() -> load(request, loading));
+                return loading.view();
+            }
+        }
+    }
+
+    private void load(PaperSubjectCapabilityRequest request, CachedView loading) {
+        try {
+            loading.view().complete(delegate.subjectView(request));
+        } catch (RuntimeException exception) {
+            views.remove(request.subjectId(), loading);
+            loading.view().completeExceptionally(exception);
+        }
+    }
+
+    private void evictExpired(Instant now) {
+        views.entrySet().removeIf(entry -> !entry.getValue().liveAt(now));
+    }
+
+    private record CachedView(CompletableFuture<PaperSubjectCapabilityView> view, Instant expiresAt) {
+        boolean liveAt(Instant now) {
+            return !view.isDone() || now.isBefore(expiresAt);
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package sh.harold.fulcrum.host.paper;
+
+import org.junit.jupiter.api.Test;
+import sh.harold.fulcrum.api.contract.PrincipalId;
+import sh.harold.fulcrum.api.contract.TraceEnvelope;
+import sh.harold.fulcrum.api.kernel.InstanceId;
+import sh.harold.fulcrum.api.kernel.MachineRef;
+import sh.harold.fulcrum.api.kernel.PoolId;
+import sh.harold.fulcrum.api.kernel.ResolvedManifestId;
+import sh.harold.fulcrum.api.kernel.RouteId;
+import sh.harold.fulcrum.api.kernel.SessionId;
+import sh.harold.fulcrum.api.kernel.SubjectId;
+import sh.harold.fulcrum.host.api.HostInstanceIdentity;
+import sh.harold.fulcrum.host.api.HostInstanceKinds;
+import sh.harold.fulcrum.host.api.HostObservation;
+import sh.harold.fulcrum.host.api.HostObservationFactory;
+import sh.harold.fulcrum.host.api.HostObservationTypes;
+import sh.harold.fulcrum.host.api.HostReadinessReport;
+import sh.harold.fulcrum.host.api.HostSessionAttachment;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class PaperBatchingObservationSinkTest {
+    private static final Instant NOW = Instant.parse("2026-06-18T12:00:00Z");
+    private static final HostInstanceIdentity IDENTITY = new HostInstanceIdentity(
+            new InstanceId("instance-paper-batching-sink"),
+            HostInstanceKinds.PAPER,
+            new PoolId("pool-paper-batching-sink"),
+            new MachineRef("machine-batching-sink"),
+            new PrincipalId("principal-paper-batching-sink"));
+
+    @Test
+    void observationsQueuedDuringAFrameRideTheNextOneWithReadinessCoalesced() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingSink downstream = new RecordingSink(release);
+        try (PaperBatchingObservationSink sink = new PaperBatchingObservationSink(
+                downstream, 16, 128, PaperBatchingObservationSink.DEFAULT_COALESCING_TYPES)) {
+            assertEquals(PaperObservationAdmission.QUEUED, sink.offer(readiness(0)));
+            assertTrue(downstream.firstFrame.await(5, TimeUnit.SECONDS));
+            assertEquals(PaperObservationAdmission.QUEUED, sink.offer(readiness(1)));
+            for (int second = 2; second <= 5; second++) {
+                assertEquals(PaperObservationAdmission.COALESCED, sink.offer(readiness(second)));
+            }
+            for (int subject = 0; subject < 3; subject++) {
+                assertEquals(PaperObservationAdmission.QUEUED, sink.offer(attached(subject)));
+            }
+            assertEquals(4, sink.metrics().depth());
+
+            release.countDown();
+        }
+
+        List<List<HostObservation>> frames = List.copyOf(downstream.frames);
+        assertEquals(2, frames.size());
+        assertEquals(1, frames.get(0).size());
+        assertEquals(4, frames.get(1).size());
+        assertEquals(NOW.plusSeconds(5), frames.get(1).getFirst().observedAt());
+        assertTrue(frames.get(1).subList(1, 4).stream()
+                .allMatch(observation -> observation.observationType().equals(HostObservationTypes.SESSION_ATTACHED)));
+    }
+
+    @Test
+    void fullQueueGivesUpOnlyCoalescingObservationsAndSignalsBackpressure()
+            throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingSink downstream = new RecordingSink(release);
+        try (PaperBatchingObservationSink sink = new PaperBatchingObservationSink(
+                downstream, 2, 128, PaperBatchingObservationSink.DEFAULT_COALESCING_TYPES)) {
+            sink.offer(attached(0));
+            assertTrue(downstream.firstFrame.await(5, TimeUnit.SECONDS));
+            sink.offer(readiness(1));
+            sink.offer(attached(1));
+            assertTrue(sink.metrics().backpressured());
+
+            assertEquals(PaperObservationAdmission.QUEUED, sink.offer(attached(2)));
+            assertEquals(PaperObservationAdmission.QUEUED, sink.offer(attached(3)));
+            assertEquals(PaperObservationAdmission.DROPPED, sink.offer(readiness(2)));
+            PaperObservationQueueMetrics metrics = sink.metrics();
+            assertEquals(3, metrics.depth());
+            assertEquals(2, metrics.dropped());
+
+            release.countDown();
+        }
+
+        List<List<HostObservation>> frames = List.copyOf(downstream.frames);
+        assertEquals(3, frames.get(1).size());
+        assertFalse(frames.get(1).stream()
+                .anyMatch(observation -> observation.observationType().equals(HostObservationTypes.READINESS)));
+    }
+
+    @Test
+    void overflowBeyondItsBoundIsRejectedAndPublishThrows() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingSink downstream = new RecordingSink(release);
+        try (PaperBatchingObservationSink sink = new PaperBatchingObservationSink(
+                downstream, 2, 1, 128, PaperBatchingObservationSink.DEFAULT_COALESCING_TYPES)) {
+            sink.offer(attached(0));
+            assertTrue(downstream.firstFrame.await(5, TimeUnit.SECONDS));
+            for (int subject = 1; subject <= 3; subject++) {
+                assertEquals(PaperObservationAdmission.QUEUED, sink.offer(attached(subject)));
+            }
+
+            assertEquals(PaperObservationAdmission.REJECTED, sink.offer(attached(4)));
+            assertThrows(IllegalStateException.class, () -> sink.publish(attached(5)));
+            PaperObservationQueueMetrics metrics = sink.metrics();
+            assertEquals(3, metrics.depth());
+            assertEquals(2, metrics.rejected());
+
+            release.countDown();
+        }
+    }
+
+    @Test
+    void framesTheDownstreamRefusesAreAbandonedWithoutHoldingUpLaterOnes() throws InterruptedException {
+        AtomicInteger sends = new AtomicInteger();
+        ConcurrentLinkedQueue<List<HostObservation>> delivered = new ConcurrentLinkedQueue<>();
+        try (PaperBatchingObservationSink sink = new PaperBatchingObservationSink(
+                new PaperObservationSink() {
+                    @Override
+                    public void publish(HostObservation observation) {
+                        publishAll(List.of(observation));
+                    }
+
+                    @Override
+                    public void publishAll(List<HostObservation> observations) {
+                        if (sends.getAndIncrement() == 0) {
+                            throw new PaperSinkRejectedException("bridge rejected the frame", 400);
+                        }
+                        delivered.add(observations);
+                    }
+                },
+                16,
+                1,
+                PaperBatchingObservationSink.DEFAULT_COALESCING_TYPES)) {
+            sink.offer(attached(0));
+            sink.offer(attached(1));
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (sink.metrics().published() < 1) {
+                assertTrue(System.nanoTime() < deadline, "the later frame was not sent");
+                Thread.sleep(10);
+            }
+            PaperObservationQueueMetrics metrics = sink.metrics();
+            assertEquals(1, metrics.abandoned());
+            assertEquals(1, metrics.failedAttempts());
+            assertEquals(2, sends.get());
+        }
+
+        assertEquals(List.of(List.of(attached(1))), List.copyOf(delivered));
+    }
+
+    @Test
+    void publishRefusesAnAttachmentOnceTheSinkIsClosed() {
+        RecordingSink downstream = new RecordingSink(new CountDownLatch(0));
+        PaperBatchingObservationSink sink = new PaperBatchingObservationSink(downstream);
+        sink.close();
+
+        sink.publish(readiness(0));
+        assertThrows(IllegalStateException.class, () -> sink.publish(attached(0)));
+        assertEquals(2, sink.metrics().dropped());
+    }
+
+    private static HostObservation readiness(long second) {
+        return HostObservationFactory.readiness(new HostReadinessReport(
+                IDENTITY,
+                new ResolvedManifestId("manifest-paper-batching-sink"),
+                trace(),
+                NOW.plusSeconds(second)));
+    }
+
+    private static HostObservation attached(int subject) {
+        return HostObservationFactory.sessionAttached(new HostSessionAttachment(
+                IDENTITY,
+                new RouteId("route-paper-batching-sink-" + subject),
+                new SubjectId(new UUID(20, subject)),
+                new SessionId("session-paper-batching-sink"),
+                trace(),
+                NOW));
+    }
+
+    private static TraceEnvelope trace() {
+        return new TraceEnvelope(
+                "trace-paper-batching-sink",
+                "span-paper-batching-sink",
+                Optional.empty(),
+                NOW,
+                "paper-agent",
+                IDENTITY.instanceId());
+    }
+
+    private static final class RecordingSink implements PaperObservationSink {
+        private final CountDownLatch release;
+        private final CountDownLatch firstFrame = new CountDownLatch(1);
+        private final ConcurrentLinkedQueue<List<HostObservation>> frames = new ConcurrentLinkedQueue<>();
+
+        private RecordingSink(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void publish(HostObservation observation) {
+            publishAll(List.of(observation));
+        }
+
+        @Override
+        public void publishAll(List<HostObservation> observations) {
+            frames.add(observations);
+            firstFrame.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -1,10 +1,16 @@
 package sh.harold.fulcrum.host.paper;
 
 import org.junit.jupiter.api.Test;
+import sh.harold.fulcrum.api.kernel.CapabilityId;
 import sh.harold.fulcrum.api.kernel.SubjectId;
+import sh.harold.fulcrum.capability.api.CapabilityEnablement;
+import sh.harold.fulcrum.capability.api.CapabilityScope;
+import sh.harold.fulcrum.capability.api.CapabilityVersion;
 
 import java.net.URI;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -13,6 +19,15 @@ final class PaperCapabilityBridgeServerTest {
     @Test
     void clientAndServerRoundTripSubjectViewAndChatDecoration() {
         SubjectId subjectId = new SubjectId(UUID.fromString("99999999-9999-9999-9999-999999999999"));
+        Set<CapabilityEnablement> enablements = Set.of(
+                new CapabilityEnablement(
+                        new CapabilityId("capability-display"),
+                        new CapabilityVersion("1.2.0"),
+                        CapabilityScope.NETWORK),
+                new CapabilityEnablement(
+                        new CapabilityId("capability-chat"),
+                        new CapabilityVersion("2.0.1"),
+                        new CapabilityScope("mode:arena=solo")));
         PaperCapabilityBridge bridge = new PaperCapabilityBridge() {
             @Override
             public PaperSubjectCapabilityView subjectView(PaperSubjectCapabilityRequest request) {
@@ -33,6 +48,11 @@ final class PaperCapabilityBridgeServerTest {
                         request.subjectId(),
                         "[Admin=Owner] Richer=Toast\nOne: hello=there\nnow");
             }
+
+            @Override
+            public Set<CapabilityEnablement> enablements() {
+                return enablements;
+            }
         };
 
         try (PaperCapabilityBridgeServer server = new PaperCapabilityBridgeServer(
@@ -48,7 +68,12 @@ final class PaperCapabilityBridgeServerTest {
                     subjectId,
                     "Richer=Toast\nOne",
                     "hello=there\nnow"));
+            List<PaperChatDecorationResponse> batch = client.decorateChats(List.of(
+                    new PaperChatDecorationRequest(subjectId, "Richer=Toast\nOne", "hello=there\nnow"),
+                    new PaperChatDecorationRequest(subjectId, "Richer=Toast\nOne", "hello=there\nnow")));
 
+            assertEquals(List.of(response, response), batch);
+            assertEquals(enablements, client.enablements());
             assertEquals("Richer=Toast\nOne", view.displayName());
             assertEquals("Admin=Owner", view.rankLabel().orElseThrow());
             assertEquals("[Admin=Owner] Richer=Toast\nOne", view.decoratedDisplayName());
@@ -0,0 +1,168 @@
+package sh.harold.fulcrum.host.paper;
+
+import org.junit.jupiter.api.Test;
+import sh.harold.fulcrum.api.kernel.CapabilityId;
+import sh.harold.fulcrum.api.kernel.SubjectId;
+import sh.harold.fulcrum.capability.api.CapabilityEnablement;
+import sh.harold.fulcrum.capability.api.CapabilityScope;
+import sh.harold.fulcrum.capability.api.CapabilityVersion;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class PaperChatDecorationPipelineTest {
+    private static final SubjectId SUBJECT_ID = new SubjectId(UUID.fromString("88888888-8888-8888-8888-888888888888"));
+    private static final Instant NOW = Instant.parse("2026-06-18T11:00:00Z");
+
+    @Test
+    void messagesArrivingDuringABatchRideTheNextOneAndCachedSubjectsSkipTheBridge() {
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingBridge bridge = new RecordingBridge(release);
+        PaperChatDecorationPipeline pipeline = pipeline(bridge, Duration.ofSeconds(5));
+
+        CompletableFuture<Optional<PaperChatDecorationResponse>> first = pipeline.decorate(request(SUBJECT_ID, "hello"));
+        bridge.awaitFirstBatch();
+        List<CompletableFuture<Optional<PaperChatDecorationResponse>>> burst = IntStream.range(0, 10)
+                .mapToObj(index -> pipeline.decorate(request(new SubjectId(new UUID(8, index)), "spam " + index)))
+                .toList();
+        release.countDown();
+
+        assertEquals("[Admin] Rich: hello", first.join().orElseThrow().decoratedMessage());
+        burst.forEach(decoration -> assertTrue(decoration.join().isPresent()));
+        assertEquals(List.of(1, 10), List.copyOf(bridge.batchSizes));
+        assertEquals("[Admin] Rich: again", pipeline.decorate(request(SUBJECT_ID, "again")).join()
+                .orElseThrow()
+                .decoratedMessage());
+        PaperChatDecorationMetrics metrics = pipeline.metrics();
+        assertEquals(12, metrics.messages());
+        assertEquals(1, metrics.cacheHits());
+        assertEquals(2, metrics.batches());
+        assertEquals(0, metrics.fallbacks());
+    }
+
+    @Test
+    void slowBridgeFallsBackAtTheDeadlineAndCountsIt() {
+        CountDownLatch release = new CountDownLatch(1);
+        PaperChatDecorationPipeline pipeline = pipeline(new RecordingBridge(release), Duration.ofMillis(50));
+
+        Optional<PaperChatDecorationResponse> decoration = pipeline.decorate(request(SUBJECT_ID, "hello")).join();
+        release.countDown();
+
+        assertTrue(decoration.isEmpty());
+        PaperChatDecorationMetrics metrics = pipeline.metrics();
+        assertEquals(1, metrics.fallbacks());
+        assertEquals(1.0, metrics.fallbackRate());
+        assertTrue(metrics.maxLatency().compareTo(Duration.ofMillis(50)) >= 0);
+    }
+
+    @Test
+    void enablementChangesDropCachedDecorations() {
+        RecordingBridge bridge = new RecordingBridge(new CountDownLatch(0));
+        PaperChatDecorationPipeline pipeline = pipeline(bridge, Duration.ofSeconds(5));
+        pipeline.decorate(request(SUBJECT_ID, "hello")).join();
+        pipeline.decorate(request(SUBJECT_ID, "cached")).join();
+
+        pipeline.enablementsChanged(List.of(new CapabilityEnablement(
+                new CapabilityId("capability-display"),
+                new CapabilityVersion("1.0.0"),
+                CapabilityScope.NETWORK)));
+        pipeline.decorate(request(SUBJECT_ID, "refetched")).join();
+
+        assertEquals(List.of(1, 1), List.copyOf(bridge.batchSizes));
+        assertEquals(1, pipeline.metrics().cacheHits());
+    }
+
+    @Test
+    void decorationsWithoutADeclaredPrefixAreNeverReplayed() {
+        RecordingBridge bridge = new RecordingBridge(new CountDownLatch(0), false);
+        PaperChatDecorationPipeline pipeline = pipeline(bridge, Duration.ofSeconds(5));
+
+        assertEquals("[Admin] Rich: hello", pipeline.decorate(request(SUBJECT_ID, "hello")).join()
+                .orElseThrow()
+                .decoratedMessage());
+        assertEquals("[Admin] Rich: again", pipeline.decorate(request(SUBJECT_ID, "again")).join()
+                .orElseThrow()
+                .decoratedMessage());
+
+        assertEquals(List.of(1, 1), List.copyOf(bridge.batchSizes));
+        assertEquals(0, pipeline.metrics().cacheHits());
+    }
+
+    private static PaperChatDecorationPipeline pipeline(PaperCapabilityBridge bridge, Duration deadline) {
+        return new PaperChatDecorationPipeline(
+                bridge,
+                deadline,
+                Duration.ofMinutes(1),
+                64,
+                Clock.fixed(NOW, ZoneOffset.UTC),
+                Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    private static PaperChatDecorationRequest request(SubjectId subjectId, String message) {
+        return new PaperChatDecorationRequest(subjectId, "Rich", message);
+    }
+
+    private static final class RecordingBridge implements PaperCapabilityBridge {
+        private final CountDownLatch release;
+        private final boolean cacheable;
+        private final CountDownLatch firstBatch = new CountDownLatch(1);
+        private final ConcurrentLinkedQueue<Integer> batchSizes = new ConcurrentLinkedQueue<>();
+
+        private RecordingBridge(CountDownLatch release) {
+            this(release, true);
+        }
+
+        private RecordingBridge(CountDownLatch release, boolean cacheable) {
+            this.release = release;
+            this.cacheable = cacheable;
+        }
+
+        @Override
+        public PaperSubjectCapabilityView subjectView(PaperSubjectCapabilityRequest request) {
+            return PaperSubjectCapabilityView.fallback(request.subjectId(), request.username());
+        }
+
+        @Override
+        public PaperChatDecorationResponse decorateChat(PaperChatDecorationRequest request) {
+            String prefix = "[Admin] " + request.username() + ": ";
+            return cacheable
+                    ? PaperChatDecorationResponse.prefixed(request.subjectId(), prefix, request.message())
+                    : new PaperChatDecorationResponse(request.subjectId(), prefix + request.message());
+        }
+
+        @Override
+        public List<PaperChatDecorationResponse> decorateChats(List<PaperChatDecorationRequest> requests) {
+            batchSizes.add(requests.size());
+            firstBatch.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+            return PaperCapabilityBridge.super.decorateChats(requests);
+        }
+
+        void awaitFirstBatch() {
+            try {
+                assertTrue(firstBatch.await(5, TimeUnit.SECONDS));
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(exception);
+            }
+        }
+    }
+}
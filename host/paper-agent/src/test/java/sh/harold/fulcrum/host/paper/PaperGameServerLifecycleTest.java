@@ -128,6 +128,46 @@ final class PaperGameServerLifecycleTest {
         assertTrue(lifecycle.activateSessionIfAllocated(assignment(archive), trace()).isEmpty());
     }
 
+    @Test
+    void unboundWarmReservationWaitsForSessionAndShutsDownOnceReleased() {
+        byte[] archive = worldArchive(Map.of("level.dat", "bedrock-lobby"));
+        RecordingSessionLifecyclePort sessionPort = new RecordingSessionLifecyclePort();
+        RecordingAgonesSdk held = new RecordingAgonesSdk("Allocated", warmMetadata(false));
+        RecordingAgonesSdk released = new RecordingAgonesSdk("Allocated", warmMetadata(true));
+
+        assertTrue(lifecycle(cache(archive), held, new RecordingObservationSink(), sessionPort)
+                .activateSessionIfAllocated(assignment(archive), trace())
+                .isEmpty());
+        assertThrows(IllegalStateException.class, () -> lifecycle(cache(archive), held, new RecordingObservationSink(), sessionPort)
+                .activateAllocatedSession(assignment(archive), trace()));
+        assertTrue(lifecycle(cache(archive), released, new RecordingObservationSink(), sessionPort)
+                .activateSessionIfAllocated(assignment(archive), trace())
+                .isEmpty());
+
+        assertFalse(held.calls().contains("shutdown"));
+        assertTrue(released.calls().contains("shutdown"));
+        assertTrue(sessionPort.opens().isEmpty());
+    }
+
+    @Test
+    void unboundWarmReservationShutsDownOncePastItsReservedUntilDeadline() {
+        byte[] archive = worldArchive(Map.of("level.dat", "bedrock-lobby"));
+        RecordingSessionLifecyclePort sessionPort = new RecordingSessionLifecyclePort();
+        RecordingAgonesSdk held = new RecordingAgonesSdk("Allocated", warmMetadata(reservedUntil(NOW.plusSeconds(1))));
+        RecordingAgonesSdk expired = new RecordingAgonesSdk("Allocated", warmMetadata(reservedUntil(NOW)));
+
+        assertTrue(lifecycle(cache(archive), held, new RecordingObservationSink(), sessionPort)
+                .activateSessionIfAllocated(assignment(archive), trace())
+                .isEmpty());
+        assertTrue(lifecycle(cache(archive), expired, new RecordingObservationSink(), sessionPort)
+                .activateSessionIfAllocated(assignment(archive), trace())
+                .isEmpty());
+
+        assertFalse(held.calls().contains("shutdown"));
+        assertTrue(expired.calls().contains("shutdown"));
+        assertTrue(sessionPort.opens().isEmpty());
+    }
+
     @Test
     void rejectsAllocatedSessionWithDifferentResolvedManifest() {
         byte[] archive = worldArchive(Map.of("level.dat", "bedrock-lobby"));
@@ -282,6 +322,30 @@ final class PaperGameServerLifecycleTest {
                 """.formatted(sessionId, slotId, resolvedManifestId);
     }
 
+    private static String warmMetadata(boolean released) {
+        return warmMetadata(released ? ",\n\"sh.harold.fulcrum/warm-released\": \"true\"" : "");
+    }
+
+    private static String reservedUntil(Instant deadline) {
+        return ",\n\"sh.harold.fulcrum/warm-reserved-until\": \"" + deadline + "\"";
+    }
+
+    private static String warmMetadata(String extraAnnotations) {
+        return """
+                {
+                  "objectMeta": {
+                    "labels": {
+                      "sh.harold.fulcrum/warm-reservation": "warm-lobby-1"
+                    },
+                    "annotations": {
+                      "sh.harold.fulcrum/warm-reservation": "warm-lobby-1",
+                      "sh.harold.fulcrum/resolved-manifest-id": "manifest-lobby"%s
+                    }
+                  }
+                }
+                """.formatted(extraAnnotations);
+    }
+
     private static Clock clock() {
         return Clock.fixed(NOW, ZoneOffset.UTC);
     }
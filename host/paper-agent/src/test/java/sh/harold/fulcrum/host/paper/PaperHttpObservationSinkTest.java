@@ -21,6 +21,7 @@ import java.net.InetSocketAddress;
 import java.net.URI;
 import java.nio.charset.StandardCharsets;
 import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -45,7 +46,27 @@ final class PaperHttpObservationSinkTest {
         }
     }
 
+    @Test
+    void postsABatchAsOneFrameThatStillDecodesSingleObservationPosts() throws Exception {
+        AtomicReference<String> requestBody = new AtomicReference<>();
+        try (BridgeFixture bridge = BridgeFixture.start(requestBody)) {
+            PaperHttpObservationSink sink = new PaperHttpObservationSink(bridge.uri());
+            List<HostObservation> observations = List.of(observation(), observation(NOW.plusSeconds(1)));
+
+            sink.publishAll(observations);
+
+            List<HostObservation> decoded = HostObservationWireCodec.decodeAll(requestBody.get());
+            assertEquals(2, decoded.size());
+            assertEquals(NOW.plusSeconds(1), decoded.get(1).observedAt());
+            assertEquals(1, HostObservationWireCodec.decodeAll(HostObservationWireCodec.encode(observation())).size());
+        }
+    }
+
     private static HostObservation observation() {
+        return observation(NOW);
+    }
+
+    private static HostObservation observation(Instant readyAt) {
         HostInstanceIdentity identity = new HostInstanceIdentity(
                 new InstanceId("instance-paper-http-sink"),
                 HostInstanceKinds.PAPER,
@@ -63,7 +84,7 @@ final class PaperHttpObservationSinkTest {
                 identity,
                 new ResolvedManifestId("manifest-paper-http-sink"),
                 trace,
-                NOW));
+                readyAt));
     }
 
     private static final class BridgeFixture implements AutoCloseable {
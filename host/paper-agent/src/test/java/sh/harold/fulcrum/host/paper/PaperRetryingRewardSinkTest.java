@@ -0,0 +1,110 @@
+package sh.harold.fulcrum.host.paper;
+
+import org.junit.jupiter.api.Test;
+import sh.harold.fulcrum.api.contract.TraceEnvelope;
+import sh.harold.fulcrum.api.kernel.InstanceId;
+import sh.harold.fulcrum.api.kernel.RouteId;
+import sh.harold.fulcrum.api.kernel.SessionId;
+import sh.harold.fulcrum.api.kernel.SubjectId;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class PaperRetryingRewardSinkTest {
+    private static final Instant NOW = Instant.parse("2026-06-19T12:00:00Z");
+
+    @Test
+    void failedReportsAreRetriedInOrderUntilDelivered() throws InterruptedException {
+        AtomicInteger failuresLeft = new AtomicInteger(2);
+        ConcurrentLinkedQueue<PaperSessionRewardReport> received = new ConcurrentLinkedQueue<>();
+        PaperSessionRewardReport first = rewardReport(1);
+        PaperSessionRewardReport second = rewardReport(2);
+        try (PaperRetryingRewardSink sink = new PaperRetryingRewardSink(report -> {
+            if (failuresLeft.getAndDecrement() > 0) {
+                throw new IllegalStateException("reward bridge unavailable");
+            }
+            received.add(report);
+        })) {
+            sink.publish(first);
+            sink.publish(second);
+
+            long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+            while (sink.delivered() < 2) {
+                assertTrue(System.nanoTime() < deadline, "rewards were not redelivered");
+                Thread.sleep(10);
+            }
+            assertEquals(2, sink.failedAttempts());
+            assertEquals(0, sink.pending());
+        }
+
+        assertEquals(List.of(first, second), List.copyOf(received));
+    }
+
+    @Test
+    void reportsTheDownstreamRefusesOrThatExhaustTheirBudgetAreDeadLettered() throws InterruptedException {
+        PaperSessionRewardReport refused = rewardReport(1);
+        PaperSessionRewardReport failing = rewardReport(2);
+        PaperSessionRewardReport accepted = rewardReport(3);
+        ConcurrentLinkedQueue<PaperSessionRewardReport> received = new ConcurrentLinkedQueue<>();
+        try (PaperRetryingRewardSink sink = new PaperRetryingRewardSink(report -> {
+            if (report.equals(refused)) {
+                throw new PaperSinkRejectedException("reward bridge rejected the report", 400);
+            }
+            if (report.equals(failing)) {
+                throw new IllegalStateException("reward bridge unavailable");
+            }
+            received.add(report);
+        }, 2)) {
+            sink.publish(refused);
+            sink.publish(failing);
+            sink.publish(accepted);
+
+            long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+            while (sink.delivered() < 1) {
+                assertTrue(System.nanoTime() < deadline, "the report behind the failures was not delivered");
+                Thread.sleep(10);
+            }
+            assertEquals(3, sink.failedAttempts());
+            assertEquals(2, sink.deadLettered());
+            assertEquals(List.of(refused, failing), sink.deadLetters());
+            assertEquals(0, sink.pending());
+        }
+
+        assertEquals(List.of(accepted), List.copyOf(received));
+    }
+
+    @Test
+    void reportPublishedAfterCloseIsRefused() {
+        PaperRetryingRewardSink sink = new PaperRetryingRewardSink(report -> {
+        });
+        sink.close();
+
+        assertThrows(IllegalStateException.class, () -> sink.publish(rewardReport(1)));
+    }
+
+    private static PaperSessionRewardReport rewardReport(int subject) {
+        InstanceId instanceId = new InstanceId("instance-paper-retrying-reward");
+        return new PaperSessionRewardReport(
+                instanceId,
+                new SessionId("session-paper-retrying-reward"),
+                new RouteId("route-paper-retrying-reward"),
+                new SubjectId(new UUID(30, subject)),
+                new TraceEnvelope(
+                        "trace-paper-retrying-reward",
+                        "span-paper-retrying-reward",
+                        Optional.empty(),
+                        NOW,
+                        "paper-agent",
+                        instanceId),
+                NOW);
+    }
+}
@@ -0,0 +1,166 @@
+package sh.harold.fulcrum.host.paper;
+
+import org.junit.jupiter.api.Test;
+import sh.harold.fulcrum.api.kernel.CapabilityId;
+import sh.harold.fulcrum.api.kernel.SubjectId;
+import sh.harold.fulcrum.capability.api.CapabilityEnablement;
+import sh.harold.fulcrum.capability.api.CapabilityScope;
+import sh.harold.fulcrum.capability.api.CapabilityVersion;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class PaperSubjectCapabilityViewCacheTest {
+    private static final SubjectId SUBJECT_ID = new SubjectId(UUID.fromString("77777777-7777-7777-7777-777777777777"));
+    private static final Instant NOW = Instant.parse("2026-06-18T10:00:00Z");
+
+    @Test
+    void concurrentLookupsShareOneBridgeCallUntilTheViewExpires() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        CountingBridge bridge = new CountingBridge(release);
+        MutableClock clock = new MutableClock(NOW);
+        PaperSubjectCapabilityViewCache cache = new PaperSubjectCapabilityViewCache(
+                bridge, Duration.ofMinutes(1), clock, Executors.newVirtualThreadPerTaskExecutor());
+        ConcurrentLinkedQueue<PaperSubjectCapabilityView> seen = new ConcurrentLinkedQueue<>();
+        List<Thread> lookups = IntStream.range(0, 8)
+                .mapToObj(index -> Thread.ofVirtual().start(() -> seen.add(cache.subjectView(request(SUBJECT_ID)))))
+                .toList();
+
+        Thread.sleep(50);
+        release.countDown();
+        for (Thread lookup : lookups) {
+            lookup.join();
+        }
+
+        assertEquals(1, bridge.calls.get());
+        assertEquals(8, seen.size());
+        assertTrue(seen.stream().allMatch(view -> view.decoratedDisplayName().equals("[Admin] Rich")));
+        clock.advance(Duration.ofSeconds(59));
+        cache.subjectView(request(SUBJECT_ID));
+        assertEquals(1, bridge.calls.get());
+        clock.advance(Duration.ofSeconds(1));
+        cache.subjectView(request(SUBJECT_ID));
+        assertEquals(2, bridge.calls.get());
+    }
+
+    @Test
+    void prefetchWarmsTheRosterAndEnablementChangesDropEveryView() {
+        CountingBridge bridge = new CountingBridge(new CountDownLatch(0));
+        PaperSubjectCapabilityViewCache cache = new PaperSubjectCapabilityViewCache(
+                bridge, Duration.ofMinutes(5), Clock.fixed(NOW, ZoneOffset.UTC), Executors.newVirtualThreadPerTaskExecutor());
+        List<PaperSubjectCapabilityRequest> roster = IntStream.range(0, 16)
+                .mapToObj(index -> request(new SubjectId(new UUID(7, index))))
+                .toList();
+
+        cache.prefetchSubjectViews(roster).join();
+        roster.forEach(cache::subjectView);
+
+        assertEquals(16, bridge.calls.get());
+        List<CapabilityEnablement> enablements = List.of(new CapabilityEnablement(
+                new CapabilityId("capability-display"),
+                new CapabilityVersion("1.0.0"),
+                CapabilityScope.NETWORK));
+        cache.enablementsChanged(enablements);
+        assertEquals(0, cache.size());
+        cache.prefetchSubjectViews(roster).join();
+        cache.enablementsChanged(enablements);
+        roster.forEach(cache::subjectView);
+        assertEquals(32, bridge.calls.get());
+    }
+
+    @Test
+    void failedBridgeCallsAreNotCached() {
+        AtomicInteger calls = new AtomicInteger();
+        PaperCapabilityBridge failing = new CountingBridge(new CountDownLatch(0)) {
+            @Override
+            public PaperSubjectCapabilityView subjectView(PaperSubjectCapabilityRequest request) {
+                if (calls.incrementAndGet() == 1) {
+                    throw new IllegalStateException("bridge down");
+                }
+                return super.subjectView(request);
+            }
+        };
+        PaperSubjectCapabilityViewCache cache = new PaperSubjectCapabilityViewCache(
+                failing, Duration.ofMinutes(5), Clock.fixed(NOW, ZoneOffset.UTC), Runnable::run);
+
+        assertThrows(IllegalStateException.class, () -> cache.subjectView(request(SUBJECT_ID)));
+        CompletableFuture<Void> prefetch = cache.prefetchSubjectViews(List.of(request(SUBJECT_ID)));
+
+        assertTrue(prefetch.isDone());
+        assertEquals("Rich", cache.subjectView(request(SUBJECT_ID)).displayName());
+        assertEquals(2, calls.get());
+    }
+
+    private static PaperSubjectCapabilityRequest request(SubjectId subjectId) {
+        return new PaperSubjectCapabilityRequest(subjectId, "Rich");
+    }
+
+    private static class CountingBridge implements PaperCapabilityBridge {
+        private final CountDownLatch release;
+        private final AtomicInteger calls = new AtomicInteger();
+
+        private CountingBridge(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public PaperSubjectCapabilityView subjectView(PaperSubjectCapabilityRequest request) {
+            calls.incrementAndGet();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+            return new PaperSubjectCapabilityView(request.subjectId(), request.username(), Optional.of("Admin"));
+        }
+
+        @Override
+        public PaperChatDecorationResponse decorateChat(PaperChatDecorationRequest request) {
+            return new PaperChatDecorationResponse(request.subjectId(), request.username() + ": " + request.message());
+        }
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
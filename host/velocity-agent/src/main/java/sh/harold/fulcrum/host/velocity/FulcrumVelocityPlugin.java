@@ -79,24 +79,26 @@ public final class FulcrumVelocityPlugin {
     }
 
     @Subscribe
-    public void onLogin(LoginEvent event) {
+    public EventTask onLogin(LoginEvent event) {
         VelocityLoginAdmissionHandler handler = loginAdmissionHandler;
+        String username = event.getPlayer().getUsername();
         SubjectId subjectId = new SubjectId(event.getPlayer().getUniqueId());
-        loginSubjects.record(event.getPlayer().getUsername(), subjectId);
+        loginSubjects.record(username, subjectId);
         if (handler == null) {
-            loginSubjects.remove(event.getPlayer().getUsername());
+            loginSubjects.remove(username);
             deny(event, VelocityLoginAdmissionHandler.BRIDGE_UNAVAILABLE_REASON);
-            return;
+            return EventTask.resumeWhenComplete(CompletableFuture.completedFuture(null));
         }
-        VelocityLoginGateDecision decision = handler.evaluate(
-                subjectId,
-                event.getPlayer().getUsername());
-        if (!decision.allowed()) {
-            loginSubjects.remove(event.getPlayer().getUsername());
-            deny(event, decision.denialReason().orElse(VelocityLoginAdmissionHandler.BRIDGE_UNAVAILABLE_REASON));
-            return;
-        }
-        loginSubjects.record(event.getPlayer().getUsername(), decision.subjectId());
+        CompletableFuture<Void> admission = handler.evaluateAsync(subjectId, username)
+                .thenAccept(decision -> {
+                    if (!decision.allowed()) {
+                        loginSubjects.remove(username);
+                        deny(event, decision.denialReason().orElse(VelocityLoginAdmissionHandler.BRIDGE_UNAVAILABLE_REASON));
+                        return;
+                    }
+                    loginSubjects.record(username, decision.subjectId());
+                });
+        return EventTask.resumeWhenComplete(admission);
     }
 
     @Subscribe
@@ -4,6 +4,7 @@ import sh.harold.fulcrum.api.kernel.SubjectId;
 
 import java.time.Clock;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 
 final class VelocityLoginAdmissionHandler {
     static final String BRIDGE_UNAVAILABLE_REASON = "Login temporarily unavailable";
@@ -22,16 +23,22 @@ final class VelocityLoginAdmissionHandler {
     }
 
     VelocityLoginGateDecision evaluate(SubjectId subjectId, String username) {
+        return evaluateAsync(subjectId, username).join();
+    }
+
+    CompletableFuture<VelocityLoginGateDecision> evaluateAsync(SubjectId subjectId, String username) {
         Objects.requireNonNull(subjectId, "subjectId");
+        CompletableFuture<VelocityLoginGateDecision> decision;
         try {
-            return evaluator.evaluate(new VelocityLoginGateRequest(
+            decision = evaluator.evaluateAsync(new VelocityLoginGateRequest(
                     subjectId,
                     username,
                     loginGateScope,
                     clock.instant()));
         } catch (RuntimeException exception) {
-            return VelocityLoginGateDecision.denied(subjectId, BRIDGE_UNAVAILABLE_REASON);
+            decision = CompletableFuture.failedFuture(exception);
         }
+        return decision.exceptionally(failure -> VelocityLoginGateDecision.denied(subjectId, BRIDGE_UNAVAILABLE_REASON));
     }
 
     private static String requireNonBlank(String value, String label) {
@@ -1,50 +1,182 @@
 package sh.harold.fulcrum.host.velocity;
 
-import java.io.IOException;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
+// Logins are sent with sendAsync over one long-lived client, so they share its persistent connections (multiplexed
+// when the bridge speaks HTTP/2) instead of holding a proxy thread each. At most maxInFlight requests are on the wire;
+// the rest wait in arrival order, and every login fails once its deadline passes, queued or not.
 public final class VelocityLoginGateBridgeClient implements VelocityLoginGateEvaluator {
+    static final int DEFAULT_MAX_IN_FLIGHT = 256;
+    static final Duration DEFAULT_REQUEST_TIMEOUT = Duration.ofSeconds(5);
+    private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(2);
+
     private final URI loginGateBridgeUrl;
     private final HttpClient httpClient;
+    private final int maxInFlight;
+    private final Duration requestTimeout;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Queue<PendingLogin> waiting = new ConcurrentLinkedQueue<>();
 
     public VelocityLoginGateBridgeClient(URI loginGateBridgeUrl) {
-        this(loginGateBridgeUrl, HttpClient.newHttpClient());
+        this(loginGateBridgeUrl, defaultHttpClient());
     }
 
     public VelocityLoginGateBridgeClient(URI loginGateBridgeUrl, HttpClient httpClient) {
+        this(loginGateBridgeUrl, httpClient, DEFAULT_MAX_IN_FLIGHT, DEFAULT_REQUEST_TIMEOUT);
+    }
+
+    public VelocityLoginGateBridgeClient(
+            URI loginGateBridgeUrl,
+            HttpClient httpClient,
+            int maxInFlight,
+            Duration requestTimeout) {
         this.loginGateBridgeUrl = Objects.requireNonNull(loginGateBridgeUrl, "loginGateBridgeUrl");
         this.httpClient = Objects.requireNonNull(httpClient, "httpClient");
+        if (maxInFlight <= 0) {
+            throw new IllegalArgumentException("maxInFlight must be positive");
+        }
+        this.maxInFlight = maxInFlight;
+        this.requestTimeout = Objects.requireNonNull(requestTimeout, "requestTimeout");
+        if (requestTimeout.isZero() || requestTimeout.isNegative()) {
+            throw new IllegalArgumentException("requestTimeout must be positive");
+        }
     }
 
     @Override
     public VelocityLoginGateDecision evaluate(VelocityLoginGateRequest request) {
+        try {
+            return evaluateAsync(request).join();
+        } catch (CompletionException exception) {
+            if (exception.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (exception.getCause() instanceof TimeoutException) {
+                throw new IllegalStateException("Velocity login gate bridge request timed out", exception.getCause());
+            }
+            throw new IllegalStateException("Velocity login gate bridge request failed", exception.getCause());
+        }
+    }
+
+    @Override
+    public CompletableFuture<VelocityLoginGateDecision> evaluateAsync(VelocityLoginGateRequest request) {
         Objects.requireNonNull(request, "request");
+        PendingLogin login = new PendingLogin(
+                VelocityLoginGateBridgeCodec.encodeRequest(request),
+                System.nanoTime() + requestTimeout.toNanos(),
+                new CompletableFuture<>());
+        login.decision().orTimeout(requestTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        waiting.add(login);
+        dispatch();
+        return login.decision();
+    }
+
+    int inFlight() {
+        return inFlight.get();
+    }
+
+    int waiting() {
+        return waiting.size();
+    }
+
+    // Both an arrival and a completion act first and check second, so neither can strand a waiting login.
+    private void dispatch() {
+        while (!waiting.isEmpty()) {
+            int current = inFlight.get();
+            if (current >= maxInFlight) {
+                return;
+            }
+            if (!inFlight.compareAndSet(current, current + 1)) {
+                continue;
+            }
+            PendingLogin login = waiting.poll();
+            if (login == null) {
+                inFlight.decrementAndGet();
+                continue;
+            }
+            send(login);
+        }
+    }
+
+    private void send(PendingLogin login) {
+        long remainingNanos = login.deadlineNanos() - System.nanoTime();
+        if (login.decision().isDone() || remainingNanos <= 0) {
+            login.decision().completeExceptionally(new TimeoutException("login waited past its deadline"));
+            inFlight.decrementAndGet();
+            return;
+        }
         HttpRequest httpRequest = HttpRequest.newBuilder(loginGateBridgeUrl)
+                .timeout(Duration.ofNanos(remainingNanos))
                 .header("Content-Type", "text/plain; charset=utf-8")
-                .POST(HttpRequest.BodyPublishers.ofString(
-                        VelocityLoginGateBridgeCodec.encodeRequest(request),
-                        StandardCharsets.UTF_8))
+                .POST(HttpRequest.BodyPublishers.ofString(login.payload(), StandardCharsets.UTF_8))
                 .build();
-        HttpResponse<String> response;
+        CompletableFuture<HttpResponse<String>> response;
         try {
-            response = httpClient.send(httpRequest, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
-        } catch (InterruptedException exception) {
-            Thread.currentThread().interrupt();
-            throw new IllegalStateException("Velocity login gate bridge request was interrupted", exception);
-        } catch (IOException exception) {
-            throw new IllegalStateException("Velocity login gate bridge request failed", exception);
+            response = httpClient.sendAsync(httpRequest, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+        } catch (RuntimeException exception) {
+            response = CompletableFuture.failedFuture(exception);
+        }
+        response.whenComplete((completed, failure) -> {
+            inFlight.decrementAndGet();
+            complete(login.decision(), completed, failure);
+            dispatch();
+        });
+    }
+
+    private static void complete(
+            CompletableFuture<VelocityLoginGateDecision> decision,
+            HttpResponse<String> response,
+            Throwable failure) {
+        if (failure != null) {
+            Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+                    ? failure.getCause()
+                    : failure;
+            decision.completeExceptionally(cause instanceof HttpTimeoutException
+                    ? new TimeoutException(cause.getMessage())
+                    : new IllegalStateException("Velocity login gate bridge request failed", cause));
+            return;
         }
         if (response.statusCode() < 200 || response.statusCode() >= 300) {
-            throw new IllegalStateException("Velocity login gate bridge failed with HTTP "
+            decision.completeExceptionally(new IllegalStateException("Velocity login gate bridge failed with HTTP "
                     + response.statusCode()
                     + ": "
-                    + response.body().strip());
+                    + response.body().strip()));
+            return;
         }
-        return VelocityLoginGateBridgeCodec.decodeDecision(response.body());
+        try {
+            decision.complete(VelocityLoginGateBridgeCodec.decodeDecision(response.body()));
+        } catch (RuntimeException exception) {
+            decision.completeExceptionally(exception);
+        }
+    }
+
+    // HTTP/2 is negotiated where the bridge offers it; otherwise the client keeps its HTTP/1.1 connections alive
+    // and reuses them, so a burst of logins does not pay a handshake each.
+    private static HttpClient defaultHttpClient() {
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(CONNECT_TIMEOUT)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+    }
+
+    private record PendingLogin(
+            String payload,
+            long deadlineNanos,
+            CompletableFuture<VelocityLoginGateDecision> decision) {
     }
 }
@@ -8,6 +8,8 @@ import java.net.InetSocketAddress;
 import java.net.URI;
 import java.nio.charset.StandardCharsets;
 import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 public final class VelocityLoginGateBridgeServer implements AutoCloseable {
@@ -15,6 +17,7 @@ public final class VelocityLoginGateBridgeServer implements AutoCloseable {
     private final VelocityLoginGateEvaluator evaluator;
     private final AtomicBoolean started = new AtomicBoolean(false);
     private HttpServer server;
+    private ExecutorService executor;
 
     public VelocityLoginGateBridgeServer(URI configuredUrl, VelocityLoginGateEvaluator evaluator) {
         this.configuredUrl = Objects.requireNonNull(configuredUrl, "configuredUrl");
@@ -40,6 +43,10 @@ public final class VelocityLoginGateBridgeServer implements AutoCloseable {
             started.set(false);
             throw new IllegalStateException("Could not bind Velocity login gate bridge " + configuredUrl, exception);
         }
+        // Evaluations block on the controller's acknowledgements; a virtual thread per exchange keeps a login burst
+        // from queuing behind the server's single dispatcher thread.
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        server.setExecutor(executor);
         server.createContext(path(), this::handle);
         server.start();
     }
@@ -63,6 +70,10 @@ public final class VelocityLoginGateBridgeServer implements AutoCloseable {
         if (current != null) {
             current.stop(0);
         }
+        ExecutorService currentExecutor = executor;
+        if (currentExecutor != null) {
+            currentExecutor.shutdown();
+        }
         started.set(false);
     }
 
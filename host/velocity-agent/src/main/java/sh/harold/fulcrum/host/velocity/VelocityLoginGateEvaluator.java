@@ -1,6 +1,16 @@
 package sh.harold.fulcrum.host.velocity;
 
+import java.util.concurrent.CompletableFuture;
+
 @FunctionalInterface
 public interface VelocityLoginGateEvaluator {
     VelocityLoginGateDecision evaluate(VelocityLoginGateRequest request);
+
+    default CompletableFuture<VelocityLoginGateDecision> evaluateAsync(VelocityLoginGateRequest request) {
+        try {
+            return CompletableFuture.completedFuture(evaluate(request));
+        } catch (RuntimeException exception) {
+            return CompletableFuture.failedFuture(exception);
+        }
+    }
 }
@@ -4,14 +4,23 @@ import org.junit.jupiter.api.Test;
 import sh.harold.fulcrum.api.kernel.SubjectId;
 
 import java.net.URI;
+import java.net.http.HttpClient;
 import java.time.Clock;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.ZoneOffset;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 final class VelocityLoginGateBridgeServerTest {
     private static final SubjectId SUBJECT_ID = new SubjectId(UUID.fromString("44444444-4444-4444-4444-444444444444"));
@@ -38,6 +47,72 @@ final class VelocityLoginGateBridgeServerTest {
         }
     }
 
+    @Test
+    void asyncLoginsRunConcurrentlyOnTheServerWithinTheClientInFlightWindow() {
+        AtomicInteger evaluating = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        try (VelocityLoginGateBridgeServer server = new VelocityLoginGateBridgeServer(
+                URI.create("http://127.0.0.1:0/login-gate"),
+                request -> {
+                    peak.accumulateAndGet(evaluating.incrementAndGet(), Math::max);
+                    try {
+                        Thread.sleep(50);
+                    } catch (InterruptedException exception) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        evaluating.decrementAndGet();
+                    }
+                    return VelocityLoginGateDecision.allowed(request.subjectId());
+                })) {
+            server.start();
+            VelocityLoginGateBridgeClient client = new VelocityLoginGateBridgeClient(
+                    server.uri(), HttpClient.newHttpClient(), 4, Duration.ofSeconds(10));
+
+            List<CompletableFuture<VelocityLoginGateDecision>> decisions = IntStream.range(0, 24)
+                    .mapToObj(index -> client.evaluateAsync(request()))
+                    .toList();
+
+            assertTrue(client.inFlight() <= 4);
+            assertTrue(client.waiting() > 0);
+            decisions.forEach(decision -> assertTrue(decision.join().allowed()));
+            assertTrue(peak.get() > 1, "server evaluated logins one at a time");
+            assertTrue(peak.get() <= 4, "client exceeded its in-flight window");
+            assertEquals(0, client.inFlight());
+            assertEquals(0, client.waiting());
+        }
+    }
+
+    @Test
+    void loginPastItsDeadlineFailsClosed() {
+        CountDownLatch release = new CountDownLatch(1);
+        try (VelocityLoginGateBridgeServer server = new VelocityLoginGateBridgeServer(
+                URI.create("http://127.0.0.1:0/login-gate"),
+                request -> {
+                    try {
+                        release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException exception) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return VelocityLoginGateDecision.allowed(request.subjectId());
+                })) {
+            server.start();
+            VelocityLoginAdmissionHandler handler = new VelocityLoginAdmissionHandler(
+                    new VelocityLoginGateBridgeClient(server.uri(), HttpClient.newHttpClient(), 1, Duration.ofMillis(200)),
+                    "standard.punishment",
+                    Clock.fixed(NOW, ZoneOffset.UTC));
+
+            CompletableFuture<VelocityLoginGateDecision> onTheWire = handler.evaluateAsync(SUBJECT_ID, "Rich");
+            CompletableFuture<VelocityLoginGateDecision> queued = handler.evaluateAsync(SUBJECT_ID, "Rich");
+
+            for (CompletableFuture<VelocityLoginGateDecision> decision : List.of(onTheWire, queued)) {
+                assertFalse(decision.join().allowed());
+                assertEquals(VelocityLoginAdmissionHandler.BRIDGE_UNAVAILABLE_REASON,
+                        decision.join().denialReason().orElseThrow());
+            }
+            release.countDown();
+        }
+    }
+
     @Test
     void admissionHandlerFailsClosedWhenBridgeIsUnavailable() {
         VelocityLoginAdmissionHandler handler = new VelocityLoginAdmissionHandler(
@@ -374,6 +374,9 @@ public final class AuthorityBackendRegistrationWireCodec {
             fields.put(item + ".name", declaration.name());
             fields.put(item + ".type", declaration.type().name());
             fields.put(item + ".nullable", Boolean.toString(declaration.nullable()));
+            if (declaration.tag() != 0) {
+                fields.put(item + ".tag", Integer.toString(declaration.tag()));
+            }
         }
     }
 
@@ -384,7 +387,8 @@ public final class AuthorityBackendRegistrationWireCodec {
             declarations.add(new FieldDeclaration(
                     required(fields, item + ".name"),
                     FieldType.valueOf(required(fields, item + ".type")),
-                    bool(fields, item + ".nullable")));
+                    bool(fields, item + ".nullable"),
+                    fields.containsKey(item + ".tag") ? intValue(fields, item + ".tag") : 0));
         }
         return declarations;
     }
@@ -186,7 +186,7 @@ final class AuthorityBackendSdkTest {
                                 "WireCommand",
                                 List.of(
                                         new FieldDeclaration("aggregate_id", FieldType.STRING),
-                                        new FieldDeclaration("revision", FieldType.LONG, true)),
+                                        new FieldDeclaration("revision", FieldType.LONG, true, 7)),
                                 true)),
                         List.of(new EventDeclaration(
                                 new EventName("wire.event"),
@@ -50,6 +50,7 @@ import sh.harold.fulcrum.data.authority.IdempotencyLedger;
 import sh.harold.fulcrum.data.authority.StoredAuthorityDecision;
 import sh.harold.fulcrum.data.authority.runtime.AuthorityDomainHandler;
 import sh.harold.fulcrum.data.authority.runtime.AuthorityEmissionSinks;
+import sh.harold.fulcrum.data.authority.runtime.AuthorityRecordStore;
 import sh.harold.fulcrum.data.authority.runtime.AuthorityRuntimeReceipt;
 import sh.harold.fulcrum.data.authority.runtime.AuthorityRuntimeWorker;
 import sh.harold.fulcrum.data.store.memory.InMemoryAuthorityCommandLog;
@@ -84,6 +85,7 @@ import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.HexFormat;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -93,6 +95,7 @@ import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 final class StoreAdapterCertificationMatrixTest {
@@ -185,6 +188,8 @@ final class StoreAdapterCertificationMatrixTest {
         assertEquals(List.of("total=3"), emissionSink.payloads(AuthorityEmissionKind.STATE));
         assertEquals(List.of("status=ACCEPTED;revision=1"), emissionSink.payloads(AuthorityEmissionKind.RESPONSE));
         assertEquals("total=3", emissionSink.latestPayload(AuthorityEmissionKind.CACHE_WRITE, AGGREGATE_ID.value()));
+        assertBulkRecordStoreContract(new InMemoryAuthorityRecordStore<>(
+                () -> new AuthorityRecord<>(new Revision(0), FENCING_EPOCH, new CertState(0))));
     }
 
     @Test
@@ -255,6 +260,7 @@ final class StoreAdapterCertificationMatrixTest {
                 long idempotencyTtlSeconds = valkey.ttl(idempotencyLedger.key(new IdempotencyKey("idempotency-cert-1")));
                 assertTrue(idempotencyTtlSeconds > 0 && idempotencyTtlSeconds <= 300);
             }
+            assertBulkRecordStoreContract(recordStore(dataSource));
 
             assertEquals("1", stack.queryPostgresScalar(
                     "SELECT revision FROM cert_authority_records WHERE aggregate_id = 'cert:aggregate:1';"));
@@ -334,6 +340,41 @@ final class StoreAdapterCertificationMatrixTest {
         }
     }
 
+    private static void assertBulkRecordStoreContract(AuthorityRecordStore<CertState> recordStore) {
+        AggregateId first = new AggregateId("cert:bulk:1");
+        AggregateId second = new AggregateId("cert:bulk:2");
+        AggregateId missing = new AggregateId("cert:bulk:missing");
+        Map<AggregateId, AuthorityRecord<CertState>> written = new LinkedHashMap<>();
+        written.put(first, new AuthorityRecord<>(new Revision(1), FENCING_EPOCH, new CertState(4)));
+        written.put(second, new AuthorityRecord<>(new Revision(1), FENCING_EPOCH, new CertState(9)));
+        recordStore.storeAll(written);
+        recordStore.storeAll(Map.of(first, new AuthorityRecord<>(new Revision(2), FENCING_EPOCH, new CertState(6))));
+
+        Map<AggregateId, AuthorityRecord<CertState>> loaded = recordStore.loadAll(List.of(second, missing, first, second));
+        assertEquals(List.of(second, missing, first), List.copyOf(loaded.keySet()));
+        assertEquals(new AuthorityRecord<>(new Revision(1), FENCING_EPOCH, new CertState(9)), loaded.get(second));
+        assertEquals(new AuthorityRecord<>(new Revision(0), FENCING_EPOCH, new CertState(0)), loaded.get(missing));
+        assertEquals(new AuthorityRecord<>(new Revision(2), FENCING_EPOCH, new CertState(6)), loaded.get(first));
+        assertEquals(loaded.get(first), recordStore.load(first));
+        assertTrue(recordStore.loadAll(List.of()).isEmpty());
+
+        // A batch with one write that does not advance its revision is refused whole.
+        Map<AggregateId, AuthorityRecord<CertState>> stale = new LinkedHashMap<>();
+        stale.put(second, new AuthorityRecord<>(new Revision(2), FENCING_EPOCH, new CertState(11)));
+        stale.put(first, new AuthorityRecord<>(new Revision(2), FENCING_EPOCH, new CertState(7)));
+        assertThrows(IllegalStateException.class, () -> recordStore.storeAll(stale));
+        assertEquals(new AuthorityRecord<>(new Revision(1), FENCING_EPOCH, new CertState(9)), recordStore.load(second));
+        assertEquals(new AuthorityRecord<>(new Revision(2), FENCING_EPOCH, new CertState(6)), recordStore.load(first));
+    }
+
+    private static JdbcAuthorityRecordStore<CertState> recordStore(DataSource dataSource) {
+        return new JdbcAuthorityRecordStore<>(
+                dataSource,
+                new JdbcAuthorityRecordStoreConfig("cert_authority_records"),
+                CertState.codec(),
+                () -> new AuthorityRecord<>(new Revision(0), FENCING_EPOCH, new CertState(0)));
+    }
+
     private static AuthorityRuntimeWorker<CertState, CertCommand, CertReceipt> worker(
             KafkaConsumer<String, String> consumer,
             KafkaProducer<String, String> producer,
@@ -343,11 +384,7 @@ final class StoreAdapterCertificationMatrixTest {
             ValkeyIdempotencyLedger<CertState, CertReceipt> idempotencyLedger) {
         return new AuthorityRuntimeWorker<>(
                 new KafkaAuthorityCommandSource<>(consumer, Duration.ofSeconds(10), StoreAdapterCertificationMatrixTest::decodeCommand),
-                new JdbcAuthorityRecordStore<>(
-                        dataSource,
-                        new JdbcAuthorityRecordStoreConfig("cert_authority_records"),
-                        CertState.codec(),
-                        () -> new AuthorityRecord<>(new Revision(0), FENCING_EPOCH, new CertState(0))),
+                recordStore(dataSource),
                 domainHandler(idempotencyLedger),
                 new CassandraAuthorityProjectionWriter<>(
                         cqlSession,